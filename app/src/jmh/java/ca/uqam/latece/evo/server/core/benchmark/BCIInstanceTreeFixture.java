@@ -0,0 +1,100 @@
+package ca.uqam.latece.evo.server.core.benchmark;
+
+import ca.uqam.latece.evo.server.core.enumeration.ActivityType;
+import ca.uqam.latece.evo.server.core.enumeration.ExecutionStatus;
+import ca.uqam.latece.evo.server.core.enumeration.InteractionMedium;
+import ca.uqam.latece.evo.server.core.enumeration.InteractionMode;
+import ca.uqam.latece.evo.server.core.enumeration.TimeCycle;
+import ca.uqam.latece.evo.server.core.model.BehaviorChangeIntervention;
+import ca.uqam.latece.evo.server.core.model.BehaviorChangeInterventionBlock;
+import ca.uqam.latece.evo.server.core.model.BehaviorChangeInterventionPhase;
+import ca.uqam.latece.evo.server.core.model.Interaction;
+import ca.uqam.latece.evo.server.core.model.Role;
+import ca.uqam.latece.evo.server.core.model.instance.BCIActivityInstance;
+import ca.uqam.latece.evo.server.core.model.instance.BCIModuleInstance;
+import ca.uqam.latece.evo.server.core.model.instance.BehaviorChangeInterventionBlockInstance;
+import ca.uqam.latece.evo.server.core.model.instance.BehaviorChangeInterventionInstance;
+import ca.uqam.latece.evo.server.core.model.instance.BehaviorChangeInterventionPhaseInstance;
+import ca.uqam.latece.evo.server.core.model.instance.InteractionInstance;
+import ca.uqam.latece.evo.server.core.model.instance.Participant;
+import ca.uqam.latece.evo.server.core.model.instance.Patient;
+import ca.uqam.latece.evo.server.core.model.instance.PatientMedicalFile;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builds in memory (without database) the recipes and a fully populated BehaviorChangeInterventionInstance tree used
+ * by the benchmarks. The shape follows the BCIInstanceFactory used by the proof of concept: each phase contains
+ * {@code size} blocks and each block contains {@code size} interaction instances.
+ *
+ * @version 1.0
+ * @author Edilton Lima dos Santos.
+ */
+public final class BCIInstanceTreeFixture {
+    private long nextId = 1;
+
+    public Interaction createInteraction() {
+        Role initiator = new Role("Health Care Professional");
+        initiator.setId(nextId++);
+        Interaction interaction = new Interaction("Interaction " + nextId, "Motivational interview",
+                ActivityType.LEARNING, "x -> true", "x -> true", InteractionMode.SYNCHRONOUS, initiator,
+                InteractionMedium.VIDEO);
+        interaction.setId(nextId++);
+        return interaction;
+    }
+
+    public BehaviorChangeInterventionInstance createBCIInstance(int size) {
+        PatientMedicalFile medicalFile = new PatientMedicalFile("Heavy smoker");
+        medicalFile.setId(nextId++);
+        Patient patient = new Patient("Bob Ross", "bobross@gmail.com", "722-5222", "October 29, 1942",
+                "Therapist Painter", "123 Paint Ave", medicalFile);
+        patient.setId(nextId++);
+        Role patientRole = new Role("Patient");
+        patientRole.setId(nextId++);
+
+        BehaviorChangeIntervention bci = new BehaviorChangeIntervention("Quit smoking", "x -> true", "x -> true");
+        bci.setId(nextId++);
+        List<BehaviorChangeInterventionPhaseInstance> phases = new ArrayList<>();
+
+        for (int phaseIndex = 0; phaseIndex < size; phaseIndex++) {
+            List<BehaviorChangeInterventionBlockInstance> blocks = new ArrayList<>();
+
+            for (int blockIndex = 0; blockIndex < size; blockIndex++) {
+                List<BCIActivityInstance> activities = new ArrayList<>();
+
+                for (int activityIndex = 0; activityIndex < size; activityIndex++) {
+                    Participant participant = new Participant(patientRole, patient);
+                    participant.setId(nextId++);
+                    InteractionInstance activity = new InteractionInstance(ExecutionStatus.READY,
+                            new ArrayList<>(List.of(participant)), createInteraction());
+                    activity.setId(nextId++);
+                    activity.setEntryDate(LocalDate.of(2025, 1, 1));
+                    activities.add(activity);
+                }
+
+                BehaviorChangeInterventionBlock blockRecipe = new BehaviorChangeInterventionBlock("x -> true",
+                        "x -> true");
+                blockRecipe.setId(nextId++);
+                BehaviorChangeInterventionBlockInstance block = new BehaviorChangeInterventionBlockInstance(
+                        ExecutionStatus.READY, TimeCycle.BEGINNING, activities, blockRecipe);
+                block.setId(nextId++);
+                blocks.add(block);
+            }
+
+            BehaviorChangeInterventionPhase phaseRecipe = new BehaviorChangeInterventionPhase("x -> true",
+                    "x -> true");
+            phaseRecipe.setId(nextId++);
+            BehaviorChangeInterventionPhaseInstance phase = new BehaviorChangeInterventionPhaseInstance(
+                    ExecutionStatus.READY, blocks.getFirst(), blocks, new ArrayList<BCIModuleInstance>(), phaseRecipe);
+            phase.setId(nextId++);
+            phases.add(phase);
+        }
+
+        BehaviorChangeInterventionInstance instance = new BehaviorChangeInterventionInstance(
+                ExecutionStatus.IN_PROGRESS, patient, phases.getFirst(), phases, bci);
+        instance.setId(nextId++);
+        return instance;
+    }
+}
@@ -0,0 +1,142 @@
+package ca.uqam.latece.evo.server.core.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.File;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.nio.file.Files;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Compares the JMH results (JSON format) with the baseline checked into the repository and exits with an error when
+ * the score of a benchmark is worse than its baseline by more than the tolerance. The scores are average times, so
+ * a higher score is a regression. Benchmarks missing from the baseline are reported but do not fail the check.
+ * <p>
+ * The baseline does not store absolute times, which depend on the machine, but the score of each benchmark relative to
+ * the score of the {@link #REFERENCE} benchmark of the same run (e.g. 12.5 for a benchmark 12.5 times slower than the
+ * reference). The results are compared the same way, so a faster or slower machine does not fail the check.
+ * <p>
+ * Usage: BenchmarkBaselineCheck check &lt;baseline.json&gt; &lt;jmh-result.json&gt; &lt;tolerance, e.g. 0.25&gt;, or
+ * BenchmarkBaselineCheck update &lt;baseline.json&gt; &lt;jmh-result.json&gt; to write the baseline from the results.
+ *
+ * @version 1.0
+ * @author Edilton Lima dos Santos.
+ */
+public final class BenchmarkBaselineCheck {
+
+    /**
+     * The benchmark whose score is the unit of the relative scores.
+     */
+    static final String REFERENCE = EvoHotPathBenchmark.class.getName() + ".calibration";
+
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    private BenchmarkBaselineCheck() {}
+
+    public static void main(String[] args) throws IOException {
+        // The tolerance passed by the build is ignored by an update.
+        boolean update = args.length >= 3 && args.length <= 4 && "update".equals(args[0]);
+
+        if (!update && (args.length != 4 || !"check".equals(args[0]))) {
+            System.err.println("Usage: BenchmarkBaselineCheck check <baseline.json> <jmh-result.json> <tolerance>");
+            System.err.println("       BenchmarkBaselineCheck update <baseline.json> <jmh-result.json> [tolerance]");
+            System.exit(2);
+        }
+
+        Map<String, Double> results = readRelativeScores(new File(args[2]));
+
+        if (update) {
+            writeBaseline(new File(args[1]), results);
+            System.out.printf("Baseline of %d benchmark(s) written to %s%n", results.size(), args[1]);
+            return;
+        }
+
+        Map<String, Double> baseline = readBaseline(new File(args[1]));
+        double tolerance = Double.parseDouble(args[3]);
+        int regressions = 0;
+
+        for (Map.Entry<String, Double> result : results.entrySet()) {
+            Double expected = baseline.get(result.getKey());
+
+            if (expected == null) {
+                System.out.printf("NEW        %-90s %12.3f%n", result.getKey(), result.getValue());
+            } else {
+                double ratio = result.getValue() / expected;
+                boolean regressed = ratio > 1 + tolerance;
+                System.out.printf("%-10s %-90s %12.3f (baseline %.3f, %+.1f%%)%n", regressed ? "REGRESSION" : "OK",
+                        result.getKey(), result.getValue(), expected, (ratio - 1) * 100);
+
+                if (regressed) {
+                    regressions++;
+                }
+            }
+        }
+
+        if (regressions > 0) {
+            System.err.printf("%d benchmark(s) regressed by more than %.0f%%.%n", regressions, tolerance * 100);
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Reads the scores of a JMH JSON result file, relative to the score of the reference benchmark.
+     * @param file the JMH result file.
+     * @return the relative scores by benchmark, the name includes the benchmark parameters; without the reference.
+     * @throws IOException if the file cannot be read.
+     * @throws IllegalArgumentException if the file has no score for the reference benchmark.
+     */
+    static Map<String, Double> readRelativeScores(File file) throws IOException {
+        Map<String, Double> scores = new LinkedHashMap<>();
+        Double reference = null;
+
+        for (JsonNode run : MAPPER.readTree(file)) {
+            double score = run.path("primaryMetric").path("score").asDouble();
+
+            if (REFERENCE.equals(run.path("benchmark").asText())) {
+                reference = score;
+            } else {
+                StringBuilder name = new StringBuilder(run.path("benchmark").asText());
+                run.path("params").properties().forEach(param ->
+                        name.append(':').append(param.getKey()).append('=').append(param.getValue().asText()));
+                scores.put(name.toString(), score);
+            }
+        }
+
+        if (reference == null || reference <= 0) {
+            throw new IllegalArgumentException("No score of the reference benchmark " + REFERENCE + " in " + file);
+        }
+
+        double unit = reference;
+        scores.replaceAll((name, score) -> score / unit);
+        return scores;
+    }
+
+    /**
+     * Reads the relative scores of the baseline.
+     * @param file the baseline file.
+     * @return the relative scores by benchmark.
+     * @throws IOException if the file cannot be read.
+     */
+    static Map<String, Double> readBaseline(File file) throws IOException {
+        Map<String, Double> scores = new LinkedHashMap<>();
+        MAPPER.readTree(file).path("relativeScores").properties().forEach(score ->
+                scores.put(score.getKey(), score.getValue().asDouble()));
+        return scores;
+    }
+
+    private static void writeBaseline(File file, Map<String, Double> scores) throws IOException {
+        ObjectNode baseline = MAPPER.createObjectNode();
+        baseline.put("reference", REFERENCE);
+        ObjectNode relativeScores = baseline.putObject("relativeScores");
+        // Rounded to 4 significant digits, far below the tolerance, so the file stays readable.
+        scores.forEach((name, score) -> relativeScores.put(name,
+                new BigDecimal(score).round(new MathContext(4)).doubleValue()));
+        Files.writeString(file.toPath(), MAPPER.writeValueAsString(baseline) + System.lineSeparator());
+    }
+}
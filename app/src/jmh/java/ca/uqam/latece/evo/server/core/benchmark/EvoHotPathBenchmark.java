@@ -0,0 +1,117 @@
+package ca.uqam.latece.evo.server.core.benchmark;
+
+import ca.uqam.latece.evo.server.core.enumeration.ClientEvent;
+import ca.uqam.latece.evo.server.core.enumeration.ExecutionStatus;
+import ca.uqam.latece.evo.server.core.model.Interaction;
+import ca.uqam.latece.evo.server.core.model.instance.BehaviorChangeInterventionInstance;
+import ca.uqam.latece.evo.server.core.response.ClientEventResponse;
+import ca.uqam.latece.evo.server.core.util.ObjectValidator;
+import ca.uqam.latece.evo.server.core.util.StringToLambdaConverter;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmarks of the Evo+ hot paths: the conversion of the entry/exit conditions evaluated on every client event,
+ * the JSON representation of the models, the client event response, the serialization of an intervention tree
+ * returned by the controllers and the email validation.
+ * <p>
+ * The scores (average time per operation) are compared with benchmarks/baseline.json by BenchmarkBaselineCheck,
+ * relative to the {@link #calibration()} score of the same run, so the baseline does not depend on the machine.
+ *
+ * @version 1.0
+ * @author Edilton Lima dos Santos.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EvoHotPathBenchmark {
+    private static final String CONDITION = "x -> x && true";
+    private static final String EMAIL = "bobross@gmail.com";
+
+    /** Number of phases of the intervention, of blocks per phase and of activities per block. */
+    @Param({"3"})
+    private int treeSize;
+
+    private Interaction interaction;
+
+    private BehaviorChangeInterventionInstance bciInstance;
+
+    private ObjectMapper objectMapper;
+
+    private int[] calibrationData;
+
+    @Setup
+    public void setup() {
+        this.calibrationData = new Random(42).ints(1_000).toArray();
+        BCIInstanceTreeFixture fixture = new BCIInstanceTreeFixture();
+        this.interaction = fixture.createInteraction();
+        this.bciInstance = fixture.createBCIInstance(treeSize);
+        // Same configuration as the ObjectMapper auto-configured by Spring Boot for the controllers.
+        this.objectMapper = JsonMapper.builder()
+                .findAndAddModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+    }
+
+    /**
+     * The reference of the other scores: a fixed workload of the JDK only (sorting 1,000 ints), which measures the speed
+     * of the machine and not of the Evo+ code.
+     */
+    @Benchmark
+    public int[] calibration() {
+        int[] sorted = Arrays.copyOf(this.calibrationData, this.calibrationData.length);
+        Arrays.sort(sorted);
+        return sorted;
+    }
+
+    @Benchmark
+    public boolean convertConditionStringToLambda() {
+        return StringToLambdaConverter.convertConditionStringToLambda(CONDITION);
+    }
+
+    @Benchmark
+    public String evoModelToString() {
+        return this.interaction.toString();
+    }
+
+    @Benchmark
+    public ClientEventResponse clientEventResponseAddResponse() {
+        ClientEventResponse response = new ClientEventResponse(ClientEvent.FINISH);
+        response.addResponse("BCIActivityInstance", 1L, ExecutionStatus.FINISHED, "", "");
+        response.addResponse("BehaviorChangeInterventionBlockInstance", 2L, ExecutionStatus.IN_PROGRESS, "", "");
+        response.addResponse("BehaviorChangeInterventionPhaseInstance", 3L, ExecutionStatus.IN_PROGRESS, "", "");
+        response.setSuccess(true);
+        return response;
+    }
+
+    @Benchmark
+    public String serializeBCIInstanceTree() throws JsonProcessingException {
+        return this.objectMapper.writeValueAsString(this.bciInstance);
+    }
+
+    @Benchmark
+    public String validateEmail() {
+        ObjectValidator.validateEmail(EMAIL);
+        return EMAIL;
+    }
+}
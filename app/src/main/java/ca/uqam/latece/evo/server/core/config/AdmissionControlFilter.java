@@ -0,0 +1,132 @@
+package ca.uqam.latece.evo.server.core.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Admission control for the virtual-thread execution mode.
+ * <p>
+ * When {@code spring.threads.virtual.enabled=true}, Tomcat runs every request (and the synchronous client-event
+ * cascade it triggers) on its own virtual thread, so the number of in-flight requests is no longer bounded by the
+ * Tomcat worker pool. Without a bound, every request would end up waiting inside the EvoHikariPool for one of its
+ * connections. This filter caps the number of requests running concurrently to the size of the connection pool.
+ * Excess requests wait on a fair {@link Semaphore}, which is cheap for virtual threads, and are rejected with
+ * HTTP 503 if no permit becomes available within the acquire timeout.
+ * <p>
+ * The routes that do not hold a connection while they run, such as the file transfers and the upload chunks, which
+ * stream a body for as long as the client needs, and the health checks, are not admitted: a few slow uploads would
+ * otherwise take every permit.
+ * <p>
+ * Configuration:
+ * - evo.admission.max-concurrent-requests: number of permits, defaults to spring.datasource.hikari.maximum-pool-size.
+ * - evo.admission.acquire-timeout: maximum wait in milliseconds, defaults to spring.datasource.hikari.connection-timeout.
+ * - evo.admission.exempt-paths: the Ant patterns of the routes run without a permit.
+ *
+ * @version 1.0
+ * @author Edilton Lima dos Santos.
+ */
+@Component
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class AdmissionControlFilter extends OncePerRequestFilter {
+    private static final Logger logger = LoggerFactory.getLogger(AdmissionControlFilter.class);
+    private static final String RETRY_AFTER_SECONDS = "1";
+
+    private final Semaphore permits;
+
+    private final int maxConcurrentRequests;
+
+    private final long acquireTimeout;
+
+    private final List<String> exemptPaths;
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    public AdmissionControlFilter(
+            @Value("${evo.admission.max-concurrent-requests:${spring.datasource.hikari.maximum-pool-size:10}}")
+            int maxConcurrentRequests,
+            @Value("${evo.admission.acquire-timeout:${spring.datasource.hikari.connection-timeout:30000}}")
+            long acquireTimeout,
+            @Value("${evo.admission.exempt-paths:/actuator/**,/contents/file/**,/contents/find/file/**," +
+                    "/contents/uploads/**}")
+            List<String> exemptPaths) {
+        if (maxConcurrentRequests <= 0) {
+            throw new IllegalArgumentException("The maximum of concurrent requests must be greater than zero!");
+        }
+
+        this.maxConcurrentRequests = maxConcurrentRequests;
+        this.acquireTimeout = acquireTimeout;
+        this.exemptPaths = List.copyOf(exemptPaths);
+        this.permits = new Semaphore(maxConcurrentRequests, true);
+        logger.info("Admission control enabled with {} permits and an acquire timeout of {} ms.",
+                maxConcurrentRequests, acquireTimeout);
+    }
+
+    /**
+     * @param request the current request.
+     * @return true if the path of the request matches an exempt path, so it runs without a permit.
+     */
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return this.exemptPaths.stream().anyMatch(pattern -> this.pathMatcher.match(pattern, path));
+    }
+
+    /**
+     * Runs the request when a permit is available, otherwise answers with HTTP 503 and a Retry-After header.
+     * @param request the current request.
+     * @param response the current response.
+     * @param filterChain the remaining filters and the dispatcher servlet.
+     */
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        boolean acquired = false;
+
+        try {
+            acquired = this.permits.tryAcquire(this.acquireTimeout, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        if (acquired) {
+            try {
+                filterChain.doFilter(request, response);
+            } finally {
+                this.permits.release();
+            }
+        } else {
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS);
+            logger.warn("Request {} {} rejected: no admission permit available after {} ms.", request.getMethod(),
+                    request.getRequestURI(), this.acquireTimeout);
+        }
+    }
+
+    public int getMaxConcurrentRequests() {
+        return this.maxConcurrentRequests;
+    }
+
+    public int getAvailablePermits() {
+        return this.permits.availablePermits();
+    }
+
+    public int getQueueLength() {
+        return this.permits.getQueueLength();
+    }
+}
@@ -0,0 +1,40 @@
+package ca.uqam.latece.evo.server.core.config;
+
+import ca.uqam.latece.evo.server.core.interfaces.BlobStore;
+import ca.uqam.latece.evo.server.core.util.LocalBlobStore;
+import ca.uqam.latece.evo.server.core.util.S3BlobStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.net.URI;
+import java.nio.file.Path;
+
+/**
+ * Creates the BlobStore of the content-addressed storage (evo.storage.content-addressed.enabled=true), selected by the
+ * property evo.storage.blob-store: local (default) keeps the blobs on the local disk, s3 on an S3-compatible storage.
+ * @version 1.0
+ * @author Edilton Lima dos Santos.
+ */
+@Configuration
+@ConditionalOnProperty(name = "evo.storage.content-addressed.enabled", havingValue = "true")
+public class BlobStoreConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "evo.storage.blob-store", havingValue = "local", matchIfMissing = true)
+    public BlobStore localBlobStore(@Value("${evo.storage.local.root:files/blobs}") String root) {
+        return new LocalBlobStore(Path.of(root));
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "evo.storage.blob-store", havingValue = "s3")
+    public BlobStore s3BlobStore(@Value("${evo.storage.s3.endpoint}") URI endpoint,
+                                 @Value("${evo.storage.s3.bucket}") String bucket,
+                                 @Value("${evo.storage.s3.region:us-east-1}") String region,
+                                 @Value("${evo.storage.s3.access-key}") String accessKey,
+                                 @Value("${evo.storage.s3.secret-key}") String secretKey,
+                                 @Value("${evo.storage.s3.prefix:blobs/}") String prefix) {
+        return new S3BlobStore(endpoint, bucket, region, accessKey, secretKey, prefix);
+    }
+}
@@ -0,0 +1,102 @@
+package ca.uqam.latece.evo.server.core.config;
+
+import ca.uqam.latece.evo.server.core.service.AssessmentService;
+import ca.uqam.latece.evo.server.core.service.InteractionService;
+import ca.uqam.latece.evo.server.core.service.instance.PatientDashboardService;
+import ca.uqam.latece.evo.server.core.service.instance.PatientService;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.cache.CacheManagerCustomizer;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Enables the Spring cache abstraction, with in-memory Caffeine caches (see spring.cache.* properties).
+ * <p>
+ * The caching advice runs before the transaction advice, so the caches are evicted once the transaction of a write is
+ * committed, and a cache hit does not open a transaction.
+ * <p>
+ * Every cache is bounded and its entries expire (spring.cache.caffeine.spec), so an entry that is not evicted by a write
+ * is only stale until it expires. The caches that need their own limits are registered here.
+ * <p>
+ * The caches are local to each node and a write only evicts the caches of the node that handles it. So with
+ * evo.cluster.enabled=true, every entry expires after evo.cluster.cache-ttl at most (5 s), which bounds how long a node
+ * serves data changed on another node.
+ * @version 1.0
+ * @author Edilton Lima dos Santos.
+ */
+@Configuration
+@EnableCaching(order = Ordered.LOWEST_PRECEDENCE - 1)
+public class CacheConfig {
+    private static final long DEFAULT_CACHE_SIZE = 10_000;
+
+    private static final long DASHBOARD_CACHE_SIZE = 10_000;
+
+    @Value("${evo.cluster.enabled:false}")
+    private boolean clustered;
+
+    @Value("${evo.cluster.cache-ttl:PT5S}")
+    private Duration clusterCacheTtl;
+
+    /**
+     * Caps the expiry of the caches that have no limits of their own at evo.cluster.cache-ttl in a cluster.
+     * @return the customizer of the CaffeineCacheManager.
+     */
+    @Bean
+    public CacheManagerCustomizer<CaffeineCacheManager> clusterCacheCustomizer() {
+        return cacheManager -> {
+            if (clustered) {
+                cacheManager.setCaffeine(Caffeine.newBuilder()
+                        .maximumSize(DEFAULT_CACHE_SIZE)
+                        .expireAfterWrite(clusterCacheTtl));
+            }
+        };
+    }
+
+    /**
+     * Registers the patient dashboard cache, whose entries expire after evo.dashboard.cache-ttl.
+     * @param dashboardTtl the maximum time a dashboard stays cached.
+     * @return the customizer of the CaffeineCacheManager.
+     */
+    @Bean
+    public CacheManagerCustomizer<CaffeineCacheManager> dashboardCacheCustomizer(
+            @Value("${evo.dashboard.cache-ttl:PT5M}") Duration dashboardTtl) {
+        return cacheManager -> cacheManager.registerCustomCache(PatientDashboardService.DASHBOARD_CACHE,
+                Caffeine.newBuilder()
+                        .maximumSize(DASHBOARD_CACHE_SIZE)
+                        .expireAfterWrite(expiry(dashboardTtl))
+                        .build());
+    }
+
+    /**
+     * Registers the caches of the resource queries, keyed by the queries of the clients: they hold at most
+     * evo.query.cache-size queries each, which expire after evo.query.cache-ttl.
+     * @param size the maximum number of cached queries of a resource.
+     * @param ttl the maximum time a query stays cached.
+     * @return the customizer of the CaffeineCacheManager.
+     */
+    @Bean
+    public CacheManagerCustomizer<CaffeineCacheManager> queryCacheCustomizer(
+            @Value("${evo.query.cache-size:1000}") long size,
+            @Value("${evo.query.cache-ttl:PT5M}") Duration ttl) {
+        return cacheManager -> List.of(PatientService.QUERY_CACHE, InteractionService.QUERY_CACHE,
+                AssessmentService.QUERY_CACHE).forEach(cacheName -> cacheManager.registerCustomCache(cacheName,
+                Caffeine.newBuilder()
+                        .maximumSize(size)
+                        .expireAfterWrite(expiry(ttl))
+                        .build()));
+    }
+
+    /**
+     * @return the expiry of a cache, at most evo.cluster.cache-ttl in a cluster.
+     */
+    private Duration expiry(Duration ttl) {
+        return clustered && clusterCacheTtl.compareTo(ttl) < 0 ? clusterCacheTtl : ttl;
+    }
+}
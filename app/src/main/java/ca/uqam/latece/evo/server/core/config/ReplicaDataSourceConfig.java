@@ -0,0 +1,66 @@
+package ca.uqam.latece.evo.server.core.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Sends the read-only transactions to the PostgreSQL streaming replicas (evo.datasource.replica.enabled=true).
+ * <p>
+ * The application DataSource is a LazyConnectionDataSourceProxy over the primary pool (spring.datasource.*): it only
+ * takes a connection at the first statement of a transaction, from the {@link ReplicaRoutingDataSource} when the
+ * transaction is read-only (@Transactional(readOnly = true)), from the primary otherwise. Each replica has its own
+ * read-only pool with the settings and credentials of the primary pool.
+ * @version 1.0
+ * @author Edilton Lima dos Santos.
+ */
+@Configuration
+@ConditionalOnProperty(name = "evo.datasource.replica.enabled", havingValue = "true")
+public class ReplicaDataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaDataSource(HikariDataSource primaryDataSource,
+                                                     @Value("${evo.datasource.replica.urls}") List<String> urls,
+                                                     @Value("${evo.datasource.replica.max-lag:PT10S}") Duration maxLag) {
+        List<DataSource> replicas = new ArrayList<>(urls.size());
+
+        for (String url : urls) {
+            HikariConfig config = new HikariConfig();
+            primaryDataSource.copyStateTo(config);
+            config.setJdbcUrl(url);
+            config.setPoolName(primaryDataSource.getPoolName() + "-replica-" + (replicas.size() + 1));
+            config.setReadOnly(true);
+            // A replica that is down at startup is only left out by the lag checks.
+            config.setInitializationFailTimeout(-1);
+            replicas.add(new HikariDataSource(config));
+        }
+
+        return new ReplicaRoutingDataSource(primaryDataSource, replicas, maxLag);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, ReplicaRoutingDataSource replicaDataSource) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primaryDataSource);
+        dataSource.setReadOnlyDataSource(replicaDataSource);
+        return dataSource;
+    }
+}
@@ -0,0 +1,156 @@
+package ca.uqam.latece.evo.server.core.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Routes the connections of the read-only transactions to the PostgreSQL streaming replicas, in turn, and falls back to
+ * the primary when no replica is usable.
+ * <p>
+ * A replica is usable while its replication lag does not exceed the maximum lag. The lags are measured every
+ * evo.datasource.replica.lag-check-interval (see {@link #checkReplicas()}); a replica whose lag is unknown, or that
+ * fails to give a connection, is left out until its next successful check. No replica is used before the first check.
+ * @version 1.0
+ * @author Edilton Lima dos Santos.
+ */
+public class ReplicaRoutingDataSource extends AbstractDataSource implements Closeable {
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    /**
+     * The replication lag of a server in seconds: 0 if it is not a replica or if it has replayed all the WAL it
+     * received, the age of the last replayed transaction otherwise, and null if it has not replayed any transaction yet.
+     */
+    static final String LAG_QUERY = "SELECT CASE WHEN NOT pg_is_in_recovery() THEN 0 " +
+            "WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 " +
+            "ELSE EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) END";
+
+    private final DataSource primary;
+
+    private final List<DataSource> replicas;
+
+    private final Duration maxLag;
+
+    private final AtomicInteger next = new AtomicInteger();
+
+    private volatile List<DataSource> usableReplicas = List.of();
+
+    /**
+     * @param primary the DataSource of the primary server.
+     * @param replicas the DataSources of the replicas.
+     * @param maxLag the maximum replication lag of a usable replica.
+     * @throws IllegalArgumentException if an argument is null or the maximum lag is negative.
+     */
+    public ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicas, Duration maxLag) {
+        if (primary == null || replicas == null || maxLag == null || maxLag.isNegative()) {
+            throw new IllegalArgumentException("A primary, the replicas and a positive maximum lag are required");
+        }
+
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        this.maxLag = maxLag;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        List<DataSource> candidates = usableReplicas;
+
+        for (int i = 0; i < candidates.size(); i++) {
+            DataSource replica = candidates.get(Math.floorMod(next.getAndIncrement(), candidates.size()));
+
+            try {
+                return replica.getConnection();
+            } catch (SQLException e) {
+                exclude(replica);
+                logger.warn("Replica {} left out, no connection: {}", replicas.indexOf(replica), e.getMessage());
+            }
+        }
+
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLException("The replica connections use the credentials of their pools");
+    }
+
+    /**
+     * Measures the replication lag of the replicas and keeps the ones within the maximum lag.
+     */
+    @Scheduled(fixedDelayString = "${evo.datasource.replica.lag-check-interval:PT5S}")
+    public void checkReplicas() {
+        List<DataSource> usable = new ArrayList<>(replicas.size());
+
+        for (int i = 0; i < replicas.size(); i++) {
+            Duration lag = replicationLag(replicas.get(i));
+
+            if (lag != null && lag.compareTo(maxLag) <= 0) {
+                usable.add(replicas.get(i));
+            } else {
+                logger.debug("Replica {} left out, lag: {}", i, lag);
+            }
+        }
+
+        if (usable.size() != usableReplicas.size()) {
+            logger.info("Usable replicas: {} of {}", usable.size(), replicas.size());
+        }
+
+        usableReplicas = List.copyOf(usable);
+    }
+
+    /**
+     * @return the number of replicas currently used for the read-only transactions.
+     */
+    public int getUsableReplicaCount() {
+        return usableReplicas.size();
+    }
+
+    /**
+     * Closes the pools of the replicas.
+     */
+    @Override
+    public void close() {
+        for (DataSource replica : replicas) {
+            if (replica instanceof AutoCloseable closeable) {
+                try {
+                    closeable.close();
+                } catch (Exception e) {
+                    logger.warn("Failed to close a replica pool: {}", e.getMessage());
+                }
+            }
+        }
+    }
+
+    private synchronized void exclude(DataSource replica) {
+        List<DataSource> usable = new ArrayList<>(usableReplicas);
+        usable.remove(replica);
+        usableReplicas = List.copyOf(usable);
+    }
+
+    private static Duration replicationLag(DataSource replica) {
+        try (Connection connection = replica.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(LAG_QUERY)) {
+            if (resultSet.next()) {
+                double seconds = resultSet.getDouble(1);
+                return resultSet.wasNull() ? null : Duration.ofMillis(Math.round(seconds * 1000));
+            }
+        } catch (SQLException e) {
+            logger.debug("Failed to measure the lag of a replica: {}", e.getMessage());
+        }
+
+        return null;
+    }
+}
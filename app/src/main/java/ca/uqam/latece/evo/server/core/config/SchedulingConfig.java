@@ -0,0 +1,14 @@
+package ca.uqam.latece.evo.server.core.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables the execution of the @Scheduled jobs (e.g. the reconciliation of the cohort counters).
+ * @version 1.0
+ * @author Edilton Lima dos Santos.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
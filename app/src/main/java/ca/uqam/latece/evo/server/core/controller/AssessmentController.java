@@ -5,6 +5,8 @@ import java.util.List;
 import ca.uqam.latece.evo.server.core.enumeration.ActivityType;
 import ca.uqam.latece.evo.server.core.enumeration.Scale;
 import ca.uqam.latece.evo.server.core.model.Assessment;
+import ca.uqam.latece.evo.server.core.request.EvoQuery;
+import ca.uqam.latece.evo.server.core.response.QueryPage;
 import ca.uqam.latece.evo.server.core.service.AssessmentService;
 import ca.uqam.latece.evo.server.core.util.ObjectValidator;
 import jakarta.validation.Valid;
@@ -12,6 +14,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.MultiValueMap;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -19,6 +22,7 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.http.HttpStatus;
@@ -547,4 +551,29 @@ public class AssessmentController extends AbstractEvoController <Assessment> {
 
         return response;
     }
+
+    /**
+     * Gets a page of the Assessments matching all the filters of a query, in one SQL statement: name (substring), type, assesseeRole and assessorRole (Role
+     * ids) and scale, e.g.
+     * {@code /assessment/query?name=walk&sort=name,desc&page=0&size=50}. A repeated filter matches any of its values.
+     * @param parameters the filters, the sort orders (sort), the page number (page, from 0) and the page size (size).
+     * @return the page of Assessments, or HTTP 400 if a filter or a sort order is unknown, or a value is invalid.
+     */
+    @GetMapping("/query")
+    @ResponseStatus(HttpStatus.OK) // 200
+    public ResponseEntity<QueryPage<Assessment>> query(@RequestParam MultiValueMap<String, String> parameters) {
+        ResponseEntity<QueryPage<Assessment>> response;
+
+        try {
+            QueryPage<Assessment> page = assessmentService.query(EvoQuery.of(parameters));
+            response = new ResponseEntity<>(page, HttpStatus.OK);
+            logger.info("Found {} Assessment of {} with the query: {}", page.getContent().size(),
+                    page.getTotalElements(), parameters);
+        } catch (Exception e) {
+            response = new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+            logger.error("Failed to query Assessment with: {}. Error: {}", parameters, e.getMessage());
+        }
+
+        return response;
+    }
 }
@@ -0,0 +1,106 @@
+package ca.uqam.latece.evo.server.core.controller;
+
+import ca.uqam.latece.evo.server.core.enumeration.ExecutionStatus;
+import ca.uqam.latece.evo.server.core.response.CohortFunnel;
+import ca.uqam.latece.evo.server.core.response.DwellHistogram;
+import ca.uqam.latece.evo.server.core.service.CohortAnalyticsService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Cohort Analytics Controller: the progress of the patients enrolled in the behavior change interventions.
+ * @version 1.0
+ * @author Edilton Lima dos Santos.
+ */
+@RestController
+@RequestMapping("/analytics/cohorts")
+public class CohortAnalyticsController {
+    private static final Logger logger = LoggerFactory.getLogger(CohortAnalyticsController.class);
+
+    @Autowired
+    private CohortAnalyticsService cohortAnalyticsService;
+
+    /**
+     * Gets the cohort funnel of an intervention: the number of patients in each of its phases and blocks, by status.
+     * @param id the BehaviorChangeIntervention id.
+     * @return the cohort funnel, or HTTP 404 if no patient is enrolled in the intervention.
+     */
+    @GetMapping("/{id}/funnel")
+    @ResponseStatus(HttpStatus.OK) // 200
+    public ResponseEntity<CohortFunnel> findFunnel(@PathVariable Long id) {
+        ResponseEntity<CohortFunnel> response;
+
+        try {
+            CohortFunnel funnel = cohortAnalyticsService.findFunnel(id);
+
+            if (!funnel.getPhases().isEmpty()) {
+                response = new ResponseEntity<>(funnel, HttpStatus.OK);
+            } else {
+                response = new ResponseEntity<>(HttpStatus.NOT_FOUND);
+                logger.info("No patient enrolled in the intervention: {}", id);
+            }
+        } catch (Exception e) {
+            response = new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+            logger.error("Failed to find the cohort funnel of the intervention {}. Error: {}", id, e.getMessage());
+        }
+
+        return response;
+    }
+
+    /**
+     * Gets the histogram of the time spent in a status by the phase or block instances of an intervention.
+     * @param id the BehaviorChangeIntervention id.
+     * @param phaseId the BehaviorChangeInterventionPhase id, all the phases by default.
+     * @param blockId the BehaviorChangeInterventionBlock id, 0 for the phase instances, all the blocks by default.
+     * @param status the execution status, IN_PROGRESS by default.
+     * @return the dwell-time histogram in milliseconds.
+     */
+    @GetMapping("/{id}/dwell")
+    @ResponseStatus(HttpStatus.OK) // 200
+    public ResponseEntity<DwellHistogram> findDwellHistogram(@PathVariable Long id,
+                                                             @RequestParam(value = "phase", required = false) Long phaseId,
+                                                             @RequestParam(value = "block", required = false) Long blockId,
+                                                             @RequestParam(value = "status", defaultValue = "IN_PROGRESS")
+                                                             ExecutionStatus status) {
+        ResponseEntity<DwellHistogram> response;
+
+        try {
+            response = new ResponseEntity<>(cohortAnalyticsService.findDwellHistogram(id, phaseId, blockId, status),
+                    HttpStatus.OK);
+        } catch (Exception e) {
+            response = new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+            logger.error("Failed to find the dwell histogram of the intervention {}. Error: {}", id, e.getMessage());
+        }
+
+        return response;
+    }
+
+    /**
+     * Reconciles the cohort counters with the intervention instances (e.g. after a bulk load).
+     * @return the number of corrected states.
+     */
+    @PostMapping("/reconcile")
+    @ResponseStatus(HttpStatus.OK) // 200
+    public ResponseEntity<Integer> reconcile() {
+        ResponseEntity<Integer> response;
+
+        try {
+            response = new ResponseEntity<>(cohortAnalyticsService.reconcile(), HttpStatus.OK);
+        } catch (Exception e) {
+            response = new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+            logger.error("Failed to reconcile the cohort counters. Error: {}", e.getMessage());
+        }
+
+        return response;
+    }
+}
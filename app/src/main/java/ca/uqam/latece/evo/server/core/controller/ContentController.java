@@ -1,8 +1,15 @@
 package ca.uqam.latece.evo.server.core.controller;
 
+import ca.uqam.latece.evo.server.core.exceptions.StorageFileNotFoundException;
+import ca.uqam.latece.evo.server.core.exceptions.UploadChecksumException;
 import ca.uqam.latece.evo.server.core.model.Content;
 import ca.uqam.latece.evo.server.core.service.ContentService;
+import ca.uqam.latece.evo.server.core.service.ContentUploadService;
+import ca.uqam.latece.evo.server.core.util.FileResponseWriter;
 import ca.uqam.latece.evo.server.core.util.ObjectValidator;
+import ca.uqam.latece.evo.server.core.util.UploadSession;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -13,6 +20,8 @@ import org.springframework.http.*;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.net.URI;
 import java.util.List;
 
 /**
@@ -25,9 +34,19 @@ import java.util.List;
 public class ContentController extends AbstractEvoController<Content> {
     private static final Logger logger = LoggerFactory.getLogger(ContentController.class);
 
+    private static final String UPLOAD_OFFSET = "Upload-Offset";
+
+    private static final String UPLOAD_LENGTH = "Upload-Length";
+
     @Autowired
     private ContentService contentService;
 
+    @Autowired
+    private FileResponseWriter fileResponseWriter;
+
+    @Autowired
+    private ContentUploadService contentUploadService;
+
     /**
      * Inserts a Content in the database.
      * @param content the Content entity.
@@ -209,38 +228,194 @@ public class ContentController extends AbstractEvoController<Content> {
     }
 
     /**
-     * Retrieves a Content and its associated file with an id.
+     * Retrieves the file associated with a Content. The response supports conditional requests (ETag, If-None-Match,
+     * If-Modified-Since) and byte ranges (Range, If-Range), so the clients can revalidate and resume large files.
      * @param id The Content id to filter Content entities by, must not be null.
-     * @return the requested Content with its associated file or Optional#empty() if none found.
-     * @throws IllegalArgumentException – if id is null.
+     * @param filename the name of the file.
+     * @param request the HTTP request, with the conditional and range headers.
+     * @param response the HTTP response where the file is written.
+     * @throws IOException if the error response can not be sent.
      */
     @GetMapping(value = "/find/file/{id}/{filename}")
-    @ResponseStatus(HttpStatus.OK) // 200
-    public ResponseEntity<Resource> findFile(@PathVariable Long id, @PathVariable String filename) {
-        ResponseEntity<Resource> response;
-
+    public void findFile(@PathVariable Long id, @PathVariable String filename, HttpServletRequest request,
+                         HttpServletResponse response) throws IOException {
         try {
             Resource contentFile = contentService.findFile(id, filename);
 
-            if (contentFile != null) {
-                HttpHeaders headers = new HttpHeaders();
-                headers.setContentDisposition(ContentDisposition
-                        .attachment()
-                        .filename(filename)
-                        .build());
-                headers.setContentType(MediaType.APPLICATION_OCTET_STREAM);
-
-                response = new ResponseEntity<>(contentFile, headers, HttpStatus.OK);
-                logger.info("Found file of Content with id and name: {} {}", id, filename);
+            if (contentFile != null && contentFile.isFile()) {
+                fileResponseWriter.write(request, response, contentFile.getFile().toPath(), filename);
+                logger.info("Found file of Content with id and name: {} {} ({})", id, filename, response.getStatus());
+            } else if (contentFile != null) {
+                // The file is stored remotely (e.g. S3 presigned URL), the client downloads it from the storage.
+                response.sendRedirect(contentFile.getURL().toString());
+                logger.info("Redirected to the file of Content with id and name: {} {}", id, filename);
             } else {
-                response = new ResponseEntity<>(HttpStatus.NOT_FOUND);
+                response.sendError(HttpServletResponse.SC_NOT_FOUND);
                 logger.info("Failed to find file of Content with id and name: {} {}", id, filename);
             }
 
         } catch (Exception e) {
-            response = new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+            // The client may close the connection while the file is transferred, the response is then already sent.
+            if (!response.isCommitted()) {
+                response.sendError(HttpServletResponse.SC_BAD_REQUEST);
+            }
+
             logger.error("Failed to find file of Content. Error: {}", e.getMessage());
         }
+    }
+
+    /**
+     * Stores the file of a Content from the request body, streamed to the storage without buffering the file in memory
+     * nor in a multipart temporary file. The previous file of the Content is replaced.
+     * @param id the Content id, must not be null.
+     * @param filename the name of the file.
+     * @param request the HTTP request, whose body is the file.
+     * @return the updated Content.
+     */
+    @PutMapping("/file/{id}/{filename}")
+    @ResponseStatus(HttpStatus.OK) // 200
+    public ResponseEntity<Content> uploadFile(@PathVariable Long id, @PathVariable String filename,
+                                              HttpServletRequest request) {
+        ResponseEntity<Content> response;
+
+        try {
+            if (request.getContentLengthLong() > contentUploadService.getMaxSize()) {
+                response = new ResponseEntity<>(HttpStatus.PAYLOAD_TOO_LARGE);
+                logger.info("File of Content too large: {} {} {}", id, filename, request.getContentLengthLong());
+            } else {
+                Content updated = contentUploadService.upload(id, filename, request.getInputStream());
+                response = new ResponseEntity<>(updated, HttpStatus.OK);
+                logger.info("Stored streamed file of Content: {} {}", updated, filename);
+            }
+        } catch (Exception e) {
+            response = new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+            logger.error("Failed to store streamed file of Content. Error: {}", e.getMessage());
+        }
+
+        return response;
+    }
+
+    /**
+     * Creates a resumable upload of the file of a Content. The file is then sent in chunks with PATCH requests to the
+     * URL returned in the Location header.
+     * @param id the Content id, must not be null.
+     * @param filename the name of the file.
+     * @param length the length of the whole file, in bytes (Upload-Length header).
+     * @param sha256 the hexadecimal SHA-256 of the whole file, verified when the upload completes (optional).
+     * @return HTTP 201 with the URL of the upload in the Location header.
+     */
+    @PostMapping("/file/{id}/{filename}/uploads")
+    @ResponseStatus(HttpStatus.CREATED) // 201
+    public ResponseEntity<Void> createUpload(@PathVariable Long id, @PathVariable String filename,
+                                             @RequestHeader(UPLOAD_LENGTH) long length,
+                                             @RequestParam(value = "sha256", required = false) String sha256) {
+        ResponseEntity<Void> response;
+
+        try {
+            UploadSession session = contentUploadService.createSession(id, filename, length, sha256);
+            response = ResponseEntity.created(URI.create("/contents/uploads/" + session.getId()))
+                    .header(UPLOAD_OFFSET, "0")
+                    .build();
+            logger.info("Created upload of the file of Content: {} {} {}", id, filename, session.getId());
+        } catch (Exception e) {
+            response = new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+            logger.error("Failed to create upload of the file of Content. Error: {}", e.getMessage());
+        }
+
+        return response;
+    }
+
+    /**
+     * Returns the offset of a resumable upload (Upload-Offset header), from which an interrupted upload resumes.
+     * @param uploadId the id of the upload.
+     * @return HTTP 200 with the Upload-Offset and Upload-Length headers, or HTTP 404 if the upload does not exist.
+     */
+    @RequestMapping(value = "/uploads/{uploadId}", method = RequestMethod.HEAD)
+    public ResponseEntity<Void> findUpload(@PathVariable String uploadId) {
+        ResponseEntity<Void> response;
+
+        try {
+            UploadSession session = contentUploadService.getSession(uploadId);
+            response = ResponseEntity.ok()
+                    .header(UPLOAD_OFFSET, Long.toString(session.getOffset()))
+                    .header(UPLOAD_LENGTH, Long.toString(session.getLength()))
+                    .cacheControl(CacheControl.noStore())
+                    .build();
+        } catch (StorageFileNotFoundException e) {
+            response = new ResponseEntity<>(HttpStatus.NOT_FOUND);
+            logger.info("Failed to find upload: {}", uploadId);
+        } catch (Exception e) {
+            response = new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+            logger.error("Failed to find upload. Error: {}", e.getMessage());
+        }
+
+        return response;
+    }
+
+    /**
+     * Appends the request body to a resumable upload, at the offset given in the Upload-Offset header. When the last
+     * chunk is received the file is stored and the updated Content is returned.
+     * @param uploadId the id of the upload.
+     * @param offset the offset of the chunk, which must be the offset of the upload (Upload-Offset header).
+     * @param request the HTTP request, whose body is the chunk.
+     * @return HTTP 204 with the new Upload-Offset, HTTP 200 with the updated Content when the upload is complete,
+     *           HTTP 404 if the upload does not exist, HTTP 409 if the offset is not the offset of the upload, or
+     *           HTTP 422 with Upload-Offset 0 if the SHA-256 of the file is not the declared one, the file is then sent
+     *           again in the same upload.
+     */
+    @PatchMapping("/uploads/{uploadId}")
+    public ResponseEntity<Content> appendUpload(@PathVariable String uploadId, @RequestHeader(UPLOAD_OFFSET) long offset,
+                                                HttpServletRequest request) {
+        ResponseEntity<Content> response;
+
+        try {
+            UploadSession session = contentUploadService.append(uploadId, offset, request.getInputStream());
+
+            if (session.getContent() != null) {
+                response = ResponseEntity.ok().header(UPLOAD_OFFSET, Long.toString(session.getOffset()))
+                        .body(session.getContent());
+                logger.info("Completed upload {} of the file of Content: {}", uploadId, session.getContent());
+            } else {
+                response = ResponseEntity.noContent().header(UPLOAD_OFFSET, Long.toString(session.getOffset()))
+                        .build();
+            }
+        } catch (StorageFileNotFoundException e) {
+            response = new ResponseEntity<>(HttpStatus.NOT_FOUND);
+            logger.info("Failed to find upload: {}", uploadId);
+        } catch (IllegalStateException e) {
+            response = new ResponseEntity<>(HttpStatus.CONFLICT);
+            logger.info("Conflicting chunk of upload {}: {}", uploadId, e.getMessage());
+        } catch (UploadChecksumException e) {
+            response = ResponseEntity.unprocessableEntity().header(UPLOAD_OFFSET, "0").build();
+            logger.info("Corrupted upload {}: {}", uploadId, e.getMessage());
+        } catch (Exception e) {
+            response = new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+            logger.error("Failed to append chunk to upload. Error: {}", e.getMessage());
+        }
+
+        return response;
+    }
+
+    /**
+     * Cancels a resumable upload and deletes the bytes received.
+     * @param uploadId the id of the upload.
+     * @return HTTP 204, HTTP 404 if the id is not the id of an upload, or HTTP 409 if the upload is receiving a chunk.
+     */
+    @DeleteMapping("/uploads/{uploadId}")
+    public ResponseEntity<Void> deleteUpload(@PathVariable String uploadId) {
+        ResponseEntity<Void> response;
+
+        try {
+            contentUploadService.cancel(uploadId);
+            response = ResponseEntity.noContent().build();
+            logger.info("Upload deleted: {}", uploadId);
+        } catch (StorageFileNotFoundException e) {
+            response = new ResponseEntity<>(HttpStatus.NOT_FOUND);
+            logger.info("Failed to find upload: {}", uploadId);
+        } catch (IllegalStateException e) {
+            response = new ResponseEntity<>(HttpStatus.CONFLICT);
+            logger.info("Upload {} not deleted: {}", uploadId, e.getMessage());
+        }
 
         return response;
     }
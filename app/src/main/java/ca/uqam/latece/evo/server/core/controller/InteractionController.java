@@ -4,6 +4,8 @@ import ca.uqam.latece.evo.server.core.enumeration.ActivityType;
 import ca.uqam.latece.evo.server.core.enumeration.InteractionMedium;
 import ca.uqam.latece.evo.server.core.enumeration.InteractionMode;
 import ca.uqam.latece.evo.server.core.model.Interaction;
+import ca.uqam.latece.evo.server.core.request.EvoQuery;
+import ca.uqam.latece.evo.server.core.response.QueryPage;
 import ca.uqam.latece.evo.server.core.service.InteractionService;
 import ca.uqam.latece.evo.server.core.util.ObjectValidator;
 import jakarta.validation.Valid;
@@ -11,6 +13,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.MultiValueMap;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -18,6 +21,7 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.http.HttpStatus;
@@ -473,6 +477,62 @@ public class InteractionController extends AbstractEvoController <Interaction> {
         return response;
     }
 
+    /**
+     * Finds the Interactions having any of the media in their four media, e.g. {@code /find/media/any/EMAIL,VIDEO}.
+     * @param media the comma-separated media.
+     * @return a list of Interaction entities having any of the media.
+     */
+    @GetMapping("/find/media/any/{media}")
+    @ResponseStatus(HttpStatus.OK) // 200
+    public ResponseEntity<List<Interaction>> findByAnyInteractionMedium(@PathVariable List<InteractionMedium> media) {
+        ResponseEntity<List<Interaction>> response;
+
+        try {
+            List<Interaction> interactionList = interactionService.findByAnyInteractionMedium(media);
+
+            if (interactionList != null && !interactionList.isEmpty()) {
+                response = new ResponseEntity<>(interactionList, HttpStatus.OK);
+                logger.info("Found Interaction with any InteractionMedium {}: {}", media, interactionList);
+            } else {
+                response = new ResponseEntity<>(HttpStatus.NOT_FOUND);
+                logger.info("Failed to find Interaction with any InteractionMedium: {}", media);
+            }
+        } catch (Exception e) {
+            response = new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+            logger.error("Failed to find Interaction with any InteractionMedium. Error: {}", e.getMessage());
+        }
+
+        return response;
+    }
+
+    /**
+     * Finds the Interactions having all the media in their four media, e.g. {@code /find/media/all/EMAIL,VIDEO}.
+     * @param media the comma-separated media.
+     * @return a list of Interaction entities having all the media.
+     */
+    @GetMapping("/find/media/all/{media}")
+    @ResponseStatus(HttpStatus.OK) // 200
+    public ResponseEntity<List<Interaction>> findByAllInteractionMedia(@PathVariable List<InteractionMedium> media) {
+        ResponseEntity<List<Interaction>> response;
+
+        try {
+            List<Interaction> interactionList = interactionService.findByAllInteractionMedia(media);
+
+            if (interactionList != null && !interactionList.isEmpty()) {
+                response = new ResponseEntity<>(interactionList, HttpStatus.OK);
+                logger.info("Found Interaction with all InteractionMedia {}: {}", media, interactionList);
+            } else {
+                response = new ResponseEntity<>(HttpStatus.NOT_FOUND);
+                logger.info("Failed to find Interaction with all InteractionMedia: {}", media);
+            }
+        } catch (Exception e) {
+            response = new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+            logger.error("Failed to find Interaction with all InteractionMedia. Error: {}", e.getMessage());
+        }
+
+        return response;
+    }
+
     /**
      * Gets all Interaction.
      * @return all Interaction.
@@ -499,4 +559,29 @@ public class InteractionController extends AbstractEvoController <Interaction> {
 
         return response;
     }
+
+    /**
+     * Gets a page of the Interactions matching all the filters of a query, in one SQL statement: name (substring), type, mode, initiatorRole (Role id) and
+     * medium (any of the four media), e.g.
+     * {@code /interaction/query?name=walk&sort=name,desc&page=0&size=50}. A repeated filter matches any of its values.
+     * @param parameters the filters, the sort orders (sort), the page number (page, from 0) and the page size (size).
+     * @return the page of Interactions, or HTTP 400 if a filter or a sort order is unknown, or a value is invalid.
+     */
+    @GetMapping("/query")
+    @ResponseStatus(HttpStatus.OK) // 200
+    public ResponseEntity<QueryPage<Interaction>> query(@RequestParam MultiValueMap<String, String> parameters) {
+        ResponseEntity<QueryPage<Interaction>> response;
+
+        try {
+            QueryPage<Interaction> page = interactionService.query(EvoQuery.of(parameters));
+            response = new ResponseEntity<>(page, HttpStatus.OK);
+            logger.info("Found {} Interaction of {} with the query: {}", page.getContent().size(),
+                    page.getTotalElements(), parameters);
+        } catch (Exception e) {
+            response = new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+            logger.error("Failed to query Interaction with: {}. Error: {}", parameters, e.getMessage());
+        }
+
+        return response;
+    }
 }
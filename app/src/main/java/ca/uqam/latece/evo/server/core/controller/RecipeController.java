@@ -0,0 +1,114 @@
+package ca.uqam.latece.evo.server.core.controller;
+
+import ca.uqam.latece.evo.server.core.request.Recipe;
+import ca.uqam.latece.evo.server.core.response.RecipeIdMap;
+import ca.uqam.latece.evo.server.core.response.RecipeImportReport;
+import ca.uqam.latece.evo.server.core.service.RecipeBundleService;
+import ca.uqam.latece.evo.server.core.service.RecipeService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.List;
+
+/**
+ * Recipe Controller: authors a whole BehaviorChangeIntervention (phases, blocks, modules, activities and contents) in
+ * one request, and moves interventions between servers as streamed recipe bundles.
+ * @version 1.0
+ * @author Edilton Lima dos Santos.
+ */
+@RestController
+@RequestMapping("/recipe")
+public class RecipeController {
+    private static final Logger logger = LoggerFactory.getLogger(RecipeController.class);
+
+    @Autowired
+    private RecipeService recipeService;
+
+    @Autowired
+    private RecipeBundleService recipeBundleService;
+
+    /**
+     * Creates the BehaviorChangeIntervention of a recipe with all its nodes, in one transaction.
+     * @param recipe the recipe.
+     * @return the ids of the new nodes by key, or HTTP 400 if the recipe is invalid.
+     */
+    @PostMapping
+    @ResponseStatus(HttpStatus.CREATED) // 201
+    public ResponseEntity<RecipeIdMap> create(@RequestBody Recipe recipe) {
+        ResponseEntity<RecipeIdMap> response;
+
+        try {
+            response = new ResponseEntity<>(recipeService.create(recipe), HttpStatus.CREATED);
+        } catch (Exception e) {
+            response = new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+            logger.error("Failed to create the recipe. Error: {}", e.getMessage());
+        }
+
+        return response;
+    }
+
+    /**
+     * Exports interventions with their whole graph and the files of their contents, streamed as a recipe bundle.
+     * @param ids the BehaviorChangeIntervention ids.
+     * @return the bundle of the existing interventions, or HTTP 404 if none exists.
+     */
+    @GetMapping("/export/{ids}")
+    @ResponseStatus(HttpStatus.OK) // 200
+    public ResponseEntity<StreamingResponseBody> exportBundle(@PathVariable List<Long> ids) {
+        ResponseEntity<StreamingResponseBody> response;
+
+        try {
+            List<Long> found = recipeBundleService.findInterventions(ids);
+
+            if (!found.isEmpty()) {
+                response = ResponseEntity.ok()
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"recipes.json\"")
+                        .body(output -> recipeBundleService.export(found, output));
+            } else {
+                response = new ResponseEntity<>(HttpStatus.NOT_FOUND);
+                logger.info("No intervention to export: {}", ids);
+            }
+        } catch (Exception e) {
+            response = new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+            logger.error("Failed to export the recipes {}. Error: {}", ids, e.getMessage());
+        }
+
+        return response;
+    }
+
+    /**
+     * Imports a recipe bundle from the request body, read as a stream. Importing the same bundle again updates the
+     * nodes it created.
+     * @param request the HTTP request, whose body is the bundle.
+     * @return the number of imported and created nodes by section, or HTTP 400 if the bundle is invalid.
+     */
+    @PostMapping("/import")
+    @ResponseStatus(HttpStatus.OK) // 200
+    public ResponseEntity<RecipeImportReport> importBundle(HttpServletRequest request) {
+        ResponseEntity<RecipeImportReport> response;
+
+        try {
+            response = new ResponseEntity<>(recipeBundleService.importBundle(request.getInputStream()), HttpStatus.OK);
+        } catch (Exception e) {
+            response = new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+            logger.error("Failed to import the recipe bundle. Error: {}", e.getMessage());
+        }
+
+        return response;
+    }
+}
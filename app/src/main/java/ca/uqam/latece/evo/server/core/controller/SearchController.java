@@ -0,0 +1,59 @@
+package ca.uqam.latece.evo.server.core.controller;
+
+import ca.uqam.latece.evo.server.core.enumeration.SearchEntityType;
+import ca.uqam.latece.evo.server.core.response.SearchResponse;
+import ca.uqam.latece.evo.server.core.service.SearchService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Search Controller: unified search over the patients, the health care professionals and the recipe catalog.
+ * @version 1.0
+ * @author Edilton Lima dos Santos.
+ */
+@RestController
+@RequestMapping("/search")
+public class SearchController {
+    private static final Logger logger = LoggerFactory.getLogger(SearchController.class);
+
+    @Autowired
+    private SearchService searchService;
+
+    /**
+     * Searches the entities whose name matches a query, by prefix, substring or tolerating typos, ordered by
+     * decreasing relevance.
+     * @param query the query, at least 2 characters long.
+     * @param types the kinds of entities to search (e.g. PATIENT,CONTENT), all of them by default.
+     * @param page the number of the page, starting at 0.
+     * @param size the number of results per page, between 1 and 100.
+     * @return the page of results, or HTTP 400 if the query or the page is invalid.
+     */
+    @GetMapping
+    @ResponseStatus(HttpStatus.OK) // 200
+    public ResponseEntity<SearchResponse> search(@RequestParam("q") String query,
+                                                 @RequestParam(value = "types", required = false)
+                                                 List<SearchEntityType> types,
+                                                 @RequestParam(value = "page", defaultValue = "0") int page,
+                                                 @RequestParam(value = "size", defaultValue = "20") int size) {
+        ResponseEntity<SearchResponse> response;
+
+        try {
+            response = new ResponseEntity<>(searchService.search(query, types, page, size), HttpStatus.OK);
+        } catch (Exception e) {
+            response = new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+            logger.error("Failed to search '{}'. Error: {}", query, e.getMessage());
+        }
+
+        return response;
+    }
+}
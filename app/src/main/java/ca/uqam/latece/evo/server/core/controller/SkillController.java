@@ -2,6 +2,8 @@ package ca.uqam.latece.evo.server.core.controller;
 
 import ca.uqam.latece.evo.server.core.enumeration.SkillType;
 import ca.uqam.latece.evo.server.core.model.Skill;
+import ca.uqam.latece.evo.server.core.response.LearningPathStep;
+import ca.uqam.latece.evo.server.core.response.SkillNode;
 import ca.uqam.latece.evo.server.core.service.SkillService;
 import ca.uqam.latece.evo.server.core.util.ObjectValidator;
 
@@ -305,6 +307,91 @@ public class SkillController extends AbstractEvoController<Skill> {
         return response;
     }
 
+    /**
+     * Finds the transitive prerequisites of a skill (its required skills, their required skills, and so on).
+     * @param id the skill id.
+     * @return the prerequisites ordered by name.
+     */
+    @GetMapping("/find/prerequisites/{id}")
+    @ResponseStatus(HttpStatus.OK)
+    public ResponseEntity<List<SkillNode>> findTransitivePrerequisites(@PathVariable Long id) {
+        ResponseEntity<List<SkillNode>> response;
+
+        try {
+            List<SkillNode> skillList = skillService.findTransitivePrerequisites(id);
+
+            if (skillList != null && !skillList.isEmpty()) {
+                response = new ResponseEntity<>(skillList, HttpStatus.OK);
+                logger.info("Found {} prerequisites of skill id: {}", skillList.size(), id);
+            } else {
+                response = new ResponseEntity<>(HttpStatus.NOT_FOUND);
+                logger.info("Failed to find prerequisites of skill id: {}", id);
+            }
+        } catch (Exception e) {
+            response = new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+            logger.error("Failed to find prerequisites of skill. Error: {}", e.getMessage());
+        }
+
+        return response;
+    }
+
+    /**
+     * Finds the descendants of a skill (its sub skills and composed skills, whatever the depth).
+     * @param id the skill id.
+     * @return the descendants ordered by name.
+     */
+    @GetMapping("/find/descendants/{id}")
+    @ResponseStatus(HttpStatus.OK)
+    public ResponseEntity<List<SkillNode>> findDescendants(@PathVariable Long id) {
+        ResponseEntity<List<SkillNode>> response;
+
+        try {
+            List<SkillNode> skillList = skillService.findDescendants(id);
+
+            if (skillList != null && !skillList.isEmpty()) {
+                response = new ResponseEntity<>(skillList, HttpStatus.OK);
+                logger.info("Found {} descendants of skill id: {}", skillList.size(), id);
+            } else {
+                response = new ResponseEntity<>(HttpStatus.NOT_FOUND);
+                logger.info("Failed to find descendants of skill id: {}", id);
+            }
+        } catch (Exception e) {
+            response = new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+            logger.error("Failed to find descendants of skill. Error: {}", e.getMessage());
+        }
+
+        return response;
+    }
+
+    /**
+     * Builds the learning path of a skill: its transitive prerequisites and the skill itself, each skill after all
+     * its prerequisites.
+     * @param id the skill id.
+     * @return the learning path, ending with the skill.
+     */
+    @GetMapping("/find/learningpath/{id}")
+    @ResponseStatus(HttpStatus.OK)
+    public ResponseEntity<List<LearningPathStep>> findLearningPath(@PathVariable Long id) {
+        ResponseEntity<List<LearningPathStep>> response;
+
+        try {
+            List<LearningPathStep> path = skillService.findLearningPath(id);
+
+            if (path != null && !path.isEmpty()) {
+                response = new ResponseEntity<>(path, HttpStatus.OK);
+                logger.info("Found learning path of {} skills for skill id: {}", path.size(), id);
+            } else {
+                response = new ResponseEntity<>(HttpStatus.NOT_FOUND);
+                logger.info("Failed to find learning path of skill id: {}", id);
+            }
+        } catch (Exception e) {
+            response = new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+            logger.error("Failed to find learning path of skill. Error: {}", e.getMessage());
+        }
+
+        return response;
+    }
+
     /**
      * Gets all skills.
      */
@@ -0,0 +1,133 @@
+package ca.uqam.latece.evo.server.core.controller.instance;
+
+import ca.uqam.latece.evo.server.core.enumeration.ExecutionStatus;
+import ca.uqam.latece.evo.server.core.response.ActivityTransition;
+import ca.uqam.latece.evo.server.core.service.instance.ActivityTransitionService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Activity Transition Controller: the history of the execution status of the intervention, phase and block instances.
+ * The times are ISO-8601 instants (e.g. 2025-03-01T12:00:00Z).
+ * @version 1.0
+ * @author Edilton Lima dos Santos.
+ */
+@RestController
+@RequestMapping("/activitytransition")
+public class ActivityTransitionController {
+    private static final Logger logger = LoggerFactory.getLogger(ActivityTransitionController.class);
+
+    @Autowired
+    private ActivityTransitionService activityTransitionService;
+
+    /**
+     * Gets the state of an instance at a time: its last transition at that time.
+     * @param id the ActivityInstance id.
+     * @param at the time.
+     * @return the transition, or HTTP 404 if the instance had no transition at that time.
+     */
+    @GetMapping("/state/{id}")
+    @ResponseStatus(HttpStatus.OK) // 200
+    public ResponseEntity<ActivityTransition> findStateAt(@PathVariable Long id,
+                                                          @RequestParam("at") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                          Instant at) {
+        ResponseEntity<ActivityTransition> response;
+
+        try {
+            ActivityTransition state = activityTransitionService.findStateAt(id, at);
+
+            if (state != null) {
+                response = new ResponseEntity<>(state, HttpStatus.OK);
+            } else {
+                response = new ResponseEntity<>(HttpStatus.NOT_FOUND);
+                logger.info("No transition of the instance {} at {}", id, at);
+            }
+        } catch (Exception e) {
+            response = new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+            logger.error("Failed to find the state of the instance {} at {}. Error: {}", id, at, e.getMessage());
+        }
+
+        return response;
+    }
+
+    /**
+     * Gets the transitions of an instance in a time range.
+     * @param id the ActivityInstance id.
+     * @param from the start of the range (inclusive), the epoch by default.
+     * @param to the end of the range (exclusive), now by default.
+     * @return the transitions in time order, or HTTP 404 if there are none.
+     */
+    @GetMapping("/history/{id}")
+    @ResponseStatus(HttpStatus.OK) // 200
+    public ResponseEntity<List<ActivityTransition>> findHistory(@PathVariable Long id,
+                                                                @RequestParam(value = "from", required = false)
+                                                                @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                                Instant from,
+                                                                @RequestParam(value = "to", required = false)
+                                                                @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                                Instant to) {
+        ResponseEntity<List<ActivityTransition>> response;
+
+        try {
+            List<ActivityTransition> transitions = activityTransitionService.findHistory(id, from, to);
+
+            if (!transitions.isEmpty()) {
+                response = new ResponseEntity<>(transitions, HttpStatus.OK);
+            } else {
+                response = new ResponseEntity<>(HttpStatus.NOT_FOUND);
+                logger.info("No transition of the instance {}", id);
+            }
+        } catch (Exception e) {
+            response = new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+            logger.error("Failed to find the transitions of the instance {}. Error: {}", id, e.getMessage());
+        }
+
+        return response;
+    }
+
+    /**
+     * Gets the transitions of all the instances in a time range.
+     * @param from the start of the range (inclusive).
+     * @param to the end of the range (exclusive).
+     * @param status the new execution status of the transitions, all the transitions by default.
+     * @param limit the maximum number of transitions, 1000 by default.
+     * @return the transitions in time order.
+     */
+    @GetMapping("/find")
+    @ResponseStatus(HttpStatus.OK) // 200
+    public ResponseEntity<List<ActivityTransition>> findTransitions(@RequestParam("from")
+                                                                    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                                    Instant from,
+                                                                    @RequestParam("to")
+                                                                    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                                    Instant to,
+                                                                    @RequestParam(value = "status", required = false)
+                                                                    ExecutionStatus status,
+                                                                    @RequestParam(value = "limit", defaultValue = "1000")
+                                                                    int limit) {
+        ResponseEntity<List<ActivityTransition>> response;
+
+        try {
+            response = new ResponseEntity<>(activityTransitionService.findTransitions(from, to, status, limit),
+                    HttpStatus.OK);
+        } catch (Exception e) {
+            response = new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+            logger.error("Failed to find the transitions from {} to {}. Error: {}", from, to, e.getMessage());
+        }
+
+        return response;
+    }
+}
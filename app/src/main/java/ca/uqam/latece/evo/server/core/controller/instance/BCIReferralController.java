@@ -2,7 +2,9 @@ package ca.uqam.latece.evo.server.core.controller.instance;
 
 import ca.uqam.latece.evo.server.core.controller.AbstractEvoController;
 import ca.uqam.latece.evo.server.core.model.instance.BCIReferral;
+import ca.uqam.latece.evo.server.core.response.ReferralPipelineReport;
 import ca.uqam.latece.evo.server.core.service.instance.BCIReferralService;
+import ca.uqam.latece.evo.server.core.service.instance.ReferralPipelineService;
 
 import ca.uqam.latece.evo.server.core.util.ObjectValidator;
 import org.slf4j.Logger;
@@ -29,6 +31,9 @@ public class BCIReferralController extends AbstractEvoController<BCIReferral> {
     @Autowired
     BCIReferralService bciReferralService;
 
+    @Autowired
+    ReferralPipelineService referralPipelineService;
+
     /**
      * Creates a BCIReferral in the database.
      * @param bcir BCIReferral.
@@ -367,4 +372,26 @@ public class BCIReferralController extends AbstractEvoController<BCIReferral> {
         }
         return response;
     }
+
+    /**
+     * Enrolls the patients of all the new BCIReferral entities in new instances of their interventions (see
+     * {@link ReferralPipelineService}).
+     * @return the ReferralPipelineReport of the run in JSON format.
+     */
+    @PostMapping("/enroll")
+    @ResponseStatus(HttpStatus.OK)
+    public ResponseEntity<ReferralPipelineReport> enroll() {
+        ResponseEntity<ReferralPipelineReport> response;
+
+        try {
+            ReferralPipelineReport report = referralPipelineService.run();
+            response = new ResponseEntity<>(report, HttpStatus.OK);
+            logger.info("Enrolled BCIReferral entities: {} enrolled, {} failed", report.getEnrolled(),
+                    report.getFailed());
+        } catch (Exception e) {
+            response = new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+            logger.error("Failed to enroll BCIReferral entities. Error: {}", e.getMessage());
+        }
+        return response;
+    }
 }
@@ -5,6 +5,7 @@ import ca.uqam.latece.evo.server.core.model.instance.BehaviorChangeInterventionI
 import ca.uqam.latece.evo.server.core.model.instance.BehaviorChangeInterventionPhaseInstance;
 import ca.uqam.latece.evo.server.core.request.BCIInstanceRequest;
 import ca.uqam.latece.evo.server.core.service.instance.BehaviorChangeInterventionInstanceService;
+import ca.uqam.latece.evo.server.core.service.instance.InterventionArchiveService;
 
 import ca.uqam.latece.evo.server.core.util.ObjectValidator;
 import org.slf4j.Logger;
@@ -16,6 +17,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.*;
 
+import java.net.URI;
 import java.util.List;
 
 /**
@@ -32,6 +34,9 @@ public class BehaviorChangeInterventionInstanceController extends AbstractEvoCon
     @Autowired
     private BehaviorChangeInterventionInstanceService bciInstanceService;
 
+    @Autowired
+    private InterventionArchiveService interventionArchiveService;
+
     /**
      * Creates a BehaviorChangeInterventionInstance in the database.
      * @param bciInstance BehaviorChangeInterventionInstance.
@@ -316,7 +321,8 @@ public class BehaviorChangeInterventionInstanceController extends AbstractEvoCon
     }
 
     /**
-     * Finds a BehaviorChangeInterventionInstance by its id.
+     * Finds a BehaviorChangeInterventionInstance by its id. An archived instance is redirected (HTTP 303) to its
+     * archived tree (see {@link InterventionArchiveController}).
      * @param id Long.
      * @return BehaviorChangeInterventionInstance in JSON format.
      * @throws IllegalArgumentException if id is null.
@@ -333,6 +339,10 @@ public class BehaviorChangeInterventionInstanceController extends AbstractEvoCon
             if (result != null && result.getId().equals(id)) {
                 response = new ResponseEntity<>(result, HttpStatus.OK);
                 logger.info("Found BehaviorChangeInterventionInstance: {}", result);
+            } else if (result == null && interventionArchiveService.findArchive(id) != null) {
+                response = ResponseEntity.status(HttpStatus.SEE_OTHER)
+                        .location(URI.create("/interventionarchive/find/" + id)).build();
+                logger.info("Archived BehaviorChangeInterventionInstance: {}", id);
             } else {
                 response = new ResponseEntity<>(HttpStatus.NOT_FOUND);
                 logger.info("Failed to find BehaviorChangeInterventionInstance");
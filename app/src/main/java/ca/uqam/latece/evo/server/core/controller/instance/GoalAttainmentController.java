@@ -0,0 +1,57 @@
+package ca.uqam.latece.evo.server.core.controller.instance;
+
+import ca.uqam.latece.evo.server.core.response.GoalAttainment;
+import ca.uqam.latece.evo.server.core.service.instance.GoalAttainmentService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Optional;
+
+/**
+ * Goal Attainment Controller: the progress of the GoalSettingInstances against their target.
+ * @version 1.0
+ * @author Edilton Lima dos Santos.
+ */
+@RestController
+@RequestMapping("/goalattainment")
+public class GoalAttainmentController {
+    private static final Logger logger = LoggerFactory.getLogger(GoalAttainmentController.class);
+
+    @Autowired
+    private GoalAttainmentService goalAttainmentService;
+
+    /**
+     * Gets the attainment state of a GoalSettingInstance.
+     * @param id the GoalSettingInstance id.
+     * @return the state, or HTTP 404 if the goal has no progress yet.
+     */
+    @GetMapping("/{id}")
+    @ResponseStatus(HttpStatus.OK) // 200
+    public ResponseEntity<GoalAttainment> findAttainment(@PathVariable Long id) {
+        ResponseEntity<GoalAttainment> response;
+
+        try {
+            Optional<GoalAttainment> attainment = goalAttainmentService.findAttainment(id);
+
+            if (attainment.isPresent()) {
+                response = new ResponseEntity<>(attainment.get(), HttpStatus.OK);
+            } else {
+                response = new ResponseEntity<>(HttpStatus.NOT_FOUND);
+                logger.info("No attainment of the goal {}", id);
+            }
+        } catch (Exception e) {
+            response = new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+            logger.error("Failed to find the attainment of the goal {}. Error: {}", id, e.getMessage());
+        }
+
+        return response;
+    }
+}
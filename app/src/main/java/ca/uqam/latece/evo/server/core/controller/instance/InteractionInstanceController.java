@@ -8,10 +8,13 @@ import ca.uqam.latece.evo.server.core.model.instance.InteractionInstance;
 import ca.uqam.latece.evo.server.core.request.BCIActivityInstanceRequest;
 import ca.uqam.latece.evo.server.core.response.ClientEventResponse;
 import ca.uqam.latece.evo.server.core.service.instance.InteractionInstanceService;
+import ca.uqam.latece.evo.server.core.service.instance.InterventionOwnershipService;
 
 import ca.uqam.latece.evo.server.core.util.ObjectValidator;
+import jakarta.servlet.http.HttpServletRequest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -33,6 +36,12 @@ public class InteractionInstanceController extends AbstractEvoController<Interac
     @Autowired
     InteractionInstanceService interactionInstanceService;
 
+    /**
+     * Present when the intervention instances are shared between several nodes (evo.cluster.enabled).
+     */
+    @Autowired
+    private ObjectProvider<InterventionOwnershipService> interventionOwnershipService;
+
     /**
      * Creates a InteractionInstance in the database.
      * @param interactionInstance InteractionInstance.
@@ -287,20 +296,38 @@ public class InteractionInstanceController extends AbstractEvoController<Interac
      * Receives updates from the frontend for the progression of an InteractionInstance.
      * @param clientEvent The clientEvent indicating the action the client wishes to perform.
      * @param request The request containing information needed to properly handle the clientEvent.
+     * @param httpRequest The HTTP request, forwarded to the node that owns the intervention instance if it is not
+     * this node.
      * @return ResponseEntity containing the InteractionInstance with an updated Execution status or an error message
      * detailing why the clientEvent could not be processed correctly.
      */
     @PutMapping("/clientupdate/{clientEvent}")
     @ResponseStatus(HttpStatus.OK) // 200
     public ResponseEntity<String> updateStatus(@PathVariable ClientEvent clientEvent,
-                                               @RequestBody BCIActivityInstanceRequest request) {
+                                               @RequestBody BCIActivityInstanceRequest request,
+                                               HttpServletRequest httpRequest) {
         ResponseEntity<String> response;
 
         try {
             interactionInstanceService.validateClientEvent(clientEvent, request);
 
-            BCIActivityClientEvent bciActivityClientEvent = new BCIActivityClientEvent(clientEvent, request.getId(),
-                    request.getBciBlockInstanceId(), request.getBciPhaseInstanceId(), request.getBciInstanceId());
+            // The client events of an intervention instance are handled by the node that owns it.
+            InterventionOwnershipService ownership = interventionOwnershipService.getIfAvailable();
+            ResponseEntity<String> forwarded = ownership != null ?
+                    ownership.forward(request.getBciInstanceId(), httpRequest, request) : null;
+
+            if (forwarded != null) {
+                return forwarded;
+            }
+
+            // An IN_PROGRESS client event moves the client from the activity instance to the new one.
+            BCIActivityClientEvent bciActivityClientEvent = request.getNewActivityInstanceId() == null ?
+                    new BCIActivityClientEvent(clientEvent, request.getId(), request.getBciBlockInstanceId(),
+                            request.getBciPhaseInstanceId(), request.getBciInstanceId()) :
+                    new BCIActivityClientEvent(clientEvent, request.getId(), request.getBciBlockInstanceId(),
+                            request.getBciPhaseInstanceId(), request.getBciInstanceId(),
+                            request.getNewActivityInstanceId(), request.getNewBlockInstanceId(),
+                            request.getNewPhaseInstanceId());
 
             ClientEventResponse serviceResponse = interactionInstanceService.handleClientEvent(bciActivityClientEvent);
 
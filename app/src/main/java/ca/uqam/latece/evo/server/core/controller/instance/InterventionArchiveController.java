@@ -0,0 +1,79 @@
+package ca.uqam.latece.evo.server.core.controller.instance;
+
+import ca.uqam.latece.evo.server.core.response.ArchivedIntervention;
+import ca.uqam.latece.evo.server.core.service.instance.InterventionArchivalService;
+import ca.uqam.latece.evo.server.core.service.instance.InterventionArchiveService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Intervention Archive Controller: the finished intervention instance trees moved out of the instance tables.
+ * @version 1.0
+ * @author Edilton Lima dos Santos.
+ */
+@RestController
+@RequestMapping("/interventionarchive")
+public class InterventionArchiveController {
+    private static final Logger logger = LoggerFactory.getLogger(InterventionArchiveController.class);
+
+    @Autowired
+    private InterventionArchiveService interventionArchiveService;
+
+    @Autowired
+    private InterventionArchivalService interventionArchivalService;
+
+    /**
+     * Finds the archived tree of an intervention, phase or block instance.
+     * @param id the ActivityInstance id.
+     * @return the archived tree, or HTTP 404 if the instance is not archived.
+     */
+    @GetMapping("/find/{id}")
+    @ResponseStatus(HttpStatus.OK) // 200
+    public ResponseEntity<ArchivedIntervention> findById(@PathVariable Long id) {
+        ResponseEntity<ArchivedIntervention> response;
+
+        try {
+            ArchivedIntervention archive = interventionArchiveService.findArchive(id);
+
+            if (archive != null) {
+                response = new ResponseEntity<>(archive, HttpStatus.OK);
+            } else {
+                response = new ResponseEntity<>(HttpStatus.NOT_FOUND);
+                logger.info("Instance not archived: {}", id);
+            }
+        } catch (Exception e) {
+            response = new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+            logger.error("Failed to find the archive of the instance {}. Error: {}", id, e.getMessage());
+        }
+
+        return response;
+    }
+
+    /**
+     * Archives the finished intervention instances older than the retention window.
+     * @return the number of archived intervention instances, or HTTP 400 if the archival is already running.
+     */
+    @PostMapping("/run")
+    @ResponseStatus(HttpStatus.OK) // 200
+    public ResponseEntity<Integer> run() {
+        ResponseEntity<Integer> response;
+
+        try {
+            response = new ResponseEntity<>(interventionArchivalService.run(), HttpStatus.OK);
+        } catch (Exception e) {
+            response = new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+            logger.error("Failed to archive the intervention instances. Error: {}", e.getMessage());
+        }
+
+        return response;
+    }
+}
@@ -3,6 +3,7 @@ package ca.uqam.latece.evo.server.core.controller.instance;
 import ca.uqam.latece.evo.server.core.controller.AbstractEvoController;
 import ca.uqam.latece.evo.server.core.model.instance.Patient;
 import ca.uqam.latece.evo.server.core.model.instance.PatientAssessment;
+import ca.uqam.latece.evo.server.core.service.AssessmentScoringService;
 import ca.uqam.latece.evo.server.core.service.instance.PatientAssessmentService;
 import ca.uqam.latece.evo.server.core.util.ObjectValidator;
 
@@ -30,6 +31,9 @@ public class PatientAssessmentController extends AbstractEvoController<PatientAs
     @Autowired
     PatientAssessmentService patientAssessmentService;
 
+    @Autowired
+    AssessmentScoringService assessmentScoringService;
+
     /**
      * Creates a PatientAssessment in the database.
      * @param pa PatientAssessment.
@@ -277,4 +281,54 @@ public class PatientAssessmentController extends AbstractEvoController<PatientAs
         }
         return response;
     }
+
+    /**
+     * Computes and saves the score of a PatientAssessment with the scoring function of its Assessment.
+     * @param id the PatientAssessment id.
+     * @return the scored PatientAssessment in JSON format.
+     * @throws IllegalArgumentException if id is null, or the PatientAssessment has no Assessment or its Assessment has
+     * an invalid scoring function.
+     */
+    @PutMapping("/score/{id}")
+    @ResponseStatus(HttpStatus.OK)
+    public ResponseEntity<PatientAssessment> score(@PathVariable Long id) {
+        ResponseEntity<PatientAssessment> response;
+
+        try {
+            PatientAssessment result = assessmentScoringService.score(id);
+
+            if (result != null) {
+                response = new ResponseEntity<>(result, HttpStatus.OK);
+                logger.info("Scored PatientAssessment: {}", result.getId());
+            } else {
+                response = new ResponseEntity<>(HttpStatus.NOT_FOUND);
+                logger.info("Failed to find PatientAssessment to score: {}", id);
+            }
+        } catch (Exception e) {
+            response = new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+            logger.error("Failed to score PatientAssessment. Error: {}", e.getMessage());
+        }
+        return response;
+    }
+
+    /**
+     * Computes and saves the scores of all the PatientAssessment entities of an Assessment.
+     * @param id the Assessment id.
+     * @return the number of scored PatientAssessment entities.
+     * @throws IllegalArgumentException if id is null, the Assessment does not exist or its scoring function is invalid.
+     */
+    @PutMapping("/score/assessment/{id}")
+    @ResponseStatus(HttpStatus.OK)
+    public ResponseEntity<Integer> scoreAll(@PathVariable Long id) {
+        ResponseEntity<Integer> response;
+
+        try {
+            response = new ResponseEntity<>(assessmentScoringService.scoreAll(id), HttpStatus.OK);
+        } catch (Exception e) {
+            response = new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+            logger.error("Failed to score the PatientAssessment entities of the Assessment {}. Error: {}", id,
+                    e.getMessage());
+        }
+        return response;
+    }
 }
@@ -3,6 +3,8 @@ package ca.uqam.latece.evo.server.core.controller.instance;
 import ca.uqam.latece.evo.server.core.controller.AbstractEvoController;
 import ca.uqam.latece.evo.server.core.model.instance.Patient;
 import ca.uqam.latece.evo.server.core.model.instance.PatientMedicalFile;
+import ca.uqam.latece.evo.server.core.request.EvoQuery;
+import ca.uqam.latece.evo.server.core.response.QueryPage;
 import ca.uqam.latece.evo.server.core.service.instance.PatientService;
 
 import org.slf4j.Logger;
@@ -11,6 +13,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
+import org.springframework.util.MultiValueMap;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -392,4 +395,28 @@ public class PatientController extends AbstractEvoController<Patient> {
 
         return response;
     }
+
+    /**
+     * Gets a page of the Patients matching all the filters of a query, in one SQL statement: name (substring), email, birthdate and occupation, e.g.
+     * {@code /patient/query?name=walk&sort=name,desc&page=0&size=50}. A repeated filter matches any of its values.
+     * @param parameters the filters, the sort orders (sort), the page number (page, from 0) and the page size (size).
+     * @return the page of Patients, or HTTP 400 if a filter or a sort order is unknown, or a value is invalid.
+     */
+    @GetMapping("/query")
+    @ResponseStatus(HttpStatus.OK) // 200
+    public ResponseEntity<QueryPage<Patient>> query(@RequestParam MultiValueMap<String, String> parameters) {
+        ResponseEntity<QueryPage<Patient>> response;
+
+        try {
+            QueryPage<Patient> page = patientService.query(EvoQuery.of(parameters));
+            response = new ResponseEntity<>(page, HttpStatus.OK);
+            logger.info("Found {} Patient of {} with the query: {}", page.getContent().size(),
+                    page.getTotalElements(), parameters);
+        } catch (Exception e) {
+            response = new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+            logger.error("Failed to query Patient with: {}. Error: {}", parameters, e.getMessage());
+        }
+
+        return response;
+    }
 }
@@ -0,0 +1,56 @@
+package ca.uqam.latece.evo.server.core.controller.instance;
+
+import ca.uqam.latece.evo.server.core.response.PatientDashboard;
+import ca.uqam.latece.evo.server.core.service.instance.PatientDashboardService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Patient Dashboard Controller: the overview of a Patient (profile, latest assessments and referrals, and the progress
+ * of its interventions) in one request.
+ * @version 1.0
+ * @author Edilton Lima dos Santos.
+ */
+@RestController
+@RequestMapping("/patientdashboard")
+public class PatientDashboardController {
+    private static final Logger logger = LoggerFactory.getLogger(PatientDashboardController.class);
+
+    @Autowired
+    private PatientDashboardService patientDashboardService;
+
+    /**
+     * Gets the dashboard of a Patient.
+     * @param id the Patient id.
+     * @return the dashboard, or HTTP 404 if the Patient does not exist.
+     */
+    @GetMapping("/{id}")
+    @ResponseStatus(HttpStatus.OK) // 200
+    public ResponseEntity<PatientDashboard> getDashboard(@PathVariable Long id) {
+        ResponseEntity<PatientDashboard> response;
+
+        try {
+            PatientDashboard dashboard = patientDashboardService.getDashboard(id);
+
+            if (dashboard != null) {
+                response = new ResponseEntity<>(dashboard, HttpStatus.OK);
+            } else {
+                response = new ResponseEntity<>(HttpStatus.NOT_FOUND);
+                logger.info("No dashboard of the patient {}", id);
+            }
+        } catch (Exception e) {
+            response = new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+            logger.error("Failed to get the dashboard of the patient {}. Error: {}", id, e.getMessage());
+        }
+
+        return response;
+    }
+}
@@ -0,0 +1,60 @@
+package ca.uqam.latece.evo.server.core.controller.instance;
+
+import ca.uqam.latece.evo.server.core.enumeration.PurgeMode;
+import ca.uqam.latece.evo.server.core.response.PatientPurgeReport;
+import ca.uqam.latece.evo.server.core.service.instance.PatientPurgeService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Patient Purge Controller: deletes or anonymizes all the data of a Patient in one request.
+ * @version 1.0
+ * @author Edilton Lima dos Santos.
+ */
+@RestController
+@RequestMapping("/patientpurge")
+public class PatientPurgeController {
+    private static final Logger logger = LoggerFactory.getLogger(PatientPurgeController.class);
+
+    @Autowired
+    private PatientPurgeService patientPurgeService;
+
+    /**
+     * Purges the data of a Patient.
+     * @param id the Patient id.
+     * @param mode DELETE (default) or ANONYMIZE.
+     * @return what was purged, or HTTP 404 if the Patient does not exist.
+     */
+    @DeleteMapping("/{id}")
+    @ResponseStatus(HttpStatus.OK) // 200
+    public ResponseEntity<PatientPurgeReport> purge(@PathVariable Long id,
+                                                    @RequestParam(value = "mode", defaultValue = "DELETE")
+                                                    PurgeMode mode) {
+        ResponseEntity<PatientPurgeReport> response;
+
+        try {
+            PatientPurgeReport report = patientPurgeService.purge(id, mode);
+
+            if (report != null) {
+                response = new ResponseEntity<>(report, HttpStatus.OK);
+            } else {
+                response = new ResponseEntity<>(HttpStatus.NOT_FOUND);
+                logger.info("No patient {} to purge", id);
+            }
+        } catch (Exception e) {
+            response = new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+            logger.error("Failed to purge the patient {}. Error: {}", id, e.getMessage());
+        }
+
+        return response;
+    }
+}
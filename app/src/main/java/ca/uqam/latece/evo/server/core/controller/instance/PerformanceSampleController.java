@@ -0,0 +1,132 @@
+package ca.uqam.latece.evo.server.core.controller.instance;
+
+import ca.uqam.latece.evo.server.core.enumeration.RollupGranularity;
+import ca.uqam.latece.evo.server.core.request.PerformanceSampleBatch;
+import ca.uqam.latece.evo.server.core.response.PerformanceRollup;
+import ca.uqam.latece.evo.server.core.response.PerformanceSample;
+import ca.uqam.latece.evo.server.core.service.instance.PerformanceSampleService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Performance Sample Controller: the measurements of the BehaviorPerformanceInstances and their rollups.
+ * @version 1.0
+ * @author Edilton Lima dos Santos.
+ */
+@RestController
+@RequestMapping("/performancesample")
+public class PerformanceSampleController {
+    private static final Logger logger = LoggerFactory.getLogger(PerformanceSampleController.class);
+
+    @Autowired
+    private PerformanceSampleService performanceSampleService;
+
+    /**
+     * Ingests batches of samples.
+     * @param batches the batches, of one BehaviorPerformanceInstance each.
+     * @return the number of ingested samples.
+     */
+    @PostMapping
+    @ResponseStatus(HttpStatus.CREATED) // 201
+    public ResponseEntity<Integer> ingest(@RequestBody List<PerformanceSampleBatch> batches) {
+        ResponseEntity<Integer> response;
+
+        try {
+            response = new ResponseEntity<>(performanceSampleService.ingest(batches), HttpStatus.CREATED);
+        } catch (Exception e) {
+            response = new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+            logger.error("Failed to ingest the performance samples. Error: {}", e.getMessage());
+        }
+
+        return response;
+    }
+
+    /**
+     * Gets the samples of a BehaviorPerformanceInstance in a time range.
+     * @param id the BehaviorPerformanceInstance id.
+     * @param from the start of the range (inclusive), the epoch by default.
+     * @param to the end of the range (exclusive), now by default.
+     * @return the samples in time order, or HTTP 404 if there are none.
+     */
+    @GetMapping("/{id}")
+    @ResponseStatus(HttpStatus.OK) // 200
+    public ResponseEntity<List<PerformanceSample>> findSamples(@PathVariable Long id,
+                                                               @RequestParam(value = "from", required = false)
+                                                               @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                               Instant from,
+                                                               @RequestParam(value = "to", required = false)
+                                                               @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                               Instant to) {
+        ResponseEntity<List<PerformanceSample>> response;
+
+        try {
+            List<PerformanceSample> samples = performanceSampleService.findSamples(id, from, to);
+
+            if (!samples.isEmpty()) {
+                response = new ResponseEntity<>(samples, HttpStatus.OK);
+            } else {
+                response = new ResponseEntity<>(HttpStatus.NOT_FOUND);
+                logger.info("No performance sample of the instance {}", id);
+            }
+        } catch (Exception e) {
+            response = new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+            logger.error("Failed to find the performance samples of the instance {}. Error: {}", id, e.getMessage());
+        }
+
+        return response;
+    }
+
+    /**
+     * Gets the hourly or daily rollups of a BehaviorPerformanceInstance in a time range.
+     * @param id the BehaviorPerformanceInstance id.
+     * @param granularity HOUR (default) or DAY.
+     * @param from the start of the range (inclusive), the epoch by default.
+     * @param to the end of the range (exclusive), now by default.
+     * @return the rollups in time order, or HTTP 404 if there are none.
+     */
+    @GetMapping("/{id}/rollup")
+    @ResponseStatus(HttpStatus.OK) // 200
+    public ResponseEntity<List<PerformanceRollup>> findRollups(@PathVariable Long id,
+                                                               @RequestParam(value = "granularity",
+                                                                       defaultValue = "HOUR")
+                                                               RollupGranularity granularity,
+                                                               @RequestParam(value = "from", required = false)
+                                                               @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                               Instant from,
+                                                               @RequestParam(value = "to", required = false)
+                                                               @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                               Instant to) {
+        ResponseEntity<List<PerformanceRollup>> response;
+
+        try {
+            List<PerformanceRollup> rollups = performanceSampleService.findRollups(id, granularity, from, to);
+
+            if (!rollups.isEmpty()) {
+                response = new ResponseEntity<>(rollups, HttpStatus.OK);
+            } else {
+                response = new ResponseEntity<>(HttpStatus.NOT_FOUND);
+                logger.info("No performance rollup of the instance {}", id);
+            }
+        } catch (Exception e) {
+            response = new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+            logger.error("Failed to find the performance rollups of the instance {}. Error: {}", id, e.getMessage());
+        }
+
+        return response;
+    }
+}
@@ -0,0 +1,82 @@
+package ca.uqam.latece.evo.server.core.controller.instance;
+
+import ca.uqam.latece.evo.server.core.repository.instance.ReportingReminderStore.Reminder;
+import ca.uqam.latece.evo.server.core.response.ReportingReminderReport;
+import ca.uqam.latece.evo.server.core.service.instance.ReportingReminderScheduler;
+import ca.uqam.latece.evo.server.core.service.instance.ReportingReminderService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Optional;
+
+/**
+ * Reporting Reminder Controller: the due times of the reports of the Reporting activity instances.
+ * @version 1.0
+ * @author Edilton Lima dos Santos.
+ */
+@RestController
+@RequestMapping("/reportingreminder")
+public class ReportingReminderController {
+    private static final Logger logger = LoggerFactory.getLogger(ReportingReminderController.class);
+
+    @Autowired
+    private ReportingReminderService reportingReminderService;
+
+    @Autowired
+    private ReportingReminderScheduler reportingReminderScheduler;
+
+    /**
+     * Gets the next reminder of a Reporting activity instance.
+     * @param id the BCIActivityInstance id.
+     * @return the reminder, or HTTP 404 if no report is due.
+     */
+    @GetMapping("/{id}")
+    @ResponseStatus(HttpStatus.OK) // 200
+    public ResponseEntity<Reminder> findReminder(@PathVariable Long id) {
+        ResponseEntity<Reminder> response;
+
+        try {
+            Optional<Reminder> reminder = reportingReminderService.findReminder(id);
+
+            if (reminder.isPresent()) {
+                response = new ResponseEntity<>(reminder.get(), HttpStatus.OK);
+            } else {
+                response = new ResponseEntity<>(HttpStatus.NOT_FOUND);
+                logger.info("No reporting reminder of the instance {}", id);
+            }
+        } catch (Exception e) {
+            response = new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+            logger.error("Failed to find the reporting reminder of the instance {}. Error: {}", id, e.getMessage());
+        }
+
+        return response;
+    }
+
+    /**
+     * Schedules the new Reporting activity instances and fires the due reminders.
+     * @return the report of the run, or HTTP 400 if the scheduler is already running.
+     */
+    @PostMapping("/run")
+    @ResponseStatus(HttpStatus.OK) // 200
+    public ResponseEntity<ReportingReminderReport> run() {
+        ResponseEntity<ReportingReminderReport> response;
+
+        try {
+            response = new ResponseEntity<>(reportingReminderScheduler.run(), HttpStatus.OK);
+        } catch (Exception e) {
+            response = new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+            logger.error("Failed to run the reporting reminder scheduler. Error: {}", e.getMessage());
+        }
+
+        return response;
+    }
+}
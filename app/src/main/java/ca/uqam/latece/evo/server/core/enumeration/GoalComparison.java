@@ -0,0 +1,21 @@
+package ca.uqam.latece.evo.server.core.enumeration;
+
+/**
+ * Represents how the progress of a goal is compared with its target:
+ * AT_LEAST - the goal is met once the progress reaches the target (e.g. walk 10000 steps).
+ * AT_MOST - the goal is met as long as the progress stays below the target (e.g. smoke at most 5 cigarettes).
+ * @version 1.0
+ * @author Edilton Lima dos Santos.
+ */
+public enum GoalComparison {
+    AT_LEAST,
+    AT_MOST;
+
+    /**
+     * @param targetReached whether the progress has reached the target.
+     * @return whether the goal is met.
+     */
+    public boolean isMet(boolean targetReached) {
+        return this == AT_LEAST ? targetReached : !targetReached;
+    }
+}
@@ -1,7 +1,15 @@
 package ca.uqam.latece.evo.server.core.enumeration;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
+
 /**
  * Represents the Interaction Medium of Interaction.
+ * <p>
+ * A set of media is stored as a bitmask of the {@link #bit()} of its media (interaction_media column). The bits are
+ * also computed by the interaction_media generated column of schema.sql: the order of the media must not change.
  * @version 1.0
  * @author Edilton Lima dos Santos.
  */
@@ -25,4 +33,78 @@ public enum InteractionMedium {
         };
     }
 
+    /**
+     * @return the bit of the medium in a bitmask of media.
+     */
+    public int bit() {
+        return 1 << ordinal();
+    }
+
+    /**
+     * @param media the media, null elements are ignored.
+     * @return the bitmask of the media.
+     */
+    public static int maskOf(Collection<InteractionMedium> media) {
+        int mask = 0;
+
+        for (InteractionMedium medium : media) {
+            if (medium != null) {
+                mask |= medium.bit();
+            }
+        }
+
+        return mask;
+    }
+
+    /**
+     * @param mask a bitmask of media.
+     * @return the media of the bitmask.
+     */
+    public static EnumSet<InteractionMedium> setOf(int mask) {
+        EnumSet<InteractionMedium> media = EnumSet.noneOf(InteractionMedium.class);
+
+        for (InteractionMedium medium : values()) {
+            if ((mask & medium.bit()) != 0) {
+                media.add(medium);
+            }
+        }
+
+        return media;
+    }
+
+    /**
+     * Lists the bitmasks having any of the media, so that an any-of query is an indexed equality with one of them.
+     * @param media the media.
+     * @return the bitmasks having at least one of the media, in increasing order.
+     */
+    public static List<Integer> masksWithAny(Collection<InteractionMedium> media) {
+        int mask = maskOf(media);
+        List<Integer> masks = new ArrayList<>();
+
+        for (int candidate = 1; candidate < 1 << values().length; candidate++) {
+            if ((candidate & mask) != 0) {
+                masks.add(candidate);
+            }
+        }
+
+        return masks;
+    }
+
+    /**
+     * Lists the bitmasks having all the media, so that an all-of query is an indexed equality with one of them.
+     * @param media the media.
+     * @return the bitmasks having all the media, in increasing order.
+     */
+    public static List<Integer> masksWithAll(Collection<InteractionMedium> media) {
+        int mask = maskOf(media);
+        List<Integer> masks = new ArrayList<>();
+
+        for (int candidate = 1; candidate < 1 << values().length; candidate++) {
+            if ((candidate & mask) == mask) {
+                masks.add(candidate);
+            }
+        }
+
+        return masks;
+    }
 }
@@ -0,0 +1,15 @@
+package ca.uqam.latece.evo.server.core.enumeration;
+
+/**
+ * Represents how the data of a patient is purged:
+ * DELETE - the patient, its actor, medical file, participants, assessments, referrals, intervention instance trees
+ * (live and archived) and everything recorded for their activity instances are deleted.
+ * ANONYMIZE - the identifying data of the patient (actor, patient, medical file and referral reasons) is erased, and
+ * its clinical history is kept.
+ * @version 1.0
+ * @author Edilton Lima dos Santos.
+ */
+public enum PurgeMode {
+    DELETE,
+    ANONYMIZE
+}
@@ -0,0 +1,15 @@
+package ca.uqam.latece.evo.server.core.enumeration;
+
+/**
+ * Represents the enrollment status of a BCIReferral:
+ * NEW - the referral waits for the enrollment pipeline.
+ * ENROLLED - the patient is enrolled in the intervention instances of the referral.
+ * FAILED - the referral could not be enrolled (see its failure reason).
+ * @version 1.0
+ * @author Edilton Lima dos Santos.
+ */
+public enum ReferralStatus {
+    NEW,
+    ENROLLED,
+    FAILED
+}
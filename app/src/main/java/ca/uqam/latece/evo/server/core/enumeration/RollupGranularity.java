@@ -0,0 +1,24 @@
+package ca.uqam.latece.evo.server.core.enumeration;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Represents the granularity of the rollups of the behavior performance samples:
+ * HOUR - the samples of each hour (UTC).
+ * DAY - the samples of each day (UTC).
+ * @version 1.0
+ * @author Edilton Lima dos Santos.
+ */
+public enum RollupGranularity {
+    HOUR,
+    DAY;
+
+    /**
+     * @param time a sample time.
+     * @return the start of the bucket of the time.
+     */
+    public Instant bucketOf(Instant time) {
+        return time.truncatedTo(this == HOUR ? ChronoUnit.HOURS : ChronoUnit.DAYS);
+    }
+}
@@ -0,0 +1,25 @@
+package ca.uqam.latece.evo.server.core.enumeration;
+
+/**
+ * Represents the kinds of entities returned by the unified search:
+ * PATIENT - patients, by name.
+ * HEALTHCARE_PROFESSIONAL - health care professionals, by name or specialties.
+ * CONTENT - contents of the recipe catalog, by name.
+ * BCI_ACTIVITY - BCI activities of the recipe catalog, by name.
+ * BCI_MODULE - BCI modules of the recipe catalog, by name.
+ * BEHAVIOR_CHANGE_INTERVENTION - behavior change interventions of the recipe catalog, by name.
+ * SKILL - skills, by name.
+ * ROLE - roles, by name.
+ * @version 1.0
+ * @author Edilton Lima dos Santos.
+ */
+public enum SearchEntityType {
+    PATIENT,
+    HEALTHCARE_PROFESSIONAL,
+    CONTENT,
+    BCI_ACTIVITY,
+    BCI_MODULE,
+    BEHAVIOR_CHANGE_INTERVENTION,
+    SKILL,
+    ROLE
+}
@@ -0,0 +1,26 @@
+package ca.uqam.latece.evo.server.core.event;
+
+import ca.uqam.latece.evo.server.core.model.instance.ActivityInstance;
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * Event published when an ActivityInstance of an intervention tree (BehaviorChangeInterventionInstance,
+ * BehaviorChangeInterventionPhaseInstance or BehaviorChangeInterventionBlockInstance) is saved, so that its listeners
+ * (e.g. the cohort analytics) follow the changes of its execution status.
+ * <p>
+ * The event is published in the transaction of the save.
+ * @param <A> the type of the saved ActivityInstance.
+ * @version 1.0
+ * @author Edilton Lima dos Santos.
+ */
+public class ActivityInstanceSavedEvent<A extends ActivityInstance> extends EvoEvent<A> {
+
+    public ActivityInstanceSavedEvent(@NotNull A evoModel) {
+        super(evoModel);
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "[" + getEvoModel().getClass().getSimpleName() + " " + getEvoModelId() + "]";
+    }
+}
@@ -0,0 +1,120 @@
+package ca.uqam.latece.evo.server.core.event;
+
+import ca.uqam.latece.evo.server.core.enumeration.GoalComparison;
+import jakarta.validation.constraints.NotNull;
+import org.springframework.context.ApplicationEvent;
+
+import java.io.Serial;
+
+/**
+ * Event published when the progress of a GoalSettingInstance crosses one of the thresholds of its target (a quarter,
+ * half, three quarters or all of it), upwards or downwards.
+ * <p>
+ * The event is published in the transaction of the new progress, once per crossing: the progress between two
+ * thresholds publishes nothing.
+ * @version 1.0
+ * @author Edilton Lima dos Santos.
+ */
+public class GoalAttainmentEvent extends ApplicationEvent {
+    @Serial
+    private static final long serialVersionUID = 738204519L;
+
+    /**
+     * The level of a progress that has reached its target.
+     */
+    public static final int MAX_LEVEL = 4;
+
+    private final long goalSettingInstanceId;
+
+    private final long concernsInstanceId;
+
+    private final int previousLevel;
+
+    private final int level;
+
+    private final double progress;
+
+    private final double target;
+
+    private final GoalComparison comparison;
+
+    private final boolean finishOnAttainment;
+
+    public GoalAttainmentEvent(@NotNull Object source, long goalSettingInstanceId, long concernsInstanceId,
+                               int previousLevel, int level, double progress, double target,
+                               @NotNull GoalComparison comparison, boolean finishOnAttainment) {
+        super(source);
+        this.goalSettingInstanceId = goalSettingInstanceId;
+        this.concernsInstanceId = concernsInstanceId;
+        this.previousLevel = previousLevel;
+        this.level = level;
+        this.progress = progress;
+        this.target = target;
+        this.comparison = comparison;
+        this.finishOnAttainment = finishOnAttainment;
+    }
+
+    public long getGoalSettingInstanceId() {
+        return goalSettingInstanceId;
+    }
+
+    /**
+     * @return the id of the BCIActivityInstance concerned by the goal.
+     */
+    public long getConcernsInstanceId() {
+        return concernsInstanceId;
+    }
+
+    /**
+     * @return the number of thresholds reached before the crossing, from 0 to {@value MAX_LEVEL}.
+     */
+    public int getPreviousLevel() {
+        return previousLevel;
+    }
+
+    /**
+     * @return the number of thresholds reached after the crossing, from 0 to {@value MAX_LEVEL}.
+     */
+    public int getLevel() {
+        return level;
+    }
+
+    public double getProgress() {
+        return progress;
+    }
+
+    public double getTarget() {
+        return target;
+    }
+
+    public GoalComparison getComparison() {
+        return comparison;
+    }
+
+    /**
+     * @return whether the concerned activity is finished when the goal is met.
+     */
+    public boolean isFinishOnAttainment() {
+        return finishOnAttainment;
+    }
+
+    /**
+     * @return whether the goal is met after the crossing.
+     */
+    public boolean isMet() {
+        return comparison.isMet(level == MAX_LEVEL);
+    }
+
+    /**
+     * @return whether the goal was met before the crossing.
+     */
+    public boolean wasMet() {
+        return comparison.isMet(previousLevel == MAX_LEVEL);
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "[GoalSettingInstance " + goalSettingInstanceId + " " + previousLevel +
+                " -> " + level + ", " + progress + "/" + target + " " + comparison + "]";
+    }
+}
@@ -0,0 +1,47 @@
+package ca.uqam.latece.evo.server.core.event;
+
+import ca.uqam.latece.evo.server.core.util.SampleCodec;
+import jakarta.validation.constraints.NotNull;
+import org.springframework.context.ApplicationEvent;
+
+import java.io.Serial;
+import java.util.List;
+
+/**
+ * Event published when behavior performance samples are ingested, so that its listeners (e.g. the goal attainment
+ * evaluation) follow the new samples without reading them back.
+ * <p>
+ * The event is published in the transaction of the ingestion.
+ * @version 1.0
+ * @author Edilton Lima dos Santos.
+ */
+public class PerformanceSamplesIngestedEvent extends ApplicationEvent {
+    @Serial
+    private static final long serialVersionUID = 502318447L;
+
+    /**
+     * The new samples of a BehaviorPerformanceInstance, sorted by time.
+     * @param instanceId the BehaviorPerformanceInstance id.
+     * @param samples the samples, with fixed-point values.
+     */
+    public record IngestedSamples(long instanceId, SampleCodec.Samples samples) {}
+
+    private final transient List<IngestedSamples> ingestedSamples;
+
+    public PerformanceSamplesIngestedEvent(@NotNull Object source, @NotNull List<IngestedSamples> ingestedSamples) {
+        super(source);
+        this.ingestedSamples = List.copyOf(ingestedSamples);
+    }
+
+    /**
+     * @return the new samples, by batch.
+     */
+    public List<IngestedSamples> getIngestedSamples() {
+        return ingestedSamples;
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "[" + ingestedSamples.size() + " batches]";
+    }
+}
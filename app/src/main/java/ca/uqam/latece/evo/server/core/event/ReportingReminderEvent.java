@@ -0,0 +1,50 @@
+package ca.uqam.latece.evo.server.core.event;
+
+import jakarta.validation.constraints.NotNull;
+import org.springframework.context.ApplicationEvent;
+
+import java.io.Serial;
+import java.time.Instant;
+
+/**
+ * Event published when a report of a Reporting activity instance in progress is due, so that its listeners remind the
+ * participants of the instance.
+ * <p>
+ * The event is published in the transaction that moves the reminder to its next due time: the listeners that send
+ * messages should run after its commit.
+ * @version 1.0
+ * @author Edilton Lima dos Santos.
+ */
+public class ReportingReminderEvent extends ApplicationEvent {
+    @Serial
+    private static final long serialVersionUID = 418036275L;
+
+    private final long instanceId;
+
+    private final Instant dueAt;
+
+    public ReportingReminderEvent(@NotNull Object source, long instanceId, @NotNull Instant dueAt) {
+        super(source);
+        this.instanceId = instanceId;
+        this.dueAt = dueAt;
+    }
+
+    /**
+     * @return the id of the BCIActivityInstance of the Reporting.
+     */
+    public long getInstanceId() {
+        return instanceId;
+    }
+
+    /**
+     * @return the due time of the report.
+     */
+    public Instant getDueAt() {
+        return dueAt;
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "[BCIActivityInstance " + instanceId + " due at " + dueAt + "]";
+    }
+}
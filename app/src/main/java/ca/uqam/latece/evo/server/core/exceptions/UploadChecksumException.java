@@ -0,0 +1,11 @@
+package ca.uqam.latece.evo.server.core.exceptions;
+
+public class UploadChecksumException extends StorageException {
+    public UploadChecksumException(String message) {
+        super(message);
+    }
+
+    public UploadChecksumException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,40 @@
+package ca.uqam.latece.evo.server.core.interfaces;
+
+import org.springframework.core.io.Resource;
+
+import java.nio.file.Path;
+
+/**
+ * Stores immutable blobs identified by the hexadecimal SHA-256 of their content.
+ * @version 1.0
+ * @author Edilton Lima dos Santos.
+ */
+public interface BlobStore {
+
+    /**
+     * Creates an empty file where an upload is staged before it is published with {@link #publish(String, Path)}.
+     * @return the staging file.
+     */
+    Path createStagingFile();
+
+    /**
+     * Publishes a staged file under its hash, atomically: readers see either no blob or the whole blob. If the blob
+     * already exists the staged file is discarded. In all cases the staging file is consumed.
+     * @param hash the hexadecimal SHA-256 of the staged file.
+     * @param stagingFile the staged file.
+     */
+    void publish(String hash, Path stagingFile);
+
+    boolean exists(String hash);
+
+    Resource loadAsResource(String hash);
+
+    /**
+     * Returns the local file of a blob, for the stores keeping the blobs on the local disk.
+     * @param hash the hexadecimal SHA-256 of the blob.
+     * @return the path of the blob.
+     */
+    Path load(String hash);
+
+    void delete(String hash);
+}
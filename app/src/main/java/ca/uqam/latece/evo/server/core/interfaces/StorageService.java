@@ -9,6 +9,16 @@ public interface StorageService {
 
     String store(MultipartFile file);
 
+    /**
+     * Stores a file already staged on the local disk (e.g. by a streaming or resumable upload), replacing the file
+     * with the same name if any. The staged file is moved rather than copied when possible, and is consumed.
+     * @param filename the sanitized name of the file.
+     * @param stagedFile the staged file.
+     * @param sha256 the hexadecimal SHA-256 of the staged file, computed while it was uploaded.
+     * @return the name of the stored file.
+     */
+    String store(String filename, Path stagedFile, String sha256);
+
     void delete(String filename);
 
     void deleteAll();
@@ -1,5 +1,6 @@
 package ca.uqam.latece.evo.server.core.model;
 
+import ca.uqam.latece.evo.server.core.enumeration.GoalComparison;
 import com.fasterxml.jackson.annotation.JsonIdentityInfo;
 import com.fasterxml.jackson.annotation.JsonIdentityReference;
 import com.fasterxml.jackson.annotation.ObjectIdGenerators;
@@ -22,6 +23,22 @@ public class GoalSetting extends BCIActivity {
     @JoinColumn(name = "goal_setting_concerns_bci_activity_id", referencedColumnName = "bci_activity_id", nullable = true)
     private BCIActivity bciActivity;
 
+    /**
+     * The target of the progress of the concerned activity, or null if the goal is not evaluated.
+     */
+    @Column(name = "goal_setting_target", nullable = true)
+    private Double target;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "goal_setting_comparison", nullable = true, length = 10)
+    private GoalComparison comparison;
+
+    /**
+     * Whether the concerned activity is finished when the goal is met.
+     */
+    @Column(name = "goal_setting_finish_on_attainment", nullable = false)
+    private boolean finishOnAttainment;
+
     public void setBciActivity(BCIActivity bciActivity) {
         this.bciActivity = bciActivity;
     }
@@ -29,4 +46,28 @@ public class GoalSetting extends BCIActivity {
     public BCIActivity getBciActivity() {
         return bciActivity;
     }
-}
\ No newline at end of file
+
+    public Double getTarget() {
+        return target;
+    }
+
+    public void setTarget(Double target) {
+        this.target = target;
+    }
+
+    public GoalComparison getComparison() {
+        return comparison;
+    }
+
+    public void setComparison(GoalComparison comparison) {
+        this.comparison = comparison;
+    }
+
+    public boolean isFinishOnAttainment() {
+        return finishOnAttainment;
+    }
+
+    public void setFinishOnAttainment(boolean finishOnAttainment) {
+        this.finishOnAttainment = finishOnAttainment;
+    }
+}
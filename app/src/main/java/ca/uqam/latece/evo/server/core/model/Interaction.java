@@ -5,11 +5,14 @@ import ca.uqam.latece.evo.server.core.enumeration.InteractionMedium;
 import ca.uqam.latece.evo.server.core.enumeration.InteractionMode;
 
 import com.fasterxml.jackson.annotation.JsonIdentityInfo;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 import com.fasterxml.jackson.annotation.ObjectIdGenerators;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
+import org.hibernate.annotations.Generated;
+import org.hibernate.generator.EventType;
 
 import java.util.*;
 
@@ -23,7 +26,8 @@ import java.util.*;
 @Table(name = "interaction")
 @PrimaryKeyJoinColumn(name="interaction_id", referencedColumnName = "bci_activity_id")
 @JsonPropertyOrder({"id", "name", "description", "type", "preconditions", "postconditions","interactionMode",
-"interactionInitiatorRole", "interactionMedium1", "interactionMedium2", "interactionMedium3", "interactionMedium4"})
+"interactionInitiatorRole", "interactionMedium1", "interactionMedium2", "interactionMedium3", "interactionMedium4",
+"interactionMedia"})
 @JsonIdentityInfo(generator = ObjectIdGenerators.PropertyGenerator.class, property = "id")
 public class Interaction extends BCIActivity {
     @NotNull
@@ -59,6 +63,14 @@ public class Interaction extends BCIActivity {
     @Column(name = "interaction_medium4", nullable = true, length = 9)
     private InteractionMedium interactionMedium4;
 
+    /**
+     * The bitmask of the four media (see {@link InteractionMedium#bit()}), computed by the database.
+     */
+    @JsonIgnore
+    @Generated(event = {EventType.INSERT, EventType.UPDATE})
+    @Column(name = "interaction_media", insertable = false, updatable = false)
+    private Integer interactionMediaMask;
+
     public Interaction() {}
 
     public Interaction(@NotNull String name,
@@ -139,6 +151,15 @@ public class Interaction extends BCIActivity {
         return interactionMedium4;
     }
 
+    /**
+     * @return the media of the Interaction, i.e. its four media without duplicates.
+     */
+    @JsonProperty(value = "interactionMedia", access = JsonProperty.Access.READ_ONLY)
+    public Set<InteractionMedium> getInteractionMedia() {
+        return InteractionMedium.setOf(InteractionMedium.maskOf(Arrays.asList(interactionMedium1, interactionMedium2,
+                interactionMedium3, interactionMedium4)));
+    }
+
     @Override
     public boolean equals(Object object) {
         if (super.equals(object)) {
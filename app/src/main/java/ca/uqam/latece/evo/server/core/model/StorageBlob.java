@@ -0,0 +1,78 @@
+package ca.uqam.latece.evo.server.core.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * StorageBlob model class: a file stored once in the content-addressed storage, identified by the SHA-256 of its
+ * content. The reference count is maintained by the StorageBlobRepository queries.
+ * @version 1.0
+ * @author Edilton Lima dos Santos.
+ */
+@Entity
+@Table(name = "storage_blob")
+@JsonPropertyOrder({"id", "hash", "size", "referenceCount"})
+public class StorageBlob extends AbstractEvoModel {
+    @JsonProperty("id")
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "storage_blob_id")
+    private Long id;
+
+    @NotNull
+    @JsonProperty("hash")
+    @Column(name = "storage_blob_hash", nullable = false, unique = true, length = 64)
+    private String hash;
+
+    @JsonProperty("size")
+    @Column(name = "storage_blob_size", nullable = false)
+    private long size;
+
+    @JsonProperty("referenceCount")
+    @Column(name = "storage_blob_reference_count", nullable = false)
+    private int referenceCount;
+
+    public StorageBlob() {}
+
+    public StorageBlob(String hash, long size, int referenceCount) {
+        this.hash = hash;
+        this.size = size;
+        this.referenceCount = referenceCount;
+    }
+
+    @Override
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    @Override
+    public Long getId() {
+        return this.id;
+    }
+
+    public void setHash(String hash) {
+        this.hash = hash;
+    }
+
+    public String getHash() {
+        return this.hash;
+    }
+
+    public void setSize(long size) {
+        this.size = size;
+    }
+
+    public long getSize() {
+        return this.size;
+    }
+
+    public void setReferenceCount(int referenceCount) {
+        this.referenceCount = referenceCount;
+    }
+
+    public int getReferenceCount() {
+        return this.referenceCount;
+    }
+}
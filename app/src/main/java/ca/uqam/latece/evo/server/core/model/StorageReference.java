@@ -0,0 +1,94 @@
+package ca.uqam.latece.evo.server.core.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * StorageReference model class: maps a file of an entity (e.g. the file video.mp4 of the Content 1) to the StorageBlob
+ * storing its content.
+ * @version 1.0
+ * @author Edilton Lima dos Santos.
+ */
+@Entity
+@Table(name = "storage_reference")
+@JsonPropertyOrder({"id", "location", "ownerId", "filename", "blobHash"})
+public class StorageReference extends AbstractEvoModel {
+    @JsonProperty("id")
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "storage_reference_id")
+    private Long id;
+
+    @NotNull
+    @JsonProperty("location")
+    @Column(name = "storage_reference_location", nullable = false, length = 128)
+    private String location;
+
+    @NotNull
+    @JsonProperty("ownerId")
+    @Column(name = "storage_reference_owner_id", nullable = false, length = 128)
+    private String ownerId;
+
+    @NotNull
+    @JsonProperty("filename")
+    @Column(name = "storage_reference_filename", nullable = false, length = 256)
+    private String filename;
+
+    @NotNull
+    @JsonProperty("blobHash")
+    @Column(name = "storage_reference_blob_hash", nullable = false, length = 64)
+    private String blobHash;
+
+    public StorageReference() {}
+
+    public StorageReference(String location, String ownerId, String filename, String blobHash) {
+        this.location = location;
+        this.ownerId = ownerId;
+        this.filename = filename;
+        this.blobHash = blobHash;
+    }
+
+    @Override
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    @Override
+    public Long getId() {
+        return this.id;
+    }
+
+    public void setLocation(String location) {
+        this.location = location;
+    }
+
+    public String getLocation() {
+        return this.location;
+    }
+
+    public void setOwnerId(String ownerId) {
+        this.ownerId = ownerId;
+    }
+
+    public String getOwnerId() {
+        return this.ownerId;
+    }
+
+    public void setFilename(String filename) {
+        this.filename = filename;
+    }
+
+    public String getFilename() {
+        return this.filename;
+    }
+
+    public void setBlobHash(String blobHash) {
+        this.blobHash = blobHash;
+    }
+
+    public String getBlobHash() {
+        return this.blobHash;
+    }
+}
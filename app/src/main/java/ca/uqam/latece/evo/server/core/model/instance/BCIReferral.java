@@ -1,6 +1,8 @@
 package ca.uqam.latece.evo.server.core.model.instance;
 
+import ca.uqam.latece.evo.server.core.enumeration.ReferralStatus;
 import ca.uqam.latece.evo.server.core.model.AbstractEvoModel;
+import ca.uqam.latece.evo.server.core.model.BehaviorChangeIntervention;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
@@ -65,6 +67,17 @@ public class BCIReferral extends AbstractEvoModel {
             inverseJoinColumns = @JoinColumn(name = "bci_referral_interventions_bci_id", referencedColumnName="bci_instance_id"))
     private List<BehaviorChangeInterventionInstance> interventions;
 
+    @ManyToOne
+    @JoinColumn(name = "bci_referral_target_bci_id", referencedColumnName = "behavior_change_intervention_id")
+    private BehaviorChangeIntervention targetIntervention;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "bci_referral_status", nullable = false, length = 8)
+    private ReferralStatus status = ReferralStatus.NEW;
+
+    @Column(name = "bci_referral_failure", length = 256)
+    private String failure;
+
     public BCIReferral() {
         this.interventions = new ArrayList<>();
     }
@@ -169,4 +182,35 @@ public class BCIReferral extends AbstractEvoModel {
             this.interventions.addAll(interventions);
         }
     }
+
+    /**
+     * @return the intervention recipe in which the patient is to be enrolled, or null to resolve it from the
+     * assessment of the referral.
+     */
+    public BehaviorChangeIntervention getTargetIntervention() {
+        return targetIntervention;
+    }
+
+    public void setTargetIntervention(BehaviorChangeIntervention targetIntervention) {
+        this.targetIntervention = targetIntervention;
+    }
+
+    public ReferralStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(ReferralStatus status) {
+        this.status = status;
+    }
+
+    /**
+     * @return the reason why the enrollment failed, or null.
+     */
+    public String getFailure() {
+        return failure;
+    }
+
+    public void setFailure(String failure) {
+        this.failure = failure;
+    }
 }
@@ -1,6 +1,7 @@
 package ca.uqam.latece.evo.server.core.model.instance;
 
 import ca.uqam.latece.evo.server.core.model.AbstractEvoModel;
+import ca.uqam.latece.evo.server.core.model.Assessment;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
@@ -42,6 +43,13 @@ public class PatientAssessment extends AbstractEvoModel {
     @JoinColumn(name = "patient_assessment_patient", referencedColumnName = "patient_id")
     private Patient patient;
 
+    @ManyToOne(fetch = FetchType.EAGER)
+    @JoinColumn(name = "patient_assessment_assessment_id", referencedColumnName = "assessment_id")
+    private Assessment assessmentActivity;
+
+    @Column(name = "patient_assessment_score")
+    private Double score;
+
     public PatientAssessment() {}
 
     public PatientAssessment(@NotNull String assessment, @NotNull Patient patient) {
@@ -81,4 +89,26 @@ public class PatientAssessment extends AbstractEvoModel {
     public void setPatient(Patient patient) {
         this.patient = patient;
     }
+
+    /**
+     * @return the Assessment whose scoring function computes the score of this PatientAssessment, or null.
+     */
+    public Assessment getAssessmentActivity() {
+        return assessmentActivity;
+    }
+
+    public void setAssessmentActivity(Assessment assessmentActivity) {
+        this.assessmentActivity = assessmentActivity;
+    }
+
+    /**
+     * @return the score computed by the scoring function of the Assessment, or null if it was not computed.
+     */
+    public Double getScore() {
+        return score;
+    }
+
+    public void setScore(Double score) {
+        this.score = score;
+    }
 }
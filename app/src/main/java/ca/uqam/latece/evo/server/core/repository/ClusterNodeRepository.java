@@ -0,0 +1,73 @@
+package ca.uqam.latece.evo.server.core.repository;
+
+import ca.uqam.latece.evo.server.core.model.instance.BehaviorChangeInterventionInstance;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Cluster node repository: the leases of the application nodes that share the ownership of the intervention instances
+ * (cluster_node table). The leases are timed by the clock of the database, so the nodes do not need synchronized
+ * clocks.
+ * @version 1.0
+ * @author Edilton Lima dos Santos.
+ */
+@Repository
+public interface ClusterNodeRepository extends org.springframework.data.repository.Repository<BehaviorChangeInterventionInstance, Long> {
+
+    /**
+     * A node whose lease has not expired.
+     */
+    interface Node {
+
+        String getNodeId();
+
+        String getUrl();
+    }
+
+    /**
+     * Takes or renews the lease of a node.
+     * @param nodeId the id of the node.
+     * @param url the base URL of the node.
+     * @param seconds the duration of the lease, from now.
+     * @return 1.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO cluster_node (cluster_node_id, cluster_node_url, cluster_node_lease_until) " +
+            "VALUES (:nodeId, :url, now() + make_interval(secs => :seconds)) " +
+            "ON CONFLICT (cluster_node_id) DO UPDATE SET cluster_node_url = EXCLUDED.cluster_node_url, " +
+            "cluster_node_lease_until = EXCLUDED.cluster_node_lease_until",
+            nativeQuery = true)
+    int renewLease(@Param("nodeId") String nodeId, @Param("url") String url, @Param("seconds") double seconds);
+
+    /**
+     * Releases the lease of a node, which leaves the ring at once instead of when its lease expires.
+     * @param nodeId the id of the node.
+     * @return the number of released leases.
+     */
+    @Modifying
+    @Query(value = "DELETE FROM cluster_node WHERE cluster_node_id = :nodeId", nativeQuery = true)
+    int releaseLease(@Param("nodeId") String nodeId);
+
+    /**
+     * Deletes the leases that expired before a grace period, so the nodes that stopped without releasing their lease
+     * do not pile up.
+     * @param seconds the grace period.
+     * @return the number of deleted leases.
+     */
+    @Modifying
+    @Query(value = "DELETE FROM cluster_node WHERE cluster_node_lease_until < now() - make_interval(secs => :seconds)",
+            nativeQuery = true)
+    int deleteExpiredLeases(@Param("seconds") double seconds);
+
+    /**
+     * @return the nodes whose lease has not expired, by id.
+     */
+    @Query(value = "SELECT cluster_node_id AS \"nodeId\", cluster_node_url AS url FROM cluster_node " +
+            "WHERE cluster_node_lease_until > now() ORDER BY cluster_node_id",
+            nativeQuery = true)
+    List<Node> findLiveNodes();
+}
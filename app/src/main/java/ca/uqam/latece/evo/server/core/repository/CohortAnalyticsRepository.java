@@ -0,0 +1,253 @@
+package ca.uqam.latece.evo.server.core.repository;
+
+import ca.uqam.latece.evo.server.core.model.instance.BehaviorChangeInterventionInstance;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Cohort analytics repository: the counters of the phase and block instances of the interventions, per intervention,
+ * phase, block and execution status, and the histograms of the time spent in each status.
+ * <p>
+ * The cohort_state table keeps the last known status of each phase and block instance of an intervention instance,
+ * with its intervention, phase and block (0 for a phase instance) ids, so a status change updates the counters
+ * without walking the intervention tree. The counters are striped over a few slots per key, so concurrent status
+ * changes seldom wait for the same row lock; they are summed when read.
+ * @version 1.0
+ * @author Edilton Lima dos Santos.
+ */
+@Repository
+public interface CohortAnalyticsRepository extends org.springframework.data.repository.Repository<BehaviorChangeInterventionInstance, Long> {
+
+    /**
+     * The phase instances and the block instances of all the intervention instances, with their intervention, phase
+     * and block ids (0 for the phase instances) and their execution status.
+     */
+    String INSTANCE_TREE = "SELECT ph.bci_phase_instance_id AS instance_id, " +
+            "bi.bci_instance_behavior_change_intervention_id AS bci_id, " +
+            "ph.bci_phase_instance_behavior_change_intervention_phase_id AS phase_id, CAST(0 AS BIGINT) AS block_id, " +
+            "COALESCE(ai.activity_instance_status, 'UNKNOWN') AS status " +
+            "FROM bci_instance bi " +
+            "JOIN bci_instance_activities ia ON ia.bci_instance_activities_bci_id = bi.bci_instance_id " +
+            "JOIN bci_phase_instance ph ON ph.bci_phase_instance_id = ia.bci_instance_activities_phase_id " +
+            "JOIN activity_instance ai ON ai.activity_instance_id = ph.bci_phase_instance_id " +
+            "UNION ALL " +
+            "SELECT bl.bci_block_instance_id, bi.bci_instance_behavior_change_intervention_id, " +
+            "ph.bci_phase_instance_behavior_change_intervention_phase_id, " +
+            "bl.bci_block_instance_behavior_change_intervention_block_id, " +
+            "COALESCE(ai.activity_instance_status, 'UNKNOWN') " +
+            "FROM bci_instance bi " +
+            "JOIN bci_instance_activities ia ON ia.bci_instance_activities_bci_id = bi.bci_instance_id " +
+            "JOIN bci_phase_instance ph ON ph.bci_phase_instance_id = ia.bci_instance_activities_phase_id " +
+            "JOIN bci_phase_instance_activities pa ON pa.bci_phase_instance_activities_phase_id = ph.bci_phase_instance_id " +
+            "JOIN bci_block_instance bl ON bl.bci_block_instance_id = pa.bci_phase_instance_activities_block_id " +
+            "JOIN activity_instance ai ON ai.activity_instance_id = bl.bci_block_instance_id";
+
+    /**
+     * The last known status of a phase or block instance.
+     */
+    interface State {
+
+        Long getInstanceId();
+
+        Long getInterventionId();
+
+        Long getPhaseId();
+
+        Long getBlockId();
+
+        String getStatus();
+
+        /**
+         * @return the time since which the instance has its status, in milliseconds since the epoch.
+         */
+        Long getSince();
+    }
+
+    /**
+     * A counter of the phase or block instances of an intervention by status (block id 0 for a phase).
+     */
+    interface Counter {
+
+        Long getPhaseId();
+
+        Long getBlockId();
+
+        String getStatus();
+
+        Long getCount();
+    }
+
+    /**
+     * A bucket of a dwell-time histogram: the number of stays, and their total duration in milliseconds.
+     */
+    interface DwellBucket {
+
+        Integer getBucket();
+
+        Long getCount();
+
+        Long getTotalMs();
+    }
+
+    /**
+     * Finds and locks the states of the given phase and block instances, in the order of their ids so that concurrent
+     * updates of a same intervention tree cannot deadlock.
+     * @param instanceIds the ids of the phase and block instances.
+     * @return the states of the instances that are tracked.
+     */
+    @Query(value = "SELECT cohort_state_instance_id AS \"instanceId\", cohort_state_bci_id AS \"interventionId\", " +
+            "cohort_state_phase_id AS \"phaseId\", cohort_state_block_id AS \"blockId\", " +
+            "cohort_state_status AS status, cohort_state_since AS since " +
+            "FROM cohort_state WHERE cohort_state_instance_id IN (:instanceIds) " +
+            "ORDER BY cohort_state_instance_id FOR UPDATE",
+            nativeQuery = true)
+    List<State> findStatesForUpdate(@Param("instanceIds") Collection<Long> instanceIds);
+
+    /**
+     * Starts tracking a phase or block instance, unless it is already tracked.
+     * @return 1 if the instance is now tracked, 0 if it already was.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO cohort_state (cohort_state_instance_id, cohort_state_bci_id, cohort_state_phase_id, " +
+            "cohort_state_block_id, cohort_state_status, cohort_state_since) " +
+            "VALUES (:instanceId, :interventionId, :phaseId, :blockId, :status, :since) " +
+            "ON CONFLICT (cohort_state_instance_id) DO NOTHING",
+            nativeQuery = true)
+    int insertState(@Param("instanceId") Long instanceId, @Param("interventionId") Long interventionId,
+                    @Param("phaseId") Long phaseId, @Param("blockId") Long blockId, @Param("status") String status,
+                    @Param("since") long since);
+
+    @Modifying
+    @Query(value = "UPDATE cohort_state SET cohort_state_status = :status, cohort_state_since = :since " +
+            "WHERE cohort_state_instance_id = :instanceId",
+            nativeQuery = true)
+    int updateState(@Param("instanceId") Long instanceId, @Param("status") String status, @Param("since") long since);
+
+    /**
+     * Adds a delta to a slot of a counter.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO cohort_counter (cohort_counter_bci_id, cohort_counter_phase_id, cohort_counter_block_id, " +
+            "cohort_counter_status, cohort_counter_slot, cohort_counter_count) " +
+            "VALUES (:interventionId, :phaseId, :blockId, :status, :slot, :delta) " +
+            "ON CONFLICT (cohort_counter_bci_id, cohort_counter_phase_id, cohort_counter_block_id, cohort_counter_status, " +
+            "cohort_counter_slot) DO UPDATE SET cohort_counter_count = cohort_counter.cohort_counter_count + :delta",
+            nativeQuery = true)
+    int addToCounter(@Param("interventionId") Long interventionId, @Param("phaseId") Long phaseId,
+                     @Param("blockId") Long blockId, @Param("status") String status, @Param("slot") int slot,
+                     @Param("delta") long delta);
+
+    /**
+     * Records a stay in a status in a slot of a dwell-time histogram bucket.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO cohort_dwell (cohort_dwell_bci_id, cohort_dwell_phase_id, cohort_dwell_block_id, " +
+            "cohort_dwell_status, cohort_dwell_bucket, cohort_dwell_slot, cohort_dwell_count, cohort_dwell_total_ms) " +
+            "VALUES (:interventionId, :phaseId, :blockId, :status, :bucket, :slot, 1, :durationMs) " +
+            "ON CONFLICT (cohort_dwell_bci_id, cohort_dwell_phase_id, cohort_dwell_block_id, cohort_dwell_status, " +
+            "cohort_dwell_bucket, cohort_dwell_slot) DO UPDATE SET " +
+            "cohort_dwell_count = cohort_dwell.cohort_dwell_count + 1, " +
+            "cohort_dwell_total_ms = cohort_dwell.cohort_dwell_total_ms + :durationMs",
+            nativeQuery = true)
+    int addToDwell(@Param("interventionId") Long interventionId, @Param("phaseId") Long phaseId,
+                   @Param("blockId") Long blockId, @Param("status") String status, @Param("bucket") int bucket,
+                   @Param("slot") int slot, @Param("durationMs") long durationMs);
+
+    /**
+     * Finds the counters of an intervention, summed over their slots.
+     * @param interventionId the BehaviorChangeIntervention id.
+     * @return the non-zero counters, ordered by phase, block and status.
+     */
+    @Query(value = "SELECT cohort_counter_phase_id AS \"phaseId\", cohort_counter_block_id AS \"blockId\", " +
+            "cohort_counter_status AS status, CAST(SUM(cohort_counter_count) AS BIGINT) AS count " +
+            "FROM cohort_counter WHERE cohort_counter_bci_id = :interventionId " +
+            "GROUP BY cohort_counter_phase_id, cohort_counter_block_id, cohort_counter_status " +
+            "HAVING SUM(cohort_counter_count) <> 0 " +
+            "ORDER BY cohort_counter_phase_id, cohort_counter_block_id, cohort_counter_status",
+            nativeQuery = true)
+    List<Counter> findCounters(@Param("interventionId") Long interventionId);
+
+    /**
+     * Finds the dwell-time histogram of a status in an intervention, summed over the slots, and over the phases and
+     * blocks when their id is -1.
+     * @param interventionId the BehaviorChangeIntervention id.
+     * @param phaseId the BehaviorChangeInterventionPhase id, or -1 for all the phases.
+     * @param blockId the BehaviorChangeInterventionBlock id, 0 for the phase instances, or -1 for all the blocks.
+     * @param status the execution status.
+     * @return the non-empty buckets, in increasing order.
+     */
+    @Query(value = "SELECT cohort_dwell_bucket AS bucket, CAST(SUM(cohort_dwell_count) AS BIGINT) AS count, " +
+            "CAST(SUM(cohort_dwell_total_ms) AS BIGINT) AS \"totalMs\" " +
+            "FROM cohort_dwell WHERE cohort_dwell_bci_id = :interventionId AND cohort_dwell_status = :status " +
+            "AND (:phaseId = -1 OR cohort_dwell_phase_id = :phaseId) " +
+            "AND (:blockId = -1 OR cohort_dwell_block_id = :blockId) " +
+            "GROUP BY cohort_dwell_bucket ORDER BY cohort_dwell_bucket",
+            nativeQuery = true)
+    List<DwellBucket> findDwellHistogram(@Param("interventionId") Long interventionId, @Param("phaseId") long phaseId,
+                                         @Param("blockId") long blockId, @Param("status") String status);
+
+    /**
+     * Finds the first phase or block instance id of the next batch of the reconciliation.
+     * @param from the id from which to search.
+     * @return the least activity instance or tracked state id from :from, or null if there is none.
+     */
+    @Query(value = "SELECT LEAST((SELECT MIN(activity_instance_id) FROM activity_instance " +
+            "WHERE activity_instance_id >= :from), " +
+            "(SELECT MIN(cohort_state_instance_id) FROM cohort_state WHERE cohort_state_instance_id >= :from))",
+            nativeQuery = true)
+    Long findNextInstanceId(@Param("from") long from);
+
+    /**
+     * Finds and locks the states of a range of phase and block instance ids, in the order of their ids like
+     * {@link #findStatesForUpdate(Collection)}: only these rows wait for the reconciliation of the range.
+     * @param from the first id of the range.
+     * @param to the end of the range (exclusive).
+     * @return the tracked states of the range.
+     */
+    @Query(value = "SELECT cohort_state_instance_id AS \"instanceId\", cohort_state_bci_id AS \"interventionId\", " +
+            "cohort_state_phase_id AS \"phaseId\", cohort_state_block_id AS \"blockId\", " +
+            "cohort_state_status AS status, cohort_state_since AS since " +
+            "FROM cohort_state WHERE cohort_state_instance_id >= :from AND cohort_state_instance_id < :to " +
+            "ORDER BY cohort_state_instance_id FOR UPDATE",
+            nativeQuery = true)
+    List<State> findStateRangeForUpdate(@Param("from") long from, @Param("to") long to);
+
+    /**
+     * Finds the phase and block instances of a range of ids in the intervention trees, with their keys and their
+     * current status (no since).
+     * @param from the first id of the range.
+     * @param to the end of the range (exclusive).
+     * @return the instances of the range, in the order of their ids.
+     */
+    @Query(value = "SELECT DISTINCT ON (t.instance_id) t.instance_id AS \"instanceId\", t.bci_id AS \"interventionId\", " +
+            "t.phase_id AS \"phaseId\", t.block_id AS \"blockId\", t.status AS status, " +
+            "CAST(NULL AS BIGINT) AS since " +
+            "FROM (" + INSTANCE_TREE + ") t WHERE t.instance_id >= :from AND t.instance_id < :to " +
+            "ORDER BY t.instance_id",
+            nativeQuery = true)
+    List<State> findTreeRange(@Param("from") long from, @Param("to") long to);
+
+    /**
+     * Replaces the key and the status of a tracked phase or block instance.
+     */
+    @Modifying
+    @Query(value = "UPDATE cohort_state SET cohort_state_bci_id = :interventionId, cohort_state_phase_id = :phaseId, " +
+            "cohort_state_block_id = :blockId, cohort_state_status = :status, cohort_state_since = :since " +
+            "WHERE cohort_state_instance_id = :instanceId",
+            nativeQuery = true)
+    int replaceState(@Param("instanceId") Long instanceId, @Param("interventionId") Long interventionId,
+                     @Param("phaseId") Long phaseId, @Param("blockId") Long blockId, @Param("status") String status,
+                     @Param("since") long since);
+
+    /**
+     * Stops tracking a phase or block instance.
+     */
+    @Modifying
+    @Query(value = "DELETE FROM cohort_state WHERE cohort_state_instance_id = :instanceId", nativeQuery = true)
+    int deleteState(@Param("instanceId") Long instanceId);
+}
@@ -0,0 +1,190 @@
+package ca.uqam.latece.evo.server.core.repository;
+
+import ca.uqam.latece.evo.server.core.request.EvoQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * The filters and sort orders accepted by the queries of a resource, translated into a JPA {@link Specification} and
+ * a {@link Sort}. Only the declared filters and sort orders are accepted, so a query never reaches a column that is
+ * not meant (and indexed) to be searched.
+ * @param <T> the type of the resource.
+ * @version 1.0
+ * @author Edilton Lima dos Santos.
+ */
+public final class EvoFilter<T> {
+
+    /**
+     * A declared filter: converts its values, throwing IllegalArgumentException, into their restriction.
+     */
+    private interface Condition<T> {
+        Restriction<T> bind(List<String> values);
+    }
+
+    /**
+     * The predicate of the converted values of a filter.
+     */
+    private interface Restriction<T> {
+        Predicate toPredicate(Root<T> root, CriteriaBuilder criteriaBuilder);
+    }
+
+    private final Map<String, Condition<T>> conditions = new LinkedHashMap<>();
+
+    private final Map<String, String> sortOrders = new LinkedHashMap<>();
+
+    private EvoFilter() {
+        sortOrders.put("id", "id");
+    }
+
+    /**
+     * Creates the filters of a resource, sortable by id.
+     * @param type the type of the resource.
+     * @param <T> the type of the resource.
+     * @return the filters.
+     */
+    public static <T> EvoFilter<T> of(Class<T> type) {
+        return new EvoFilter<>();
+    }
+
+    /**
+     * Declares a filter on the equality of an attribute with one of its values.
+     * @param name the filter name.
+     * @param attribute the attribute path, e.g. {@code interactionInitiatorRole.id}.
+     * @param converter the conversion of a value to the type of the attribute, throwing IllegalArgumentException.
+     * @return the filters.
+     */
+    public EvoFilter<T> equal(String name, String attribute, Function<String, ?> converter) {
+        return in(name, attribute, values -> values.stream().map(value -> converter.apply(value.trim())).toList());
+    }
+
+    /**
+     * Declares a filter on the equality of an attribute with one of the attribute values computed from all its
+     * values, e.g. the bitmasks having any of the values.
+     * @param name the filter name.
+     * @param attribute the attribute path.
+     * @param converter the conversion of the values to the attribute values, throwing IllegalArgumentException.
+     * @return the filters.
+     */
+    public EvoFilter<T> in(String name, String attribute, Function<List<String>, Collection<?>> converter) {
+        conditions.put(name, values -> {
+            Collection<?> converted = converter.apply(values);
+            return (root, criteriaBuilder) -> converted.isEmpty() ? criteriaBuilder.disjunction() :
+                    path(root, attribute).in(converted);
+        });
+        return this;
+    }
+
+    /**
+     * Declares a filter on a text attribute containing one of its values, ignoring the case.
+     * @param name the filter name.
+     * @param attribute the attribute path.
+     * @return the filters.
+     */
+    public EvoFilter<T> contains(String name, String attribute) {
+        conditions.put(name, values -> {
+            List<String> patterns = values.stream()
+                    .map(value -> "%" + escape(value.toLowerCase(Locale.ROOT)) + "%")
+                    .toList();
+            return (root, criteriaBuilder) -> criteriaBuilder.or(patterns.stream()
+                    .map(pattern -> criteriaBuilder.like(criteriaBuilder.lower(path(root, attribute).as(String.class)),
+                            pattern, '\\'))
+                    .toArray(Predicate[]::new));
+        });
+        return this;
+    }
+
+    /**
+     * Declares a sort order.
+     * @param name the sort order name.
+     * @param attribute the attribute path.
+     * @return the filters.
+     */
+    public EvoFilter<T> sortable(String name, String attribute) {
+        sortOrders.put(name, attribute);
+        return this;
+    }
+
+    /**
+     * Translates the filters of a query. The values are converted here, so an invalid query is rejected before it
+     * reaches the database.
+     * @param query the query.
+     * @return the specification of the resources matching all the filters.
+     * @throws IllegalArgumentException if a filter is not declared, or a value is not valid.
+     */
+    public Specification<T> toSpecification(EvoQuery query) {
+        List<Restriction<T>> restrictions = new ArrayList<>();
+
+        query.filters().forEach((name, values) -> {
+            Condition<T> condition = conditions.get(name);
+
+            if (condition == null) {
+                throw new IllegalArgumentException("Unknown filter: " + name + ", expected one of " +
+                        conditions.keySet());
+            }
+
+            restrictions.add(condition.bind(values));
+        });
+
+        return (root, criteriaQuery, criteriaBuilder) -> criteriaBuilder.and(restrictions.stream()
+                .map(restriction -> restriction.toPredicate(root, criteriaBuilder))
+                .toArray(Predicate[]::new));
+    }
+
+    /**
+     * Translates the sort orders of a query, then by id so that the pages are stable.
+     * @param query the query.
+     * @return the sort.
+     * @throws IllegalArgumentException if a sort order is not declared.
+     */
+    public Sort toSort(EvoQuery query) {
+        List<Sort.Order> orders = new ArrayList<>();
+        boolean byId = false;
+
+        for (String sort : query.sort()) {
+            String[] parts = sort.split(",");
+            String attribute = sortOrders.get(parts[0].trim());
+
+            if (attribute == null || parts.length > 2) {
+                throw new IllegalArgumentException("Unknown sort: " + sort + ", expected one of " +
+                        sortOrders.keySet());
+            }
+
+            Sort.Direction direction = parts.length == 2 ? Sort.Direction.fromString(parts[1].trim()) :
+                    Sort.Direction.ASC;
+            orders.add(new Sort.Order(direction, attribute));
+            byId |= attribute.equals("id");
+        }
+
+        if (!byId) {
+            orders.add(Sort.Order.asc("id"));
+        }
+
+        return Sort.by(orders);
+    }
+
+    private static <T> Path<Object> path(Root<T> root, String attribute) {
+        Path<Object> path = null;
+
+        for (String part : attribute.split("\\.")) {
+            path = path == null ? root.get(part) : path.get(part);
+        }
+
+        return path;
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
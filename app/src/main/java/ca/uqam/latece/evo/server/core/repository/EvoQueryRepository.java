@@ -0,0 +1,84 @@
+package ca.uqam.latece.evo.server.core.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.stereotype.Repository;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Evo query repository: answers the filter, sort and page queries of the resources (see {@link EvoFilter}) with one
+ * SQL statement selecting the ids of a page, and a count statement only when the page does not tell the total.
+ * @version 1.0
+ * @author Edilton Lima dos Santos.
+ */
+@Repository
+public class EvoQueryRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * The ids of a page of resources and the number of resources matching the filters.
+     * @param ids the ids, in the order of the query.
+     * @param total the number of matching resources, in all the pages.
+     */
+    public record QueryIds(List<Long> ids, long total) implements Serializable {
+    }
+
+    /**
+     * Finds the ids of a page of resources.
+     * @param type the type of the resources.
+     * @param specification the filters.
+     * @param sort the sort orders.
+     * @param page the page number, from 0.
+     * @param size the page size.
+     * @param <T> the type of the resources.
+     * @return the ids of the page and the number of matching resources.
+     */
+    public <T> QueryIds findIds(Class<T> type, Specification<T> specification, Sort sort, int page, int size) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = criteriaBuilder.createQuery(Long.class);
+        Root<T> root = query.from(type);
+        query.select(root.get("id"));
+        query.where(toPredicate(specification, root, query, criteriaBuilder));
+        query.orderBy(QueryUtils.toOrders(sort, root, criteriaBuilder));
+
+        long offset = (long) page * size;
+        List<Long> ids = entityManager.createQuery(query)
+                .setFirstResult((int) offset)
+                .setMaxResults(size)
+                .getResultList();
+
+        long total;
+
+        if (!ids.isEmpty() && ids.size() < size) {
+            // The last page: the total is known without counting.
+            total = offset + ids.size();
+        } else if (ids.isEmpty() && page == 0) {
+            total = 0;
+        } else {
+            CriteriaQuery<Long> count = criteriaBuilder.createQuery(Long.class);
+            Root<T> countRoot = count.from(type);
+            count.select(criteriaBuilder.count(countRoot));
+            count.where(toPredicate(specification, countRoot, count, criteriaBuilder));
+            total = entityManager.createQuery(count).getSingleResult();
+        }
+
+        return new QueryIds(ids, total);
+    }
+
+    private static <T> Predicate toPredicate(Specification<T> specification, Root<T> root, CriteriaQuery<?> query,
+                                             CriteriaBuilder criteriaBuilder) {
+        Predicate predicate = specification.toPredicate(root, query, criteriaBuilder);
+        return predicate == null ? criteriaBuilder.conjunction() : predicate;
+    }
+}
@@ -8,6 +8,7 @@ import jakarta.validation.constraints.NotNull;
 import org.springframework.stereotype.Repository;
 
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -109,4 +110,11 @@ public interface InteractionRepository extends EvoRepository<Interaction> {
      * @return a list of Interaction entities that have the specified InteractionMedium, or an empty list if no matches are found.
      */
     List<Interaction> findByInteractionMedium4(@NotNull InteractionMedium interactionMedium4);
+
+    /**
+     * Finds the Interactions whose bitmask of media is one of the given bitmasks, with one indexed predicate.
+     * @param masks the bitmasks, see {@link InteractionMedium#masksWithAny} and {@link InteractionMedium#masksWithAll}.
+     * @return a list of Interaction entities having one of the bitmasks, or an empty list if no matches are found.
+     */
+    List<Interaction> findByInteractionMediaMaskIn(@NotNull Collection<Integer> masks);
 }
@@ -0,0 +1,104 @@
+package ca.uqam.latece.evo.server.core.repository;
+
+import ca.uqam.latece.evo.server.core.enumeration.SkillType;
+import ca.uqam.latece.evo.server.core.repository.RecipeStore.ActivityRow;
+import ca.uqam.latece.evo.server.core.repository.RecipeStore.BlockRow;
+import ca.uqam.latece.evo.server.core.repository.RecipeStore.ContentRow;
+import ca.uqam.latece.evo.server.core.repository.RecipeStore.InterventionRow;
+import ca.uqam.latece.evo.server.core.repository.RecipeStore.Link;
+import ca.uqam.latece.evo.server.core.repository.RecipeStore.ModuleRow;
+import ca.uqam.latece.evo.server.core.repository.RecipeStore.Node;
+import ca.uqam.latece.evo.server.core.repository.RecipeStore.PhaseRow;
+import ca.uqam.latece.evo.server.core.request.RecipeBundle.File;
+import ca.uqam.latece.evo.server.core.request.RecipeBundle.Section;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * The rows of the recipe bundles (see RecipeBundle), implemented with JDBC.
+ * <p>
+ * The sections of an export are read with database cursors, as JSON objects built by the database, so an export of
+ * any size is written with constant memory. An import upserts the nodes by batches, by id: the ids of the imported
+ * nodes are kept in the recipe_import table by origin server, section and id on the origin server, so importing a
+ * bundle again updates the same nodes instead of creating new ones.
+ * @version 1.0
+ * @author Edilton Lima dos Santos.
+ */
+public interface RecipeBundleStore {
+
+    record RoleRow(long id, String name, String description) {}
+
+    record SkillRow(long id, String name, String description, SkillType type) {}
+
+    /**
+     * Reads the nodes of a section of the bundle of interventions, in id order.
+     * @param section the section, except the files.
+     * @param interventionIds the BehaviorChangeIntervention ids.
+     * @param row receives each node, as a JSON object of the section.
+     */
+    void exportRows(Section section, Collection<Long> interventionIds, Consumer<String> row);
+
+    /**
+     * Reads the files of the contents of the bundle of interventions, in Content id order.
+     * @param interventionIds the BehaviorChangeIntervention ids.
+     * @param file receives each file.
+     */
+    void exportFiles(Collection<Long> interventionIds, Consumer<File> file);
+
+    /**
+     * Finds the nodes already imported from an origin server.
+     * @param origin the origin server.
+     * @param section the section of the nodes.
+     * @param sourceIds the ids of the nodes on the origin server.
+     * @return the ids of the imported nodes on this server, by id on the origin server.
+     */
+    Map<Long, Long> findImportedIds(String origin, Section section, Collection<Long> sourceIds);
+
+    /**
+     * Finds nodes by name.
+     * @param node the kind of node: intervention, module, activity, content, role or skill.
+     * @param names the names.
+     * @return the ids of the nodes, by name.
+     */
+    Map<String, Long> findIdsByName(Node node, Collection<String> names);
+
+    /**
+     * Records the ids of imported nodes.
+     * @param origin the origin server.
+     * @param section the section of the nodes.
+     * @param links the ids of the nodes on the origin server (from) and on this server (to).
+     */
+    void saveImportedIds(String origin, Section section, List<Link> links);
+
+    void upsertRoles(List<RoleRow> roles);
+
+    void upsertSkills(List<SkillRow> skills);
+
+    /**
+     * Upserts contents, keeping their files.
+     * @param contents the contents.
+     */
+    void upsertContents(List<ContentRow> contents);
+
+    void upsertActivities(List<ActivityRow> activities);
+
+    void upsertModules(List<ModuleRow> modules);
+
+    void upsertBlocks(List<BlockRow> blocks);
+
+    void upsertInterventions(List<InterventionRow> interventions);
+
+    void upsertPhases(List<PhaseRow> phases);
+
+    /**
+     * Deletes the relationships owned by nodes, before they are imported again: the parties, contents, developed
+     * and required skills of the activities, the skills and activities of the modules, the activities of the blocks,
+     * and the blocks and modules of the phases.
+     * @param section the section of the nodes.
+     * @param ids the ids of the nodes.
+     */
+    void deleteLinks(Section section, Collection<Long> ids);
+}
@@ -0,0 +1,399 @@
+package ca.uqam.latece.evo.server.core.repository;
+
+import ca.uqam.latece.evo.server.core.repository.RecipeStore.ActivityRow;
+import ca.uqam.latece.evo.server.core.repository.RecipeStore.BlockRow;
+import ca.uqam.latece.evo.server.core.repository.RecipeStore.ContentRow;
+import ca.uqam.latece.evo.server.core.repository.RecipeStore.InterventionRow;
+import ca.uqam.latece.evo.server.core.repository.RecipeStore.Link;
+import ca.uqam.latece.evo.server.core.repository.RecipeStore.ModuleRow;
+import ca.uqam.latece.evo.server.core.repository.RecipeStore.Node;
+import ca.uqam.latece.evo.server.core.repository.RecipeStore.PhaseRow;
+import ca.uqam.latece.evo.server.core.request.RecipeBundle.File;
+import ca.uqam.latece.evo.server.core.request.RecipeBundle.Section;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * JDBC implementation of the {@link RecipeBundleStore} fragment of the RecipeRepository. It runs in the transaction of
+ * the caller, on the same connection as the JPA repositories; the exports must run in a transaction, so that the
+ * database cursors are not read at once.
+ * @version 1.0
+ * @author Edilton Lima dos Santos.
+ */
+public class RecipeBundleStoreImpl implements RecipeBundleStore {
+
+    /**
+     * The number of rows sent to the database per JDBC batch.
+     */
+    static final int BATCH_SIZE = 500;
+
+    /**
+     * The number of rows read at once from the cursors of an export.
+     */
+    static final int FETCH_SIZE = 200;
+
+    /**
+     * The nodes of the bundle of the interventions given as an array of ids: one common table expression per kind
+     * of node, only evaluated by the queries that use it.
+     */
+    private static final String SCOPE = "WITH x_bci AS (SELECT behavior_change_intervention_id AS id " +
+            "FROM behavior_change_intervention WHERE behavior_change_intervention_id = ANY(?)), " +
+            "x_phase AS (SELECT behavior_change_intervention_phase_id AS id FROM behavior_change_intervention_phase " +
+            "WHERE behavior_change_intervention_phase_bci_id IN (SELECT id FROM x_bci)), " +
+            "x_block AS (SELECT compose_of_phase_block_bci_block_id AS id FROM compose_of_phase_block " +
+            "WHERE compose_of_phase_block_bci_phase_id IN (SELECT id FROM x_phase)), " +
+            "x_module AS (SELECT bci_phase_contains_module_module_id AS id FROM bci_phase_contains_module " +
+            "WHERE bci_phase_contains_module_phase_id IN (SELECT id FROM x_phase)), " +
+            "x_activity AS (SELECT composed_of_bci_activity_id AS id FROM composed_of " +
+            "WHERE composed_of_bci_block_id IN (SELECT id FROM x_block) " +
+            "UNION SELECT module_composed_activity_bci_activity_id FROM module_composed_activity " +
+            "WHERE module_composed_activity_bci_module_id IN (SELECT id FROM x_module)), " +
+            "x_content AS (SELECT bci_activity_content_content_id AS id FROM bci_activity_content " +
+            "WHERE bci_activity_content_bci_activity_id IN (SELECT id FROM x_activity)), " +
+            "x_role AS (SELECT bci_activity_role_role_id AS id FROM bci_activity_role " +
+            "WHERE bci_activity_role_bci_activity_id IN (SELECT id FROM x_activity) " +
+            "UNION SELECT develops_role_id FROM develops WHERE develops_bci_activity_id IN (SELECT id FROM x_activity) " +
+            "UNION SELECT requires_role_id FROM requires WHERE requires_bci_activity_id IN (SELECT id FROM x_activity)), " +
+            "x_skill AS (SELECT bci_module_skill_skill_id AS id FROM bci_module_skill " +
+            "WHERE bci_module_skill_bci_module_id IN (SELECT id FROM x_module) " +
+            "UNION SELECT develops_skill_id FROM develops WHERE develops_bci_activity_id IN (SELECT id FROM x_activity) " +
+            "UNION SELECT requires_skill_id FROM requires WHERE requires_bci_activity_id IN (SELECT id FROM x_activity)) ";
+
+    private static final String EXPORT_ROLES = "SELECT json_build_object('id', role_id, 'name', role_name, " +
+            "'description', role_description) FROM role WHERE role_id IN (SELECT id FROM x_role) " +
+            "ORDER BY role_id";
+
+    private static final String EXPORT_SKILLS = "SELECT json_build_object('id', skill_id, 'name', skill_name, " +
+            "'description', skill_description, 'type', skill_type) FROM skill " +
+            "WHERE skill_id IN (SELECT id FROM x_skill) ORDER BY skill_id";
+
+    private static final String EXPORT_CONTENTS = "SELECT json_build_object('id', content_id, 'name', content_name, " +
+            "'description', content_description, 'type', content_type) FROM content " +
+            "WHERE content_id IN (SELECT id FROM x_content) ORDER BY content_id";
+
+    private static final String EXPORT_ACTIVITIES =
+            "SELECT json_build_object('id', a.bci_activity_id, 'name', a.bci_activity_name, " +
+            "'description', a.bci_activity_description, 'type', a.bci_activity_type, " +
+            "'preconditions', a.bci_activity_preconditions, 'postconditions', a.bci_activity_postconditions, " +
+            "'kind', CASE " +
+            "WHEN EXISTS (SELECT 1 FROM assessment WHERE assessment_id = a.bci_activity_id) THEN 'Assessment' " +
+            "WHEN EXISTS (SELECT 1 FROM interaction WHERE interaction_id = a.bci_activity_id) THEN 'Interaction' " +
+            "WHEN EXISTS (SELECT 1 FROM goal_setting WHERE goal_setting_id = a.bci_activity_id) THEN 'GoalSetting' " +
+            "WHEN EXISTS (SELECT 1 FROM reporting WHERE reporting_id = a.bci_activity_id) THEN 'Reporting' " +
+            "WHEN EXISTS (SELECT 1 FROM behavior_performance WHERE behavior_performance_id = a.bci_activity_id) " +
+            "THEN 'BehaviorPerformance' ELSE 'BCIActivity' END, " +
+            "'parties', ARRAY(SELECT bci_activity_role_role_id FROM bci_activity_role " +
+            "WHERE bci_activity_role_bci_activity_id = a.bci_activity_id ORDER BY bci_activity_role_id), " +
+            "'contents', ARRAY(SELECT bci_activity_content_content_id FROM bci_activity_content " +
+            "WHERE bci_activity_content_bci_activity_id = a.bci_activity_id ORDER BY bci_activity_content_id), " +
+            "'develops', COALESCE((SELECT json_agg(json_build_object('role', develops_role_id, " +
+            "'skill', develops_skill_id, 'level', develops_level) ORDER BY develops_id) FROM develops " +
+            "WHERE develops_bci_activity_id = a.bci_activity_id), '[]'), " +
+            "'requires', COALESCE((SELECT json_agg(json_build_object('role', requires_role_id, " +
+            "'skill', requires_skill_id, 'level', requires_level) ORDER BY requires_id) FROM requires " +
+            "WHERE requires_bci_activity_id = a.bci_activity_id), '[]')) " +
+            "FROM bci_activity a WHERE a.bci_activity_id IN (SELECT id FROM x_activity) " +
+            "ORDER BY a.bci_activity_id";
+
+    private static final String EXPORT_MODULES =
+            "SELECT json_build_object('id', m.bci_module_id, 'name', m.bci_module_name, " +
+            "'description', m.bci_module_description, 'preconditions', m.bci_module_preconditions, " +
+            "'postconditions', m.bci_module_postconditions, " +
+            "'skills', ARRAY(SELECT bci_module_skill_skill_id FROM bci_module_skill " +
+            "WHERE bci_module_skill_bci_module_id = m.bci_module_id ORDER BY bci_module_skill_skill_id), " +
+            "'activities', COALESCE((SELECT json_agg(json_build_object(" +
+            "'activity', module_composed_activity_bci_activity_id, " +
+            "'order', module_composed_activity_order) ORDER BY module_composed_activity_id) " +
+            "FROM module_composed_activity WHERE module_composed_activity_bci_module_id = m.bci_module_id), " +
+            "'[]')) FROM bci_module m WHERE m.bci_module_id IN (SELECT id FROM x_module) " +
+            "ORDER BY m.bci_module_id";
+
+    private static final String EXPORT_BLOCKS =
+            "SELECT json_build_object('id', b.behavior_change_intervention_block_id, " +
+            "'entryConditions', b.behavior_change_intervention_block_entry_conditions, " +
+            "'exitConditions', b.behavior_change_intervention_block_exit_conditions, " +
+            "'activities', COALESCE((SELECT json_agg(json_build_object('activity', composed_of_bci_activity_id, " +
+            "'order', composed_of_order, 'timing', composed_of_time_cycle) ORDER BY composed_of_id) " +
+            "FROM composed_of WHERE composed_of_bci_block_id = b.behavior_change_intervention_block_id), " +
+            "'[]')) FROM behavior_change_intervention_block b " +
+            "WHERE b.behavior_change_intervention_block_id IN (SELECT id FROM x_block) " +
+            "ORDER BY b.behavior_change_intervention_block_id";
+
+    private static final String EXPORT_INTERVENTIONS =
+            "SELECT json_build_object('id', behavior_change_intervention_id, " +
+            "'name', behavior_change_intervention_name, " +
+            "'entryConditions', behavior_change_intervention_entry_conditions, " +
+            "'exitConditions', behavior_change_intervention_exit_conditions) " +
+            "FROM behavior_change_intervention WHERE behavior_change_intervention_id IN (SELECT id FROM x_bci) " +
+            "ORDER BY behavior_change_intervention_id";
+
+    private static final String EXPORT_PHASES =
+            "SELECT json_build_object('id', p.behavior_change_intervention_phase_id, " +
+            "'intervention', p.behavior_change_intervention_phase_bci_id, " +
+            "'entryConditions', p.behavior_change_intervention_phase_entry_conditions, " +
+            "'exitConditions', p.behavior_change_intervention_phase_exit_conditions, " +
+            "'blocks', ARRAY(SELECT compose_of_phase_block_bci_block_id FROM compose_of_phase_block " +
+            "WHERE compose_of_phase_block_bci_phase_id = p.behavior_change_intervention_phase_id " +
+            "ORDER BY compose_of_phase_block_id), " +
+            "'modules', ARRAY(SELECT bci_phase_contains_module_module_id FROM bci_phase_contains_module " +
+            "WHERE bci_phase_contains_module_phase_id = p.behavior_change_intervention_phase_id " +
+            "ORDER BY bci_phase_contains_module_module_id)) " +
+            "FROM behavior_change_intervention_phase p " +
+            "WHERE p.behavior_change_intervention_phase_id IN (SELECT id FROM x_phase) " +
+            "ORDER BY p.behavior_change_intervention_phase_id";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final JdbcTemplate cursorTemplate;
+
+    @Autowired
+    public RecipeBundleStoreImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.cursorTemplate = new JdbcTemplate(jdbcTemplate.getDataSource());
+        this.cursorTemplate.setFetchSize(FETCH_SIZE);
+    }
+
+    @Override
+    public void exportRows(Section section, Collection<Long> interventionIds, Consumer<String> row) {
+        String select = switch (section) {
+            case ROLES -> EXPORT_ROLES;
+            case SKILLS -> EXPORT_SKILLS;
+            case CONTENTS -> EXPORT_CONTENTS;
+            case ACTIVITIES -> EXPORT_ACTIVITIES;
+            case MODULES -> EXPORT_MODULES;
+            case BLOCKS -> EXPORT_BLOCKS;
+            case INTERVENTIONS -> EXPORT_INTERVENTIONS;
+            case PHASES -> EXPORT_PHASES;
+            case FILES -> throw new IllegalArgumentException("The files are exported with exportFiles");
+        };
+
+        cursorTemplate.query(SCOPE + select, ids(interventionIds), resultSet -> {
+            row.accept(resultSet.getString(1));
+        });
+    }
+
+    @Override
+    public void exportFiles(Collection<Long> interventionIds, Consumer<File> file) {
+        cursorTemplate.query(SCOPE + "SELECT content_id, content_filename FROM content " +
+                "WHERE content_id IN (SELECT id FROM x_content) AND content_filename <> '' ORDER BY content_id",
+                ids(interventionIds), resultSet -> {
+            file.accept(new File(resultSet.getLong(1), resultSet.getString(2)));
+        });
+    }
+
+    @Override
+    public Map<Long, Long> findImportedIds(String origin, Section section, Collection<Long> sourceIds) {
+        Map<Long, Long> ids = new HashMap<>();
+        jdbcTemplate.query("SELECT recipe_import_source_id, recipe_import_target_id FROM recipe_import " +
+                "WHERE recipe_import_origin = ? AND recipe_import_section = ? AND recipe_import_source_id = ANY(?)",
+                statement -> {
+            statement.setString(1, origin);
+            statement.setString(2, section.getField());
+            statement.setArray(3, statement.getConnection().createArrayOf("bigint", sourceIds.toArray()));
+        }, resultSet -> {
+            ids.put(resultSet.getLong(1), resultSet.getLong(2));
+        });
+        return ids;
+    }
+
+    @Override
+    public Map<String, Long> findIdsByName(Node node, Collection<String> names) {
+        String nameColumn = switch (node) {
+            case INTERVENTION -> "behavior_change_intervention_name";
+            case MODULE -> "bci_module_name";
+            case ACTIVITY -> "bci_activity_name";
+            case CONTENT -> "content_name";
+            case ROLE -> "role_name";
+            case SKILL -> "skill_name";
+            default -> throw new IllegalArgumentException("The " + node + " nodes have no name");
+        };
+        Map<String, Long> ids = new HashMap<>();
+        // The identifiers only come from the Node.
+        jdbcTemplate.query("SELECT " + nameColumn + ", " + node.getIdColumn() + " FROM " + node.getTable() +
+                " WHERE " + nameColumn + " = ANY(?)", statement -> statement.setArray(1,
+                statement.getConnection().createArrayOf("varchar", names.toArray())), resultSet -> {
+            ids.put(resultSet.getString(1), resultSet.getLong(2));
+        });
+        return ids;
+    }
+
+    @Override
+    public void saveImportedIds(String origin, Section section, List<Link> links) {
+        batch("INSERT INTO recipe_import (recipe_import_origin, recipe_import_section, recipe_import_source_id, " +
+                "recipe_import_target_id) VALUES (?, ?, ?, ?) " +
+                "ON CONFLICT (recipe_import_origin, recipe_import_section, recipe_import_source_id) " +
+                "DO UPDATE SET recipe_import_target_id = EXCLUDED.recipe_import_target_id", links,
+                (statement, link) -> {
+            statement.setString(1, origin);
+            statement.setString(2, section.getField());
+            statement.setLong(3, link.from());
+            statement.setLong(4, link.to());
+        });
+    }
+
+    @Override
+    public void upsertRoles(List<RoleRow> roles) {
+        batch("INSERT INTO role (role_id, role_name, role_description) VALUES (?, ?, ?) " +
+                "ON CONFLICT (role_id) DO UPDATE SET role_name = EXCLUDED.role_name, " +
+                "role_description = EXCLUDED.role_description", roles, (statement, role) -> {
+            statement.setLong(1, role.id());
+            statement.setString(2, role.name());
+            statement.setString(3, role.description());
+        });
+    }
+
+    @Override
+    public void upsertSkills(List<SkillRow> skills) {
+        batch("INSERT INTO skill (skill_id, skill_name, skill_description, skill_type) VALUES (?, ?, ?, ?) " +
+                "ON CONFLICT (skill_id) DO UPDATE SET skill_name = EXCLUDED.skill_name, " +
+                "skill_description = EXCLUDED.skill_description, skill_type = EXCLUDED.skill_type", skills,
+                (statement, skill) -> {
+            statement.setLong(1, skill.id());
+            statement.setString(2, skill.name());
+            statement.setString(3, skill.description());
+            statement.setString(4, skill.type().name());
+        });
+    }
+
+    @Override
+    public void upsertContents(List<ContentRow> contents) {
+        batch("INSERT INTO content (content_id, content_name, content_description, content_type) VALUES (?, ?, ?, ?) " +
+                "ON CONFLICT (content_id) DO UPDATE SET content_name = EXCLUDED.content_name, " +
+                "content_description = EXCLUDED.content_description, content_type = EXCLUDED.content_type", contents,
+                (statement, content) -> {
+            statement.setLong(1, content.id());
+            statement.setString(2, content.name());
+            statement.setString(3, content.description());
+            statement.setString(4, content.type());
+        });
+    }
+
+    @Override
+    public void upsertActivities(List<ActivityRow> activities) {
+        batch("INSERT INTO bci_activity (bci_activity_id, bci_activity_name, bci_activity_description, " +
+                "bci_activity_type, bci_activity_preconditions, bci_activity_postconditions) " +
+                "VALUES (?, ?, ?, ?, ?, ?) ON CONFLICT (bci_activity_id) DO UPDATE SET " +
+                "bci_activity_name = EXCLUDED.bci_activity_name, " +
+                "bci_activity_description = EXCLUDED.bci_activity_description, " +
+                "bci_activity_type = EXCLUDED.bci_activity_type, " +
+                "bci_activity_preconditions = EXCLUDED.bci_activity_preconditions, " +
+                "bci_activity_postconditions = EXCLUDED.bci_activity_postconditions", activities,
+                (statement, activity) -> {
+            statement.setLong(1, activity.id());
+            statement.setString(2, activity.name());
+            statement.setString(3, activity.description());
+            statement.setString(4, activity.type().name());
+            statement.setString(5, activity.preconditions());
+            statement.setString(6, activity.postconditions());
+        });
+    }
+
+    @Override
+    public void upsertModules(List<ModuleRow> modules) {
+        batch("INSERT INTO bci_module (bci_module_id, bci_module_name, bci_module_description, " +
+                "bci_module_preconditions, bci_module_postconditions) VALUES (?, ?, ?, ?, ?) " +
+                "ON CONFLICT (bci_module_id) DO UPDATE SET bci_module_name = EXCLUDED.bci_module_name, " +
+                "bci_module_description = EXCLUDED.bci_module_description, " +
+                "bci_module_preconditions = EXCLUDED.bci_module_preconditions, " +
+                "bci_module_postconditions = EXCLUDED.bci_module_postconditions", modules, (statement, module) -> {
+            statement.setLong(1, module.id());
+            statement.setString(2, module.name());
+            statement.setString(3, module.description());
+            statement.setString(4, module.preconditions());
+            statement.setString(5, module.postconditions());
+        });
+    }
+
+    @Override
+    public void upsertBlocks(List<BlockRow> blocks) {
+        batch("INSERT INTO behavior_change_intervention_block (behavior_change_intervention_block_id, " +
+                "behavior_change_intervention_block_entry_conditions, " +
+                "behavior_change_intervention_block_exit_conditions) VALUES (?, ?, ?) " +
+                "ON CONFLICT (behavior_change_intervention_block_id) DO UPDATE SET " +
+                "behavior_change_intervention_block_entry_conditions = " +
+                "EXCLUDED.behavior_change_intervention_block_entry_conditions, " +
+                "behavior_change_intervention_block_exit_conditions = " +
+                "EXCLUDED.behavior_change_intervention_block_exit_conditions", blocks, (statement, block) -> {
+            statement.setLong(1, block.id());
+            statement.setString(2, block.entryConditions());
+            statement.setString(3, block.exitConditions());
+        });
+    }
+
+    @Override
+    public void upsertInterventions(List<InterventionRow> interventions) {
+        batch("INSERT INTO behavior_change_intervention (behavior_change_intervention_id, " +
+                "behavior_change_intervention_name, behavior_change_intervention_entry_conditions, " +
+                "behavior_change_intervention_exit_conditions) VALUES (?, ?, ?, ?) " +
+                "ON CONFLICT (behavior_change_intervention_id) DO UPDATE SET " +
+                "behavior_change_intervention_name = EXCLUDED.behavior_change_intervention_name, " +
+                "behavior_change_intervention_entry_conditions = " +
+                "EXCLUDED.behavior_change_intervention_entry_conditions, " +
+                "behavior_change_intervention_exit_conditions = EXCLUDED.behavior_change_intervention_exit_conditions",
+                interventions, (statement, intervention) -> {
+            statement.setLong(1, intervention.id());
+            statement.setString(2, intervention.name());
+            statement.setString(3, intervention.entryConditions());
+            statement.setString(4, intervention.exitConditions());
+        });
+    }
+
+    @Override
+    public void upsertPhases(List<PhaseRow> phases) {
+        batch("INSERT INTO behavior_change_intervention_phase (behavior_change_intervention_phase_id, " +
+                "behavior_change_intervention_phase_bci_id, behavior_change_intervention_phase_entry_conditions, " +
+                "behavior_change_intervention_phase_exit_conditions) VALUES (?, ?, ?, ?) " +
+                "ON CONFLICT (behavior_change_intervention_phase_id) DO UPDATE SET " +
+                "behavior_change_intervention_phase_bci_id = EXCLUDED.behavior_change_intervention_phase_bci_id, " +
+                "behavior_change_intervention_phase_entry_conditions = " +
+                "EXCLUDED.behavior_change_intervention_phase_entry_conditions, " +
+                "behavior_change_intervention_phase_exit_conditions = " +
+                "EXCLUDED.behavior_change_intervention_phase_exit_conditions", phases, (statement, phase) -> {
+            statement.setLong(1, phase.id());
+            statement.setLong(2, phase.interventionId());
+            statement.setString(3, phase.entryConditions());
+            statement.setString(4, phase.exitConditions());
+        });
+    }
+
+    @Override
+    public void deleteLinks(Section section, Collection<Long> ids) {
+        List<String> deletes = switch (section) {
+            case ACTIVITIES -> List.of(
+                    "DELETE FROM bci_activity_role WHERE bci_activity_role_bci_activity_id = ANY(?)",
+                    "DELETE FROM bci_activity_content WHERE bci_activity_content_bci_activity_id = ANY(?)",
+                    "DELETE FROM develops WHERE develops_bci_activity_id = ANY(?)",
+                    "DELETE FROM requires WHERE requires_bci_activity_id = ANY(?)");
+            case MODULES -> List.of(
+                    "DELETE FROM bci_module_skill WHERE bci_module_skill_bci_module_id = ANY(?)",
+                    "DELETE FROM module_composed_activity WHERE module_composed_activity_bci_module_id = ANY(?)");
+            case BLOCKS -> List.of("DELETE FROM composed_of WHERE composed_of_bci_block_id = ANY(?)");
+            case PHASES -> List.of(
+                    "DELETE FROM compose_of_phase_block WHERE compose_of_phase_block_bci_phase_id = ANY(?)",
+                    "DELETE FROM bci_phase_contains_module WHERE bci_phase_contains_module_phase_id = ANY(?)");
+            default -> List.of();
+        };
+
+        if (!ids.isEmpty()) {
+            deletes.forEach(delete -> jdbcTemplate.update(delete, ids(ids)));
+        }
+    }
+
+    private static PreparedStatementSetter ids(Collection<Long> ids) {
+        return statement -> statement.setArray(1, statement.getConnection().createArrayOf("bigint", ids.toArray()));
+    }
+
+    private <T> void batch(String sql, List<T> rows, ParameterizedPreparedStatementSetter<T> setter) {
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(sql, rows, BATCH_SIZE, setter);
+        }
+    }
+}
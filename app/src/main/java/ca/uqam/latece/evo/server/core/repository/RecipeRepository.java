@@ -0,0 +1,47 @@
+package ca.uqam.latece.evo.server.core.repository;
+
+import ca.uqam.latece.evo.server.core.model.BehaviorChangeIntervention;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Recipe repository: the existing rows that an authored recipe refers to or must not duplicate, the rows of the
+ * new recipes (see {@link RecipeStore}) and of the recipe bundles (see {@link RecipeBundleStore}).
+ * @version 1.0
+ * @author Edilton Lima dos Santos.
+ */
+@Repository
+public interface RecipeRepository extends org.springframework.data.repository.Repository<BehaviorChangeIntervention, Long>,
+        RecipeStore, RecipeBundleStore {
+
+    @Query(value = "SELECT behavior_change_intervention_id FROM behavior_change_intervention " +
+            "WHERE behavior_change_intervention_id IN (:ids) ORDER BY behavior_change_intervention_id",
+            nativeQuery = true)
+    List<Long> findExistingInterventionIds(@Param("ids") Collection<Long> ids);
+
+    @Query(value = "SELECT bci_activity_id FROM bci_activity WHERE bci_activity_id IN (:ids)", nativeQuery = true)
+    List<Long> findExistingActivityIds(@Param("ids") Collection<Long> ids);
+
+    @Query(value = "SELECT role_id FROM role WHERE role_id IN (:ids)", nativeQuery = true)
+    List<Long> findExistingRoleIds(@Param("ids") Collection<Long> ids);
+
+    @Query(value = "SELECT skill_id FROM skill WHERE skill_id IN (:ids)", nativeQuery = true)
+    List<Long> findExistingSkillIds(@Param("ids") Collection<Long> ids);
+
+    @Query(value = "SELECT behavior_change_intervention_name FROM behavior_change_intervention " +
+            "WHERE behavior_change_intervention_name IN (:names)", nativeQuery = true)
+    List<String> findExistingInterventionNames(@Param("names") Collection<String> names);
+
+    @Query(value = "SELECT bci_module_name FROM bci_module WHERE bci_module_name IN (:names)", nativeQuery = true)
+    List<String> findExistingModuleNames(@Param("names") Collection<String> names);
+
+    @Query(value = "SELECT bci_activity_name FROM bci_activity WHERE bci_activity_name IN (:names)", nativeQuery = true)
+    List<String> findExistingActivityNames(@Param("names") Collection<String> names);
+
+    @Query(value = "SELECT content_name FROM content WHERE content_name IN (:names)", nativeQuery = true)
+    List<String> findExistingContentNames(@Param("names") Collection<String> names);
+}
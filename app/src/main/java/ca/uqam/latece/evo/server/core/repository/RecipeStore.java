@@ -0,0 +1,128 @@
+package ca.uqam.latece.evo.server.core.repository;
+
+import ca.uqam.latece.evo.server.core.enumeration.ActivityType;
+import ca.uqam.latece.evo.server.core.enumeration.SkillLevel;
+import ca.uqam.latece.evo.server.core.enumeration.TimeCycle;
+
+import java.util.List;
+
+/**
+ * The rows of an authored recipe, implemented with JDBC: the ids of the new nodes are drawn from their sequences in one
+ * query per kind of node, so the rows are then inserted with JDBC batches, one per table, instead of one insert
+ * per entity (the IDENTITY ids of the entities prevent the batching of their inserts).
+ * @version 1.0
+ * @author Edilton Lima dos Santos.
+ */
+public interface RecipeStore {
+
+    /**
+     * The kinds of the nodes of a recipe, with the table and the id column of their sequence.
+     */
+    enum Node {
+        INTERVENTION("behavior_change_intervention", "behavior_change_intervention_id"),
+        PHASE("behavior_change_intervention_phase", "behavior_change_intervention_phase_id"),
+        BLOCK("behavior_change_intervention_block", "behavior_change_intervention_block_id"),
+        MODULE("bci_module", "bci_module_id"),
+        ACTIVITY("bci_activity", "bci_activity_id"),
+        CONTENT("content", "content_id"),
+        ROLE("role", "role_id"),
+        SKILL("skill", "skill_id");
+
+        private final String table;
+
+        private final String idColumn;
+
+        Node(String table, String idColumn) {
+            this.table = table;
+            this.idColumn = idColumn;
+        }
+
+        public String getTable() {
+            return table;
+        }
+
+        public String getIdColumn() {
+            return idColumn;
+        }
+    }
+
+    record InterventionRow(long id, String name, String entryConditions, String exitConditions) {}
+
+    record PhaseRow(long id, long interventionId, String entryConditions, String exitConditions) {}
+
+    record BlockRow(long id, String entryConditions, String exitConditions) {}
+
+    record ModuleRow(long id, String name, String description, String preconditions, String postconditions) {}
+
+    record ActivityRow(long id, String name, String description, ActivityType type, String preconditions,
+                       String postconditions) {}
+
+    record ContentRow(long id, String name, String description, String type) {}
+
+    /**
+     * A row of a junction table.
+     */
+    record Link(long from, long to) {}
+
+    record ComposedOfRow(long blockId, long activityId, TimeCycle timing, int order) {}
+
+    record ModuleActivityRow(long moduleId, long activityId, int order) {}
+
+    /**
+     * A row of the develops or requires table.
+     */
+    record SkillLinkRow(long activityId, long roleId, long skillId, SkillLevel level) {}
+
+    /**
+     * Draws new ids of a kind of node.
+     * @param node the kind of node.
+     * @param count the number of ids.
+     * @return the ids.
+     */
+    List<Long> allocateIds(Node node, int count);
+
+    void insertIntervention(InterventionRow intervention);
+
+    void insertPhases(List<PhaseRow> phases);
+
+    void insertBlocks(List<BlockRow> blocks);
+
+    void insertModules(List<ModuleRow> modules);
+
+    void insertActivities(List<ActivityRow> activities);
+
+    void insertContents(List<ContentRow> contents);
+
+    /**
+     * @param links the phase ids (from) and their block ids (to).
+     */
+    void insertPhaseBlocks(List<Link> links);
+
+    /**
+     * @param links the phase ids (from) and their module ids (to).
+     */
+    void insertPhaseModules(List<Link> links);
+
+    /**
+     * @param links the module ids (from) and their skill ids (to).
+     */
+    void insertModuleSkills(List<Link> links);
+
+    /**
+     * @param links the activity ids (from) and their content ids (to).
+     */
+    void insertActivityContents(List<Link> links);
+
+    /**
+     * @param links the activity ids (from) and the role ids of their parties (to).
+     */
+    void insertActivityRoles(List<Link> links);
+
+    void insertComposedOf(List<ComposedOfRow> rows);
+
+    void insertModuleActivities(List<ModuleActivityRow> rows);
+
+    void insertDevelops(List<SkillLinkRow> rows);
+
+    void insertRequires(List<SkillLinkRow> rows);
+}
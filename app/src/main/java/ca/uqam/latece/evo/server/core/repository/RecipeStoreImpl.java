@@ -0,0 +1,197 @@
+package ca.uqam.latece.evo.server.core.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+
+import java.util.List;
+
+/**
+ * JDBC implementation of the {@link RecipeStore} fragment of the RecipeRepository. It runs in the transaction of the
+ * caller, on the same connection as the JPA repositories.
+ * @version 1.0
+ * @author Edilton Lima dos Santos.
+ */
+public class RecipeStoreImpl implements RecipeStore {
+
+    /**
+     * The number of rows sent to the database per JDBC batch.
+     */
+    static final int BATCH_SIZE = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public RecipeStoreImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public List<Long> allocateIds(Node node, int count) {
+        if (count == 0) {
+            return List.of();
+        }
+
+        return jdbcTemplate.queryForList("SELECT nextval(pg_get_serial_sequence(?, ?)) FROM generate_series(1, ?)",
+                Long.class, node.getTable(), node.getIdColumn(), count);
+    }
+
+    @Override
+    public void insertIntervention(InterventionRow intervention) {
+        jdbcTemplate.update("INSERT INTO behavior_change_intervention (behavior_change_intervention_id, " +
+                        "behavior_change_intervention_name, behavior_change_intervention_entry_conditions, " +
+                        "behavior_change_intervention_exit_conditions) VALUES (?, ?, ?, ?)", intervention.id(),
+                intervention.name(), intervention.entryConditions(), intervention.exitConditions());
+    }
+
+    @Override
+    public void insertPhases(List<PhaseRow> phases) {
+        batch("INSERT INTO behavior_change_intervention_phase (" +
+                "behavior_change_intervention_phase_id, behavior_change_intervention_phase_bci_id, " +
+                "behavior_change_intervention_phase_entry_conditions, " +
+                "behavior_change_intervention_phase_exit_conditions) VALUES (?, ?, ?, ?)", phases,
+                (statement, phase) -> {
+            statement.setLong(1, phase.id());
+            statement.setLong(2, phase.interventionId());
+            statement.setString(3, phase.entryConditions());
+            statement.setString(4, phase.exitConditions());
+        });
+    }
+
+    @Override
+    public void insertBlocks(List<BlockRow> blocks) {
+        batch("INSERT INTO behavior_change_intervention_block (" +
+                "behavior_change_intervention_block_id, behavior_change_intervention_block_entry_conditions, " +
+                "behavior_change_intervention_block_exit_conditions) VALUES (?, ?, ?)", blocks,
+                (statement, block) -> {
+            statement.setLong(1, block.id());
+            statement.setString(2, block.entryConditions());
+            statement.setString(3, block.exitConditions());
+        });
+    }
+
+    @Override
+    public void insertModules(List<ModuleRow> modules) {
+        batch("INSERT INTO bci_module (bci_module_id, bci_module_name, bci_module_description, " +
+                "bci_module_preconditions, bci_module_postconditions) VALUES (?, ?, ?, ?, ?)", modules,
+                (statement, module) -> {
+            statement.setLong(1, module.id());
+            statement.setString(2, module.name());
+            statement.setString(3, module.description());
+            statement.setString(4, module.preconditions());
+            statement.setString(5, module.postconditions());
+        });
+    }
+
+    @Override
+    public void insertActivities(List<ActivityRow> activities) {
+        batch("INSERT INTO bci_activity (bci_activity_id, bci_activity_name, " +
+                "bci_activity_description, bci_activity_type, bci_activity_preconditions, " +
+                "bci_activity_postconditions) VALUES (?, ?, ?, ?, ?, ?)", activities,
+                (statement, activity) -> {
+            statement.setLong(1, activity.id());
+            statement.setString(2, activity.name());
+            statement.setString(3, activity.description());
+            statement.setString(4, activity.type().name());
+            statement.setString(5, activity.preconditions());
+            statement.setString(6, activity.postconditions());
+        });
+    }
+
+    @Override
+    public void insertContents(List<ContentRow> contents) {
+        batch("INSERT INTO content (content_id, content_name, content_description, content_type) " +
+                "VALUES (?, ?, ?, ?)", contents, (statement, content) -> {
+            statement.setLong(1, content.id());
+            statement.setString(2, content.name());
+            statement.setString(3, content.description());
+            statement.setString(4, content.type());
+        });
+    }
+
+    @Override
+    public void insertPhaseBlocks(List<Link> links) {
+        insertLinks("INSERT INTO compose_of_phase_block (compose_of_phase_block_bci_phase_id, " +
+                "compose_of_phase_block_bci_block_id) VALUES (?, ?)", links);
+    }
+
+    @Override
+    public void insertPhaseModules(List<Link> links) {
+        insertLinks("INSERT INTO bci_phase_contains_module (bci_phase_contains_module_phase_id, " +
+                "bci_phase_contains_module_module_id) VALUES (?, ?)", links);
+    }
+
+    @Override
+    public void insertModuleSkills(List<Link> links) {
+        insertLinks("INSERT INTO bci_module_skill (bci_module_skill_bci_module_id, bci_module_skill_skill_id) " +
+                "VALUES (?, ?)", links);
+    }
+
+    @Override
+    public void insertActivityContents(List<Link> links) {
+        insertLinks("INSERT INTO bci_activity_content (bci_activity_content_bci_activity_id, " +
+                "bci_activity_content_content_id) VALUES (?, ?)", links);
+    }
+
+    @Override
+    public void insertActivityRoles(List<Link> links) {
+        insertLinks("INSERT INTO bci_activity_role (bci_activity_role_bci_activity_id, bci_activity_role_role_id) " +
+                "VALUES (?, ?)", links);
+    }
+
+    @Override
+    public void insertComposedOf(List<ComposedOfRow> rows) {
+        batch("INSERT INTO composed_of (composed_of_bci_block_id, composed_of_bci_activity_id, " +
+                "composed_of_time_cycle, composed_of_order) VALUES (?, ?, ?, ?)", rows,
+                (statement, row) -> {
+            statement.setLong(1, row.blockId());
+            statement.setLong(2, row.activityId());
+            statement.setString(3, row.timing().name());
+            statement.setInt(4, row.order());
+        });
+    }
+
+    @Override
+    public void insertModuleActivities(List<ModuleActivityRow> rows) {
+        batch("INSERT INTO module_composed_activity (module_composed_activity_bci_module_id, " +
+                "module_composed_activity_bci_activity_id, module_composed_activity_order) VALUES (?, ?, ?)", rows, (statement, row) -> {
+            statement.setLong(1, row.moduleId());
+            statement.setLong(2, row.activityId());
+            statement.setInt(3, row.order());
+        });
+    }
+
+    @Override
+    public void insertDevelops(List<SkillLinkRow> rows) {
+        insertSkillLinks("INSERT INTO develops (develops_bci_activity_id, develops_role_id, develops_skill_id, " +
+                "develops_level) VALUES (?, ?, ?, ?)", rows);
+    }
+
+    @Override
+    public void insertRequires(List<SkillLinkRow> rows) {
+        insertSkillLinks("INSERT INTO requires (requires_bci_activity_id, requires_role_id, requires_skill_id, " +
+                "requires_level) VALUES (?, ?, ?, ?)", rows);
+    }
+
+    private void insertLinks(String sql, List<Link> links) {
+        batch(sql, links, (statement, link) -> {
+            statement.setLong(1, link.from());
+            statement.setLong(2, link.to());
+        });
+    }
+
+    private void insertSkillLinks(String sql, List<SkillLinkRow> rows) {
+        batch(sql, rows, (statement, row) -> {
+            statement.setLong(1, row.activityId());
+            statement.setLong(2, row.roleId());
+            statement.setLong(3, row.skillId());
+            statement.setString(4, row.level().name());
+        });
+    }
+
+    private <T> void batch(String sql, List<T> rows, ParameterizedPreparedStatementSetter<T> setter) {
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(sql, rows, BATCH_SIZE, setter);
+        }
+    }
+}
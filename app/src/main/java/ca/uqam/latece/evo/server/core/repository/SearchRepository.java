@@ -0,0 +1,98 @@
+package ca.uqam.latece.evo.server.core.repository;
+
+import ca.uqam.latece.evo.server.core.model.instance.Actor;
+import ca.uqam.latece.evo.server.core.response.SearchResult;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Search repository: the unified search over the patients, the health care professionals and the recipe catalog
+ * (contents, BCI activities, BCI modules, behavior change interventions, skills and roles).
+ * <p>
+ * The names are matched on their lower case, by substring (LIKE) or by word similarity (pg_trgm {@code <%} operator,
+ * which tolerates typos), both served by the trigram GIN indexes declared in schema.sql.
+ * @version 1.0
+ * @author Edilton Lima dos Santos.
+ */
+@Repository
+public interface SearchRepository extends org.springframework.data.repository.Repository<Actor, Long> {
+
+    /**
+     * Searches the entities whose name matches a term, ordered by decreasing relevance (see {@link SearchResult}).
+     * @param term the lower case search term.
+     * @param prefix the LIKE pattern matching the names starting with the term (e.g. {@code term%}).
+     * @param pattern the LIKE pattern matching the names containing the term (e.g. {@code %term%}).
+     * @param types the names of the SearchEntityType to search.
+     * @param limit the maximum number of results.
+     * @param offset the number of results to skip.
+     * @return the matching entities.
+     */
+    @Query(value = "SELECT s.type AS type, s.id AS id, s.name AS name, CAST(GREATEST(" +
+            "CASE WHEN s.name_key = :term THEN 3 WHEN s.name_key LIKE :prefix ESCAPE '\\' THEN 2 " +
+            "WHEN s.name_key LIKE :pattern ESCAPE '\\' THEN 1 ELSE 0 END + word_similarity(:term, s.name_key), " +
+            "CASE WHEN s.other_key = :term THEN 3 WHEN s.other_key LIKE :prefix ESCAPE '\\' THEN 2 " +
+            "WHEN s.other_key LIKE :pattern ESCAPE '\\' THEN 1 ELSE 0 END + word_similarity(:term, s.other_key) " +
+            "- 0.5) AS DOUBLE PRECISION) AS score " +
+            "FROM (" +
+            "SELECT 'PATIENT' AS type, a.actor_id AS id, a.actor_name AS name, lower(a.actor_name) AS name_key, " +
+            "CAST(NULL AS VARCHAR) AS other_key " +
+            "FROM actor a JOIN patient p ON p.patient_id = a.actor_id " +
+            "WHERE 'PATIENT' IN (:types) " +
+            "AND (lower(a.actor_name) LIKE :pattern ESCAPE '\\' OR :term <% lower(a.actor_name)) " +
+            "UNION ALL " +
+            "SELECT 'HEALTHCARE_PROFESSIONAL' AS type, a.actor_id AS id, a.actor_name AS name, " +
+            "lower(a.actor_name) AS name_key, lower(h.healthcare_professional_specialties) AS other_key " +
+            "FROM actor a JOIN healthcare_professional h ON h.healthcare_professional_id = a.actor_id " +
+            "WHERE 'HEALTHCARE_PROFESSIONAL' IN (:types) " +
+            "AND (lower(a.actor_name) LIKE :pattern ESCAPE '\\' OR :term <% lower(a.actor_name) " +
+            "OR lower(h.healthcare_professional_specialties) LIKE :pattern ESCAPE '\\' " +
+            "OR :term <% lower(h.healthcare_professional_specialties)) " +
+            "UNION ALL " +
+            "SELECT 'CONTENT' AS type, c.content_id AS id, c.content_name AS name, lower(c.content_name) AS name_key, " +
+            "CAST(NULL AS VARCHAR) AS other_key " +
+            "FROM content c " +
+            "WHERE 'CONTENT' IN (:types) " +
+            "AND (lower(c.content_name) LIKE :pattern ESCAPE '\\' OR :term <% lower(c.content_name)) " +
+            "UNION ALL " +
+            "SELECT 'BCI_ACTIVITY' AS type, b.bci_activity_id AS id, b.bci_activity_name AS name, " +
+            "lower(b.bci_activity_name) AS name_key, CAST(NULL AS VARCHAR) AS other_key " +
+            "FROM bci_activity b " +
+            "WHERE 'BCI_ACTIVITY' IN (:types) " +
+            "AND (lower(b.bci_activity_name) LIKE :pattern ESCAPE '\\' OR :term <% lower(b.bci_activity_name)) " +
+            "UNION ALL " +
+            "SELECT 'BCI_MODULE' AS type, m.bci_module_id AS id, m.bci_module_name AS name, " +
+            "lower(m.bci_module_name) AS name_key, CAST(NULL AS VARCHAR) AS other_key " +
+            "FROM bci_module m " +
+            "WHERE 'BCI_MODULE' IN (:types) " +
+            "AND (lower(m.bci_module_name) LIKE :pattern ESCAPE '\\' OR :term <% lower(m.bci_module_name)) " +
+            "UNION ALL " +
+            "SELECT 'BEHAVIOR_CHANGE_INTERVENTION' AS type, i.behavior_change_intervention_id AS id, " +
+            "i.behavior_change_intervention_name AS name, lower(i.behavior_change_intervention_name) AS name_key, " +
+            "CAST(NULL AS VARCHAR) AS other_key " +
+            "FROM behavior_change_intervention i " +
+            "WHERE 'BEHAVIOR_CHANGE_INTERVENTION' IN (:types) " +
+            "AND (lower(i.behavior_change_intervention_name) LIKE :pattern ESCAPE '\\' " +
+            "OR :term <% lower(i.behavior_change_intervention_name)) " +
+            "UNION ALL " +
+            "SELECT 'SKILL' AS type, sk.skill_id AS id, sk.skill_name AS name, lower(sk.skill_name) AS name_key, " +
+            "CAST(NULL AS VARCHAR) AS other_key " +
+            "FROM skill sk " +
+            "WHERE 'SKILL' IN (:types) " +
+            "AND (lower(sk.skill_name) LIKE :pattern ESCAPE '\\' OR :term <% lower(sk.skill_name)) " +
+            "UNION ALL " +
+            "SELECT 'ROLE' AS type, r.role_id AS id, r.role_name AS name, lower(r.role_name) AS name_key, " +
+            "CAST(NULL AS VARCHAR) AS other_key " +
+            "FROM role r " +
+            "WHERE 'ROLE' IN (:types) " +
+            "AND (lower(r.role_name) LIKE :pattern ESCAPE '\\' OR :term <% lower(r.role_name))" +
+            ") s " +
+            "ORDER BY score DESC, s.type, s.id LIMIT :limit OFFSET :offset",
+            nativeQuery = true)
+    List<SearchResult> search(@Param("term") String term, @Param("prefix") String prefix,
+                              @Param("pattern") String pattern, @Param("types") Collection<String> types,
+                              @Param("limit") int limit, @Param("offset") long offset);
+}
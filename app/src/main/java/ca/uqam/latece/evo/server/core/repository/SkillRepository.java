@@ -2,6 +2,8 @@ package ca.uqam.latece.evo.server.core.repository;
 
 import ca.uqam.latece.evo.server.core.enumeration.SkillType;
 import ca.uqam.latece.evo.server.core.model.Skill;
+import ca.uqam.latece.evo.server.core.response.SkillDependency;
+import ca.uqam.latece.evo.server.core.response.SkillNode;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -72,4 +74,59 @@ public interface SkillRepository extends EvoRepository<Skill> {
             "WHERE s.skill_composed_of_skill_id = :composed_skill_id",
             nativeQuery = true)
     List<Skill> findBySkillComposedOfSkillId(@Param("composed_skill_id") Long id);
+
+    /**
+     * Finds the transitive prerequisites of a skill: its required skills, their required skills, and so on, whatever
+     * the depth, in a single recursive query. Each skill is returned once, even if the required skills form a cycle.
+     * @param id the skill id.
+     * @return the prerequisites ordered by name, without the skill itself.
+     */
+    @Query(value = "WITH RECURSIVE prerequisite(skill_id) AS (" +
+            "SELECT CAST(:id AS BIGINT) " +
+            "UNION " +
+            "SELECT r.required_skill_required_id FROM required_skill r " +
+            "JOIN prerequisite p ON r.required_skill_skill_id = p.skill_id) " +
+            "SELECT s.skill_id AS id, s.skill_name AS name, s.skill_type AS type " +
+            "FROM prerequisite p JOIN skill s ON s.skill_id = p.skill_id " +
+            "WHERE p.skill_id <> :id " +
+            "ORDER BY s.skill_name",
+            nativeQuery = true)
+    List<SkillNode> findTransitivePrerequisites(@Param("id") Long id);
+
+    /**
+     * Finds the descendants of a skill: its sub skill and the skills it is composed of, their own sub skills and
+     * composed skills, and so on, whatever the depth, in a single recursive query.
+     * @param id the skill id.
+     * @return the descendants ordered by name, without the skill itself.
+     */
+    @Query(value = "WITH RECURSIVE descendant(skill_id) AS (" +
+            "SELECT CAST(:id AS BIGINT) " +
+            "UNION " +
+            "SELECT c.skill_id FROM descendant d " +
+            "JOIN skill p ON p.skill_id = d.skill_id " +
+            "JOIN skill c ON c.skill_composed_of_skill_id = p.skill_id OR c.skill_id = p.skill_sub_skill_id) " +
+            "SELECT s.skill_id AS id, s.skill_name AS name, s.skill_type AS type " +
+            "FROM descendant d JOIN skill s ON s.skill_id = d.skill_id " +
+            "WHERE d.skill_id <> :id " +
+            "ORDER BY s.skill_name",
+            nativeQuery = true)
+    List<SkillNode> findDescendants(@Param("id") Long id);
+
+    /**
+     * Finds a skill and its transitive prerequisites, each with its direct prerequisites, in a single recursive query,
+     * to order them in a learning path.
+     * @param id the skill id.
+     * @return a row per prerequisite edge of the skills (see {@link SkillDependency}), empty if the skill does not exist.
+     */
+    @Query(value = "WITH RECURSIVE prerequisite(skill_id) AS (" +
+            "SELECT CAST(:id AS BIGINT) " +
+            "UNION " +
+            "SELECT r.required_skill_required_id FROM required_skill r " +
+            "JOIN prerequisite p ON r.required_skill_skill_id = p.skill_id) " +
+            "SELECT s.skill_id AS id, s.skill_name AS name, s.skill_type AS type, " +
+            "r.required_skill_required_id AS \"requiredId\" " +
+            "FROM prerequisite p JOIN skill s ON s.skill_id = p.skill_id " +
+            "LEFT JOIN required_skill r ON r.required_skill_skill_id = p.skill_id",
+            nativeQuery = true)
+    List<SkillDependency> findPrerequisiteDependencies(@Param("id") Long id);
 }
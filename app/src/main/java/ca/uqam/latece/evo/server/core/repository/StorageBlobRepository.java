@@ -0,0 +1,73 @@
+package ca.uqam.latece.evo.server.core.repository;
+
+import ca.uqam.latece.evo.server.core.model.StorageBlob;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+/**
+ * StorageBlob repository creates CRUD implementation at runtime automatically. The reference counts are updated with
+ * single statements, so concurrent uploads and deletions of the same content never lose a reference.
+ * @version 1.0
+ * @author Edilton Lima dos Santos.
+ */
+@Repository
+public interface StorageBlobRepository extends EvoRepository<StorageBlob> {
+
+    /**
+     * Finds a StorageBlob by the SHA-256 of its content.
+     * @param hash the hexadecimal SHA-256 of the content.
+     * @return the StorageBlob or Optional#empty() if none found.
+     */
+    Optional<StorageBlob> findByHash(String hash);
+
+    /**
+     * Adds a reference to a blob, creating the blob row with one reference if it does not exist. A concurrent deletion
+     * of the same blob is serialized by the row lock.
+     * @param hash the hexadecimal SHA-256 of the content.
+     * @param size the size of the content in bytes.
+     * @return the number of rows inserted or updated.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO storage_blob (storage_blob_hash, storage_blob_size, storage_blob_reference_count) " +
+            "VALUES (:hash, :size, 1) " +
+            "ON CONFLICT (storage_blob_hash) " +
+            "DO UPDATE SET storage_blob_reference_count = storage_blob.storage_blob_reference_count + 1",
+            nativeQuery = true)
+    int acquire(@Param("hash") String hash, @Param("size") long size);
+
+    /**
+     * Removes a reference to a blob.
+     * @param hash the hexadecimal SHA-256 of the content.
+     * @return the number of rows updated.
+     */
+    @Modifying
+    @Query(value = "UPDATE storage_blob SET storage_blob_reference_count = storage_blob_reference_count - 1 " +
+            "WHERE storage_blob_hash = :hash AND storage_blob_reference_count > 0",
+            nativeQuery = true)
+    int release(@Param("hash") String hash);
+
+    /**
+     * Locks the row of a blob if it is no longer referenced, so a concurrent upload of the same content waits until
+     * the blob is deleted, then creates it again.
+     * @param hash the hexadecimal SHA-256 of the content.
+     * @return the hash if the blob is unreferenced, Optional#empty() if it is referenced again or already deleted.
+     */
+    @Query(value = "SELECT storage_blob_hash FROM storage_blob " +
+            "WHERE storage_blob_hash = :hash AND storage_blob_reference_count <= 0 FOR UPDATE",
+            nativeQuery = true)
+    Optional<String> lockUnreferenced(@Param("hash") String hash);
+
+    /**
+     * Deletes the row of a blob if it is no longer referenced.
+     * @param hash the hexadecimal SHA-256 of the content.
+     * @return 1 if the row was deleted, in which case the content must be deleted from the blob store, 0 otherwise.
+     */
+    @Modifying
+    @Query(value = "DELETE FROM storage_blob WHERE storage_blob_hash = :hash AND storage_blob_reference_count <= 0",
+            nativeQuery = true)
+    int deleteUnreferenced(@Param("hash") String hash);
+}
@@ -0,0 +1,33 @@
+package ca.uqam.latece.evo.server.core.repository;
+
+import ca.uqam.latece.evo.server.core.model.StorageReference;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * StorageReference repository creates CRUD implementation at runtime automatically.
+ * @version 1.0
+ * @author Edilton Lima dos Santos.
+ */
+@Repository
+public interface StorageReferenceRepository extends EvoRepository<StorageReference> {
+
+    /**
+     * Finds the reference of a file of an entity.
+     * @param location the kind of entity owning the file (e.g. content).
+     * @param ownerId the id of the entity.
+     * @param filename the name of the file.
+     * @return the StorageReference or Optional#empty() if none found.
+     */
+    Optional<StorageReference> findByLocationAndOwnerIdAndFilename(String location, String ownerId, String filename);
+
+    /**
+     * Finds the references of all the files of an entity.
+     * @param location the kind of entity owning the files (e.g. content).
+     * @param ownerId the id of the entity.
+     * @return the references of the files of the entity.
+     */
+    List<StorageReference> findByLocationAndOwnerId(String location, String ownerId);
+}
@@ -0,0 +1,56 @@
+package ca.uqam.latece.evo.server.core.repository.instance;
+
+import ca.uqam.latece.evo.server.core.response.ActivityTransition;
+
+import java.time.Instant;
+import java.time.YearMonth;
+import java.util.List;
+
+/**
+ * The append-only log of the execution status transitions of the activity instances (activity_transition table),
+ * implemented with JDBC: the transitions are appended with JDBC batches, and read with range scans of the indexes of the
+ * monthly partitions.
+ * @version 1.0
+ * @author Edilton Lima dos Santos.
+ */
+public interface ActivityTransitionLog {
+
+    /**
+     * Appends transitions to the log (their ids are generated).
+     * @param transitions the transitions.
+     */
+    void append(List<ActivityTransition> transitions);
+
+    /**
+     * Creates the partition of a month, unless it exists.
+     * @param month the month, in UTC.
+     */
+    void createMonthlyPartition(YearMonth month);
+
+    /**
+     * Finds the last transition of an instance at a time, i.e. its state at that time.
+     * @param instanceId the ActivityInstance id.
+     * @param at the time.
+     * @return the transition, or null if the instance had no transition at that time.
+     */
+    ActivityTransition findStateAt(long instanceId, Instant at);
+
+    /**
+     * Finds the transitions of an instance in a time range, in time order.
+     * @param instanceId the ActivityInstance id.
+     * @param from the start of the range (inclusive).
+     * @param to the end of the range (exclusive).
+     * @return the transitions.
+     */
+    List<ActivityTransition> findHistory(long instanceId, Instant from, Instant to);
+
+    /**
+     * Finds the transitions of all the instances in a time range, in time order.
+     * @param from the start of the range (inclusive).
+     * @param to the end of the range (exclusive).
+     * @param toStatus the new execution status of the transitions, or null for all the transitions.
+     * @param limit the maximum number of transitions.
+     * @return the transitions.
+     */
+    List<ActivityTransition> findTransitions(Instant from, Instant to, String toStatus, int limit);
+}
@@ -0,0 +1,124 @@
+package ca.uqam.latece.evo.server.core.repository.instance;
+
+import ca.uqam.latece.evo.server.core.response.ActivityTransition;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.List;
+
+/**
+ * JDBC implementation of the {@link ActivityTransitionLog} fragment of the ActivityTransitionRepository. It runs in the
+ * transaction of the caller, on the same connection as the JPA repositories.
+ * @version 1.0
+ * @author Edilton Lima dos Santos.
+ */
+public class ActivityTransitionLogImpl implements ActivityTransitionLog {
+
+    /**
+     * The number of rows sent to the database per JDBC batch.
+     */
+    static final int BATCH_SIZE = 1000;
+
+    private static final String COLUMNS = "SELECT activity_transition_id, activity_transition_instance_id, " +
+            "activity_transition_type, activity_transition_from_status, activity_transition_to_status, " +
+            "activity_transition_entry_date, activity_transition_exit_date, activity_transition_at " +
+            "FROM activity_transition ";
+
+    private static final RowMapper<ActivityTransition> ROW_MAPPER = (resultSet, rowNum) -> new ActivityTransition(
+            resultSet.getLong(1), resultSet.getLong(2), resultSet.getString(3), resultSet.getString(4),
+            resultSet.getString(5), toLocalDate(resultSet.getDate(6)), toLocalDate(resultSet.getDate(7)),
+            resultSet.getObject(8, OffsetDateTime.class).toInstant());
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public ActivityTransitionLogImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void append(List<ActivityTransition> transitions) {
+        if (!transitions.isEmpty()) {
+            jdbcTemplate.batchUpdate("INSERT INTO activity_transition (activity_transition_instance_id, " +
+                    "activity_transition_type, activity_transition_from_status, activity_transition_to_status, " +
+                    "activity_transition_entry_date, activity_transition_exit_date, activity_transition_at) " +
+                    "VALUES (?, ?, ?, ?, ?, ?, ?)", transitions, BATCH_SIZE, (statement, transition) -> {
+                statement.setLong(1, transition.getInstanceId());
+                statement.setString(2, transition.getType());
+                statement.setString(3, transition.getFromStatus());
+                statement.setString(4, transition.getToStatus());
+                setDate(statement, 5, transition.getEntryDate());
+                setDate(statement, 6, transition.getExitDate());
+                statement.setObject(7, toOffsetDateTime(transition.getAt()));
+            });
+        }
+    }
+
+    @Override
+    public void createMonthlyPartition(YearMonth month) {
+        // DDL cannot take bind parameters: the name and the bounds only come from the YearMonth.
+        YearMonth next = month.plusMonths(1);
+        jdbcTemplate.execute(String.format("CREATE TABLE IF NOT EXISTS activity_transition_y%04dm%02d " +
+                "PARTITION OF activity_transition FOR VALUES FROM ('%04d-%02d-01 00:00:00+00') " +
+                "TO ('%04d-%02d-01 00:00:00+00')", month.getYear(), month.getMonthValue(), month.getYear(),
+                month.getMonthValue(), next.getYear(), next.getMonthValue()));
+    }
+
+    @Override
+    public ActivityTransition findStateAt(long instanceId, Instant at) {
+        List<ActivityTransition> transitions = jdbcTemplate.query(COLUMNS +
+                "WHERE activity_transition_instance_id = ? AND activity_transition_at <= ? " +
+                "ORDER BY activity_transition_at DESC, activity_transition_id DESC LIMIT 1", ROW_MAPPER,
+                instanceId, toOffsetDateTime(at));
+        return transitions.isEmpty() ? null : transitions.get(0);
+    }
+
+    @Override
+    public List<ActivityTransition> findHistory(long instanceId, Instant from, Instant to) {
+        return jdbcTemplate.query(COLUMNS +
+                "WHERE activity_transition_instance_id = ? AND activity_transition_at >= ? AND activity_transition_at < ? " +
+                "ORDER BY activity_transition_at, activity_transition_id", ROW_MAPPER, instanceId,
+                toOffsetDateTime(from), toOffsetDateTime(to));
+    }
+
+    @Override
+    public List<ActivityTransition> findTransitions(Instant from, Instant to, String toStatus, int limit) {
+        if (toStatus == null) {
+            return jdbcTemplate.query(COLUMNS +
+                    "WHERE activity_transition_at >= ? AND activity_transition_at < ? " +
+                    "ORDER BY activity_transition_at, activity_transition_id LIMIT ?", ROW_MAPPER,
+                    toOffsetDateTime(from), toOffsetDateTime(to), limit);
+        }
+
+        return jdbcTemplate.query(COLUMNS +
+                "WHERE activity_transition_at >= ? AND activity_transition_at < ? AND activity_transition_to_status = ? " +
+                "ORDER BY activity_transition_at, activity_transition_id LIMIT ?", ROW_MAPPER,
+                toOffsetDateTime(from), toOffsetDateTime(to), toStatus, limit);
+    }
+
+    private static OffsetDateTime toOffsetDateTime(Instant instant) {
+        return instant.atOffset(ZoneOffset.UTC);
+    }
+
+    private static LocalDate toLocalDate(Date date) {
+        return date == null ? null : date.toLocalDate();
+    }
+
+    private static void setDate(PreparedStatement statement, int index, LocalDate date) throws SQLException {
+        if (date == null) {
+            statement.setNull(index, Types.DATE);
+        } else {
+            statement.setDate(index, Date.valueOf(date));
+        }
+    }
+}
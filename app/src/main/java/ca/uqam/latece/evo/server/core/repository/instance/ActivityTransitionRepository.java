@@ -0,0 +1,42 @@
+package ca.uqam.latece.evo.server.core.repository.instance;
+
+import ca.uqam.latece.evo.server.core.model.instance.ActivityInstance;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Activity transition repository: the append-only log of the execution status transitions of the intervention, phase
+ * and block instances (see {@link ActivityTransitionLog}).
+ * @version 1.0
+ * @author Edilton Lima dos Santos.
+ */
+@Repository
+public interface ActivityTransitionRepository extends org.springframework.data.repository.Repository<ActivityInstance, Long>,
+        ActivityTransitionLog {
+
+    /**
+     * The last logged execution status of an instance.
+     */
+    interface LastStatus {
+
+        Long getInstanceId();
+
+        String getStatus();
+    }
+
+    /**
+     * Finds the last logged execution status of instances, with one index scan per instance and partition.
+     * @param instanceIds the ActivityInstance ids.
+     * @return the last status of the instances that have transitions.
+     */
+    @Query(value = "SELECT DISTINCT ON (activity_transition_instance_id) " +
+            "activity_transition_instance_id AS \"instanceId\", activity_transition_to_status AS status " +
+            "FROM activity_transition WHERE activity_transition_instance_id IN (:instanceIds) " +
+            "ORDER BY activity_transition_instance_id, activity_transition_at DESC, activity_transition_id DESC",
+            nativeQuery = true)
+    List<LastStatus> findLastStatuses(@Param("instanceIds") Collection<Long> instanceIds);
+}
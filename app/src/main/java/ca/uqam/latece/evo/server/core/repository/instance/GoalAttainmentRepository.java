@@ -0,0 +1,14 @@
+package ca.uqam.latece.evo.server.core.repository.instance;
+
+import ca.uqam.latece.evo.server.core.model.instance.GoalSettingInstance;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Goal attainment repository: the progress of the evaluated GoalSettingInstances (see {@link GoalAttainmentStore}).
+ * @version 1.0
+ * @author Edilton Lima dos Santos.
+ */
+@Repository
+public interface GoalAttainmentRepository extends
+        org.springframework.data.repository.Repository<GoalSettingInstance, Long>, GoalAttainmentStore {
+}
@@ -0,0 +1,81 @@
+package ca.uqam.latece.evo.server.core.repository.instance;
+
+import ca.uqam.latece.evo.server.core.enumeration.GoalComparison;
+import ca.uqam.latece.evo.server.core.response.GoalAttainment;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * The attainment states of the GoalSettingInstances (goal_attainment table), implemented with JDBC: the progress of a
+ * goal is incremented by upserts that lock its state until the end of the transaction, so that concurrent ingestions
+ * see each other's progress and a threshold crossing is seen once.
+ * @version 1.0
+ * @author Edilton Lima dos Santos.
+ */
+public interface GoalAttainmentStore {
+
+    /**
+     * An evaluated GoalSettingInstance in progress.
+     * @param goalSettingInstanceId the GoalSettingInstance id.
+     * @param concernsInstanceId the id of the concerned BCIActivityInstance.
+     * @param entryDate the start of the goal, or null if it is unknown.
+     * @param target the target of the GoalSetting.
+     * @param comparison the comparison of the GoalSetting.
+     * @param finishOnAttainment whether the concerned activity is finished when the goal is met.
+     */
+    record ActiveGoal(long goalSettingInstanceId, long concernsInstanceId, LocalDate entryDate, double target,
+                      GoalComparison comparison, boolean finishOnAttainment) {}
+
+    /**
+     * The new samples of a GoalSettingInstance, added to its progress.
+     */
+    record ProgressDelta(long goalSettingInstanceId, double sum, long count) {}
+
+    /**
+     * The progress of a GoalSettingInstance and its level.
+     */
+    record Progress(long goalSettingInstanceId, double progress, long count, int level) {}
+
+    /**
+     * The block, phase and intervention instances of a BCIActivityInstance.
+     */
+    record ActivityPath(long blockInstanceId, long phaseInstanceId, long bciInstanceId) {}
+
+    /**
+     * Finds the evaluated GoalSettingInstances in progress that concern BCIActivityInstances.
+     * @param concernsInstanceIds the concerned BCIActivityInstance ids.
+     * @return the goals.
+     */
+    List<ActiveGoal> findActiveGoals(Collection<Long> concernsInstanceIds);
+
+    /**
+     * Adds new samples to the progress of goals, creating the missing states at level 0.
+     * @param deltas the new samples, sorted by GoalSettingInstance id so that concurrent ingestions lock the states in
+     *               the same order.
+     * @return the new progress of the goals with their level before the samples.
+     */
+    List<Progress> addProgress(List<ProgressDelta> deltas);
+
+    /**
+     * Sets the level of goals.
+     * @param progresses the goals with their new level.
+     */
+    void updateLevels(List<Progress> progresses);
+
+    /**
+     * Finds the attainment state of a GoalSettingInstance.
+     * @param goalSettingInstanceId the GoalSettingInstance id.
+     * @return the state, or empty if the goal has no progress yet.
+     */
+    Optional<GoalAttainment> findAttainment(long goalSettingInstanceId);
+
+    /**
+     * Finds the block, phase and intervention instances of a BCIActivityInstance.
+     * @param activityInstanceId the BCIActivityInstance id.
+     * @return the path, or empty if the activity is not in an intervention.
+     */
+    Optional<ActivityPath> findActivityPath(long activityInstanceId);
+}
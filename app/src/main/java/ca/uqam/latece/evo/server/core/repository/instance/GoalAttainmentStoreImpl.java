@@ -0,0 +1,128 @@
+package ca.uqam.latece.evo.server.core.repository.instance;
+
+import ca.uqam.latece.evo.server.core.enumeration.GoalComparison;
+import ca.uqam.latece.evo.server.core.response.GoalAttainment;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Connection;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * JDBC implementation of the {@link GoalAttainmentStore} fragment of the GoalAttainmentRepository. It runs in the
+ * transaction of the caller, on the same connection as the JPA repositories.
+ * @version 1.0
+ * @author Edilton Lima dos Santos.
+ */
+public class GoalAttainmentStoreImpl implements GoalAttainmentStore {
+
+    /**
+     * The number of rows sent to the database per JDBC batch.
+     */
+    static final int BATCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public GoalAttainmentStoreImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public List<ActiveGoal> findActiveGoals(Collection<Long> concernsInstanceIds) {
+        if (concernsInstanceIds.isEmpty()) {
+            return List.of();
+        }
+
+        return jdbcTemplate.query("SELECT g.goal_setting_instance_id, g.goal_setting_instance_bci_concerns_instance_id, " +
+                "ai.activity_instance_entry_date, gs.goal_setting_target, gs.goal_setting_comparison, " +
+                "gs.goal_setting_finish_on_attainment FROM goal_setting_instance g " +
+                "JOIN activity_instance ai ON ai.activity_instance_id = g.goal_setting_instance_id " +
+                "JOIN goal_setting gs ON gs.goal_setting_id = g.goal_setting_instance_goal_setting_id " +
+                "WHERE g.goal_setting_instance_bci_concerns_instance_id = ANY(?) " +
+                "AND ai.activity_instance_status = 'IN_PROGRESS' AND gs.goal_setting_target IS NOT NULL " +
+                "ORDER BY g.goal_setting_instance_id",
+                statement -> statement.setArray(1, statement.getConnection().createArrayOf("bigint",
+                        concernsInstanceIds.toArray())),
+                (resultSet, rowNum) -> new ActiveGoal(resultSet.getLong(1), resultSet.getLong(2),
+                        resultSet.getObject(3, LocalDate.class), resultSet.getDouble(4),
+                        GoalComparison.valueOf(resultSet.getString(5)), resultSet.getBoolean(6)));
+    }
+
+    @Override
+    public List<Progress> addProgress(List<ProgressDelta> deltas) {
+        if (deltas.isEmpty()) {
+            return List.of();
+        }
+
+        // One statement for all the goals: the states are locked in the order of the deltas.
+        return jdbcTemplate.query("INSERT INTO goal_attainment AS a " +
+                "(goal_attainment_goal_instance_id, goal_attainment_progress, goal_attainment_count) " +
+                "SELECT d.id, d.progress, d.count FROM unnest(?, ?, ?) WITH ORDINALITY AS d(id, progress, count, n) " +
+                "ORDER BY d.n " +
+                "ON CONFLICT (goal_attainment_goal_instance_id) DO UPDATE SET " +
+                "goal_attainment_progress = a.goal_attainment_progress + EXCLUDED.goal_attainment_progress, " +
+                "goal_attainment_count = a.goal_attainment_count + EXCLUDED.goal_attainment_count, " +
+                "goal_attainment_updated_at = now() " +
+                "RETURNING goal_attainment_goal_instance_id, goal_attainment_progress, goal_attainment_count, " +
+                "goal_attainment_level",
+                statement -> {
+                    Connection connection = statement.getConnection();
+                    statement.setArray(1, connection.createArrayOf("bigint",
+                            deltas.stream().map(ProgressDelta::goalSettingInstanceId).toArray()));
+                    statement.setArray(2, connection.createArrayOf("float8",
+                            deltas.stream().map(ProgressDelta::sum).toArray()));
+                    statement.setArray(3, connection.createArrayOf("bigint",
+                            deltas.stream().map(ProgressDelta::count).toArray()));
+                },
+                (resultSet, rowNum) -> new Progress(resultSet.getLong(1), resultSet.getDouble(2),
+                        resultSet.getLong(3), resultSet.getInt(4)));
+    }
+
+    @Override
+    public void updateLevels(List<Progress> progresses) {
+        if (!progresses.isEmpty()) {
+            jdbcTemplate.batchUpdate("UPDATE goal_attainment SET goal_attainment_level = ? " +
+                    "WHERE goal_attainment_goal_instance_id = ?", progresses, BATCH_SIZE, (statement, progress) -> {
+                statement.setInt(1, progress.level());
+                statement.setLong(2, progress.goalSettingInstanceId());
+            });
+        }
+    }
+
+    @Override
+    public Optional<GoalAttainment> findAttainment(long goalSettingInstanceId) {
+        return jdbcTemplate.query("SELECT a.goal_attainment_goal_instance_id, a.goal_attainment_progress, " +
+                "a.goal_attainment_count, a.goal_attainment_level, gs.goal_setting_target, " +
+                "gs.goal_setting_comparison, a.goal_attainment_updated_at FROM goal_attainment a " +
+                "JOIN goal_setting_instance g ON g.goal_setting_instance_id = a.goal_attainment_goal_instance_id " +
+                "JOIN goal_setting gs ON gs.goal_setting_id = g.goal_setting_instance_goal_setting_id " +
+                "WHERE a.goal_attainment_goal_instance_id = ?",
+                (resultSet, rowNum) -> {
+                    String comparison = resultSet.getString(6);
+                    return new GoalAttainment(resultSet.getLong(1), resultSet.getDouble(2), resultSet.getLong(3),
+                            resultSet.getInt(4), resultSet.getObject(5, Double.class),
+                            comparison == null ? null : GoalComparison.valueOf(comparison),
+                            resultSet.getObject(7, OffsetDateTime.class).toInstant());
+                }, goalSettingInstanceId).stream().findFirst();
+    }
+
+    @Override
+    public Optional<ActivityPath> findActivityPath(long activityInstanceId) {
+        return jdbcTemplate.query("SELECT ba.bci_block_instance_activities_block_id, " +
+                "pa.bci_phase_instance_activities_phase_id, ia.bci_instance_activities_bci_id " +
+                "FROM bci_block_instance_activities ba " +
+                "JOIN bci_phase_instance_activities pa " +
+                "ON pa.bci_phase_instance_activities_block_id = ba.bci_block_instance_activities_block_id " +
+                "JOIN bci_instance_activities ia " +
+                "ON ia.bci_instance_activities_phase_id = pa.bci_phase_instance_activities_phase_id " +
+                "WHERE ba.bci_block_instance_activities_activity_id = ? " +
+                "ORDER BY 3, 2, 1 LIMIT 1",
+                (resultSet, rowNum) -> new ActivityPath(resultSet.getLong(1), resultSet.getLong(2),
+                        resultSet.getLong(3)), activityInstanceId).stream().findFirst();
+    }
+}
@@ -0,0 +1,187 @@
+package ca.uqam.latece.evo.server.core.repository.instance;
+
+import ca.uqam.latece.evo.server.core.model.instance.BehaviorChangeInterventionInstance;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Intervention archive repository: moves the finished intervention instance trees from the instance tables to the
+ * bci_archive table, with set-based statements over a batch of trees (see {@link InterventionArchiveStore}).
+ * <p>
+ * A tree is the intervention instance, its phase instances and their block instances. Their links to the referrals,
+ * module instances and activity instances are kept as ids in the archived document; the module and activity instances
+ * themselves stay in the instance tables.
+ * @version 1.0
+ * @author Edilton Lima dos Santos.
+ */
+@Repository
+public interface InterventionArchiveRepository extends
+        org.springframework.data.repository.Repository<BehaviorChangeInterventionInstance, Long>, InterventionArchiveStore {
+
+    /**
+     * The archived instances of the trees of a batch (the intervention instances and their phase and block instances).
+     */
+    String TREE_INSTANCES = "SELECT bci_archive_instance_id FROM bci_archive_instance " +
+            "WHERE bci_archive_instance_root_id IN (:ids)";
+
+    /**
+     * A finished intervention instance to archive, with the month of its exit date (yyyy-MM).
+     */
+    interface FinishedTree {
+
+        Long getId();
+
+        String getExitMonth();
+    }
+
+    /**
+     * Claims finished intervention instances that exited before a date, the oldest first. The instances locked by
+     * another archiver are skipped.
+     * @param cutoff the exit date before which the instances are archived.
+     * @param limit the maximum number of instances.
+     * @return the claimed instances.
+     */
+    @Query(value = "SELECT bi.bci_instance_id AS id, to_char(ai.activity_instance_exit_date, 'YYYY-MM') AS \"exitMonth\" " +
+            "FROM activity_instance ai JOIN bci_instance bi ON bi.bci_instance_id = ai.activity_instance_id " +
+            "WHERE ai.activity_instance_status = 'FINISHED' AND ai.activity_instance_exit_date < :cutoff " +
+            "ORDER BY ai.activity_instance_exit_date, ai.activity_instance_id LIMIT :limit " +
+            "FOR UPDATE OF bi SKIP LOCKED",
+            nativeQuery = true)
+    List<FinishedTree> claimFinishedTrees(@Param("cutoff") LocalDate cutoff, @Param("limit") int limit);
+
+    /**
+     * Copies the trees of intervention instances to the archive, one JSON document per tree.
+     * @param ids the BehaviorChangeInterventionInstance ids.
+     * @return the number of archived trees.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO bci_archive (bci_archive_id, bci_archive_patient_id, bci_archive_bci_id, " +
+            "bci_archive_exit_date, bci_archive_archived_at, bci_archive_tree) " +
+            "SELECT bi.bci_instance_id, bi.bci_instance_patient_id, bi.bci_instance_behavior_change_intervention_id, " +
+            "ai.activity_instance_exit_date, now(), jsonb_build_object(" +
+            "'id', bi.bci_instance_id, 'status', ai.activity_instance_status, " +
+            "'entryDate', ai.activity_instance_entry_date, 'exitDate', ai.activity_instance_exit_date, " +
+            "'patientId', bi.bci_instance_patient_id, " +
+            "'behaviorChangeInterventionId', bi.bci_instance_behavior_change_intervention_id, " +
+            "'currentPhaseId', bi.bci_instance_currentphase_id, " +
+            "'referralIds', COALESCE((SELECT jsonb_agg(ri.bci_referral_interventions_referral_id " +
+            "ORDER BY ri.bci_referral_interventions_referral_id) FROM bci_referral_interventions ri " +
+            "WHERE ri.bci_referral_interventions_bci_id = bi.bci_instance_id), CAST('[]' AS jsonb)), " +
+            "'activities', COALESCE((SELECT jsonb_agg(jsonb_build_object(" +
+            "'id', ph.bci_phase_instance_id, 'status', pai.activity_instance_status, " +
+            "'entryDate', pai.activity_instance_entry_date, 'exitDate', pai.activity_instance_exit_date, " +
+            "'behaviorChangeInterventionPhaseId', ph.bci_phase_instance_behavior_change_intervention_phase_id, " +
+            "'currentBlockId', ph.bci_phase_instance_currentblock_id, " +
+            "'moduleIds', COALESCE((SELECT jsonb_agg(pm.bci_phase_instance_modules_module_id " +
+            "ORDER BY pm.bci_phase_instance_modules_module_id) FROM bci_phase_instance_modules pm " +
+            "WHERE pm.bci_phase_instance_modules_phase_id = ph.bci_phase_instance_id), CAST('[]' AS jsonb)), " +
+            "'activities', COALESCE((SELECT jsonb_agg(jsonb_build_object(" +
+            "'id', bl.bci_block_instance_id, 'status', bai.activity_instance_status, " +
+            "'entryDate', bai.activity_instance_entry_date, 'exitDate', bai.activity_instance_exit_date, " +
+            "'stage', bl.bci_block_instance_stage, " +
+            "'behaviorChangeInterventionBlockId', bl.bci_block_instance_behavior_change_intervention_block_id, " +
+            "'activityIds', COALESCE((SELECT jsonb_agg(ba.bci_block_instance_activities_activity_id " +
+            "ORDER BY ba.bci_block_instance_activities_activity_id) FROM bci_block_instance_activities ba " +
+            "WHERE ba.bci_block_instance_activities_block_id = bl.bci_block_instance_id), CAST('[]' AS jsonb))) " +
+            "ORDER BY bl.bci_block_instance_id) " +
+            "FROM bci_phase_instance_activities pa " +
+            "JOIN bci_block_instance bl ON bl.bci_block_instance_id = pa.bci_phase_instance_activities_block_id " +
+            "JOIN activity_instance bai ON bai.activity_instance_id = bl.bci_block_instance_id " +
+            "WHERE pa.bci_phase_instance_activities_phase_id = ph.bci_phase_instance_id), CAST('[]' AS jsonb))) " +
+            "ORDER BY ph.bci_phase_instance_id) " +
+            "FROM bci_instance_activities ia " +
+            "JOIN bci_phase_instance ph ON ph.bci_phase_instance_id = ia.bci_instance_activities_phase_id " +
+            "JOIN activity_instance pai ON pai.activity_instance_id = ph.bci_phase_instance_id " +
+            "WHERE ia.bci_instance_activities_bci_id = bi.bci_instance_id), CAST('[]' AS jsonb))) " +
+            "FROM bci_instance bi JOIN activity_instance ai ON ai.activity_instance_id = bi.bci_instance_id " +
+            "WHERE bi.bci_instance_id IN (:ids)",
+            nativeQuery = true)
+    int insertArchives(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Records the intervention, phase and block instances of archived trees, for the lookups by id.
+     * @param ids the BehaviorChangeInterventionInstance ids.
+     * @return the number of recorded instances.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO bci_archive_instance (bci_archive_instance_id, bci_archive_instance_root_id, " +
+            "bci_archive_instance_exit_date) " +
+            "WITH trees AS (SELECT ai.activity_instance_id AS root_id, ai.activity_instance_exit_date AS exit_date " +
+            "FROM activity_instance ai WHERE ai.activity_instance_id IN (:ids)) " +
+            "SELECT root_id, root_id, exit_date FROM trees " +
+            "UNION SELECT ia.bci_instance_activities_phase_id, root_id, exit_date FROM trees " +
+            "JOIN bci_instance_activities ia ON ia.bci_instance_activities_bci_id = root_id " +
+            "UNION SELECT pa.bci_phase_instance_activities_block_id, root_id, exit_date FROM trees " +
+            "JOIN bci_instance_activities ia ON ia.bci_instance_activities_bci_id = root_id " +
+            "JOIN bci_phase_instance_activities pa " +
+            "ON pa.bci_phase_instance_activities_phase_id = ia.bci_instance_activities_phase_id " +
+            "ON CONFLICT (bci_archive_instance_id) DO NOTHING",
+            nativeQuery = true)
+    int insertArchiveInstances(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Deletes the rows of archived intervention instances and of their links, in the order of the foreign keys.
+     * @param ids the BehaviorChangeInterventionInstance ids.
+     * @return the number of deleted intervention instances.
+     */
+    @Modifying
+    @Query(value = "WITH referrals AS (DELETE FROM bci_referral_interventions " +
+            "WHERE bci_referral_interventions_bci_id IN (:ids)), " +
+            "phases AS (DELETE FROM bci_instance_activities WHERE bci_instance_activities_bci_id IN (:ids)) " +
+            "DELETE FROM bci_instance WHERE bci_instance_id IN (:ids)",
+            nativeQuery = true)
+    int deleteInterventionInstances(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Deletes the phase instances of archived trees and their links.
+     * @param ids the BehaviorChangeInterventionInstance ids of the trees.
+     * @return the number of deleted phase instances.
+     */
+    @Modifying
+    @Query(value = "WITH modules AS (DELETE FROM bci_phase_instance_modules " +
+            "WHERE bci_phase_instance_modules_phase_id IN (" + TREE_INSTANCES + ")), " +
+            "blocks AS (DELETE FROM bci_phase_instance_activities " +
+            "WHERE bci_phase_instance_activities_phase_id IN (" + TREE_INSTANCES + ")) " +
+            "DELETE FROM bci_phase_instance WHERE bci_phase_instance_id IN (" + TREE_INSTANCES + ")",
+            nativeQuery = true)
+    int deletePhaseInstances(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Deletes the block instances of archived trees and their links.
+     * @param ids the BehaviorChangeInterventionInstance ids of the trees.
+     * @return the number of deleted block instances.
+     */
+    @Modifying
+    @Query(value = "WITH activities AS (DELETE FROM bci_block_instance_activities " +
+            "WHERE bci_block_instance_activities_block_id IN (" + TREE_INSTANCES + ")) " +
+            "DELETE FROM bci_block_instance WHERE bci_block_instance_id IN (" + TREE_INSTANCES + ")",
+            nativeQuery = true)
+    int deleteBlockInstances(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Deletes the activity instance rows of archived trees and their cohort analytics states, and decrements the
+     * cohort counters of the deleted states, so the funnels stop counting the archived trees at once.
+     * @param ids the BehaviorChangeInterventionInstance ids of the trees.
+     * @return the number of deleted activity instances.
+     */
+    @Modifying
+    @Query(value = "WITH states AS (DELETE FROM cohort_state WHERE cohort_state_instance_id IN (" + TREE_INSTANCES +
+            ") RETURNING cohort_state_bci_id, cohort_state_phase_id, cohort_state_block_id, cohort_state_status), " +
+            "counters AS (INSERT INTO cohort_counter (cohort_counter_bci_id, cohort_counter_phase_id, " +
+            "cohort_counter_block_id, cohort_counter_status, cohort_counter_slot, cohort_counter_count) " +
+            "SELECT cohort_state_bci_id, cohort_state_phase_id, cohort_state_block_id, cohort_state_status, 0, " +
+            "-COUNT(*) FROM states " +
+            "GROUP BY cohort_state_bci_id, cohort_state_phase_id, cohort_state_block_id, cohort_state_status " +
+            "ON CONFLICT (cohort_counter_bci_id, cohort_counter_phase_id, cohort_counter_block_id, " +
+            "cohort_counter_status, cohort_counter_slot) " +
+            "DO UPDATE SET cohort_counter_count = cohort_counter.cohort_counter_count + EXCLUDED.cohort_counter_count) " +
+            "DELETE FROM activity_instance WHERE activity_instance_id IN (" + TREE_INSTANCES + ")",
+            nativeQuery = true)
+    int deleteActivityInstances(@Param("ids") Collection<Long> ids);
+}
@@ -0,0 +1,26 @@
+package ca.uqam.latece.evo.server.core.repository.instance;
+
+import ca.uqam.latece.evo.server.core.response.ArchivedIntervention;
+
+import java.time.YearMonth;
+
+/**
+ * The partitions and the lookups of the intervention instance archive (bci_archive table), implemented with JDBC.
+ * @version 1.0
+ * @author Edilton Lima dos Santos.
+ */
+public interface InterventionArchiveStore {
+
+    /**
+     * Creates the archive partition of a month of exit dates, unless it exists.
+     * @param month the month.
+     */
+    void createMonthlyPartition(YearMonth month);
+
+    /**
+     * Finds the archived tree of an intervention, phase or block instance.
+     * @param instanceId the ActivityInstance id.
+     * @return the archived tree, or null if the instance is not archived.
+     */
+    ArchivedIntervention findArchive(long instanceId);
+}
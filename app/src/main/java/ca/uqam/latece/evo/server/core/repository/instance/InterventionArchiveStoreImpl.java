@@ -0,0 +1,48 @@
+package ca.uqam.latece.evo.server.core.repository.instance;
+
+import ca.uqam.latece.evo.server.core.response.ArchivedIntervention;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.OffsetDateTime;
+import java.time.YearMonth;
+import java.util.List;
+
+/**
+ * JDBC implementation of the {@link InterventionArchiveStore} fragment of the InterventionArchiveRepository. It runs in
+ * the transaction of the caller, on the same connection as the JPA repositories.
+ * @version 1.0
+ * @author Edilton Lima dos Santos.
+ */
+public class InterventionArchiveStoreImpl implements InterventionArchiveStore {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public InterventionArchiveStoreImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void createMonthlyPartition(YearMonth month) {
+        // DDL cannot take bind parameters: the name and the bounds only come from the YearMonth.
+        YearMonth next = month.plusMonths(1);
+        jdbcTemplate.execute(String.format("CREATE TABLE IF NOT EXISTS bci_archive_y%04dm%02d " +
+                "PARTITION OF bci_archive FOR VALUES FROM ('%04d-%02d-01') TO ('%04d-%02d-01')", month.getYear(),
+                month.getMonthValue(), month.getYear(), month.getMonthValue(), next.getYear(), next.getMonthValue()));
+    }
+
+    @Override
+    public ArchivedIntervention findArchive(long instanceId) {
+        // The exit date of the instance selects the partition of its tree.
+        List<ArchivedIntervention> archives = jdbcTemplate.query("SELECT a.bci_archive_id, a.bci_archive_patient_id, " +
+                "a.bci_archive_bci_id, a.bci_archive_exit_date, a.bci_archive_archived_at, a.bci_archive_tree " +
+                "FROM bci_archive_instance i JOIN bci_archive a ON a.bci_archive_id = i.bci_archive_instance_root_id " +
+                "AND a.bci_archive_exit_date = i.bci_archive_instance_exit_date " +
+                "WHERE i.bci_archive_instance_id = ?", (resultSet, rowNum) -> new ArchivedIntervention(
+                        resultSet.getLong(1), resultSet.getLong(2), resultSet.getLong(3),
+                        resultSet.getDate(4).toLocalDate(), resultSet.getObject(5, OffsetDateTime.class).toInstant(),
+                        resultSet.getString(6)), instanceId);
+        return archives.isEmpty() ? null : archives.get(0);
+    }
+}
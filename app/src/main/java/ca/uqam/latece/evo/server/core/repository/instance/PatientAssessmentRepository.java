@@ -4,6 +4,8 @@ import ca.uqam.latece.evo.server.core.model.instance.Patient;
 import ca.uqam.latece.evo.server.core.model.instance.PatientAssessment;
 import ca.uqam.latece.evo.server.core.repository.EvoRepository;
 
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
@@ -14,7 +16,18 @@ import java.util.List;
  * @author Julien Champagne.
  */
 @Repository
-public interface PatientAssessmentRepository extends EvoRepository<PatientAssessment> {
+public interface PatientAssessmentRepository extends EvoRepository<PatientAssessment>, PatientAssessmentScoreRepository {
+
+    /**
+     * The id and the answers of a PatientAssessment.
+     */
+    interface Answers {
+
+        Long getId();
+
+        String getAnswers();
+    }
+
     /**
      * Finds PatientAssessment entities by their date.
      * @param date LocalDate.
@@ -46,4 +59,19 @@ public interface PatientAssessmentRepository extends EvoRepository<PatientAssess
      * @throws IllegalArgumentException if id is null.
      */
     List<PatientAssessment> findByPatientId(Long id);
+
+    /**
+     * Finds the answers of the PatientAssessment entities of an Assessment, in the order of their ids, after a given id
+     * (keyset pagination over the patient_assessment_assessment_idx index).
+     * @param assessmentId the Assessment id.
+     * @param afterId the last id of the previous page, 0 for the first page.
+     * @param limit the maximum number of PatientAssessment entities.
+     * @return the ids and answers of the PatientAssessment entities.
+     */
+    @Query(value = "SELECT patient_assessment_id AS id, patient_assessment_assessment AS answers " +
+            "FROM patient_assessment WHERE patient_assessment_assessment_id = :assessmentId " +
+            "AND patient_assessment_id > :afterId ORDER BY patient_assessment_id LIMIT :limit",
+            nativeQuery = true)
+    List<Answers> findAnswersByAssessmentId(@Param("assessmentId") Long assessmentId, @Param("afterId") long afterId,
+                                            @Param("limit") int limit);
 }
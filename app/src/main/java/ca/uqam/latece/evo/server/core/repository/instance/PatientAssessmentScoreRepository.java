@@ -0,0 +1,18 @@
+package ca.uqam.latece.evo.server.core.repository.instance;
+
+/**
+ * Batched updates of the PatientAssessment scores, implemented with JDBC batches rather than entity updates.
+ * @version 1.0
+ * @author Edilton Lima dos Santos.
+ */
+public interface PatientAssessmentScoreRepository {
+
+    /**
+     * Updates the scores of PatientAssessment entities in a single JDBC batch.
+     * @param ids the PatientAssessment ids.
+     * @param scores the score of each PatientAssessment; NaN is stored as null.
+     * @param length the number of PatientAssessment entities to update.
+     * @return the number of updated PatientAssessment entities.
+     */
+    int updateScores(long[] ids, double[] scores, int length);
+}
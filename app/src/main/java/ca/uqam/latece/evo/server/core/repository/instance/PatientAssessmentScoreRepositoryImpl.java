@@ -0,0 +1,52 @@
+package ca.uqam.latece.evo.server.core.repository.instance;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.Arrays;
+
+/**
+ * JDBC implementation of the {@link PatientAssessmentScoreRepository} fragment of the PatientAssessmentRepository. It
+ * runs in the transaction of the caller, on the same connection as the JPA repositories.
+ * @version 1.0
+ * @author Edilton Lima dos Santos.
+ */
+public class PatientAssessmentScoreRepositoryImpl implements PatientAssessmentScoreRepository {
+    private static final String UPDATE_SCORE = "UPDATE patient_assessment SET patient_assessment_score = ? " +
+            "WHERE patient_assessment_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public PatientAssessmentScoreRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public int updateScores(long[] ids, double[] scores, int length) {
+        int[] updated = jdbcTemplate.batchUpdate(UPDATE_SCORE, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement statement, int i) throws SQLException {
+                if (Double.isNaN(scores[i])) {
+                    statement.setNull(1, Types.DOUBLE);
+                } else {
+                    statement.setDouble(1, scores[i]);
+                }
+
+                statement.setLong(2, ids[i]);
+            }
+
+            @Override
+            public int getBatchSize() {
+                return length;
+            }
+        });
+
+        // The driver may report SUCCESS_NO_INFO (-2) for the statements of a batch.
+        return (int) Arrays.stream(updated).filter(count -> count != 0).count();
+    }
+}
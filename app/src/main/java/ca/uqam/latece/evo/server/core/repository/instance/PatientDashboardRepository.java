@@ -0,0 +1,14 @@
+package ca.uqam.latece.evo.server.core.repository.instance;
+
+import ca.uqam.latece.evo.server.core.model.instance.Patient;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Patient dashboard repository: the projections of the overview of a Patient (see {@link PatientDashboardStore}).
+ * @version 1.0
+ * @author Edilton Lima dos Santos.
+ */
+@Repository
+public interface PatientDashboardRepository extends
+        org.springframework.data.repository.Repository<Patient, Long>, PatientDashboardStore {
+}
@@ -0,0 +1,89 @@
+package ca.uqam.latece.evo.server.core.repository.instance;
+
+import ca.uqam.latece.evo.server.core.enumeration.ExecutionStatus;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * The projection queries of the patient dashboard, implemented with JDBC: each part of the dashboard is read with one
+ * statement selecting only the columns it shows, so that the parts can be read concurrently.
+ * @version 1.0
+ * @author Edilton Lima dos Santos.
+ */
+public interface PatientDashboardStore {
+
+    /**
+     * The identity of a Patient and its medical file.
+     * @param medicalFileId the PatientMedicalFile id, or null if the patient has none.
+     * @param medicalFileDate the date of the medical file, or null if the patient has none.
+     */
+    record PatientSummary(long id, String name, String email, String contactInformation, String birthdate,
+                          String occupation, String address, Long medicalFileId, LocalDate medicalFileDate)
+            implements Serializable {}
+
+    /**
+     * An assessment of a Patient.
+     * @param assessmentId the Assessment id, or null if the assessment is not scored.
+     * @param score the score, or null if the assessment is not scored.
+     */
+    record AssessmentSummary(long id, LocalDate date, String assessment, Long assessmentId, Double score)
+            implements Serializable {}
+
+    /**
+     * A referral of a Patient.
+     * @param status the status of its enrollment in the referral pipeline.
+     * @param targetInterventionId the id of the targeted BehaviorChangeIntervention, or null.
+     */
+    record ReferralSummary(long id, LocalDate date, String reason, String status, Long targetInterventionId)
+            implements Serializable {}
+
+    /**
+     * A BehaviorChangeInterventionInstance of a Patient, its current phase and block instances, and the number of its
+     * activity instances by status.
+     * @param currentPhaseId the current BehaviorChangeInterventionPhaseInstance id, or null.
+     * @param currentBlockId the current BehaviorChangeInterventionBlockInstance id, or null.
+     * @param currentBlockStage the stage of the current block instance, or null.
+     */
+    record InterventionSummary(long id, long interventionId, String interventionName, ExecutionStatus status,
+                               LocalDate entryDate, LocalDate exitDate, Long currentPhaseId,
+                               ExecutionStatus currentPhaseStatus, Long currentBlockId, String currentBlockStage,
+                               ExecutionStatus currentBlockStatus, long activities, long activitiesInProgress,
+                               long activitiesFinished) implements Serializable {}
+
+    /**
+     * @param patientId the Patient id.
+     * @return the Patient, or empty if it does not exist.
+     */
+    Optional<PatientSummary> findPatientSummary(long patientId);
+
+    /**
+     * @param patientId the Patient id.
+     * @param limit the maximum number of assessments.
+     * @return the latest assessments of the Patient, the most recent first.
+     */
+    List<AssessmentSummary> findRecentAssessments(long patientId, int limit);
+
+    /**
+     * @param patientId the Patient id.
+     * @param limit the maximum number of referrals.
+     * @return the latest referrals of the Patient, the most recent first.
+     */
+    List<ReferralSummary> findRecentReferrals(long patientId, int limit);
+
+    /**
+     * @param patientId the Patient id.
+     * @return the BehaviorChangeInterventionInstances of the Patient, the most recent first.
+     */
+    List<InterventionSummary> findInterventions(long patientId);
+
+    /**
+     * Finds the patients of an ActivityInstance of an intervention tree: the patient of an intervention instance, or of
+     * the intervention instances containing a phase, block, module or activity instance.
+     * @param activityInstanceId the ActivityInstance id.
+     * @return the Patient ids.
+     */
+    List<Long> findPatientIds(long activityInstanceId);
+}
@@ -0,0 +1,136 @@
+package ca.uqam.latece.evo.server.core.repository.instance;
+
+import ca.uqam.latece.evo.server.core.enumeration.ExecutionStatus;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * JDBC implementation of the {@link PatientDashboardStore} fragment of the PatientDashboardRepository. It runs in the
+ * transaction of the caller.
+ * @version 1.0
+ * @author Edilton Lima dos Santos.
+ */
+public class PatientDashboardStoreImpl implements PatientDashboardStore {
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public PatientDashboardStoreImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public Optional<PatientSummary> findPatientSummary(long patientId) {
+        return jdbcTemplate.query("SELECT a.actor_id, a.actor_name, a.actor_email, a.actor_contact_information, " +
+                "p.patient_birthdate, p.patient_occupation, p.patient_address, m.patient_medicalfile_id, " +
+                "m.patient_medicalfile_date FROM patient p JOIN actor a ON a.actor_id = p.patient_id " +
+                "LEFT JOIN patient_medicalfile m ON m.patient_medicalfile_id = p.patient_patient_medical_file_id " +
+                "WHERE p.patient_id = ?",
+                (resultSet, rowNum) -> new PatientSummary(resultSet.getLong(1), resultSet.getString(2),
+                        resultSet.getString(3), resultSet.getString(4), resultSet.getString(5),
+                        resultSet.getString(6), resultSet.getString(7), resultSet.getObject(8, Long.class),
+                        resultSet.getObject(9, LocalDate.class)), patientId).stream().findFirst();
+    }
+
+    @Override
+    public List<AssessmentSummary> findRecentAssessments(long patientId, int limit) {
+        return jdbcTemplate.query("SELECT patient_assessment_id, patient_assessment_date, patient_assessment_assessment, " +
+                "patient_assessment_assessment_id, patient_assessment_score FROM patient_assessment " +
+                "WHERE patient_assessment_patient = ? " +
+                "ORDER BY patient_assessment_date DESC, patient_assessment_id DESC LIMIT ?",
+                (resultSet, rowNum) -> new AssessmentSummary(resultSet.getLong(1),
+                        resultSet.getObject(2, LocalDate.class), resultSet.getString(3),
+                        resultSet.getObject(4, Long.class), resultSet.getObject(5, Double.class)), patientId, limit);
+    }
+
+    @Override
+    public List<ReferralSummary> findRecentReferrals(long patientId, int limit) {
+        return jdbcTemplate.query("SELECT bci_referral_id, bci_referral_date, bci_referral_reason, bci_referral_status, " +
+                "bci_referral_target_bci_id FROM bci_referral WHERE bci_referral_patient = ? " +
+                "ORDER BY bci_referral_date DESC, bci_referral_id DESC LIMIT ?",
+                (resultSet, rowNum) -> new ReferralSummary(resultSet.getLong(1),
+                        resultSet.getObject(2, LocalDate.class), resultSet.getString(3), resultSet.getString(4),
+                        resultSet.getObject(5, Long.class)), patientId, limit);
+    }
+
+    @Override
+    public List<InterventionSummary> findInterventions(long patientId) {
+        // The activity instances are counted through the phase and block instances of each intervention instance.
+        return jdbcTemplate.query("SELECT bi.bci_instance_id, bi.bci_instance_behavior_change_intervention_id, " +
+                "b.behavior_change_intervention_name, ai.activity_instance_status, ai.activity_instance_entry_date, " +
+                "ai.activity_instance_exit_date, bi.bci_instance_currentphase_id, pa.activity_instance_status, " +
+                "pi.bci_phase_instance_currentblock_id, bk.bci_block_instance_stage, ba.activity_instance_status, " +
+                "c.activities, c.in_progress, c.finished " +
+                "FROM bci_instance bi " +
+                "JOIN activity_instance ai ON ai.activity_instance_id = bi.bci_instance_id " +
+                "JOIN behavior_change_intervention b " +
+                "ON b.behavior_change_intervention_id = bi.bci_instance_behavior_change_intervention_id " +
+                "LEFT JOIN bci_phase_instance pi ON pi.bci_phase_instance_id = bi.bci_instance_currentphase_id " +
+                "LEFT JOIN activity_instance pa ON pa.activity_instance_id = pi.bci_phase_instance_id " +
+                "LEFT JOIN bci_block_instance bk ON bk.bci_block_instance_id = pi.bci_phase_instance_currentblock_id " +
+                "LEFT JOIN activity_instance ba ON ba.activity_instance_id = bk.bci_block_instance_id " +
+                "CROSS JOIN LATERAL (SELECT count(*) AS activities, " +
+                "count(*) FILTER (WHERE act.activity_instance_status = 'IN_PROGRESS') AS in_progress, " +
+                "count(*) FILTER (WHERE act.activity_instance_status = 'FINISHED') AS finished " +
+                "FROM bci_instance_activities ia " +
+                "JOIN bci_phase_instance_activities pia " +
+                "ON pia.bci_phase_instance_activities_phase_id = ia.bci_instance_activities_phase_id " +
+                "JOIN bci_block_instance_activities bia " +
+                "ON bia.bci_block_instance_activities_block_id = pia.bci_phase_instance_activities_block_id " +
+                "JOIN activity_instance act ON act.activity_instance_id = bia.bci_block_instance_activities_activity_id " +
+                "WHERE ia.bci_instance_activities_bci_id = bi.bci_instance_id) c " +
+                "WHERE bi.bci_instance_patient_id = ? " +
+                "ORDER BY ai.activity_instance_entry_date DESC NULLS LAST, bi.bci_instance_id DESC",
+                (resultSet, rowNum) -> new InterventionSummary(resultSet.getLong(1), resultSet.getLong(2),
+                        resultSet.getString(3), status(resultSet, 4), resultSet.getObject(5, LocalDate.class),
+                        resultSet.getObject(6, LocalDate.class), resultSet.getObject(7, Long.class),
+                        status(resultSet, 8), resultSet.getObject(9, Long.class), resultSet.getString(10),
+                        status(resultSet, 11), resultSet.getLong(12), resultSet.getLong(13), resultSet.getLong(14)),
+                patientId);
+    }
+
+    @Override
+    public List<Long> findPatientIds(long activityInstanceId) {
+        return jdbcTemplate.queryForList("SELECT bi.bci_instance_patient_id FROM bci_instance bi " +
+                "WHERE bi.bci_instance_id = ? " +
+                "UNION SELECT bi.bci_instance_patient_id FROM bci_instance_activities ia " +
+                "JOIN bci_instance bi ON bi.bci_instance_id = ia.bci_instance_activities_bci_id " +
+                "WHERE ia.bci_instance_activities_phase_id = ? " +
+                "UNION SELECT bi.bci_instance_patient_id FROM bci_phase_instance_activities pia " +
+                "JOIN bci_instance_activities ia " +
+                "ON ia.bci_instance_activities_phase_id = pia.bci_phase_instance_activities_phase_id " +
+                "JOIN bci_instance bi ON bi.bci_instance_id = ia.bci_instance_activities_bci_id " +
+                "WHERE pia.bci_phase_instance_activities_block_id = ? " +
+                "UNION SELECT bi.bci_instance_patient_id FROM bci_block_instance_activities bia " +
+                "JOIN bci_phase_instance_activities pia " +
+                "ON pia.bci_phase_instance_activities_block_id = bia.bci_block_instance_activities_block_id " +
+                "JOIN bci_instance_activities ia " +
+                "ON ia.bci_instance_activities_phase_id = pia.bci_phase_instance_activities_phase_id " +
+                "JOIN bci_instance bi ON bi.bci_instance_id = ia.bci_instance_activities_bci_id " +
+                "WHERE bia.bci_block_instance_activities_activity_id = ? " +
+                "UNION SELECT bi.bci_instance_patient_id FROM bci_phase_instance_modules pim " +
+                "JOIN bci_instance_activities ia " +
+                "ON ia.bci_instance_activities_phase_id = pim.bci_phase_instance_modules_phase_id " +
+                "JOIN bci_instance bi ON bi.bci_instance_id = ia.bci_instance_activities_bci_id " +
+                "WHERE pim.bci_phase_instance_modules_module_id = ? " +
+                "UNION SELECT bi.bci_instance_patient_id FROM bci_module_instance_activities mia " +
+                "JOIN bci_phase_instance_modules pim " +
+                "ON pim.bci_phase_instance_modules_module_id = mia.bci_module_instance_activities_module_id " +
+                "JOIN bci_instance_activities ia " +
+                "ON ia.bci_instance_activities_phase_id = pim.bci_phase_instance_modules_phase_id " +
+                "JOIN bci_instance bi ON bi.bci_instance_id = ia.bci_instance_activities_bci_id " +
+                "WHERE mia.bci_module_instance_activities_activity_id = ?",
+                Long.class, activityInstanceId, activityInstanceId, activityInstanceId, activityInstanceId,
+                activityInstanceId, activityInstanceId);
+    }
+
+    private static ExecutionStatus status(ResultSet resultSet, int column) throws SQLException {
+        String status = resultSet.getString(column);
+        return status == null ? null : ExecutionStatus.valueOf(status);
+    }
+}
@@ -0,0 +1,117 @@
+package ca.uqam.latece.evo.server.core.repository.instance;
+
+import ca.uqam.latece.evo.server.core.model.instance.Patient;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Patient purge repository: deletes or anonymizes the data of a patient with set-based statements, without loading
+ * its entities (see {@link PatientPurgeStore} for its intervention instance trees).
+ * @version 1.0
+ * @author Edilton Lima dos Santos.
+ */
+@Repository
+public interface PatientPurgeRepository extends org.springframework.data.repository.Repository<Patient, Long>,
+        PatientPurgeStore {
+
+    /**
+     * The referrals of the patient.
+     */
+    String REFERRALS = "SELECT bci_referral_id FROM bci_referral WHERE bci_referral_patient = :patientId";
+
+    @Query(value = "SELECT EXISTS (SELECT 1 FROM patient WHERE patient_id = :patientId)", nativeQuery = true)
+    boolean existsPatient(@Param("patientId") long patientId);
+
+    /**
+     * Locks a batch of the intervention instances of a patient, the oldest first.
+     * @param patientId the Patient id.
+     * @param limit the maximum number of intervention instances.
+     * @return the BehaviorChangeInterventionInstance ids.
+     */
+    @Query(value = "SELECT bci_instance_id FROM bci_instance WHERE bci_instance_patient_id = :patientId " +
+            "ORDER BY bci_instance_id LIMIT :limit FOR UPDATE",
+            nativeQuery = true)
+    List<Long> lockInterventionInstances(@Param("patientId") long patientId, @Param("limit") int limit);
+
+    /**
+     * Finds a batch of the archived intervention instances of a patient, the oldest first.
+     * @param patientId the Patient id.
+     * @param limit the maximum number of archived intervention instances.
+     * @return the ids of the archived BehaviorChangeInterventionInstances.
+     */
+    @Query(value = "SELECT bci_archive_id FROM bci_archive WHERE bci_archive_patient_id = :patientId " +
+            "ORDER BY bci_archive_id LIMIT :limit",
+            nativeQuery = true)
+    List<Long> findArchiveIds(@Param("patientId") long patientId, @Param("limit") int limit);
+
+    /**
+     * Deletes the referrals of a patient and their links to intervention instances.
+     * @param patientId the Patient id.
+     * @return the number of deleted referrals.
+     */
+    @Modifying
+    @Query(value = "WITH links AS (DELETE FROM bci_referral_interventions " +
+            "WHERE bci_referral_interventions_referral_id IN (" + REFERRALS + ")) " +
+            "DELETE FROM bci_referral WHERE bci_referral_patient = :patientId",
+            nativeQuery = true)
+    int deleteReferrals(@Param("patientId") long patientId);
+
+    /**
+     * Deletes the assessments of a patient, once its referrals are deleted.
+     * @param patientId the Patient id.
+     * @return the number of deleted assessments.
+     */
+    @Modifying
+    @Query(value = "DELETE FROM patient_assessment WHERE patient_assessment_patient = :patientId", nativeQuery = true)
+    int deleteAssessments(@Param("patientId") long patientId);
+
+    /**
+     * Deletes the participants of a patient and their participations in activity instances.
+     * @param patientId the Patient id.
+     * @return the number of deleted participants.
+     */
+    @Modifying
+    @Query(value = "WITH participations AS (DELETE FROM bci_activity_instance_participants " +
+            "WHERE bci_activity_instance_participants_participant_id IN " +
+            "(SELECT participant_id FROM participant WHERE participant_actor_id = :patientId)) " +
+            "DELETE FROM participant WHERE participant_actor_id = :patientId",
+            nativeQuery = true)
+    int deleteParticipants(@Param("patientId") long patientId);
+
+    /**
+     * Deletes a patient, its medical file and its actor, once the rest of its data is deleted.
+     * @param patientId the Patient id.
+     * @return the number of deleted patients.
+     */
+    @Modifying
+    @Query(value = "WITH patients AS (DELETE FROM patient WHERE patient_id = :patientId " +
+            "RETURNING patient_id, patient_patient_medical_file_id), " +
+            "files AS (DELETE FROM patient_medicalfile WHERE patient_medicalfile_id IN " +
+            "(SELECT patient_patient_medical_file_id FROM patients)) " +
+            "DELETE FROM actor WHERE actor_id IN (SELECT patient_id FROM patients)",
+            nativeQuery = true)
+    int deletePatient(@Param("patientId") long patientId);
+
+    /**
+     * Erases the identifying data of a patient: the name, email and contact information of its actor, its birthdate,
+     * occupation and address, its medical history and the reasons of its referrals.
+     * @param patientId the Patient id.
+     * @return the number of anonymized referrals.
+     */
+    @Modifying
+    @Query(value = "WITH actors AS (UPDATE actor SET actor_name = 'Anonymized patient ' || actor_id, " +
+            "actor_email = 'patient-' || actor_id || '@anonymized.invalid', actor_contact_information = '' " +
+            "WHERE actor_id = :patientId), " +
+            "files AS (UPDATE patient_medicalfile SET patient_medicalfile_medicalhistory = NULL " +
+            "WHERE patient_medicalfile_id IN (SELECT patient_patient_medical_file_id FROM patient " +
+            "WHERE patient_id = :patientId)), " +
+            "patients AS (UPDATE patient SET patient_birthdate = NULL, patient_occupation = NULL, " +
+            "patient_address = NULL WHERE patient_id = :patientId) " +
+            "UPDATE bci_referral SET bci_referral_reason = '' WHERE bci_referral_patient = :patientId",
+            nativeQuery = true)
+    int anonymizePatient(@Param("patientId") long patientId);
+}
@@ -0,0 +1,64 @@
+package ca.uqam.latece.evo.server.core.repository.instance;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * The instance trees of a patient to purge, deleted with set-based statements, implemented with JDBC.
+ * @version 1.0
+ * @author Edilton Lima dos Santos.
+ */
+public interface PatientPurgeStore {
+
+    /**
+     * The instances of intervention instance trees, live or archived.
+     * @param interventions the BehaviorChangeInterventionInstance ids.
+     * @param phases the BehaviorChangeInterventionPhaseInstance ids.
+     * @param blocks the BehaviorChangeInterventionBlockInstance ids.
+     * @param modules the BCIModuleInstance ids.
+     * @param activities the BCIActivityInstance ids.
+     */
+    record PurgeScope(List<Long> interventions, List<Long> phases, List<Long> blocks, List<Long> modules,
+                      List<Long> activities) {
+
+        /**
+         * @return the ids of all the instances (activity_instance_id).
+         */
+        public List<Long> all() {
+            return Stream.of(interventions, phases, blocks, modules, activities).flatMap(List::stream).toList();
+        }
+    }
+
+    /**
+     * Finds the instances of live intervention instance trees: their phase, block and module instances, and the
+     * activity instances of their blocks and modules.
+     * @param interventionIds the BehaviorChangeInterventionInstance ids.
+     * @return the instances of the trees.
+     */
+    PurgeScope findTrees(Collection<Long> interventionIds);
+
+    /**
+     * Finds the instances of archived intervention instance trees, from their archived documents. Only their module
+     * and activity instances are still in the instance tables.
+     * @param archiveIds the ids of the archived BehaviorChangeInterventionInstances.
+     * @return the instances of the trees.
+     */
+    PurgeScope findArchivedTrees(Collection<Long> archiveIds);
+
+    /**
+     * Deletes instance trees, in the order of the foreign keys: the transitions, samples, rollups, goal attainments,
+     * reminders and participants of their instances, the links of the instances, then the instances. The cohort
+     * counters of their phase and block instances are decremented.
+     * @param scope the instances of the trees.
+     * @return the number of deleted instances.
+     */
+    int deleteTrees(PurgeScope scope);
+
+    /**
+     * Deletes archived intervention instance trees.
+     * @param archiveIds the ids of the archived BehaviorChangeInterventionInstances.
+     * @return the number of deleted trees.
+     */
+    int deleteArchives(Collection<Long> archiveIds);
+}
@@ -0,0 +1,160 @@
+package ca.uqam.latece.evo.server.core.repository.instance;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * JDBC implementation of the {@link PatientPurgeStore} fragment of the PatientPurgeRepository. It runs in the
+ * transaction of the caller, on the same connection as the JPA repositories. The ids are bound as arrays, so every
+ * statement is the same whatever the size of the trees.
+ * @version 1.0
+ * @author Edilton Lima dos Santos.
+ */
+public class PatientPurgeStoreImpl implements PatientPurgeStore {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public PatientPurgeStoreImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public PurgeScope findTrees(Collection<Long> interventionIds) {
+        return jdbcTemplate.query("WITH phases AS (SELECT bci_instance_activities_phase_id AS id " +
+                "FROM bci_instance_activities WHERE bci_instance_activities_bci_id = ANY(?)), " +
+                "blocks AS (SELECT bci_phase_instance_activities_block_id AS id FROM bci_phase_instance_activities " +
+                "WHERE bci_phase_instance_activities_phase_id IN (SELECT id FROM phases)), " +
+                "modules AS (SELECT bci_phase_instance_modules_module_id AS id FROM bci_phase_instance_modules " +
+                "WHERE bci_phase_instance_modules_phase_id IN (SELECT id FROM phases)) " +
+                "SELECT ARRAY(SELECT DISTINCT id FROM phases), ARRAY(SELECT DISTINCT id FROM blocks), " +
+                "ARRAY(SELECT DISTINCT id FROM modules), " +
+                "ARRAY(SELECT bci_block_instance_activities_activity_id FROM bci_block_instance_activities " +
+                "WHERE bci_block_instance_activities_block_id IN (SELECT id FROM blocks) " +
+                "UNION SELECT bci_module_instance_activities_activity_id FROM bci_module_instance_activities " +
+                "WHERE bci_module_instance_activities_module_id IN (SELECT id FROM modules))",
+                statement -> statement.setArray(1, ids(statement.getConnection(), interventionIds)),
+                resultSet -> {
+            resultSet.next();
+            return new PurgeScope(List.copyOf(interventionIds), longs(resultSet, 1), longs(resultSet, 2),
+                    longs(resultSet, 3), longs(resultSet, 4));
+        });
+    }
+
+    @Override
+    public PurgeScope findArchivedTrees(Collection<Long> archiveIds) {
+        // The ids of the phase and block instances, and of the module and activity instances that stayed in the
+        // instance tables, are in the archived documents.
+        return jdbcTemplate.query("WITH trees AS (SELECT bci_archive_tree AS tree FROM bci_archive " +
+                "WHERE bci_archive_id = ANY(?)) " +
+                "SELECT ARRAY(SELECT DISTINCT CAST(jsonb_path_query(tree, '$.activities[*].id') AS BIGINT) " +
+                "FROM trees), " +
+                "ARRAY(SELECT DISTINCT CAST(jsonb_path_query(tree, '$.activities[*].activities[*].id') AS BIGINT) " +
+                "FROM trees), " +
+                "ARRAY(SELECT DISTINCT CAST(jsonb_path_query(tree, '$.activities[*].moduleIds[*]') AS BIGINT) " +
+                "FROM trees), " +
+                "ARRAY(SELECT bci_module_instance_activities_activity_id FROM bci_module_instance_activities " +
+                "WHERE bci_module_instance_activities_module_id IN (SELECT CAST(jsonb_path_query(tree, " +
+                "'$.activities[*].moduleIds[*]') AS BIGINT) FROM trees) " +
+                "UNION SELECT CAST(jsonb_path_query(tree, '$.activities[*].activities[*].activityIds[*]') AS BIGINT) " +
+                "FROM trees)",
+                statement -> statement.setArray(1, ids(statement.getConnection(), archiveIds)),
+                resultSet -> {
+            resultSet.next();
+            return new PurgeScope(List.copyOf(archiveIds), longs(resultSet, 1), longs(resultSet, 2),
+                    longs(resultSet, 3), longs(resultSet, 4));
+        });
+    }
+
+    @Override
+    public int deleteTrees(PurgeScope scope) {
+        List<Long> all = scope.all();
+        List<Long> activities = scope.activities();
+
+        // The counters of the tracked phase and block instances are decremented as they are untracked.
+        update("WITH states AS (DELETE FROM cohort_state WHERE cohort_state_instance_id = ANY(?) " +
+                "RETURNING cohort_state_bci_id, cohort_state_phase_id, cohort_state_block_id, cohort_state_status) " +
+                "INSERT INTO cohort_counter (cohort_counter_bci_id, cohort_counter_phase_id, cohort_counter_block_id, " +
+                "cohort_counter_status, cohort_counter_slot, cohort_counter_count) " +
+                "SELECT cohort_state_bci_id, cohort_state_phase_id, cohort_state_block_id, cohort_state_status, 0, " +
+                "-COUNT(*) FROM states " +
+                "GROUP BY cohort_state_bci_id, cohort_state_phase_id, cohort_state_block_id, cohort_state_status " +
+                "ON CONFLICT (cohort_counter_bci_id, cohort_counter_phase_id, cohort_counter_block_id, " +
+                "cohort_counter_status, cohort_counter_slot) " +
+                "DO UPDATE SET cohort_counter_count = " +
+                "cohort_counter.cohort_counter_count + EXCLUDED.cohort_counter_count", all);
+        update("DELETE FROM activity_transition WHERE activity_transition_instance_id = ANY(?)", all);
+        update("DELETE FROM performance_sample_chunk WHERE performance_sample_chunk_instance_id = ANY(?)",
+                activities);
+        update("DELETE FROM performance_rollup WHERE performance_rollup_instance_id = ANY(?)", activities);
+        update("DELETE FROM performance_sample_batch WHERE performance_sample_batch_instance_id = ANY(?)", activities);
+        update("DELETE FROM goal_attainment WHERE goal_attainment_goal_instance_id = ANY(?)", activities);
+        update("DELETE FROM reporting_reminder WHERE reporting_reminder_instance_id = ANY(?)", activities);
+        update("UPDATE goal_setting_instance SET goal_setting_instance_bci_concerns_instance_id = NULL " +
+                "WHERE goal_setting_instance_bci_concerns_instance_id = ANY(?) " +
+                "AND NOT goal_setting_instance_id = ANY(?)", activities, activities);
+        update("DELETE FROM bci_activity_instance_participants " +
+                "WHERE bci_activity_instance_participants_bci_activity_instance_id = ANY(?)", activities);
+        update("DELETE FROM goal_setting_instance WHERE goal_setting_instance_id = ANY(?)", activities);
+        update("DELETE FROM interaction_instance WHERE interaction_instance_id = ANY(?)", activities);
+        update("DELETE FROM behavior_performance_instance WHERE behavior_performance_instance_id = ANY(?)",
+                activities);
+        update("DELETE FROM bci_block_instance_activities WHERE bci_block_instance_activities_block_id = ANY(?) " +
+                "OR bci_block_instance_activities_activity_id = ANY(?)", scope.blocks(), activities);
+        update("DELETE FROM bci_module_instance_activities WHERE bci_module_instance_activities_module_id = ANY(?) " +
+                "OR bci_module_instance_activities_activity_id = ANY(?)", scope.modules(), activities);
+        update("DELETE FROM bci_phase_instance_modules WHERE bci_phase_instance_modules_phase_id = ANY(?) " +
+                "OR bci_phase_instance_modules_module_id = ANY(?)", scope.phases(), scope.modules());
+        update("DELETE FROM bci_referral_interventions WHERE bci_referral_interventions_bci_id = ANY(?)",
+                scope.interventions());
+        update("DELETE FROM bci_instance_activities WHERE bci_instance_activities_bci_id = ANY(?)",
+                scope.interventions());
+        // The intervention instances refer to their current phase, and the phase instances to their current block.
+        update("DELETE FROM bci_instance WHERE bci_instance_id = ANY(?)", scope.interventions());
+        update("DELETE FROM bci_phase_instance_activities WHERE bci_phase_instance_activities_phase_id = ANY(?)",
+                scope.phases());
+        update("DELETE FROM bci_phase_instance WHERE bci_phase_instance_id = ANY(?)", scope.phases());
+        update("DELETE FROM bci_block_instance WHERE bci_block_instance_id = ANY(?)", scope.blocks());
+        update("DELETE FROM bci_module_instance WHERE bci_module_instance_id = ANY(?)", scope.modules());
+        update("DELETE FROM bci_activity_instance WHERE bci_activity_instance_id = ANY(?)", activities);
+        return update("DELETE FROM activity_instance WHERE activity_instance_id = ANY(?)", all);
+    }
+
+    @Override
+    public int deleteArchives(Collection<Long> archiveIds) {
+        update("DELETE FROM bci_archive_instance WHERE bci_archive_instance_root_id = ANY(?)", archiveIds);
+        return update("DELETE FROM bci_archive WHERE bci_archive_id = ANY(?)", archiveIds);
+    }
+
+    /**
+     * Runs a statement whose parameters are arrays of ids, unless they are all empty.
+     */
+    @SafeVarargs
+    private int update(String sql, Collection<Long>... ids) {
+        if (Arrays.stream(ids).allMatch(Collection::isEmpty)) {
+            return 0;
+        }
+
+        return jdbcTemplate.update(sql, statement -> {
+            for (int i = 0; i < ids.length; i++) {
+                statement.setArray(i + 1, ids(statement.getConnection(), ids[i]));
+            }
+        });
+    }
+
+    private static Array ids(Connection connection, Collection<Long> ids) throws SQLException {
+        return connection.createArrayOf("bigint", ids.toArray());
+    }
+
+    private static List<Long> longs(ResultSet resultSet, int column) throws SQLException {
+        return Arrays.asList((Long[]) resultSet.getArray(column).getArray());
+    }
+}
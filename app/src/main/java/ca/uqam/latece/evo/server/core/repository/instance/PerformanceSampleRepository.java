@@ -0,0 +1,30 @@
+package ca.uqam.latece.evo.server.core.repository.instance;
+
+import ca.uqam.latece.evo.server.core.model.instance.BehaviorPerformanceInstance;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Behavior performance sample repository: the measurements recorded for the BehaviorPerformanceInstances and their
+ * rollups (see {@link PerformanceSampleStore}).
+ * @version 1.0
+ * @author Edilton Lima dos Santos.
+ */
+@Repository
+public interface PerformanceSampleRepository extends
+        org.springframework.data.repository.Repository<BehaviorPerformanceInstance, Long>, PerformanceSampleStore {
+
+    /**
+     * Finds which BehaviorPerformanceInstances exist among ids.
+     * @param ids the BehaviorPerformanceInstance ids.
+     * @return the ids of the existing instances.
+     */
+    @Query(value = "SELECT behavior_performance_instance_id FROM behavior_performance_instance " +
+            "WHERE behavior_performance_instance_id IN (:ids)",
+            nativeQuery = true)
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+}
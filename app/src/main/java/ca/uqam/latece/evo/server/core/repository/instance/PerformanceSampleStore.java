@@ -0,0 +1,94 @@
+package ca.uqam.latece.evo.server.core.repository.instance;
+
+import ca.uqam.latece.evo.server.core.enumeration.RollupGranularity;
+import ca.uqam.latece.evo.server.core.response.PerformanceRollup;
+
+import java.time.Instant;
+import java.time.YearMonth;
+import java.util.List;
+
+/**
+ * The behavior performance samples (performance_sample_chunk table) and their hourly and daily rollups
+ * (performance_rollup table), implemented with JDBC: the samples are stored by chunks of encoded samples (see
+ * SampleCodec) appended with JDBC batches, and the rollups are incremented with batched upserts.
+ * @version 1.0
+ * @author Edilton Lima dos Santos.
+ */
+public interface PerformanceSampleStore {
+
+    /**
+     * A chunk of encoded samples of a BehaviorPerformanceInstance, in time order.
+     * @param instanceId the BehaviorPerformanceInstance id.
+     * @param start the time of the first sample.
+     * @param end the time of the last sample.
+     * @param count the number of samples.
+     * @param data the encoded samples.
+     */
+    record SampleChunk(long instanceId, Instant start, Instant end, int count, byte[] data) {}
+
+    /**
+     * The aggregate of new samples of a BehaviorPerformanceInstance in an hour or a day, added to its rollup.
+     */
+    record RollupDelta(long instanceId, RollupGranularity granularity, Instant bucket, long count, double sum,
+                       double min, double max) {}
+
+    /**
+     * The key of an ingested batch of samples.
+     * @param instanceId the BehaviorPerformanceInstance id.
+     * @param digest the SHA-256 digest of the samples of the batch, in hexadecimal.
+     */
+    record BatchKey(long instanceId, String digest) {}
+
+    /**
+     * Records the keys of batches, unless they were already ingested. A key recorded by a concurrent transaction is
+     * only returned to one of them.
+     * @param keys the keys, distinct.
+     * @return the keys recorded now, whose batches are to be ingested.
+     */
+    List<BatchKey> claimBatches(List<BatchKey> keys);
+
+    /**
+     * Deletes the keys of the batches ingested before a time, after which a retried batch is ingested again.
+     * @param before the time.
+     * @return the number of deleted keys.
+     */
+    int deleteBatchKeys(Instant before);
+
+    /**
+     * Appends chunks of samples.
+     * @param chunks the chunks.
+     */
+    void insertChunks(List<SampleChunk> chunks);
+
+    /**
+     * Adds new samples to the rollups, creating the missing ones. The deltas are applied in their order, so concurrent
+     * ingestions that send them sorted lock the rollups in the same order.
+     * @param deltas the aggregates of the new samples.
+     */
+    void addToRollups(List<RollupDelta> deltas);
+
+    /**
+     * Creates the partition of a month, unless it exists.
+     * @param month the month, in UTC.
+     */
+    void createMonthlyPartition(YearMonth month);
+
+    /**
+     * Finds the chunks of a BehaviorPerformanceInstance with samples in a time range, in time order.
+     * @param instanceId the BehaviorPerformanceInstance id.
+     * @param from the start of the range (inclusive).
+     * @param to the end of the range (exclusive).
+     * @return the chunks.
+     */
+    List<SampleChunk> findChunks(long instanceId, Instant from, Instant to);
+
+    /**
+     * Finds the rollups of a BehaviorPerformanceInstance in a time range, in time order.
+     * @param instanceId the BehaviorPerformanceInstance id.
+     * @param granularity the granularity of the rollups.
+     * @param from the start of the range (inclusive).
+     * @param to the end of the range (exclusive).
+     * @return the rollups.
+     */
+    List<PerformanceRollup> findRollups(long instanceId, RollupGranularity granularity, Instant from, Instant to);
+}
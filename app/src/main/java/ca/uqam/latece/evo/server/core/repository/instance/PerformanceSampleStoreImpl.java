@@ -0,0 +1,140 @@
+package ca.uqam.latece.evo.server.core.repository.instance;
+
+import ca.uqam.latece.evo.server.core.enumeration.RollupGranularity;
+import ca.uqam.latece.evo.server.core.response.PerformanceRollup;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.PreparedStatement;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.List;
+
+/**
+ * JDBC implementation of the {@link PerformanceSampleStore} fragment of the PerformanceSampleRepository. It runs in the
+ * transaction of the caller, on the same connection as the JPA repositories.
+ * @version 1.0
+ * @author Edilton Lima dos Santos.
+ */
+public class PerformanceSampleStoreImpl implements PerformanceSampleStore {
+
+    /**
+     * The number of rows sent to the database per JDBC batch.
+     */
+    static final int BATCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public PerformanceSampleStoreImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void insertChunks(List<SampleChunk> chunks) {
+        if (!chunks.isEmpty()) {
+            jdbcTemplate.batchUpdate("INSERT INTO performance_sample_chunk (performance_sample_chunk_instance_id, " +
+                    "performance_sample_chunk_start, performance_sample_chunk_end, performance_sample_chunk_count, " +
+                    "performance_sample_chunk_data) VALUES (?, ?, ?, ?, ?)", chunks, BATCH_SIZE, (statement, chunk) -> {
+                statement.setLong(1, chunk.instanceId());
+                statement.setObject(2, toOffsetDateTime(chunk.start()));
+                statement.setObject(3, toOffsetDateTime(chunk.end()));
+                statement.setInt(4, chunk.count());
+                statement.setBytes(5, chunk.data());
+            });
+        }
+    }
+
+    @Override
+    public void addToRollups(List<RollupDelta> deltas) {
+        if (!deltas.isEmpty()) {
+            jdbcTemplate.batchUpdate("INSERT INTO performance_rollup AS r (performance_rollup_instance_id, " +
+                    "performance_rollup_granularity, performance_rollup_bucket, performance_rollup_count, " +
+                    "performance_rollup_sum, performance_rollup_min, performance_rollup_max) " +
+                    "VALUES (?, ?, ?, ?, ?, ?, ?) " +
+                    "ON CONFLICT (performance_rollup_instance_id, performance_rollup_granularity, " +
+                    "performance_rollup_bucket) DO UPDATE SET " +
+                    "performance_rollup_count = r.performance_rollup_count + EXCLUDED.performance_rollup_count, " +
+                    "performance_rollup_sum = r.performance_rollup_sum + EXCLUDED.performance_rollup_sum, " +
+                    "performance_rollup_min = LEAST(r.performance_rollup_min, EXCLUDED.performance_rollup_min), " +
+                    "performance_rollup_max = GREATEST(r.performance_rollup_max, EXCLUDED.performance_rollup_max)",
+                    deltas, BATCH_SIZE, (statement, delta) -> {
+                statement.setLong(1, delta.instanceId());
+                statement.setString(2, delta.granularity().name());
+                statement.setObject(3, toOffsetDateTime(delta.bucket()));
+                statement.setLong(4, delta.count());
+                statement.setDouble(5, delta.sum());
+                statement.setDouble(6, delta.min());
+                statement.setDouble(7, delta.max());
+            });
+        }
+    }
+
+    @Override
+    public List<BatchKey> claimBatches(List<BatchKey> keys) {
+        if (keys.isEmpty()) {
+            return List.of();
+        }
+
+        return jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement("INSERT INTO performance_sample_batch " +
+                    "(performance_sample_batch_instance_id, performance_sample_batch_digest) " +
+                    "SELECT * FROM unnest(?, ?) ON CONFLICT DO NOTHING " +
+                    "RETURNING performance_sample_batch_instance_id, performance_sample_batch_digest");
+            statement.setArray(1, connection.createArrayOf("bigint", keys.stream().map(BatchKey::instanceId).toArray()));
+            statement.setArray(2, connection.createArrayOf("varchar", keys.stream().map(BatchKey::digest).toArray()));
+            return statement;
+        }, (resultSet, rowNum) -> new BatchKey(resultSet.getLong(1), resultSet.getString(2)));
+    }
+
+    @Override
+    public int deleteBatchKeys(Instant before) {
+        return jdbcTemplate.update("DELETE FROM performance_sample_batch WHERE performance_sample_batch_ingested_at < ?",
+                toOffsetDateTime(before));
+    }
+
+    @Override
+    public void createMonthlyPartition(YearMonth month) {
+        // DDL cannot take bind parameters: the name and the bounds only come from the YearMonth.
+        YearMonth next = month.plusMonths(1);
+        jdbcTemplate.execute(String.format("CREATE TABLE IF NOT EXISTS performance_sample_chunk_y%04dm%02d " +
+                "PARTITION OF performance_sample_chunk FOR VALUES FROM ('%04d-%02d-01 00:00:00+00') " +
+                "TO ('%04d-%02d-01 00:00:00+00')", month.getYear(), month.getMonthValue(), month.getYear(),
+                month.getMonthValue(), next.getYear(), next.getMonthValue()));
+    }
+
+    @Override
+    public List<SampleChunk> findChunks(long instanceId, Instant from, Instant to) {
+        // A chunk never spans two months: its start bounds the partitions to read.
+        return jdbcTemplate.query("SELECT performance_sample_chunk_instance_id, performance_sample_chunk_start, " +
+                "performance_sample_chunk_end, performance_sample_chunk_count, performance_sample_chunk_data " +
+                "FROM performance_sample_chunk WHERE performance_sample_chunk_instance_id = ? " +
+                "AND performance_sample_chunk_start < ? AND performance_sample_chunk_end >= ? " +
+                "AND performance_sample_chunk_start >= date_trunc('month', CAST(? AS timestamptz), 'UTC') " +
+                "ORDER BY performance_sample_chunk_start, performance_sample_chunk_id",
+                (resultSet, rowNum) -> new SampleChunk(resultSet.getLong(1),
+                        resultSet.getObject(2, OffsetDateTime.class).toInstant(),
+                        resultSet.getObject(3, OffsetDateTime.class).toInstant(), resultSet.getInt(4),
+                        resultSet.getBytes(5)),
+                instanceId, toOffsetDateTime(to), toOffsetDateTime(from), toOffsetDateTime(from));
+    }
+
+    @Override
+    public List<PerformanceRollup> findRollups(long instanceId, RollupGranularity granularity, Instant from,
+                                               Instant to) {
+        return jdbcTemplate.query("SELECT performance_rollup_bucket, performance_rollup_count, performance_rollup_sum, " +
+                "performance_rollup_min, performance_rollup_max FROM performance_rollup " +
+                "WHERE performance_rollup_instance_id = ? AND performance_rollup_granularity = ? " +
+                "AND performance_rollup_bucket >= ? AND performance_rollup_bucket < ? " +
+                "ORDER BY performance_rollup_bucket",
+                (resultSet, rowNum) -> new PerformanceRollup(resultSet.getObject(1, OffsetDateTime.class).toInstant(),
+                        resultSet.getLong(2), resultSet.getDouble(3), resultSet.getDouble(4), resultSet.getDouble(5)),
+                instanceId, granularity.name(), toOffsetDateTime(from), toOffsetDateTime(to));
+    }
+
+    private static OffsetDateTime toOffsetDateTime(Instant instant) {
+        return instant.atOffset(ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,120 @@
+package ca.uqam.latece.evo.server.core.repository.instance;
+
+import ca.uqam.latece.evo.server.core.enumeration.ExecutionStatus;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Bulk creation of the intervention instance trees of the BCIReferral entities, implemented with JDBC batches: the
+ * rows of all the trees of a batch of referrals are inserted table by table, with ids reserved beforehand, instead of
+ * one entity (and one round trip) at a time.
+ * @version 1.0
+ * @author Edilton Lima dos Santos.
+ */
+public interface ReferralEnrollmentRepository {
+
+    /**
+     * Inserts the intervention instance trees and links them to their referrals, and appends the initial transition of
+     * each instance to the activity transition log.
+     * @param trees the rows of the trees.
+     */
+    void insertTrees(Trees trees);
+
+    /**
+     * Marks referrals as ENROLLED.
+     * @param referralIds the BCIReferral ids.
+     */
+    void markEnrolled(Collection<Long> referralIds);
+
+    /**
+     * Marks referrals as FAILED, with the reason of the failure.
+     * @param failures the failed referrals.
+     */
+    void markFailed(Collection<Failure> failures);
+
+    /**
+     * An activity instance row (the common part of the intervention, phase and block instances), with the type of the
+     * instance (INTERVENTION, PHASE or BLOCK) for its initial transition.
+     */
+    record ActivityRow(long id, String type, ExecutionStatus status, LocalDate entryDate) {}
+
+    /**
+     * A block instance row, with its BehaviorChangeInterventionBlock id.
+     */
+    record BlockRow(long id, long blockId) {}
+
+    /**
+     * A phase instance row, with its current block instance id and its BehaviorChangeInterventionPhase id.
+     */
+    record PhaseRow(long id, long currentBlockId, long phaseId) {}
+
+    /**
+     * An intervention instance row, with its Patient id, its current phase instance id and its
+     * BehaviorChangeIntervention id.
+     */
+    record InterventionRow(long id, long patientId, long currentPhaseId, long interventionId) {}
+
+    /**
+     * A row of a join table.
+     */
+    record Link(long parentId, long childId) {}
+
+    /**
+     * A referral that could not be enrolled.
+     */
+    record Failure(long referralId, String reason) {}
+
+    /**
+     * The rows of the intervention instance trees of a batch of referrals.
+     */
+    final class Trees {
+        private final List<ActivityRow> activities = new ArrayList<>();
+
+        private final List<BlockRow> blocks = new ArrayList<>();
+
+        private final List<PhaseRow> phases = new ArrayList<>();
+
+        private final List<Link> phaseBlocks = new ArrayList<>();
+
+        private final List<InterventionRow> interventions = new ArrayList<>();
+
+        private final List<Link> interventionPhases = new ArrayList<>();
+
+        private final List<Link> referralInterventions = new ArrayList<>();
+
+        public List<ActivityRow> getActivities() {
+            return activities;
+        }
+
+        public List<BlockRow> getBlocks() {
+            return blocks;
+        }
+
+        public List<PhaseRow> getPhases() {
+            return phases;
+        }
+
+        public List<Link> getPhaseBlocks() {
+            return phaseBlocks;
+        }
+
+        public List<InterventionRow> getInterventions() {
+            return interventions;
+        }
+
+        public List<Link> getInterventionPhases() {
+            return interventionPhases;
+        }
+
+        public List<Link> getReferralInterventions() {
+            return referralInterventions;
+        }
+
+        public boolean isEmpty() {
+            return interventions.isEmpty();
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package ca.uqam.latece.evo.server.core.repository.instance;
+
+import ca.uqam.latece.evo.server.core.enumeration.ReferralStatus;
+import ca.uqam.latece.evo.server.core.enumeration.TimeCycle;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * JDBC implementation of the {@link ReferralEnrollmentRepository} fragment of the ReferralPipelineRepository. It runs
+ * in the transaction of the caller, on the same connection as the JPA repositories.
+ * @version 1.0
+ * @author Edilton Lima dos Santos.
+ */
+public class ReferralEnrollmentRepositoryImpl implements ReferralEnrollmentRepository {
+
+    /**
+     * The number of rows sent to the database per JDBC batch.
+     */
+    static final int BATCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public ReferralEnrollmentRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void insertTrees(Trees trees) {
+        // In the order of the foreign keys: a phase references its current block, an intervention its current phase.
+        batch("INSERT INTO activity_instance (activity_instance_id, activity_instance_status, " +
+                "activity_instance_entry_date) VALUES (?, ?, ?)", trees.getActivities(), (statement, row) -> {
+            statement.setLong(1, row.id());
+            statement.setString(2, row.status().name());
+            setDate(statement, 3, row.entryDate());
+        });
+        batch("INSERT INTO bci_block_instance (bci_block_instance_id, bci_block_instance_stage, " +
+                "bci_block_instance_behavior_change_intervention_block_id) VALUES (?, ?, ?)", trees.getBlocks(),
+                (statement, row) -> {
+                    statement.setLong(1, row.id());
+                    statement.setString(2, TimeCycle.BEGINNING.name());
+                    statement.setLong(3, row.blockId());
+                });
+        batch("INSERT INTO bci_phase_instance (bci_phase_instance_id, bci_phase_instance_currentblock_id, " +
+                "bci_phase_instance_behavior_change_intervention_phase_id) VALUES (?, ?, ?)", trees.getPhases(),
+                (statement, row) -> {
+                    statement.setLong(1, row.id());
+                    statement.setLong(2, row.currentBlockId());
+                    statement.setLong(3, row.phaseId());
+                });
+        batch("INSERT INTO bci_phase_instance_activities (bci_phase_instance_activities_phase_id, " +
+                "bci_phase_instance_activities_block_id) VALUES (?, ?)", trees.getPhaseBlocks(), this::setLink);
+        batch("INSERT INTO bci_instance (bci_instance_id, bci_instance_patient_id, bci_instance_currentphase_id, " +
+                "bci_instance_behavior_change_intervention_id) VALUES (?, ?, ?, ?)", trees.getInterventions(),
+                (statement, row) -> {
+                    statement.setLong(1, row.id());
+                    statement.setLong(2, row.patientId());
+                    statement.setLong(3, row.currentPhaseId());
+                    statement.setLong(4, row.interventionId());
+                });
+        batch("INSERT INTO bci_instance_activities (bci_instance_activities_bci_id, bci_instance_activities_phase_id) " +
+                "VALUES (?, ?)", trees.getInterventionPhases(), this::setLink);
+        batch("INSERT INTO bci_referral_interventions (bci_referral_interventions_referral_id, " +
+                "bci_referral_interventions_bci_id) VALUES (?, ?)", trees.getReferralInterventions(), this::setLink);
+        // The initial transitions: the trees are not saved through JPA, so no ActivityInstanceSavedEvent logs them.
+        batch("INSERT INTO activity_transition (activity_transition_instance_id, activity_transition_type, " +
+                "activity_transition_from_status, activity_transition_to_status, activity_transition_entry_date, " +
+                "activity_transition_exit_date, activity_transition_at) VALUES (?, ?, NULL, ?, ?, NULL, now())",
+                trees.getActivities(), (statement, row) -> {
+                    statement.setLong(1, row.id());
+                    statement.setString(2, row.type());
+                    statement.setString(3, row.status().name());
+                    setDate(statement, 4, row.entryDate());
+                });
+    }
+
+    @Override
+    public void markEnrolled(Collection<Long> referralIds) {
+        batch("UPDATE bci_referral SET bci_referral_status = '" + ReferralStatus.ENROLLED.name() + "', " +
+                "bci_referral_failure = NULL WHERE bci_referral_id = ?", new ArrayList<>(referralIds),
+                (statement, id) -> statement.setLong(1, id));
+    }
+
+    @Override
+    public void markFailed(Collection<Failure> failures) {
+        batch("UPDATE bci_referral SET bci_referral_status = '" + ReferralStatus.FAILED.name() + "', " +
+                "bci_referral_failure = ? WHERE bci_referral_id = ?", new ArrayList<>(failures), (statement, failure) -> {
+            statement.setString(1, failure.reason());
+            statement.setLong(2, failure.referralId());
+        });
+    }
+
+    private void setLink(PreparedStatement statement, Link link) throws SQLException {
+        statement.setLong(1, link.parentId());
+        statement.setLong(2, link.childId());
+    }
+
+    private static void setDate(PreparedStatement statement, int index, LocalDate date) throws SQLException {
+        if (date == null) {
+            statement.setNull(index, Types.DATE);
+        } else {
+            statement.setDate(index, Date.valueOf(date));
+        }
+    }
+
+    private <T> void batch(String sql, List<T> rows, ParameterizedPreparedStatementSetter<T> setter) {
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(sql, rows, BATCH_SIZE, setter);
+        }
+    }
+}
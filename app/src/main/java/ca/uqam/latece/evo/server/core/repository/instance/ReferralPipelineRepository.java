@@ -0,0 +1,126 @@
+package ca.uqam.latece.evo.server.core.repository.instance;
+
+import ca.uqam.latece.evo.server.core.model.instance.BCIReferral;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Referral pipeline repository: claims the new BCIReferral entities, resolves their intervention recipes and reserves
+ * the ids of the intervention instance trees created for them (see {@link ReferralEnrollmentRepository}).
+ * @version 1.0
+ * @author Edilton Lima dos Santos.
+ */
+@Repository
+public interface ReferralPipelineRepository extends org.springframework.data.repository.Repository<BCIReferral, Long>,
+        ReferralEnrollmentRepository {
+
+    /**
+     * The new referrals, with their patient, their intervention and whether they are already linked.
+     */
+    String NEW_REFERRALS = "SELECT r.bci_referral_id AS \"referralId\", r.bci_referral_patient AS \"patientId\", " +
+            "COALESCE(r.bci_referral_target_bci_id, (SELECT ph.behavior_change_intervention_phase_bci_id " +
+            "FROM patient_assessment pa " +
+            "JOIN composed_of co ON co.composed_of_bci_activity_id = pa.patient_assessment_assessment_id " +
+            "JOIN compose_of_phase_block pb ON pb.compose_of_phase_block_bci_block_id = co.composed_of_bci_block_id " +
+            "JOIN behavior_change_intervention_phase ph " +
+            "ON ph.behavior_change_intervention_phase_id = pb.compose_of_phase_block_bci_phase_id " +
+            "WHERE pa.patient_assessment_id = r.bci_referral_patient_assessment " +
+            "AND ph.behavior_change_intervention_phase_bci_id IS NOT NULL " +
+            "ORDER BY ph.behavior_change_intervention_phase_bci_id LIMIT 1)) AS \"interventionId\", " +
+            "EXISTS (SELECT 1 FROM bci_referral_interventions ri " +
+            "WHERE ri.bci_referral_interventions_referral_id = r.bci_referral_id) AS linked " +
+            "FROM bci_referral r WHERE r.bci_referral_status = 'NEW' ";
+
+    /**
+     * A new referral, with the intervention recipe in which its patient is to be enrolled.
+     */
+    interface PendingReferral {
+
+        Long getReferralId();
+
+        Long getPatientId();
+
+        /**
+         * @return the target intervention of the referral or, if it has none, the first intervention that uses the
+         * Assessment of its PatientAssessment; null if none is found.
+         */
+        Long getInterventionId();
+
+        /**
+         * @return true if intervention instances are already linked to the referral.
+         */
+        Boolean getLinked();
+    }
+
+    /**
+     * A block of a phase of an intervention recipe (null block id for a phase without blocks).
+     */
+    interface RecipeBlock {
+
+        Long getInterventionId();
+
+        Long getPhaseId();
+
+        Long getBlockId();
+    }
+
+    /**
+     * Claims a batch of new referrals, in the order of their ids. The referrals are locked until the end of the
+     * transaction, and the referrals locked by another transaction are skipped, so concurrent workers claim distinct
+     * batches.
+     * @param limit the maximum number of referrals.
+     * @return the claimed referrals.
+     */
+    @Query(value = NEW_REFERRALS + "ORDER BY r.bci_referral_id LIMIT :limit FOR UPDATE OF r SKIP LOCKED",
+            nativeQuery = true)
+    List<PendingReferral> claimNewReferrals(@Param("limit") int limit);
+
+    /**
+     * Claims a referral if it is still new and not locked by another transaction.
+     * @param referralId the BCIReferral id.
+     * @return the claimed referral, or an empty list.
+     */
+    @Query(value = NEW_REFERRALS + "AND r.bci_referral_id = :referralId FOR UPDATE OF r SKIP LOCKED",
+            nativeQuery = true)
+    List<PendingReferral> claimNewReferral(@Param("referralId") long referralId);
+
+    /**
+     * Finds the ids of the first new referrals, without locking them.
+     * @param limit the maximum number of referrals.
+     * @return the ids, in order.
+     */
+    @Query(value = "SELECT bci_referral_id FROM bci_referral WHERE bci_referral_status = 'NEW' " +
+            "ORDER BY bci_referral_id LIMIT :limit",
+            nativeQuery = true)
+    List<Long> findNewReferralIds(@Param("limit") int limit);
+
+    /**
+     * Finds the phases and blocks of intervention recipes, in the order of the phases and of the blocks in each phase.
+     * @param interventionIds the BehaviorChangeIntervention ids.
+     * @return the blocks of each phase of the interventions.
+     */
+    @Query(value = "SELECT ph.behavior_change_intervention_phase_bci_id AS \"interventionId\", " +
+            "ph.behavior_change_intervention_phase_id AS \"phaseId\", pb.compose_of_phase_block_bci_block_id AS \"blockId\" " +
+            "FROM behavior_change_intervention_phase ph " +
+            "LEFT JOIN compose_of_phase_block pb " +
+            "ON pb.compose_of_phase_block_bci_phase_id = ph.behavior_change_intervention_phase_id " +
+            "WHERE ph.behavior_change_intervention_phase_bci_id IN (:interventionIds) " +
+            "ORDER BY ph.behavior_change_intervention_phase_bci_id, ph.behavior_change_intervention_phase_id, " +
+            "pb.compose_of_phase_block_id",
+            nativeQuery = true)
+    List<RecipeBlock> findRecipeBlocks(@Param("interventionIds") Collection<Long> interventionIds);
+
+    /**
+     * Reserves activity instance ids from the sequence of the activity_instance table, in a single round trip.
+     * @param count the number of ids.
+     * @return the reserved ids.
+     */
+    @Query(value = "SELECT nextval(pg_get_serial_sequence('activity_instance', 'activity_instance_id')) " +
+            "FROM generate_series(1, :count)",
+            nativeQuery = true)
+    List<Long> reserveActivityInstanceIds(@Param("count") int count);
+}
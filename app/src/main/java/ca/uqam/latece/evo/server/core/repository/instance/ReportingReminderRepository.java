@@ -0,0 +1,15 @@
+package ca.uqam.latece.evo.server.core.repository.instance;
+
+import ca.uqam.latece.evo.server.core.model.instance.BCIActivityInstance;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Reporting reminder repository: the due times of the reports of the Reporting activity instances (see
+ * {@link ReportingReminderStore}).
+ * @version 1.0
+ * @author Edilton Lima dos Santos.
+ */
+@Repository
+public interface ReportingReminderRepository extends
+        org.springframework.data.repository.Repository<BCIActivityInstance, Long>, ReportingReminderStore {
+}
@@ -0,0 +1,96 @@
+package ca.uqam.latece.evo.server.core.repository.instance;
+
+import ca.uqam.latece.evo.server.core.enumeration.ExecutionStatus;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * The due times of the reports of the Reporting activity instances (reporting_reminder table) and the cursors of the
+ * scheduler (scheduler_cursor table), implemented with JDBC. The due reminders are claimed with
+ * {@code FOR UPDATE SKIP LOCKED}, so that concurrent workers, on one or several servers, fire distinct reminders.
+ * @version 1.0
+ * @author Edilton Lima dos Santos.
+ */
+public interface ReportingReminderStore {
+
+    /**
+     * A BCIActivityInstance of a Reporting.
+     * @param instanceId the BCIActivityInstance id.
+     * @param frequency the frequency of the Reporting.
+     * @param entryDate the entry date of the instance, or null if it has not started.
+     * @param status the status of the instance.
+     */
+    record ReportingInstance(long instanceId, String frequency, LocalDate entryDate, ExecutionStatus status) {}
+
+    /**
+     * The next report of a Reporting activity instance.
+     * @param instanceId the BCIActivityInstance id.
+     * @param dueAt the due time of the report, or null if the instance has no report to schedule.
+     */
+    record Reminder(long instanceId, Instant dueAt) {}
+
+    /**
+     * A claimed reminder and its Reporting activity instance.
+     */
+    record Claimed(Reminder reminder, ReportingInstance instance) {}
+
+    /**
+     * Locks the cursor of a scan, creating it at 0 if it does not exist, until the end of the transaction.
+     * @param name the name of the cursor.
+     * @return the position of the cursor.
+     */
+    long lockCursor(String name);
+
+    /**
+     * Moves the cursor of a scan.
+     * @param name the name of the cursor.
+     * @param position the new position.
+     */
+    void saveCursor(String name, long position);
+
+    /**
+     * Finds the Reporting activity instances that are not finished and have no reminder, even without due time, after
+     * an id, in the order of their ids.
+     * @param afterId the id after which to search (exclusive).
+     * @param limit the maximum number of instances.
+     * @return the instances.
+     */
+    List<ReportingInstance> findReportingInstances(long afterId, int limit);
+
+    /**
+     * Inserts reminders, unless their instance already has one.
+     * @param reminders the reminders.
+     * @return the number of inserted reminders.
+     */
+    int insertReminders(List<Reminder> reminders);
+
+    /**
+     * Claims the reminders due at a time, the most overdue first, with their Reporting activity instance.
+     * @param now the time.
+     * @param limit the maximum number of reminders.
+     * @return the claimed reminders.
+     */
+    List<Claimed> claimDueReminders(Instant now, int limit);
+
+    /**
+     * Moves reminders to their new due time.
+     * @param reminders the reminders with their new due time, null for the instances without report to schedule.
+     */
+    void rescheduleReminders(List<Reminder> reminders);
+
+    /**
+     * Deletes reminders.
+     * @param instanceIds the BCIActivityInstance ids of the reminders.
+     */
+    void deleteReminders(List<Long> instanceIds);
+
+    /**
+     * Finds the reminder of a Reporting activity instance.
+     * @param instanceId the BCIActivityInstance id.
+     * @return the reminder, or empty if no report is scheduled.
+     */
+    Optional<Reminder> findReminder(long instanceId);
+}
@@ -0,0 +1,152 @@
+package ca.uqam.latece.evo.server.core.repository.instance;
+
+import ca.uqam.latece.evo.server.core.enumeration.ExecutionStatus;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * JDBC implementation of the {@link ReportingReminderStore} fragment of the ReportingReminderRepository. It runs in the
+ * transaction of the caller, on the same connection as the JPA repositories.
+ * @version 1.0
+ * @author Edilton Lima dos Santos.
+ */
+public class ReportingReminderStoreImpl implements ReportingReminderStore {
+
+    /**
+     * The number of rows sent to the database per JDBC batch.
+     */
+    static final int BATCH_SIZE = 1000;
+
+    private static final String INSTANCE_COLUMNS = "bai.bci_activity_instance_id, r.reporting_frequency, " +
+            "ai.activity_instance_entry_date, ai.activity_instance_status";
+
+    private static final String INSTANCE_JOINS = "JOIN reporting r " +
+            "ON r.reporting_id = bai.bci_activity_instance_bci_activity_id " +
+            "JOIN activity_instance ai ON ai.activity_instance_id = bai.bci_activity_instance_id";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public ReportingReminderStoreImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public long lockCursor(String name) {
+        jdbcTemplate.update("INSERT INTO scheduler_cursor (scheduler_cursor_name, scheduler_cursor_position) " +
+                "VALUES (?, 0) ON CONFLICT (scheduler_cursor_name) DO NOTHING", name);
+        Long position = jdbcTemplate.queryForObject("SELECT scheduler_cursor_position FROM scheduler_cursor " +
+                "WHERE scheduler_cursor_name = ? FOR UPDATE", Long.class, name);
+        return position == null ? 0 : position;
+    }
+
+    @Override
+    public void saveCursor(String name, long position) {
+        jdbcTemplate.update("UPDATE scheduler_cursor SET scheduler_cursor_position = ?, " +
+                "scheduler_cursor_updated_at = now() WHERE scheduler_cursor_name = ?", position, name);
+    }
+
+    @Override
+    public List<ReportingInstance> findReportingInstances(long afterId, int limit) {
+        return jdbcTemplate.query("SELECT " + INSTANCE_COLUMNS + " FROM bci_activity_instance bai " +
+                INSTANCE_JOINS + " WHERE bai.bci_activity_instance_id > ? " +
+                "AND ai.activity_instance_status IS DISTINCT FROM 'FINISHED' " +
+                "AND NOT EXISTS (SELECT 1 FROM reporting_reminder rr " +
+                "WHERE rr.reporting_reminder_instance_id = bai.bci_activity_instance_id) " +
+                "ORDER BY bai.bci_activity_instance_id LIMIT ?",
+                (resultSet, rowNum) -> toInstance(resultSet, 1), afterId, limit);
+    }
+
+    @Override
+    public int insertReminders(List<Reminder> reminders) {
+        int inserted = 0;
+
+        if (!reminders.isEmpty()) {
+            for (int[] counts : jdbcTemplate.batchUpdate("INSERT INTO reporting_reminder " +
+                    "(reporting_reminder_instance_id, reporting_reminder_due_at) VALUES (?, ?) " +
+                    "ON CONFLICT (reporting_reminder_instance_id) DO NOTHING", reminders, BATCH_SIZE,
+                    (statement, reminder) -> {
+                statement.setLong(1, reminder.instanceId());
+                setDueAt(statement, 2, reminder.dueAt());
+            })) {
+                for (int count : counts) {
+                    // The driver may report an unknown count for a batched statement.
+                    inserted += count > 0 ? count : 0;
+                }
+            }
+        }
+
+        return inserted;
+    }
+
+    @Override
+    public List<Claimed> claimDueReminders(Instant now, int limit) {
+        return jdbcTemplate.query("SELECT rr.reporting_reminder_instance_id, rr.reporting_reminder_due_at, " +
+                INSTANCE_COLUMNS + " FROM reporting_reminder rr " +
+                "JOIN bci_activity_instance bai ON bai.bci_activity_instance_id = rr.reporting_reminder_instance_id " +
+                INSTANCE_JOINS + " WHERE rr.reporting_reminder_due_at <= ? " +
+                "ORDER BY rr.reporting_reminder_due_at LIMIT ? FOR UPDATE OF rr SKIP LOCKED",
+                (resultSet, rowNum) -> new Claimed(new Reminder(resultSet.getLong(1),
+                        resultSet.getObject(2, OffsetDateTime.class).toInstant()), toInstance(resultSet, 3)),
+                toOffsetDateTime(now), limit);
+    }
+
+    @Override
+    public void rescheduleReminders(List<Reminder> reminders) {
+        if (!reminders.isEmpty()) {
+            jdbcTemplate.batchUpdate("UPDATE reporting_reminder SET reporting_reminder_due_at = ? " +
+                    "WHERE reporting_reminder_instance_id = ?", reminders, BATCH_SIZE, (statement, reminder) -> {
+                setDueAt(statement, 1, reminder.dueAt());
+                statement.setLong(2, reminder.instanceId());
+            });
+        }
+    }
+
+    @Override
+    public void deleteReminders(List<Long> instanceIds) {
+        if (!instanceIds.isEmpty()) {
+            jdbcTemplate.update("DELETE FROM reporting_reminder WHERE reporting_reminder_instance_id = ANY(?)",
+                    statement -> statement.setArray(1, statement.getConnection().createArrayOf("bigint",
+                            instanceIds.toArray())));
+        }
+    }
+
+    @Override
+    public Optional<Reminder> findReminder(long instanceId) {
+        return jdbcTemplate.query("SELECT reporting_reminder_instance_id, reporting_reminder_due_at " +
+                "FROM reporting_reminder WHERE reporting_reminder_instance_id = ? " +
+                "AND reporting_reminder_due_at IS NOT NULL",
+                (resultSet, rowNum) -> new Reminder(resultSet.getLong(1),
+                        resultSet.getObject(2, OffsetDateTime.class).toInstant()), instanceId).stream().findFirst();
+    }
+
+    private static ReportingInstance toInstance(ResultSet resultSet, int column) throws SQLException {
+        String status = resultSet.getString(column + 3);
+        return new ReportingInstance(resultSet.getLong(column), resultSet.getString(column + 1),
+                resultSet.getObject(column + 2, LocalDate.class),
+                status == null ? ExecutionStatus.UNKNOWN : ExecutionStatus.valueOf(status));
+    }
+
+    private static void setDueAt(PreparedStatement statement, int index, Instant dueAt) throws SQLException {
+        if (dueAt == null) {
+            statement.setNull(index, Types.TIMESTAMP_WITH_TIMEZONE);
+        } else {
+            statement.setObject(index, toOffsetDateTime(dueAt));
+        }
+    }
+
+    private static OffsetDateTime toOffsetDateTime(Instant instant) {
+        return instant.atOffset(ZoneOffset.UTC);
+    }
+}
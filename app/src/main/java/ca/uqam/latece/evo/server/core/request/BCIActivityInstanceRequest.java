@@ -15,6 +15,21 @@ public class BCIActivityInstanceRequest extends EvoRequest {
 
     Long bciInstanceId;
 
+    /**
+     * The activity instance the client moves to with an IN_PROGRESS client event, null for the other client events.
+     */
+    Long newActivityInstanceId;
+
+    /**
+     * The block instance of the new activity instance, the current block instance if null.
+     */
+    Long newBlockInstanceId;
+
+    /**
+     * The phase instance of the new activity instance, the current phase instance if null.
+     */
+    Long newPhaseInstanceId;
+
     @Builder(builderMethodName = "bciActivityInstanceRequestBuilder")
     public BCIActivityInstanceRequest(Long bciActivityInstanceId, Long bciBlockInstanceId, Long bciPhaseInstanceId,
                                    Long bciInstanceId) {
@@ -47,4 +62,28 @@ public class BCIActivityInstanceRequest extends EvoRequest {
     public void setBciInstanceId(Long bciInstanceId) {
         this.bciInstanceId = bciInstanceId;
     }
+
+    public Long getNewActivityInstanceId() {
+        return newActivityInstanceId;
+    }
+
+    public void setNewActivityInstanceId(Long newActivityInstanceId) {
+        this.newActivityInstanceId = newActivityInstanceId;
+    }
+
+    public Long getNewBlockInstanceId() {
+        return newBlockInstanceId != null ? newBlockInstanceId : bciBlockInstanceId;
+    }
+
+    public void setNewBlockInstanceId(Long newBlockInstanceId) {
+        this.newBlockInstanceId = newBlockInstanceId;
+    }
+
+    public Long getNewPhaseInstanceId() {
+        return newPhaseInstanceId != null ? newPhaseInstanceId : bciPhaseInstanceId;
+    }
+
+    public void setNewPhaseInstanceId(Long newPhaseInstanceId) {
+        this.newPhaseInstanceId = newPhaseInstanceId;
+    }
 }
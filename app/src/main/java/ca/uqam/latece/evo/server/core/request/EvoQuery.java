@@ -0,0 +1,68 @@
+package ca.uqam.latece.evo.server.core.request;
+
+import org.springframework.util.MultiValueMap;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * A filter, sort and page query on a resource, from the parameters of a query request:
+ * {@code ?mode=VIRTUAL&medium=EMAIL&medium=SMS&sort=name,desc&page=0&size=50}. The filters are combined with AND; the
+ * values of a repeated filter are combined with OR. The query is also the key of its cached result, so two requests
+ * with the same parameters in another order share it.
+ * @param filters the values of the filters, by filter name.
+ * @param sort the sort orders, {@code name} or {@code name,desc}, in order of precedence.
+ * @param page the page number, from 0.
+ * @param size the page size.
+ * @version 1.0
+ * @author Edilton Lima dos Santos.
+ */
+public record EvoQuery(SortedMap<String, List<String>> filters, List<String> sort, int page, int size) {
+
+    /**
+     * The page size when none is requested.
+     */
+    public static final int DEFAULT_SIZE = 50;
+
+    /**
+     * The maximum page size.
+     */
+    public static final int MAX_SIZE = 500;
+
+    public EvoQuery {
+        if (page < 0 || size < 1 || size > MAX_SIZE) {
+            throw new IllegalArgumentException("The page must be positive and the size between 1 and " + MAX_SIZE +
+                    ": " + page + ", " + size);
+        }
+
+        TreeMap<String, List<String>> copy = new TreeMap<>();
+        filters.forEach((name, values) -> copy.put(name, List.copyOf(values)));
+        filters = Collections.unmodifiableSortedMap(copy);
+        sort = List.copyOf(sort);
+    }
+
+    /**
+     * Creates a query from the parameters of a request.
+     * @param parameters the request parameters.
+     * @return the query.
+     * @throws IllegalArgumentException if the page or the size is not a valid number.
+     */
+    public static EvoQuery of(MultiValueMap<String, String> parameters) {
+        TreeMap<String, List<String>> filters = new TreeMap<>();
+        parameters.forEach((name, values) -> {
+            if (!name.equals("page") && !name.equals("size") && !name.equals("sort")) {
+                filters.put(name, values);
+            }
+        });
+
+        List<String> sort = parameters.getOrDefault("sort", List.of());
+        return new EvoQuery(filters, sort, parseInt(parameters.getFirst("page"), 0),
+                parseInt(parameters.getFirst("size"), DEFAULT_SIZE));
+    }
+
+    private static int parseInt(String value, int defaultValue) {
+        return value == null || value.isBlank() ? defaultValue : Integer.parseInt(value.trim());
+    }
+}
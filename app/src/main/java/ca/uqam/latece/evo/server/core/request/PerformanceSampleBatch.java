@@ -0,0 +1,48 @@
+package ca.uqam.latece.evo.server.core.request;
+
+/**
+ * A batch of behavior performance samples of a BehaviorPerformanceInstance (e.g. the steps counted by a wearable), in
+ * columns: the i-th sample is measured at times[i] (epoch milliseconds) with the value values[i].
+ * @version 1.0
+ * @author Edilton Lima dos Santos.
+ */
+public class PerformanceSampleBatch {
+    private Long behaviorPerformanceInstanceId;
+
+    private long[] times;
+
+    private double[] values;
+
+    public PerformanceSampleBatch() {
+    }
+
+    public PerformanceSampleBatch(Long behaviorPerformanceInstanceId, long[] times, double[] values) {
+        this.behaviorPerformanceInstanceId = behaviorPerformanceInstanceId;
+        this.times = times;
+        this.values = values;
+    }
+
+    public Long getBehaviorPerformanceInstanceId() {
+        return behaviorPerformanceInstanceId;
+    }
+
+    public void setBehaviorPerformanceInstanceId(Long behaviorPerformanceInstanceId) {
+        this.behaviorPerformanceInstanceId = behaviorPerformanceInstanceId;
+    }
+
+    public long[] getTimes() {
+        return times;
+    }
+
+    public void setTimes(long[] times) {
+        this.times = times;
+    }
+
+    public double[] getValues() {
+        return values;
+    }
+
+    public void setValues(double[] values) {
+        this.values = values;
+    }
+}
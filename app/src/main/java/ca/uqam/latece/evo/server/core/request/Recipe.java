@@ -0,0 +1,124 @@
+package ca.uqam.latece.evo.server.core.request;
+
+import ca.uqam.latece.evo.server.core.enumeration.ActivityType;
+import ca.uqam.latece.evo.server.core.enumeration.SkillLevel;
+import ca.uqam.latece.evo.server.core.enumeration.TimeCycle;
+
+import java.util.List;
+
+/**
+ * The recipe of a whole BehaviorChangeIntervention, authored in one document: its phases, blocks, modules, activities
+ * and contents. The nodes of the recipe are named by keys, unique per kind of node, that the other nodes use to refer to
+ * them; the activities of the blocks and modules can also be existing BCIActivities (e.g. an Assessment or an
+ * Interaction), referred to by id. The roles and skills are existing ones, referred to by id.
+ * @param name the BehaviorChangeIntervention name.
+ * @param entryConditions the entry conditions of the intervention.
+ * @param exitConditions the exit conditions of the intervention.
+ * @param phases the phases of the intervention.
+ * @param blocks the blocks of the phases.
+ * @param modules the modules of the phases.
+ * @param activities the new activities of the blocks and modules.
+ * @param contents the new contents of the activities.
+ * @version 1.0
+ * @author Edilton Lima dos Santos.
+ */
+public record Recipe(String name, String entryConditions, String exitConditions, List<Phase> phases,
+                     List<Block> blocks, List<Module> modules, List<Activity> activities, List<Content> contents) {
+
+    public Recipe {
+        phases = orEmpty(phases);
+        blocks = orEmpty(blocks);
+        modules = orEmpty(modules);
+        activities = orEmpty(activities);
+        contents = orEmpty(contents);
+    }
+
+    /**
+     * A BehaviorChangeInterventionPhase.
+     * @param blocks the keys of its blocks.
+     * @param modules the keys of its modules.
+     */
+    public record Phase(String key, String entryConditions, String exitConditions, List<String> blocks,
+                        List<String> modules) {
+
+        public Phase {
+            blocks = orEmpty(blocks);
+            modules = orEmpty(modules);
+        }
+    }
+
+    /**
+     * A BehaviorChangeInterventionBlock.
+     * @param activities its activities (ComposedOf).
+     */
+    public record Block(String key, String entryConditions, String exitConditions, List<BlockActivity> activities) {
+
+        public Block {
+            activities = orEmpty(activities);
+        }
+    }
+
+    /**
+     * An activity of a block (ComposedOf).
+     * @param activity the key of a new activity, or null with an activityId.
+     * @param activityId the id of an existing BCIActivity, or null with an activity key.
+     * @param timing the time cycle of the activity in the block, UNSPECIFIED by default.
+     * @param order the order of the activity in the block.
+     */
+    public record BlockActivity(String activity, Long activityId, TimeCycle timing, int order) {}
+
+    /**
+     * A BCIModule.
+     * @param skills the ids of its skills.
+     * @param activities its activities (ModuleComposedActivity).
+     */
+    public record Module(String key, String name, String description, String preconditions, String postconditions,
+                         List<Long> skills, List<ModuleActivity> activities) {
+
+        public Module {
+            skills = orEmpty(skills);
+            activities = orEmpty(activities);
+        }
+    }
+
+    /**
+     * An activity of a module (ModuleComposedActivity).
+     * @param activity the key of a new activity, or null with an activityId.
+     * @param activityId the id of an existing BCIActivity, or null with an activity key.
+     * @param order the order of the activity in the module.
+     */
+    public record ModuleActivity(String activity, Long activityId, int order) {}
+
+    /**
+     * A new BCIActivity.
+     * @param parties the ids of the roles of its parties.
+     * @param contents the keys of its contents.
+     * @param develops the skills it develops.
+     * @param requires the skills it requires.
+     */
+    public record Activity(String key, String name, String description, ActivityType type, String preconditions,
+                           String postconditions, List<Long> parties, List<String> contents,
+                           List<SkillLink> develops, List<SkillLink> requires) {
+
+        public Activity {
+            parties = orEmpty(parties);
+            contents = orEmpty(contents);
+            develops = orEmpty(develops);
+            requires = orEmpty(requires);
+        }
+    }
+
+    /**
+     * A skill developed (Develops) or required (Requires) by a role in an activity.
+     */
+    public record SkillLink(Long roleId, Long skillId, SkillLevel level) {}
+
+    /**
+     * A new Content.
+     */
+    public record Content(String key, String name, String description, String type) {}
+
+    private static <T> List<T> orEmpty(List<T> list) {
+        return list == null ? List.of() : list;
+    }
+}
@@ -0,0 +1,135 @@
+package ca.uqam.latece.evo.server.core.request;
+
+import ca.uqam.latece.evo.server.core.enumeration.ActivityType;
+import ca.uqam.latece.evo.server.core.enumeration.SkillLevel;
+import ca.uqam.latece.evo.server.core.enumeration.SkillType;
+import ca.uqam.latece.evo.server.core.enumeration.TimeCycle;
+
+import java.util.List;
+
+/**
+ * The format of the recipe bundles, which move interventions with their whole graph between servers: one JSON object
+ * with the header fields format, version and origin (the server that exported the bundle), then one array per section,
+ * in the order of {@link Section}, so that every node only refers to nodes of the previous sections. The nodes keep the
+ * ids they have on their origin server, and the files of the contents are base64-encoded in the files section.
+ * <pre>
+ * {"format": "evo-recipe-bundle", "version": 1, "origin": "staging",
+ *  "roles": [...], "skills": [...], "contents": [...], "files": [...], "activities": [...], "modules": [...],
+ *  "blocks": [...], "interventions": [...], "phases": [...]}
+ * </pre>
+ * @version 1.0
+ * @author Edilton Lima dos Santos.
+ */
+public final class RecipeBundle {
+
+    public static final String FORMAT = "evo-recipe-bundle";
+
+    /**
+     * The version of the format written by this server, and the latest one it reads.
+     */
+    public static final int VERSION = 1;
+
+    private RecipeBundle() {
+    }
+
+    /**
+     * The sections of a bundle, in their order.
+     */
+    public enum Section {
+        ROLES("roles"),
+        SKILLS("skills"),
+        CONTENTS("contents"),
+        FILES("files"),
+        ACTIVITIES("activities"),
+        MODULES("modules"),
+        BLOCKS("blocks"),
+        INTERVENTIONS("interventions"),
+        PHASES("phases");
+
+        private final String field;
+
+        Section(String field) {
+            this.field = field;
+        }
+
+        public String getField() {
+            return field;
+        }
+
+        /**
+         * @param field the name of the field of a section.
+         * @return the section, or null if the field is not a section.
+         */
+        public static Section of(String field) {
+            for (Section section : values()) {
+                if (section.field.equals(field)) {
+                    return section;
+                }
+            }
+
+            return null;
+        }
+    }
+
+    public record Role(long id, String name, String description) {}
+
+    public record Skill(long id, String name, String description, SkillType type) {}
+
+    public record Content(long id, String name, String description, String type) {}
+
+    /**
+     * The file of a content. Its base64-encoded data follows the content and the filename, in a field named data.
+     * @param content the Content id.
+     * @param filename the name of the file.
+     */
+    public record File(long content, String filename) {}
+
+    /**
+     * A BCIActivity.
+     * @param kind the entity of the activity: BCIActivity, or the specialized activity (e.g. Assessment), which must
+     *             already exist with the same name where the bundle is imported.
+     * @param parties the Role ids of its parties.
+     * @param contents its Content ids.
+     */
+    public record Activity(long id, String name, String description, ActivityType type, String preconditions,
+                           String postconditions, String kind, List<Long> parties, List<Long> contents,
+                           List<SkillLink> develops, List<SkillLink> requires) {}
+
+    /**
+     * A skill developed (Develops) or required (Requires) by a role in an activity.
+     */
+    public record SkillLink(long role, long skill, SkillLevel level) {}
+
+    /**
+     * A BCIModule.
+     * @param skills its Skill ids.
+     * @param activities its activities (ModuleComposedActivity).
+     */
+    public record Module(long id, String name, String description, String preconditions, String postconditions,
+                         List<Long> skills, List<Member> activities) {}
+
+    /**
+     * An activity of a module or a block.
+     * @param activity the BCIActivity id.
+     * @param order the order of the activity.
+     * @param timing the time cycle of the activity in a block (ComposedOf), null in a module.
+     */
+    public record Member(long activity, int order, TimeCycle timing) {}
+
+    /**
+     * A BehaviorChangeInterventionBlock.
+     * @param activities its activities (ComposedOf).
+     */
+    public record Block(long id, String entryConditions, String exitConditions, List<Member> activities) {}
+
+    public record Intervention(long id, String name, String entryConditions, String exitConditions) {}
+
+    /**
+     * A BehaviorChangeInterventionPhase.
+     * @param intervention its BehaviorChangeIntervention id.
+     * @param blocks its BehaviorChangeInterventionBlock ids.
+     * @param modules its BCIModule ids.
+     */
+    public record Phase(long id, long intervention, String entryConditions, String exitConditions, List<Long> blocks,
+                        List<Long> modules) {}
+}
@@ -0,0 +1,83 @@
+package ca.uqam.latece.evo.server.core.response;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * An execution status transition of an intervention, phase or block instance, as recorded in the transition log.
+ * @version 1.0
+ * @author Edilton Lima dos Santos.
+ */
+public class ActivityTransition {
+    private final Long id;
+
+    private final Long instanceId;
+
+    private final String type;
+
+    private final String fromStatus;
+
+    private final String toStatus;
+
+    private final LocalDate entryDate;
+
+    private final LocalDate exitDate;
+
+    private final Instant at;
+
+    public ActivityTransition(Long id, Long instanceId, String type, String fromStatus, String toStatus,
+                              LocalDate entryDate, LocalDate exitDate, Instant at) {
+        this.id = id;
+        this.instanceId = instanceId;
+        this.type = type;
+        this.fromStatus = fromStatus;
+        this.toStatus = toStatus;
+        this.entryDate = entryDate;
+        this.exitDate = exitDate;
+        this.at = at;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    /**
+     * @return the id of the intervention, phase or block instance.
+     */
+    public Long getInstanceId() {
+        return instanceId;
+    }
+
+    /**
+     * @return the type of the instance: INTERVENTION, PHASE or BLOCK.
+     */
+    public String getType() {
+        return type;
+    }
+
+    /**
+     * @return the previous execution status, null for the first transition of the instance.
+     */
+    public String getFromStatus() {
+        return fromStatus;
+    }
+
+    public String getToStatus() {
+        return toStatus;
+    }
+
+    public LocalDate getEntryDate() {
+        return entryDate;
+    }
+
+    public LocalDate getExitDate() {
+        return exitDate;
+    }
+
+    /**
+     * @return the time of the transition.
+     */
+    public Instant getAt() {
+        return at;
+    }
+}
@@ -0,0 +1,71 @@
+package ca.uqam.latece.evo.server.core.response;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * An archived intervention instance tree: the finished intervention instance, its phase instances and their block
+ * instances, as moved out of the instance tables by the archiver.
+ * @version 1.0
+ * @author Edilton Lima dos Santos.
+ */
+public class ArchivedIntervention {
+    private final Long id;
+
+    private final Long patientId;
+
+    private final Long interventionId;
+
+    private final LocalDate exitDate;
+
+    private final Instant archivedAt;
+
+    private final String tree;
+
+    public ArchivedIntervention(Long id, Long patientId, Long interventionId, LocalDate exitDate, Instant archivedAt,
+                                String tree) {
+        this.id = id;
+        this.patientId = patientId;
+        this.interventionId = interventionId;
+        this.exitDate = exitDate;
+        this.archivedAt = archivedAt;
+        this.tree = tree;
+    }
+
+    /**
+     * @return the id of the intervention instance.
+     */
+    public Long getId() {
+        return id;
+    }
+
+    public Long getPatientId() {
+        return patientId;
+    }
+
+    /**
+     * @return the id of the BehaviorChangeIntervention.
+     */
+    public Long getInterventionId() {
+        return interventionId;
+    }
+
+    public LocalDate getExitDate() {
+        return exitDate;
+    }
+
+    public Instant getArchivedAt() {
+        return archivedAt;
+    }
+
+    /**
+     * @return the tree as a JSON document: the intervention instance with its "activities" (phase instances), each with
+     * its "activities" (block instances).
+     */
+    @JsonRawValue
+    public String getTree() {
+        return tree;
+    }
+}
@@ -0,0 +1,31 @@
+package ca.uqam.latece.evo.server.core.response;
+
+import java.util.List;
+
+/**
+ * The cohort funnel of a behavior change intervention: for each of its phases and blocks, the number of patients
+ * (intervention instances) by execution status.
+ * @version 1.0
+ * @author Edilton Lima dos Santos.
+ */
+public class CohortFunnel {
+    private final Long interventionId;
+
+    private final List<CohortStage> phases;
+
+    public CohortFunnel(Long interventionId, List<CohortStage> phases) {
+        this.interventionId = interventionId;
+        this.phases = phases;
+    }
+
+    public Long getInterventionId() {
+        return interventionId;
+    }
+
+    /**
+     * @return the phases, ordered by id, each with its blocks.
+     */
+    public List<CohortStage> getPhases() {
+        return phases;
+    }
+}
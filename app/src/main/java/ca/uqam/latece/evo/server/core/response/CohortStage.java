@@ -0,0 +1,64 @@
+package ca.uqam.latece.evo.server.core.response;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * A stage of a cohort funnel: a phase or a block of an intervention, with the number of its instances by execution
+ * status. The reached count is the number of instances that were started (in progress, suspended, stalled or finished).
+ * @version 1.0
+ * @author Edilton Lima dos Santos.
+ */
+public class CohortStage {
+    private final Long phaseId;
+
+    private final Long blockId;
+
+    private final Map<String, Long> counts = new TreeMap<>();
+
+    private final List<CohortStage> blocks = new ArrayList<>();
+
+    public CohortStage(Long phaseId, Long blockId) {
+        this.phaseId = phaseId;
+        this.blockId = blockId;
+    }
+
+    public Long getPhaseId() {
+        return phaseId;
+    }
+
+    /**
+     * @return the BehaviorChangeInterventionBlock id, or null for a phase.
+     */
+    public Long getBlockId() {
+        return blockId;
+    }
+
+    /**
+     * @return the number of instances by execution status.
+     */
+    public Map<String, Long> getCounts() {
+        return counts;
+    }
+
+    public long getTotal() {
+        return counts.values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    public long getReached() {
+        return getTotal() - counts.getOrDefault("READY", 0L) - counts.getOrDefault("UNKNOWN", 0L);
+    }
+
+    public long getFinished() {
+        return counts.getOrDefault("FINISHED", 0L);
+    }
+
+    /**
+     * @return the blocks of a phase, empty for a block.
+     */
+    public List<CohortStage> getBlocks() {
+        return blocks;
+    }
+}
@@ -0,0 +1,102 @@
+package ca.uqam.latece.evo.server.core.response;
+
+import java.util.List;
+
+/**
+ * The histogram of the time spent in an execution status by the phase or block instances of an intervention, in
+ * milliseconds. The bucket n counts the stays of [2^(n-1), 2^n) milliseconds (bucket 0: stays shorter than 1 ms).
+ * @version 1.0
+ * @author Edilton Lima dos Santos.
+ */
+public class DwellHistogram {
+    private final Long interventionId;
+
+    private final Long phaseId;
+
+    private final Long blockId;
+
+    private final String status;
+
+    private final long count;
+
+    private final long meanMs;
+
+    private final List<Bucket> buckets;
+
+    public DwellHistogram(Long interventionId, Long phaseId, Long blockId, String status, long count, long meanMs,
+                          List<Bucket> buckets) {
+        this.interventionId = interventionId;
+        this.phaseId = phaseId;
+        this.blockId = blockId;
+        this.status = status;
+        this.count = count;
+        this.meanMs = meanMs;
+        this.buckets = buckets;
+    }
+
+    public Long getInterventionId() {
+        return interventionId;
+    }
+
+    /**
+     * @return the BehaviorChangeInterventionPhase id, or null for all the phases.
+     */
+    public Long getPhaseId() {
+        return phaseId;
+    }
+
+    /**
+     * @return the BehaviorChangeInterventionBlock id, 0 for the phase instances, or null for all the blocks.
+     */
+    public Long getBlockId() {
+        return blockId;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    /**
+     * @return the number of stays in the status.
+     */
+    public long getCount() {
+        return count;
+    }
+
+    public long getMeanMs() {
+        return meanMs;
+    }
+
+    public List<Bucket> getBuckets() {
+        return buckets;
+    }
+
+    /**
+     * A bucket of the histogram: the number of stays of lowerMs (inclusive) to upperMs (exclusive) milliseconds.
+     */
+    public static class Bucket {
+        private final long lowerMs;
+
+        private final long upperMs;
+
+        private final long count;
+
+        public Bucket(long lowerMs, long upperMs, long count) {
+            this.lowerMs = lowerMs;
+            this.upperMs = upperMs;
+            this.count = count;
+        }
+
+        public long getLowerMs() {
+            return lowerMs;
+        }
+
+        public long getUpperMs() {
+            return upperMs;
+        }
+
+        public long getCount() {
+            return count;
+        }
+    }
+}
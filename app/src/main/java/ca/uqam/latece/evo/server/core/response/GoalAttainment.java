@@ -0,0 +1,86 @@
+package ca.uqam.latece.evo.server.core.response;
+
+import ca.uqam.latece.evo.server.core.enumeration.GoalComparison;
+import ca.uqam.latece.evo.server.core.event.GoalAttainmentEvent;
+
+import java.time.Instant;
+
+/**
+ * The attainment state of a GoalSettingInstance: the progress of its concerned activity since the start of the goal,
+ * against the target of its GoalSetting.
+ * @version 1.0
+ * @author Edilton Lima dos Santos.
+ */
+public class GoalAttainment {
+    private final long goalSettingInstanceId;
+
+    private final double progress;
+
+    private final long count;
+
+    private final int level;
+
+    private final Double target;
+
+    private final GoalComparison comparison;
+
+    private final Instant updatedAt;
+
+    public GoalAttainment(long goalSettingInstanceId, double progress, long count, int level, Double target,
+                          GoalComparison comparison, Instant updatedAt) {
+        this.goalSettingInstanceId = goalSettingInstanceId;
+        this.progress = progress;
+        this.count = count;
+        this.level = level;
+        this.target = target;
+        this.comparison = comparison;
+        this.updatedAt = updatedAt;
+    }
+
+    public long getGoalSettingInstanceId() {
+        return goalSettingInstanceId;
+    }
+
+    /**
+     * @return the total of the samples since the start of the goal.
+     */
+    public double getProgress() {
+        return progress;
+    }
+
+    /**
+     * @return the number of samples since the start of the goal.
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * @return the number of quarters of the target reached, from 0 to {@value GoalAttainmentEvent#MAX_LEVEL}.
+     */
+    public int getLevel() {
+        return level;
+    }
+
+    /**
+     * @return the target, or null if the goal is no longer evaluated.
+     */
+    public Double getTarget() {
+        return target;
+    }
+
+    public GoalComparison getComparison() {
+        return comparison;
+    }
+
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+
+    /**
+     * @return whether the goal is met, or null if the goal is no longer evaluated.
+     */
+    public Boolean getMet() {
+        return comparison == null ? null : comparison.isMet(level == GoalAttainmentEvent.MAX_LEVEL);
+    }
+}
@@ -0,0 +1,43 @@
+package ca.uqam.latece.evo.server.core.response;
+
+/**
+ * A step of the learning path of a skill. The level is 0 for the skills without prerequisites, and otherwise one more
+ * than the highest level of their prerequisites, so the skills of a same level can be learned in parallel.
+ * @version 1.0
+ * @author Edilton Lima dos Santos.
+ */
+public class LearningPathStep implements SkillNode {
+    private final Long id;
+
+    private final String name;
+
+    private final String type;
+
+    private final int level;
+
+    public LearningPathStep(Long id, String name, String type, int level) {
+        this.id = id;
+        this.name = name;
+        this.type = type;
+        this.level = level;
+    }
+
+    @Override
+    public Long getId() {
+        return id;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public String getType() {
+        return type;
+    }
+
+    public int getLevel() {
+        return level;
+    }
+}
@@ -0,0 +1,62 @@
+package ca.uqam.latece.evo.server.core.response;
+
+import ca.uqam.latece.evo.server.core.repository.instance.PatientDashboardStore.AssessmentSummary;
+import ca.uqam.latece.evo.server.core.repository.instance.PatientDashboardStore.InterventionSummary;
+import ca.uqam.latece.evo.server.core.repository.instance.PatientDashboardStore.PatientSummary;
+import ca.uqam.latece.evo.server.core.repository.instance.PatientDashboardStore.ReferralSummary;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * The overview of a Patient: its identity and medical file, its latest assessments and referrals, and its behavior
+ * change intervention instances with their progress.
+ * @version 1.0
+ * @author Edilton Lima dos Santos.
+ */
+public class PatientDashboard implements Serializable {
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private final PatientSummary patient;
+
+    private final List<AssessmentSummary> assessments;
+
+    private final List<ReferralSummary> referrals;
+
+    private final List<InterventionSummary> interventions;
+
+    public PatientDashboard(PatientSummary patient, List<AssessmentSummary> assessments,
+                            List<ReferralSummary> referrals, List<InterventionSummary> interventions) {
+        this.patient = patient;
+        this.assessments = List.copyOf(assessments);
+        this.referrals = List.copyOf(referrals);
+        this.interventions = List.copyOf(interventions);
+    }
+
+    public PatientSummary getPatient() {
+        return patient;
+    }
+
+    /**
+     * @return the latest assessments, the most recent first.
+     */
+    public List<AssessmentSummary> getAssessments() {
+        return assessments;
+    }
+
+    /**
+     * @return the latest referrals, the most recent first.
+     */
+    public List<ReferralSummary> getReferrals() {
+        return referrals;
+    }
+
+    /**
+     * @return the intervention instances, the most recent first.
+     */
+    public List<InterventionSummary> getInterventions() {
+        return interventions;
+    }
+}
@@ -0,0 +1,20 @@
+package ca.uqam.latece.evo.server.core.response;
+
+import ca.uqam.latece.evo.server.core.enumeration.PurgeMode;
+
+/**
+ * The outcome of the purge of a patient.
+ * @param patientId the Patient id.
+ * @param mode how the patient was purged.
+ * @param interventionInstances the number of deleted intervention instance trees.
+ * @param archivedInterventions the number of deleted archived intervention instance trees.
+ * @param activityInstances the number of deleted activity instances, of all kinds.
+ * @param referrals the number of deleted or anonymized referrals.
+ * @param assessments the number of deleted assessments.
+ * @param participants the number of deleted participants.
+ * @version 1.0
+ * @author Edilton Lima dos Santos.
+ */
+public record PatientPurgeReport(long patientId, PurgeMode mode, int interventionInstances, int archivedInterventions,
+                                 int activityInstances, int referrals, int assessments, int participants) {
+}
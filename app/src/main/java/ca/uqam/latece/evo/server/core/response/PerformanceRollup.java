@@ -0,0 +1,55 @@
+package ca.uqam.latece.evo.server.core.response;
+
+import java.time.Instant;
+
+/**
+ * The aggregate of the behavior performance samples of a BehaviorPerformanceInstance in an hour or a day.
+ * @version 1.0
+ * @author Edilton Lima dos Santos.
+ */
+public class PerformanceRollup {
+    private final Instant bucket;
+
+    private final long count;
+
+    private final double sum;
+
+    private final double min;
+
+    private final double max;
+
+    public PerformanceRollup(Instant bucket, long count, double sum, double min, double max) {
+        this.bucket = bucket;
+        this.count = count;
+        this.sum = sum;
+        this.min = min;
+        this.max = max;
+    }
+
+    /**
+     * @return the start of the hour or day.
+     */
+    public Instant getBucket() {
+        return bucket;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public double getSum() {
+        return sum;
+    }
+
+    public double getMin() {
+        return min;
+    }
+
+    public double getMax() {
+        return max;
+    }
+
+    public double getAverage() {
+        return count == 0 ? 0 : sum / count;
+    }
+}
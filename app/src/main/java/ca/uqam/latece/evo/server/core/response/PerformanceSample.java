@@ -0,0 +1,27 @@
+package ca.uqam.latece.evo.server.core.response;
+
+import java.time.Instant;
+
+/**
+ * A behavior performance sample of a BehaviorPerformanceInstance.
+ * @version 1.0
+ * @author Edilton Lima dos Santos.
+ */
+public class PerformanceSample {
+    private final Instant time;
+
+    private final double value;
+
+    public PerformanceSample(Instant time, double value) {
+        this.time = time;
+        this.value = value;
+    }
+
+    public Instant getTime() {
+        return time;
+    }
+
+    public double getValue() {
+        return value;
+    }
+}
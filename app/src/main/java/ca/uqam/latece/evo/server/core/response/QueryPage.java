@@ -0,0 +1,55 @@
+package ca.uqam.latece.evo.server.core.response;
+
+import java.util.List;
+
+/**
+ * A page of the result of a filter, sort and page query.
+ * @param <T> the type of the resource.
+ * @version 1.0
+ * @author Edilton Lima dos Santos.
+ */
+public class QueryPage<T> {
+    private final List<T> content;
+
+    private final int page;
+
+    private final int size;
+
+    private final long totalElements;
+
+    public QueryPage(List<T> content, int page, int size, long totalElements) {
+        this.content = content;
+        this.page = page;
+        this.size = size;
+        this.totalElements = totalElements;
+    }
+
+    /**
+     * @return the resources of the page, in the order of the query.
+     */
+    public List<T> getContent() {
+        return content;
+    }
+
+    /**
+     * @return the page number, from 0.
+     */
+    public int getPage() {
+        return page;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * @return the number of resources matching the filters, in all the pages.
+     */
+    public long getTotalElements() {
+        return totalElements;
+    }
+
+    public int getTotalPages() {
+        return (int) ((totalElements + size - 1) / size);
+    }
+}
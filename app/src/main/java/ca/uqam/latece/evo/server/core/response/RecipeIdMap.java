@@ -0,0 +1,17 @@
+package ca.uqam.latece.evo.server.core.response;
+
+import java.util.Map;
+
+/**
+ * The ids of the nodes of an authored recipe, by key.
+ * @param intervention the BehaviorChangeIntervention id.
+ * @param phases the BehaviorChangeInterventionPhase ids.
+ * @param blocks the BehaviorChangeInterventionBlock ids.
+ * @param modules the BCIModule ids.
+ * @param activities the BCIActivity ids.
+ * @param contents the Content ids.
+ * @version 1.0
+ * @author Edilton Lima dos Santos.
+ */
+public record RecipeIdMap(long intervention, Map<String, Long> phases, Map<String, Long> blocks,
+                          Map<String, Long> modules, Map<String, Long> activities, Map<String, Long> contents) {}
@@ -0,0 +1,13 @@
+package ca.uqam.latece.evo.server.core.response;
+
+import java.util.Map;
+
+/**
+ * The report of the import of a recipe bundle.
+ * @param origin the server that exported the bundle.
+ * @param imported the number of imported nodes (created or updated) per section of the bundle.
+ * @param created the number of created nodes per section of the bundle.
+ * @version 1.0
+ * @author Edilton Lima dos Santos.
+ */
+public record RecipeImportReport(String origin, Map<String, Integer> imported, Map<String, Integer> created) {}
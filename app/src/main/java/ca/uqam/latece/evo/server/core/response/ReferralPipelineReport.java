@@ -0,0 +1,102 @@
+package ca.uqam.latece.evo.server.core.response;
+
+/**
+ * The report of a run of the referral enrollment pipeline, or of one of its batches.
+ * @version 1.0
+ * @author Edilton Lima dos Santos.
+ */
+public class ReferralPipelineReport {
+    private int claimed;
+
+    private int enrolled;
+
+    private int linked;
+
+    private int failed;
+
+    private int batches;
+
+    private int errors;
+
+    private long elapsedMs;
+
+    public ReferralPipelineReport() {}
+
+    public ReferralPipelineReport(int claimed, int enrolled, int linked, int failed) {
+        this.claimed = claimed;
+        this.enrolled = enrolled;
+        this.linked = linked;
+        this.failed = failed;
+        this.batches = 1;
+    }
+
+    /**
+     * Adds the counters of another report (a batch) to this one.
+     * @param report the report to add.
+     */
+    public synchronized void add(ReferralPipelineReport report) {
+        this.claimed += report.claimed;
+        this.enrolled += report.enrolled;
+        this.linked += report.linked;
+        this.failed += report.failed;
+        this.batches += report.batches;
+        this.errors += report.errors;
+    }
+
+    /**
+     * Counts a batch that was rolled back.
+     */
+    public synchronized void addError() {
+        this.errors++;
+    }
+
+    /**
+     * @return the number of claimed referrals.
+     */
+    public synchronized int getClaimed() {
+        return claimed;
+    }
+
+    /**
+     * @return the number of referrals enrolled in a new intervention instance.
+     */
+    public synchronized int getEnrolled() {
+        return enrolled;
+    }
+
+    /**
+     * @return the number of referrals marked as enrolled because intervention instances were already linked to them.
+     */
+    public synchronized int getLinked() {
+        return linked;
+    }
+
+    /**
+     * @return the number of referrals marked as failed.
+     */
+    public synchronized int getFailed() {
+        return failed;
+    }
+
+    /**
+     * @return the number of committed batches.
+     */
+    public synchronized int getBatches() {
+        return batches;
+    }
+
+    /**
+     * @return the number of rolled back batches (their referrals are left new).
+     */
+    public synchronized int getErrors() {
+        return errors;
+    }
+
+    public synchronized long getElapsedMs() {
+        return elapsedMs;
+    }
+
+    public synchronized void setElapsedMs(long elapsedMs) {
+        this.elapsedMs = elapsedMs;
+    }
+}
@@ -0,0 +1,114 @@
+package ca.uqam.latece.evo.server.core.response;
+
+/**
+ * The report of a run of the reporting reminder scheduler, or of one of its batches.
+ * @version 1.0
+ * @author Edilton Lima dos Santos.
+ */
+public class ReportingReminderReport {
+    private int scanned;
+
+    private int scheduled;
+
+    private int claimed;
+
+    private int fired;
+
+    private int removed;
+
+    private int batches;
+
+    private int errors;
+
+    private long elapsedMs;
+
+    public ReportingReminderReport() {}
+
+    public ReportingReminderReport(int scanned, int scheduled, int claimed, int fired, int removed) {
+        this.scanned = scanned;
+        this.scheduled = scheduled;
+        this.claimed = claimed;
+        this.fired = fired;
+        this.removed = removed;
+        this.batches = 1;
+    }
+
+    /**
+     * Adds the counters of another report (a batch) to this one.
+     * @param report the report to add.
+     */
+    public synchronized void add(ReportingReminderReport report) {
+        this.scanned += report.scanned;
+        this.scheduled += report.scheduled;
+        this.claimed += report.claimed;
+        this.fired += report.fired;
+        this.removed += report.removed;
+        this.batches += report.batches;
+        this.errors += report.errors;
+    }
+
+    /**
+     * Counts a batch that was rolled back.
+     */
+    public synchronized void addError() {
+        this.errors++;
+    }
+
+    /**
+     * @return the number of Reporting activity instances scanned for new reminders.
+     */
+    public synchronized int getScanned() {
+        return scanned;
+    }
+
+    /**
+     * @return the number of new reminders.
+     */
+    public synchronized int getScheduled() {
+        return scheduled;
+    }
+
+    /**
+     * @return the number of due reminders claimed.
+     */
+    public synchronized int getClaimed() {
+        return claimed;
+    }
+
+    /**
+     * @return the number of reminders fired to the activity instances in progress.
+     */
+    public synchronized int getFired() {
+        return fired;
+    }
+
+    /**
+     * @return the number of reminders removed, because their instance is finished, their frequency is invalid or all
+     * the reports of their recurrence are due.
+     */
+    public synchronized int getRemoved() {
+        return removed;
+    }
+
+    /**
+     * @return the number of committed batches.
+     */
+    public synchronized int getBatches() {
+        return batches;
+    }
+
+    /**
+     * @return the number of rolled back batches (their reminders are left due).
+     */
+    public synchronized int getErrors() {
+        return errors;
+    }
+
+    public synchronized long getElapsedMs() {
+        return elapsedMs;
+    }
+
+    public synchronized void setElapsedMs(long elapsedMs) {
+        this.elapsedMs = elapsedMs;
+    }
+}
@@ -0,0 +1,51 @@
+package ca.uqam.latece.evo.server.core.response;
+
+import java.util.List;
+
+/**
+ * A page of results of the unified search, ordered by decreasing relevance.
+ * @version 1.0
+ * @author Edilton Lima dos Santos.
+ */
+public class SearchResponse {
+    private final String query;
+
+    private final int page;
+
+    private final int size;
+
+    private final boolean hasNext;
+
+    private final List<SearchResult> results;
+
+    public SearchResponse(String query, int page, int size, boolean hasNext, List<SearchResult> results) {
+        this.query = query;
+        this.page = page;
+        this.size = size;
+        this.hasNext = hasNext;
+        this.results = results;
+    }
+
+    public String getQuery() {
+        return query;
+    }
+
+    public int getPage() {
+        return page;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * @return true if the next page contains results.
+     */
+    public boolean isHasNext() {
+        return hasNext;
+    }
+
+    public List<SearchResult> getResults() {
+        return results;
+    }
+}
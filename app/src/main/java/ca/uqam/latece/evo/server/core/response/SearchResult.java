@@ -0,0 +1,19 @@
+package ca.uqam.latece.evo.server.core.response;
+
+/**
+ * A result of the unified search: the kind, id and name of a matching entity, with its relevance score. The score is
+ * 3 for an exact match, 2 for a prefix match and 1 for a substring match, plus the word similarity (0 to 1) between
+ * the query and the name, so typo-tolerant matches rank after the others.
+ * @version 1.0
+ * @author Edilton Lima dos Santos.
+ */
+public interface SearchResult {
+
+    String getType();
+
+    Long getId();
+
+    String getName();
+
+    Double getScore();
+}
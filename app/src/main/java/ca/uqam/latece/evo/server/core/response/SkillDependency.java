@@ -0,0 +1,12 @@
+package ca.uqam.latece.evo.server.core.response;
+
+/**
+ * A skill of the transitive prerequisites of a skill, with one of its direct prerequisites. A skill is returned once
+ * per direct prerequisite, and once with a null required id when it has none.
+ * @version 1.0
+ * @author Edilton Lima dos Santos.
+ */
+public interface SkillDependency extends SkillNode {
+
+    Long getRequiredId();
+}
@@ -0,0 +1,16 @@
+package ca.uqam.latece.evo.server.core.response;
+
+/**
+ * A skill reached while walking the skill graph (prerequisites or descendants of a skill): its id, name and type,
+ * without its relationships, so a whole sub graph is read and serialized without loading the Skill entities.
+ * @version 1.0
+ * @author Edilton Lima dos Santos.
+ */
+public interface SkillNode {
+
+    Long getId();
+
+    String getName();
+
+    String getType();
+}
@@ -0,0 +1,159 @@
+package ca.uqam.latece.evo.server.core.service;
+
+import ca.uqam.latece.evo.server.core.model.Assessment;
+import ca.uqam.latece.evo.server.core.model.instance.PatientAssessment;
+import ca.uqam.latece.evo.server.core.repository.AssessmentRepository;
+import ca.uqam.latece.evo.server.core.repository.instance.PatientAssessmentRepository;
+import ca.uqam.latece.evo.server.core.util.ObjectValidator;
+import ca.uqam.latece.evo.server.core.util.ScoringFunction;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Assessment Scoring Service: computes the score of the PatientAssessment entities with the scoring function of their
+ * Assessment (see {@link ScoringFunction}).
+ * <p>
+ * Each scoring function is compiled once and kept in memory; beyond {@value MAX_COMPILED_FUNCTIONS} functions, the
+ * least recently and frequently used are evicted one by one. A cohort is scored page by page, each page in its own
+ * transaction: the answers of a page are read with a single query, scored in parallel chunks on the fork-join pool,
+ * then the scores are written with a single JDBC batch and committed.
+ * @version 1.0
+ * @author Edilton Lima dos Santos.
+ */
+@Service
+@Transactional
+public class AssessmentScoringService {
+    private static final Logger logger = LoggerFactory.getLogger(AssessmentScoringService.class);
+
+    /**
+     * The number of PatientAssessment entities read, scored and updated at a time.
+     */
+    static final int PAGE_SIZE = 10_000;
+
+    /**
+     * The maximum number of compiled scoring functions kept in memory.
+     */
+    static final int MAX_COMPILED_FUNCTIONS = 1_000;
+
+    private final Cache<String, ScoringFunction> compiledFunctions = Caffeine.newBuilder()
+            .maximumSize(MAX_COMPILED_FUNCTIONS).build();
+
+    @Autowired
+    private PatientAssessmentRepository patientAssessmentRepository;
+
+    @Autowired
+    private AssessmentRepository assessmentRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    /**
+     * Compiles a scoring function, or returns it if it was already compiled.
+     * @param scoringFunction the scoring function.
+     * @return the compiled scoring function.
+     * @throws IllegalArgumentException if the scoring function is blank or invalid.
+     */
+    public ScoringFunction compile(String scoringFunction) {
+        ObjectValidator.validateString(scoringFunction);
+        return compiledFunctions.get(scoringFunction, ScoringFunction::compile);
+    }
+
+    /**
+     * Scores a PatientAssessment with the scoring function of its Assessment and saves the score.
+     * @param id the PatientAssessment id.
+     * @return the scored PatientAssessment (with a null score if it cannot be computed), or null if not found.
+     * @throws IllegalArgumentException if the id is null, or the PatientAssessment has no Assessment or its Assessment
+     * has an invalid scoring function.
+     */
+    public PatientAssessment score(Long id) {
+        ObjectValidator.validateId(id);
+        PatientAssessment patientAssessment = patientAssessmentRepository.findById(id).orElse(null);
+
+        if (patientAssessment != null) {
+            Assessment assessment = patientAssessment.getAssessmentActivity();
+
+            if (assessment == null) {
+                throw new IllegalArgumentException("The PatientAssessment " + id + " has no Assessment");
+            }
+
+            double score = compile(assessment.getAssessmentScoringFunction()).score(patientAssessment.getAssessment());
+            patientAssessment.setScore(Double.isNaN(score) ? null : score);
+            patientAssessment = patientAssessmentRepository.save(patientAssessment);
+            logger.info("PatientAssessment scored: {}", patientAssessment.getId());
+        }
+
+        return patientAssessment;
+    }
+
+    /**
+     * Scores all the PatientAssessment entities of an Assessment with its scoring function, committing each page. If a
+     * page fails, the previous pages stay scored, and scoring again recomputes them all.
+     * @param assessmentId the Assessment id.
+     * @return the number of scored PatientAssessment entities.
+     * @throws IllegalArgumentException if the id is null, the Assessment does not exist or its scoring function is
+     * invalid.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public int scoreAll(Long assessmentId) {
+        ObjectValidator.validateId(assessmentId);
+        Assessment assessment = assessmentRepository.findById(assessmentId).orElseThrow(() ->
+                new IllegalArgumentException("Assessment not found: " + assessmentId));
+        ScoringFunction function = compile(assessment.getAssessmentScoringFunction());
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        ScoredPage page = new ScoredPage(0, 0, 0);
+        int scored = 0;
+
+        do {
+            long afterId = page.lastId();
+            page = transaction.execute(status -> scorePage(function, assessmentId, afterId));
+            scored += page.scored();
+        } while (page.size() == PAGE_SIZE);
+
+        logger.info("{} PatientAssessment scored with the Assessment {}", scored, assessmentId);
+        return scored;
+    }
+
+    /**
+     * A page of scored PatientAssessment entities.
+     * @param size the number of PatientAssessment entities of the page.
+     * @param scored the number of updated scores.
+     * @param lastId the id of the last PatientAssessment of the page.
+     */
+    private record ScoredPage(int size, int scored, long lastId) {}
+
+    /**
+     * Scores the page of PatientAssessment entities after an id.
+     */
+    private ScoredPage scorePage(ScoringFunction function, long assessmentId, long afterId) {
+        List<PatientAssessmentRepository.Answers> page =
+                patientAssessmentRepository.findAnswersByAssessmentId(assessmentId, afterId, PAGE_SIZE);
+        int length = page.size();
+
+        if (length == 0) {
+            return new ScoredPage(0, 0, afterId);
+        }
+
+        long[] ids = new long[length];
+        List<String> answers = new ArrayList<>(length);
+
+        for (int i = 0; i < length; i++) {
+            ids[i] = page.get(i).getId();
+            answers.add(page.get(i).getAnswers());
+        }
+
+        double[] scores = new double[length];
+        function.scoreAll(ScoringFunction.Answers.parse(answers), scores);
+        return new ScoredPage(length, patientAssessmentRepository.updateScores(ids, scores, length), ids[length - 1]);
+    }
+}
@@ -6,10 +6,14 @@ import ca.uqam.latece.evo.server.core.model.Assessment;
 import ca.uqam.latece.evo.server.core.model.BCIActivity;
 import ca.uqam.latece.evo.server.core.model.Skill;
 import ca.uqam.latece.evo.server.core.repository.AssessmentRepository;
+import ca.uqam.latece.evo.server.core.repository.EvoFilter;
+import ca.uqam.latece.evo.server.core.request.EvoQuery;
+import ca.uqam.latece.evo.server.core.response.QueryPage;
 import ca.uqam.latece.evo.server.core.util.ObjectValidator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -25,9 +29,27 @@ import java.util.List;
 public class AssessmentService extends AbstractEvoService<Assessment> {
     private static final Logger logger = LoggerFactory.getLogger(AssessmentService.class);
 
+    public static final String QUERY_CACHE = "assessmentQuery";
+
+    /**
+     * The filters and sort orders of the Assessment queries.
+     */
+    private static final EvoFilter<Assessment> QUERY_FILTER = EvoFilter.of(Assessment.class)
+            .contains("name", "name")
+            .equal("type", "type", ActivityType::valueOf)
+            .equal("assesseeRole", "assessmentAssesseeRole.id", Long::valueOf)
+            .equal("assessorRole", "assessmentAssessorRole.id", Long::valueOf)
+            .equal("scale", "assessmentScale", Scale::valueOf)
+            .sortable("name", "name")
+            .sortable("type", "type")
+            .sortable("scale", "assessmentScale");
+
     @Autowired
     private AssessmentRepository  assessmentRepository;
 
+    @Autowired
+    private EvoQueryService evoQueryService;
+
 
     /**
      * Creates an Assessment in the database.
@@ -37,6 +59,7 @@ public class AssessmentService extends AbstractEvoService<Assessment> {
      * AssesseeRole is null, or AssessorRole is null, or if the name is duplicated.
      */
     @Override
+    @CacheEvict(cacheNames = QUERY_CACHE, allEntries = true)
     public Assessment create(Assessment assessment) {
         Assessment saved = null;
 
@@ -61,6 +84,7 @@ public class AssessmentService extends AbstractEvoService<Assessment> {
      * @throws IllegalArgumentException in case the given Assessment is null.
      */
     @Override
+    @CacheEvict(cacheNames = QUERY_CACHE, allEntries = true)
     public Assessment update(Assessment evoModel) {
         Assessment assessment = null;
 
@@ -137,6 +161,7 @@ public class AssessmentService extends AbstractEvoService<Assessment> {
      * @return true if an Assessment with the specified name exists, false otherwise.
      * @throws IllegalArgumentException if the name is null.
      */
+    @Transactional(readOnly = true)
     public boolean existsByName(String name) {
         ObjectValidator.validateString(name);
         return this.assessmentRepository.existsByName(name);
@@ -149,6 +174,7 @@ public class AssessmentService extends AbstractEvoService<Assessment> {
      * @throws IllegalArgumentException if the id is null.
      */
     @Override
+    @Transactional(readOnly = true)
     public boolean existsById(Long id) {
         ObjectValidator.validateId(id);
         return this.assessmentRepository.existsById(id);
@@ -163,6 +189,7 @@ public class AssessmentService extends AbstractEvoService<Assessment> {
      */
     @Override
     @Transactional
+    @CacheEvict(cacheNames = QUERY_CACHE, allEntries = true)
     public void deleteById(Long id) {
         ObjectValidator.validateId(id);
         this.assessmentRepository.deleteById(id);
@@ -176,6 +203,7 @@ public class AssessmentService extends AbstractEvoService<Assessment> {
      * @throws IllegalArgumentException – if id is null.
      */
     @Override
+    @Transactional(readOnly = true)
     public Assessment findById(Long id) {
         ObjectValidator.validateId(id);
         return this.assessmentRepository.findById(id).orElse(null);
@@ -187,6 +215,7 @@ public class AssessmentService extends AbstractEvoService<Assessment> {
      * @return a list of Assessment entities matching the specified name.
      * @throws IllegalArgumentException – if the name is null.
      */
+    @Transactional(readOnly = true)
     public List<Assessment> findByName(String name) {
         ObjectValidator.validateString(name);
         return this.assessmentRepository.findByName(name);
@@ -198,6 +227,7 @@ public class AssessmentService extends AbstractEvoService<Assessment> {
      * @return a list of Assessment entities matching the specified type.
      * @throws IllegalArgumentException – if the type is null.
      */
+    @Transactional(readOnly = true)
     public List<Assessment> findByType(ActivityType type) {
         ObjectValidator.validateObject(type);
         return this.assessmentRepository.findByType(type);
@@ -209,6 +239,7 @@ public class AssessmentService extends AbstractEvoService<Assessment> {
      * @return the Assessment with the given id or Optional#empty() if none found.
      * @throws IllegalArgumentException – if id is null.
      */
+    @Transactional(readOnly = true)
     public List<Assessment> findByDevelopsBCIActivity_Id(Long id) {
         ObjectValidator.validateObject(id);
         return this.assessmentRepository.findByDevelopsBCIActivity_Id(id);
@@ -220,6 +251,7 @@ public class AssessmentService extends AbstractEvoService<Assessment> {
      * @return the Assessment with the given Requires id or Optional#empty() if none found.
      * @throws IllegalArgumentException – if Requires id is null.
      */
+    @Transactional(readOnly = true)
     public List<Assessment> findByRequiresBCIActivities_Id(Long id) {
         ObjectValidator.validateObject(id);
         return this.assessmentRepository.findByRequiresBCIActivities_Id(id);
@@ -231,6 +263,7 @@ public class AssessmentService extends AbstractEvoService<Assessment> {
      * @return the Assessment with the given Content id or Optional#empty() if none found.
      * @throws IllegalArgumentException – if Content id is null.
      */
+    @Transactional(readOnly = true)
     public List<Assessment> findByContentBCIActivities_Id(Long id) {
         ObjectValidator.validateObject(id);
         return this.assessmentRepository.findByContentBCIActivities_Id(id);
@@ -242,6 +275,7 @@ public class AssessmentService extends AbstractEvoService<Assessment> {
      * @return the Assessment with the given Role id or Optional#empty() if none found.
      * @throws IllegalArgumentException – if Role id is null.
      */
+    @Transactional(readOnly = true)
     public List<Assessment> findByRoleBCIActivities_Id(Long id) {
         ObjectValidator.validateObject(id);
         return this.assessmentRepository.findByParties_Id(id);
@@ -253,6 +287,7 @@ public class AssessmentService extends AbstractEvoService<Assessment> {
      * @return the Assessment with the given composedOf id or Optional#empty() if none found.
      * @throws IllegalArgumentException – if composedOf id is null.
      */
+    @Transactional(readOnly = true)
     public List<Assessment> findByComposedOfList_Id(Long id) {
         ObjectValidator.validateObject(id);
         return this.assessmentRepository.findByComposedOfList_Id(id);
@@ -264,6 +299,7 @@ public class AssessmentService extends AbstractEvoService<Assessment> {
      * @return the Assessment with the given AssesseeRole id or Optional#empty() if none found.
      * @throws IllegalArgumentException – if AssesseeRole id is null.
      */
+    @Transactional(readOnly = true)
     public List<Assessment> findByAssessmentAssesseeRole_Id(Long id) {
         ObjectValidator.validateId(id);
         return this.assessmentRepository.findByAssessmentAssesseeRole_Id(id);
@@ -275,6 +311,7 @@ public class AssessmentService extends AbstractEvoService<Assessment> {
      * @return the Assessment with the given AssessorRole id or Optional#empty() if none found.
      * @throws IllegalArgumentException – if AssessorRole id is null.
      */
+    @Transactional(readOnly = true)
     public List<Assessment> findByAssessmentAssessorRole_Id(Long id) {
         ObjectValidator.validateId(id);
         return this.assessmentRepository.findByAssessmentAssessorRole_Id(id);
@@ -286,6 +323,7 @@ public class AssessmentService extends AbstractEvoService<Assessment> {
      * @return the Assessment with the given Scale or Optional#empty() if none found.
      * @throws IllegalArgumentException – if Scale is null.
      */
+    @Transactional(readOnly = true)
     public List<Assessment> findByAssessmentScale(Scale scale) {
         ObjectValidator.validateObject(scale);
         return this.assessmentRepository.findByAssessmentScale(scale);
@@ -297,6 +335,7 @@ public class AssessmentService extends AbstractEvoService<Assessment> {
      * @return the Assessment with the given scoring function or Optional#empty() if none found.
      * @throws IllegalArgumentException – if scoring function is null.
      */
+    @Transactional(readOnly = true)
     public List<Assessment> findByAssessmentScoringFunction(String scoringFunction) {
         ObjectValidator.validateString(scoringFunction);
         return this.assessmentRepository.findByAssessmentScoringFunction(scoringFunction);
@@ -308,6 +347,7 @@ public class AssessmentService extends AbstractEvoService<Assessment> {
      * @return the Assessment with the given SelfRelationship id or Optional#empty() if none found.
      * @throws IllegalArgumentException – if SelfRelationship id is null.
      */
+    @Transactional(readOnly = true)
     public List<Assessment> findByAssessmentSelfRelationship_Id(Long id) {
         ObjectValidator.validateId(id);
         return this.assessmentRepository.findByAssessmentSelfRelationship_Id(id);
@@ -319,6 +359,7 @@ public class AssessmentService extends AbstractEvoService<Assessment> {
      * @return the Assessment with the given Assessment or Optional#empty() if none found.
      * @throws IllegalArgumentException – if Assessment is null.
      */
+    @Transactional(readOnly = true)
     public List<Assessment> findByAssessmentSelfRelationship(Assessment assessment) {
         ObjectValidator.validateObject(assessment);
         return this.assessmentRepository.findByAssessmentSelfRelationship(assessment);
@@ -329,8 +370,21 @@ public class AssessmentService extends AbstractEvoService<Assessment> {
      * @return all Assessment.
      */
     @Override
+    @Transactional(readOnly = true)
     public List<Assessment> findAll() {
         return this.assessmentRepository.findAll();
     }
 
+    /**
+     * Finds a page of the Assessments matching all the filters of a query: name (substring), type, assesseeRole and
+     * assessorRole (Role ids) and scale. A repeated filter matches any of its values.
+     * @param query the query.
+     * @return the page of Assessments.
+     * @throws IllegalArgumentException if the query has an unknown filter or sort order, or an invalid value.
+     */
+    @Transactional(readOnly = true)
+    public QueryPage<Assessment> query(EvoQuery query) {
+        return evoQueryService.query(QUERY_CACHE, Assessment.class, QUERY_FILTER, query, assessmentRepository);
+    }
+
 }
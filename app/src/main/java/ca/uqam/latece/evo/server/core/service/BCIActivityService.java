@@ -103,6 +103,7 @@ public class BCIActivityService extends AbstractEvoService<BCIActivity> {
      * @throws IllegalArgumentException if the id is null.
      */
     @Override
+    @Transactional(readOnly = true)
     public boolean existsById(Long id) {
         ObjectValidator.validateId(id);
         return bciActivityRepository.existsById(id);
@@ -130,6 +131,7 @@ public class BCIActivityService extends AbstractEvoService<BCIActivity> {
      * @throws IllegalArgumentException – if id is null.
      */
     @Override
+    @Transactional(readOnly = true)
     public BCIActivity findById(Long id) {
         ObjectValidator.validateId(id);
         return bciActivityRepository.findById(id).orElse(null);
@@ -140,6 +142,7 @@ public class BCIActivityService extends AbstractEvoService<BCIActivity> {
      * @param name the type of the BCIActivity to search for.
      * @return a list of BCIActivity entities matching the specified name.
      */
+    @Transactional(readOnly = true)
     public List<BCIActivity> findByName(String name) {
         ObjectValidator.validateString(name);
         return bciActivityRepository.findByName(name);
@@ -150,6 +153,7 @@ public class BCIActivityService extends AbstractEvoService<BCIActivity> {
      * @param type the type of the BCIActivity to search for.
      * @return a list of BCIActivity entities matching the specified type.
      */
+    @Transactional(readOnly = true)
     public List<BCIActivity> findByType(ActivityType type) {
         ObjectValidator.validateObject(type);
         return bciActivityRepository.findByType(type);
@@ -160,6 +164,7 @@ public class BCIActivityService extends AbstractEvoService<BCIActivity> {
      * @param developsId The Develops Id to filter BCIActivity entities by, must not be null.
      * @return a list of BCIActivity entities that have the specified Develops id, or an empty list if no matches are found.
      */
+    @Transactional(readOnly = true)
     public List<BCIActivity> findByDevelops(Long developsId) {
         ObjectValidator.validateId(developsId);
         return bciActivityRepository.findByDevelopsBCIActivity_Id(developsId);
@@ -170,6 +175,7 @@ public class BCIActivityService extends AbstractEvoService<BCIActivity> {
      * @param requiresId The Requires Id to filter BCIActivity entities by, must not be null.
      * @return a list of BCIActivity entities that have the specified Requires id, or an empty list if no matches are found.
      */
+    @Transactional(readOnly = true)
     public List<BCIActivity> findByRequires(Long requiresId) {
         ObjectValidator.validateId(requiresId);
         return bciActivityRepository.findByRequiresBCIActivities_Id(requiresId);
@@ -180,6 +186,7 @@ public class BCIActivityService extends AbstractEvoService<BCIActivity> {
      * @param roleId The Role Id to filter BCIActivity entities by, must not be null.
      * @return a list of BCIActivity entities that have the specified Role id, or an empty list if no matches are found.
      */
+    @Transactional(readOnly = true)
     public List<BCIActivity> findByRole(Long roleId) {
         ObjectValidator.validateId(roleId);
         return bciActivityRepository.findByParties_Id(roleId);
@@ -190,6 +197,7 @@ public class BCIActivityService extends AbstractEvoService<BCIActivity> {
      * @param contentId The Content Id to filter BCIActivity entities by, must not be null.
      * @return a list of BCIActivity entities that have the specified Content id, or an empty list if no matches are found.
      */
+    @Transactional(readOnly = true)
     public List<BCIActivity> findByContent(Long contentId) {
         ObjectValidator.validateId(contentId);
         return bciActivityRepository.findByContentBCIActivities_Id(contentId);
@@ -200,6 +208,7 @@ public class BCIActivityService extends AbstractEvoService<BCIActivity> {
      * @return all BCIActivity.
      */
     @Override
+    @Transactional(readOnly = true)
     public List<BCIActivity> findAll() {
         return bciActivityRepository.findAll().stream().toList();
     }
@@ -210,6 +219,7 @@ public class BCIActivityService extends AbstractEvoService<BCIActivity> {
      * @return true if a BCIActivity with the specified name exists, false otherwise.
      * @throws IllegalArgumentException if the name is null.
      */
+    @Transactional(readOnly = true)
     public boolean existsByName(String name) {
         ObjectValidator.validateString(name);
         return bciActivityRepository.existsByName(name);
@@ -138,6 +138,7 @@ public class BCIModuleService extends AbstractEvoService<BCIModule> {
      * @throws IllegalArgumentException if the id is null.
      */
     @Override
+    @Transactional(readOnly = true)
     public boolean existsById(Long id) {
         ObjectValidator.validateId(id);
         return this.moduleRepository.existsById(id);
@@ -149,6 +150,7 @@ public class BCIModuleService extends AbstractEvoService<BCIModule> {
      * @return true if a BCIModule with the specified name exists, false otherwise.
      * @throws IllegalArgumentException if the name is null.
      */
+    @Transactional(readOnly = true)
     public boolean existsByName(String name) {
         ObjectValidator.validateString(name);
         return this.moduleRepository.existsByName(name);
@@ -176,6 +178,7 @@ public class BCIModuleService extends AbstractEvoService<BCIModule> {
      * @throws IllegalArgumentException – if id is null.
      */
     @Override
+    @Transactional(readOnly = true)
     public BCIModule findById(Long id) {
         ObjectValidator.validateId(id);
         return moduleRepository.findById(id).orElse(null);
@@ -186,6 +189,7 @@ public class BCIModuleService extends AbstractEvoService<BCIModule> {
      * @param name the type of the BCIModule to search for.
      * @return a list of BCIModule entities matching the specified name.
      */
+    @Transactional(readOnly = true)
     public List<BCIModule> findByName(String name) {
         ObjectValidator.validateString(name);
         return moduleRepository.findByName(name);
@@ -196,6 +200,7 @@ public class BCIModuleService extends AbstractEvoService<BCIModule> {
      * @param id the skill id used to search for BCIModule.
      * @return the BCIModule with the given name or null if none found.
      */
+    @Transactional(readOnly = true)
     public List<BCIModule> findBySkillId(Long id) {
         ObjectValidator.validateId(id);
         return moduleRepository.findBySkillsId(id);
@@ -207,6 +212,7 @@ public class BCIModuleService extends AbstractEvoService<BCIModule> {
      * @return the BCIModule with the given name or null if none found.
      * @throws IllegalArgumentException if skill is null.
      */
+    @Transactional(readOnly = true)
     public List<BCIModule> findBySkills(Skill skill) {
         List<BCIModule> foundModules = new ArrayList<>();
 
@@ -229,6 +235,7 @@ public class BCIModuleService extends AbstractEvoService<BCIModule> {
      * @return the BCIModule with the given name or null if none found.
      * @throws IllegalArgumentException if id is null.
      */
+    @Transactional(readOnly = true)
     public List<BCIModule> findByBehaviorChangeInterventionPhasesId(Long id) {
         ObjectValidator.validateId(id);
         return moduleRepository.findByBehaviorChangeInterventionPhasesId(id);
@@ -240,6 +247,7 @@ public class BCIModuleService extends AbstractEvoService<BCIModule> {
      * @return the BCIModule with the given name or null if none found.
      * @throws IllegalArgumentException if BehaviorChangeInterventionPhase is null.
      */
+    @Transactional(readOnly = true)
     public List<BCIModule> findByBehaviorChangeInterventionPhases(BehaviorChangeInterventionPhase behaviorChangeInterventionPhases){
         List<BCIModule> foundModules = new ArrayList<>();
 
@@ -261,6 +269,7 @@ public class BCIModuleService extends AbstractEvoService<BCIModule> {
      * @return all BCIModule.
      */
     @Override
+    @Transactional(readOnly = true)
     public List<BCIModule> findAll() {
         return moduleRepository.findAll().stream().toList();
     }
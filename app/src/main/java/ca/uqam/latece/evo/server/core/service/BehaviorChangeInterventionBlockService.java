@@ -76,6 +76,7 @@ public class BehaviorChangeInterventionBlockService extends AbstractEvoService<B
      * @throws IllegalArgumentException if the provided id is null.
      */
     @Override
+    @Transactional(readOnly = true)
     public boolean existsById(Long id) {
         ObjectValidator.validateId(id);
         return behaviorChangeInterventionBlockRepository.existsById(id);
@@ -102,6 +103,7 @@ public class BehaviorChangeInterventionBlockService extends AbstractEvoService<B
      * @throws IllegalArgumentException if the provided id is null or invalid.
      */
     @Override
+    @Transactional(readOnly = true)
     public BehaviorChangeInterventionBlock findById(Long id) {
         ObjectValidator.validateId(id);
         return behaviorChangeInterventionBlockRepository.findById(id).orElse(null);
@@ -115,6 +117,7 @@ public class BehaviorChangeInterventionBlockService extends AbstractEvoService<B
      * @return the behavior change intervention block corresponding to the specified identifier.
      * @throws IllegalArgumentException if the provided entryConditions is null or invalid.
      */
+    @Transactional(readOnly = true)
     public List<BehaviorChangeInterventionBlock> findByEntryConditions(String entryConditions) {
         ObjectValidator.validateString(entryConditions);
         return behaviorChangeInterventionBlockRepository.findByEntryConditions(entryConditions);
@@ -128,6 +131,7 @@ public class BehaviorChangeInterventionBlockService extends AbstractEvoService<B
      * @return the behavior change intervention block corresponding to the specified identifier.
      * @throws IllegalArgumentException if the provided exitConditions is null or invalid.
      */
+    @Transactional(readOnly = true)
     public List<BehaviorChangeInterventionBlock> findByExitConditions(String exitConditions) {
         ObjectValidator.validateString(exitConditions);
         return behaviorChangeInterventionBlockRepository.findByExitConditions(exitConditions);
@@ -140,6 +144,7 @@ public class BehaviorChangeInterventionBlockService extends AbstractEvoService<B
      * Phase Id specified.
      * @throws IllegalArgumentException if the provided id is null or invalid.
      */
+    @Transactional(readOnly = true)
     public List<BehaviorChangeInterventionBlock> findByBehaviorChangeInterventionPhaseId(Long id) {
         ObjectValidator.validateId(id);
         return behaviorChangeInterventionBlockRepository.findByBehaviorChangeInterventionPhaseId(id);
@@ -150,6 +155,7 @@ public class BehaviorChangeInterventionBlockService extends AbstractEvoService<B
      * @return a list of all behavior change intervention block present in the repository.
      */
     @Override
+    @Transactional(readOnly = true)
     public List<BehaviorChangeInterventionBlock> findAll() {
         return behaviorChangeInterventionBlockRepository.findAll().stream().toList();
     }
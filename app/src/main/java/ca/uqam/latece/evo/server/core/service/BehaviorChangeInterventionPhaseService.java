@@ -77,6 +77,7 @@ public class BehaviorChangeInterventionPhaseService extends AbstractEvoService<B
      * @throws IllegalArgumentException if the provided id is null.
      */
     @Override
+    @Transactional(readOnly = true)
     public boolean existsById(Long id) {
         ObjectValidator.validateId(id);
         return behaviorChangeInterventionPhaseRepository.existsById(id);
@@ -103,6 +104,7 @@ public class BehaviorChangeInterventionPhaseService extends AbstractEvoService<B
      * @throws IllegalArgumentException if the provided id is null or invalid.
      */
     @Override
+    @Transactional(readOnly = true)
     public BehaviorChangeInterventionPhase findById(Long id) {
         ObjectValidator.validateId(id);
         return behaviorChangeInterventionPhaseRepository.findById(id).orElse(null);
@@ -116,6 +118,7 @@ public class BehaviorChangeInterventionPhaseService extends AbstractEvoService<B
      * @return the behavior change intervention phase corresponding to the specified identifier.
      * @throws IllegalArgumentException if the provided entryConditions is null or invalid.
      */
+    @Transactional(readOnly = true)
     public List<BehaviorChangeInterventionPhase> findByEntryConditions(String entryConditions) {
         ObjectValidator.validateString(entryConditions);
         return behaviorChangeInterventionPhaseRepository.findByEntryConditions(entryConditions);
@@ -129,6 +132,7 @@ public class BehaviorChangeInterventionPhaseService extends AbstractEvoService<B
      * @return the behavior change intervention phase corresponding to the specified identifier.
      * @throws IllegalArgumentException if the provided exitConditions is null or invalid.
      */
+    @Transactional(readOnly = true)
     public List<BehaviorChangeInterventionPhase> findByExitConditions(String exitConditions) {
         ObjectValidator.validateString(exitConditions);
         return behaviorChangeInterventionPhaseRepository.findByExitConditions(exitConditions);
@@ -141,6 +145,7 @@ public class BehaviorChangeInterventionPhaseService extends AbstractEvoService<B
      * Id specified.
      * @throws IllegalArgumentException if the provided id is null or invalid.
      */
+    @Transactional(readOnly = true)
     public List<BehaviorChangeInterventionPhase> findByBehaviorChangeInterventionId(Long id) {
         ObjectValidator.validateId(id);
         return behaviorChangeInterventionPhaseRepository.findByBehaviorChangeInterventionId(id);
@@ -153,6 +158,7 @@ public class BehaviorChangeInterventionPhaseService extends AbstractEvoService<B
      * Block Id specified.
      * @throws IllegalArgumentException if the provided id is null or invalid.
      */
+    @Transactional(readOnly = true)
     public List<BehaviorChangeInterventionPhase> findByBehaviorChangeInterventionBlockId(Long id) {
         ObjectValidator.validateId(id);
         return behaviorChangeInterventionPhaseRepository.findByBehaviorChangeInterventionBlockId(id);
@@ -164,6 +170,7 @@ public class BehaviorChangeInterventionPhaseService extends AbstractEvoService<B
      * @return the behavior change intervention phase associated with BCIModule specified.
      * @throws IllegalArgumentException if the provided id is null or invalid.
      */
+    @Transactional(readOnly = true)
     public List<BehaviorChangeInterventionPhase> findByBciModules(BCIModule bciModule) {
         ObjectValidator.validateObject(bciModule);
         ObjectValidator.validateId(bciModule.getId());
@@ -177,6 +184,7 @@ public class BehaviorChangeInterventionPhaseService extends AbstractEvoService<B
      * @return the behavior change intervention phase associated with BCIModule id specified.
      * @throws IllegalArgumentException if the provided id is null or invalid.
      */
+    @Transactional(readOnly = true)
     public List<BehaviorChangeInterventionPhase> findByBCIModulesId(Long id) {
         ObjectValidator.validateObject(id);
         return behaviorChangeInterventionPhaseRepository.findByBciModulesId(id);
@@ -188,6 +196,7 @@ public class BehaviorChangeInterventionPhaseService extends AbstractEvoService<B
      * @return the behavior change intervention phase associated with BCIModule name specified.
      * @throws IllegalArgumentException if the provided id is null or invalid.
      */
+    @Transactional(readOnly = true)
     public List<BehaviorChangeInterventionPhase> findByBCIModulesName(String name) {
         ObjectValidator.validateString(name);
         return behaviorChangeInterventionPhaseRepository.findByBciModulesName(name);
@@ -198,6 +207,7 @@ public class BehaviorChangeInterventionPhaseService extends AbstractEvoService<B
      * @return a list of all behavior change intervention phase present in the repository.
      */
     @Override
+    @Transactional(readOnly = true)
     public List<BehaviorChangeInterventionPhase> findAll() {
         return behaviorChangeInterventionPhaseRepository.findAll().stream().toList();
     }
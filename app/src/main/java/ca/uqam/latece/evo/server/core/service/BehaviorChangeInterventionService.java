@@ -129,6 +129,7 @@ public class BehaviorChangeInterventionService extends AbstractEvoService<Behavi
      * @return true if a BehaviorChangeIntervention with the specified name exists, false otherwise.
      * @throws IllegalArgumentException if the name is null.
      */
+    @Transactional(readOnly = true)
     public boolean existsByName(String name) {
         ObjectValidator.validateString(name);
         return behaviorChangeInterventionRepository.existsByName(name);
@@ -141,6 +142,7 @@ public class BehaviorChangeInterventionService extends AbstractEvoService<Behavi
      * @throws IllegalArgumentException if the provided id is null.
      */
     @Override
+    @Transactional(readOnly = true)
     public boolean existsById(Long id) {
         ObjectValidator.validateId(id);
         return behaviorChangeInterventionRepository.existsById(id);
@@ -153,6 +155,7 @@ public class BehaviorChangeInterventionService extends AbstractEvoService<Behavi
      * @throws IllegalArgumentException if the provided id is null or invalid.
      */
     @Override
+    @Transactional(readOnly = true)
     public BehaviorChangeIntervention findById(Long id) {
         ObjectValidator.validateId(id);
         return behaviorChangeInterventionRepository.findById(id).orElse(null);
@@ -164,6 +167,7 @@ public class BehaviorChangeInterventionService extends AbstractEvoService<Behavi
      * @return the BehaviorChangeIntervention with the given name or Optional#empty() if none found.
      * @throws IllegalArgumentException if the name is null.
      */
+    @Transactional(readOnly = true)
     public List<BehaviorChangeIntervention> findByName(String name) {
         ObjectValidator.validateString(name);
         return behaviorChangeInterventionRepository.findByName(name);
@@ -176,6 +180,7 @@ public class BehaviorChangeInterventionService extends AbstractEvoService<Behavi
      * Phase Id specified.
      * @throws IllegalArgumentException if the provided id is null or invalid.
      */
+    @Transactional(readOnly = true)
     public List<BehaviorChangeIntervention> findByBehaviorChangeInterventionPhase(Long id) {
         ObjectValidator.validateObject(id);
         return behaviorChangeInterventionRepository.findByBehaviorChangeInterventionPhase(id);
@@ -186,6 +191,7 @@ public class BehaviorChangeInterventionService extends AbstractEvoService<Behavi
      * @return a list of all behavior change intervention present in the repository.
      */
     @Override
+    @Transactional(readOnly = true)
     public List<BehaviorChangeIntervention> findAll() {
         return behaviorChangeInterventionRepository.findAll().stream().toList();
     }
@@ -111,6 +111,7 @@ public class BehaviorPerformanceService extends AbstractEvoService<BehaviorPerfo
      * @return true if a BehaviorPerformance with the specified name exists, false otherwise.
      * @throws IllegalArgumentException if the name is null.
      */
+    @Transactional(readOnly = true)
     public boolean existsByName(String name) {
         ObjectValidator.validateString(name);
         return behaviorPerformanceRepository.existsByName(name);
@@ -123,6 +124,7 @@ public class BehaviorPerformanceService extends AbstractEvoService<BehaviorPerfo
      * @throws IllegalArgumentException if the provided id is null.
      */
     @Override
+    @Transactional(readOnly = true)
     public boolean existsById(Long id) {
         ObjectValidator.validateId(id);
         return behaviorPerformanceRepository.existsById(id);
@@ -148,6 +150,7 @@ public class BehaviorPerformanceService extends AbstractEvoService<BehaviorPerfo
      * @throws IllegalArgumentException if the provided id is null or invalid.
      */
     @Override
+    @Transactional(readOnly = true)
     public BehaviorPerformance findById(Long id) {
         ObjectValidator.validateId(id);
         return behaviorPerformanceRepository.findById(id).orElse(null);
@@ -159,6 +162,7 @@ public class BehaviorPerformanceService extends AbstractEvoService<BehaviorPerfo
      * @return the BehaviorPerformance with the given name or Optional#empty() if none found.
      * @throws IllegalArgumentException if the name is null.
      */
+    @Transactional(readOnly = true)
     public List<BehaviorPerformance> findByName(String name) {
         ObjectValidator.validateString(name);
         return behaviorPerformanceRepository.findByName(name);
@@ -169,6 +173,7 @@ public class BehaviorPerformanceService extends AbstractEvoService<BehaviorPerfo
      * @param type the type of the BehaviorPerformance to search for.
      * @return a list of BehaviorPerformance entities matching the specified type.
      */
+    @Transactional(readOnly = true)
     public List<BehaviorPerformance> findByType(ActivityType type) {
         ObjectValidator.validateObject(type);
         return behaviorPerformanceRepository.findByType(type);
@@ -179,6 +184,7 @@ public class BehaviorPerformanceService extends AbstractEvoService<BehaviorPerfo
      * @return a list of all behavior performance present in the repository.
      */
     @Override
+    @Transactional(readOnly = true)
     public List<BehaviorPerformance> findAll() {
         return behaviorPerformanceRepository.findAll().stream().toList();
     }
@@ -0,0 +1,274 @@
+package ca.uqam.latece.evo.server.core.service;
+
+import ca.uqam.latece.evo.server.core.exceptions.StorageException;
+import ca.uqam.latece.evo.server.core.exceptions.StorageFileNotFoundException;
+import ca.uqam.latece.evo.server.core.interfaces.BlobStore;
+import ca.uqam.latece.evo.server.core.model.StorageReference;
+import ca.uqam.latece.evo.server.core.repository.StorageBlobRepository;
+import ca.uqam.latece.evo.server.core.repository.StorageReferenceRepository;
+import ca.uqam.latece.evo.server.core.util.LocalStorage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
+
+/**
+ * Content-addressed storage of the files of the entities. Each upload is streamed through a SHA-256 digest into a
+ * staging file of the BlobStore, then published under its hash, so a file attached to many entities is stored once.
+ * <p>
+ * The files of the entities are StorageReference rows pointing to StorageBlob rows, which count their references: a
+ * blob is deleted from the BlobStore once the transaction that deleted its last reference commits. The reference counts
+ * are updated with single statements whose row locks serialize the concurrent uploads and deletions of the same
+ * content. A blob whose deletion did not run (e.g. the server stopped after the commit) stays as an unreferenced row,
+ * and is reused by the next upload of the same content.
+ * <p>
+ * Enabled with the property evo.storage.content-addressed.enabled=true.
+ * @version 1.0
+ * @author Edilton Lima dos Santos.
+ */
+@Service
+@Transactional
+@ConditionalOnProperty(name = "evo.storage.content-addressed.enabled", havingValue = "true")
+public class BlobStorageService {
+    private static final Logger logger = LoggerFactory.getLogger(BlobStorageService.class);
+
+    @Autowired
+    private BlobStore blobStore;
+
+    @Autowired
+    private StorageBlobRepository storageBlobRepository;
+
+    @Autowired
+    private StorageReferenceRepository storageReferenceRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    public BlobStorageService() {}
+
+    public BlobStorageService(BlobStore blobStore, StorageBlobRepository storageBlobRepository,
+                              StorageReferenceRepository storageReferenceRepository,
+                              PlatformTransactionManager transactionManager) {
+        this.blobStore = blobStore;
+        this.storageBlobRepository = storageBlobRepository;
+        this.storageReferenceRepository = storageReferenceRepository;
+        this.transactionManager = transactionManager;
+    }
+
+    /**
+     * Stores a file of an entity, replacing the file with the same name if any.
+     * @param location the kind of entity owning the file (e.g. content).
+     * @param ownerId the id of the entity.
+     * @param file the file to be stored.
+     * @return the name of the stored file.
+     * @throws StorageException if the file is empty, its name contains illegal characters or it could not be stored.
+     */
+    public String store(String location, String ownerId, MultipartFile file) {
+        if (file.isEmpty() || file.getOriginalFilename() == null || file.getOriginalFilename().isEmpty()) {
+            throw new StorageException("File is empty or does not have a name");
+        }
+
+        String filename = new LocalStorage().sanitizeFilename(Path.of(file.getOriginalFilename()).getFileName().toString());
+        Path stagingFile = this.blobStore.createStagingFile();
+
+        try {
+            return store(location, ownerId, filename, stagingFile, stage(file, stagingFile));
+        } catch (IOException e) {
+            throw new StorageException("Failed to store file " + filename, e);
+        } finally {
+            deleteStagedFile(stagingFile);
+        }
+    }
+
+    /**
+     * Stores a file of an entity already staged on the local disk, with its hash computed while it was uploaded,
+     * replacing the file with the same name if any. The staged file is consumed.
+     * @param location the kind of entity owning the file (e.g. content).
+     * @param ownerId the id of the entity.
+     * @param filename the name of the file.
+     * @param stagedFile the staged file.
+     * @param hash the hexadecimal SHA-256 of the staged file.
+     * @return the name of the stored file.
+     * @throws StorageException if the name of the file contains illegal characters or it could not be stored.
+     */
+    public String store(String location, String ownerId, String filename, Path stagedFile, String hash) {
+        String sanitizedFilename = new LocalStorage().sanitizeFilename(filename);
+
+        try {
+            Optional<StorageReference> existing = this.storageReferenceRepository
+                    .findByLocationAndOwnerIdAndFilename(location, ownerId, sanitizedFilename);
+
+            if (existing.isPresent() && existing.get().getBlobHash().equals(hash)) {
+                logger.info("File {} of {} {} unchanged", sanitizedFilename, location, ownerId);
+                return sanitizedFilename;
+            }
+
+            // The reference is counted before the blob is published, so a concurrent deletion of the last reference
+            // to the same content either completes before (and the blob is published again) or sees this reference.
+            this.storageBlobRepository.acquire(hash, Files.size(stagedFile));
+            this.blobStore.publish(hash, stagedFile);
+
+            if (existing.isPresent()) {
+                String oldHash = existing.get().getBlobHash();
+                existing.get().setBlobHash(hash);
+                this.storageReferenceRepository.saveAndFlush(existing.get());
+                release(oldHash);
+            } else {
+                this.storageReferenceRepository.save(new StorageReference(location, ownerId, sanitizedFilename, hash));
+            }
+
+            logger.info("File {} of {} {} stored as blob {}", sanitizedFilename, location, ownerId, hash);
+            return sanitizedFilename;
+        } catch (IOException e) {
+            throw new StorageException("Failed to store file " + sanitizedFilename, e);
+        } finally {
+            deleteStagedFile(stagedFile);
+        }
+    }
+
+    /**
+     * Deletes a file of an entity. The blob storing it is deleted if no other file references it.
+     * @param location the kind of entity owning the file (e.g. content).
+     * @param ownerId the id of the entity.
+     * @param filename the name of the file to be deleted.
+     */
+    public void delete(String location, String ownerId, String filename) {
+        this.storageReferenceRepository.findByLocationAndOwnerIdAndFilename(location, ownerId, filename)
+                .ifPresent(this::delete);
+    }
+
+    /**
+     * Deletes all the files of an entity.
+     * @param location the kind of entity owning the files (e.g. content).
+     * @param ownerId the id of the entity.
+     */
+    public void deleteAll(String location, String ownerId) {
+        this.storageReferenceRepository.findByLocationAndOwnerId(location, ownerId).forEach(this::delete);
+    }
+
+    /**
+     * Loads a file of an entity as a Resource usable by the Spring framework.
+     * @param location the kind of entity owning the file (e.g. content).
+     * @param ownerId the id of the entity.
+     * @param filename the name of the file.
+     * @return the file in the form of a Resource.
+     * @throws StorageFileNotFoundException if the entity has no file with this name.
+     */
+    @Transactional(readOnly = true)
+    public Resource loadAsResource(String location, String ownerId, String filename) {
+        return this.blobStore.loadAsResource(findReference(location, ownerId, filename).getBlobHash());
+    }
+
+    /**
+     * Returns the local file storing a file of an entity, for the blob stores keeping the blobs on the local disk.
+     * @param location the kind of entity owning the file (e.g. content).
+     * @param ownerId the id of the entity.
+     * @param filename the name of the file.
+     * @return the path of the blob storing the file.
+     * @throws StorageFileNotFoundException if the entity has no file with this name.
+     */
+    @Transactional(readOnly = true)
+    public Path load(String location, String ownerId, String filename) {
+        return this.blobStore.load(findReference(location, ownerId, filename).getBlobHash());
+    }
+
+    private StorageReference findReference(String location, String ownerId, String filename) {
+        return this.storageReferenceRepository.findByLocationAndOwnerIdAndFilename(location, ownerId, filename)
+                .orElseThrow(() -> new StorageFileNotFoundException("Could not read file: " + filename));
+    }
+
+    private void delete(StorageReference reference) {
+        this.storageReferenceRepository.delete(reference);
+        this.storageReferenceRepository.flush();
+        release(reference.getBlobHash());
+        logger.info("File {} of {} {} deleted", reference.getFilename(), reference.getLocation(),
+                reference.getOwnerId());
+    }
+
+    /**
+     * Removes a reference to a blob. When it was the last one, the blob is deleted after the transaction commits, so a
+     * rolled back transaction keeps both the rows and the content of the blob.
+     */
+    private void release(String hash) {
+        this.storageBlobRepository.release(hash);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    deleteUnreferenced(hash);
+                }
+            });
+        } else {
+            deleteUnreferenced(hash);
+        }
+    }
+
+    /**
+     * Deletes a blob if it is still unreferenced, in a new transaction that locks its row while the content is deleted,
+     * so that a concurrent upload of the same content waits and then publishes it again.
+     */
+    private void deleteUnreferenced(String hash) {
+        TransactionTemplate transaction = new TransactionTemplate(this.transactionManager);
+        transaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        try {
+            transaction.executeWithoutResult(status -> this.storageBlobRepository.lockUnreferenced(hash)
+                    .ifPresent(unreferenced -> {
+                        this.blobStore.delete(hash);
+                        this.storageBlobRepository.deleteUnreferenced(hash);
+                    }));
+        } catch (RuntimeException e) {
+            logger.warn("Unreferenced blob {} not deleted: {}", hash, e.getMessage());
+        }
+    }
+
+    private static void deleteStagedFile(Path stagedFile) {
+        try {
+            Files.deleteIfExists(stagedFile);
+        } catch (IOException e) {
+            logger.warn("Could not delete staged file {}", stagedFile, e);
+        }
+    }
+
+    /**
+     * Streams an upload into the staging file while computing its SHA-256.
+     * @return the hexadecimal SHA-256 of the upload.
+     */
+    private static String stage(MultipartFile file, Path stagingFile) throws IOException {
+        MessageDigest digest;
+
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+
+        try (InputStream input = new DigestInputStream(file.getInputStream(), digest);
+             OutputStream output = Files.newOutputStream(stagingFile)) {
+            input.transferTo(output);
+        }
+
+        return HexFormat.of().formatHex(digest.digest());
+    }
+}
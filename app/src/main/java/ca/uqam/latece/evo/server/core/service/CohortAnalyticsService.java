@@ -0,0 +1,341 @@
+package ca.uqam.latece.evo.server.core.service;
+
+import ca.uqam.latece.evo.server.core.enumeration.ExecutionStatus;
+import ca.uqam.latece.evo.server.core.event.ActivityInstanceSavedEvent;
+import ca.uqam.latece.evo.server.core.model.instance.ActivityInstance;
+import ca.uqam.latece.evo.server.core.model.instance.BehaviorChangeInterventionBlockInstance;
+import ca.uqam.latece.evo.server.core.model.instance.BehaviorChangeInterventionInstance;
+import ca.uqam.latece.evo.server.core.model.instance.BehaviorChangeInterventionPhaseInstance;
+import ca.uqam.latece.evo.server.core.repository.CohortAnalyticsRepository;
+import ca.uqam.latece.evo.server.core.response.CohortFunnel;
+import ca.uqam.latece.evo.server.core.response.CohortStage;
+import ca.uqam.latece.evo.server.core.response.DwellHistogram;
+import ca.uqam.latece.evo.server.core.util.ObjectValidator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Cohort analytics: the number of patients in each phase and block of an intervention by execution status (cohort
+ * funnels), and the time spent in each status (dwell-time histograms).
+ * <p>
+ * The counters are updated incrementally from the ActivityInstanceSavedEvent, in the transaction of the save: a saved
+ * intervention instance starts tracking its phase and block instances, and a saved phase or block instance moves its
+ * count from its previous status to the new one and records the time spent in the previous status. The counters
+ * missed by changes made outside the services (e.g. bulk loads) are corrected by the periodic reconciliation.
+ * @version 1.0
+ * @author Edilton Lima dos Santos.
+ */
+@Service
+@Transactional
+public class CohortAnalyticsService {
+    private static final Logger logger = LoggerFactory.getLogger(CohortAnalyticsService.class);
+
+    /**
+     * Number of slots of each counter: the status changes of different instances update different rows.
+     */
+    static final int COUNTER_SLOTS = 16;
+
+    /**
+     * The block id of the phase instances in the counters.
+     */
+    static final long PHASE_BLOCK_ID = 0L;
+
+    private final CohortAnalyticsRepository cohortAnalyticsRepository;
+
+    private final TransactionTemplate transaction;
+
+    private final int batchSize;
+
+    private final Clock clock;
+
+    @Autowired
+    public CohortAnalyticsService(CohortAnalyticsRepository cohortAnalyticsRepository,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${evo.analytics.reconciliation-batch-size:10000}") int batchSize) {
+        this(cohortAnalyticsRepository, transactionManager, batchSize, Clock.systemUTC());
+    }
+
+    public CohortAnalyticsService(CohortAnalyticsRepository cohortAnalyticsRepository,
+                                  PlatformTransactionManager transactionManager, int batchSize, Clock clock) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("The reconciliation batch size must be positive: " + batchSize);
+        }
+
+        this.cohortAnalyticsRepository = cohortAnalyticsRepository;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.clock = clock;
+    }
+
+    /**
+     * Updates the counters with the status of a saved intervention instance tree, phase instance (with its blocks) or
+     * block instance.
+     * @param event the ActivityInstanceSavedEvent.
+     */
+    @EventListener(ActivityInstanceSavedEvent.class)
+    public void handleActivityInstanceSaved(ActivityInstanceSavedEvent<?> event) {
+        List<Node> nodes = new ArrayList<>();
+
+        switch (event.getEvoModel()) {
+            case BehaviorChangeInterventionInstance bciInstance -> addInterventionNodes(bciInstance, nodes);
+            case BehaviorChangeInterventionPhaseInstance phase -> {
+                nodes.add(new Node(phase, null));
+                phase.getActivities().forEach(block -> nodes.add(new Node(block, null)));
+            }
+            case BehaviorChangeInterventionBlockInstance block -> nodes.add(new Node(block, null));
+            default -> { }
+        }
+
+        if (!nodes.isEmpty()) {
+            record(nodes);
+        }
+    }
+
+    /**
+     * Builds the cohort funnel of an intervention from its counters.
+     * @param interventionId the BehaviorChangeIntervention id.
+     * @return the cohort funnel, without phases if no patient is enrolled in the intervention.
+     * @throws IllegalArgumentException if the id is null.
+     */
+    @Transactional(readOnly = true)
+    public CohortFunnel findFunnel(Long interventionId) {
+        ObjectValidator.validateId(interventionId);
+        Map<Long, CohortStage> phases = new LinkedHashMap<>();
+        Map<Long, CohortStage> blocks = new LinkedHashMap<>();
+
+        for (CohortAnalyticsRepository.Counter counter : cohortAnalyticsRepository.findCounters(interventionId)) {
+            CohortStage phase = phases.computeIfAbsent(counter.getPhaseId(), id -> new CohortStage(id, null));
+            CohortStage stage = phase;
+
+            if (counter.getBlockId() != PHASE_BLOCK_ID) {
+                stage = blocks.computeIfAbsent(counter.getBlockId(), id -> {
+                    CohortStage block = new CohortStage(counter.getPhaseId(), id);
+                    phase.getBlocks().add(block);
+                    return block;
+                });
+            }
+
+            stage.getCounts().merge(counter.getStatus(), counter.getCount(), Long::sum);
+        }
+
+        return new CohortFunnel(interventionId, new ArrayList<>(phases.values()));
+    }
+
+    /**
+     * Builds the histogram of the time spent in a status by the phase or block instances of an intervention.
+     * @param interventionId the BehaviorChangeIntervention id.
+     * @param phaseId the BehaviorChangeInterventionPhase id, or null for all the phases.
+     * @param blockId the BehaviorChangeInterventionBlock id, 0 for the phase instances, or null for all the blocks.
+     * @param status the execution status.
+     * @return the dwell-time histogram in milliseconds.
+     * @throws IllegalArgumentException if the intervention id or the status is null.
+     */
+    @Transactional(readOnly = true)
+    public DwellHistogram findDwellHistogram(Long interventionId, Long phaseId, Long blockId, ExecutionStatus status) {
+        ObjectValidator.validateId(interventionId);
+        ObjectValidator.validateObject(status);
+        List<DwellHistogram.Bucket> buckets = new ArrayList<>();
+        long count = 0;
+        long totalMs = 0;
+
+        for (CohortAnalyticsRepository.DwellBucket bucket : cohortAnalyticsRepository.findDwellHistogram(interventionId,
+                phaseId == null ? -1 : phaseId, blockId == null ? -1 : blockId, status.name())) {
+            int n = bucket.getBucket();
+            buckets.add(new DwellHistogram.Bucket(n == 0 ? 0 : 1L << (n - 1), n >= 63 ? Long.MAX_VALUE : 1L << n,
+                    bucket.getCount()));
+            count += bucket.getCount();
+            totalMs += bucket.getTotalMs();
+        }
+
+        return new DwellHistogram(interventionId, phaseId, blockId, status.name(), count,
+                count == 0 ? 0 : totalMs / count, buckets);
+    }
+
+    /**
+     * Reconciles the counters with the intervention trees, in batches of {@code batchSize} consecutive phase and block
+     * instance ids, each in its own transaction: the tracked states of a batch are locked, synchronized with the
+     * instances of the batch, and the counts of the corrected states are moved. Only the status changes of the
+     * instances of the batch being reconciled wait for it. The dwell-time histograms are kept, since the instances only
+     * store the dates of their changes.
+     * @return the number of corrected states.
+     */
+    @Scheduled(initialDelayString = "${evo.analytics.reconciliation-interval:PT1H}",
+            fixedDelayString = "${evo.analytics.reconciliation-interval:PT1H}")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public int reconcile() {
+        long now = clock.millis();
+        int corrected = 0;
+        int batches = 0;
+        Long from = cohortAnalyticsRepository.findNextInstanceId(0);
+
+        while (from != null) {
+            long start = from;
+            long end = start + batchSize;
+            corrected += transaction.execute(status -> reconcileBatch(start, end, now));
+            batches++;
+            from = cohortAnalyticsRepository.findNextInstanceId(end);
+        }
+
+        logger.info("Cohort counters reconciled: {} batches, {} corrected states", batches, corrected);
+        return corrected;
+    }
+
+    /**
+     * Computes the histogram bucket of a duration: n for [2^(n-1), 2^n) milliseconds, 0 below 1 ms.
+     * @param durationMs the duration in milliseconds.
+     * @return the bucket.
+     */
+    static int bucketOf(long durationMs) {
+        return durationMs <= 0 ? 0 : Long.SIZE - Long.numberOfLeadingZeros(durationMs);
+    }
+
+    private static void addInterventionNodes(BehaviorChangeInterventionInstance bciInstance, List<Node> nodes) {
+        if (bciInstance.getBehaviorChangeIntervention() == null) {
+            return;
+        }
+
+        Long interventionId = bciInstance.getBehaviorChangeIntervention().getId();
+
+        for (BehaviorChangeInterventionPhaseInstance phase : bciInstance.getActivities()) {
+            if (phase.getBehaviorChangeInterventionPhase() != null) {
+                Long phaseId = phase.getBehaviorChangeInterventionPhase().getId();
+                nodes.add(new Node(phase, new Key(interventionId, phaseId, PHASE_BLOCK_ID)));
+
+                for (BehaviorChangeInterventionBlockInstance block : phase.getActivities()) {
+                    if (block.getBehaviorChangeInterventionBlock() != null) {
+                        nodes.add(new Node(block, new Key(interventionId, phaseId,
+                                block.getBehaviorChangeInterventionBlock().getId())));
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Moves the counts of the nodes whose status changed, and tracks the new nodes that have a key.
+     */
+    private void record(List<Node> nodes) {
+        Map<Long, Node> byId = new LinkedHashMap<>();
+        nodes.stream().filter(node -> node.instanceId() != null).forEach(node -> byId.putIfAbsent(node.instanceId(), node));
+
+        if (byId.isEmpty()) {
+            return;
+        }
+
+        long now = clock.millis();
+
+        for (CohortAnalyticsRepository.State state : cohortAnalyticsRepository.findStatesForUpdate(byId.keySet())) {
+            Node node = byId.remove(state.getInstanceId());
+
+            if (node != null && !node.status().equals(state.getStatus())) {
+                Key key = keyOf(state);
+                int slot = slotOf(node.instanceId());
+                long durationMs = Math.max(0, now - state.getSince());
+
+                cohortAnalyticsRepository.updateState(node.instanceId(), node.status(), now);
+                cohortAnalyticsRepository.addToCounter(key.interventionId(), key.phaseId(), key.blockId(),
+                        state.getStatus(), slot, -1);
+                cohortAnalyticsRepository.addToCounter(key.interventionId(), key.phaseId(), key.blockId(),
+                        node.status(), slot, 1);
+                cohortAnalyticsRepository.addToDwell(key.interventionId(), key.phaseId(), key.blockId(),
+                        state.getStatus(), bucketOf(durationMs), slot, durationMs);
+            }
+        }
+
+        // The remaining nodes are not tracked yet: only the nodes of an intervention tree know their key.
+        for (Node node : byId.values()) {
+            Key key = node.key();
+
+            if (key != null && cohortAnalyticsRepository.insertState(node.instanceId(), key.interventionId(),
+                    key.phaseId(), key.blockId(), node.status(), now) == 1) {
+                cohortAnalyticsRepository.addToCounter(key.interventionId(), key.phaseId(), key.blockId(),
+                        node.status(), slotOf(node.instanceId()), 1);
+            }
+        }
+    }
+
+    /**
+     * Synchronizes the tracked states of a range of ids with the instances of the intervention trees: tracks the
+     * missing instances, updates the states whose key or status differs (the time of a changed status is reset to now)
+     * and stops tracking the instances that are no longer part of an intervention instance.
+     * @return the number of corrected states.
+     */
+    private int reconcileBatch(long from, long to, long now) {
+        Map<Long, CohortAnalyticsRepository.State> tracked = new LinkedHashMap<>();
+        cohortAnalyticsRepository.findStateRangeForUpdate(from, to).forEach(state -> tracked.put(state.getInstanceId(),
+                state));
+        int corrected = 0;
+
+        for (CohortAnalyticsRepository.State node : cohortAnalyticsRepository.findTreeRange(from, to)) {
+            CohortAnalyticsRepository.State state = tracked.remove(node.getInstanceId());
+            Key key = keyOf(node);
+
+            if (state == null) {
+                if (cohortAnalyticsRepository.insertState(node.getInstanceId(), key.interventionId(), key.phaseId(),
+                        key.blockId(), node.getStatus(), now) == 1) {
+                    count(node.getInstanceId(), key, node.getStatus(), 1);
+                    corrected++;
+                }
+            } else if (!keyOf(state).equals(key) || !state.getStatus().equals(node.getStatus())) {
+                cohortAnalyticsRepository.replaceState(node.getInstanceId(), key.interventionId(), key.phaseId(),
+                        key.blockId(), node.getStatus(), state.getStatus().equals(node.getStatus()) ?
+                                state.getSince() : now);
+                count(node.getInstanceId(), keyOf(state), state.getStatus(), -1);
+                count(node.getInstanceId(), key, node.getStatus(), 1);
+                corrected++;
+            }
+        }
+
+        for (CohortAnalyticsRepository.State state : tracked.values()) {
+            cohortAnalyticsRepository.deleteState(state.getInstanceId());
+            count(state.getInstanceId(), keyOf(state), state.getStatus(), -1);
+            corrected++;
+        }
+
+        return corrected;
+    }
+
+    private void count(Long instanceId, Key key, String status, long delta) {
+        cohortAnalyticsRepository.addToCounter(key.interventionId(), key.phaseId(), key.blockId(), status,
+                slotOf(instanceId), delta);
+    }
+
+    private static Key keyOf(CohortAnalyticsRepository.State state) {
+        return new Key(state.getInterventionId(), state.getPhaseId(), state.getBlockId());
+    }
+
+    private static int slotOf(Long instanceId) {
+        return (int) Math.floorMod(instanceId, (long) COUNTER_SLOTS);
+    }
+
+    /**
+     * The intervention, phase and block ids of a counter.
+     */
+    private record Key(Long interventionId, Long phaseId, Long blockId) {}
+
+    /**
+     * A phase or block instance with its current status, and its key when it is known.
+     */
+    private record Node(Long instanceId, String status, Key key) {
+
+        Node(ActivityInstance instance, Key key) {
+            this(instance.getId(), (instance.getStatus() == null ? ExecutionStatus.UNKNOWN : instance.getStatus()).name(),
+                    key);
+        }
+    }
+}
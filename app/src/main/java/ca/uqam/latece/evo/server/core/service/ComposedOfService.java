@@ -47,6 +47,7 @@ public class ComposedOfService extends AbstractEvoService<ComposedOf> {
      * @throws IllegalArgumentException if the provided id is null.
      */
     @Override
+    @Transactional(readOnly = true)
     public boolean existsById(Long id) {
         ObjectValidator.validateId(id);
         return composedOfRepository.existsById(id);
@@ -72,6 +73,7 @@ public class ComposedOfService extends AbstractEvoService<ComposedOf> {
      * @throws IllegalArgumentException if the provided id is null or invalid.
      */
     @Override
+    @Transactional(readOnly = true)
     public ComposedOf findById(Long id) {
         ObjectValidator.validateId(id);
         return composedOfRepository.findById(id).orElse(null);
@@ -82,6 +84,7 @@ public class ComposedOfService extends AbstractEvoService<ComposedOf> {
      * @param timing the timing of the ComposedOf to search for.
      * @return a list of ComposedOf entities matching the specified timing.
      */
+    @Transactional(readOnly = true)
     public List<ComposedOf> findByTiming(TimeCycle timing) {
         return composedOfRepository.findByTiming(timing);
     }
@@ -91,6 +94,7 @@ public class ComposedOfService extends AbstractEvoService<ComposedOf> {
      * @param order the order of the ComposedOf to search for.
      * @return a list of ComposedOf entities matching the specified order.
      */
+    @Transactional(readOnly = true)
     public List<ComposedOf> findByOrder(int order) {
         return composedOfRepository.findByOrder(order);
     }
@@ -101,6 +105,7 @@ public class ComposedOfService extends AbstractEvoService<ComposedOf> {
      * @param bciBlockId the ID of the Behavior Change Intervention Block associated with ComposedOf.
      * @return a list of ComposedOf entities matching the given BCIActivity ID and BCI Block ID.
      */
+    @Transactional(readOnly = true)
     public List<ComposedOf> findByBciActivityComposedOfIdAndBciBlockComposedOfId(Long bciActivityId, Long bciBlockId) {
         ObjectValidator.validateId(bciActivityId);
         ObjectValidator.validateId(bciBlockId);
@@ -112,6 +117,7 @@ public class ComposedOfService extends AbstractEvoService<ComposedOf> {
      * @return a list of all ComposedOf present in the repository.
      */
     @Override
+    @Transactional(readOnly = true)
     public List<ComposedOf> findAll() {
         return composedOfRepository.findAll().stream().toList();
     }
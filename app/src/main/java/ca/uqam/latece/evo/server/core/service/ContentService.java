@@ -1,7 +1,10 @@
 package ca.uqam.latece.evo.server.core.service;
 
+import ca.uqam.latece.evo.server.core.exceptions.StorageException;
+import ca.uqam.latece.evo.server.core.interfaces.StorageService;
 import ca.uqam.latece.evo.server.core.model.Content;
 import ca.uqam.latece.evo.server.core.repository.ContentRepository;
+import ca.uqam.latece.evo.server.core.util.ContentAddressedStorage;
 import ca.uqam.latece.evo.server.core.util.LocalStorage;
 import ca.uqam.latece.evo.server.core.util.ObjectValidator;
 import org.slf4j.Logger;
@@ -11,9 +14,13 @@ import org.springframework.core.io.Resource;
 import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.nio.file.Path;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Content Service.
@@ -28,6 +35,9 @@ public class ContentService extends AbstractEvoService<Content> {
     @Autowired
     private ContentRepository contentRepository;
 
+    @Autowired(required = false)
+    private BlobStorageService blobStorageService;
+
     public ContentService() {}
 
     /**
@@ -90,8 +100,7 @@ public class ContentService extends AbstractEvoService<Content> {
             throw this.createDuplicateException(content);
         } else {
             contentCreated = this.save(content);
-            LocalStorage localStorage = new LocalStorage("content", content.getId().toString());
-            filename = localStorage.store(file);
+            filename = getStorage(contentCreated.getId()).store(file);
 
             logger.info("Content created and file stored: {} {}", contentCreated, filename);
         }
@@ -176,16 +185,59 @@ public class ContentService extends AbstractEvoService<Content> {
 
         } else {
             String oldFilename = contentFound.getFilename();
+            StorageService storage = getStorage(content.getId());
+            // The new file is stored before the Content refers to it, and the previous file is deleted after the
+            // commit, so the Content always has a file.
+            String storedFilename = storage.store(file);
             contentUpdated = this.save(content);
-            LocalStorage localStorage = new LocalStorage("content", contentUpdated.getId().toString());
-            localStorage.delete(oldFilename);
-            localStorage.store(file);
+
+            if (oldFilename != null && !oldFilename.isEmpty() && !oldFilename.equals(storedFilename)) {
+                deleteAfterCommit(storage, previous -> previous.delete(oldFilename));
+            }
+
             logger.info("Content with file updated: {} {}", contentUpdated, content.getFilename());
         }
 
         return contentUpdated;
     }
 
+    /**
+     * Stores a file already staged on the local disk (by a streaming or resumable upload) as the file of a Content,
+     * replacing its previous file.
+     * @param id the id of the Content.
+     * @param filename the name of the file.
+     * @param stagedFile the staged file, consumed by this method.
+     * @param sha256 the hexadecimal SHA-256 of the staged file, computed while it was uploaded.
+     * @return The updated Content.
+     * @throws IllegalArgumentException in case the id or the filename is invalid, or the Content is not found.
+     */
+    public Content attachFile(Long id, String filename, Path stagedFile, String sha256) {
+        Content contentUpdated;
+
+        ObjectValidator.validateId(id);
+        ObjectValidator.validateFilename(filename);
+        Content contentFound = findById(id);
+
+        if (contentFound == null) {
+            throw new IllegalArgumentException("Content " + id + " not found!");
+        } else {
+            String oldFilename = contentFound.getFilename();
+            StorageService storage = getStorage(id);
+            String storedFilename = storage.store(filename, stagedFile, sha256);
+
+            // The previous file is deleted once the new one is stored and committed, so the Content always has a file.
+            if (oldFilename != null && !oldFilename.isEmpty() && !oldFilename.equals(storedFilename)) {
+                deleteAfterCommit(storage, previous -> previous.delete(oldFilename));
+            }
+
+            contentFound.setFilename(storedFilename);
+            contentUpdated = this.save(contentFound);
+            logger.info("Content with streamed file updated: {} {}", contentUpdated, storedFilename);
+        }
+
+        return contentUpdated;
+    }
+
     /**
      * Inserts or updates the Content in the database.
      * @param content the Content entity.
@@ -210,8 +262,7 @@ public class ContentService extends AbstractEvoService<Content> {
     public void deleteById(Long id) {
         ObjectValidator.validateId(id);
         contentRepository.deleteById(id);
-        LocalStorage localStorage = new LocalStorage("content", id.toString());
-        localStorage.deleteAll();
+        deleteAfterCommit(getStorage(id), StorageService::deleteAll);
         logger.info("Content deleted: {}", id);
     }
 
@@ -222,6 +273,7 @@ public class ContentService extends AbstractEvoService<Content> {
      * @throws IllegalArgumentException if the id is null.
      */
     @Override
+    @Transactional(readOnly = true)
     public boolean existsById(Long id) {
         ObjectValidator.validateId(id);
         return contentRepository.existsById(id);
@@ -233,6 +285,7 @@ public class ContentService extends AbstractEvoService<Content> {
      * @return true if a content with the specified name exists, false otherwise.
      * @throws IllegalArgumentException if the name is null.
      */
+    @Transactional(readOnly = true)
     public boolean existsByName(String name) {
         return contentRepository.existsByName(name);
     }
@@ -244,6 +297,7 @@ public class ContentService extends AbstractEvoService<Content> {
      * @throws IllegalArgumentException – if id is null.
      */
     @Override
+    @Transactional(readOnly = true)
     public Content findById(Long id){
         ObjectValidator.validateId(id);
         return contentRepository.findById(id).orElse(null);
@@ -255,6 +309,7 @@ public class ContentService extends AbstractEvoService<Content> {
      * @return the Content with the given name or Optional#empty() if none found.
      * @throws IllegalArgumentException if the name is null.
      */
+    @Transactional(readOnly = true)
     public List<Content> findByName(String name){
         ObjectValidator.validateString(name);
         return contentRepository.findByName(name);
@@ -266,6 +321,7 @@ public class ContentService extends AbstractEvoService<Content> {
      * @return a list of Content entities matching the specified type.
      * @throws IllegalArgumentException – if type is null.
      */
+    @Transactional(readOnly = true)
     public List<Content> findByType(String type){
         ObjectValidator.validateString(type);
         return contentRepository.findByType(type);
@@ -277,6 +333,7 @@ public class ContentService extends AbstractEvoService<Content> {
      * @return a list of Content entities that have the specified BCI Activity Id, or an empty list if no matches are found.
      * @throws IllegalArgumentException if the bciActivityId is null.
      */
+    @Transactional(readOnly = true)
     public List<Content> findByBCIActivity(Long bciActivityId) {
         ObjectValidator.validateId(bciActivityId);
         return contentRepository.findByBCIActivity(bciActivityId);
@@ -287,6 +344,7 @@ public class ContentService extends AbstractEvoService<Content> {
      * @param skillId The Skill Id to filter Content entities by, must not be null.
      * @return a list of Content entities that have the specified Skill Id, or an empty list if no matches are found.
      */
+    @Transactional(readOnly = true)
     public List<Content> findBySkill(Long skillId) {
         ObjectValidator.validateId(skillId);
         return contentRepository.findBySkill(skillId);
@@ -297,6 +355,7 @@ public class ContentService extends AbstractEvoService<Content> {
      * @return all Content.
      */
     @Override
+    @Transactional(readOnly = true)
     public List<Content> findAll(){
         return contentRepository.findAll();
     }
@@ -308,10 +367,45 @@ public class ContentService extends AbstractEvoService<Content> {
      * @param fileName the name of the file to be retrieved
      * @return the file
      */
+    @Transactional(readOnly = true)
     public Resource findFile(Long id, String fileName) {
         ObjectValidator.validateId(id);
         ObjectValidator.validateString(fileName);
-        LocalStorage localStorage = new LocalStorage("content", id.toString());
-        return localStorage.loadAsResource(fileName);
+        return getStorage(id).loadAsResource(fileName);
+    }
+
+    /**
+     * Deletes files of a Content once the transaction commits, so a rolled back transaction keeps them. The
+     * content-addressed storage deletes its references in the transaction, and its blobs after the commit.
+     */
+    private void deleteAfterCommit(StorageService storage, Consumer<StorageService> deletion) {
+        if (storage instanceof ContentAddressedStorage || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            deletion.accept(storage);
+        } else {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    try {
+                        deletion.accept(storage);
+                    } catch (StorageException e) {
+                        logger.warn("Previous file of a Content not deleted: {}", e.getMessage());
+                    }
+                }
+            });
+        }
+    }
+
+    /**
+     * Returns the storage of the files of a Content: the content-addressed storage when it is enabled
+     * (evo.storage.content-addressed.enabled), otherwise the LocalStorage folder of the Content.
+     * @param id the id of the Content.
+     * @return the storage of the files of the Content.
+     */
+    private StorageService getStorage(Long id) {
+        if (this.blobStorageService != null) {
+            return new ContentAddressedStorage(this.blobStorageService, "content", id.toString());
+        }
+
+        return new LocalStorage("content", id.toString());
     }
 }
@@ -0,0 +1,490 @@
+package ca.uqam.latece.evo.server.core.service;
+
+import ca.uqam.latece.evo.server.core.exceptions.StorageException;
+import ca.uqam.latece.evo.server.core.exceptions.StorageFileNotFoundException;
+import ca.uqam.latece.evo.server.core.exceptions.UploadChecksumException;
+import ca.uqam.latece.evo.server.core.model.Content;
+import ca.uqam.latece.evo.server.core.util.LocalStorage;
+import ca.uqam.latece.evo.server.core.util.ObjectValidator;
+import ca.uqam.latece.evo.server.core.util.UploadSession;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Properties;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Streaming uploads of the files of the Content entities. The request bodies are piped into a staging file through a
+ * fixed-size buffer while their size and SHA-256 are computed, and the staged file is then moved into the storage of
+ * the Content, so an upload is never held in memory nor copied again, whatever its size.
+ * <p>
+ * Large files can be uploaded in chunks with a resumable upload: the chunks are appended to a part file at the offset
+ * returned by the server, so an interrupted upload resumes from the last byte received. The sessions are kept in the
+ * staging folder ({@code <id>.part} and {@code <id>.properties}), so they survive a restart of the application, and
+ * they are deleted after evo.upload.session-expiration without activity. An upload whose SHA-256 is not the declared
+ * one restarts from its first byte, so the client can send the file again without creating a new upload. An upload
+ * whose file could not be stored (e.g. a database error) is kept, and completed again by a chunk sent at its last
+ * offset, without resending the file.
+ * <p>
+ * The lock of an upload is held while it receives a chunk or is completed, so it cannot be deleted meanwhile.
+ * <p>
+ * This service is not transactional: the request bodies are received before the database is accessed, so a slow
+ * upload does not hold a connection of the pool.
+ * @version 1.0
+ * @author Edilton Lima dos Santos.
+ */
+@Service
+public class ContentUploadService {
+    private static final Logger logger = LoggerFactory.getLogger(ContentUploadService.class);
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final String PART_EXTENSION = ".part";
+
+    private static final String SESSION_EXTENSION = ".properties";
+
+    private static final String COMPLETING_EXTENSION = ".completing";
+
+    @Autowired
+    private ContentService contentService;
+
+    private final Map<String, UploadSession> sessions = new ConcurrentHashMap<>();
+
+    private final Path stagingFolder;
+
+    private final long maxSize;
+
+    private final Duration sessionExpiration;
+
+    @Autowired
+    public ContentUploadService(@Value("${evo.upload.staging-folder:files/uploads}") String stagingFolder,
+                                @Value("${evo.upload.max-size:2147483648}") long maxSize,
+                                @Value("${evo.upload.session-expiration:24h}") Duration sessionExpiration) {
+        this.stagingFolder = Path.of(stagingFolder).toAbsolutePath().normalize();
+        this.maxSize = maxSize;
+        this.sessionExpiration = sessionExpiration;
+    }
+
+    public ContentUploadService(ContentService contentService, Path stagingFolder, long maxSize,
+                                Duration sessionExpiration) {
+        this(stagingFolder.toString(), maxSize, sessionExpiration);
+        this.contentService = contentService;
+    }
+
+    public long getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Stores the file of a Content from a request body streamed in a single request, replacing its previous file.
+     * @param contentId the id of the Content.
+     * @param filename the name of the file.
+     * @param body the request body.
+     * @return the updated Content.
+     * @throws IllegalArgumentException if the id or the filename is invalid, or the Content does not exist.
+     * @throws StorageException if the file is empty, larger than evo.upload.max-size or could not be stored.
+     */
+    public Content upload(Long contentId, String filename, InputStream body) {
+        ObjectValidator.validateId(contentId);
+        String sanitizedFilename = sanitizeFilename(filename);
+        Path stagedFile = createStagedFile();
+
+        try {
+            MessageDigest digest = newDigest();
+            long size;
+
+            try (OutputStream output = Files.newOutputStream(stagedFile)) {
+                size = transfer(body, output, digest, this.maxSize, null);
+            }
+
+            if (size == 0) {
+                throw new StorageException("File is empty");
+            }
+
+            String sha256 = HexFormat.of().formatHex(digest.digest());
+            logger.info("Received file {} of Content {}: {} bytes, SHA-256 {}", sanitizedFilename, contentId, size,
+                    sha256);
+            return this.contentService.attachFile(contentId, sanitizedFilename, stagedFile, sha256);
+        } catch (IOException e) {
+            throw new StorageException("Failed to receive file " + sanitizedFilename, e);
+        } finally {
+            deleteQuietly(stagedFile);
+        }
+    }
+
+    /**
+     * Creates a resumable upload of the file of a Content.
+     * @param contentId the id of the Content.
+     * @param filename the name of the file.
+     * @param length the length of the whole file, in bytes.
+     * @param sha256 the hexadecimal SHA-256 of the whole file, verified when the upload completes, or null.
+     * @return the new upload session.
+     * @throws IllegalArgumentException if an argument is invalid or the Content does not exist.
+     */
+    public UploadSession createSession(Long contentId, String filename, long length, String sha256) {
+        ObjectValidator.validateId(contentId);
+        String sanitizedFilename = sanitizeFilename(filename);
+
+        if (length <= 0 || length > this.maxSize) {
+            throw new IllegalArgumentException("The upload length must be between 1 and " + this.maxSize + " bytes");
+        } else if (sha256 != null && !sha256.matches("[0-9a-fA-F]{64}")) {
+            throw new IllegalArgumentException("Invalid SHA-256: " + sha256);
+        } else if (!this.contentService.existsById(contentId)) {
+            throw new IllegalArgumentException("Content " + contentId + " not found!");
+        }
+
+        purgeExpiredSessions();
+
+        String id = UUID.randomUUID().toString();
+        Properties properties = new Properties();
+        properties.setProperty("contentId", contentId.toString());
+        properties.setProperty("filename", sanitizedFilename);
+        properties.setProperty("length", Long.toString(length));
+
+        if (sha256 != null) {
+            properties.setProperty("sha256", sha256.toLowerCase());
+        }
+
+        try {
+            Files.createDirectories(this.stagingFolder);
+            Files.createFile(partFile(id));
+
+            try (Writer writer = Files.newBufferedWriter(this.stagingFolder.resolve(id + SESSION_EXTENSION))) {
+                properties.store(writer, "Upload of the file of a Content");
+            }
+        } catch (IOException e) {
+            deleteSessionFiles(id);
+            throw new StorageException("Could not create upload " + id, e);
+        }
+
+        UploadSession session = new UploadSession(id, contentId, sanitizedFilename, length,
+                properties.getProperty("sha256"), partFile(id), newDigest(), 0);
+        this.sessions.put(id, session);
+        logger.info("Upload {} created for file {} of Content {}: {} bytes", id, sanitizedFilename, contentId, length);
+        return session;
+    }
+
+    /**
+     * Returns an upload session, reloading it from the staging folder if the application was restarted.
+     * @param id the id of the upload.
+     * @return the upload session.
+     * @throws StorageFileNotFoundException if the upload does not exist, has expired or was completed.
+     */
+    public UploadSession getSession(String id) {
+        validateUploadId(id);
+        UploadSession session = this.sessions.get(id);
+
+        if (session == null) {
+            // Loaded outside of the map, as the part file is hashed again, which takes a while for a large file.
+            UploadSession loaded = loadSession(id);
+
+            if (loaded == null) {
+                throw new StorageFileNotFoundException("Upload not found: " + id);
+            }
+
+            session = this.sessions.putIfAbsent(id, loaded);
+            session = session == null ? loaded : session;
+        }
+
+        return session;
+    }
+
+    /**
+     * Appends a chunk to a resumable upload. When the last chunk is received the file is stored, the updated Content
+     * is set in the session and the upload is deleted. If the request is interrupted, the bytes received are kept and
+     * the upload resumes from the new offset. If the file cannot be stored, the upload is kept and an empty chunk at
+     * the last offset completes it again.
+     * @param id the id of the upload.
+     * @param offset the offset of the chunk, which must be the number of bytes already received.
+     * @param body the request body containing the chunk.
+     * @return the upload session, with the new offset.
+     * @throws StorageFileNotFoundException if the upload does not exist.
+     * @throws IllegalStateException if the offset is not the offset of the upload, or another chunk is being received.
+     * @throws UploadChecksumException if the SHA-256 of the file is not the declared one; the upload then restarts
+     *           from offset 0.
+     * @throws StorageException if the chunk exceeds the length of the upload.
+     * @throws RuntimeException if the file cannot be stored in the storage of its Content; the upload is kept.
+     */
+    public UploadSession append(String id, long offset, InputStream body) {
+        UploadSession session = getSession(id);
+
+        if (!session.getLock().tryLock()) {
+            throw new IllegalStateException("Upload " + id + " is already receiving a chunk");
+        }
+
+        try {
+            if (this.sessions.get(id) != session) {
+                throw new StorageFileNotFoundException("Upload not found: " + id);
+            }
+
+            if (offset != session.getOffset()) {
+                throw new IllegalStateException("Upload " + id + " expects offset " + session.getOffset() + ", not " +
+                        offset);
+            }
+
+            try (OutputStream output = Files.newOutputStream(session.getPartFile(), StandardOpenOption.APPEND)) {
+                transfer(body, output, session.getDigest(), session.getLength() - session.getOffset(), session);
+            } catch (IOException e) {
+                throw new StorageException("Upload " + id + " interrupted at offset " + session.getOffset(), e);
+            }
+
+            logger.info("Upload {} received {} of {} bytes", id, session.getOffset(), session.getLength());
+
+            if (session.isComplete()) {
+                session.setContent(complete(session));
+            }
+
+            return session;
+        } finally {
+            session.getLock().unlock();
+        }
+    }
+
+    /**
+     * Stores the file of a completed upload in the storage of its Content and deletes the upload. The storage is
+     * given a link to the part file, which it consumes, so the part file is kept if the file cannot be stored.
+     * @param session the completed upload.
+     * @return the updated Content.
+     * @throws UploadChecksumException if the SHA-256 of the file is not the declared one; the bytes received are then
+     *           discarded and the upload restarts from offset 0.
+     * @throws RuntimeException if the file cannot be stored; the upload is kept.
+     */
+    private Content complete(UploadSession session) {
+        String sha256 = session.getReceivedSha256();
+
+        if (session.getSha256() != null && !session.getSha256().equals(sha256)) {
+            restart(session);
+            throw new UploadChecksumException("Upload " + session.getId() + " has SHA-256 " + sha256 + ", not " +
+                    session.getSha256() + "; send the file again from offset 0");
+        }
+
+        Path completing = this.stagingFolder.resolve(session.getId() + COMPLETING_EXTENSION);
+        Content content;
+
+        try {
+            Files.deleteIfExists(completing);
+
+            try {
+                Files.createLink(completing, session.getPartFile());
+            } catch (UnsupportedOperationException e) {
+                Files.copy(session.getPartFile(), completing);
+            }
+        } catch (IOException e) {
+            throw new StorageException("Could not complete upload " + session.getId(), e);
+        }
+
+        try {
+            content = this.contentService.attachFile(session.getContentId(), session.getFilename(), completing,
+                    sha256);
+        } catch (RuntimeException e) {
+            deleteQuietly(completing);
+            logger.warn("Upload {} kept, its file could not be stored: {}", session.getId(), e.getMessage());
+            throw e;
+        }
+
+        cancel(session.getId());
+        return content;
+    }
+
+    /**
+     * Empties the part file of an upload and restarts the upload from its first byte.
+     * @throws StorageException if the part file cannot be emptied; the upload is then deleted.
+     */
+    private void restart(UploadSession session) {
+        try (FileChannel channel = FileChannel.open(session.getPartFile(), StandardOpenOption.WRITE)) {
+            channel.truncate(0);
+        } catch (IOException e) {
+            cancel(session.getId());
+            throw new StorageException("Could not restart upload " + session.getId(), e);
+        }
+
+        session.restart();
+        logger.info("Upload {} restarted: its SHA-256 is not the declared one", session.getId());
+    }
+
+    /**
+     * Deletes an upload and the bytes received.
+     * @param id the id of the upload.
+     * @throws StorageFileNotFoundException if the id is not the id of an upload.
+     * @throws IllegalStateException if the upload is receiving a chunk or being completed.
+     */
+    public void cancel(String id) {
+        validateUploadId(id);
+        UploadSession session = this.sessions.get(id);
+
+        if (session != null && !session.getLock().tryLock()) {
+            throw new IllegalStateException("Upload " + id + " is receiving a chunk");
+        }
+
+        try {
+            this.sessions.remove(id);
+            deleteSessionFiles(id);
+            logger.info("Upload {} deleted", id);
+        } finally {
+            if (session != null) {
+                session.getLock().unlock();
+            }
+        }
+    }
+
+    /**
+     * Deletes the uploads without activity since evo.upload.session-expiration.
+     */
+    public void purgeExpiredSessions() {
+        Instant expiration = Instant.now().minus(this.sessionExpiration);
+
+        if (!Files.isDirectory(this.stagingFolder)) {
+            return;
+        }
+
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(this.stagingFolder, "*" + SESSION_EXTENSION)) {
+            for (Path file : files) {
+                String id = file.getFileName().toString().replace(SESSION_EXTENSION, "");
+                UploadSession session = this.sessions.get(id);
+                Instant lastActivity = session != null ? session.getLastActivity() :
+                        Files.getLastModifiedTime(Files.exists(partFile(id)) ? partFile(id) : file).toInstant();
+
+                // An upload receiving a chunk is active, whatever its last activity.
+                if (lastActivity.isBefore(expiration) && (session == null || !session.getLock().isLocked())) {
+                    try {
+                        cancel(id);
+                    } catch (IllegalStateException e) {
+                        logger.debug("Upload {} not purged: {}", id, e.getMessage());
+                    }
+                }
+            }
+        } catch (IOException e) {
+            logger.warn("Could not purge the expired uploads of {}", this.stagingFolder, e);
+        }
+    }
+
+    /**
+     * Reloads an upload from the staging folder, and recomputes the SHA-256 of the bytes already received.
+     * @return the upload session, or null if the upload does not exist.
+     */
+    private UploadSession loadSession(String id) {
+        Path sessionFile = this.stagingFolder.resolve(id + SESSION_EXTENSION);
+        Path partFile = partFile(id);
+
+        if (!Files.exists(sessionFile) || !Files.exists(partFile)) {
+            return null;
+        }
+
+        Properties properties = new Properties();
+        MessageDigest digest = newDigest();
+
+        try (Reader reader = Files.newBufferedReader(sessionFile);
+             InputStream input = Files.newInputStream(partFile)) {
+            properties.load(reader);
+            long offset = transfer(input, OutputStream.nullOutputStream(), digest, Long.MAX_VALUE, null);
+            logger.info("Upload {} reloaded at offset {}", id, offset);
+
+            return new UploadSession(id, Long.valueOf(properties.getProperty("contentId")),
+                    properties.getProperty("filename"), Long.parseLong(properties.getProperty("length")),
+                    properties.getProperty("sha256"), partFile, digest, offset);
+        } catch (IOException | RuntimeException e) {
+            throw new StorageException("Could not reload upload " + id, e);
+        }
+    }
+
+    /**
+     * Copies a stream through a fixed-size buffer, updating the digest and the offset of the upload session, if any,
+     * after each write.
+     * @param limit the maximum number of bytes accepted.
+     * @return the number of bytes copied.
+     * @throws StorageException if the stream contains more than limit bytes.
+     */
+    private static long transfer(InputStream input, OutputStream output, MessageDigest digest, long limit,
+                                 UploadSession session) throws IOException {
+        byte[] buffer = new byte[BUFFER_SIZE];
+        long count = 0;
+        int read;
+
+        while ((read = input.read(buffer)) != -1) {
+            if (read > limit - count) {
+                throw new StorageException("The upload exceeds its maximum length of " + limit + " bytes");
+            }
+
+            output.write(buffer, 0, read);
+            digest.update(buffer, 0, read);
+            count += read;
+
+            if (session != null) {
+                session.advance(read);
+            }
+        }
+
+        return count;
+    }
+
+    private Path createStagedFile() {
+        try {
+            Files.createDirectories(this.stagingFolder);
+            return Files.createTempFile(this.stagingFolder, "upload-", ".tmp");
+        } catch (IOException e) {
+            throw new StorageException("Could not create staged file in " + this.stagingFolder, e);
+        }
+    }
+
+    /**
+     * Validates that an upload id is a UUID, so it can be used safely in a path.
+     */
+    private static void validateUploadId(String id) {
+        try {
+            UUID.fromString(id);
+        } catch (IllegalArgumentException | NullPointerException e) {
+            throw new StorageFileNotFoundException("Upload not found: " + id);
+        }
+    }
+
+    private Path partFile(String id) {
+        return this.stagingFolder.resolve(id + PART_EXTENSION);
+    }
+
+    private void deleteSessionFiles(String id) {
+        deleteQuietly(partFile(id));
+        deleteQuietly(this.stagingFolder.resolve(id + COMPLETING_EXTENSION));
+        deleteQuietly(this.stagingFolder.resolve(id + SESSION_EXTENSION));
+    }
+
+    private static String sanitizeFilename(String filename) {
+        ObjectValidator.validateFilename(filename);
+        return new LocalStorage().sanitizeFilename(Path.of(filename).getFileName().toString());
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            logger.warn("Could not delete upload file {}", file, e);
+        }
+    }
+}
@@ -52,6 +52,7 @@ public class DevelopsService extends AbstractEvoService<Develops> {
      * @throws IllegalArgumentException – if id is null.
      */
     @Override
+    @Transactional(readOnly = true)
     public Develops findById(Long id) {
         ObjectValidator.validateId(id);
         return developsRepository.findById(id).orElse(null);
@@ -62,6 +63,7 @@ public class DevelopsService extends AbstractEvoService<Develops> {
      * @param level the SkillLevel to filter Develops entities by, must not be null.
      * @return a list of Develops entities that have the specified skill level, or an empty list if no matches are found.
      */
+    @Transactional(readOnly = true)
     public List<Develops> findByLevel(SkillLevel level){
         ObjectValidator.validateObject(level);
         return developsRepository.findByLevel(level);
@@ -72,6 +74,7 @@ public class DevelopsService extends AbstractEvoService<Develops> {
      * @param roleId The Role Id to filter Develops entities by, must not be null.
      * @return a list of Develops entities that have the specified Role id, or an empty list if no matches are found.
      */
+    @Transactional(readOnly = true)
     public List<Develops> findByRoleId(Long roleId) {
         ObjectValidator.validateObject(roleId);
         return developsRepository.findByRoleId(roleId);
@@ -82,6 +85,7 @@ public class DevelopsService extends AbstractEvoService<Develops> {
      * @param skillId The Skill Id to filter Develops entities by, must not be null.
      * @return a list of Develops entities that have the specified Skill id, or an empty list if no matches are found.
      */
+    @Transactional(readOnly = true)
     public List<Develops> findBySkillId(Long skillId) {
         ObjectValidator.validateObject(skillId);
         return developsRepository.findBySkillId(skillId);
@@ -92,6 +96,7 @@ public class DevelopsService extends AbstractEvoService<Develops> {
      * @param bciActivityId The BCI Activity Id to filter Develops entities by, must not be null.
      * @return a list of Develops entities that have the specified BCI Activity Id, or an empty list if no matches are found.
      */
+    @Transactional(readOnly = true)
     public List<Develops> findByBCIActivityId(Long bciActivityId) {
         ObjectValidator.validateObject(bciActivityId);
         return developsRepository.findByBCIActivityId(bciActivityId);
@@ -151,6 +156,7 @@ public class DevelopsService extends AbstractEvoService<Develops> {
      * @throws IllegalArgumentException if the id is null.
      */
     @Override
+    @Transactional(readOnly = true)
     public boolean existsById(Long id) {
         ObjectValidator.validateId(id);
         return developsRepository.existsById(id);
@@ -161,6 +167,7 @@ public class DevelopsService extends AbstractEvoService<Develops> {
      * @return all Develops.
      */
     @Override
+    @Transactional(readOnly = true)
     public List<Develops> findAll(){
         return developsRepository.findAll();
     }
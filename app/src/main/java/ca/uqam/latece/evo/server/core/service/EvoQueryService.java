@@ -0,0 +1,87 @@
+package ca.uqam.latece.evo.server.core.service;
+
+import ca.uqam.latece.evo.server.core.model.AbstractEvoModel;
+import ca.uqam.latece.evo.server.core.repository.EvoFilter;
+import ca.uqam.latece.evo.server.core.repository.EvoQueryRepository;
+import ca.uqam.latece.evo.server.core.repository.EvoQueryRepository.QueryIds;
+import ca.uqam.latece.evo.server.core.request.EvoQuery;
+import ca.uqam.latece.evo.server.core.response.QueryPage;
+import ca.uqam.latece.evo.server.core.util.ObjectValidator;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Evo query service: answers the filter, sort and page queries of the resources.
+ * <p>
+ * The ids of the pages are cached by query in the cache of the resource, evicted by the writes of its service, so a
+ * repeated query only loads its resources by primary key. Since the queries come from the clients, the query caches are
+ * bounded and expire (see CacheConfig). The resources themselves are not cached: they are managed
+ * entities with lazy associations. Without a CacheManager, the queries are not cached.
+ * @version 1.0
+ * @author Edilton Lima dos Santos.
+ */
+@Service
+@Transactional(readOnly = true)
+public class EvoQueryService {
+    private final EvoQueryRepository evoQueryRepository;
+
+    private final ObjectProvider<CacheManager> cacheManager;
+
+    public EvoQueryService(EvoQueryRepository evoQueryRepository, ObjectProvider<CacheManager> cacheManager) {
+        this.evoQueryRepository = evoQueryRepository;
+        this.cacheManager = cacheManager;
+    }
+
+    /**
+     * Finds a page of resources.
+     * @param cacheName the name of the cache of the queries of the resource.
+     * @param type the type of the resources.
+     * @param filter the filters and sort orders accepted for the resource.
+     * @param query the query.
+     * @param repository the repository of the resource.
+     * @param <T> the type of the resources.
+     * @return the page.
+     * @throws IllegalArgumentException if the query has an unknown filter or sort order, or an invalid value.
+     */
+    public <T extends AbstractEvoModel> QueryPage<T> query(String cacheName, Class<T> type, EvoFilter<T> filter,
+                                                           EvoQuery query, JpaRepository<T, Long> repository) {
+        ObjectValidator.validateObject(query);
+
+        CacheManager manager = cacheManager.getIfAvailable();
+        Cache cache = manager == null ? null : manager.getCache(cacheName);
+        QueryIds queryIds = cache == null ? null : cache.get(query, QueryIds.class);
+
+        if (queryIds == null) {
+            queryIds = evoQueryRepository.findIds(type, filter.toSpecification(query), filter.toSort(query),
+                    query.page(), query.size());
+
+            if (cache != null) {
+                cache.put(query, queryIds);
+            }
+        }
+
+        Map<Long, T> found = new HashMap<>();
+        repository.findAllById(queryIds.ids()).forEach(model -> found.put(model.getId(), model));
+
+        List<T> content = new ArrayList<>(queryIds.ids().size());
+
+        for (Long id : queryIds.ids()) {
+            T model = found.get(id);
+
+            if (model != null) {
+                content.add(model);
+            }
+        }
+
+        return new QueryPage<>(content, query.page(), query.size(), queryIds.total());
+    }
+}
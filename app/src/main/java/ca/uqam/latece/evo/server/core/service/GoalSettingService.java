@@ -101,6 +101,14 @@ public class GoalSettingService extends AbstractEvoService<GoalSetting> {
     @Override
     protected GoalSetting save(GoalSetting evoModel) {
         ObjectValidator.validateObject(evoModel);
+
+        // A goal is evaluated against a finite target with a comparison, or not at all.
+        if ((evoModel.getTarget() == null) != (evoModel.getComparison() == null) ||
+                (evoModel.getTarget() != null && !Double.isFinite(evoModel.getTarget()))) {
+            throw new IllegalArgumentException("A Goal Setting needs both a finite target and a comparison, or none: " +
+                    evoModel.getName());
+        }
+
         return goalSettingRepository.save(evoModel);
     }
 
@@ -110,6 +118,7 @@ public class GoalSettingService extends AbstractEvoService<GoalSetting> {
      * @return true if a GoalSetting with the specified name exists, false otherwise.
      * @throws IllegalArgumentException if the name is null.
      */
+    @Transactional(readOnly = true)
     public boolean existsByName(String name) {
         ObjectValidator.validateString(name);
         return goalSettingRepository.existsByName(name);
@@ -122,6 +131,7 @@ public class GoalSettingService extends AbstractEvoService<GoalSetting> {
      * @throws IllegalArgumentException if the id is null.
      */
     @Override
+    @Transactional(readOnly = true)
     public boolean existsById(Long id) {
         ObjectValidator.validateId(id);
         return goalSettingRepository.existsById(id);
@@ -149,6 +159,7 @@ public class GoalSettingService extends AbstractEvoService<GoalSetting> {
      * @throws IllegalArgumentException – if id is null.
      */
     @Override
+    @Transactional(readOnly = true)
     public GoalSetting findById(Long id) {
         ObjectValidator.validateId(id);
         return goalSettingRepository.findById(id).orElse(null);
@@ -159,6 +170,7 @@ public class GoalSettingService extends AbstractEvoService<GoalSetting> {
      * @param name the type of the GoalSetting to search for.
      * @return a list of GoalSetting entities matching the specified name.
      */
+    @Transactional(readOnly = true)
     public List<GoalSetting> findByName(String name) {
         ObjectValidator.validateString(name);
         return goalSettingRepository.findByName(name);
@@ -169,6 +181,7 @@ public class GoalSettingService extends AbstractEvoService<GoalSetting> {
      * @param type the type of the GoalSetting to search for.
      * @return a list of GoalSetting entities matching the specified type.
      */
+    @Transactional(readOnly = true)
     public List<GoalSetting> findByType(ActivityType type) {
         ObjectValidator.validateObject(type);
         return goalSettingRepository.findByType(type);
@@ -179,6 +192,7 @@ public class GoalSettingService extends AbstractEvoService<GoalSetting> {
      * @return all GoalSetting.
      */
     @Override
+    @Transactional(readOnly = true)
     public List<GoalSetting> findAll() {
         return goalSettingRepository.findAll();
     }
@@ -5,15 +5,21 @@ import ca.uqam.latece.evo.server.core.enumeration.ActivityType;
 import ca.uqam.latece.evo.server.core.enumeration.InteractionMedium;
 import ca.uqam.latece.evo.server.core.enumeration.InteractionMode;
 import ca.uqam.latece.evo.server.core.model.Interaction;
+import ca.uqam.latece.evo.server.core.repository.EvoFilter;
 import ca.uqam.latece.evo.server.core.repository.InteractionRepository;
+import ca.uqam.latece.evo.server.core.request.EvoQuery;
+import ca.uqam.latece.evo.server.core.response.QueryPage;
 import ca.uqam.latece.evo.server.core.util.ObjectValidator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Objects;
 
 /**
  * Interaction Service.
@@ -24,10 +30,29 @@ import java.util.List;
 @Transactional
 public class InteractionService extends AbstractEvoService<Interaction> {
     private static final Logger logger = LoggerFactory.getLogger(InteractionService.class);
-    
+
+    public static final String QUERY_CACHE = "interactionQuery";
+
+    /**
+     * The filters and sort orders of the Interaction queries.
+     */
+    private static final EvoFilter<Interaction> QUERY_FILTER = EvoFilter.of(Interaction.class)
+            .contains("name", "name")
+            .equal("type", "type", ActivityType::valueOf)
+            .equal("mode", "interactionMode", InteractionMode::valueOf)
+            .equal("initiatorRole", "interactionInitiatorRole.id", Long::valueOf)
+            .in("medium", "interactionMediaMask", values -> InteractionMedium.masksWithAny(toMedia(values)))
+            .in("allMedia", "interactionMediaMask", values -> InteractionMedium.masksWithAll(toMedia(values)))
+            .sortable("name", "name")
+            .sortable("type", "type")
+            .sortable("mode", "interactionMode");
+
     @Autowired
     private InteractionRepository interactionRepository;
 
+    @Autowired
+    private EvoQueryService evoQueryService;
+
 
     /**
      * Inserts an Interaction in the database.
@@ -36,6 +61,7 @@ public class InteractionService extends AbstractEvoService<Interaction> {
      * @throws IllegalArgumentException in case the given Interaction is null.
      */
     @Override
+    @CacheEvict(cacheNames = QUERY_CACHE, allEntries = true)
     public Interaction create(Interaction evoModel) {
         Interaction bciActivity = null;
 
@@ -60,6 +86,7 @@ public class InteractionService extends AbstractEvoService<Interaction> {
      * @throws IllegalArgumentException in case the given Interaction is null.
      */
     @Override
+    @CacheEvict(cacheNames = QUERY_CACHE, allEntries = true)
     public Interaction update(Interaction evoModel) {
         Interaction bciActivity = null;
 
@@ -106,6 +133,7 @@ public class InteractionService extends AbstractEvoService<Interaction> {
      * @throws IllegalArgumentException if the id is null.
      */
     @Override
+    @Transactional(readOnly = true)
     public boolean existsById(Long id) {
         ObjectValidator.validateId(id);
         return interactionRepository.existsById(id);
@@ -117,6 +145,7 @@ public class InteractionService extends AbstractEvoService<Interaction> {
      * @return true if an Interaction with the specified name exists, false otherwise.
      * @throws IllegalArgumentException if the name is null.
      */
+    @Transactional(readOnly = true)
     public boolean existsByName(String name) {
         ObjectValidator.validateString(name);
         return interactionRepository.existsByName(name);
@@ -131,6 +160,7 @@ public class InteractionService extends AbstractEvoService<Interaction> {
      */
     @Override
     @Transactional
+    @CacheEvict(cacheNames = QUERY_CACHE, allEntries = true)
     public void deleteById(Long id) {
         ObjectValidator.validateId(id);
         interactionRepository.deleteById(id);
@@ -144,6 +174,7 @@ public class InteractionService extends AbstractEvoService<Interaction> {
      * @throws IllegalArgumentException – if id is null.
      */
     @Override
+    @Transactional(readOnly = true)
     public Interaction findById(Long id) {
         ObjectValidator.validateId(id);
         return interactionRepository.findById(id).orElse(null);
@@ -154,6 +185,7 @@ public class InteractionService extends AbstractEvoService<Interaction> {
      * @param name the type of the Interaction to search for.
      * @return a list of Interaction entities matching the specified name.
      */
+    @Transactional(readOnly = true)
     public List<Interaction> findByName(String name) {
         ObjectValidator.validateString(name);
         return interactionRepository.findByName(name);
@@ -164,6 +196,7 @@ public class InteractionService extends AbstractEvoService<Interaction> {
      * @param type the type of the Interaction to search for.
      * @return a list of Interaction entities matching the specified type.
      */
+    @Transactional(readOnly = true)
     public List<Interaction> findByType(ActivityType type) {
         ObjectValidator.validateObject(type);
         return interactionRepository.findByType(type);
@@ -174,6 +207,7 @@ public class InteractionService extends AbstractEvoService<Interaction> {
      * @param developsId The Develops Id to filter Interaction entities by, must not be null.
      * @return a list of Interaction entities that have the specified Develops id, or an empty list if no matches are found.
      */
+    @Transactional(readOnly = true)
     public List<Interaction> findByDevelops(Long developsId) {
         ObjectValidator.validateId(developsId);
         return interactionRepository.findByDevelopsBCIActivity_Id(developsId);
@@ -184,6 +218,7 @@ public class InteractionService extends AbstractEvoService<Interaction> {
      * @param requiresId The Requires Id to filter Interaction entities by, must not be null.
      * @return a list of Interaction entities that have the specified Requires id, or an empty list if no matches are found.
      */
+    @Transactional(readOnly = true)
     public List<Interaction> findByRequires(Long requiresId) {
         ObjectValidator.validateId(requiresId);
         return interactionRepository.findByRequiresBCIActivities_Id(requiresId);
@@ -194,6 +229,7 @@ public class InteractionService extends AbstractEvoService<Interaction> {
      * @param contentId The Content Id to filter Interaction entities by, must not be null.
      * @return a list of Interaction entities that have the specified Content id, or an empty list if no matches are found.
      */
+    @Transactional(readOnly = true)
     public List<Interaction> findByContent(Long contentId) {
         ObjectValidator.validateId(contentId);
         return interactionRepository.findByContentBCIActivities_Id(contentId);
@@ -204,6 +240,7 @@ public class InteractionService extends AbstractEvoService<Interaction> {
      * @param roleId The Role Id to filter Interaction entities by, must not be null.
      * @return a list of Interaction entities that have the specified Role id, or an empty list if no matches are found.
      */
+    @Transactional(readOnly = true)
     public List<Interaction> findByInteractionInitiatorRole_Id(Long roleId) {
         ObjectValidator.validateId(roleId);
         return interactionRepository.findByInteractionInitiatorRole_Id(roleId);
@@ -214,6 +251,7 @@ public class InteractionService extends AbstractEvoService<Interaction> {
      * @param partiesId The parties Id to filter Interaction entities by, must not be null.
      * @return a list of Interaction entities that have the specified parties id, or an empty list if no matches are found.
      */
+    @Transactional(readOnly = true)
     public List<Interaction> findByParties_Id(Long partiesId) {
         ObjectValidator.validateId(partiesId);
         return interactionRepository.findByParties_Id(partiesId);
@@ -224,6 +262,7 @@ public class InteractionService extends AbstractEvoService<Interaction> {
      * @param interactionMode The interactionMode to filter Interaction entities by, must not be null.
      * @return a list of Interaction entities that have the specified InteractionMode, or an empty list if no matches are found.
      */
+    @Transactional(readOnly = true)
     public List<Interaction> findByInteractionMode(InteractionMode interactionMode) {
         ObjectValidator.validateObject(interactionMode);
         return interactionRepository.findByInteractionMode(interactionMode);
@@ -234,6 +273,7 @@ public class InteractionService extends AbstractEvoService<Interaction> {
      * @param interactionMedium The interactionMedium to filter Interaction entities by, must not be null.
      * @return a list of Interaction entities that have the specified InteractionMedium, or an empty list if no matches are found.
      */
+    @Transactional(readOnly = true)
     public List<Interaction> findByInteractionMedium1(InteractionMedium interactionMedium) {
         ObjectValidator.validateObject(interactionMedium);
         return interactionRepository.findByInteractionMedium1(interactionMedium);
@@ -244,6 +284,7 @@ public class InteractionService extends AbstractEvoService<Interaction> {
      * @param interactionMedium The interactionMedium to filter Interaction entities by, must not be null.
      * @return a list of Interaction entities that have the specified InteractionMedium, or an empty list if no matches are found.
      */
+    @Transactional(readOnly = true)
     public List<Interaction> findByInteractionMedium2(InteractionMedium interactionMedium) {
         ObjectValidator.validateObject(interactionMedium);
         return interactionRepository.findByInteractionMedium2(interactionMedium);
@@ -254,6 +295,7 @@ public class InteractionService extends AbstractEvoService<Interaction> {
      * @param interactionMedium The interactionMedium to filter Interaction entities by, must not be null.
      * @return a list of Interaction entities that have the specified InteractionMedium, or an empty list if no matches are found.
      */
+    @Transactional(readOnly = true)
     public List<Interaction> findByInteractionMedium3(InteractionMedium interactionMedium) {
         ObjectValidator.validateObject(interactionMedium);
         return interactionRepository.findByInteractionMedium3(interactionMedium);
@@ -264,17 +306,67 @@ public class InteractionService extends AbstractEvoService<Interaction> {
      * @param interactionMedium The interactionMedium to filter Interaction entities by, must not be null.
      * @return a list of Interaction entities that have the specified InteractionMedium, or an empty list if no matches are found.
      */
+    @Transactional(readOnly = true)
     public List<Interaction> findByInteractionMedium4(InteractionMedium interactionMedium) {
         ObjectValidator.validateObject(interactionMedium);
         return interactionRepository.findByInteractionMedium4(interactionMedium);
     }
 
+    /**
+     * Retrieves the Interactions having any of the given media, in any of their four media, with one indexed query.
+     * @param media the media, must not be null or empty.
+     * @return a list of Interaction entities having any of the media, or an empty list if no matches are found.
+     * @throws IllegalArgumentException if the media are null or empty.
+     */
+    @Transactional(readOnly = true)
+    public List<Interaction> findByAnyInteractionMedium(Collection<InteractionMedium> media) {
+        validateMedia(media);
+        return interactionRepository.findByInteractionMediaMaskIn(InteractionMedium.masksWithAny(media));
+    }
+
+    /**
+     * Retrieves the Interactions having all the given media, in any of their four media, with one indexed query.
+     * @param media the media, must not be null or empty.
+     * @return a list of Interaction entities having all the media, or an empty list if no matches are found.
+     * @throws IllegalArgumentException if the media are null or empty.
+     */
+    @Transactional(readOnly = true)
+    public List<Interaction> findByAllInteractionMedia(Collection<InteractionMedium> media) {
+        validateMedia(media);
+        return interactionRepository.findByInteractionMediaMaskIn(InteractionMedium.masksWithAll(media));
+    }
+
     /**
      * Gets all Interaction.
      * @return all Interaction.
      */
     @Override
+    @Transactional(readOnly = true)
     public List<Interaction> findAll() {
         return interactionRepository.findAll().stream().toList();
     }
+
+    /**
+     * Finds a page of the Interactions matching all the filters of a query: name (substring), type, mode,
+     * initiatorRole (Role id) and medium (any of the four media). A repeated filter matches any of its values.
+     * @param query the query.
+     * @return the page of Interactions.
+     * @throws IllegalArgumentException if the query has an unknown filter or sort order, or an invalid value.
+     */
+    @Transactional(readOnly = true)
+    public QueryPage<Interaction> query(EvoQuery query) {
+        return evoQueryService.query(QUERY_CACHE, Interaction.class, QUERY_FILTER, query, interactionRepository);
+    }
+
+    private static void validateMedia(Collection<InteractionMedium> media) {
+        ObjectValidator.validateObject(media);
+
+        if (media.isEmpty() || media.stream().anyMatch(Objects::isNull)) {
+            throw new IllegalArgumentException("The interaction media must not be empty!");
+        }
+    }
+
+    private static List<InteractionMedium> toMedia(List<String> values) {
+        return values.stream().map(value -> InteractionMedium.valueOf(value.trim())).toList();
+    }
 }
@@ -84,6 +84,7 @@ public class ModuleComposedActivityService extends AbstractEvoService<ModuleComp
      * @throws IllegalArgumentException if the id is null.
      */
     @Override
+    @Transactional(readOnly = true)
     public boolean existsById(Long id) {
         ObjectValidator.validateId(id);
         return moduleComposedActivityRepository.existsById(id);
@@ -111,6 +112,7 @@ public class ModuleComposedActivityService extends AbstractEvoService<ModuleComp
      * @throws IllegalArgumentException – if id is null.
      */
     @Override
+    @Transactional(readOnly = true)
     public ModuleComposedActivity findById(Long id) {
         ObjectValidator.validateObject(id);
         return moduleComposedActivityRepository.findById(id).orElse(null);
@@ -151,6 +153,7 @@ public class ModuleComposedActivityService extends AbstractEvoService<ModuleComp
      * @return the ModuleComposedActivity with the given BCIActivity.
      * @throws IllegalArgumentException if module is null.
      */
+    @Transactional(readOnly = true)
     public List<ModuleComposedActivity> findByComposedModuleBciActivity(BCIActivity bciActivity) {
         List<ModuleComposedActivity> found = new ArrayList<>();
 
@@ -169,6 +172,7 @@ public class ModuleComposedActivityService extends AbstractEvoService<ModuleComp
      * @return the ModuleComposedActivity with the given id.
      * @throws IllegalArgumentException if id is null.
      */
+    @Transactional(readOnly = true)
     public List<ModuleComposedActivity> findByComposedModuleBciActivityId(Long id) {
         ObjectValidator.validateObject(id);
         return moduleComposedActivityRepository.findByComposedModuleBciActivityId(id);
@@ -179,6 +183,7 @@ public class ModuleComposedActivityService extends AbstractEvoService<ModuleComp
      * @return all ModuleComposedActivity.
      */
     @Override
+    @Transactional(readOnly = true)
     public List<ModuleComposedActivity> findAll() {
         return moduleComposedActivityRepository.findAll().stream().toList();
     }
@@ -0,0 +1,749 @@
+package ca.uqam.latece.evo.server.core.service;
+
+import ca.uqam.latece.evo.server.core.exceptions.StorageException;
+import ca.uqam.latece.evo.server.core.repository.RecipeBundleStore.RoleRow;
+import ca.uqam.latece.evo.server.core.repository.RecipeBundleStore.SkillRow;
+import ca.uqam.latece.evo.server.core.repository.RecipeRepository;
+import ca.uqam.latece.evo.server.core.repository.RecipeStore.ActivityRow;
+import ca.uqam.latece.evo.server.core.repository.RecipeStore.BlockRow;
+import ca.uqam.latece.evo.server.core.repository.RecipeStore.ComposedOfRow;
+import ca.uqam.latece.evo.server.core.repository.RecipeStore.ContentRow;
+import ca.uqam.latece.evo.server.core.repository.RecipeStore.InterventionRow;
+import ca.uqam.latece.evo.server.core.repository.RecipeStore.Link;
+import ca.uqam.latece.evo.server.core.repository.RecipeStore.ModuleActivityRow;
+import ca.uqam.latece.evo.server.core.repository.RecipeStore.ModuleRow;
+import ca.uqam.latece.evo.server.core.repository.RecipeStore.Node;
+import ca.uqam.latece.evo.server.core.repository.RecipeStore.PhaseRow;
+import ca.uqam.latece.evo.server.core.repository.RecipeStore.SkillLinkRow;
+import ca.uqam.latece.evo.server.core.request.RecipeBundle;
+import ca.uqam.latece.evo.server.core.request.RecipeBundle.Activity;
+import ca.uqam.latece.evo.server.core.request.RecipeBundle.Block;
+import ca.uqam.latece.evo.server.core.request.RecipeBundle.Content;
+import ca.uqam.latece.evo.server.core.request.RecipeBundle.File;
+import ca.uqam.latece.evo.server.core.request.RecipeBundle.Intervention;
+import ca.uqam.latece.evo.server.core.request.RecipeBundle.Member;
+import ca.uqam.latece.evo.server.core.request.RecipeBundle.Module;
+import ca.uqam.latece.evo.server.core.request.RecipeBundle.Phase;
+import ca.uqam.latece.evo.server.core.request.RecipeBundle.Role;
+import ca.uqam.latece.evo.server.core.request.RecipeBundle.Section;
+import ca.uqam.latece.evo.server.core.request.RecipeBundle.Skill;
+import ca.uqam.latece.evo.server.core.request.RecipeBundle.SkillLink;
+import ca.uqam.latece.evo.server.core.response.RecipeImportReport;
+import ca.uqam.latece.evo.server.core.util.ObjectValidator;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Recipe Bundle Service: exports interventions with their whole graph and the files of their contents as a
+ * {@link RecipeBundle}, and imports the bundles of other servers.
+ * <p>
+ * Both directions stream. An export spools the rows of the database cursors to the staging folder in a read-only
+ * transaction, then writes the bundle to the client without holding a connection, so a slow client does not hold one
+ * of the pool. An import reads the bundle by batches of {@value #BATCH_SIZE} nodes, which are upserted with one JDBC
+ * batch per table in a single transaction; its files are staged, and stored as the files of their contents once the
+ * transaction commits, so a bundle rejected midway leaves the files of the contents untouched. The files are copied
+ * between the bundle and the storage of the contents without being held in memory. An import is idempotent: the nodes
+ * imported from an origin server are remembered by id, and the named nodes that were not imported yet are first
+ * matched by name, so importing a bundle again updates the same nodes.
+ * @version 1.0
+ * @author Edilton Lima dos Santos.
+ */
+@Service
+@Transactional
+public class RecipeBundleService {
+    private static final Logger logger = LogManager.getLogger(RecipeBundleService.class);
+
+    /**
+     * The number of nodes of a section imported at once.
+     */
+    static final int BATCH_SIZE = 500;
+
+    /**
+     * The kind of the activities that are plain BCIActivity entities.
+     */
+    static final String PLAIN_ACTIVITY = "BCIActivity";
+
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
+            .configure(JsonGenerator.Feature.AUTO_CLOSE_TARGET, false)
+            .configure(JsonParser.Feature.AUTO_CLOSE_SOURCE, false);
+
+    private final RecipeRepository recipeRepository;
+
+    private final ContentService contentService;
+
+    private final String origin;
+
+    private final Path stagingFolder;
+
+    private final TransactionTemplate transaction;
+
+    private final TransactionTemplate readOnlyTransaction;
+
+    /**
+     * A file of an imported bundle, staged until the import commits.
+     */
+    private record StagedFile(long content, String filename, Path path, String sha256) {}
+
+    @Autowired
+    public RecipeBundleService(RecipeRepository recipeRepository, ContentService contentService,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${evo.recipes.origin:${spring.application.name:evo}}") String origin,
+                               @Value("${evo.upload.staging-folder:files/uploads}") String stagingFolder) {
+        this.recipeRepository = recipeRepository;
+        this.contentService = contentService;
+        this.origin = origin;
+        this.stagingFolder = Path.of(stagingFolder).toAbsolutePath().normalize();
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Finds the interventions that exist, before they are exported.
+     * @param ids the BehaviorChangeIntervention ids.
+     * @return the ids of the existing interventions.
+     * @throws IllegalArgumentException if the ids are null or empty.
+     */
+    @Transactional(readOnly = true)
+    public List<Long> findInterventions(List<Long> ids) {
+        ObjectValidator.validateObject(ids);
+
+        if (ids.isEmpty()) {
+            throw new IllegalArgumentException("No intervention to export");
+        }
+
+        ids.forEach(ObjectValidator::validateId);
+        return recipeRepository.findExistingInterventionIds(ids);
+    }
+
+    /**
+     * Writes the bundle of interventions. The rows are read in a read-only transaction and spooled to the staging
+     * folder, then the bundle is written with the files of the contents without holding a connection.
+     * @param interventionIds the BehaviorChangeIntervention ids.
+     * @param output the output of the bundle, left open.
+     * @throws IOException if the bundle could not be written.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void export(Collection<Long> interventionIds, OutputStream output) throws IOException {
+        // The sections before and after the files, as raw fields of the bundle object.
+        Path head = createStagedFile();
+        Path tail = createStagedFile();
+
+        try {
+            List<File> files = spool(interventionIds, head, tail);
+            JsonGenerator generator = MAPPER.getFactory().createGenerator(output);
+            generator.writeStartObject();
+            generator.writeStringField("format", RecipeBundle.FORMAT);
+            generator.writeNumberField("version", RecipeBundle.VERSION);
+            generator.writeStringField("origin", origin);
+            writeRaw(generator, head);
+            generator.writeArrayFieldStart(Section.FILES.getField());
+            files.forEach(file -> writeFile(generator, file));
+            generator.writeEndArray();
+            writeRaw(generator, tail);
+            generator.writeEndObject();
+            generator.flush();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            Files.deleteIfExists(head);
+            Files.deleteIfExists(tail);
+        }
+
+        logger.info("Recipe bundle of the interventions {} exported", interventionIds);
+    }
+
+    /**
+     * Imports a bundle: its nodes are created, or updated when they were already imported from the same origin server
+     * or have the same name as the node of the bundle.
+     * @param input the bundle.
+     * @return the number of imported and created nodes by section.
+     * @throws IllegalArgumentException if the bundle is invalid, or refers to nodes that are not in it.
+     * @throws IOException if the bundle could not be read.
+     */
+    @CacheEvict(cacheNames = {SkillService.PREREQUISITES_CACHE, SkillService.DESCENDANTS_CACHE,
+            SkillService.LEARNING_PATH_CACHE}, allEntries = true)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public RecipeImportReport importBundle(InputStream input) throws IOException {
+        ObjectValidator.validateObject(input);
+        List<StagedFile> stagedFiles = new ArrayList<>();
+
+        try {
+            Import bundleImport = transaction.execute(status -> {
+                try {
+                    return importNodes(input, stagedFiles);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+
+            attachFiles(bundleImport, stagedFiles);
+            RecipeImportReport report = new RecipeImportReport(bundleImport.origin, bundleImport.imported,
+                    bundleImport.created);
+            logger.info("Recipe bundle of {} imported: {} imported, {} created", report.origin(), report.imported(),
+                    report.created());
+            return report;
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            for (StagedFile stagedFile : stagedFiles) {
+                Files.deleteIfExists(stagedFile.path());
+            }
+        }
+    }
+
+    /**
+     * Reads the bundle and upserts its nodes; its files are staged.
+     */
+    private Import importNodes(InputStream input, List<StagedFile> stagedFiles) throws IOException {
+        JsonParser parser = MAPPER.getFactory().createParser(input);
+
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            throw new IllegalArgumentException("A recipe bundle must be a JSON object");
+        }
+
+        String format = null;
+        Integer version = null;
+        String bundleOrigin = null;
+        Import bundleImport = null;
+        Section previous = null;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            Section section = Section.of(field);
+
+            if (bundleImport == null && section == null) {
+                switch (field) {
+                    case "format" -> format = parser.getValueAsString();
+                    case "version" -> version = value == JsonToken.VALUE_NUMBER_INT ? parser.getIntValue() : null;
+                    case "origin" -> bundleOrigin = parser.getValueAsString();
+                    default -> parser.skipChildren();
+                }
+            } else if (section == null) {
+                parser.skipChildren();
+            } else {
+                if (bundleImport == null) {
+                    bundleImport = new Import(validateHeader(format, version, bundleOrigin), stagedFiles);
+                }
+
+                if (previous != null && section.ordinal() <= previous.ordinal()) {
+                    throw new IllegalArgumentException("The section " + field + " is out of order");
+                }
+
+                if (value != JsonToken.START_ARRAY) {
+                    throw new IllegalArgumentException("The section " + field + " must be an array");
+                }
+
+                previous = section;
+                bundleImport.importSection(section, parser);
+            }
+        }
+
+        if (bundleImport == null) {
+            bundleImport = new Import(validateHeader(format, version, bundleOrigin), stagedFiles);
+        }
+
+        return bundleImport;
+    }
+
+    /**
+     * Stores the staged files as the files of their imported contents, once the nodes are committed. A file that
+     * cannot be stored is left out of the imported files, and does not undo the import of the nodes.
+     */
+    private void attachFiles(Import bundleImport, List<StagedFile> stagedFiles) {
+        for (StagedFile file : stagedFiles) {
+            try {
+                contentService.attachFile(file.content(), file.filename(), file.path(), file.sha256());
+                count(bundleImport.imported, Section.FILES, 1);
+            } catch (RuntimeException e) {
+                logger.warn("The file {} of the Content {} is not imported: {}", file.filename(), file.content(),
+                        e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Spools the rows of the sections before the files to the head file and the rows of the sections after them to
+     * the tail file, as the fields of the bundle object, in a read-only transaction.
+     * @return the files of the contents of the bundle.
+     */
+    private List<File> spool(Collection<Long> interventionIds, Path head, Path tail) throws IOException {
+        try (Writer headWriter = Files.newBufferedWriter(head, StandardCharsets.UTF_8);
+             Writer tailWriter = Files.newBufferedWriter(tail, StandardCharsets.UTF_8)) {
+            return readOnlyTransaction.execute(status -> {
+                List<File> files = new ArrayList<>();
+
+                for (Section section : Section.values()) {
+                    if (section == Section.FILES) {
+                        recipeRepository.exportFiles(interventionIds, files::add);
+                    } else {
+                        Writer writer = section.ordinal() < Section.FILES.ordinal() ? headWriter : tailWriter;
+                        spoolSection(writer, section, interventionIds);
+                    }
+                }
+
+                return files;
+            });
+        }
+    }
+
+    private void spoolSection(Writer writer, Section section, Collection<Long> interventionIds) {
+        try {
+            writer.write(",\"" + section.getField() + "\":[");
+            boolean[] first = {true};
+            recipeRepository.exportRows(section, interventionIds, row -> {
+                try {
+                    writer.write(first[0] ? row : "," + row);
+                    first[0] = false;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            writer.write("]");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Copies spooled fields into the bundle object.
+     */
+    private static void writeRaw(JsonGenerator generator, Path spool) throws IOException {
+        char[] buffer = new char[8192];
+
+        try (BufferedReader reader = Files.newBufferedReader(spool, StandardCharsets.UTF_8)) {
+            for (int read = reader.read(buffer); read >= 0; read = reader.read(buffer)) {
+                generator.writeRaw(buffer, 0, read);
+            }
+        }
+    }
+
+    private static String validateHeader(String format, Integer version, String bundleOrigin) {
+        if (!RecipeBundle.FORMAT.equals(format)) {
+            throw new IllegalArgumentException("Not a recipe bundle: " + format);
+        }
+
+        if (version == null || version < 1 || version > RecipeBundle.VERSION) {
+            throw new IllegalArgumentException("Unsupported recipe bundle version: " + version);
+        }
+
+        ObjectValidator.validateString(bundleOrigin);
+        return bundleOrigin;
+    }
+
+    private void writeFile(JsonGenerator generator, File file) {
+        InputStream data;
+
+        // The file is opened before anything is written, so a missing file leaves the bundle valid.
+        try {
+            Resource resource = contentService.findFile(file.content(), file.filename());
+            data = resource.getInputStream();
+        } catch (IOException | RuntimeException e) {
+            logger.warn("The file {} of the Content {} is not exported: {}", file.filename(), file.content(),
+                    e.getMessage());
+            return;
+        }
+
+        try (data) {
+            generator.writeStartObject();
+            generator.writeNumberField("content", file.content());
+            generator.writeStringField("filename", file.filename());
+            generator.writeFieldName("data");
+            generator.writeBinary(data, -1);
+            generator.writeEndObject();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * The state of the import of a bundle.
+     */
+    private final class Import {
+        private final String origin;
+
+        private final Map<String, Integer> imported = new LinkedHashMap<>();
+
+        private final Map<String, Integer> created = new LinkedHashMap<>();
+
+        private final List<StagedFile> stagedFiles;
+
+        private Import(String origin, List<StagedFile> stagedFiles) {
+            this.origin = origin;
+            this.stagedFiles = stagedFiles;
+        }
+
+        private void importSection(Section section, JsonParser parser) throws IOException {
+            switch (section) {
+                case ROLES -> readBatches(parser, section, Role.class, this::importRoles);
+                case SKILLS -> readBatches(parser, section, Skill.class, this::importSkills);
+                case CONTENTS -> readBatches(parser, section, Content.class, this::importContents);
+                case FILES -> importFiles(parser);
+                case ACTIVITIES -> readBatches(parser, section, Activity.class, this::importActivities);
+                case MODULES -> readBatches(parser, section, Module.class, this::importModules);
+                case BLOCKS -> readBatches(parser, section, Block.class, this::importBlocks);
+                case INTERVENTIONS -> readBatches(parser, section, Intervention.class, this::importInterventions);
+                case PHASES -> readBatches(parser, section, Phase.class, this::importPhases);
+            }
+        }
+
+        private <T> void readBatches(JsonParser parser, Section section, Class<T> type, Consumer<List<T>> batchImport)
+                throws IOException {
+            List<T> batch = new ArrayList<>(BATCH_SIZE);
+
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                T node = MAPPER.readValue(parser, type);
+                ObjectValidator.validateObject(node);
+                batch.add(node);
+
+                if (batch.size() == BATCH_SIZE) {
+                    batchImport.accept(batch);
+                    count(imported, section, batch.size());
+                    batch = new ArrayList<>(BATCH_SIZE);
+                }
+            }
+
+            if (!batch.isEmpty()) {
+                batchImport.accept(batch);
+                count(imported, section, batch.size());
+            }
+        }
+
+        private void importRoles(List<Role> roles) {
+            Map<Long, Long> ids = resolve(Section.ROLES, Node.ROLE, roles, Role::id, Role::name);
+            recipeRepository.upsertRoles(roles.stream()
+                    .map(role -> new RoleRow(ids.get(role.id()), role.name(), role.description()))
+                    .toList());
+        }
+
+        private void importSkills(List<Skill> skills) {
+            skills.forEach(skill -> ObjectValidator.validateObject(skill.type()));
+            Map<Long, Long> ids = resolve(Section.SKILLS, Node.SKILL, skills, Skill::id, Skill::name);
+            recipeRepository.upsertSkills(skills.stream()
+                    .map(skill -> new SkillRow(ids.get(skill.id()), skill.name(), skill.description(), skill.type()))
+                    .toList());
+        }
+
+        private void importContents(List<Content> contents) {
+            Map<Long, Long> ids = resolve(Section.CONTENTS, Node.CONTENT, contents, Content::id, Content::name);
+            recipeRepository.upsertContents(contents.stream()
+                    .map(content -> new ContentRow(ids.get(content.id()), content.name(), content.description(),
+                            content.type()))
+                    .toList());
+        }
+
+        private void importActivities(List<Activity> activities) {
+            activities.forEach(activity -> ObjectValidator.validateObject(activity.type()));
+            Map<Long, Long> ids = resolve(Section.ACTIVITIES, Node.ACTIVITY, activities, Activity::id,
+                    Activity::name, activity -> PLAIN_ACTIVITY.equals(activity.kind()) ? null : activity.kind());
+            Map<Long, Long> roles = references(Section.ROLES, activities.stream().flatMap(activity -> Stream.concat(
+                    list(activity.parties()).stream(), skillLinks(activity).map(SkillLink::role))));
+            Map<Long, Long> skills = references(Section.SKILLS,
+                    activities.stream().flatMap(activity -> skillLinks(activity).map(SkillLink::skill)));
+            Map<Long, Long> contents = references(Section.CONTENTS,
+                    activities.stream().flatMap(activity -> list(activity.contents()).stream()));
+
+            recipeRepository.upsertActivities(activities.stream()
+                    .map(activity -> new ActivityRow(ids.get(activity.id()), activity.name(), activity.description(),
+                            activity.type(), activity.preconditions(), activity.postconditions()))
+                    .toList());
+            recipeRepository.deleteLinks(Section.ACTIVITIES, ids.values());
+
+            List<Link> parties = new ArrayList<>();
+            List<Link> activityContents = new ArrayList<>();
+            List<SkillLinkRow> develops = new ArrayList<>();
+            List<SkillLinkRow> requires = new ArrayList<>();
+
+            for (Activity activity : activities) {
+                long id = ids.get(activity.id());
+                list(activity.parties()).forEach(role -> parties.add(new Link(id, roles.get(role))));
+                list(activity.contents()).forEach(content -> activityContents.add(new Link(id, contents.get(content))));
+                list(activity.develops()).forEach(link -> develops.add(skillLink(id, link, roles, skills)));
+                list(activity.requires()).forEach(link -> requires.add(skillLink(id, link, roles, skills)));
+            }
+
+            recipeRepository.insertActivityRoles(parties);
+            recipeRepository.insertActivityContents(activityContents);
+            recipeRepository.insertDevelops(develops);
+            recipeRepository.insertRequires(requires);
+        }
+
+        private void importModules(List<Module> modules) {
+            Map<Long, Long> ids = resolve(Section.MODULES, Node.MODULE, modules, Module::id, Module::name);
+            Map<Long, Long> skills = references(Section.SKILLS,
+                    modules.stream().flatMap(module -> list(module.skills()).stream()));
+            Map<Long, Long> activities = references(Section.ACTIVITIES,
+                    modules.stream().flatMap(module -> list(module.activities()).stream().map(Member::activity)));
+
+            recipeRepository.upsertModules(modules.stream()
+                    .map(module -> new ModuleRow(ids.get(module.id()), module.name(), module.description(),
+                            module.preconditions(), module.postconditions()))
+                    .toList());
+            recipeRepository.deleteLinks(Section.MODULES, ids.values());
+
+            List<Link> moduleSkills = new ArrayList<>();
+            List<ModuleActivityRow> moduleActivities = new ArrayList<>();
+
+            for (Module module : modules) {
+                long id = ids.get(module.id());
+                list(module.skills()).forEach(skill -> moduleSkills.add(new Link(id, skills.get(skill))));
+                list(module.activities()).forEach(member -> moduleActivities.add(
+                        new ModuleActivityRow(id, activities.get(member.activity()), member.order())));
+            }
+
+            recipeRepository.insertModuleSkills(moduleSkills);
+            recipeRepository.insertModuleActivities(moduleActivities);
+        }
+
+        private void importBlocks(List<Block> blocks) {
+            blocks.forEach(block -> list(block.activities()).forEach(member -> ObjectValidator.validateObject(
+                    member.timing())));
+            Map<Long, Long> ids = resolve(Section.BLOCKS, Node.BLOCK, blocks, Block::id, null);
+            Map<Long, Long> activities = references(Section.ACTIVITIES,
+                    blocks.stream().flatMap(block -> list(block.activities()).stream().map(Member::activity)));
+
+            recipeRepository.upsertBlocks(blocks.stream()
+                    .map(block -> new BlockRow(ids.get(block.id()), block.entryConditions(), block.exitConditions()))
+                    .toList());
+            recipeRepository.deleteLinks(Section.BLOCKS, ids.values());
+
+            List<ComposedOfRow> composedOf = new ArrayList<>();
+
+            for (Block block : blocks) {
+                long id = ids.get(block.id());
+                list(block.activities()).forEach(member -> composedOf.add(new ComposedOfRow(id,
+                        activities.get(member.activity()), member.timing(), member.order())));
+            }
+
+            recipeRepository.insertComposedOf(composedOf);
+        }
+
+        private void importInterventions(List<Intervention> interventions) {
+            Map<Long, Long> ids = resolve(Section.INTERVENTIONS, Node.INTERVENTION, interventions, Intervention::id,
+                    Intervention::name);
+            recipeRepository.upsertInterventions(interventions.stream()
+                    .map(intervention -> new InterventionRow(ids.get(intervention.id()), intervention.name(),
+                            intervention.entryConditions(), intervention.exitConditions()))
+                    .toList());
+        }
+
+        private void importPhases(List<Phase> phases) {
+            Map<Long, Long> ids = resolve(Section.PHASES, Node.PHASE, phases, Phase::id, null);
+            Map<Long, Long> interventions = references(Section.INTERVENTIONS, phases.stream().map(Phase::intervention));
+            Map<Long, Long> blocks = references(Section.BLOCKS,
+                    phases.stream().flatMap(phase -> list(phase.blocks()).stream()));
+            Map<Long, Long> modules = references(Section.MODULES,
+                    phases.stream().flatMap(phase -> list(phase.modules()).stream()));
+
+            recipeRepository.upsertPhases(phases.stream()
+                    .map(phase -> new PhaseRow(ids.get(phase.id()), interventions.get(phase.intervention()),
+                            phase.entryConditions(), phase.exitConditions()))
+                    .toList());
+            recipeRepository.deleteLinks(Section.PHASES, ids.values());
+
+            List<Link> phaseBlocks = new ArrayList<>();
+            List<Link> phaseModules = new ArrayList<>();
+
+            for (Phase phase : phases) {
+                long id = ids.get(phase.id());
+                list(phase.blocks()).forEach(block -> phaseBlocks.add(new Link(id, blocks.get(block))));
+                list(phase.modules()).forEach(module -> phaseModules.add(new Link(id, modules.get(module))));
+            }
+
+            recipeRepository.insertPhaseBlocks(phaseBlocks);
+            recipeRepository.insertPhaseModules(phaseModules);
+        }
+
+        /**
+         * Streams each file of the section to a staged file, stored as the file of its imported Content once the
+         * import commits.
+         */
+        private void importFiles(JsonParser parser) throws IOException {
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                if (parser.currentToken() != JsonToken.START_OBJECT) {
+                    throw new IllegalArgumentException("A file must be a JSON object");
+                }
+
+                Long content = null;
+                String filename = null;
+
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String field = parser.currentName();
+                    parser.nextToken();
+
+                    switch (field) {
+                        case "content" -> content = parser.getLongValue();
+                        case "filename" -> filename = parser.getValueAsString();
+                        case "data" -> importFile(parser, content, filename);
+                        default -> parser.skipChildren();
+                    }
+                }
+            }
+        }
+
+        private void importFile(JsonParser parser, Long content, String filename) throws IOException {
+            if (content == null || filename == null) {
+                throw new IllegalArgumentException("The data of a file must follow its content and filename");
+            }
+
+            ObjectValidator.validateFilename(filename);
+            Long target = references(Section.CONTENTS, Stream.of(content)).get(content);
+            Path stagedFile = createStagedFile();
+            MessageDigest digest;
+
+            try {
+                digest = MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e);
+            }
+
+            // Staged first, so the staged file is deleted even if the data cannot be read.
+            stagedFiles.add(new StagedFile(target, filename, stagedFile, null));
+
+            try (OutputStream output = new DigestOutputStream(Files.newOutputStream(stagedFile), digest)) {
+                parser.readBinaryValue(output);
+            }
+
+            stagedFiles.set(stagedFiles.size() - 1, new StagedFile(target, filename, stagedFile,
+                    HexFormat.of().formatHex(digest.digest())));
+        }
+
+        /**
+         * Finds the ids of the nodes of a batch on this server: the nodes already imported from the origin server,
+         * then the named nodes with the same name, then new ids. The new mappings are recorded.
+         * @param kind the kind of a specialized node, which must already exist, or null.
+         * @return the ids on this server, by id on the origin server.
+         */
+        private <T> Map<Long, Long> resolve(Section section, Node node, List<T> nodes, ToLongFunction<T> id,
+                                            Function<T, String> name, Function<T, String> kind) {
+            Map<Long, Long> ids = new HashMap<>(recipeRepository.findImportedIds(origin, section,
+                    nodes.stream().map(id::applyAsLong).toList()));
+            List<T> unmapped = nodes.stream().filter(n -> !ids.containsKey(id.applyAsLong(n))).toList();
+
+            if (name != null && !unmapped.isEmpty()) {
+                unmapped.forEach(n -> ObjectValidator.validateString(name.apply(n)));
+                Map<String, Long> named = recipeRepository.findIdsByName(node, unmapped.stream().map(name).toList());
+                unmapped.stream()
+                        .filter(n -> named.containsKey(name.apply(n)))
+                        .forEach(n -> ids.put(id.applyAsLong(n), named.get(name.apply(n))));
+                unmapped = unmapped.stream().filter(n -> !ids.containsKey(id.applyAsLong(n))).toList();
+            }
+
+            for (T n : unmapped) {
+                String nodeKind = kind.apply(n);
+
+                if (nodeKind != null) {
+                    throw new IllegalArgumentException("The " + nodeKind + " " + name.apply(n) +
+                            " must exist before it is imported");
+                }
+            }
+
+            List<Long> newIds = recipeRepository.allocateIds(node, unmapped.size());
+
+            for (int i = 0; i < unmapped.size(); i++) {
+                ids.put(id.applyAsLong(unmapped.get(i)), newIds.get(i));
+            }
+
+            count(created, section, unmapped.size());
+            recipeRepository.saveImportedIds(origin, section, ids.entrySet().stream()
+                    .map(entry -> new Link(entry.getKey(), entry.getValue()))
+                    .toList());
+            return ids;
+        }
+
+        private <T> Map<Long, Long> resolve(Section section, Node node, List<T> nodes, ToLongFunction<T> id,
+                                            Function<T, String> name) {
+            return resolve(section, node, nodes, id, name, n -> null);
+        }
+
+        /**
+         * Finds the ids on this server of the nodes of a previous section that a batch refers to.
+         * @throws IllegalArgumentException if a node was never imported from the origin server.
+         */
+        private Map<Long, Long> references(Section section, Stream<Long> sourceIds) {
+            Set<Long> ids = sourceIds.collect(Collectors.toSet());
+
+            if (ids.isEmpty()) {
+                return Map.of();
+            }
+
+            Map<Long, Long> targets = recipeRepository.findImportedIds(origin, section, ids);
+
+            if (targets.size() < ids.size()) {
+                ids.removeAll(targets.keySet());
+                throw new IllegalArgumentException("Unknown " + section.getField() + " " + ids);
+            }
+
+            return targets;
+        }
+
+        private SkillLinkRow skillLink(long activityId, SkillLink link, Map<Long, Long> roles,
+                                       Map<Long, Long> skills) {
+            ObjectValidator.validateObject(link.level());
+            return new SkillLinkRow(activityId, roles.get(link.role()), skills.get(link.skill()), link.level());
+        }
+
+        private Stream<SkillLink> skillLinks(Activity activity) {
+            return Stream.concat(list(activity.develops()).stream(), list(activity.requires()).stream());
+        }
+    }
+
+    private static <T> List<T> list(List<T> list) {
+        return list == null ? List.of() : list;
+    }
+
+    private static void count(Map<String, Integer> counts, Section section, int count) {
+        counts.merge(section.getField(), count, Integer::sum);
+    }
+
+    private Path createStagedFile() {
+        try {
+            Files.createDirectories(this.stagingFolder);
+            return Files.createTempFile(this.stagingFolder, "recipe-", ".tmp");
+        } catch (IOException e) {
+            throw new StorageException("Could not create staged file in " + this.stagingFolder, e);
+        }
+    }
+}
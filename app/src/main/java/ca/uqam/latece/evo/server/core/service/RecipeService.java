@@ -0,0 +1,431 @@
+package ca.uqam.latece.evo.server.core.service;
+
+import ca.uqam.latece.evo.server.core.enumeration.TimeCycle;
+import ca.uqam.latece.evo.server.core.repository.RecipeRepository;
+import ca.uqam.latece.evo.server.core.repository.RecipeStore.ActivityRow;
+import ca.uqam.latece.evo.server.core.repository.RecipeStore.BlockRow;
+import ca.uqam.latece.evo.server.core.repository.RecipeStore.ComposedOfRow;
+import ca.uqam.latece.evo.server.core.repository.RecipeStore.ContentRow;
+import ca.uqam.latece.evo.server.core.repository.RecipeStore.InterventionRow;
+import ca.uqam.latece.evo.server.core.repository.RecipeStore.Link;
+import ca.uqam.latece.evo.server.core.repository.RecipeStore.ModuleActivityRow;
+import ca.uqam.latece.evo.server.core.repository.RecipeStore.ModuleRow;
+import ca.uqam.latece.evo.server.core.repository.RecipeStore.Node;
+import ca.uqam.latece.evo.server.core.repository.RecipeStore.PhaseRow;
+import ca.uqam.latece.evo.server.core.repository.RecipeStore.SkillLinkRow;
+import ca.uqam.latece.evo.server.core.request.Recipe;
+import ca.uqam.latece.evo.server.core.response.RecipeIdMap;
+import ca.uqam.latece.evo.server.core.util.ObjectValidator;
+import ca.uqam.latece.evo.server.core.util.StringToLambdaConverter;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Recipe Service: authors a whole BehaviorChangeIntervention from a {@link Recipe} in one transaction.
+ * <p>
+ * The recipe is validated as a graph before anything is written: the keys are unique, every reference resolves, every
+ * node is reachable from the intervention, the names are not taken, the referred roles, skills and activities exist,
+ * and every distinct entry and exit condition compiles (once, whatever the number of nodes that share it). The rows
+ * are then inserted with one JDBC batch per table, and the ids of the new nodes are returned by key.
+ * @version 1.0
+ * @author Edilton Lima dos Santos.
+ */
+@Service
+@Transactional
+public class RecipeService {
+    private static final Logger logger = LogManager.getLogger(RecipeService.class);
+
+    private final RecipeRepository recipeRepository;
+
+    @Autowired
+    public RecipeService(RecipeRepository recipeRepository) {
+        this.recipeRepository = recipeRepository;
+    }
+
+    /**
+     * Creates the BehaviorChangeIntervention of a recipe with all its nodes.
+     * @param recipe the recipe.
+     * @return the ids of the new nodes, by key.
+     * @throws IllegalArgumentException if the recipe is null or invalid, with all its errors.
+     */
+    public RecipeIdMap create(Recipe recipe) {
+        ObjectValidator.validateObject(recipe);
+        List<String> errors = validate(recipe);
+
+        if (!errors.isEmpty()) {
+            throw new IllegalArgumentException("Invalid recipe " + recipe.name() + ": " + String.join("; ", errors));
+        }
+
+        RecipeIdMap ids = persist(recipe);
+        logger.info("Recipe {} created with {} phases, {} blocks, {} modules, {} activities and {} contents: {}",
+                recipe.name(), ids.phases().size(), ids.blocks().size(), ids.modules().size(),
+                ids.activities().size(), ids.contents().size(), ids.intervention());
+        return ids;
+    }
+
+    /**
+     * Validates a recipe.
+     * @param recipe the recipe.
+     * @return the errors, empty if the recipe is valid.
+     */
+    private List<String> validate(Recipe recipe) {
+        List<String> errors = new ArrayList<>();
+
+        if (recipe.name() == null || recipe.name().isBlank()) {
+            errors.add("the intervention requires a name");
+        }
+
+        requireConditions("the intervention", recipe.entryConditions(), recipe.exitConditions(), errors);
+
+        Map<String, Recipe.Phase> phases = index("phase", recipe.phases(), Recipe.Phase::key, errors);
+        Map<String, Recipe.Block> blocks = index("block", recipe.blocks(), Recipe.Block::key, errors);
+        Map<String, Recipe.Module> modules = index("module", recipe.modules(), Recipe.Module::key, errors);
+        Map<String, Recipe.Activity> activities = index("activity", recipe.activities(), Recipe.Activity::key, errors);
+        Map<String, Recipe.Content> contents = index("content", recipe.contents(), Recipe.Content::key, errors);
+
+        Set<String> usedBlocks = new HashSet<>();
+        Set<String> usedModules = new HashSet<>();
+        Set<String> usedActivities = new HashSet<>();
+        Set<String> usedContents = new HashSet<>();
+        Set<Long> activityIds = new HashSet<>();
+        Set<Long> roleIds = new HashSet<>();
+        Set<Long> skillIds = new HashSet<>();
+
+        phases.forEach((key, phase) -> validatePhase(key, phase, blocks.keySet(), usedBlocks, modules.keySet(),
+                usedModules, errors));
+        blocks.forEach((key, block) -> validateBlock(key, block, activities.keySet(), usedActivities, activityIds,
+                errors));
+        modules.forEach((key, module) -> validateModule(key, module, activities.keySet(), usedActivities,
+                activityIds, skillIds, errors));
+        activities.forEach((key, activity) -> validateActivity(key, activity, contents.keySet(), usedContents,
+                roleIds, skillIds, errors));
+        contents.forEach((key, content) -> validateContent(key, content, errors));
+
+        // Every node is reachable from the intervention.
+        unreachable("block", blocks.keySet(), usedBlocks, errors);
+        unreachable("module", modules.keySet(), usedModules, errors);
+        unreachable("activity", activities.keySet(), usedActivities, errors);
+        unreachable("content", contents.keySet(), usedContents, errors);
+
+        // The names are unique in the recipe, and not taken.
+        duplicateNames("module", modules.values().stream().map(Recipe.Module::name).toList(), errors);
+        duplicateNames("activity", activities.values().stream().map(Recipe.Activity::name).toList(), errors);
+        duplicateNames("content", contents.values().stream().map(Recipe.Content::name).toList(), errors);
+
+        if (errors.isEmpty()) {
+            validateExisting(recipe, activityIds, roleIds, skillIds, errors);
+        }
+
+        // The conditions are compiled last, once each, as the compilation is by far the costliest check.
+        if (errors.isEmpty()) {
+            validateConditions(recipe, errors);
+        }
+
+        return errors;
+    }
+
+    private static void validatePhase(String key, Recipe.Phase phase, Set<String> blockKeys, Set<String> usedBlocks,
+                                      Set<String> moduleKeys, Set<String> usedModules, List<String> errors) {
+        requireConditions("phase " + key, phase.entryConditions(), phase.exitConditions(), errors);
+        resolve("phase " + key, "block", phase.blocks(), blockKeys, usedBlocks, errors);
+        resolve("phase " + key, "module", phase.modules(), moduleKeys, usedModules, errors);
+    }
+
+    private static void validateBlock(String key, Recipe.Block block, Set<String> activityKeys,
+                                      Set<String> usedActivities, Set<Long> activityIds, List<String> errors) {
+        requireConditions("block " + key, block.entryConditions(), block.exitConditions(), errors);
+
+        for (Recipe.BlockActivity activity : block.activities()) {
+            resolveActivity("block " + key, activity.activity(), activity.activityId(), activityKeys,
+                    usedActivities, activityIds, errors);
+        }
+    }
+
+    private static void validateModule(String key, Recipe.Module module, Set<String> activityKeys,
+                                       Set<String> usedActivities, Set<Long> activityIds, Set<Long> skillIds,
+                                       List<String> errors) {
+        if (module.name() == null || module.name().isBlank()) {
+            errors.add("module " + key + " requires a name");
+        }
+
+        if (module.preconditions() == null || module.postconditions() == null) {
+            errors.add("module " + key + " requires preconditions and postconditions");
+        }
+
+        requireIds("module " + key, "skill", module.skills(), skillIds, errors);
+
+        for (Recipe.ModuleActivity activity : module.activities()) {
+            resolveActivity("module " + key, activity.activity(), activity.activityId(), activityKeys,
+                    usedActivities, activityIds, errors);
+        }
+    }
+
+    private static void validateActivity(String key, Recipe.Activity activity, Set<String> contentKeys,
+                                         Set<String> usedContents, Set<Long> roleIds, Set<Long> skillIds,
+                                         List<String> errors) {
+        if (activity.name() == null || activity.name().isBlank() || activity.description() == null ||
+                activity.type() == null) {
+            errors.add("activity " + key + " requires a name, a description and a type");
+        }
+
+        requireIds("activity " + key, "party", activity.parties(), roleIds, errors);
+        resolve("activity " + key, "content", activity.contents(), contentKeys, usedContents, errors);
+
+        for (Recipe.SkillLink link : Stream.concat(activity.develops().stream(), activity.requires().stream())
+                .toList()) {
+            if (link == null || link.roleId() == null || link.skillId() == null || link.level() == null) {
+                errors.add("activity " + key + " has a skill link without role, skill or level");
+            } else {
+                roleIds.add(link.roleId());
+                skillIds.add(link.skillId());
+            }
+        }
+    }
+
+    private static void validateContent(String key, Recipe.Content content, List<String> errors) {
+        if (content.name() == null || content.name().isBlank() || content.description() == null) {
+            errors.add("content " + key + " requires a name and a description");
+        }
+    }
+
+    /**
+     * Checks the names and the ids of a recipe that is otherwise valid against the database.
+     */
+    private void validateExisting(Recipe recipe, Set<Long> activityIds, Set<Long> roleIds, Set<Long> skillIds,
+                                  List<String> errors) {
+        taken("intervention", List.of(recipe.name()), recipeRepository::findExistingInterventionNames, errors);
+        taken("module", recipe.modules().stream().map(Recipe.Module::name).toList(),
+                recipeRepository::findExistingModuleNames, errors);
+        taken("activity", recipe.activities().stream().map(Recipe.Activity::name).toList(),
+                recipeRepository::findExistingActivityNames, errors);
+        taken("content", recipe.contents().stream().map(Recipe.Content::name).toList(),
+                recipeRepository::findExistingContentNames, errors);
+        missing("activity", activityIds, recipeRepository::findExistingActivityIds, errors);
+        missing("role", roleIds, recipeRepository::findExistingRoleIds, errors);
+        missing("skill", skillIds, recipeRepository::findExistingSkillIds, errors);
+    }
+
+    private static void validateConditions(Recipe recipe, List<String> errors) {
+        Set<String> conditions = new LinkedHashSet<>(List.of(recipe.entryConditions(), recipe.exitConditions()));
+        recipe.phases().forEach(phase -> {
+            conditions.add(phase.entryConditions());
+            conditions.add(phase.exitConditions());
+        });
+        recipe.blocks().forEach(block -> {
+            conditions.add(block.entryConditions());
+            conditions.add(block.exitConditions());
+        });
+
+        for (String condition : conditions) {
+            if (!StringToLambdaConverter.isValidCondition(condition)) {
+                errors.add("the condition '" + condition + "' does not compile");
+            }
+        }
+    }
+
+    /**
+     * Inserts the rows of a valid recipe.
+     * @param recipe the recipe.
+     * @return the ids of the new nodes, by key.
+     */
+    private RecipeIdMap persist(Recipe recipe) {
+        long interventionId = recipeRepository.allocateIds(Node.INTERVENTION, 1).getFirst();
+        Map<String, Long> phaseIds = allocate(Node.PHASE, recipe.phases(), Recipe.Phase::key);
+        Map<String, Long> blockIds = allocate(Node.BLOCK, recipe.blocks(), Recipe.Block::key);
+        Map<String, Long> moduleIds = allocate(Node.MODULE, recipe.modules(), Recipe.Module::key);
+        Map<String, Long> activityIds = allocate(Node.ACTIVITY, recipe.activities(), Recipe.Activity::key);
+        Map<String, Long> contentIds = allocate(Node.CONTENT, recipe.contents(), Recipe.Content::key);
+
+        // The nodes, the referred ones first, then their relationships.
+        recipeRepository.insertIntervention(new InterventionRow(interventionId, recipe.name(),
+                recipe.entryConditions(), recipe.exitConditions()));
+        recipeRepository.insertContents(recipe.contents().stream().map(content -> new ContentRow(
+                contentIds.get(content.key()), content.name(), content.description(), content.type())).toList());
+        recipeRepository.insertActivities(recipe.activities().stream().map(activity -> new ActivityRow(
+                activityIds.get(activity.key()), activity.name(), activity.description(), activity.type(),
+                activity.preconditions(), activity.postconditions())).toList());
+        recipeRepository.insertModules(recipe.modules().stream().map(module -> new ModuleRow(
+                moduleIds.get(module.key()), module.name(), module.description(), module.preconditions(),
+                module.postconditions())).toList());
+        recipeRepository.insertBlocks(recipe.blocks().stream().map(block -> new BlockRow(blockIds.get(block.key()),
+                block.entryConditions(), block.exitConditions())).toList());
+        recipeRepository.insertPhases(recipe.phases().stream().map(phase -> new PhaseRow(phaseIds.get(phase.key()),
+                interventionId, phase.entryConditions(), phase.exitConditions())).toList());
+
+        RecipeIdMap ids = new RecipeIdMap(interventionId, phaseIds, blockIds, moduleIds, activityIds, contentIds);
+        insertLinks(recipe, ids);
+        return ids;
+    }
+
+    /**
+     * Inserts the relationships of a valid recipe, once its nodes are inserted.
+     * @param recipe the recipe.
+     * @param ids the ids of the nodes, by key.
+     */
+    private void insertLinks(Recipe recipe, RecipeIdMap ids) {
+        Map<String, Long> phaseIds = ids.phases();
+        Map<String, Long> blockIds = ids.blocks();
+        Map<String, Long> moduleIds = ids.modules();
+        Map<String, Long> activityIds = ids.activities();
+        Map<String, Long> contentIds = ids.contents();
+        List<Link> phaseBlocks = new ArrayList<>();
+        List<Link> phaseModules = new ArrayList<>();
+        List<Link> moduleSkills = new ArrayList<>();
+        List<Link> activityContents = new ArrayList<>();
+        List<Link> activityRoles = new ArrayList<>();
+        List<ComposedOfRow> composedOf = new ArrayList<>();
+        List<ModuleActivityRow> moduleActivities = new ArrayList<>();
+        List<SkillLinkRow> develops = new ArrayList<>();
+        List<SkillLinkRow> requires = new ArrayList<>();
+
+        for (Recipe.Phase phase : recipe.phases()) {
+            long id = phaseIds.get(phase.key());
+            phase.blocks().forEach(block -> phaseBlocks.add(new Link(id, blockIds.get(block))));
+            phase.modules().forEach(module -> phaseModules.add(new Link(id, moduleIds.get(module))));
+        }
+
+        for (Recipe.Block block : recipe.blocks()) {
+            long id = blockIds.get(block.key());
+            block.activities().forEach(activity -> composedOf.add(new ComposedOfRow(id,
+                    activityId(activity.activity(), activity.activityId(), activityIds),
+                    activity.timing() == null ? TimeCycle.UNSPECIFIED : activity.timing(), activity.order())));
+        }
+
+        for (Recipe.Module module : recipe.modules()) {
+            long id = moduleIds.get(module.key());
+            module.skills().forEach(skill -> moduleSkills.add(new Link(id, skill)));
+            module.activities().forEach(activity -> moduleActivities.add(new ModuleActivityRow(id,
+                    activityId(activity.activity(), activity.activityId(), activityIds), activity.order())));
+        }
+
+        for (Recipe.Activity activity : recipe.activities()) {
+            long id = activityIds.get(activity.key());
+            activity.contents().forEach(content -> activityContents.add(new Link(id, contentIds.get(content))));
+            activity.parties().forEach(role -> activityRoles.add(new Link(id, role)));
+            activity.develops().forEach(link -> develops.add(new SkillLinkRow(id, link.roleId(), link.skillId(),
+                    link.level())));
+            activity.requires().forEach(link -> requires.add(new SkillLinkRow(id, link.roleId(), link.skillId(),
+                    link.level())));
+        }
+
+        recipeRepository.insertPhaseBlocks(phaseBlocks);
+        recipeRepository.insertPhaseModules(phaseModules);
+        recipeRepository.insertModuleSkills(moduleSkills);
+        recipeRepository.insertActivityContents(activityContents);
+        recipeRepository.insertActivityRoles(activityRoles);
+        recipeRepository.insertComposedOf(composedOf);
+        recipeRepository.insertModuleActivities(moduleActivities);
+        recipeRepository.insertDevelops(develops);
+        recipeRepository.insertRequires(requires);
+    }
+
+    private <T> Map<String, Long> allocate(Node node, List<T> nodes, Function<T, String> key) {
+        List<Long> ids = recipeRepository.allocateIds(node, nodes.size());
+        Map<String, Long> idsByKey = new LinkedHashMap<>();
+
+        for (int i = 0; i < nodes.size(); i++) {
+            idsByKey.put(key.apply(nodes.get(i)), ids.get(i));
+        }
+
+        return idsByKey;
+    }
+
+    private static long activityId(String key, Long existingId, Map<String, Long> activityIds) {
+        return key != null ? activityIds.get(key) : existingId;
+    }
+
+    private static <T> Map<String, T> index(String kind, List<T> nodes, Function<T, String> key, List<String> errors) {
+        Map<String, T> nodesByKey = new LinkedHashMap<>();
+
+        for (T node : nodes) {
+            String nodeKey = node == null ? null : key.apply(node);
+
+            if (nodeKey == null || nodeKey.isBlank()) {
+                errors.add("a " + kind + " has no key");
+            } else if (nodesByKey.putIfAbsent(nodeKey, node) != null) {
+                errors.add("the " + kind + " key " + nodeKey + " is duplicated");
+            }
+        }
+
+        return nodesByKey;
+    }
+
+    private static void requireConditions(String node, String entryConditions, String exitConditions,
+                                          List<String> errors) {
+        if (entryConditions == null || exitConditions == null) {
+            errors.add(node + " requires entry and exit conditions");
+        }
+    }
+
+    private static void resolve(String node, String kind, List<String> references, Set<String> keys,
+                                Set<String> used, List<String> errors) {
+        for (String reference : references) {
+            if (keys.contains(reference)) {
+                used.add(reference);
+            } else {
+                errors.add(node + " refers to an unknown " + kind + " " + reference);
+            }
+        }
+    }
+
+    private static void resolveActivity(String node, String key, Long existingId, Set<String> keys,
+                                        Set<String> used, Set<Long> existingIds, List<String> errors) {
+        if ((key == null) == (existingId == null)) {
+            errors.add(node + " has an activity with none or both of a key and an id");
+        } else if (existingId != null) {
+            existingIds.add(existingId);
+        } else {
+            resolve(node, "activity", List.of(key), keys, used, errors);
+        }
+    }
+
+    private static void requireIds(String node, String kind, List<Long> ids, Set<Long> allIds, List<String> errors) {
+        if (ids.stream().anyMatch(Objects::isNull)) {
+            errors.add(node + " has a null " + kind + " id");
+        } else {
+            allIds.addAll(ids);
+        }
+    }
+
+    private static void unreachable(String kind, Set<String> keys, Set<String> used, List<String> errors) {
+        keys.stream().filter(key -> !used.contains(key))
+                .forEach(key -> errors.add("the " + kind + " " + key + " is not part of the intervention"));
+    }
+
+    private static void duplicateNames(String kind, List<String> names, List<String> errors) {
+        Set<String> unique = new HashSet<>();
+        names.stream().filter(name -> !unique.add(name)).distinct()
+                .forEach(name -> errors.add("the " + kind + " name " + name + " is duplicated"));
+    }
+
+    private static void taken(String kind, List<String> names, Function<Collection<String>, List<String>> existing,
+                              List<String> errors) {
+        if (!names.isEmpty()) {
+            existing.apply(names).forEach(name -> errors.add("the " + kind + " name " + name + " is taken"));
+        }
+    }
+
+    private static void missing(String kind, Set<Long> ids, Function<Collection<Long>, List<Long>> existing,
+                                List<String> errors) {
+        if (!ids.isEmpty()) {
+            Set<Long> missingIds = new LinkedHashSet<>(ids);
+            existing.apply(ids).forEach(missingIds::remove);
+            missingIds.forEach(id -> errors.add("the " + kind + " " + id + " does not exist"));
+        }
+    }
+}
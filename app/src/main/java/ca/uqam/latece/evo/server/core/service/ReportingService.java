@@ -109,6 +109,7 @@ public class ReportingService extends AbstractEvoService<Reporting> {
      * @return true if a Reporting with the specified name exists, false otherwise.
      * @throws IllegalArgumentException if the name is null.
      */
+    @Transactional(readOnly = true)
     public boolean existsByName(String name) {
         ObjectValidator.validateString(name);
         return reportingRepository.existsByName(name);
@@ -121,6 +122,7 @@ public class ReportingService extends AbstractEvoService<Reporting> {
      * @throws IllegalArgumentException if the id is null.
      */
     @Override
+    @Transactional(readOnly = true)
     public boolean existsById(Long id) {
         ObjectValidator.validateId(id);
         return reportingRepository.existsById(id);
@@ -148,6 +150,7 @@ public class ReportingService extends AbstractEvoService<Reporting> {
      * @throws IllegalArgumentException – if id is null.
      */
     @Override
+    @Transactional(readOnly = true)
     public Reporting findById(Long id) {
         ObjectValidator.validateId(id);
         return reportingRepository.findById(id).orElse(null);
@@ -158,6 +161,7 @@ public class ReportingService extends AbstractEvoService<Reporting> {
      * @param name the type of the Reporting to search for.
      * @return a list of Reporting entities matching the specified name.
      */
+    @Transactional(readOnly = true)
     public List<Reporting> findByName(String name) {
         ObjectValidator.validateString(name);
         return reportingRepository.findByName(name);
@@ -168,6 +172,7 @@ public class ReportingService extends AbstractEvoService<Reporting> {
      * @param type the type of the Reporting to search for.
      * @return a list of Reporting entities matching the specified type.
      */
+    @Transactional(readOnly = true)
     public List<Reporting> findByType(ActivityType type) {
         ObjectValidator.validateObject(type);
         return reportingRepository.findByType(type);
@@ -178,6 +183,7 @@ public class ReportingService extends AbstractEvoService<Reporting> {
      * @return all Reporting.
      */
     @Override
+    @Transactional(readOnly = true)
     public List<Reporting> findAll() {
         return reportingRepository.findAll();
     }
@@ -99,6 +99,7 @@ public class RequiresService extends AbstractEvoService<Requires> {
      * @throws IllegalArgumentException if the provided id is null.
      */
     @Override
+    @Transactional(readOnly = true)
     public boolean existsById(Long id) {
         ObjectValidator.validateId(id);
         return requiresRepository.existsById(id);
@@ -112,6 +113,7 @@ public class RequiresService extends AbstractEvoService<Requires> {
      * @throws IllegalArgumentException if the provided id is null or invalid.
      */
     @Override
+    @Transactional(readOnly = true)
     public Requires findById(Long id) {
         ObjectValidator.validateId(id);
         return requiresRepository.findById(id).orElse(null);
@@ -122,6 +124,7 @@ public class RequiresService extends AbstractEvoService<Requires> {
      * @param level the Requires to filter Develops entities by, must not be null.
      * @return a list of Requires entities that have the specified skill level, or an empty list if no matches are found.
      */
+    @Transactional(readOnly = true)
     public List<Requires> findByLevel(SkillLevel level){
         ObjectValidator.validateObject(level);
         return requiresRepository.findByLevel(level);
@@ -132,6 +135,7 @@ public class RequiresService extends AbstractEvoService<Requires> {
      * @param roleId The Role Id to filter Requires entities by, must not be null.
      * @return a list of Requires entities that have the specified Role id, or an empty list if no matches are found.
      */
+    @Transactional(readOnly = true)
     public List<Requires> findByRoleId(Long roleId) {
         ObjectValidator.validateObject(roleId);
         return requiresRepository.findByRoleId(roleId);
@@ -142,6 +146,7 @@ public class RequiresService extends AbstractEvoService<Requires> {
      * @param skillId The Skill Id to filter Requires entities by, must not be null.
      * @return a list of Requires entities that have the specified Skill id, or an empty list if no matches are found.
      */
+    @Transactional(readOnly = true)
     public List<Requires> findBySkillId(Long skillId) {
         ObjectValidator.validateObject(skillId);
         return requiresRepository.findBySkillId(skillId);
@@ -152,6 +157,7 @@ public class RequiresService extends AbstractEvoService<Requires> {
      * @param bciActivityId The BCI Activity Id to filter Requires entities by, must not be null.
      * @return a list of Requires entities that have the specified BCI Activity Id, or an empty list if no matches are found.
      */
+    @Transactional(readOnly = true)
     public List<Requires> findByBCIActivityId(Long bciActivityId) {
         ObjectValidator.validateObject(bciActivityId);
         return requiresRepository.findByBCIActivityId(bciActivityId);
@@ -162,6 +168,7 @@ public class RequiresService extends AbstractEvoService<Requires> {
      * @return all Requires.
      */
     @Override
+    @Transactional(readOnly = true)
     public List<Requires> findAll() {
         return requiresRepository.findAll();
     }
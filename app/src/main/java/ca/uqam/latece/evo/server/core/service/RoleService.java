@@ -135,6 +135,7 @@ public class RoleService extends AbstractEvoService<Role> {
      * @throws IllegalArgumentException if the provided id is null.
      */
     @Override
+    @Transactional(readOnly = true)
     public boolean existsById(Long id) {
         ObjectValidator.validateId(id);
         return roleRepository.existsById(id);
@@ -146,6 +147,7 @@ public class RoleService extends AbstractEvoService<Role> {
      * @return true if a role with the specified name exists, false otherwise.
      * @throws IllegalArgumentException if the provided name is null or empty.
      */
+    @Transactional(readOnly = true)
     public boolean existsByName(String name) {
         ObjectValidator.validateString(name, ERROR_NULL_MESSAGE, ERROR_EMPTY_MESSAGE);
         return roleRepository.existsByName(name);
@@ -158,6 +160,7 @@ public class RoleService extends AbstractEvoService<Role> {
      * @return a list of roles that match the specified name.
      * @throws IllegalArgumentException if the provided name is null or empty.
      */
+    @Transactional(readOnly = true)
     public List<Role> findByName(String name) {
         ObjectValidator.validateString(name);
         return roleRepository.findByName(name);
@@ -171,6 +174,7 @@ public class RoleService extends AbstractEvoService<Role> {
      * @throws IllegalArgumentException if the provided id is null or invalid.
      */
     @Override
+    @Transactional(readOnly = true)
     public Role findById(Long id) {
         ObjectValidator.validateId(id);
         return roleRepository.findById(id).orElse(null);
@@ -181,6 +185,7 @@ public class RoleService extends AbstractEvoService<Role> {
      * @param bciActivityId The BCI Activity Id to filter Role entities by, must not be null.
      * @return a list of Role entities that have the specified BCI Activity Id, or an empty list if no matches are found.
      */
+    @Transactional(readOnly = true)
     public List<Role> findByBCIActivityId(Long bciActivityId) {
         ObjectValidator.validateId(bciActivityId);
         return roleRepository.findByBciActivities_Id(bciActivityId);
@@ -191,6 +196,7 @@ public class RoleService extends AbstractEvoService<Role> {
      * @param bciActivitiesRole The BCI Activity to filter Role entities by, must not be null.
      * @return a list of Role entities that have the specified BCI Activity, or an empty list if no matches are found.
      */
+    @Transactional(readOnly = true)
     public List<Role> findByBCIActivity(BCIActivity bciActivitiesRole) {
         ObjectValidator.validateObject(bciActivitiesRole);
         ObjectValidator.validateId(bciActivitiesRole.getId());
@@ -202,6 +208,7 @@ public class RoleService extends AbstractEvoService<Role> {
      * @return a list of all roles present in the repository.
      */
     @Override
+    @Transactional(readOnly = true)
     public List<Role> findAll() {
         return roleRepository.findAll().stream().toList();
     }
@@ -0,0 +1,103 @@
+package ca.uqam.latece.evo.server.core.service;
+
+import ca.uqam.latece.evo.server.core.enumeration.SearchEntityType;
+import ca.uqam.latece.evo.server.core.repository.SearchRepository;
+import ca.uqam.latece.evo.server.core.response.SearchResponse;
+import ca.uqam.latece.evo.server.core.response.SearchResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Search Service: prefix, substring and typo-tolerant search over the patients, the health care professionals and the
+ * recipe catalog, with relevance ranking and paging.
+ * @version 1.0
+ * @author Edilton Lima dos Santos.
+ */
+@Service
+@Transactional(readOnly = true)
+public class SearchService {
+    private static final Logger logger = LoggerFactory.getLogger(SearchService.class);
+
+    public static final int MIN_QUERY_LENGTH = 2;
+
+    public static final int MAX_QUERY_LENGTH = 128;
+
+    public static final int MAX_PAGE_SIZE = 100;
+
+    @Autowired
+    private SearchRepository searchRepository;
+
+    public SearchService() {}
+
+    /**
+     * Searches the entities whose name (or specialties, for the health care professionals) matches a query. The exact
+     * matches come first, then the prefix matches, the substring matches and the matches tolerating typos.
+     * @param query the query, at least 2 characters long.
+     * @param types the kinds of entities to search, all of them if null or empty.
+     * @param page the number of the page, starting at 0.
+     * @param size the number of results per page, between 1 and 100.
+     * @return the page of results.
+     * @throws IllegalArgumentException if the query is too short or too long, or the page is invalid.
+     */
+    public SearchResponse search(String query, Collection<SearchEntityType> types, int page, int size) {
+        String term = normalize(query);
+
+        if (page < 0) {
+            throw new IllegalArgumentException("The page must be positive or zero");
+        } else if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("The page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+
+        List<String> typeNames = (types == null || types.isEmpty() ? Arrays.asList(SearchEntityType.values()) : types)
+                .stream()
+                .map(Enum::name)
+                .toList();
+        String escaped = escapeLikePattern(term);
+
+        // One more result than the page size is fetched to know if there is a next page, without counting them all.
+        List<SearchResult> results = searchRepository.search(term, escaped + "%", "%" + escaped + "%", typeNames,
+                size + 1, (long) page * size);
+        boolean hasNext = results.size() > size;
+
+        if (hasNext) {
+            results = results.subList(0, size);
+        }
+
+        logger.info("Search '{}' in {} (page {}): {} results", term, typeNames, page, results.size());
+        return new SearchResponse(term, page, size, hasNext, results);
+    }
+
+    /**
+     * Trims, lower cases and collapses the whitespace of a query.
+     * @param query the query.
+     * @return the normalized query.
+     * @throws IllegalArgumentException if the query is too short or too long.
+     */
+    static String normalize(String query) {
+        String term = query == null ? "" : query.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+
+        if (term.length() < MIN_QUERY_LENGTH || term.length() > MAX_QUERY_LENGTH) {
+            throw new IllegalArgumentException("The query must contain between " + MIN_QUERY_LENGTH + " and " +
+                    MAX_QUERY_LENGTH + " characters");
+        }
+
+        return term;
+    }
+
+    /**
+     * Escapes the LIKE wildcards of a term, with the escape character declared in the SearchRepository query.
+     * @param term the term.
+     * @return the escaped term.
+     */
+    static String escapeLikePattern(String term) {
+        return term.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
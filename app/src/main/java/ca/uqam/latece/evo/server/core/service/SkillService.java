@@ -3,14 +3,25 @@ package ca.uqam.latece.evo.server.core.service;
 import ca.uqam.latece.evo.server.core.enumeration.SkillType;
 import ca.uqam.latece.evo.server.core.model.Skill;
 import ca.uqam.latece.evo.server.core.repository.SkillRepository;
+import ca.uqam.latece.evo.server.core.response.LearningPathStep;
+import ca.uqam.latece.evo.server.core.response.SkillDependency;
+import ca.uqam.latece.evo.server.core.response.SkillNode;
 import ca.uqam.latece.evo.server.core.util.ObjectValidator;
-import jakarta.transaction.Transactional;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
 
 /**
  * Skill Service.
@@ -22,6 +33,12 @@ import java.util.List;
 public class SkillService extends AbstractEvoService<Skill> {
     private static final Logger logger = LogManager.getLogger(SkillService.class);
 
+    public static final String PREREQUISITES_CACHE = "skillPrerequisites";
+
+    public static final String DESCENDANTS_CACHE = "skillDescendants";
+
+    public static final String LEARNING_PATH_CACHE = "skillLearningPath";
+
     @Autowired
     private SkillRepository skillRepository;
 
@@ -34,6 +51,7 @@ public class SkillService extends AbstractEvoService<Skill> {
      * @throws IllegalArgumentException in case the given Skill is null.
      */
     @Override
+    @CacheEvict(cacheNames = {PREREQUISITES_CACHE, DESCENDANTS_CACHE, LEARNING_PATH_CACHE}, allEntries = true)
     public Skill create(Skill skill) {
         Skill skillSaved = null;
 
@@ -59,6 +77,7 @@ public class SkillService extends AbstractEvoService<Skill> {
      * @throws IllegalArgumentException in case the given Skill is null.
      */
     @Override
+    @CacheEvict(cacheNames = {PREREQUISITES_CACHE, DESCENDANTS_CACHE, LEARNING_PATH_CACHE}, allEntries = true)
     public Skill update(Skill skill) {
         Skill skillSaved = null;
 
@@ -107,6 +126,7 @@ public class SkillService extends AbstractEvoService<Skill> {
      * @throws IllegalArgumentException if the id is null.
      */
     @Override
+    @Transactional(readOnly = true)
     public boolean existsById(Long id) {
         ObjectValidator.validateId(id);
         return skillRepository.existsById(id);
@@ -118,6 +138,7 @@ public class SkillService extends AbstractEvoService<Skill> {
      * @return true if a Skill with the specified name exists, false otherwise.
      * @throws IllegalArgumentException if the name is null.
      */
+    @Transactional(readOnly = true)
     public boolean existsByName(String name) {
         ObjectValidator.validateString(name);
         return skillRepository.existsByName(name);
@@ -131,6 +152,7 @@ public class SkillService extends AbstractEvoService<Skill> {
      * @throws IllegalArgumentException in case the given id is null.
      */
     @Override
+    @CacheEvict(cacheNames = {PREREQUISITES_CACHE, DESCENDANTS_CACHE, LEARNING_PATH_CACHE}, allEntries = true)
     public void deleteById(Long id) {
         ObjectValidator.validateId(id);
         skillRepository.deleteById(id);
@@ -142,6 +164,7 @@ public class SkillService extends AbstractEvoService<Skill> {
      * @return a list of skills matching the given type.
      */
     @Override
+    @Transactional(readOnly = true)
     public Skill findById(Long id) {
         ObjectValidator.validateId(id);
       return skillRepository.findById(id).orElse(null);
@@ -152,6 +175,7 @@ public class SkillService extends AbstractEvoService<Skill> {
      * @param name the name of the skills to search for.
      * @return a list of skills matching the given type.
      */
+    @Transactional(readOnly = true)
     public List<Skill> findByName(String name){
         ObjectValidator.validateString(name);
         return skillRepository.findByName(name);
@@ -162,6 +186,7 @@ public class SkillService extends AbstractEvoService<Skill> {
      * @param type the type of the skills to search for.
      * @return a list of skills matching the given type.
      */
+    @Transactional(readOnly = true)
     public List<Skill> findByType(SkillType type){
         ObjectValidator.validateObject(type);
         return skillRepository.findByType(type);
@@ -172,6 +197,7 @@ public class SkillService extends AbstractEvoService<Skill> {
      * @param id the id of the skills to search for.
      * @return a list of skills matching the given id.
      */
+    @Transactional(readOnly = true)
     public List<Skill> findByRequiredSkill(Long id) {
         ObjectValidator.validateId(id);
         return skillRepository.findByRequiredSkill_Id(id);
@@ -182,6 +208,7 @@ public class SkillService extends AbstractEvoService<Skill> {
      * @param id the id of the subskills to search for.
      * @return a list of skills matching the given subskill id.
      */
+    @Transactional(readOnly = true)
     public List<Skill> findBySubSkill(Long id) {
         ObjectValidator.validateId(id);
         return skillRepository.findBySubSkill_Id(id);
@@ -193,6 +220,7 @@ public class SkillService extends AbstractEvoService<Skill> {
      * @return a list of skills matching the given composed skill.
      * @throws IllegalArgumentException in case the given id is null.
      */
+    @Transactional(readOnly = true)
     public List<Skill> findBySkillComposedOfSkillId(Long id) {
         ObjectValidator.validateId(id);
         return skillRepository.findBySkillComposedOfSkillId(id);
@@ -203,6 +231,7 @@ public class SkillService extends AbstractEvoService<Skill> {
      * @param id the id of the assessment to search for.
      * @return a list of skills matching the given assessment id.
      */
+    @Transactional(readOnly = true)
     public List<Skill> findByAssessments_Id(Long id) {
         ObjectValidator.validateId(id);
         return skillRepository.findByAssessments_Id(id);
@@ -213,7 +242,99 @@ public class SkillService extends AbstractEvoService<Skill> {
      * @return all skills.
      */
     @Override
+    @Transactional(readOnly = true)
     public List<Skill> findAll() {
         return skillRepository.findAll();
     }
+
+    /**
+     * Finds the transitive prerequisites of a skill (its required skills, their required skills, and so on).
+     * The result is cached until the next Skill write.
+     * @param id the skill id.
+     * @return the prerequisites ordered by name.
+     * @throws IllegalArgumentException in case the given id is null.
+     */
+    @Cacheable(cacheNames = PREREQUISITES_CACHE, key = "#id")
+    @Transactional(readOnly = true)
+    public List<SkillNode> findTransitivePrerequisites(Long id) {
+        ObjectValidator.validateId(id);
+        return skillRepository.findTransitivePrerequisites(id);
+    }
+
+    /**
+     * Finds the descendants of a skill (its sub skills and composed skills, whatever the depth).
+     * The result is cached until the next Skill write.
+     * @param id the skill id.
+     * @return the descendants ordered by name.
+     * @throws IllegalArgumentException in case the given id is null.
+     */
+    @Cacheable(cacheNames = DESCENDANTS_CACHE, key = "#id")
+    @Transactional(readOnly = true)
+    public List<SkillNode> findDescendants(Long id) {
+        ObjectValidator.validateId(id);
+        return skillRepository.findDescendants(id);
+    }
+
+    /**
+     * Builds the learning path of a skill: its transitive prerequisites and the skill itself, in topological order,
+     * so each skill comes after all its prerequisites. The skills are ordered by level (see {@link LearningPathStep}),
+     * then by name. The result is cached until the next Skill write.
+     * @param id the skill id.
+     * @return the learning path, ending with the skill, or an empty list if the skill does not exist.
+     * @throws IllegalArgumentException in case the given id is null.
+     * @throws IllegalStateException if the prerequisites of the skill form a cycle.
+     */
+    @Cacheable(cacheNames = LEARNING_PATH_CACHE, key = "#id")
+    @Transactional(readOnly = true)
+    public List<LearningPathStep> findLearningPath(Long id) {
+        ObjectValidator.validateId(id);
+        Map<Long, SkillNode> skills = new LinkedHashMap<>();
+        Map<Long, List<Long>> dependents = new HashMap<>();
+        Map<Long, Integer> pending = new HashMap<>();
+
+        for (SkillDependency dependency : skillRepository.findPrerequisiteDependencies(id)) {
+            skills.putIfAbsent(dependency.getId(), dependency);
+            pending.merge(dependency.getId(), dependency.getRequiredId() == null ? 0 : 1, Integer::sum);
+
+            if (dependency.getRequiredId() != null) {
+                dependents.computeIfAbsent(dependency.getRequiredId(), k -> new ArrayList<>()).add(dependency.getId());
+            }
+        }
+
+        // Kahn's algorithm: a skill is learned once all its prerequisites are learned.
+        Comparator<LearningPathStep> order = Comparator.comparingInt(LearningPathStep::getLevel)
+                .thenComparing(LearningPathStep::getName).thenComparing(LearningPathStep::getId);
+        PriorityQueue<LearningPathStep> ready = new PriorityQueue<>(order);
+        Map<Long, Integer> levels = new HashMap<>();
+        pending.forEach((skillId, count) -> {
+            if (count == 0) {
+                ready.add(step(skills.get(skillId), 0));
+            }
+        });
+
+        List<LearningPathStep> path = new ArrayList<>(skills.size());
+
+        while (!ready.isEmpty()) {
+            LearningPathStep step = ready.poll();
+            path.add(step);
+
+            for (Long dependent : dependents.getOrDefault(step.getId(), List.of())) {
+                int level = levels.merge(dependent, step.getLevel() + 1, Math::max);
+
+                if (pending.merge(dependent, -1, Integer::sum) == 0) {
+                    ready.add(step(skills.get(dependent), level));
+                }
+            }
+        }
+
+        if (path.size() < skills.size()) {
+            throw new IllegalStateException("The prerequisites of the Skill " + id + " form a cycle!");
+        }
+
+        return path;
+    }
+
+    private static LearningPathStep step(SkillNode skill, int level) {
+        return new LearningPathStep(skill.getId(), skill.getName(), skill.getType(), level);
+    }
 }
@@ -1,6 +1,7 @@
 package ca.uqam.latece.evo.server.core.service.instance;
 
 import ca.uqam.latece.evo.server.core.enumeration.ExecutionStatus;
+import ca.uqam.latece.evo.server.core.event.ActivityInstanceSavedEvent;
 import ca.uqam.latece.evo.server.core.event.EvoClientEvent;
 import ca.uqam.latece.evo.server.core.model.instance.ActivityInstance;
 import ca.uqam.latece.evo.server.core.response.ClientEventResponse;
@@ -78,4 +79,18 @@ abstract public class AbstractBCIInstanceService <A extends ActivityInstance, E
             throw this.buildEventException(event);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Publishes an ActivityInstanceSavedEvent for the given saved ActivityInstance, so its listeners follow the changes
+     * of its execution status in the transaction of the save.
+     * @param saved the saved ActivityInstance, or null if it was not saved (then no event is published).
+     * @return the saved ActivityInstance.
+     */
+    protected A publishSavedEvent(A saved) {
+        if (saved != null) {
+            publishEvent(new ActivityInstanceSavedEvent<>(saved));
+        }
+
+        return saved;
+    }
+}
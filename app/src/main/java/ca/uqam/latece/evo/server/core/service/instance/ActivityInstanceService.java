@@ -96,6 +96,7 @@ public class ActivityInstanceService extends AbstractEvoService<ActivityInstance
      * Finds all ActivityInstance entities.
      * @return List<ActivityInstance>.
      */
+    @Transactional(readOnly = true)
     public List<ActivityInstance> findAll() {
         return this.activityInstanceRepository.findAll();
     }
@@ -107,6 +108,7 @@ public class ActivityInstanceService extends AbstractEvoService<ActivityInstance
      * @throws IllegalArgumentException if id is null.
      */
     @Override
+    @Transactional(readOnly = true)
     public ActivityInstance findById(Long id) {
         ObjectValidator.validateId(id);
         return this.activityInstanceRepository.findById(id).orElse(null);
@@ -118,6 +120,7 @@ public class ActivityInstanceService extends AbstractEvoService<ActivityInstance
      * @return List of ActivityInstance entities with the given status.
      * @throws IllegalArgumentException if the status is null.
      */
+    @Transactional(readOnly = true)
     public List<ActivityInstance> findByStatus(ExecutionStatus status) {
         ObjectValidator.validateObject(status);
         return this.activityInstanceRepository.findByStatus(status);
@@ -129,6 +132,7 @@ public class ActivityInstanceService extends AbstractEvoService<ActivityInstance
      * @return List<ActivityInstance> with the given entryDate.
      * @throws IllegalArgumentException if entryDate is null.
      */
+    @Transactional(readOnly = true)
     public List<ActivityInstance> findByEntryDate(LocalDate entryDate) {
         ObjectValidator.validateObject(entryDate);
         return this.activityInstanceRepository.findByEntryDate(entryDate);
@@ -140,6 +144,7 @@ public class ActivityInstanceService extends AbstractEvoService<ActivityInstance
      * @return List<ActivityInstance> with the given exitDate.
      * @throws IllegalArgumentException if exitDate is null.
      */
+    @Transactional(readOnly = true)
     public List<ActivityInstance> findByExitDate(LocalDate exitDate) {
         ObjectValidator.validateObject(exitDate);
         return this.activityInstanceRepository.findByEntryDate(exitDate);
@@ -152,6 +157,7 @@ public class ActivityInstanceService extends AbstractEvoService<ActivityInstance
      * @throws IllegalArgumentException if id is null.
      */
     @Override
+    @Transactional(readOnly = true)
     public boolean existsById(Long id) {
         ObjectValidator.validateId(id);
         return this.activityInstanceRepository.existsById(id);
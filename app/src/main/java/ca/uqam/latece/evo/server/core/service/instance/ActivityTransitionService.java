@@ -0,0 +1,248 @@
+package ca.uqam.latece.evo.server.core.service.instance;
+
+import ca.uqam.latece.evo.server.core.enumeration.ExecutionStatus;
+import ca.uqam.latece.evo.server.core.event.ActivityInstanceSavedEvent;
+import ca.uqam.latece.evo.server.core.model.instance.ActivityInstance;
+import ca.uqam.latece.evo.server.core.model.instance.BehaviorChangeInterventionBlockInstance;
+import ca.uqam.latece.evo.server.core.model.instance.BehaviorChangeInterventionInstance;
+import ca.uqam.latece.evo.server.core.model.instance.BehaviorChangeInterventionPhaseInstance;
+import ca.uqam.latece.evo.server.core.repository.instance.ActivityTransitionRepository;
+import ca.uqam.latece.evo.server.core.response.ActivityTransition;
+import ca.uqam.latece.evo.server.core.util.ObjectValidator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Activity Transition Service: the append-only log of the execution status transitions of the intervention, phase and
+ * block instances, and the queries that reconstruct their past states.
+ * <p>
+ * The saved instances are collected from the ActivityInstanceSavedEvent during the transaction of the save, then the
+ * instances whose status changed since their last transition are appended with a single JDBC batch just before the
+ * commit. The log is partitioned by month; the partitions of the current and next months are created ahead.
+ * @version 1.0
+ * @author Edilton Lima dos Santos.
+ */
+@Service
+@Transactional
+public class ActivityTransitionService {
+    private static final Logger logger = LoggerFactory.getLogger(ActivityTransitionService.class);
+
+    /**
+     * The number of monthly partitions created ahead of the current month.
+     */
+    static final int PARTITIONS_AHEAD = 2;
+
+    /**
+     * The maximum number of transitions returned by a range query.
+     */
+    static final int MAX_TRANSITIONS = 10_000;
+
+    private final ActivityTransitionRepository activityTransitionRepository;
+
+    private final Clock clock;
+
+    @Autowired
+    public ActivityTransitionService(ActivityTransitionRepository activityTransitionRepository) {
+        this(activityTransitionRepository, Clock.systemUTC());
+    }
+
+    public ActivityTransitionService(ActivityTransitionRepository activityTransitionRepository, Clock clock) {
+        this.activityTransitionRepository = activityTransitionRepository;
+        this.clock = clock;
+    }
+
+    /**
+     * Collects the saved intervention instance tree, phase instance (with its blocks) or block instance. Its
+     * transitions are appended before the commit of the transaction, or immediately without a transaction.
+     * @param event the ActivityInstanceSavedEvent.
+     */
+    @EventListener(ActivityInstanceSavedEvent.class)
+    public void handleActivityInstanceSaved(ActivityInstanceSavedEvent<?> event) {
+        List<ActivityTransition> saved = new ArrayList<>();
+        Instant now = clock.instant();
+
+        switch (event.getEvoModel()) {
+            case BehaviorChangeInterventionInstance bciInstance -> {
+                add(saved, bciInstance, "INTERVENTION", now);
+                bciInstance.getActivities().forEach(phase -> addPhase(saved, phase, now));
+            }
+            case BehaviorChangeInterventionPhaseInstance phase -> addPhase(saved, phase, now);
+            case BehaviorChangeInterventionBlockInstance block -> add(saved, block, "BLOCK", now);
+            default -> { }
+        }
+
+        if (saved.isEmpty()) {
+            return;
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            pendingTransitions().addAll(saved);
+        } else {
+            append(saved);
+        }
+    }
+
+    /**
+     * Finds the state of an instance at a time: its last transition at that time.
+     * @param instanceId the ActivityInstance id.
+     * @param at the time.
+     * @return the transition, or null if the instance had no transition at that time.
+     * @throws IllegalArgumentException if the id or the time is null.
+     */
+    @Transactional(readOnly = true)
+    public ActivityTransition findStateAt(Long instanceId, Instant at) {
+        ObjectValidator.validateId(instanceId);
+        ObjectValidator.validateObject(at);
+        return activityTransitionRepository.findStateAt(instanceId, at);
+    }
+
+    /**
+     * Finds the transitions of an instance in a time range.
+     * @param instanceId the ActivityInstance id.
+     * @param from the start of the range (inclusive), the epoch if null.
+     * @param to the end of the range (exclusive), now if null.
+     * @return the transitions, in time order.
+     * @throws IllegalArgumentException if the id is null or the range is empty.
+     */
+    @Transactional(readOnly = true)
+    public List<ActivityTransition> findHistory(Long instanceId, Instant from, Instant to) {
+        ObjectValidator.validateId(instanceId);
+        Instant start = from == null ? Instant.EPOCH : from;
+        Instant end = to == null ? clock.instant() : to;
+        validateRange(start, end);
+        return activityTransitionRepository.findHistory(instanceId, start, end);
+    }
+
+    /**
+     * Finds the transitions of all the instances in a time range.
+     * @param from the start of the range (inclusive).
+     * @param to the end of the range (exclusive).
+     * @param toStatus the new execution status of the transitions, or null for all the transitions.
+     * @param limit the maximum number of transitions, at most {@value MAX_TRANSITIONS}.
+     * @return the transitions, in time order.
+     * @throws IllegalArgumentException if a bound is null, the range is empty or the limit is out of bounds.
+     */
+    @Transactional(readOnly = true)
+    public List<ActivityTransition> findTransitions(Instant from, Instant to, ExecutionStatus toStatus, int limit) {
+        ObjectValidator.validateObject(from);
+        ObjectValidator.validateObject(to);
+        validateRange(from, to);
+
+        if (limit <= 0 || limit > MAX_TRANSITIONS) {
+            throw new IllegalArgumentException("The limit must be between 1 and " + MAX_TRANSITIONS + ": " + limit);
+        }
+
+        return activityTransitionRepository.findTransitions(from, to, toStatus == null ? null : toStatus.name(), limit);
+    }
+
+    /**
+     * Creates the monthly partitions of the log from the current month to {@value PARTITIONS_AHEAD} months ahead, at
+     * startup and then every day.
+     * @return the number of partitions checked.
+     */
+    @Scheduled(fixedDelayString = "${evo.transitions.partition-check-interval:P1D}")
+    public int createPartitions() {
+        YearMonth month = YearMonth.now(clock.withZone(ZoneOffset.UTC));
+        int count = 0;
+
+        for (int i = 0; i <= PARTITIONS_AHEAD; i++) {
+            activityTransitionRepository.createMonthlyPartition(month.plusMonths(i));
+            count++;
+        }
+
+        logger.info("Activity transition partitions checked: {} from {}", count, month);
+        return count;
+    }
+
+    /**
+     * Appends the transitions of the saved instances whose status changed since their last logged transition, with the
+     * previous status, in a single batch.
+     */
+    private void append(List<ActivityTransition> saved) {
+        Set<Long> instanceIds = new LinkedHashSet<>();
+        saved.forEach(transition -> instanceIds.add(transition.getInstanceId()));
+        Map<Long, String> statuses = new HashMap<>();
+        activityTransitionRepository.findLastStatuses(instanceIds)
+                .forEach(last -> statuses.put(last.getInstanceId(), last.getStatus()));
+        List<ActivityTransition> transitions = new ArrayList<>();
+
+        for (ActivityTransition transition : saved) {
+            String previous = statuses.put(transition.getInstanceId(), transition.getToStatus());
+
+            if (!transition.getToStatus().equals(previous)) {
+                transitions.add(new ActivityTransition(null, transition.getInstanceId(), transition.getType(), previous,
+                        transition.getToStatus(), transition.getEntryDate(), transition.getExitDate(),
+                        transition.getAt()));
+            }
+        }
+
+        activityTransitionRepository.append(transitions);
+        logger.debug("{} activity transitions appended", transitions.size());
+    }
+
+    /**
+     * @return the saved instances of the current transaction, appended before its commit.
+     */
+    @SuppressWarnings("unchecked")
+    private List<ActivityTransition> pendingTransitions() {
+        List<ActivityTransition> pending = (List<ActivityTransition>) TransactionSynchronizationManager.getResource(this);
+
+        if (pending == null) {
+            List<ActivityTransition> transitions = new ArrayList<>();
+            TransactionSynchronizationManager.bindResource(this, transitions);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    TransactionSynchronizationManager.unbindResource(ActivityTransitionService.this);
+                    append(transitions);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(ActivityTransitionService.this);
+                }
+            });
+            pending = transitions;
+        }
+
+        return pending;
+    }
+
+    private static void addPhase(List<ActivityTransition> saved, BehaviorChangeInterventionPhaseInstance phase,
+                                 Instant now) {
+        add(saved, phase, "PHASE", now);
+        phase.getActivities().forEach(block -> add(saved, block, "BLOCK", now));
+    }
+
+    private static void add(List<ActivityTransition> saved, ActivityInstance instance, String type, Instant now) {
+        if (instance.getId() != null) {
+            ExecutionStatus status = instance.getStatus() == null ? ExecutionStatus.UNKNOWN : instance.getStatus();
+            saved.add(new ActivityTransition(null, instance.getId(), type, null, status.name(),
+                    instance.getEntryDate(), instance.getExitDate(), now));
+        }
+    }
+
+    private static void validateRange(Instant from, Instant to) {
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("The time range is empty: " + from + " to " + to);
+        }
+    }
+}
@@ -116,6 +116,7 @@ public class ActorService extends AbstractEvoService<Actor> {
 	 * @return List of Actor.
 	 */
 	@Override
+	@Transactional(readOnly = true)
 	public List<Actor> findAll() {
 		return actorRepository.findAll();
 	}
@@ -127,6 +128,7 @@ public class ActorService extends AbstractEvoService<Actor> {
 	 * @throws IllegalArgumentException if id is null.
 	 */
 	@Override
+	@Transactional(readOnly = true)
 	public Actor findById(Long id) {
 		ObjectValidator.validateId(id);
 		return actorRepository.findById(id).orElse(null);
@@ -138,6 +140,7 @@ public class ActorService extends AbstractEvoService<Actor> {
 	 * @return Actor with the given name.
 	 * @throws IllegalArgumentException if name is null or blank.
 	 */
+	@Transactional(readOnly = true)
 	public List<Actor> findByName(String name){
 		ObjectValidator.validateString(name);
 		return actorRepository.findByName(name);
@@ -149,6 +152,7 @@ public class ActorService extends AbstractEvoService<Actor> {
 	 * @return Actor with the given email.
 	 * @throws IllegalArgumentException if email is null or blank.
 	 */
+	@Transactional(readOnly = true)
 	public Actor findByEmail(String email){
 		ObjectValidator.validateEmail(email);
 		return actorRepository.findByEmail(email);
@@ -160,6 +164,7 @@ public class ActorService extends AbstractEvoService<Actor> {
 	 * @return List of Actor with the given contactInformation.
 	 * @throws IllegalArgumentException if contactInformation is null or blank.
 	 */
+	@Transactional(readOnly = true)
 	public List<Actor> findByContactInformation(String contactInformation) {
 		ObjectValidator.validateString(contactInformation);
 		return this.actorRepository.findByContactInformation(contactInformation);
@@ -172,6 +177,7 @@ public class ActorService extends AbstractEvoService<Actor> {
 	 * @throws IllegalArgumentException if id is null.
 	 */
 	@Override
+	@Transactional(readOnly = true)
 	public boolean existsById(Long id) {
 		ObjectValidator.validateId(id);
 		return actorRepository.existsById(id);
@@ -183,6 +189,7 @@ public class ActorService extends AbstractEvoService<Actor> {
 	 * @return true if exists, otherwise false.
 	 * @throws IllegalArgumentException if email is null or blank.
 	 */
+	@Transactional(readOnly = true)
 	public boolean existsByEmail(String email) {
 		ObjectValidator.validateEmail(email);
 		return actorRepository.existsByEmail(email);
@@ -16,6 +16,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -62,7 +63,7 @@ public class BCIActivityInstanceService extends AbstractBCIInstanceService<BCIAc
         ObjectValidator.validateObject(bciActivityInstance);
         ObjectValidator.validateId(bciActivityInstance.getId());
 
-        bciBCIActivityInstance = this.bciActivityInstanceRepository.save(bciActivityInstance);
+        bciBCIActivityInstance = publishSavedEvent(this.bciActivityInstanceRepository.save(bciActivityInstance));
         logger.info("BCIActivityInstance updated: {}", bciBCIActivityInstance);
 
         return bciBCIActivityInstance;
@@ -80,7 +81,7 @@ public class BCIActivityInstanceService extends AbstractBCIInstanceService<BCIAc
         ObjectValidator.validateObject(bciActivityInstance.getEntryDate());
         ObjectValidator.validateObject(bciActivityInstance.getExitDate());
         ObjectValidator.validateObject(bciActivityInstance.getParticipants());
-        return bciActivityInstanceRepository.save(bciActivityInstance);
+        return publishSavedEvent(bciActivityInstanceRepository.save(bciActivityInstance));
     }
 
     /**
@@ -101,6 +102,7 @@ public class BCIActivityInstanceService extends AbstractBCIInstanceService<BCIAc
      * @return the BCIActivityInstance with the given id.
      * @throws IllegalArgumentException if id is null.
      */
+    @Transactional(readOnly = true)
     public BCIActivityInstance findById(Long id) {
         ObjectValidator.validateId(id);
         return this.bciActivityInstanceRepository.findById(id).orElse(null);
@@ -112,6 +114,7 @@ public class BCIActivityInstanceService extends AbstractBCIInstanceService<BCIAc
      * @return a list of BCIActivityInstance entities with the given status.
      * @throws IllegalArgumentException if the status is null or invalid.
      */
+    @Transactional(readOnly = true)
     public List<BCIActivityInstance> findByStatus(ExecutionStatus status) {
         ObjectValidator.validateObject(status);
         return this.bciActivityInstanceRepository.findByStatus(status);
@@ -123,6 +126,7 @@ public class BCIActivityInstanceService extends AbstractBCIInstanceService<BCIAc
      * @return a list of BCIActivityInstance entities corresponding to the given entry date.
      * @throws IllegalArgumentException if entryDate is null.
      */
+    @Transactional(readOnly = true)
     public List<BCIActivityInstance> findByEntryDate(LocalDate entryDate) {
         ObjectValidator.validateObject(entryDate);
         return this.bciActivityInstanceRepository.findByEntryDate(entryDate);
@@ -134,6 +138,7 @@ public class BCIActivityInstanceService extends AbstractBCIInstanceService<BCIAc
      * @return a list of BCIActivityInstance entities with the specified exit date.
      * @throws IllegalArgumentException if exitDate is null.
      */
+    @Transactional(readOnly = true)
     public List<BCIActivityInstance> findByExitDate(LocalDate exitDate) {
         ObjectValidator.validateObject(exitDate);
         return this.bciActivityInstanceRepository.findByEntryDate(exitDate);
@@ -145,6 +150,7 @@ public class BCIActivityInstanceService extends AbstractBCIInstanceService<BCIAc
      * @return a list of BCIActivityInstance entities associated with the given participant ID.
      * @throws IllegalArgumentException if the provided ID is null or invalid.
      */
+    @Transactional(readOnly = true)
     public List<BCIActivityInstance> findByParticipantsId(Long id) {
         ObjectValidator.validateId(id);
         return this.bciActivityInstanceRepository.findByParticipantsId(id);
@@ -156,6 +162,7 @@ public class BCIActivityInstanceService extends AbstractBCIInstanceService<BCIAc
      * @return true if a BCIActivityInstance exists with the given ID, false otherwise.
      * @throws IllegalArgumentException if the ID is null or invalid.
      */
+    @Transactional(readOnly = true)
     public boolean existsById(Long id) {
         ObjectValidator.validateId(id);
         return this.bciActivityInstanceRepository.existsById(id);
@@ -165,6 +172,7 @@ public class BCIActivityInstanceService extends AbstractBCIInstanceService<BCIAc
      * Finds all BCIActivityInstance entities.
      * @return a list of all BCIActivityInstance entities.
      */
+    @Transactional(readOnly = true)
     public List<BCIActivityInstance> findAll() {
         return this.bciActivityInstanceRepository.findAll();
     }
@@ -175,6 +183,7 @@ public class BCIActivityInstanceService extends AbstractBCIInstanceService<BCIAc
      * @return a list of BCIActivityInstance objects associated with the specified BCIActivity id.
      * @throws IllegalArgumentException if the id is null.
      */
+    @Transactional(readOnly = true)
     public List<BCIActivityInstance> findByBciActivityId(Long id) {
         ObjectValidator.validateId(id);
         return this.bciActivityInstanceRepository.findByBciActivityId(id);
@@ -4,6 +4,7 @@ import ca.uqam.latece.evo.server.core.enumeration.ChangeAspect;
 import ca.uqam.latece.evo.server.core.enumeration.ExecutionStatus;
 import ca.uqam.latece.evo.server.core.enumeration.OutcomeType;
 import ca.uqam.latece.evo.server.core.enumeration.TimeCycle;
+import ca.uqam.latece.evo.server.core.event.ActivityInstanceSavedEvent;
 import ca.uqam.latece.evo.server.core.event.BCIModuleInstanceEvent;
 import ca.uqam.latece.evo.server.core.model.instance.BCIModuleInstance;
 import ca.uqam.latece.evo.server.core.repository.instance.BCIModuleInstanceRepository;
@@ -69,7 +70,7 @@ public class BCIModuleInstanceService extends AbstractEvoService<BCIModuleInstan
         ObjectValidator.validateObject(moduleInstance.getActivities());
 
         if (found != null) {
-            updated = this.bciModuleInstanceRepository.save(moduleInstance);
+            updated = publishSavedEvent(this.bciModuleInstanceRepository.save(moduleInstance));
 
             if (!updated.getStatus().equals(ExecutionStatus.UNKNOWN)) {
                 this.publishEvent(new BCIModuleInstanceEvent(updated));
@@ -129,7 +130,21 @@ public class BCIModuleInstanceService extends AbstractEvoService<BCIModuleInstan
      */
     @Override
     public BCIModuleInstance save(BCIModuleInstance moduleInstance) {
-        return this.bciModuleInstanceRepository.save(moduleInstance);
+        return publishSavedEvent(this.bciModuleInstanceRepository.save(moduleInstance));
+    }
+
+    /**
+     * Publishes an ActivityInstanceSavedEvent for the given saved BCIModuleInstance, so its listeners (e.g. the patient
+     * dashboards) follow its changes.
+     * @param saved the saved BCIModuleInstance, or null if it was not saved (then no event is published).
+     * @return the saved BCIModuleInstance.
+     */
+    private BCIModuleInstance publishSavedEvent(BCIModuleInstance saved) {
+        if (saved != null && this.applicationEventPublisher != null) {
+            this.applicationEventPublisher.publishEvent(new ActivityInstanceSavedEvent<>(saved));
+        }
+
+        return saved;
     }
 
     /**
@@ -148,6 +163,7 @@ public class BCIModuleInstanceService extends AbstractEvoService<BCIModuleInstan
      * Finds all BCIModuleInstance entities.
      * @return List<BCIModuleInstance>.
      */
+    @Transactional(readOnly = true)
     public List<BCIModuleInstance> findAll() {
         return this.bciModuleInstanceRepository.findAll();
     }
@@ -159,6 +175,7 @@ public class BCIModuleInstanceService extends AbstractEvoService<BCIModuleInstan
      * @throws IllegalArgumentException if id is null.
      */
     @Override
+    @Transactional(readOnly = true)
     public BCIModuleInstance findById(Long id) {
         ObjectValidator.validateId(id);
         return this.bciModuleInstanceRepository.findById(id).orElse(null);
@@ -170,6 +187,7 @@ public class BCIModuleInstanceService extends AbstractEvoService<BCIModuleInstan
      * @return List<BCIModuleInstance> with the given outcome.
      * @throws IllegalArgumentException if an outcome is null.
      */
+    @Transactional(readOnly = true)
     public List<BCIModuleInstance> findByOutcome(OutcomeType outcome) {
         ObjectValidator.validateObject(outcome);
         return this.bciModuleInstanceRepository.findByOutcome(outcome);
@@ -181,6 +199,7 @@ public class BCIModuleInstanceService extends AbstractEvoService<BCIModuleInstan
      * @return List<BCIModuleInstance> with the given BCIActivityInstance id.
      * @throws IllegalArgumentException if id is null.
      */
+    @Transactional(readOnly = true)
     public List<BCIModuleInstance> findByActivitiesId(Long id) {
         ObjectValidator.validateId(id);
         return this.bciModuleInstanceRepository.findByActivitiesId(id);
@@ -193,6 +212,7 @@ public class BCIModuleInstanceService extends AbstractEvoService<BCIModuleInstan
      * @throws IllegalArgumentException if id is null.
      */
     @Override
+    @Transactional(readOnly = true)
     public boolean existsById(Long id) {
         ObjectValidator.validateId(id);
         return this.bciModuleInstanceRepository.existsById(id);
@@ -7,10 +7,11 @@ import ca.uqam.latece.evo.server.core.service.AbstractEvoService;
 import ca.uqam.latece.evo.server.core.util.ObjectValidator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import jakarta.transaction.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -36,6 +37,7 @@ public class BCIReferralService extends AbstractEvoService<BCIReferral> {
      *          different values from the database. Also thrown if assumed to be present but does not exist in the database.
      */
     @Override
+    @CacheEvict(cacheNames = PatientDashboardService.DASHBOARD_CACHE, allEntries = true)
     public BCIReferral create(BCIReferral bcir) {
         BCIReferral saved = null;
 
@@ -59,6 +61,7 @@ public class BCIReferralService extends AbstractEvoService<BCIReferral> {
      *          different values from the database. Also thrown if assumed to be present but does not exist in the database.
      */
     @Override
+    @CacheEvict(cacheNames = PatientDashboardService.DASHBOARD_CACHE, allEntries = true)
     public BCIReferral update(BCIReferral bcir) {
         BCIReferral updated = null;
         BCIReferral found = findById(bcir.getId());
@@ -84,6 +87,7 @@ public class BCIReferralService extends AbstractEvoService<BCIReferral> {
      *          different values from the database. Also thrown if assumed to be present but does not exist in the database.
      */
     @Override
+    @CacheEvict(cacheNames = PatientDashboardService.DASHBOARD_CACHE, allEntries = true)
     public BCIReferral save(BCIReferral bcir) {
         return this.bciReferralRepository.save(bcir);
     }
@@ -94,6 +98,7 @@ public class BCIReferralService extends AbstractEvoService<BCIReferral> {
      * @param id Long.
      * @throws IllegalArgumentException if id is null.
      */
+    @CacheEvict(cacheNames = PatientDashboardService.DASHBOARD_CACHE, allEntries = true)
     public void deleteById(Long id) {
         ObjectValidator.validateId(id);
         bciReferralRepository.deleteById(id);
@@ -104,6 +109,7 @@ public class BCIReferralService extends AbstractEvoService<BCIReferral> {
      * Finds all BCIReferral entities.
      * @return List<BCIReferral>.
      */
+    @Transactional(readOnly = true)
     public List<BCIReferral> findAll() {
         return this.bciReferralRepository.findAll();
     }
@@ -115,6 +121,7 @@ public class BCIReferralService extends AbstractEvoService<BCIReferral> {
      * @throws IllegalArgumentException if id is null.
      */
     @Override
+    @Transactional(readOnly = true)
     public BCIReferral findById(Long id) {
         ObjectValidator.validateId(id);
         return this.bciReferralRepository.findById(id).orElse(null);
@@ -126,6 +133,7 @@ public class BCIReferralService extends AbstractEvoService<BCIReferral> {
      * @return List<BCIReferral> with the given date.
      * @throws IllegalArgumentException if date is null.
      */
+    @Transactional(readOnly = true)
     public List<BCIReferral> findByDate(LocalDate date) {
         ObjectValidator.validateObject(date);
         return this.bciReferralRepository.findByDate(date);
@@ -137,6 +145,7 @@ public class BCIReferralService extends AbstractEvoService<BCIReferral> {
      * @return List<BCIReferral> with the given reason.
      * @throws IllegalArgumentException if reason is blank or null.
      */
+    @Transactional(readOnly = true)
     public List<BCIReferral> findByReason(String reason) {
         ObjectValidator.validateString(reason);
         return this.bciReferralRepository.findByReason(reason);
@@ -148,6 +157,7 @@ public class BCIReferralService extends AbstractEvoService<BCIReferral> {
      * @return List<BCIReferral> with the given Patient id.
      * @throws IllegalArgumentException if id is null.
      */
+    @Transactional(readOnly = true)
     public List<BCIReferral> findByPatientId(Long id) {
         ObjectValidator.validateId(id);
         return this.bciReferralRepository.findByPatientId(id);
@@ -159,6 +169,7 @@ public class BCIReferralService extends AbstractEvoService<BCIReferral> {
      * @return List<BCIReferral> with the given PatientAssessment id.
      * @throws IllegalArgumentException if id is null.
      */
+    @Transactional(readOnly = true)
     public List<BCIReferral> findByPatientAssessmentId(Long id) {
         ObjectValidator.validateObject(id);
         return this.bciReferralRepository.findByPatientAssessmentId(id);
@@ -170,6 +181,7 @@ public class BCIReferralService extends AbstractEvoService<BCIReferral> {
      * @return List<BCIReferral> with the given ReferringProfessional id.
      * @throws IllegalArgumentException if id is null.
      */
+    @Transactional(readOnly = true)
     public List<BCIReferral> findByReferringProfessionalId(Long id) {
         ObjectValidator.validateObject(id);
         return this.bciReferralRepository.findByReferringProfessionalId(id);
@@ -181,6 +193,7 @@ public class BCIReferralService extends AbstractEvoService<BCIReferral> {
      * @return List<BCIReferral> with the given BehaviorChangeInterventionist id.
      * @throws IllegalArgumentException if id is null.
      */
+    @Transactional(readOnly = true)
     public List<BCIReferral> findByBehaviorChangeInterventionistId(Long id) {
         ObjectValidator.validateObject(id);
         return this.bciReferralRepository.findByBehaviorChangeInterventionistId(id);
@@ -192,6 +205,7 @@ public class BCIReferralService extends AbstractEvoService<BCIReferral> {
      * @return List<BCIReferral> with the given BehaviorChangeInterventionInstance id.
      * @throws IllegalArgumentException if id is null.
      */
+    @Transactional(readOnly = true)
     public List<BCIReferral> findByInterventionsId(Long id) {
         ObjectValidator.validateObject(id);
         return this.bciReferralRepository.findByInterventionsId(id);
@@ -204,6 +218,7 @@ public class BCIReferralService extends AbstractEvoService<BCIReferral> {
      * @throws IllegalArgumentException if id is null.
      */
     @Override
+    @Transactional(readOnly = true)
     public boolean existsById(Long id) {
         ObjectValidator.validateId(id);
         return this.bciReferralRepository.existsById(id);
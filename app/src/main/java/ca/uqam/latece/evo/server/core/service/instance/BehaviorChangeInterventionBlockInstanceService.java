@@ -70,7 +70,7 @@ public class BehaviorChangeInterventionBlockInstanceService extends AbstractBCII
         ObjectValidator.validateObject(blockInstance.getActivities());
 
         if (found != null) {
-            updated = this.bciBlockInstanceRepository.save(blockInstance);
+            updated = publishSavedEvent(this.bciBlockInstanceRepository.save(blockInstance));
         }
         return updated;
     }
@@ -83,7 +83,7 @@ public class BehaviorChangeInterventionBlockInstanceService extends AbstractBCII
      */
     @Override
     public BehaviorChangeInterventionBlockInstance save(BehaviorChangeInterventionBlockInstance blockInstance) {
-        return this.bciBlockInstanceRepository.save(blockInstance);
+        return publishSavedEvent(this.bciBlockInstanceRepository.save(blockInstance));
     }
 
     /**
@@ -105,6 +105,7 @@ public class BehaviorChangeInterventionBlockInstanceService extends AbstractBCII
      * @throws IllegalArgumentException if id is null.
      */
     @Override
+    @Transactional(readOnly = true)
     public BehaviorChangeInterventionBlockInstance findById(Long id) {
         ObjectValidator.validateId(id);
         return this.bciBlockInstanceRepository.findById(id).orElse(null);
@@ -116,6 +117,7 @@ public class BehaviorChangeInterventionBlockInstanceService extends AbstractBCII
      * @return List of BehaviorChangeInterventionBlockInstance with the given stage.
      * @throws IllegalArgumentException if the stage is null.
      */
+    @Transactional(readOnly = true)
     public List<BehaviorChangeInterventionBlockInstance> findByStage(TimeCycle stage) {
         ObjectValidator.validateObject(stage);
         return this.bciBlockInstanceRepository.findByStage(stage);
@@ -127,6 +129,7 @@ public class BehaviorChangeInterventionBlockInstanceService extends AbstractBCII
      * @return List of BehaviorChangeInterventionBlockInstance with the given BCIActivityInstance id.
      * @throws IllegalArgumentException if id is null.
      */
+    @Transactional(readOnly = true)
     public List<BehaviorChangeInterventionBlockInstance> findByActivitiesId(Long id) {
         ObjectValidator.validateId(id);
         return this.bciBlockInstanceRepository.findByActivitiesId(id);
@@ -142,6 +145,7 @@ public class BehaviorChangeInterventionBlockInstanceService extends AbstractBCII
      *         Returns an empty list if no instances are found.
      * @throws IllegalArgumentException if the id is null.
      */
+    @Transactional(readOnly = true)
     public List<BehaviorChangeInterventionBlockInstance> findByBehaviorChangeInterventionBlockId(Long id) {
         ObjectValidator.validateId(id);
         return this.bciBlockInstanceRepository.findByBehaviorChangeInterventionBlockId(id);
@@ -154,6 +158,7 @@ public class BehaviorChangeInterventionBlockInstanceService extends AbstractBCII
      * @throws IllegalArgumentException if id is null.
      */
     @Override
+    @Transactional(readOnly = true)
     public boolean existsById(Long id) {
         ObjectValidator.validateId(id);
         return this.bciBlockInstanceRepository.existsById(id);
@@ -163,6 +168,7 @@ public class BehaviorChangeInterventionBlockInstanceService extends AbstractBCII
      * Finds all BehaviorChangeInterventionBlockInstance entities.
      * @return List of BehaviorChangeInterventionBlockInstance.
      */
+    @Transactional(readOnly = true)
     public List<BehaviorChangeInterventionBlockInstance> findAll() {
         return this.bciBlockInstanceRepository.findAll();
     }
@@ -47,7 +47,7 @@ public class BehaviorChangeInterventionInstanceService extends AbstractBCIInstan
     public BehaviorChangeInterventionInstance create(BehaviorChangeInterventionInstance bciInstance) {
         BehaviorChangeInterventionInstance saved = null;
 
-        saved = this.bciInstanceRepository.save(bciInstance);
+        saved = publishSavedEvent(this.bciInstanceRepository.save(bciInstance));
         logger.info("BehaviorChangeInterventionInstance created: {}", saved);
         return saved;
     }
@@ -68,7 +68,7 @@ public class BehaviorChangeInterventionInstanceService extends AbstractBCIInstan
 //        ObjectValidator.validateObject(bciInstance.getActivities());
 
         if (found != null) {
-            updated = this.bciInstanceRepository.save(bciInstance);
+            updated = publishSavedEvent(this.bciInstanceRepository.save(bciInstance));
         }
         return updated;
     }
@@ -135,7 +135,7 @@ public class BehaviorChangeInterventionInstanceService extends AbstractBCIInstan
      */
     @Override
     public BehaviorChangeInterventionInstance save(BehaviorChangeInterventionInstance bciInstance) {
-        return this.bciInstanceRepository.save(bciInstance);
+        return publishSavedEvent(this.bciInstanceRepository.save(bciInstance));
     }
 
     /**
@@ -154,6 +154,7 @@ public class BehaviorChangeInterventionInstanceService extends AbstractBCIInstan
      * Finds all BehaviorChangeInterventionInstance entities.
      * @return List<BehaviorChangeInterventionInstance>.
      */
+    @Transactional(readOnly = true)
     public List<BehaviorChangeInterventionInstance> findAll() {
         return this.bciInstanceRepository.findAll();
     }
@@ -165,6 +166,7 @@ public class BehaviorChangeInterventionInstanceService extends AbstractBCIInstan
      * @throws IllegalArgumentException if id is null.
      */
     @Override
+    @Transactional(readOnly = true)
     public BehaviorChangeInterventionInstance findById(Long id) {
         ObjectValidator.validateId(id);
         return this.bciInstanceRepository.findById(id).orElse(null);
@@ -176,6 +178,7 @@ public class BehaviorChangeInterventionInstanceService extends AbstractBCIInstan
      * @return List<BehaviorChangeInterventionInstance> with the given patient id.
      * @throws IllegalArgumentException if id is null.
      */
+    @Transactional(readOnly = true)
     public List<BehaviorChangeInterventionInstance> findByPatientId(Long id) {
         ObjectValidator.validateId(id);
         return this.bciInstanceRepository.findByPatientId(id);
@@ -187,6 +190,7 @@ public class BehaviorChangeInterventionInstanceService extends AbstractBCIInstan
      * @return List<BehaviorChangeInterventionInstance> with the given currentPhase id.
      * @throws IllegalArgumentException if id is null.
      */
+    @Transactional(readOnly = true)
     public List<BehaviorChangeInterventionInstance> findByCurrentPhaseId(Long id) {
         ObjectValidator.validateId(id);
         return this.bciInstanceRepository.findByCurrentPhaseId(id);
@@ -198,6 +202,7 @@ public class BehaviorChangeInterventionInstanceService extends AbstractBCIInstan
      * @return List<BehaviorChangeInterventionInstance> with the given BehaviorChangeInterventionPhaseInstance id.
      * @throws IllegalArgumentException if id is null.
      */
+    @Transactional(readOnly = true)
     public List<BehaviorChangeInterventionInstance> findByActivitiesId(Long id) {
         ObjectValidator.validateId(id);
         return this.bciInstanceRepository.findByActivitiesId(id);
@@ -210,6 +215,7 @@ public class BehaviorChangeInterventionInstanceService extends AbstractBCIInstan
      * @throws IllegalArgumentException if id is null.
      */
     @Override
+    @Transactional(readOnly = true)
     public boolean existsById(Long id) {
         ObjectValidator.validateId(id);
         return this.bciInstanceRepository.existsById(id);
@@ -223,6 +229,7 @@ public class BehaviorChangeInterventionInstanceService extends AbstractBCIInstan
      * instance exists
      * @throws IllegalArgumentException if id or currentPhaseId is null.
      */
+    @Transactional(readOnly = true)
     public BehaviorChangeInterventionInstance findByIdAndCurrentPhaseId(Long id, Long currentPhaseId) {
         ObjectValidator.validateId(id);
         ObjectValidator.validateId(currentPhaseId);
@@ -239,6 +246,7 @@ public class BehaviorChangeInterventionInstanceService extends AbstractBCIInstan
      *         Returns an empty list if no instances are found.
      * @throws IllegalArgumentException if the id is null.
      */
+    @Transactional(readOnly = true)
     public List<BehaviorChangeInterventionInstance> findByBehaviorChangeInterventionId(Long id) {
         ObjectValidator.validateId(id);
         return this.bciInstanceRepository.findByBehaviorChangeInterventionId(id);
@@ -252,6 +260,7 @@ public class BehaviorChangeInterventionInstanceService extends AbstractBCIInstan
      * patient ID.
      * @throws IllegalArgumentException if the patientId is null.
      */
+    @Transactional(readOnly = true)
     public List<BehaviorChangeInterventionInstance> findByStatusReadyAndPatientId(Long patientId) {
         return this.findByStatusAndPatientId(ExecutionStatus.READY, patientId);
     }
@@ -264,6 +273,7 @@ public class BehaviorChangeInterventionInstanceService extends AbstractBCIInstan
      * specified patient ID.
      * @throws IllegalArgumentException if the patientId is null.
      */
+    @Transactional(readOnly = true)
     public List<BehaviorChangeInterventionInstance> findByStatusInProgressAndPatientId(Long patientId) {
         return this.findByStatusAndPatientId(ExecutionStatus.IN_PROGRESS, patientId);
     }
@@ -276,6 +286,7 @@ public class BehaviorChangeInterventionInstanceService extends AbstractBCIInstan
      * specified patient ID.
      * @throws IllegalArgumentException if the patientId is null.
      */
+    @Transactional(readOnly = true)
     public List<BehaviorChangeInterventionInstance> findByStatusFinishedAndPatientId(Long patientId) {
         return this.findByStatusAndPatientId(ExecutionStatus.FINISHED, patientId);
     }
@@ -288,6 +299,7 @@ public class BehaviorChangeInterventionInstanceService extends AbstractBCIInstan
      * specified patient ID.
      * @throws IllegalArgumentException if the patientId is null.
      */
+    @Transactional(readOnly = true)
     public List<BehaviorChangeInterventionInstance> findByStatusUnknowAndPatientId(Long patientId) {
         return this.findByStatusAndPatientId(ExecutionStatus.UNKNOWN, patientId);
     }
@@ -300,6 +312,7 @@ public class BehaviorChangeInterventionInstanceService extends AbstractBCIInstan
      * specified patient ID.
      * @throws IllegalArgumentException if the patientId is null.
      */
+    @Transactional(readOnly = true)
     public List<BehaviorChangeInterventionInstance> findByStatusStalledAndPatientId(Long patientId) {
         return this.findByStatusAndPatientId(ExecutionStatus.STALLED, patientId);
     }
@@ -312,6 +325,7 @@ public class BehaviorChangeInterventionInstanceService extends AbstractBCIInstan
      * specified patient ID.
      * @throws IllegalArgumentException if the patientId is null.
      */
+    @Transactional(readOnly = true)
     public List<BehaviorChangeInterventionInstance> findByStatusSuspendedAndPatientId(Long patientId) {
         return this.findByStatusAndPatientId(ExecutionStatus.SUSPENDED, patientId);
     }
@@ -323,6 +337,7 @@ public class BehaviorChangeInterventionInstanceService extends AbstractBCIInstan
      * @return a list of BehaviorChangeInterventionInstance objects matching the provided status and patient ID.
      * @throws IllegalArgumentException if status or patientId is null.
      */
+    @Transactional(readOnly = true)
     public List<BehaviorChangeInterventionInstance> findByStatusAndPatientId(ExecutionStatus status, Long patientId) {
         ObjectValidator.validateObject(status);
         ObjectValidator.validateId(patientId);
@@ -337,6 +352,7 @@ public class BehaviorChangeInterventionInstanceService extends AbstractBCIInstan
      * @return a list of BehaviorChangeInterventionInstance objects matching the specified criteria.
      * @throws IllegalArgumentException if any of the parameters are null.
      */
+    @Transactional(readOnly = true)
     public List<BehaviorChangeInterventionInstance> findByStatusInProgressAndPatientIdAndCurrentPhaseId(Long patientId,
                                                                                                         Long currentPhaseId) {
         return this.findByStatusAndPatientIdAndCurrentPhaseId(ExecutionStatus.IN_PROGRESS, patientId, currentPhaseId);
@@ -350,6 +366,7 @@ public class BehaviorChangeInterventionInstanceService extends AbstractBCIInstan
      * @return a list of BehaviorChangeInterventionInstance objects matching the specified criteria.
      * @throws IllegalArgumentException if any of the parameters are null.
      */
+    @Transactional(readOnly = true)
     public List<BehaviorChangeInterventionInstance> findByStatusFinishedAndPatientIdAndCurrentPhaseId(Long patientId,
                                                                                                       Long currentPhaseId) {
         return this.findByStatusAndPatientIdAndCurrentPhaseId(ExecutionStatus.FINISHED, patientId, currentPhaseId);
@@ -363,6 +380,7 @@ public class BehaviorChangeInterventionInstanceService extends AbstractBCIInstan
      * @return a list of BehaviorChangeInterventionInstance objects matching the specified criteria.
      * @throws IllegalArgumentException if any of the parameters are null.
      */
+    @Transactional(readOnly = true)
     public List<BehaviorChangeInterventionInstance> findByStatusReadyAndPatientIdAndCurrentPhaseId(Long patientId,
                                                                                                    Long currentPhaseId) {
         return this.findByStatusAndPatientIdAndCurrentPhaseId(ExecutionStatus.READY, patientId, currentPhaseId);
@@ -376,6 +394,7 @@ public class BehaviorChangeInterventionInstanceService extends AbstractBCIInstan
      * @return a list of BehaviorChangeInterventionInstance objects matching the specified criteria.
      * @throws IllegalArgumentException if any of the parameters are null.
      */
+    @Transactional(readOnly = true)
     public List<BehaviorChangeInterventionInstance> findByStatusSuspendedAndPatientIdAndCurrentPhaseId(Long patientId,
                                                                                                        Long currentPhaseId) {
         return this.findByStatusAndPatientIdAndCurrentPhaseId(ExecutionStatus.SUSPENDED, patientId, currentPhaseId);
@@ -389,6 +408,7 @@ public class BehaviorChangeInterventionInstanceService extends AbstractBCIInstan
      * @return a list of BehaviorChangeInterventionInstance objects matching the specified criteria.
      * @throws IllegalArgumentException if any of the parameters are null.
      */
+    @Transactional(readOnly = true)
     public List<BehaviorChangeInterventionInstance> findByStatusStalledAndPatientIdAndCurrentPhaseId(Long patientId,
                                                                                                      Long currentPhaseId) {
         return this.findByStatusAndPatientIdAndCurrentPhaseId(ExecutionStatus.STALLED, patientId, currentPhaseId);
@@ -402,6 +422,7 @@ public class BehaviorChangeInterventionInstanceService extends AbstractBCIInstan
      * @return a list of BehaviorChangeInterventionInstance objects matching the specified criteria.
      * @throws IllegalArgumentException if any of the parameters are null.
      */
+    @Transactional(readOnly = true)
     public List<BehaviorChangeInterventionInstance> findByStatusUnknowAndPatientIdAndCurrentPhaseId(Long patientId,
                                                                                                     Long currentPhaseId) {
         return this.findByStatusAndPatientIdAndCurrentPhaseId(ExecutionStatus.UNKNOWN, patientId, currentPhaseId);
@@ -416,6 +437,7 @@ public class BehaviorChangeInterventionInstanceService extends AbstractBCIInstan
      *         Returns an empty list if no matching objects are found.
      * @throws IllegalArgumentException if any of the parameters are null.
      */
+    @Transactional(readOnly = true)
     public List<BehaviorChangeInterventionInstance> findByStatusAndPatientIdAndCurrentPhaseId(ExecutionStatus status,
                                                                                               Long patientId,
                                                                                               Long currentPhaseId) {
@@ -437,6 +459,7 @@ public class BehaviorChangeInterventionInstanceService extends AbstractBCIInstan
      * if no instances match the provided parameters.
      * @throws IllegalArgumentException if any of the parameters are null.
      */
+    @Transactional(readOnly = true)
     public List<BehaviorChangeInterventionInstance> findByStatusAndPatientIdAndCurrentPhaseIdAndCurrentPhaseStatus(
             ExecutionStatus status, Long patientId, Long currentPhaseId, ExecutionStatus currentPhaseStatus) {
         ObjectValidator.validateObject(status);
@@ -456,6 +479,7 @@ public class BehaviorChangeInterventionInstanceService extends AbstractBCIInstan
      * @return the BehaviorChangeInterventionInstance matching the specified criteria, or null if no match is found.
      * @throws IllegalArgumentException if any of the parameters are null.
      */
+    @Transactional(readOnly = true)
     public BehaviorChangeInterventionInstance findByIdAndStatusAndPatientId(Long id, ExecutionStatus status, Long patientId) {
         ObjectValidator.validateId(id);
         ObjectValidator.validateObject(status);
@@ -472,6 +496,7 @@ public class BehaviorChangeInterventionInstanceService extends AbstractBCIInstan
      * @return the matching BehaviorChangeInterventionInstance if found, or null if no match is found.
      * @throws IllegalArgumentException if any of the parameters are null.
      */
+    @Transactional(readOnly = true)
     public BehaviorChangeInterventionInstance findByIdAndStatusAndPatient(Long id, ExecutionStatus status, Patient patient) {
         ObjectValidator.validateId(id);
         ObjectValidator.validateObject(status);
@@ -486,6 +511,7 @@ public class BehaviorChangeInterventionInstanceService extends AbstractBCIInstan
      * @return the BehaviorChangeInterventionInstance that matches the given id and patient, or null if no match is found.
      * @throws IllegalArgumentException if any of the parameters are null.
      */
+    @Transactional(readOnly = true)
     public BehaviorChangeInterventionInstance findByIdAndPatient(Long id, Patient patient) {
         ObjectValidator.validateId(id);
         ObjectValidator.validateObject(patient);
@@ -499,6 +525,7 @@ public class BehaviorChangeInterventionInstanceService extends AbstractBCIInstan
      * @return the BehaviorChangeInterventionInstance that matches the provided id and patientId, or null if no match is found.
      * @throws IllegalArgumentException if any of the parameters are null.
      */
+    @Transactional(readOnly = true)
     public BehaviorChangeInterventionInstance findByIdAndPatientId(Long id, Long patientId) {
         ObjectValidator.validateId(id);
         ObjectValidator.validateId(patientId);
@@ -515,6 +542,7 @@ public class BehaviorChangeInterventionInstanceService extends AbstractBCIInstan
      * @return the BehaviorChangeInterventionInstance that matches the specified criteria, or null if no such instance is found.
      * @throws IllegalArgumentException if any of the parameters are null.
      */
+    @Transactional(readOnly = true)
     public BehaviorChangeInterventionInstance findByIdAndStatusAndPatientIdAndCurrentPhaseId(Long id, ExecutionStatus status,
                                                                                              Long patientId,
                                                                                              Long currentPhaseId) {
@@ -534,6 +562,7 @@ public class BehaviorChangeInterventionInstanceService extends AbstractBCIInstan
      * @return the matching BehaviorChangeInterventionInstance, or null if no match is found.
      * @throws IllegalArgumentException if any of the parameters are null.
      */
+    @Transactional(readOnly = true)
     public BehaviorChangeInterventionInstance findByIdAndStatusAndPatientAndCurrentPhaseId(Long id, ExecutionStatus status,
                                                                                            Patient patient,
                                                                                            Long currentPhaseId) {
@@ -72,7 +72,7 @@ public class BehaviorChangeInterventionPhaseInstanceService extends AbstractBCII
         ObjectValidator.validateObject(phaseInstance.getModules());
 
         if (found != null) {
-            updated = this.bciPhaseInstanceRepository.save(phaseInstance);
+            updated = publishSavedEvent(this.bciPhaseInstanceRepository.save(phaseInstance));
         }
         return updated;
     }
@@ -209,7 +209,7 @@ public class BehaviorChangeInterventionPhaseInstanceService extends AbstractBCII
      */
     @Override
     public BehaviorChangeInterventionPhaseInstance save(BehaviorChangeInterventionPhaseInstance phaseInstance) {
-        return this.bciPhaseInstanceRepository.save(phaseInstance);
+        return publishSavedEvent(this.bciPhaseInstanceRepository.save(phaseInstance));
     }
 
     /**
@@ -228,6 +228,7 @@ public class BehaviorChangeInterventionPhaseInstanceService extends AbstractBCII
      * Finds all BehaviorChangeInterventionPhaseInstance entities.
      * @return List<BehaviorChangeInterventionPhaseInstance>.
      */
+    @Transactional(readOnly = true)
     public List<BehaviorChangeInterventionPhaseInstance> findAll() {
         return this.bciPhaseInstanceRepository.findAll();
     }
@@ -239,6 +240,7 @@ public class BehaviorChangeInterventionPhaseInstanceService extends AbstractBCII
      * @throws IllegalArgumentException if id is null.
      */
     @Override
+    @Transactional(readOnly = true)
     public BehaviorChangeInterventionPhaseInstance findById(Long id) {
         ObjectValidator.validateId(id);
         return this.bciPhaseInstanceRepository.findById(id).orElse(null);
@@ -250,6 +252,7 @@ public class BehaviorChangeInterventionPhaseInstanceService extends AbstractBCII
      * @return List<BehaviorChangeInterventionPhaseInstance> with the given currentBlock id.
      * @throws IllegalArgumentException if id is null.
      */
+    @Transactional(readOnly = true)
     public List<BehaviorChangeInterventionPhaseInstance> findByCurrentBlockId(Long id) {
         ObjectValidator.validateId(id);
         return this.bciPhaseInstanceRepository.findByCurrentBlockId(id);
@@ -261,6 +264,7 @@ public class BehaviorChangeInterventionPhaseInstanceService extends AbstractBCII
      * @return List<BehaviorChangeInterventionPhaseInstance> with the given BCIBlocksInstance id.
      * @throws IllegalArgumentException if id is null.
      */
+    @Transactional(readOnly = true)
     public List<BehaviorChangeInterventionPhaseInstance> findByActivitiesId(Long id) {
         ObjectValidator.validateId(id);
         return this.bciPhaseInstanceRepository.findByActivitiesId(id);
@@ -272,6 +276,7 @@ public class BehaviorChangeInterventionPhaseInstanceService extends AbstractBCII
      * @return List<BehaviorChangeInterventionPhaseInstance> with the given BCIModuleInstance id.
      * @throws IllegalArgumentException if id is null.
      */
+    @Transactional(readOnly = true)
     public List<BehaviorChangeInterventionPhaseInstance> findByModulesId(Long id) {
         ObjectValidator.validateId(id);
         return this.bciPhaseInstanceRepository.findByModulesId(id);
@@ -284,6 +289,7 @@ public class BehaviorChangeInterventionPhaseInstanceService extends AbstractBCII
      * @throws IllegalArgumentException if id is null.
      */
     @Override
+    @Transactional(readOnly = true)
     public boolean existsById(Long id) {
         ObjectValidator.validateId(id);
         return this.bciPhaseInstanceRepository.existsById(id);
@@ -297,6 +303,7 @@ public class BehaviorChangeInterventionPhaseInstanceService extends AbstractBCII
      *         if no such entity exists.
      * @throws IllegalArgumentException if id or currentBlockId is null.
      */
+    @Transactional(readOnly = true)
     public BehaviorChangeInterventionPhaseInstance findByIdAndCurrentBlockId(Long id, Long currentBlockId) {
         ObjectValidator.validateId(id);
         ObjectValidator.validateId(currentBlockId);
@@ -313,6 +320,7 @@ public class BehaviorChangeInterventionPhaseInstanceService extends AbstractBCII
      *         Returns an empty list if no instances are found.
      * @throws IllegalArgumentException if the id is null.
      */
+    @Transactional(readOnly = true)
     public List<BehaviorChangeInterventionPhaseInstance> findByBehaviorChangeInterventionPhaseId(Long id) {
         ObjectValidator.validateId(id);
         return this.bciPhaseInstanceRepository.findByBehaviorChangeInterventionPhaseId(id);
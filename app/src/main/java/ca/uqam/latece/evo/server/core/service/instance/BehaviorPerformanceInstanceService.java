@@ -88,6 +88,7 @@ public class BehaviorPerformanceInstanceService extends AbstractEvoService<Behav
      * @throws IllegalArgumentException if the provided id is null.
      */
     @Override
+    @Transactional(readOnly = true)
     public boolean existsById(Long id) {
         ObjectValidator.validateId(id);
         return this.behaviorPerformanceInstanceRepository.existsById(id);
@@ -113,6 +114,7 @@ public class BehaviorPerformanceInstanceService extends AbstractEvoService<Behav
      * @throws IllegalArgumentException if the provided id is null or invalid.
      */
     @Override
+    @Transactional(readOnly = true)
     public BehaviorPerformanceInstance findById(Long id) {
         ObjectValidator.validateId(id);
         return this.behaviorPerformanceInstanceRepository.findById(id).orElse(null);
@@ -124,6 +126,7 @@ public class BehaviorPerformanceInstanceService extends AbstractEvoService<Behav
      * @return A list of BehaviorPerformanceInstance with the specified status.
      * @throws IllegalArgumentException if the status is null.
      */
+    @Transactional(readOnly = true)
     public List<BehaviorPerformanceInstance> findByStatus(ExecutionStatus status) {
         ObjectValidator.validateObject(status);
         return this.behaviorPerformanceInstanceRepository.findByStatus(status);
@@ -134,6 +137,7 @@ public class BehaviorPerformanceInstanceService extends AbstractEvoService<Behav
      * @return all BehaviorPerformanceInstance.
      */
     @Override
+    @Transactional(readOnly = true)
     public List<BehaviorPerformanceInstance> findAll() {
         return this.behaviorPerformanceInstanceRepository.findAll();
     }
@@ -144,6 +148,7 @@ public class BehaviorPerformanceInstanceService extends AbstractEvoService<Behav
      * @return BehaviorPerformanceInstance with the given Participant id.
      * @throws IllegalArgumentException if id is null.
      */
+    @Transactional(readOnly = true)
     public BehaviorPerformanceInstance findByParticipantsId(Long id) {
         return this.behaviorPerformanceInstanceRepository.findByParticipantsId(id);
     }
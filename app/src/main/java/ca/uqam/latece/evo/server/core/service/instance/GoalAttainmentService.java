@@ -0,0 +1,248 @@
+package ca.uqam.latece.evo.server.core.service.instance;
+
+import ca.uqam.latece.evo.server.core.enumeration.ClientEvent;
+import ca.uqam.latece.evo.server.core.enumeration.GoalComparison;
+import ca.uqam.latece.evo.server.core.event.BCIActivityClientEvent;
+import ca.uqam.latece.evo.server.core.event.GoalAttainmentEvent;
+import ca.uqam.latece.evo.server.core.event.PerformanceSamplesIngestedEvent;
+import ca.uqam.latece.evo.server.core.event.PerformanceSamplesIngestedEvent.IngestedSamples;
+import ca.uqam.latece.evo.server.core.repository.instance.GoalAttainmentRepository;
+import ca.uqam.latece.evo.server.core.repository.instance.GoalAttainmentStore.ActiveGoal;
+import ca.uqam.latece.evo.server.core.repository.instance.GoalAttainmentStore.ActivityPath;
+import ca.uqam.latece.evo.server.core.repository.instance.GoalAttainmentStore.Progress;
+import ca.uqam.latece.evo.server.core.repository.instance.GoalAttainmentStore.ProgressDelta;
+import ca.uqam.latece.evo.server.core.response.ClientEventResponse;
+import ca.uqam.latece.evo.server.core.response.GoalAttainment;
+import ca.uqam.latece.evo.server.core.util.ObjectValidator;
+import ca.uqam.latece.evo.server.core.util.SampleCodec;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Goal Attainment Service: evaluates the GoalSettingInstances in progress whose GoalSetting has a target, as the
+ * samples of their concerned activity are ingested.
+ * <p>
+ * The progress of a goal is the total of the samples of its concerned BehaviorPerformanceInstance since the entry date
+ * of the goal. It is kept in an attainment state that each ingestion increments with its new samples only, so the
+ * evaluation never reads the history back. The level of a goal is the number of quarters of its target reached;
+ * a {@link GoalAttainmentEvent} is published when it changes, and nothing otherwise. When an AT_LEAST goal whose
+ * GoalSetting finishes on attainment is met, its concerned activity is finished with a FINISH client event, once the
+ * ingestion is committed. When the intervention instances are shared between several nodes (evo.cluster.enabled), the
+ * FINISH is sent to the node that owns the intervention instance of the activity, like the FINISH of a client.
+ * @version 1.0
+ * @author Edilton Lima dos Santos.
+ */
+@Service
+@Transactional
+public class GoalAttainmentService {
+    private static final Logger logger = LoggerFactory.getLogger(GoalAttainmentService.class);
+
+    private final GoalAttainmentRepository goalAttainmentRepository;
+
+    private final BCIActivityInstanceService bciActivityInstanceService;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Present when the intervention instances are shared between several nodes (evo.cluster.enabled).
+     */
+    private final ObjectProvider<InterventionOwnershipService> interventionOwnershipService;
+
+    /**
+     * The path of the FINISH client event on the owner of an intervention instance.
+     */
+    private final String finishPath;
+
+    @Autowired
+    public GoalAttainmentService(GoalAttainmentRepository goalAttainmentRepository,
+                                 BCIActivityInstanceService bciActivityInstanceService,
+                                 ApplicationEventPublisher eventPublisher,
+                                 ObjectProvider<InterventionOwnershipService> interventionOwnershipService,
+                                 @Value("${server.servlet.context-path:}") String contextPath) {
+        this.goalAttainmentRepository = goalAttainmentRepository;
+        this.bciActivityInstanceService = bciActivityInstanceService;
+        this.eventPublisher = eventPublisher;
+        this.interventionOwnershipService = interventionOwnershipService;
+        this.finishPath = contextPath + "/bciactivityinstance/clientupdate/" + ClientEvent.FINISH;
+    }
+
+    /**
+     * Adds the ingested samples to the progress of the goals concerning their BehaviorPerformanceInstances, and
+     * publishes a GoalAttainmentEvent for each goal whose level changes.
+     * @param event the ingested samples.
+     */
+    @EventListener
+    public void evaluate(PerformanceSamplesIngestedEvent event) {
+        Set<Long> instanceIds = new HashSet<>();
+        event.getIngestedSamples().forEach(ingested -> instanceIds.add(ingested.instanceId()));
+        List<ActiveGoal> goals = goalAttainmentRepository.findActiveGoals(instanceIds);
+
+        if (goals.isEmpty()) {
+            return;
+        }
+
+        Map<Long, List<ActiveGoal>> goalsByInstance = new HashMap<>();
+        Map<Long, ActiveGoal> goalsById = new HashMap<>();
+
+        for (ActiveGoal goal : goals) {
+            goalsByInstance.computeIfAbsent(goal.concernsInstanceId(), id -> new ArrayList<>()).add(goal);
+            goalsById.put(goal.goalSettingInstanceId(), goal);
+        }
+
+        List<ProgressDelta> deltas = sumSamples(event.getIngestedSamples(), goalsByInstance);
+        List<Progress> changed = new ArrayList<>();
+        List<GoalAttainmentEvent> crossings = new ArrayList<>();
+
+        for (Progress progress : goalAttainmentRepository.addProgress(deltas)) {
+            ActiveGoal goal = goalsById.get(progress.goalSettingInstanceId());
+            int level = levelOf(progress.progress(), goal.target());
+
+            if (level != progress.level()) {
+                changed.add(new Progress(progress.goalSettingInstanceId(), progress.progress(), progress.count(),
+                        level));
+                crossings.add(new GoalAttainmentEvent(this, goal.goalSettingInstanceId(), goal.concernsInstanceId(),
+                        progress.level(), level, progress.progress(), goal.target(), goal.comparison(),
+                        goal.finishOnAttainment()));
+            }
+        }
+
+        goalAttainmentRepository.updateLevels(changed);
+        crossings.forEach(crossing -> {
+            logger.info("Goal attainment changed: {}", crossing);
+            eventPublisher.publishEvent(crossing);
+        });
+    }
+
+    /**
+     * Sums the samples ingested since the entry date of each goal.
+     * @param ingestedSamples the ingested samples, by activity instance.
+     * @param goalsByInstance the active goals, by concerned activity instance id.
+     * @return the progress of each goal with samples.
+     */
+    private static List<ProgressDelta> sumSamples(List<IngestedSamples> ingestedSamples,
+                                                  Map<Long, List<ActiveGoal>> goalsByInstance) {
+        // The sums are kept in fixed-point until the end, as the samples were ingested.
+        Map<Long, long[]> sums = new TreeMap<>();
+
+        for (IngestedSamples ingested : ingestedSamples) {
+            for (ActiveGoal goal : goalsByInstance.getOrDefault(ingested.instanceId(), List.of())) {
+                SampleCodec.Samples samples = ingested.samples();
+                long start = goal.entryDate() == null ? Long.MIN_VALUE :
+                        goal.entryDate().atStartOfDay().toInstant(ZoneOffset.UTC).toEpochMilli();
+                long[] sum = sums.computeIfAbsent(goal.goalSettingInstanceId(), id -> new long[2]);
+
+                for (int i = 0; i < samples.size(); i++) {
+                    if (samples.times()[i] >= start) {
+                        sum[0] += samples.values()[i];
+                        sum[1]++;
+                    }
+                }
+            }
+        }
+
+        List<ProgressDelta> deltas = new ArrayList<>();
+        sums.forEach((goalId, sum) -> {
+            if (sum[1] > 0) {
+                deltas.add(new ProgressDelta(goalId, SampleCodec.toValue(sum[0]), sum[1]));
+            }
+        });
+
+        return deltas;
+    }
+
+    /**
+     * Finishes the activity concerned by an AT_LEAST goal that has just been met, if its GoalSetting finishes on
+     * attainment. It runs once the progress is committed, in its own transaction, so a refused FINISH never rolls
+     * back the ingestion.
+     * @param event the threshold crossing.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void finishConcernedActivity(GoalAttainmentEvent event) {
+        if (event.isFinishOnAttainment() && event.getComparison() == GoalComparison.AT_LEAST && event.isMet() &&
+                !event.wasMet()) {
+            Optional<ActivityPath> path = goalAttainmentRepository.findActivityPath(event.getConcernsInstanceId());
+
+            if (path.isPresent()) {
+                logger.info("Goal {} met, FINISH of the activity instance {}: {}", event.getGoalSettingInstanceId(),
+                        event.getConcernsInstanceId(), finish(event.getConcernsInstanceId(), path.get()));
+            } else {
+                logger.warn("Goal {} met, but the activity instance {} is not in an intervention",
+                        event.getGoalSettingInstanceId(), event.getConcernsInstanceId());
+            }
+        }
+    }
+
+    /**
+     * Finishes an activity instance, on the node that owns its intervention instance.
+     * @return true if the activity instance was finished.
+     */
+    private boolean finish(Long activityInstanceId, ActivityPath path) {
+        InterventionOwnershipService ownership = interventionOwnershipService.getIfAvailable();
+        ResponseEntity<String> forwarded = ownership != null ? ownership.forward(path.bciInstanceId(), HttpMethod.PUT,
+                finishPath, Map.of("id", activityInstanceId, "bciActivityInstanceId", activityInstanceId,
+                        "bciBlockInstanceId", path.blockInstanceId(), "bciPhaseInstanceId", path.phaseInstanceId(),
+                        "bciInstanceId", path.bciInstanceId())) : null;
+
+        if (forwarded != null) {
+            return forwarded.getStatusCode().is2xxSuccessful();
+        }
+
+        ClientEventResponse response = bciActivityInstanceService.handleClientEvent(new BCIActivityClientEvent(
+                ClientEvent.FINISH, activityInstanceId, path.blockInstanceId(), path.phaseInstanceId(),
+                path.bciInstanceId()));
+        return response != null && response.isSuccess();
+    }
+
+    /**
+     * Finds the attainment state of a GoalSettingInstance.
+     * @param goalSettingInstanceId the GoalSettingInstance id.
+     * @return the state, or empty if the goal has no progress yet.
+     * @throws IllegalArgumentException if the id is null.
+     */
+    @Transactional(readOnly = true)
+    public Optional<GoalAttainment> findAttainment(Long goalSettingInstanceId) {
+        ObjectValidator.validateId(goalSettingInstanceId);
+        return goalAttainmentRepository.findAttainment(goalSettingInstanceId);
+    }
+
+    /**
+     * Computes the level of a progress, in fixed-point so that a progress equal to its target is never rounded below
+     * it.
+     * @param progress the progress.
+     * @param target the target.
+     * @return the number of quarters of the target reached, from 0 to {@value GoalAttainmentEvent#MAX_LEVEL}.
+     */
+    static int levelOf(double progress, double target) {
+        long fixedProgress = SampleCodec.toFixed(progress);
+        long fixedTarget = SampleCodec.toFixed(target);
+
+        if (fixedTarget <= 0) {
+            return fixedProgress >= fixedTarget ? GoalAttainmentEvent.MAX_LEVEL : 0;
+        }
+
+        long level = Math.floorDiv(fixedProgress * GoalAttainmentEvent.MAX_LEVEL, fixedTarget);
+        return (int) Math.max(0, Math.min(GoalAttainmentEvent.MAX_LEVEL, level));
+    }
+}
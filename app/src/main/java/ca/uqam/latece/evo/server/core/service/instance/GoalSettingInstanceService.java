@@ -74,6 +74,7 @@ public class GoalSettingInstanceService extends AbstractEvoService<GoalSettingIn
      * @return true if a GoalSettingInstance with the specified id exists, false otherwise.
      * @throws IllegalArgumentException if the id is null.
      */
+    @Transactional(readOnly = true)
     public boolean existsById(Long id) {
         ObjectValidator.validateId(id);
         return this.goalSettingInstanceRepository.existsById(id);
@@ -99,6 +100,7 @@ public class GoalSettingInstanceService extends AbstractEvoService<GoalSettingIn
      * @return the GoalSettingInstance with the given id or Optional#empty() if none found.
      * @throws IllegalArgumentException – if id is null.
      */
+    @Transactional(readOnly = true)
     public GoalSettingInstance findById(Long id) {
         ObjectValidator.validateId(id);
         return this.goalSettingInstanceRepository.findById(id).orElse(null);
@@ -110,6 +112,7 @@ public class GoalSettingInstanceService extends AbstractEvoService<GoalSettingIn
      * @return A list of GoalSettingInstance with the specified status.
      * @throws IllegalArgumentException if the status is null.
      */
+    @Transactional(readOnly = true)
     public List<GoalSettingInstance> findByStatus(ExecutionStatus status) {
         ObjectValidator.validateObject(status);
         return this.goalSettingInstanceRepository.findByStatus(status);
@@ -120,6 +123,7 @@ public class GoalSettingInstanceService extends AbstractEvoService<GoalSettingIn
      * @return all GoalSettingInstance.
      */
     @Override
+    @Transactional(readOnly = true)
     public List<GoalSettingInstance> findAll() {
         return this.goalSettingInstanceRepository.findAll();
     }
@@ -130,6 +134,7 @@ public class GoalSettingInstanceService extends AbstractEvoService<GoalSettingIn
      * @return GoalSettingInstance with the given Participant id.
      * @throws IllegalArgumentException if id is null.
      */
+    @Transactional(readOnly = true)
     public GoalSettingInstance findByParticipantsId(Long id) {
         return this.goalSettingInstanceRepository.findByParticipantsId(id);
     }
@@ -7,9 +7,9 @@ import ca.uqam.latece.evo.server.core.util.ObjectValidator;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import jakarta.transaction.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
@@ -113,6 +113,7 @@ public class HealthCareProfessionalService extends AbstractEvoService<HealthCare
      * @return List of HealthCareProfessionals.
      */
     @Override
+    @Transactional(readOnly = true)
     public List<HealthCareProfessional> findAll() {
         return hcpRepository.findAll();
     }
@@ -124,6 +125,7 @@ public class HealthCareProfessionalService extends AbstractEvoService<HealthCare
      * @throws IllegalArgumentException if id is null.
      */
     @Override
+    @Transactional(readOnly = true)
     public HealthCareProfessional findById(Long id) {
         ObjectValidator.validateId(id);
         return hcpRepository.findById(id).orElse(null);
@@ -135,6 +137,7 @@ public class HealthCareProfessionalService extends AbstractEvoService<HealthCare
      * @return HealthCareProfessional with the given name.
      * @throws IllegalArgumentException if name is null or blank.
      */
+    @Transactional(readOnly = true)
     public List<HealthCareProfessional> findByName(String name) {
         ObjectValidator.validateString(name);
         return hcpRepository.findByName(name);
@@ -146,6 +149,7 @@ public class HealthCareProfessionalService extends AbstractEvoService<HealthCare
      * @return HealthCareProfessional with the given email.
      * @throws IllegalArgumentException if email is null or blank.
      */
+    @Transactional(readOnly = true)
     public HealthCareProfessional findByEmail(String email) {
         ObjectValidator.validateEmail(email);
         return hcpRepository.findByEmail(email);
@@ -157,6 +161,7 @@ public class HealthCareProfessionalService extends AbstractEvoService<HealthCare
      * @return List of HealthCareProfessionals with the given contactInformation.
      * @throws IllegalArgumentException if contactInformation is null or blank.
      */
+    @Transactional(readOnly = true)
     public List<HealthCareProfessional> findByContactInformation(String contactInformation) {
         ObjectValidator.validateString(contactInformation);
         return hcpRepository.findByContactInformation(contactInformation);
@@ -168,6 +173,7 @@ public class HealthCareProfessionalService extends AbstractEvoService<HealthCare
      * @return List of HealthCareProfessionals with the given position.
      * @throws IllegalArgumentException if position is null or blank.
      */
+    @Transactional(readOnly = true)
     public List<HealthCareProfessional> findByPosition(String position) {
         ObjectValidator.validateString(position);
         return hcpRepository.findByPosition(position);
@@ -179,6 +185,7 @@ public class HealthCareProfessionalService extends AbstractEvoService<HealthCare
      * @return List of HealthCareProfessionals with the given affiliation.
      * @throws IllegalArgumentException if affiliation is null or blank.
      */
+    @Transactional(readOnly = true)
     public List<HealthCareProfessional> findByAffiliation(String affiliation) {
         ObjectValidator.validateString(affiliation);
         return hcpRepository.findByAffiliation(affiliation);
@@ -190,6 +197,7 @@ public class HealthCareProfessionalService extends AbstractEvoService<HealthCare
      * @return List of HealthCareProfessionals with the given specialities.
      * @throws IllegalArgumentException if specialities are null or blank.
      */
+    @Transactional(readOnly = true)
     public List<HealthCareProfessional> findBySpecialties(String specialities) {
         ObjectValidator.validateString(specialities);
         return hcpRepository.findBySpecialties(specialities);
@@ -202,6 +210,7 @@ public class HealthCareProfessionalService extends AbstractEvoService<HealthCare
      * @throws IllegalArgumentException if id is null.
      */
     @Override
+    @Transactional(readOnly = true)
     public boolean existsById(Long id) {
         ObjectValidator.validateId(id);
         return hcpRepository.existsById(id);
@@ -213,6 +222,7 @@ public class HealthCareProfessionalService extends AbstractEvoService<HealthCare
      * @return true if exists, otherwise false.
      * @throws IllegalArgumentException if email is null or blank.
      */
+    @Transactional(readOnly = true)
     public boolean existsByEmail(String email) {
         ObjectValidator.validateEmail(email);
         return this.hcpRepository.existsByEmail(email);
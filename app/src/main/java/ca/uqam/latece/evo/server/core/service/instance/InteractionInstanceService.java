@@ -12,13 +12,13 @@ import ca.uqam.latece.evo.server.core.util.FailedConditions;
 import ca.uqam.latece.evo.server.core.util.ObjectValidator;
 import ca.uqam.latece.evo.server.core.util.StringToLambdaConverter;
 import jakarta.persistence.EntityNotFoundException;
-import jakarta.transaction.Transactional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.event.EventListener;
 import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -70,7 +70,7 @@ public class InteractionInstanceService extends AbstractBCIInstanceService<Inter
 
         ObjectValidator.validateObject(interactionInstance);
         if (InteractionInstanceFound != null) {
-            interactionInstanceUpdated = interactionInstanceRepository.save(interactionInstance);
+            interactionInstanceUpdated = publishSavedEvent(interactionInstanceRepository.save(interactionInstance));
         }
 
         return interactionInstanceUpdated;
@@ -87,7 +87,7 @@ public class InteractionInstanceService extends AbstractBCIInstanceService<Inter
     @Override
     @Transactional
     public InteractionInstance save(InteractionInstance interactionInstance) {
-        return this.interactionInstanceRepository.save(interactionInstance);
+        return publishSavedEvent(this.interactionInstanceRepository.save(interactionInstance));
     }
 
     /**
@@ -108,6 +108,7 @@ public class InteractionInstanceService extends AbstractBCIInstanceService<Inter
      * @return List<InteractionInstance>.
      */
     @Override
+    @Transactional(readOnly = true)
     public List<InteractionInstance> findAll() {
         return this.interactionInstanceRepository.findAll();
     }
@@ -119,6 +120,7 @@ public class InteractionInstanceService extends AbstractBCIInstanceService<Inter
      * @throws IllegalArgumentException if id is null.
      */
     @Override
+    @Transactional(readOnly = true)
     public InteractionInstance findById(Long id) {
         ObjectValidator.validateId(id);
         return this.interactionInstanceRepository.findById(id).
@@ -131,6 +133,7 @@ public class InteractionInstanceService extends AbstractBCIInstanceService<Inter
      * @return List of InteractionInstance entities with the given status.
      * @throws IllegalArgumentException if the status is null.
      */
+    @Transactional(readOnly = true)
     public List<InteractionInstance> findByStatus(ExecutionStatus status) {
         ObjectValidator.validateObject(status);
         return this.interactionInstanceRepository.findByStatus(status);
@@ -142,6 +145,7 @@ public class InteractionInstanceService extends AbstractBCIInstanceService<Inter
      * @return List<InteractionInstance> with the given entryDate.
      * @throws IllegalArgumentException if entryDate is null.
      */
+    @Transactional(readOnly = true)
     public List<InteractionInstance> findByEntryDate(LocalDate entryDate) {
         ObjectValidator.validateObject(entryDate);
         return this.interactionInstanceRepository.findByEntryDate(entryDate);
@@ -153,6 +157,7 @@ public class InteractionInstanceService extends AbstractBCIInstanceService<Inter
      * @return List<InteractionInstance> with the given exitDate.
      * @throws IllegalArgumentException if exitDate is null.
      */
+    @Transactional(readOnly = true)
     public List<InteractionInstance> findByExitDate(LocalDate exitDate) {
         ObjectValidator.validateObject(exitDate);
         return this.interactionInstanceRepository.findByExitDate(exitDate);
@@ -164,6 +169,7 @@ public class InteractionInstanceService extends AbstractBCIInstanceService<Inter
      * @return a list of InteractionInstance entities associated with the given participant ID.
      * @throws IllegalArgumentException if the provided ID is null or invalid.
      */
+    @Transactional(readOnly = true)
     public List<InteractionInstance> findByParticipantsId(Long id) {
         ObjectValidator.validateId(id);
         return this.interactionInstanceRepository.findByParticipantsId(id);
@@ -176,6 +182,7 @@ public class InteractionInstanceService extends AbstractBCIInstanceService<Inter
      * @throws IllegalArgumentException if id is null.
      */
     @Override
+    @Transactional(readOnly = true)
     public boolean existsById(Long id) {
         ObjectValidator.validateId(id);
         return this.interactionInstanceRepository.existsById(id);
@@ -0,0 +1,86 @@
+package ca.uqam.latece.evo.server.core.service.instance;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.Period;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Intervention Archival Service: archives the finished intervention instances older than the retention window, in
+ * throttled batches (see {@link InterventionArchiveService#archiveBatch(LocalDate, int)}).
+ * <p>
+ * Each batch is committed on its own and followed by a pause, so the archival never holds long locks nor saturates the
+ * database; an interrupted run is resumed by the next one.
+ * @version 1.0
+ * @author Edilton Lima dos Santos.
+ */
+@Service
+public class InterventionArchivalService {
+    private static final Logger logger = LoggerFactory.getLogger(InterventionArchivalService.class);
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    @Autowired
+    private InterventionArchiveService interventionArchiveService;
+
+    @Value("${evo.archive.retention:P365D}")
+    private Period retention = Period.ofDays(365);
+
+    @Value("${evo.archive.batch-size:200}")
+    private int batchSize = 200;
+
+    @Value("${evo.archive.pause:PT0.5S}")
+    private Duration pause = Duration.ofMillis(500);
+
+    /**
+     * Archives all the finished intervention instances that exited before the retention window.
+     * @return the number of archived intervention instances.
+     * @throws IllegalStateException if the archival is already running.
+     */
+    public int run() {
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("The intervention archival is already running");
+        }
+
+        LocalDate cutoff = LocalDate.now().minus(retention);
+        int archived = 0;
+        int batch;
+
+        try {
+            do {
+                batch = interventionArchiveService.archiveBatch(cutoff, batchSize);
+                archived += batch;
+
+                if (batch == batchSize) {
+                    Thread.sleep(pause.toMillis());
+                }
+            } while (batch == batchSize);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            running.set(false);
+        }
+
+        logger.info("Intervention archival: {} instances that exited before {} archived", archived, cutoff);
+        return archived;
+    }
+
+    /**
+     * Runs the archival on the schedule of the evo.archive.cron property (disabled by default).
+     */
+    @Scheduled(cron = "${evo.archive.cron:-}")
+    public void runScheduled() {
+        try {
+            run();
+        } catch (IllegalStateException e) {
+            logger.info("Intervention archival already running, scheduled run skipped");
+        }
+    }
+}
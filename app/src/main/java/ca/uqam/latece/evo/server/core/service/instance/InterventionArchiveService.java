@@ -0,0 +1,90 @@
+package ca.uqam.latece.evo.server.core.service.instance;
+
+import ca.uqam.latece.evo.server.core.repository.instance.InterventionArchiveRepository;
+import ca.uqam.latece.evo.server.core.response.ArchivedIntervention;
+import ca.uqam.latece.evo.server.core.util.ObjectValidator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Intervention Archive Service: moves a batch of finished intervention instance trees to the archive, in a single
+ * transaction, and reads the archived trees.
+ * <p>
+ * A batch is claimed (see {@link InterventionArchiveRepository#claimFinishedTrees(LocalDate, int)}), the archive
+ * partitions of its exit months are created if needed, then the trees are copied and deleted with a few set-based
+ * statements, whatever the number of trees.
+ * @version 1.0
+ * @author Edilton Lima dos Santos.
+ */
+@Service
+@Transactional
+public class InterventionArchiveService {
+    private static final Logger logger = LoggerFactory.getLogger(InterventionArchiveService.class);
+
+    @Autowired
+    private InterventionArchiveRepository interventionArchiveRepository;
+
+    /**
+     * Archives a batch of the finished intervention instances that exited before a date, the oldest first.
+     * @param cutoff the exit date before which the instances are archived.
+     * @param batchSize the maximum number of intervention instances.
+     * @return the number of archived intervention instances.
+     * @throws IllegalArgumentException if the cutoff is null or the batch size is not positive.
+     */
+    @CacheEvict(cacheNames = PatientDashboardService.DASHBOARD_CACHE, allEntries = true)
+    public int archiveBatch(LocalDate cutoff, int batchSize) {
+        ObjectValidator.validateObject(cutoff);
+
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("The batch size must be positive: " + batchSize);
+        }
+
+        List<InterventionArchiveRepository.FinishedTree> trees =
+                interventionArchiveRepository.claimFinishedTrees(cutoff, batchSize);
+
+        if (trees.isEmpty()) {
+            return 0;
+        }
+
+        List<Long> ids = new ArrayList<>(trees.size());
+        Set<YearMonth> months = new TreeSet<>();
+
+        for (InterventionArchiveRepository.FinishedTree tree : trees) {
+            ids.add(tree.getId());
+            months.add(YearMonth.parse(tree.getExitMonth()));
+        }
+
+        months.forEach(interventionArchiveRepository::createMonthlyPartition);
+        int archived = interventionArchiveRepository.insertArchives(ids);
+        int instances = interventionArchiveRepository.insertArchiveInstances(ids);
+        interventionArchiveRepository.deleteInterventionInstances(ids);
+        interventionArchiveRepository.deletePhaseInstances(ids);
+        interventionArchiveRepository.deleteBlockInstances(ids);
+        interventionArchiveRepository.deleteActivityInstances(ids);
+        logger.info("Intervention instances archived: {} trees, {} instances", archived, instances);
+        return archived;
+    }
+
+    /**
+     * Finds the archived tree of an intervention, phase or block instance.
+     * @param instanceId the ActivityInstance id.
+     * @return the archived tree, or null if the instance is not archived.
+     * @throws IllegalArgumentException if the id is null.
+     */
+    @Transactional(readOnly = true)
+    public ArchivedIntervention findArchive(Long instanceId) {
+        ObjectValidator.validateId(instanceId);
+        return interventionArchiveRepository.findArchive(instanceId);
+    }
+}
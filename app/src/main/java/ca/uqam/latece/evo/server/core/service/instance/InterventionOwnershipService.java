@@ -0,0 +1,316 @@
+package ca.uqam.latece.evo.server.core.service.instance;
+
+import ca.uqam.latece.evo.server.core.repository.ClusterNodeRepository;
+import ca.uqam.latece.evo.server.core.util.ConsistentHashRing;
+import ca.uqam.latece.evo.server.core.util.ObjectValidator;
+import jakarta.annotation.PreDestroy;
+import jakarta.servlet.http.HttpServletRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Intervention Ownership Service: shares the intervention instances between the application nodes, so several nodes
+ * can run behind a load balancer while each intervention instance tree is handled by a single node.
+ * <p>
+ * The nodes take a lease in the cluster_node table, renewed every evo.cluster.heartbeat-interval, and build a
+ * {@link ConsistentHashRing} of the nodes whose lease has not expired. A root intervention instance belongs to the node
+ * of its id on the ring, so the client-event cascade it triggers, the in-memory events of the cascade and the caches of
+ * the intervention stay on that node. The client events of an intervention instance received by another node are
+ * forwarded to its owner (see {@link #forward(Long, HttpServletRequest, Object)}), as are the client events raised by
+ * this node itself (see {@link #forward(Long, HttpMethod, String, Object)}), with the secret of the cluster: a
+ * forwarded request is only trusted from a live member that presents it. When a node joins or leaves, only the
+ * intervention instances between its points on the ring change owner.
+ * <p>
+ * Configuration (enabled with evo.cluster.enabled=true):
+ * - evo.cluster.node-id: the id of this node, unique in the cluster.
+ * - evo.cluster.node-url: the base URL at which the other nodes reach this node.
+ * - evo.cluster.secret: the secret shared by the nodes, which authenticates the forwarded requests.
+ * - evo.cluster.lease-duration: the duration of a lease (30 s); it must exceed the heartbeat interval (10 s).
+ * - evo.cluster.virtual-nodes: the number of points of each node on the ring (64).
+ * - evo.cluster.forward-timeout: the timeout of a forwarded request (10 s).
+ *
+ * @version 1.0
+ * @author Edilton Lima dos Santos.
+ */
+@Service
+@ConditionalOnProperty(name = "evo.cluster.enabled", havingValue = "true")
+public class InterventionOwnershipService {
+    private static final Logger logger = LoggerFactory.getLogger(InterventionOwnershipService.class);
+
+    /**
+     * Marks a forwarded request with the id of the node that forwarded it; the receiving node handles it whatever its
+     * own view of the ring, so a request is never forwarded twice while the nodes disagree on the members.
+     */
+    public static final String FORWARDED_BY_HEADER = "X-Evo-Forwarded-By";
+
+    /**
+     * Carries the secret of the cluster in a forwarded request, so a client cannot pass its request as forwarded.
+     */
+    public static final String SECRET_HEADER = "X-Evo-Cluster-Secret";
+
+    private static final String RETRY_AFTER_SECONDS = "1";
+
+    private final ClusterNodeRepository clusterNodeRepository;
+
+    private final TransactionTemplate transaction;
+
+    private final RestClient restClient;
+
+    private final String nodeId;
+
+    private final String nodeUrl;
+
+    private final String secret;
+
+    private final Duration leaseDuration;
+
+    private final int virtualNodes;
+
+    private volatile ConsistentHashRing ring;
+
+    private volatile Map<String, String> urls = Map.of();
+
+    /**
+     * The end of the lease of this node on the local clock (System.nanoTime), measured from before its renewal.
+     */
+    private volatile long leaseUntil;
+
+    @Autowired
+    public InterventionOwnershipService(ClusterNodeRepository clusterNodeRepository,
+                                        PlatformTransactionManager transactionManager,
+                                        RestClient.Builder restClientBuilder,
+                                        @Value("${evo.cluster.node-id}") String nodeId,
+                                        @Value("${evo.cluster.node-url}") String nodeUrl,
+                                        @Value("${evo.cluster.secret}") String secret,
+                                        @Value("${evo.cluster.lease-duration:PT30S}") Duration leaseDuration,
+                                        @Value("${evo.cluster.virtual-nodes:64}") int virtualNodes,
+                                        @Value("${evo.cluster.forward-timeout:PT10S}") Duration forwardTimeout) {
+        ObjectValidator.validateString(nodeId);
+        ObjectValidator.validateString(nodeUrl);
+        ObjectValidator.validateString(secret);
+
+        if (leaseDuration == null || leaseDuration.isNegative() || leaseDuration.isZero() || forwardTimeout == null) {
+            throw new IllegalArgumentException("A positive lease duration and a forward timeout are required");
+        }
+
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(HttpClient.newBuilder()
+                .connectTimeout(forwardTimeout).build());
+        requestFactory.setReadTimeout(forwardTimeout);
+
+        this.clusterNodeRepository = clusterNodeRepository;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.restClient = restClientBuilder.requestFactory(requestFactory).build();
+        this.nodeId = nodeId;
+        this.nodeUrl = nodeUrl.endsWith("/") ? nodeUrl.substring(0, nodeUrl.length() - 1) : nodeUrl;
+        this.secret = secret;
+        this.leaseDuration = leaseDuration;
+        this.virtualNodes = virtualNodes;
+        this.ring = new ConsistentHashRing(List.of(), virtualNodes);
+        this.leaseUntil = System.nanoTime();
+    }
+
+    /**
+     * Renews the lease of this node, drops the leases expired for more than a lease duration, and rebuilds the ring from
+     * the nodes whose lease has not expired. A failed heartbeat keeps the previous ring.
+     */
+    @Scheduled(fixedDelayString = "${evo.cluster.heartbeat-interval:PT10S}")
+    public void heartbeat() {
+        long renewedAt = System.nanoTime();
+        double seconds = leaseDuration.toMillis() / 1000.0;
+
+        try {
+            List<ClusterNodeRepository.Node> nodes = transaction.execute(status -> {
+                clusterNodeRepository.renewLease(nodeId, nodeUrl, seconds);
+                clusterNodeRepository.deleteExpiredLeases(seconds);
+                return clusterNodeRepository.findLiveNodes();
+            });
+
+            leaseUntil = renewedAt + leaseDuration.toNanos();
+            Map<String, String> members = nodes.stream().collect(Collectors.toUnmodifiableMap(
+                    ClusterNodeRepository.Node::getNodeId, ClusterNodeRepository.Node::getUrl));
+
+            if (!members.keySet().equals(ring.getNodes())) {
+                ring = new ConsistentHashRing(members.keySet(), virtualNodes);
+                logger.info("Cluster members: {}", members.keySet());
+            }
+
+            urls = members;
+        } catch (RuntimeException e) {
+            logger.warn("Cluster heartbeat of node {} failed: {}", nodeId, e.getMessage());
+        }
+    }
+
+    /**
+     * Releases the lease of this node when it stops, so its intervention instances move at once to the other nodes.
+     */
+    @PreDestroy
+    public void leave() {
+        try {
+            transaction.executeWithoutResult(status -> clusterNodeRepository.releaseLease(nodeId));
+            logger.info("Node {} left the cluster", nodeId);
+        } catch (RuntimeException e) {
+            logger.warn("Node {} failed to release its lease: {}", nodeId, e.getMessage());
+        }
+    }
+
+    /**
+     * @param interventionInstanceId the id of a root BehaviorChangeInterventionInstance.
+     * @return the id of the node that owns the intervention instance, or null if this node holds no lease.
+     * @throws IllegalArgumentException if the id is null or not positive.
+     */
+    public String findOwner(Long interventionInstanceId) {
+        ObjectValidator.validateId(interventionInstanceId);
+        return hasLease() ? ring.ownerOf(interventionInstanceId) : null;
+    }
+
+    /**
+     * Forwards a request about an intervention instance owned by another node to its owner.
+     * @param interventionInstanceId the id of the root BehaviorChangeInterventionInstance of the request.
+     * @param request the request, forwarded with the same method, path and query string.
+     * @param body the body of the request, forwarded as JSON.
+     * @return the response of the owner, 503 if the owner is unknown or unreachable, or null if this node handles the
+     * request: it owns the intervention instance, or the request was forwarded to it by a live member (see
+     * {@link #acceptForwarded(String, HttpServletRequest)}).
+     * @throws IllegalArgumentException if the id is null or not positive.
+     */
+    public ResponseEntity<String> forward(Long interventionInstanceId, HttpServletRequest request, Object body) {
+        ObjectValidator.validateId(interventionInstanceId);
+        String forwardedBy = request.getHeader(FORWARDED_BY_HEADER);
+
+        if (forwardedBy != null) {
+            return acceptForwarded(forwardedBy, request);
+        }
+
+        String owner = findOwner(interventionInstanceId);
+
+        if (nodeId.equals(owner)) {
+            return null;
+        }
+
+        String query = request.getQueryString();
+        return send(interventionInstanceId, owner, HttpMethod.valueOf(request.getMethod()),
+                request.getRequestURI() + (query != null ? "?" + query : ""), body);
+    }
+
+    /**
+     * Sends a request raised by this node about an intervention instance, rather than received from a client (e.g. the
+     * FINISH of the activity concerned by a met goal), to the owner of the intervention instance.
+     * @param interventionInstanceId the id of the root BehaviorChangeInterventionInstance of the request.
+     * @param method the method of the request.
+     * @param path the path of the request on the owner, with the context path and the query string if any.
+     * @param body the body of the request, sent as JSON.
+     * @return the response of the owner, 503 if the owner is unknown or unreachable, or null if this node owns the
+     * intervention instance and handles the request.
+     * @throws IllegalArgumentException if the id is null or not positive, or the path is blank.
+     */
+    public ResponseEntity<String> forward(Long interventionInstanceId, HttpMethod method, String path, Object body) {
+        ObjectValidator.validateId(interventionInstanceId);
+        ObjectValidator.validateString(path);
+        String owner = findOwner(interventionInstanceId);
+        return nodeId.equals(owner) ? null : send(interventionInstanceId, owner, method, path, body);
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    /**
+     * @return the ids of the nodes of the ring.
+     */
+    public List<String> getMembers() {
+        return ring.getNodes().stream().sorted().toList();
+    }
+
+    /**
+     * Accepts a request forwarded by another node.
+     * @param forwardedBy the id of the node that forwarded the request.
+     * @param request the request.
+     * @return null if this node handles the request, 403 if it does not carry the secret of the cluster, or 503 if its
+     * node is not a live member of the ring of this node (e.g. it has just joined, and the views of the ring converge
+     * within a heartbeat).
+     */
+    private ResponseEntity<String> acceptForwarded(String forwardedBy, HttpServletRequest request) {
+        String presented = request.getHeader(SECRET_HEADER);
+
+        if (presented == null || !MessageDigest.isEqual(secret.getBytes(StandardCharsets.UTF_8),
+                presented.getBytes(StandardCharsets.UTF_8))) {
+            logger.warn("Rejected a request forwarded by {} without the secret of the cluster", forwardedBy);
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+
+        if (nodeId.equals(forwardedBy) || !urls.containsKey(forwardedBy)) {
+            logger.warn("Rejected a request forwarded by {}, which is not a live member", forwardedBy);
+            return unavailable();
+        }
+
+        return null;
+    }
+
+    /**
+     * Sends a request about an intervention instance to its owner, another node.
+     * @return the response of the owner, or 503 if the owner is unknown or unreachable.
+     */
+    private ResponseEntity<String> send(Long interventionInstanceId, String owner, HttpMethod method, String path,
+                                        Object body) {
+        String ownerUrl = owner != null ? urls.get(owner) : null;
+
+        if (ownerUrl == null) {
+            logger.warn("No owner known for BehaviorChangeInterventionInstance {}", interventionInstanceId);
+            return unavailable();
+        }
+
+        URI uri = URI.create(ownerUrl + path);
+
+        try {
+            ResponseEntity<String> response = restClient.method(method)
+                    .uri(uri)
+                    .header(FORWARDED_BY_HEADER, nodeId)
+                    .header(SECRET_HEADER, secret)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(body)
+                    .exchange((clientRequest, clientResponse) -> new ResponseEntity<>(
+                            clientResponse.bodyTo(String.class), clientResponse.getStatusCode()));
+            logger.debug("BehaviorChangeInterventionInstance {} request forwarded to node {}: {}",
+                    interventionInstanceId, owner, response.getStatusCode());
+            return response;
+        } catch (RestClientException e) {
+            logger.warn("Failed to forward the BehaviorChangeInterventionInstance {} request to node {}: {}",
+                    interventionInstanceId, owner, e.getMessage());
+            return unavailable();
+        }
+    }
+
+    private boolean hasLease() {
+        return System.nanoTime() - leaseUntil < 0;
+    }
+
+    private static ResponseEntity<String> unavailable() {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS)
+                .build();
+    }
+}
@@ -5,12 +5,12 @@ import ca.uqam.latece.evo.server.core.repository.instance.ParticipantRepository;
 import ca.uqam.latece.evo.server.core.service.AbstractEvoService;
 import ca.uqam.latece.evo.server.core.util.ObjectValidator;
 
-import jakarta.transaction.Transactional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
@@ -101,6 +101,7 @@ public class ParticipantService extends AbstractEvoService<Participant> {
      * @return List<Participant>.
      */
     @Override
+    @Transactional(readOnly = true)
     public List<Participant> findAll() {
         return participantRepository.findAll();
     }
@@ -112,6 +113,7 @@ public class ParticipantService extends AbstractEvoService<Participant> {
      * @throws IllegalArgumentException if id is null.
      */
     @Override
+    @Transactional(readOnly = true)
     public Participant findById(Long id) {
         ObjectValidator.validateId(id);
         return participantRepository.findById(id).orElse(null);
@@ -123,6 +125,7 @@ public class ParticipantService extends AbstractEvoService<Participant> {
      * @return Participant with the given Role id.
      * @throws IllegalArgumentException if id is null.
      */
+    @Transactional(readOnly = true)
     public List<Participant> findByRoleId(Long id) {
         ObjectValidator.validateId(id);
         return participantRepository.findByRoleId(id);
@@ -134,6 +137,7 @@ public class ParticipantService extends AbstractEvoService<Participant> {
      * @return Participant with the given Actor id.
      * @throws IllegalArgumentException if id is null.
      */
+    @Transactional(readOnly = true)
     public List<Participant> findByActorId(Long id) {
         ObjectValidator.validateId(id);
         return participantRepository.findByActorId(id);
@@ -146,6 +150,7 @@ public class ParticipantService extends AbstractEvoService<Participant> {
      * @throws IllegalArgumentException if id is null.
      */
     @Override
+    @Transactional(readOnly = true)
     public boolean existsById(Long id) {
         ObjectValidator.validateId(id);
         return participantRepository.existsById(id);
@@ -6,12 +6,13 @@ import ca.uqam.latece.evo.server.core.repository.instance.PatientAssessmentRepos
 import ca.uqam.latece.evo.server.core.service.AbstractEvoService;
 import ca.uqam.latece.evo.server.core.util.ObjectValidator;
 
-import jakarta.transaction.Transactional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -37,6 +38,7 @@ public class PatientAssessmentService extends AbstractEvoService<PatientAssessme
      *          different values from the database. Also thrown if assumed to be present but does not exist in the database.
      */
     @Override
+    @CacheEvict(cacheNames = PatientDashboardService.DASHBOARD_CACHE, allEntries = true)
     public PatientAssessment create(PatientAssessment patientAssessment) {
         PatientAssessment pa = null;
 
@@ -59,6 +61,7 @@ public class PatientAssessmentService extends AbstractEvoService<PatientAssessme
      *          different values from the database. Also thrown if assumed to be present but does not exist in the database.
      */
     @Override
+    @CacheEvict(cacheNames = PatientDashboardService.DASHBOARD_CACHE, allEntries = true)
     public PatientAssessment update(PatientAssessment patientAssessment) {
         PatientAssessment paUpdated = null;
         PatientAssessment paFound = findById(patientAssessment.getId());
@@ -84,6 +87,7 @@ public class PatientAssessmentService extends AbstractEvoService<PatientAssessme
      *          different values from the database. Also thrown if assumed to be present but does not exist in the database.
      */
     @Override
+    @CacheEvict(cacheNames = PatientDashboardService.DASHBOARD_CACHE, allEntries = true)
     public PatientAssessment save(PatientAssessment patientAssessment) {
         return this.patientAssessmentRepository.save(patientAssessment);
     }
@@ -94,6 +98,7 @@ public class PatientAssessmentService extends AbstractEvoService<PatientAssessme
      * @param id Long.
      * @throws IllegalArgumentException if id is null.
      */
+    @CacheEvict(cacheNames = PatientDashboardService.DASHBOARD_CACHE, allEntries = true)
     public void deleteById(Long id) {
         ObjectValidator.validateId(id);
         patientAssessmentRepository.deleteById(id);
@@ -104,6 +109,7 @@ public class PatientAssessmentService extends AbstractEvoService<PatientAssessme
      * Finds all PatientAssessment entities.
      * @return List<PatientAssessment>.
      */
+    @Transactional(readOnly = true)
     public List<PatientAssessment> findAll() {
         return this.patientAssessmentRepository.findAll();
     }
@@ -115,6 +121,7 @@ public class PatientAssessmentService extends AbstractEvoService<PatientAssessme
      * @throws IllegalArgumentException if id is null.
      */
     @Override
+    @Transactional(readOnly = true)
     public PatientAssessment findById(Long id) {
         ObjectValidator.validateId(id);
         return this.patientAssessmentRepository.findById(id).orElse(null);
@@ -126,6 +133,7 @@ public class PatientAssessmentService extends AbstractEvoService<PatientAssessme
      * @return List<PatientAssessment> with the given date.
      * @throws IllegalArgumentException if date is null.
      */
+    @Transactional(readOnly = true)
     public List<PatientAssessment> findByDate(LocalDate date) {
         ObjectValidator.validateObject(date);
         return this.patientAssessmentRepository.findByDate(date);
@@ -137,6 +145,7 @@ public class PatientAssessmentService extends AbstractEvoService<PatientAssessme
      * @return List<PatientAssessment> with the given assessment.
      * @throws IllegalArgumentException if assessment is blank or null.
      */
+    @Transactional(readOnly = true)
     public List<PatientAssessment> findByAssessment(String assessment) {
         ObjectValidator.validateString(assessment);
         return this.patientAssessmentRepository.findByAssessment(assessment);
@@ -148,6 +157,7 @@ public class PatientAssessmentService extends AbstractEvoService<PatientAssessme
      * @return List<PatientAssessment> with the given Patient.
      * @throws IllegalArgumentException if patient is null.
      */
+    @Transactional(readOnly = true)
     public List<PatientAssessment> findByPatient(Patient patient) {
         ObjectValidator.validateObject(patient);
         return this.patientAssessmentRepository.findByPatient(patient);
@@ -159,6 +169,7 @@ public class PatientAssessmentService extends AbstractEvoService<PatientAssessme
      * @return List<PatientAssessment> with the given Patient id.
      * @throws IllegalArgumentException if id is null.
      */
+    @Transactional(readOnly = true)
     public List<PatientAssessment> findByPatientId(Long id) {
         ObjectValidator.validateId(id);
         return this.patientAssessmentRepository.findByPatientId(id);
@@ -171,6 +182,7 @@ public class PatientAssessmentService extends AbstractEvoService<PatientAssessme
      * @throws IllegalArgumentException if id is null.
      */
     @Override
+    @Transactional(readOnly = true)
     public boolean existsById(Long id) {
         ObjectValidator.validateId(id);
         return this.patientAssessmentRepository.existsById(id);
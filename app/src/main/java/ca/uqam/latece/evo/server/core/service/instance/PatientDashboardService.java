@@ -0,0 +1,172 @@
+package ca.uqam.latece.evo.server.core.service.instance;
+
+import ca.uqam.latece.evo.server.core.event.ActivityInstanceSavedEvent;
+import ca.uqam.latece.evo.server.core.repository.instance.PatientDashboardRepository;
+import ca.uqam.latece.evo.server.core.repository.instance.PatientDashboardStore.AssessmentSummary;
+import ca.uqam.latece.evo.server.core.repository.instance.PatientDashboardStore.InterventionSummary;
+import ca.uqam.latece.evo.server.core.repository.instance.PatientDashboardStore.PatientSummary;
+import ca.uqam.latece.evo.server.core.repository.instance.PatientDashboardStore.ReferralSummary;
+import ca.uqam.latece.evo.server.core.response.PatientDashboard;
+import ca.uqam.latece.evo.server.core.util.ObjectValidator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Patient dashboard service: the overview of a Patient in one call.
+ * <p>
+ * The parts of a dashboard are independent projection queries, read concurrently on virtual threads, each in its own
+ * transaction; the first failure cancels the other parts. The parts and the patients of an evicted dashboard are read
+ * on the primary, not on a read replica: a lagging replica would put back a stale dashboard just after its eviction,
+ * for the whole evo.dashboard.cache-ttl, or miss the patients of a new instance. The dashboards are cached per patient
+ * and evicted when the data of the patient changes: by the writes of the patient, medical file, assessment and referral
+ * services, by the bulk enrollment and archival batches, and by the ActivityInstanceSavedEvent of the phase, block,
+ * module and activity instances of its interventions once their transaction is committed. The cached dashboards also
+ * expire after evo.dashboard.cache-ttl, so a write path that does not evict them only leaves them stale until then.
+ * @version 1.0
+ * @author Edilton Lima dos Santos.
+ */
+@Service
+public class PatientDashboardService {
+    private static final Logger logger = LoggerFactory.getLogger(PatientDashboardService.class);
+
+    public static final String DASHBOARD_CACHE = "patientDashboard";
+
+    private final PatientDashboardRepository patientDashboardRepository;
+
+    private final TransactionTemplate primaryTransaction;
+
+    private final ObjectProvider<CacheManager> cacheManager;
+
+    private final int recentLimit;
+
+    private final Duration timeout;
+
+    @Autowired
+    public PatientDashboardService(PatientDashboardRepository patientDashboardRepository,
+                                   PlatformTransactionManager transactionManager,
+                                   ObjectProvider<CacheManager> cacheManager,
+                                   @Value("${evo.dashboard.recent-limit:10}") int recentLimit,
+                                   @Value("${evo.dashboard.timeout:PT5S}") Duration timeout) {
+        if (recentLimit < 1 || timeout.isNegative() || timeout.isZero()) {
+            throw new IllegalArgumentException("The dashboard recent limit and timeout must be positive: " +
+                    recentLimit + ", " + timeout);
+        }
+
+        this.patientDashboardRepository = patientDashboardRepository;
+        this.cacheManager = cacheManager;
+        this.recentLimit = recentLimit;
+        this.timeout = timeout;
+        // Not read-only, so the transactions are not routed to a replica.
+        this.primaryTransaction = new TransactionTemplate(transactionManager);
+        this.primaryTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        // The statements of a part are cancelled by the database when the dashboard times out.
+        this.primaryTransaction.setTimeout((int) Math.max(1, timeout.toSeconds()));
+    }
+
+    /**
+     * Gets the dashboard of a Patient.
+     * @param patientId the Patient id.
+     * @return the dashboard, or null if the Patient does not exist.
+     * @throws IllegalArgumentException if the id is null.
+     * @throws IllegalStateException if a part of the dashboard failed or timed out.
+     */
+    @Cacheable(cacheNames = DASHBOARD_CACHE, key = "#patientId", unless = "#result == null")
+    public PatientDashboard getDashboard(Long patientId) {
+        ObjectValidator.validateId(patientId);
+        long deadline = System.nanoTime() + timeout.toNanos();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<Optional<PatientSummary>> patient =
+                    fork(executor, () -> patientDashboardRepository.findPatientSummary(patientId));
+            Future<List<AssessmentSummary>> assessments =
+                    fork(executor, () -> patientDashboardRepository.findRecentAssessments(patientId, recentLimit));
+            Future<List<ReferralSummary>> referrals =
+                    fork(executor, () -> patientDashboardRepository.findRecentReferrals(patientId, recentLimit));
+            Future<List<InterventionSummary>> interventions =
+                    fork(executor, () -> patientDashboardRepository.findInterventions(patientId));
+
+            try {
+                Optional<PatientSummary> summary = join(patient, deadline);
+
+                if (summary.isEmpty()) {
+                    executor.shutdownNow();
+                    return null;
+                }
+
+                return new PatientDashboard(summary.get(), join(assessments, deadline), join(referrals, deadline),
+                        join(interventions, deadline));
+            } catch (RuntimeException e) {
+                // Shuts down the other parts, like a structured task scope.
+                executor.shutdownNow();
+                logger.error("Failed to read the dashboard of the patient {}. Error: {}", patientId, e.getMessage());
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Evicts the dashboards of the patients of a saved ActivityInstance, once its transaction is committed.
+     * @param event the ActivityInstanceSavedEvent.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void evictDashboards(ActivityInstanceSavedEvent<?> event) {
+        CacheManager manager = cacheManager.getIfAvailable();
+        Cache cache = manager == null ? null : manager.getCache(DASHBOARD_CACHE);
+
+        if (cache != null && event.getEvoModelId() != null) {
+            List<Long> patientIds = primaryTransaction.execute(status ->
+                    patientDashboardRepository.findPatientIds(event.getEvoModelId()));
+
+            if (patientIds != null) {
+                patientIds.forEach(cache::evict);
+            }
+        }
+    }
+
+    private <T> Future<T> fork(ExecutorService executor, Callable<T> part) {
+        return executor.submit(() -> primaryTransaction.execute(status -> {
+            try {
+                return part.call();
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        }));
+    }
+
+    private static <T> T join(Future<T> part, long deadline) {
+        try {
+            return part.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            throw new IllegalStateException("The patient dashboard timed out", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("The patient dashboard was interrupted", e);
+        }
+    }
+}
@@ -8,10 +8,11 @@ import ca.uqam.latece.evo.server.core.util.ObjectValidator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import jakarta.transaction.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -37,6 +38,7 @@ public class PatientMedicalFileService extends AbstractEvoService<PatientMedical
      *          different values from the database. Also thrown if assumed to be present but does not exist in the database.
      */
     @Override
+    @CacheEvict(cacheNames = PatientDashboardService.DASHBOARD_CACHE, allEntries = true)
     public PatientMedicalFile create(PatientMedicalFile patientMedicalFile) {
         PatientMedicalFile patientMedicalFileCreated;
 
@@ -57,6 +59,7 @@ public class PatientMedicalFileService extends AbstractEvoService<PatientMedical
      *          different values from the database. Also thrown if assumed to be present but does not exist in the database.
      */
     @Override
+    @CacheEvict(cacheNames = PatientDashboardService.DASHBOARD_CACHE, allEntries = true)
     public PatientMedicalFile update(PatientMedicalFile patientMedicalFile) {
         PatientMedicalFile medicalFileUpdated = null;
         PatientMedicalFile PatientMedicalFileFound = findById(patientMedicalFile.getId());
@@ -80,6 +83,7 @@ public class PatientMedicalFileService extends AbstractEvoService<PatientMedical
      */
     @Override
     @Transactional
+    @CacheEvict(cacheNames = PatientDashboardService.DASHBOARD_CACHE, allEntries = true)
     public PatientMedicalFile save(PatientMedicalFile patientMedicalFile) {
         return this.patientMedicalFileRepository.save(patientMedicalFile);
     }
@@ -91,6 +95,7 @@ public class PatientMedicalFileService extends AbstractEvoService<PatientMedical
      * @throws IllegalArgumentException if id is null.
      */
     @Override
+    @CacheEvict(cacheNames = PatientDashboardService.DASHBOARD_CACHE, allEntries = true)
     public void deleteById(Long id) {
         ObjectValidator.validateId(id);
         this.patientMedicalFileRepository.deleteById(id);
@@ -102,6 +107,7 @@ public class PatientMedicalFileService extends AbstractEvoService<PatientMedical
      * @return List<PatientMedicalFile>.
      */
     @Override
+    @Transactional(readOnly = true)
     public List<PatientMedicalFile> findAll() {
         return this.patientMedicalFileRepository.findAll();
     }
@@ -113,6 +119,7 @@ public class PatientMedicalFileService extends AbstractEvoService<PatientMedical
      * @throws IllegalArgumentException if id is null.
      */
     @Override
+    @Transactional(readOnly = true)
     public PatientMedicalFile findById(Long id) {
         ObjectValidator.validateId(id);
         return this.patientMedicalFileRepository.findById(id).orElse(null);
@@ -124,6 +131,7 @@ public class PatientMedicalFileService extends AbstractEvoService<PatientMedical
      * @return List<PatientMedicalFile> with the given date.
      * @throws IllegalArgumentException if date is null.
      */
+    @Transactional(readOnly = true)
     public List<PatientMedicalFile> findByDate(LocalDate date) {
         ObjectValidator.validateObject(date);
         return this.patientMedicalFileRepository.findByDate(date);
@@ -135,6 +143,7 @@ public class PatientMedicalFileService extends AbstractEvoService<PatientMedical
      * @return List<PatientMedicalFile> with the given medicalHistory.
      * @throws IllegalArgumentException if medicalHistory is null or blank.
      */
+    @Transactional(readOnly = true)
     public List<PatientMedicalFile> findByMedicalHistory(String medicalHistory) {
         ObjectValidator.validateString(medicalHistory);
         return this.patientMedicalFileRepository.findByMedicalHistory(medicalHistory);
@@ -147,6 +156,7 @@ public class PatientMedicalFileService extends AbstractEvoService<PatientMedical
      * @throws IllegalArgumentException if id is null.
      */
     @Override
+    @Transactional(readOnly = true)
     public boolean existsById(Long id) {
         ObjectValidator.validateId(id);
         return this.patientMedicalFileRepository.existsById(id);
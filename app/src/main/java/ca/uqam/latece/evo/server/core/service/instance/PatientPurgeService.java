@@ -0,0 +1,147 @@
+package ca.uqam.latece.evo.server.core.service.instance;
+
+import ca.uqam.latece.evo.server.core.enumeration.PurgeMode;
+import ca.uqam.latece.evo.server.core.repository.instance.PatientPurgeRepository;
+import ca.uqam.latece.evo.server.core.repository.instance.PatientPurgeStore.PurgeScope;
+import ca.uqam.latece.evo.server.core.response.PatientPurgeReport;
+import ca.uqam.latece.evo.server.core.util.ObjectValidator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Patient Purge Service: deletes or anonymizes all the data of a Patient with set-based statements, without loading
+ * its entities.
+ * <p>
+ * A deletion removes the intervention instance trees of the patient by batches of {@code evo.purge.batch-size} trees,
+ * then its archived trees, each batch in its own transaction, and finally its referrals, assessments, participants,
+ * medical file and the patient itself in a last transaction. A purge that failed is resumed by purging the patient
+ * again, since the patient is deleted last. An anonymization erases the identifying data of the patient in a single
+ * transaction, and keeps its clinical history.
+ * @version 1.0
+ * @author Edilton Lima dos Santos.
+ */
+@Service
+public class PatientPurgeService {
+    private static final Logger logger = LoggerFactory.getLogger(PatientPurgeService.class);
+
+    private final PatientPurgeRepository patientPurgeRepository;
+
+    private final TransactionTemplate transaction;
+
+    private final int batchSize;
+
+    /**
+     * The trees and the instances deleted by a batch.
+     */
+    private record Batch(int trees, int instances) {}
+
+    @Autowired
+    public PatientPurgeService(PatientPurgeRepository patientPurgeRepository,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${evo.purge.batch-size:100}") int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("The purge batch size must be positive: " + batchSize);
+        }
+
+        this.patientPurgeRepository = patientPurgeRepository;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Purges the data of a Patient.
+     * @param patientId the Patient id.
+     * @param mode whether the patient is deleted or anonymized.
+     * @return what was purged, or null if the Patient does not exist.
+     * @throws IllegalArgumentException if the id or the mode is null.
+     */
+    @Caching(evict = {
+            @CacheEvict(cacheNames = PatientService.QUERY_CACHE, allEntries = true),
+            @CacheEvict(cacheNames = PatientDashboardService.DASHBOARD_CACHE, key = "#patientId")
+    })
+    public PatientPurgeReport purge(Long patientId, PurgeMode mode) {
+        ObjectValidator.validateId(patientId);
+        ObjectValidator.validateObject(mode);
+
+        if (!patientPurgeRepository.existsPatient(patientId)) {
+            return null;
+        }
+
+        PatientPurgeReport report = mode == PurgeMode.ANONYMIZE ? anonymize(patientId) : delete(patientId);
+        logger.info("Patient purged: {}", report);
+        return report;
+    }
+
+    private PatientPurgeReport anonymize(long patientId) {
+        int referrals = transaction.execute(status -> patientPurgeRepository.anonymizePatient(patientId));
+        return new PatientPurgeReport(patientId, PurgeMode.ANONYMIZE, 0, 0, 0, referrals, 0, 0);
+    }
+
+    private PatientPurgeReport delete(long patientId) {
+        Batch trees = deleteBatches(patientId, this::deleteTrees);
+        Batch archives = deleteBatches(patientId, this::deleteArchives);
+
+        return transaction.execute(status -> {
+            int referrals = patientPurgeRepository.deleteReferrals(patientId);
+            int assessments = patientPurgeRepository.deleteAssessments(patientId);
+            int participants = patientPurgeRepository.deleteParticipants(patientId);
+            patientPurgeRepository.deletePatient(patientId);
+            return new PatientPurgeReport(patientId, PurgeMode.DELETE, trees.trees(), archives.trees(),
+                    trees.instances() + archives.instances(), referrals, assessments, participants);
+        });
+    }
+
+    /**
+     * Runs batches, each in its own transaction, until a batch is not full.
+     * @return the totals of the batches.
+     */
+    private Batch deleteBatches(long patientId, Function<Long, Batch> batch) {
+        int trees = 0;
+        int instances = 0;
+        Batch deleted;
+
+        do {
+            deleted = transaction.execute(status -> batch.apply(patientId));
+            trees += deleted.trees();
+            instances += deleted.instances();
+            logger.debug("Patient {} purge batch: {}", patientId, deleted);
+        } while (deleted.trees() == batchSize);
+
+        return new Batch(trees, instances);
+    }
+
+    private Batch deleteTrees(long patientId) {
+        List<Long> ids = patientPurgeRepository.lockInterventionInstances(patientId, batchSize);
+
+        if (ids.isEmpty()) {
+            return new Batch(0, 0);
+        }
+
+        PurgeScope scope = patientPurgeRepository.findTrees(ids);
+        return new Batch(ids.size(), patientPurgeRepository.deleteTrees(scope));
+    }
+
+    private Batch deleteArchives(long patientId) {
+        List<Long> ids = patientPurgeRepository.findArchiveIds(patientId, batchSize);
+
+        if (ids.isEmpty()) {
+            return new Batch(0, 0);
+        }
+
+        // The module and activity instances are deleted before their archived documents, which list them.
+        PurgeScope scope = patientPurgeRepository.findArchivedTrees(ids);
+        int instances = patientPurgeRepository.deleteTrees(scope);
+        patientPurgeRepository.deleteArchives(ids);
+        return new Batch(ids.size(), instances);
+    }
+}
@@ -2,15 +2,21 @@ package ca.uqam.latece.evo.server.core.service.instance;
 
 import ca.uqam.latece.evo.server.core.model.instance.Patient;
 import ca.uqam.latece.evo.server.core.model.instance.PatientMedicalFile;
+import ca.uqam.latece.evo.server.core.repository.EvoFilter;
 import ca.uqam.latece.evo.server.core.repository.instance.PatientRepository;
+import ca.uqam.latece.evo.server.core.request.EvoQuery;
+import ca.uqam.latece.evo.server.core.response.QueryPage;
 import ca.uqam.latece.evo.server.core.service.AbstractEvoService;
+import ca.uqam.latece.evo.server.core.service.EvoQueryService;
 import ca.uqam.latece.evo.server.core.util.ObjectValidator;
 
-import jakarta.transaction.Transactional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
@@ -26,9 +32,27 @@ public class PatientService extends AbstractEvoService<Patient> {
     private static final Logger logger = LoggerFactory.getLogger(PatientService.class);
     private static final String ERROR_EMAIL_ALREADY_REGISTERED = "Patient already registered with the same email!";
     
+    public static final String QUERY_CACHE = "patientQuery";
+
+    /**
+     * The filters and sort orders of the Patient queries.
+     */
+    private static final EvoFilter<Patient> QUERY_FILTER = EvoFilter.of(Patient.class)
+            .contains("name", "name")
+            .equal("email", "email", email -> email)
+            .equal("birthdate", "birthdate", birthdate -> birthdate)
+            .equal("occupation", "occupation", occupation -> occupation)
+            .contains("address", "address")
+            .sortable("name", "name")
+            .sortable("email", "email")
+            .sortable("birthdate", "birthdate");
+
     @Autowired
     private PatientRepository patientRepository;
 
+    @Autowired
+    private EvoQueryService evoQueryService;
+
     /**
      * Creates a Patient in the database.
      * @param patient Patient.
@@ -36,6 +60,7 @@ public class PatientService extends AbstractEvoService<Patient> {
      * @throws IllegalArgumentException if a patient is null or if another Patient was saved with the same email.
      */
     @Override
+    @CacheEvict(cacheNames = QUERY_CACHE, allEntries = true)
     public Patient create(Patient patient) {
         Patient patientSaved;
 
@@ -61,6 +86,10 @@ public class PatientService extends AbstractEvoService<Patient> {
      * @return The updated Patient.
      * @throws IllegalArgumentException if a patient is null or if another Patient was saved with the same email.
      */
+    @Caching(evict = {
+            @CacheEvict(cacheNames = QUERY_CACHE, allEntries = true),
+            @CacheEvict(cacheNames = PatientDashboardService.DASHBOARD_CACHE, key = "#patient.id", condition = "#patient.id != null")
+    })
     public Patient update(Patient patient) {
         Patient patientUpdated;
         Patient patientFound = this.findById(patient.getId());
@@ -93,6 +122,10 @@ public class PatientService extends AbstractEvoService<Patient> {
      */
     @Override
     @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = QUERY_CACHE, allEntries = true),
+            @CacheEvict(cacheNames = PatientDashboardService.DASHBOARD_CACHE, key = "#patient.id", condition = "#patient.id != null")
+    })
     public Patient save(Patient patient) {
         return this.patientRepository.save(patient);
     }
@@ -104,6 +137,10 @@ public class PatientService extends AbstractEvoService<Patient> {
      * @throws IllegalArgumentException if id is null.
      */
     @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = QUERY_CACHE, allEntries = true),
+            @CacheEvict(cacheNames = PatientDashboardService.DASHBOARD_CACHE, key = "#id", condition = "#id != null")
+    })
     public void deleteById(Long id) {
         ObjectValidator.validateId(id);
         patientRepository.deleteById(id);
@@ -115,6 +152,7 @@ public class PatientService extends AbstractEvoService<Patient> {
      * @return List of Patients.
      */
     @Override
+    @Transactional(readOnly = true)
     public List<Patient> findAll() {
         return patientRepository.findAll();
     }
@@ -126,6 +164,7 @@ public class PatientService extends AbstractEvoService<Patient> {
      * @throws IllegalArgumentException if id is null.
      */
     @Override
+    @Transactional(readOnly = true)
     public Patient findById(Long id) {
         ObjectValidator.validateId(id);
         return patientRepository.findById(id).orElse(null);
@@ -137,6 +176,7 @@ public class PatientService extends AbstractEvoService<Patient> {
      * @return Patient with the given name.
      * @throws IllegalArgumentException if name is null or blank.
      */
+    @Transactional(readOnly = true)
     public List<Patient> findByName(String name) {
         ObjectValidator.validateString(name);
         return patientRepository.findByName(name);
@@ -148,6 +188,7 @@ public class PatientService extends AbstractEvoService<Patient> {
      * @return Patient with the given email.
      * @throws IllegalArgumentException if email is null or blank.
      */
+    @Transactional(readOnly = true)
     public Patient findByEmail(String email) {
         ObjectValidator.validateEmail(email);
         return patientRepository.findByEmail(email);
@@ -159,6 +200,7 @@ public class PatientService extends AbstractEvoService<Patient> {
      * @return List of Patients with the given contactInformation.
      * @throws IllegalArgumentException if contactInformation is null or blank.
      */
+    @Transactional(readOnly = true)
     public List<Patient> findByContactInformation(String contactInformation) {
         ObjectValidator.validateString(contactInformation);
         return patientRepository.findByContactInformation(contactInformation);
@@ -170,6 +212,7 @@ public class PatientService extends AbstractEvoService<Patient> {
      * @return List of Patients with the given birthdate.
      * @throws IllegalArgumentException if birthdate is null or blank.
      */
+    @Transactional(readOnly = true)
     public List<Patient> findByBirthdate(String birthdate) {
         ObjectValidator.validateString(birthdate);
         return patientRepository.findByBirthdate(birthdate);
@@ -181,6 +224,7 @@ public class PatientService extends AbstractEvoService<Patient> {
      * @return List of Patients with the given occupation.
      * @throws IllegalArgumentException if occupation is null or blank.
      */
+    @Transactional(readOnly = true)
     public List<Patient> findByOccupation(String occupation) {
         ObjectValidator.validateString(occupation);
         return patientRepository.findByOccupation(occupation);
@@ -192,6 +236,7 @@ public class PatientService extends AbstractEvoService<Patient> {
      * @return List of Patients with the given address.
      * @throws IllegalArgumentException if an address is null or blank.
      */
+    @Transactional(readOnly = true)
     public List<Patient> findByAddress(String address) {
         ObjectValidator.validateString(address);
         return patientRepository.findByAddress(address);
@@ -203,6 +248,7 @@ public class PatientService extends AbstractEvoService<Patient> {
      * @return Patient with the given PatientMedicalFile.
      * @throws IllegalArgumentException if pmf is null.
      */
+    @Transactional(readOnly = true)
     public Patient findByPatientMedicalFile(PatientMedicalFile pmf) {
        ObjectValidator.validateObject(pmf);
        return patientRepository.findByMedicalFile(pmf);
@@ -214,6 +260,7 @@ public class PatientService extends AbstractEvoService<Patient> {
      * @return Patient with the given PatientMedicalFile id.
      * @throws IllegalArgumentException if id is null.
      */
+    @Transactional(readOnly = true)
     public Patient findByPatientMedicalFileId(Long id) {
         ObjectValidator.validateId(id);
         return patientRepository.findByMedicalFileId(id);
@@ -226,6 +273,7 @@ public class PatientService extends AbstractEvoService<Patient> {
      * @throws IllegalArgumentException if id is null.
      */
     @Override
+    @Transactional(readOnly = true)
     public boolean existsById(Long id) {
         ObjectValidator.validateId(id);
         return patientRepository.existsById(id);
@@ -237,6 +285,7 @@ public class PatientService extends AbstractEvoService<Patient> {
      * @return true if exists, otherwise false.
      * @throws IllegalArgumentException if email is null or blank.
      */
+    @Transactional(readOnly = true)
     public boolean existsByEmail(String email) {
         ObjectValidator.validateEmail(email);
         return this.patientRepository.existsByEmail(email);
@@ -254,4 +303,16 @@ public class PatientService extends AbstractEvoService<Patient> {
         logger.error(illegalArgumentException.getMessage(), illegalArgumentException);
         return illegalArgumentException;
     }
+
+    /**
+     * Finds a page of the Patients matching all the filters of a query: name (substring), email, birthdate and
+     * occupation. A repeated filter matches any of its values.
+     * @param query the query.
+     * @return the page of Patients.
+     * @throws IllegalArgumentException if the query has an unknown filter or sort order, or an invalid value.
+     */
+    @Transactional(readOnly = true)
+    public QueryPage<Patient> query(EvoQuery query) {
+        return evoQueryService.query(QUERY_CACHE, Patient.class, QUERY_FILTER, query, patientRepository);
+    }
 }
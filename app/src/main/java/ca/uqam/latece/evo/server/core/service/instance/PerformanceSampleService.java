@@ -0,0 +1,413 @@
+package ca.uqam.latece.evo.server.core.service.instance;
+
+import ca.uqam.latece.evo.server.core.enumeration.RollupGranularity;
+import ca.uqam.latece.evo.server.core.event.PerformanceSamplesIngestedEvent;
+import ca.uqam.latece.evo.server.core.event.PerformanceSamplesIngestedEvent.IngestedSamples;
+import ca.uqam.latece.evo.server.core.repository.instance.PerformanceSampleRepository;
+import ca.uqam.latece.evo.server.core.repository.instance.PerformanceSampleStore.BatchKey;
+import ca.uqam.latece.evo.server.core.repository.instance.PerformanceSampleStore.RollupDelta;
+import ca.uqam.latece.evo.server.core.repository.instance.PerformanceSampleStore.SampleChunk;
+import ca.uqam.latece.evo.server.core.request.PerformanceSampleBatch;
+import ca.uqam.latece.evo.server.core.response.PerformanceRollup;
+import ca.uqam.latece.evo.server.core.response.PerformanceSample;
+import ca.uqam.latece.evo.server.core.util.ObjectValidator;
+import ca.uqam.latece.evo.server.core.util.SampleCodec;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Performance Sample Service: ingests the behavior performance samples of the BehaviorPerformanceInstances (e.g. the
+ * steps, cigarettes or minutes of exercise measured by the wearables), and reads them back raw or as hourly and daily
+ * rollups.
+ * <p>
+ * The samples of a batch are sorted, encoded by chunks of at most {@value CHUNK_SIZE} samples within a month (see
+ * {@link SampleCodec}) and appended; their hourly and daily aggregates are added to the rollups in the same
+ * transaction, so the charts never read the raw samples. The chunks are partitioned by month; the partitions of the
+ * current and next {@value PARTITIONS_AHEAD} months are created ahead, and the samples of past months without a
+ * partition go to the default partition. The samples later than the next month are rejected: they would go to the
+ * default partition, where they would prevent the creation of the partition of their month.
+ * <p>
+ * The ingestion is idempotent per batch: the SHA-256 digest of the samples of each batch is recorded in the
+ * performance_sample_batch table, so a retried batch is not added to the rollups twice. The keys are kept for
+ * evo.samples.batch-key-retention (7 days).
+ * <p>
+ * The ingested samples are then published in a {@link PerformanceSamplesIngestedEvent}, so that the goals follow them.
+ * @version 1.0
+ * @author Edilton Lima dos Santos.
+ */
+@Service
+@Transactional
+public class PerformanceSampleService {
+    private static final Logger logger = LoggerFactory.getLogger(PerformanceSampleService.class);
+
+    /**
+     * The maximum number of samples per chunk.
+     */
+    static final int CHUNK_SIZE = 1024;
+
+    /**
+     * The number of monthly partitions created ahead of the current month.
+     */
+    static final int PARTITIONS_AHEAD = 2;
+
+    /**
+     * The maximum number of samples returned by a range query.
+     */
+    static final int MAX_SAMPLES = 100_000;
+
+    private static final Comparator<RollupDelta> ROLLUP_ORDER = Comparator.comparingLong(RollupDelta::instanceId)
+            .thenComparing(RollupDelta::granularity).thenComparing(RollupDelta::bucket);
+
+    private final PerformanceSampleRepository performanceSampleRepository;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final Clock clock;
+
+    private final Duration batchKeyRetention;
+
+    @Autowired
+    public PerformanceSampleService(PerformanceSampleRepository performanceSampleRepository,
+                                    ApplicationEventPublisher eventPublisher,
+                                    @Value("${evo.samples.batch-key-retention:P7D}") Duration batchKeyRetention) {
+        this(performanceSampleRepository, eventPublisher, Clock.systemUTC(), batchKeyRetention);
+    }
+
+    public PerformanceSampleService(PerformanceSampleRepository performanceSampleRepository,
+                                    ApplicationEventPublisher eventPublisher, Clock clock,
+                                    Duration batchKeyRetention) {
+        this.performanceSampleRepository = performanceSampleRepository;
+        this.eventPublisher = eventPublisher;
+        this.clock = clock;
+        this.batchKeyRetention = batchKeyRetention;
+    }
+
+    /**
+     * Ingests batches of samples. The batches already ingested (e.g. retried) are skipped.
+     * @param batches the batches, of one BehaviorPerformanceInstance each.
+     * @return the number of ingested samples.
+     * @throws IllegalArgumentException if a batch has no instance id, no samples, not as many times as values, a
+     * value that is not finite or a time later than the next month, or if a BehaviorPerformanceInstance does not exist.
+     */
+    public int ingest(List<PerformanceSampleBatch> batches) {
+        ObjectValidator.validateObject(batches);
+        validateBatches(batches);
+
+        if (batches.isEmpty()) {
+            return 0;
+        }
+
+        // A batch sent twice in the same request is also ingested once.
+        Map<BatchKey, PerformanceSampleBatch> keyed = new LinkedHashMap<>();
+        batches.forEach(batch -> keyed.putIfAbsent(batchKey(batch), batch));
+        Set<BatchKey> claimed = new HashSet<>(performanceSampleRepository.claimBatches(new ArrayList<>(keyed.keySet())));
+        List<SampleChunk> chunks = new ArrayList<>();
+        Map<RollupDelta, RollupDelta> rollups = new TreeMap<>(ROLLUP_ORDER);
+        List<IngestedSamples> ingested = new ArrayList<>();
+        int count = 0;
+
+        if (claimed.size() < keyed.size()) {
+            logger.info("{} performance sample batches already ingested are skipped", keyed.size() - claimed.size());
+        }
+
+        if (claimed.isEmpty()) {
+            return 0;
+        }
+
+        for (Map.Entry<BatchKey, PerformanceSampleBatch> entry : keyed.entrySet()) {
+            if (!claimed.contains(entry.getKey())) {
+                continue;
+            }
+
+            PerformanceSampleBatch batch = entry.getValue();
+            long instanceId = batch.getBehaviorPerformanceInstanceId();
+            long[] times = batch.getTimes().clone();
+            long[] values = new long[times.length];
+
+            for (int i = 0; i < times.length; i++) {
+                values[i] = SampleCodec.toFixed(batch.getValues()[i]);
+            }
+
+            sort(times, values);
+            addChunks(chunks, instanceId, times, values);
+
+            for (RollupGranularity granularity : RollupGranularity.values()) {
+                addRollups(rollups, instanceId, granularity, times, values);
+            }
+
+            ingested.add(new IngestedSamples(instanceId, new SampleCodec.Samples(times, values)));
+            count += times.length;
+        }
+
+        performanceSampleRepository.insertChunks(chunks);
+        performanceSampleRepository.addToRollups(new ArrayList<>(rollups.values()));
+        logger.debug("{} performance samples ingested in {} chunks", count, chunks.size());
+        eventPublisher.publishEvent(new PerformanceSamplesIngestedEvent(this, ingested));
+        return count;
+    }
+
+    /**
+     * Validates batches of samples and checks that their BehaviorPerformanceInstances exist.
+     * @param batches the batches.
+     * @throws IllegalArgumentException if a batch is invalid or a BehaviorPerformanceInstance does not exist.
+     */
+    private void validateBatches(List<PerformanceSampleBatch> batches) {
+        Set<Long> instanceIds = new HashSet<>();
+        // The first month without a partition created ahead, with a month of margin for the month change.
+        long timeLimit = YearMonth.now(clock.withZone(ZoneOffset.UTC)).plusMonths(PARTITIONS_AHEAD).atDay(1)
+                .atStartOfDay().toInstant(ZoneOffset.UTC).toEpochMilli();
+
+        for (PerformanceSampleBatch batch : batches) {
+            validateBatch(batch, timeLimit);
+            instanceIds.add(batch.getBehaviorPerformanceInstanceId());
+        }
+
+        if (!instanceIds.isEmpty()) {
+            Set<Long> missing = new HashSet<>(instanceIds);
+            performanceSampleRepository.findExistingIds(instanceIds).forEach(missing::remove);
+
+            if (!missing.isEmpty()) {
+                throw new IllegalArgumentException("BehaviorPerformanceInstance not found: " + missing);
+            }
+        }
+    }
+
+    /**
+     * Finds the samples of a BehaviorPerformanceInstance in a time range.
+     * @param instanceId the BehaviorPerformanceInstance id.
+     * @param from the start of the range (inclusive), the epoch if null.
+     * @param to the end of the range (exclusive), now if null.
+     * @return the samples, in time order.
+     * @throws IllegalArgumentException if the id is null, the range is empty or has more than {@value MAX_SAMPLES}
+     * samples.
+     */
+    @Transactional(readOnly = true)
+    public List<PerformanceSample> findSamples(Long instanceId, Instant from, Instant to) {
+        ObjectValidator.validateId(instanceId);
+        Instant start = from == null ? Instant.EPOCH : from;
+        Instant end = to == null ? clock.instant() : to;
+        validateRange(start, end);
+        List<PerformanceSample> samples = new ArrayList<>();
+        long startMillis = start.toEpochMilli();
+        long endMillis = end.toEpochMilli();
+
+        for (SampleChunk chunk : performanceSampleRepository.findChunks(instanceId, start, end)) {
+            SampleCodec.Samples decoded = SampleCodec.decode(chunk.data());
+
+            for (int i = 0; i < decoded.size(); i++) {
+                long time = decoded.times()[i];
+
+                if (time >= startMillis && time < endMillis) {
+                    if (samples.size() == MAX_SAMPLES) {
+                        throw new IllegalArgumentException("More than " + MAX_SAMPLES + " samples from " + start +
+                                " to " + end + ", narrow the range or read the rollups");
+                    }
+
+                    samples.add(new PerformanceSample(Instant.ofEpochMilli(time), decoded.value(i)));
+                }
+            }
+        }
+
+        return samples;
+    }
+
+    /**
+     * Finds the hourly or daily rollups of a BehaviorPerformanceInstance in a time range.
+     * @param instanceId the BehaviorPerformanceInstance id.
+     * @param granularity the granularity of the rollups.
+     * @param from the start of the range (inclusive), the epoch if null.
+     * @param to the end of the range (exclusive), now if null.
+     * @return the rollups of the hours or days with samples, in time order.
+     * @throws IllegalArgumentException if the id or the granularity is null, or the range is empty.
+     */
+    @Transactional(readOnly = true)
+    public List<PerformanceRollup> findRollups(Long instanceId, RollupGranularity granularity, Instant from,
+                                               Instant to) {
+        ObjectValidator.validateId(instanceId);
+        ObjectValidator.validateObject(granularity);
+        Instant start = from == null ? Instant.EPOCH : from;
+        Instant end = to == null ? clock.instant() : to;
+        validateRange(start, end);
+        return performanceSampleRepository.findRollups(instanceId, granularity, start, end);
+    }
+
+    /**
+     * Creates the monthly partitions of the samples from the current month to {@value PARTITIONS_AHEAD} months ahead,
+     * at startup and then every day.
+     * @return the number of partitions checked.
+     */
+    @Scheduled(fixedDelayString = "${evo.samples.partition-check-interval:P1D}")
+    public int createPartitions() {
+        YearMonth month = YearMonth.now(clock.withZone(ZoneOffset.UTC));
+
+        for (int i = 0; i <= PARTITIONS_AHEAD; i++) {
+            performanceSampleRepository.createMonthlyPartition(month.plusMonths(i));
+        }
+
+        logger.info("Performance sample partitions checked: {} from {}", PARTITIONS_AHEAD + 1, month);
+        return PARTITIONS_AHEAD + 1;
+    }
+
+    /**
+     * Deletes the keys of the batches ingested more than evo.samples.batch-key-retention ago, every day.
+     * @return the number of deleted keys.
+     */
+    @Scheduled(fixedDelayString = "${evo.samples.partition-check-interval:P1D}")
+    public int deleteExpiredBatchKeys() {
+        int deleted = performanceSampleRepository.deleteBatchKeys(clock.instant().minus(batchKeyRetention));
+        logger.info("Performance sample batch keys deleted: {}", deleted);
+        return deleted;
+    }
+
+    private static void validateBatch(PerformanceSampleBatch batch, long timeLimit) {
+        ObjectValidator.validateObject(batch);
+        ObjectValidator.validateId(batch.getBehaviorPerformanceInstanceId());
+
+        if (batch.getTimes() == null || batch.getValues() == null || batch.getTimes().length == 0 ||
+                batch.getTimes().length != batch.getValues().length) {
+            throw new IllegalArgumentException("A batch needs as many times as values: " +
+                    batch.getBehaviorPerformanceInstanceId());
+        }
+
+        for (double value : batch.getValues()) {
+            if (!Double.isFinite(value)) {
+                throw new IllegalArgumentException("Sample values must be finite: " + value);
+            }
+        }
+
+        for (long time : batch.getTimes()) {
+            if (time >= timeLimit) {
+                throw new IllegalArgumentException("Sample times must be before " + Instant.ofEpochMilli(timeLimit) +
+                        ": " + Instant.ofEpochMilli(time));
+            }
+        }
+    }
+
+    /**
+     * @return the key of a batch: the SHA-256 digest of its samples, in their order.
+     */
+    private static BatchKey batchKey(PerformanceSampleBatch batch) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            ByteBuffer buffer = ByteBuffer.allocate(Long.BYTES + Double.BYTES);
+
+            for (int i = 0; i < batch.getTimes().length; i++) {
+                buffer.clear();
+                buffer.putLong(batch.getTimes()[i]).putDouble(batch.getValues()[i]);
+                digest.update(buffer.array());
+            }
+
+            return new BatchKey(batch.getBehaviorPerformanceInstanceId(), HexFormat.of().formatHex(digest.digest()));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static void validateRange(Instant from, Instant to) {
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("The range is empty: " + from + " to " + to);
+        }
+    }
+
+    /**
+     * Sorts the samples by time (the samples of a wearable usually come sorted, and are then left untouched).
+     */
+    private static void sort(long[] times, long[] values) {
+        for (int i = 1; i < times.length; i++) {
+            if (times[i] < times[i - 1]) {
+                Integer[] order = new Integer[times.length];
+                Arrays.setAll(order, index -> index);
+                Arrays.sort(order, Comparator.comparingLong(index -> times[index]));
+                long[] sortedTimes = new long[times.length];
+                long[] sortedValues = new long[times.length];
+
+                for (int j = 0; j < order.length; j++) {
+                    sortedTimes[j] = times[order[j]];
+                    sortedValues[j] = values[order[j]];
+                }
+
+                System.arraycopy(sortedTimes, 0, times, 0, times.length);
+                System.arraycopy(sortedValues, 0, values, 0, values.length);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Splits sorted samples into chunks of at most {@value CHUNK_SIZE} samples within a month.
+     */
+    private static void addChunks(List<SampleChunk> chunks, long instanceId, long[] times, long[] values) {
+        int from = 0;
+
+        while (from < times.length) {
+            YearMonth month = YearMonth.from(Instant.ofEpochMilli(times[from]).atOffset(ZoneOffset.UTC));
+            long monthEnd = month.plusMonths(1).atDay(1).atStartOfDay().toInstant(ZoneOffset.UTC).toEpochMilli();
+            int to = from + 1;
+
+            while (to < times.length && to - from < CHUNK_SIZE && times[to] < monthEnd) {
+                to++;
+            }
+
+            chunks.add(new SampleChunk(instanceId, Instant.ofEpochMilli(times[from]),
+                    Instant.ofEpochMilli(times[to - 1]), to - from, SampleCodec.encode(times, values, from, to)));
+            from = to;
+        }
+    }
+
+    /**
+     * Aggregates sorted samples by hour or day, merged with the aggregates of the other batches of the instance.
+     */
+    private static void addRollups(Map<RollupDelta, RollupDelta> rollups, long instanceId,
+                                   RollupGranularity granularity, long[] times, long[] values) {
+        int from = 0;
+
+        while (from < times.length) {
+            Instant bucket = granularity.bucketOf(Instant.ofEpochMilli(times[from]));
+            long bucketEnd = (granularity == RollupGranularity.HOUR ? bucket.plusSeconds(3600) :
+                    bucket.plusSeconds(86_400)).toEpochMilli();
+            long sum = 0;
+            long min = Long.MAX_VALUE;
+            long max = Long.MIN_VALUE;
+            int to = from;
+
+            while (to < times.length && times[to] < bucketEnd) {
+                sum += values[to];
+                min = Math.min(min, values[to]);
+                max = Math.max(max, values[to]);
+                to++;
+            }
+
+            RollupDelta delta = new RollupDelta(instanceId, granularity, bucket, to - from,
+                    SampleCodec.toValue(sum), SampleCodec.toValue(min), SampleCodec.toValue(max));
+            rollups.merge(delta, delta, (previous, added) -> new RollupDelta(instanceId, granularity, bucket,
+                    previous.count() + added.count(), previous.sum() + added.sum(),
+                    Math.min(previous.min(), added.min()), Math.max(previous.max(), added.max())));
+            from = to;
+        }
+    }
+}
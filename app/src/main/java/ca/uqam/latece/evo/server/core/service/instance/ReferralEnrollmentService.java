@@ -0,0 +1,295 @@
+package ca.uqam.latece.evo.server.core.service.instance;
+
+import ca.uqam.latece.evo.server.core.enumeration.ExecutionStatus;
+import ca.uqam.latece.evo.server.core.repository.instance.ReferralEnrollmentRepository;
+import ca.uqam.latece.evo.server.core.repository.instance.ReferralPipelineRepository;
+import ca.uqam.latece.evo.server.core.response.ReferralPipelineReport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Referral Enrollment Service: enrolls a batch of new BCIReferral entities, in a single transaction.
+ * <p>
+ * The batch is claimed (see {@link ReferralPipelineRepository#claimNewReferrals(int)}), the recipes of its
+ * interventions are read with a single query, then an intervention instance tree (the intervention instance, its
+ * phase instances and their block instances) is built for each referral and inserted with JDBC batches. The status of
+ * the referrals is the checkpoint of the pipeline: the trees and the statuses of a batch are committed together, and
+ * a rolled back batch leaves its referrals new.
+ * @version 1.0
+ * @author Edilton Lima dos Santos.
+ */
+@Service
+@Transactional
+public class ReferralEnrollmentService {
+    private static final Logger logger = LoggerFactory.getLogger(ReferralEnrollmentService.class);
+
+    /**
+     * The size of the bci_referral_failure column.
+     */
+    private static final int MAX_FAILURE_LENGTH = 256;
+
+    @Autowired
+    private ReferralPipelineRepository referralPipelineRepository;
+
+    /**
+     * Enrolls a batch of new referrals: the patient of each referral is enrolled in a new instance of its intervention,
+     * linked to the referral. The referrals already linked to intervention instances are only marked as enrolled, and
+     * those whose intervention cannot be resolved or instantiated are marked as failed.
+     * @param batchSize the maximum number of referrals.
+     * @return the report of the batch.
+     * @throws IllegalArgumentException if the batch size is not positive.
+     */
+    @CacheEvict(cacheNames = PatientDashboardService.DASHBOARD_CACHE, allEntries = true)
+    public ReferralPipelineReport enrollBatch(int batchSize) {
+        validateBatchSize(batchSize);
+        return enroll(referralPipelineRepository.claimNewReferrals(batchSize));
+    }
+
+    /**
+     * Enrolls a single new referral, e.g. to isolate the referral that makes its batch fail.
+     * @param referralId the BCIReferral id.
+     * @return the report, empty if the referral is no longer new or is claimed by another worker.
+     */
+    @CacheEvict(cacheNames = PatientDashboardService.DASHBOARD_CACHE, allEntries = true)
+    public ReferralPipelineReport enrollReferral(long referralId) {
+        return enroll(referralPipelineRepository.claimNewReferral(referralId));
+    }
+
+    /**
+     * Marks a new referral as failed, e.g. when its enrollment throws an error, so that it does not block the next
+     * runs.
+     * @param referralId the BCIReferral id.
+     * @param reason the reason of the failure, truncated to the size of the column.
+     * @return the report, empty if the referral is no longer new or is claimed by another worker.
+     */
+    public ReferralPipelineReport failReferral(long referralId, String reason) {
+        if (referralPipelineRepository.claimNewReferral(referralId).isEmpty()) {
+            return new ReferralPipelineReport();
+        }
+
+        String failure = reason == null ? "Enrollment error" : reason;
+        referralPipelineRepository.markFailed(List.of(new ReferralEnrollmentRepository.Failure(referralId,
+                failure.length() > MAX_FAILURE_LENGTH ? failure.substring(0, MAX_FAILURE_LENGTH) : failure)));
+        return new ReferralPipelineReport(1, 0, 0, 1);
+    }
+
+    /**
+     * Finds the ids of the first new referrals, without claiming them.
+     * @param limit the maximum number of referrals.
+     * @return the ids, in order.
+     * @throws IllegalArgumentException if the limit is not positive.
+     */
+    @Transactional(readOnly = true)
+    public List<Long> findNewReferralIds(int limit) {
+        validateBatchSize(limit);
+        return referralPipelineRepository.findNewReferralIds(limit);
+    }
+
+    private static void validateBatchSize(int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("The batch size must be positive: " + batchSize);
+        }
+    }
+
+    /**
+     * Enrolls claimed referrals.
+     */
+    private ReferralPipelineReport enroll(List<ReferralPipelineRepository.PendingReferral> referrals) {
+        if (referrals.isEmpty()) {
+            return new ReferralPipelineReport();
+        }
+
+        List<Long> linked = new ArrayList<>();
+        List<ReferralEnrollmentRepository.Failure> failures = new ArrayList<>();
+        List<ReferralPipelineRepository.PendingReferral> pending = new ArrayList<>();
+        Set<Long> interventionIds = new HashSet<>();
+
+        for (ReferralPipelineRepository.PendingReferral referral : referrals) {
+            if (Boolean.TRUE.equals(referral.getLinked())) {
+                linked.add(referral.getReferralId());
+            } else if (referral.getInterventionId() == null) {
+                failures.add(new ReferralEnrollmentRepository.Failure(referral.getReferralId(),
+                        "No intervention found for the referral"));
+            } else {
+                pending.add(referral);
+                interventionIds.add(referral.getInterventionId());
+            }
+        }
+
+        Map<Long, Map<Long, List<Long>>> recipes = interventionIds.isEmpty() ? Map.of() :
+                loadRecipes(interventionIds);
+        List<ReferralPipelineRepository.PendingReferral> enrollable = new ArrayList<>(pending.size());
+        int instanceCount = 0;
+
+        for (ReferralPipelineRepository.PendingReferral referral : pending) {
+            String reason = validateRecipe(referral.getInterventionId(), recipes.get(referral.getInterventionId()));
+
+            if (reason != null) {
+                failures.add(new ReferralEnrollmentRepository.Failure(referral.getReferralId(), reason));
+            } else {
+                enrollable.add(referral);
+                instanceCount += countInstances(recipes.get(referral.getInterventionId()));
+            }
+        }
+
+        List<Long> enrolled = insertTrees(enrollable, recipes, instanceCount);
+        List<Long> marked = new ArrayList<>(enrolled.size() + linked.size());
+        marked.addAll(enrolled);
+        marked.addAll(linked);
+
+        if (!marked.isEmpty()) {
+            referralPipelineRepository.markEnrolled(marked);
+        }
+
+        if (!failures.isEmpty()) {
+            referralPipelineRepository.markFailed(failures);
+        }
+
+        logger.info("Referral batch: {} claimed, {} enrolled, {} already linked, {} failed", referrals.size(),
+                enrolled.size(), linked.size(), failures.size());
+        return new ReferralPipelineReport(referrals.size(), enrolled.size(), linked.size(), failures.size());
+    }
+
+    /**
+     * Inserts the instance trees of the referrals whose recipe is valid.
+     * @param enrollable the referrals to enroll.
+     * @param recipes the recipes of their interventions, by intervention id.
+     * @param instanceCount the number of instances of the trees.
+     * @return the ids of the enrolled referrals.
+     */
+    private List<Long> insertTrees(List<ReferralPipelineRepository.PendingReferral> enrollable,
+                                   Map<Long, Map<Long, List<Long>>> recipes, int instanceCount) {
+        List<Long> enrolled = new ArrayList<>(enrollable.size());
+
+        if (!enrollable.isEmpty()) {
+            Iterator<Long> ids = referralPipelineRepository.reserveActivityInstanceIds(instanceCount).iterator();
+            ReferralEnrollmentRepository.Trees trees = new ReferralEnrollmentRepository.Trees();
+            LocalDate today = LocalDate.now();
+
+            for (ReferralPipelineRepository.PendingReferral referral : enrollable) {
+                addTree(trees, ids, referral, recipes.get(referral.getInterventionId()), today);
+                enrolled.add(referral.getReferralId());
+            }
+
+            referralPipelineRepository.insertTrees(trees);
+        }
+
+        return enrolled;
+    }
+
+    /**
+     * Loads intervention recipes.
+     * @param interventionIds the BehaviorChangeIntervention ids.
+     * @return for each intervention, its phases in order, each with its blocks in order.
+     */
+    private Map<Long, Map<Long, List<Long>>> loadRecipes(Set<Long> interventionIds) {
+        Map<Long, Map<Long, List<Long>>> recipes = new LinkedHashMap<>();
+
+        for (ReferralPipelineRepository.RecipeBlock block : referralPipelineRepository.findRecipeBlocks(interventionIds)) {
+            List<Long> blocks = recipes.computeIfAbsent(block.getInterventionId(), id -> new LinkedHashMap<>())
+                    .computeIfAbsent(block.getPhaseId(), id -> new ArrayList<>());
+
+            if (block.getBlockId() != null) {
+                blocks.add(block.getBlockId());
+            }
+        }
+
+        return recipes;
+    }
+
+    /**
+     * Checks that an intervention can be instantiated: it has phases, and each of its phases has blocks.
+     * @return the reason why it cannot be instantiated, or null if it can.
+     */
+    private static String validateRecipe(Long interventionId, Map<Long, List<Long>> phases) {
+        if (phases == null || phases.isEmpty()) {
+            return "The intervention " + interventionId + " has no phase";
+        }
+
+        for (Map.Entry<Long, List<Long>> phase : phases.entrySet()) {
+            if (phase.getValue().isEmpty()) {
+                return "The phase " + phase.getKey() + " of the intervention " + interventionId + " has no block";
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * @return the number of activity instances of a tree: the intervention instance, its phase instances and their
+     * block instances.
+     */
+    private static int countInstances(Map<Long, List<Long>> phases) {
+        int count = 1 + phases.size();
+
+        for (List<Long> blocks : phases.values()) {
+            count += blocks.size();
+        }
+
+        return count;
+    }
+
+    /**
+     * Adds the rows of the intervention instance tree of a referral. The intervention instance, its first phase
+     * instance and the first block instance of that phase are in progress from today; the others are ready.
+     */
+    private static void addTree(ReferralEnrollmentRepository.Trees trees, Iterator<Long> ids,
+                                ReferralPipelineRepository.PendingReferral referral, Map<Long, List<Long>> phases,
+                                LocalDate today) {
+        long interventionInstanceId = ids.next();
+        long firstPhaseInstanceId = 0;
+        boolean firstPhase = true;
+        trees.getActivities().add(new ReferralEnrollmentRepository.ActivityRow(interventionInstanceId,
+                "INTERVENTION", ExecutionStatus.IN_PROGRESS, today));
+
+        for (Map.Entry<Long, List<Long>> phase : phases.entrySet()) {
+            long phaseInstanceId = ids.next();
+            long firstBlockInstanceId = 0;
+            boolean firstBlock = true;
+            trees.getActivities().add(new ReferralEnrollmentRepository.ActivityRow(phaseInstanceId, "PHASE",
+                    firstPhase ? ExecutionStatus.IN_PROGRESS : ExecutionStatus.READY, firstPhase ? today : null));
+
+            for (Long blockId : phase.getValue()) {
+                long blockInstanceId = ids.next();
+                boolean active = firstPhase && firstBlock;
+                trees.getActivities().add(new ReferralEnrollmentRepository.ActivityRow(blockInstanceId, "BLOCK",
+                        active ? ExecutionStatus.IN_PROGRESS : ExecutionStatus.READY, active ? today : null));
+                trees.getBlocks().add(new ReferralEnrollmentRepository.BlockRow(blockInstanceId, blockId));
+                trees.getPhaseBlocks().add(new ReferralEnrollmentRepository.Link(phaseInstanceId, blockInstanceId));
+
+                if (firstBlock) {
+                    firstBlockInstanceId = blockInstanceId;
+                    firstBlock = false;
+                }
+            }
+
+            trees.getPhases().add(new ReferralEnrollmentRepository.PhaseRow(phaseInstanceId, firstBlockInstanceId,
+                    phase.getKey()));
+            trees.getInterventionPhases().add(new ReferralEnrollmentRepository.Link(interventionInstanceId,
+                    phaseInstanceId));
+
+            if (firstPhase) {
+                firstPhaseInstanceId = phaseInstanceId;
+                firstPhase = false;
+            }
+        }
+
+        trees.getInterventions().add(new ReferralEnrollmentRepository.InterventionRow(interventionInstanceId,
+                referral.getPatientId(), firstPhaseInstanceId, referral.getInterventionId()));
+        trees.getReferralInterventions().add(new ReferralEnrollmentRepository.Link(referral.getReferralId(),
+                interventionInstanceId));
+    }
+}
@@ -0,0 +1,164 @@
+package ca.uqam.latece.evo.server.core.service.instance;
+
+import ca.uqam.latece.evo.server.core.response.ReferralPipelineReport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Referral Pipeline Service: enrolls all the new BCIReferral entities, batch by batch, with concurrent workers.
+ * <p>
+ * Each worker enrolls batches (see {@link ReferralEnrollmentService#enrollBatch(int)}) until there are no more new
+ * referrals. The workers claim distinct batches, and each batch is committed on its own: an interrupted run is resumed
+ * by the next one, from the referrals that are still new. When a batch fails, its worker enrolls the first new
+ * referrals one by one, and marks those that still fail as failed, so that a single bad referral does not block the
+ * pipeline.
+ * @version 1.0
+ * @author Edilton Lima dos Santos.
+ */
+@Service
+public class ReferralPipelineService {
+    private static final Logger logger = LoggerFactory.getLogger(ReferralPipelineService.class);
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    @Autowired
+    private ReferralEnrollmentService referralEnrollmentService;
+
+    @Value("${evo.referral.pipeline.workers:4}")
+    private int workers = 4;
+
+    @Value("${evo.referral.pipeline.batch-size:500}")
+    private int batchSize = 500;
+
+    /**
+     * Enrolls all the new referrals.
+     * @return the report of the run.
+     * @throws IllegalStateException if the pipeline is already running.
+     */
+    public ReferralPipelineReport run() {
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("The referral enrollment pipeline is already running");
+        }
+
+        long start = System.nanoTime();
+        ReferralPipelineReport report = new ReferralPipelineReport();
+        ExecutorService executor = Executors.newFixedThreadPool(workers);
+
+        try {
+            List<Future<?>> futures = new ArrayList<>(workers);
+
+            for (int i = 0; i < workers; i++) {
+                futures.add(executor.submit(() -> work(report)));
+            }
+
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            logger.error("Referral enrollment worker failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+            running.set(false);
+        }
+
+        report.setElapsedMs((System.nanoTime() - start) / 1_000_000);
+        logger.info("Referral enrollment pipeline: {} claimed, {} enrolled, {} already linked, {} failed, " +
+                "{} batches, {} errors in {} ms", report.getClaimed(), report.getEnrolled(), report.getLinked(),
+                report.getFailed(), report.getBatches(), report.getErrors(), report.getElapsedMs());
+        return report;
+    }
+
+    /**
+     * Runs the pipeline on the schedule of the evo.referral.pipeline.cron property (disabled by default).
+     */
+    @Scheduled(cron = "${evo.referral.pipeline.cron:-}")
+    public void runScheduled() {
+        try {
+            run();
+        } catch (IllegalStateException e) {
+            logger.info("Referral enrollment pipeline already running, scheduled run skipped");
+        }
+    }
+
+    /**
+     * Enrolls batches until one claims less referrals than the batch size. A batch that fails is rolled back, and its
+     * worker isolates the failing referrals before going on; it stops when it cannot isolate any, so that a persistent
+     * error (e.g. the database is down) does not loop.
+     */
+    private void work(ReferralPipelineReport report) {
+        while (!Thread.currentThread().isInterrupted()) {
+            ReferralPipelineReport batch;
+
+            try {
+                batch = referralEnrollmentService.enrollBatch(batchSize);
+            } catch (RuntimeException e) {
+                logger.error("Referral enrollment batch rolled back", e);
+                report.addError();
+
+                if (!isolate(report)) {
+                    return;
+                }
+
+                continue;
+            }
+
+            if (batch.getClaimed() > 0) {
+                report.add(batch);
+            }
+
+            if (batch.getClaimed() < batchSize) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Enrolls the first new referrals one by one, and marks those that fail as failed.
+     * @return true if at least one referral was enrolled or marked as failed.
+     */
+    private boolean isolate(ReferralPipelineReport report) {
+        boolean handled = false;
+
+        try {
+            for (Long referralId : referralEnrollmentService.findNewReferralIds(batchSize)) {
+                if (Thread.currentThread().isInterrupted()) {
+                    return false;
+                }
+
+                ReferralPipelineReport single;
+
+                try {
+                    single = referralEnrollmentService.enrollReferral(referralId);
+                } catch (RuntimeException e) {
+                    logger.warn("Referral {} could not be enrolled, marked as failed", referralId, e);
+                    single = referralEnrollmentService.failReferral(referralId, e.getMessage());
+                }
+
+                if (single.getClaimed() > 0) {
+                    report.add(single);
+                    handled = true;
+                }
+            }
+        } catch (RuntimeException e) {
+            logger.error("Referral enrollment isolation rolled back", e);
+            report.addError();
+            return false;
+        }
+
+        return handled;
+    }
+}
@@ -0,0 +1,137 @@
+package ca.uqam.latece.evo.server.core.service.instance;
+
+import ca.uqam.latece.evo.server.core.response.ReportingReminderReport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.IntFunction;
+import java.util.function.ToIntFunction;
+
+/**
+ * Reporting Reminder Scheduler: schedules the reports of the new Reporting activity instances, then fires the due
+ * reminders with a bounded number of concurrent workers.
+ * <p>
+ * The instances without reminder are scanned batch by batch from the cursor (see
+ * {@link ReportingReminderService#enrollBatch(int)}). The workers then claim distinct batches of due reminders until
+ * there are no more (see {@link ReportingReminderService#fireBatch(int)}); each batch is committed on its own, and a
+ * rolled back batch leaves its reminders due for the next run.
+ * @version 1.0
+ * @author Edilton Lima dos Santos.
+ */
+@Service
+public class ReportingReminderScheduler {
+    private static final Logger logger = LoggerFactory.getLogger(ReportingReminderScheduler.class);
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    @Autowired
+    private ReportingReminderService reportingReminderService;
+
+    @Value("${evo.reminders.workers:4}")
+    private int workers = 4;
+
+    @Value("${evo.reminders.batch-size:500}")
+    private int batchSize = 500;
+
+    /**
+     * Schedules the new Reporting activity instances and fires the due reminders.
+     * @return the report of the run.
+     * @throws IllegalStateException if the scheduler is already running.
+     */
+    public ReportingReminderReport run() {
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("The reporting reminder scheduler is already running");
+        }
+
+        long start = System.nanoTime();
+        ReportingReminderReport report = new ReportingReminderReport();
+        ExecutorService executor = Executors.newFixedThreadPool(workers);
+
+        try {
+            // A single scan: the batches follow the cursor.
+            work(report, reportingReminderService::enrollBatch, ReportingReminderReport::getScanned);
+            List<Future<?>> futures = new ArrayList<>(workers);
+
+            for (int i = 0; i < workers; i++) {
+                futures.add(executor.submit(() -> work(report, reportingReminderService::fireBatch,
+                        ReportingReminderReport::getClaimed)));
+            }
+
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            logger.error("Reporting reminder worker failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+            running.set(false);
+        }
+
+        report.setElapsedMs((System.nanoTime() - start) / 1_000_000);
+        logger.info("Reporting reminders: {} instances scanned, {} scheduled, {} fired, {} removed, {} batches, " +
+                "{} errors in {} ms", report.getScanned(), report.getScheduled(), report.getFired(),
+                report.getRemoved(), report.getBatches(), report.getErrors(), report.getElapsedMs());
+        return report;
+    }
+
+    /**
+     * Runs the scheduler every evo.reminders.poll-interval (1 minute by default).
+     */
+    @Scheduled(fixedDelayString = "${evo.reminders.poll-interval:PT1M}")
+    public void runScheduled() {
+        try {
+            run();
+        } catch (IllegalStateException e) {
+            logger.info("Reporting reminder scheduler already running, scheduled run skipped");
+        }
+    }
+
+    /**
+     * Restarts the scan of the Reporting activity instances on the schedule of the evo.reminders.rescan-cron property
+     * (every hour by default), for the instances committed behind the cursor.
+     */
+    @Scheduled(cron = "${evo.reminders.rescan-cron:0 0 * * * *}")
+    public void rescanScheduled() {
+        reportingReminderService.rescan();
+    }
+
+    /**
+     * Runs batches until one handles less items than the batch size. A batch that fails is rolled back and stops the
+     * worker, so that a persistent error does not loop.
+     */
+    private void work(ReportingReminderReport report, IntFunction<ReportingReminderReport> batchRunner,
+                      ToIntFunction<ReportingReminderReport> handled) {
+        ReportingReminderReport batch;
+
+        do {
+            if (Thread.currentThread().isInterrupted()) {
+                return;
+            }
+
+            try {
+                batch = batchRunner.apply(batchSize);
+            } catch (RuntimeException e) {
+                logger.error("Reporting reminder batch rolled back", e);
+                report.addError();
+                return;
+            }
+
+            if (batch.getBatches() > 0) {
+                report.add(batch);
+            }
+        } while (handled.applyAsInt(batch) == batchSize);
+    }
+}
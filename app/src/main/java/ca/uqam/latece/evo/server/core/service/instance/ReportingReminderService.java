@@ -0,0 +1,204 @@
+package ca.uqam.latece.evo.server.core.service.instance;
+
+import ca.uqam.latece.evo.server.core.enumeration.ExecutionStatus;
+import ca.uqam.latece.evo.server.core.event.ReportingReminderEvent;
+import ca.uqam.latece.evo.server.core.repository.instance.ReportingReminderRepository;
+import ca.uqam.latece.evo.server.core.repository.instance.ReportingReminderStore.Claimed;
+import ca.uqam.latece.evo.server.core.repository.instance.ReportingReminderStore.Reminder;
+import ca.uqam.latece.evo.server.core.repository.instance.ReportingReminderStore.ReportingInstance;
+import ca.uqam.latece.evo.server.core.response.ReportingReminderReport;
+import ca.uqam.latece.evo.server.core.util.ObjectValidator;
+import ca.uqam.latece.evo.server.core.util.ReportingFrequency;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Reporting Reminder Service: schedules the reports of the Reporting activity instances, a batch in a single
+ * transaction.
+ * <p>
+ * The next due time of each instance is kept in the reporting_reminder table, indexed by due time. The instances
+ * without reminder are scanned from a persisted cursor on their ids, so a restart resumes the scan where it stopped,
+ * and each instance is scanned once: the instances without report to schedule (a frequency that is not a schedule, or
+ * all the reports done) keep a reminder without due time. The cursor goes back to the first instance only on
+ * {@link #rescan()}, for the instances committed behind the cursor, after instances of greater ids. The due reminders
+ * are claimed by batches, fired to the instances in progress with a {@link ReportingReminderEvent}, and moved to their
+ * next due time (see {@link ReportingFrequency}); the reports that were missed while the server was down are fired
+ * once.
+ * @version 1.0
+ * @author Edilton Lima dos Santos.
+ */
+@Service
+@Transactional
+public class ReportingReminderService {
+    private static final Logger logger = LoggerFactory.getLogger(ReportingReminderService.class);
+
+    /**
+     * The name of the cursor of the scan of the new Reporting activity instances.
+     */
+    static final String ENROLLMENT_CURSOR = "reporting-reminder-enrollment";
+
+    private final ReportingReminderRepository reportingReminderRepository;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final Clock clock;
+
+    @Autowired
+    public ReportingReminderService(ReportingReminderRepository reportingReminderRepository,
+                                    ApplicationEventPublisher eventPublisher) {
+        this(reportingReminderRepository, eventPublisher, Clock.systemUTC());
+    }
+
+    public ReportingReminderService(ReportingReminderRepository reportingReminderRepository,
+                                    ApplicationEventPublisher eventPublisher, Clock clock) {
+        this.reportingReminderRepository = reportingReminderRepository;
+        this.eventPublisher = eventPublisher;
+        this.clock = clock;
+    }
+
+    /**
+     * Schedules the reports of a batch of Reporting activity instances without reminder after the cursor, and moves
+     * the cursor to the last one. The instances without report to schedule are given a reminder without due time, so
+     * they are not scanned again.
+     * @param batchSize the maximum number of instances.
+     * @return the report of the batch.
+     * @throws IllegalArgumentException if the batch size is not positive.
+     */
+    public ReportingReminderReport enrollBatch(int batchSize) {
+        validateBatchSize(batchSize);
+        long cursor = reportingReminderRepository.lockCursor(ENROLLMENT_CURSOR);
+        List<ReportingInstance> instances = reportingReminderRepository.findReportingInstances(cursor, batchSize);
+
+        if (instances.isEmpty()) {
+            return new ReportingReminderReport();
+        }
+
+        Instant now = clock.instant();
+        Map<String, Optional<ReportingFrequency>> frequencies = new HashMap<>();
+        List<Reminder> reminders = new ArrayList<>();
+        int scheduled = 0;
+
+        for (ReportingInstance instance : instances) {
+            Optional<ReportingFrequency> frequency = frequencyOf(frequencies, instance);
+            Instant dueAt = frequency.map(schedule -> schedule.next(now, anchorOf(instance, now))).orElse(null);
+            reminders.add(new Reminder(instance.instanceId(), dueAt));
+            scheduled += dueAt != null ? 1 : 0;
+        }
+
+        reportingReminderRepository.insertReminders(reminders);
+        reportingReminderRepository.saveCursor(ENROLLMENT_CURSOR, instances.get(instances.size() - 1).instanceId());
+        return new ReportingReminderReport(instances.size(), scheduled, 0, 0, 0);
+    }
+
+    /**
+     * Fires a batch of due reminders: the instances in progress are reminded, those that are ready, suspended or
+     * stalled are not, the reminders of the finished instances are removed, and those of the instances whose reports
+     * are all done are kept without due time.
+     * @param batchSize the maximum number of reminders.
+     * @return the report of the batch.
+     * @throws IllegalArgumentException if the batch size is not positive.
+     */
+    public ReportingReminderReport fireBatch(int batchSize) {
+        validateBatchSize(batchSize);
+        Instant now = clock.instant();
+        List<Claimed> claimed = reportingReminderRepository.claimDueReminders(now, batchSize);
+
+        if (claimed.isEmpty()) {
+            return new ReportingReminderReport();
+        }
+
+        Map<String, Optional<ReportingFrequency>> frequencies = new HashMap<>();
+        List<Reminder> rescheduled = new ArrayList<>();
+        List<Long> removed = new ArrayList<>();
+        List<ReportingReminderEvent> events = new ArrayList<>();
+
+        for (Claimed due : claimed) {
+            ReportingInstance instance = due.instance();
+            Optional<ReportingFrequency> frequency = frequencyOf(frequencies, instance);
+            Instant next = null;
+
+            if (instance.status() != ExecutionStatus.FINISHED && frequency.isPresent()) {
+                if (instance.status() == ExecutionStatus.IN_PROGRESS) {
+                    events.add(new ReportingReminderEvent(this, instance.instanceId(), due.reminder().dueAt()));
+                }
+
+                next = frequency.get().next(now, anchorOf(instance, now));
+            }
+
+            if (instance.status() != ExecutionStatus.FINISHED) {
+                rescheduled.add(new Reminder(instance.instanceId(), next));
+            } else {
+                removed.add(instance.instanceId());
+            }
+        }
+
+        reportingReminderRepository.rescheduleReminders(rescheduled);
+        reportingReminderRepository.deleteReminders(removed);
+        events.forEach(eventPublisher::publishEvent);
+        logger.debug("{} reporting reminders fired, {} removed", events.size(), removed.size());
+        return new ReportingReminderReport(0, 0, claimed.size(), events.size(), removed.size());
+    }
+
+    /**
+     * Moves the cursor back to the first Reporting activity instance, so that the next run scans them from the start
+     * without waiting for the current scan to reach the end.
+     */
+    public void rescan() {
+        reportingReminderRepository.lockCursor(ENROLLMENT_CURSOR);
+        reportingReminderRepository.saveCursor(ENROLLMENT_CURSOR, 0);
+        logger.info("Reporting reminder scan restarted");
+    }
+
+    /**
+     * Finds the next reminder of a Reporting activity instance.
+     * @param instanceId the BCIActivityInstance id.
+     * @return the reminder, or empty if no report is due.
+     * @throws IllegalArgumentException if the id is null.
+     */
+    @Transactional(readOnly = true)
+    public Optional<Reminder> findReminder(Long instanceId) {
+        ObjectValidator.validateId(instanceId);
+        return reportingReminderRepository.findReminder(instanceId);
+    }
+
+    private static void validateBatchSize(int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("The batch size must be positive: " + batchSize);
+        }
+    }
+
+    /**
+     * Parses the frequency of an instance once per batch, as most instances share a few frequencies.
+     */
+    private static Optional<ReportingFrequency> frequencyOf(Map<String, Optional<ReportingFrequency>> frequencies,
+                                                            ReportingInstance instance) {
+        return frequencies.computeIfAbsent(instance.frequency(), text -> {
+            try {
+                return Optional.of(ReportingFrequency.parse(text));
+            } catch (IllegalArgumentException e) {
+                logger.debug("Reporting frequency not scheduled: {}", text);
+                return Optional.empty();
+            }
+        });
+    }
+
+    /**
+     * The reports are due from the entry date of the instance, or from now if it has not started.
+     */
+    private static Instant anchorOf(ReportingInstance instance, Instant now) {
+        return instance.entryDate() == null ? now : instance.entryDate().atStartOfDay().toInstant(ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,82 @@
+package ca.uqam.latece.evo.server.core.util;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * An immutable consistent hash ring that maps keys (e.g. the ids of the intervention instances) to nodes.
+ * <p>
+ * Each node is placed at several points of the ring (its virtual nodes), and a key belongs to the first node met
+ * clockwise from the hash of the key. When a node joins or leaves the ring, only the keys between its points and the
+ * previous points move, about 1/n of the keys, and the others keep their owner. The hashes are the first 8 bytes of the
+ * MD5 digest, so every node builds the same ring from the same members.
+ * @version 1.0
+ * @author Edilton Lima dos Santos.
+ */
+public final class ConsistentHashRing {
+
+    private final NavigableMap<Long, String> points = new TreeMap<>();
+
+    private final Set<String> nodes;
+
+    /**
+     * @param nodes the ids of the nodes.
+     * @param virtualNodes the number of points of each node on the ring.
+     * @throws IllegalArgumentException if the nodes are null or the number of virtual nodes is not positive.
+     */
+    public ConsistentHashRing(Collection<String> nodes, int virtualNodes) {
+        if (nodes == null || virtualNodes < 1) {
+            throw new IllegalArgumentException("The nodes and a positive number of virtual nodes are required");
+        }
+
+        // Sorted, so a collision between two points resolves the same way on every node.
+        this.nodes = Set.copyOf(new TreeSet<>(nodes));
+
+        for (String node : new TreeSet<>(nodes)) {
+            for (int i = 0; i < virtualNodes; i++) {
+                points.putIfAbsent(hash(node + "#" + i), node);
+            }
+        }
+    }
+
+    /**
+     * @param key the key, e.g. the id of a root intervention instance.
+     * @return the id of the node that owns the key, or null if the ring is empty.
+     */
+    public String ownerOf(long key) {
+        if (points.isEmpty()) {
+            return null;
+        }
+
+        Map.Entry<Long, String> point = points.ceilingEntry(hash(Long.toString(key)));
+        return (point != null ? point : points.firstEntry()).getValue();
+    }
+
+    /**
+     * @return the ids of the nodes of the ring.
+     */
+    public Set<String> getNodes() {
+        return nodes;
+    }
+
+    public boolean isEmpty() {
+        return nodes.isEmpty();
+    }
+
+    private static long hash(String value) {
+        try {
+            byte[] digest = MessageDigest.getInstance("MD5").digest(value.getBytes(StandardCharsets.UTF_8));
+            return ByteBuffer.wrap(digest).getLong();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("MD5 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package ca.uqam.latece.evo.server.core.util;
+
+import ca.uqam.latece.evo.server.core.interfaces.StorageService;
+import ca.uqam.latece.evo.server.core.service.BlobStorageService;
+import org.springframework.core.io.Resource;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.nio.file.Path;
+
+/**
+ * StorageService of the files of an entity (e.g. the Content with ID=1) backed by the content-addressed
+ * BlobStorageService. It is the deduplicating counterpart of LocalStorage: files are identified by the same location
+ * and id, but identical files are stored once in the blob store.
+ * @version 1.0
+ * @author Edilton Lima dos Santos.
+ */
+public class ContentAddressedStorage implements StorageService {
+    private final BlobStorageService blobStorageService;
+
+    private final String location;
+
+    private final String id;
+
+    public ContentAddressedStorage(BlobStorageService blobStorageService, String location, String id) {
+        this.blobStorageService = blobStorageService;
+        this.location = location;
+        this.id = id;
+    }
+
+    public String getLocation() {
+        return location;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    @Override
+    public String store(MultipartFile file) {
+        return this.blobStorageService.store(this.location, this.id, file);
+    }
+
+    @Override
+    public String store(String filename, Path stagedFile, String sha256) {
+        return this.blobStorageService.store(this.location, this.id, filename, stagedFile, sha256);
+    }
+
+    @Override
+    public void delete(String filename) {
+        this.blobStorageService.delete(this.location, this.id, filename);
+    }
+
+    @Override
+    public void deleteAll() {
+        this.blobStorageService.deleteAll(this.location, this.id);
+    }
+
+    @Override
+    public Path load(String fileName) {
+        return this.blobStorageService.load(this.location, this.id, fileName);
+    }
+
+    @Override
+    public Resource loadAsResource(String filename) {
+        return this.blobStorageService.loadAsResource(this.location, this.id, filename);
+    }
+}
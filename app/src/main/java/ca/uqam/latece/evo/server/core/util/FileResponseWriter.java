@@ -0,0 +1,230 @@
+package ca.uqam.latece.evo.server.core.util;
+
+import ca.uqam.latece.evo.server.core.exceptions.StorageException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRange;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Writes stored files (e.g. the files of a Content) to HTTP responses, with the support of:
+ * - Conditional GET: a strong ETag derived from the SHA-256 of the file content and the Last-Modified date are sent
+ * with each response, and requests with a matching If-None-Match (or If-Modified-Since) receive a 304 Not Modified.
+ * - Byte ranges: a request with a single Range receives a 206 Partial Content with this part of the file, so the
+ * clients can resume downloads and seek in videos. If-Range is honored. Requests with several ranges receive the whole
+ * file, and unsatisfiable ranges receive a 416.
+ * - Zero-copy transfer: when the servlet container supports it (Tomcat sendfile), large files are sent by the
+ * container directly from the file to the socket. Otherwise the file is written with FileChannel.transferTo.
+ * <p>
+ * The ETag of a file is computed once and kept in memory until its size or modification date changes. The ETags are
+ * kept in a cache bounded to the most recently used files, so serving many distinct files does not grow the heap.
+ *
+ * @version 1.0
+ * @author Edilton Lima dos Santos.
+ */
+@Component
+public class FileResponseWriter {
+    private static final Logger logger = LoggerFactory.getLogger(FileResponseWriter.class);
+
+    // Request attributes of the Tomcat sendfile support.
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    // Smaller files are copied through the response buffer, like the Tomcat DefaultServlet does.
+    private static final long SENDFILE_MIN_SIZE = 48 * 1024;
+
+    private static final int DIGEST_BUFFER_SIZE = 64 * 1024;
+
+    private static final int ETAG_CACHE_SIZE = 10_000;
+
+    private final Cache<Path, FileETag> etags = Caffeine.newBuilder().maximumSize(ETAG_CACHE_SIZE).build();
+
+    /**
+     * Writes a file to the response, handling the conditional and range requests.
+     * @param request the HTTP request.
+     * @param response the HTTP response.
+     * @param file the file to write, must exist.
+     * @param filename the name of the file sent to the client in the Content-Disposition header.
+     * @throws IOException if the file can not be read or the response can not be written.
+     */
+    public void write(HttpServletRequest request, HttpServletResponse response, Path file, String filename)
+            throws IOException {
+        BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+        long length = attributes.size();
+        long lastModified = attributes.lastModifiedTime().toMillis();
+        String etag = getETag(file, length, lastModified);
+
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noCache().cachePrivate().getHeaderValue());
+
+        // Sets the ETag and Last-Modified headers and answers 304 (or 412 for If-Match) when the client is up to date.
+        if (new ServletWebRequest(request, response).checkNotModified(etag, lastModified)) {
+            return;
+        }
+
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build()
+                .toString());
+        response.setContentType(MediaTypeFactory.getMediaType(filename).orElse(MediaType.APPLICATION_OCTET_STREAM)
+                .toString());
+
+        long start = 0;
+        long count = length;
+        HttpRange range = getRange(request, etag, lastModified);
+
+        if (range != null) {
+            try {
+                start = range.getRangeStart(length);
+                count = range.getRangeEnd(length) - start + 1;
+
+                if (start >= length || count <= 0) {
+                    throw new IllegalArgumentException("Range not satisfiable: " + range);
+                }
+            } catch (IllegalArgumentException e) {
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                response.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                return;
+            }
+
+            response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+            response.setHeader(HttpHeaders.CONTENT_RANGE,
+                    "bytes " + start + "-" + (start + count - 1) + "/" + length);
+        }
+
+        response.setContentLengthLong(count);
+
+        if (HttpMethod.HEAD.matches(request.getMethod()) || count == 0) {
+            return;
+        }
+
+        if (count >= SENDFILE_MIN_SIZE && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            // The container sends the file with FileChannel.transferTo once the headers are written.
+            request.setAttribute(SENDFILE_FILENAME, file.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, start + count);
+        } else {
+            transfer(file, start, count, Channels.newChannel(response.getOutputStream()));
+        }
+    }
+
+    /**
+     * Returns the strong ETag of a file, computed from the SHA-256 of its content.
+     * @param file the file.
+     * @param length the size of the file.
+     * @param lastModified the last modification date of the file.
+     * @return the ETag of the file, quoted.
+     */
+    public String getETag(Path file, long length, long lastModified) {
+        Path key = file.toAbsolutePath().normalize();
+        FileETag cached = this.etags.getIfPresent(key);
+
+        if (cached == null || cached.length() != length || cached.lastModified() != lastModified) {
+            cached = new FileETag(length, lastModified, "\"" + digest(file) + "\"");
+            this.etags.put(key, cached);
+        }
+
+        return cached.etag();
+    }
+
+    /**
+     * Returns the range requested by the client, or null if the whole file must be sent: there is no range, the Range
+     * header is invalid, the file changed since the If-Range validator, or the client requested several ranges.
+     */
+    private HttpRange getRange(HttpServletRequest request, String etag, long lastModified) {
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+
+        if (rangeHeader == null || !isIfRangeValid(request.getHeader(HttpHeaders.IF_RANGE), etag, lastModified)) {
+            return null;
+        }
+
+        try {
+            List<HttpRange> ranges = HttpRange.parseRanges(rangeHeader);
+            return ranges.size() == 1 ? ranges.getFirst() : null;
+        } catch (IllegalArgumentException e) {
+            logger.info("Ignored invalid Range header: {}", rangeHeader);
+            return null;
+        }
+    }
+
+    private boolean isIfRangeValid(String ifRange, String etag, long lastModified) {
+        if (ifRange == null) {
+            return true;
+        }
+
+        if (ifRange.startsWith("\"")) {
+            return ifRange.equals(etag);
+        }
+
+        try {
+            HttpHeaders headers = new HttpHeaders();
+            headers.set(HttpHeaders.IF_RANGE, ifRange);
+            return headers.getFirstDate(HttpHeaders.IF_RANGE) / 1000 == lastModified / 1000;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private static void transfer(Path file, long start, long count, WritableByteChannel target) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long position = start;
+            long end = start + count;
+
+            while (position < end) {
+                long transferred = channel.transferTo(position, end - position, target);
+
+                if (transferred <= 0) {
+                    throw new IOException("The file is shorter than expected: " + file.getFileName());
+                }
+
+                position += transferred;
+            }
+        }
+    }
+
+    private static String digest(Path file) {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            ByteBuffer buffer = ByteBuffer.allocate(DIGEST_BUFFER_SIZE);
+
+            while (channel.read(buffer) != -1) {
+                buffer.flip();
+                digest.update(buffer);
+                buffer.clear();
+            }
+
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest.digest());
+        } catch (IOException e) {
+            throw new StorageException("Failed to read file " + file.getFileName(), e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private record FileETag(long length, long lastModified, String etag) {}
+}
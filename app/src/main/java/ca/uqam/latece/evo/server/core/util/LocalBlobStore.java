@@ -0,0 +1,144 @@
+package ca.uqam.latece.evo.server.core.util;
+
+import ca.uqam.latece.evo.server.core.exceptions.StorageException;
+import ca.uqam.latece.evo.server.core.exceptions.StorageFileNotFoundException;
+import ca.uqam.latece.evo.server.core.interfaces.BlobStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Blob store on the local disk. Blobs are stored at {@code <root>/<h0h1>/<h2h3>/<hash>}, where h0..h3 are the first
+ * characters of the hash, and uploads are staged in {@code <root>/staging}, on the same file system, so that they are
+ * published with an atomic rename.
+ * @version 1.0
+ * @author Edilton Lima dos Santos.
+ */
+public class LocalBlobStore implements BlobStore {
+    private static final Logger logger = LoggerFactory.getLogger(LocalBlobStore.class);
+
+    private static final String STAGING_FOLDER = "staging";
+
+    private final Path root;
+
+    private final Path staging;
+
+    public LocalBlobStore(Path root) {
+        this.root = root.toAbsolutePath().normalize();
+        this.staging = this.root.resolve(STAGING_FOLDER);
+
+        try {
+            Files.createDirectories(this.staging);
+        } catch (IOException e) {
+            throw new StorageException("Could not create blob store directory " + this.root, e);
+        }
+    }
+
+    public Path getRoot() {
+        return root;
+    }
+
+    @Override
+    public Path createStagingFile() {
+        try {
+            return Files.createTempFile(this.staging, "upload-", ".tmp");
+        } catch (IOException e) {
+            throw new StorageException("Could not create staging file in " + this.staging, e);
+        }
+    }
+
+    @Override
+    public void publish(String hash, Path stagingFile) {
+        Path blob = load(hash);
+
+        try {
+            if (Files.exists(blob)) {
+                logger.info("Blob {} already stored, upload deduplicated", hash);
+                return;
+            }
+
+            Files.createDirectories(blob.getParent());
+
+            // A concurrent upload of the same content may publish the blob first, the rename then replaces it with
+            // an identical file.
+            try {
+                Files.move(stagingFile, blob, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                // The file was staged on another file system: it is copied to the staging folder first, so that the
+                // blob is still published with an atomic rename.
+                Path copy = createStagingFile();
+
+                try {
+                    Files.copy(stagingFile, copy, StandardCopyOption.REPLACE_EXISTING);
+                    Files.move(copy, blob, StandardCopyOption.ATOMIC_MOVE);
+                } finally {
+                    deleteStagingFile(copy);
+                }
+            }
+
+            logger.info("Blob {} published at {}", hash, blob);
+        } catch (IOException e) {
+            throw new StorageException("Failed to publish blob " + hash, e);
+        } finally {
+            deleteStagingFile(stagingFile);
+        }
+    }
+
+    @Override
+    public boolean exists(String hash) {
+        return Files.exists(load(hash));
+    }
+
+    @Override
+    public Resource loadAsResource(String hash) {
+        Path blob = load(hash);
+
+        if (!Files.isReadable(blob)) {
+            throw new StorageFileNotFoundException("Could not read blob: " + hash);
+        }
+
+        return new FileSystemResource(blob);
+    }
+
+    @Override
+    public Path load(String hash) {
+        validateHash(hash);
+        return this.root.resolve(hash.substring(0, 2)).resolve(hash.substring(2, 4)).resolve(hash);
+    }
+
+    @Override
+    public void delete(String hash) {
+        try {
+            Files.deleteIfExists(load(hash));
+            logger.info("Blob {} deleted", hash);
+        } catch (IOException e) {
+            throw new StorageException("Failed to delete blob " + hash, e);
+        }
+    }
+
+    /**
+     * Validates that a hash is a hexadecimal SHA-256, so it can be used safely in a path or a key.
+     * @param hash the hash.
+     * @throws StorageException if the hash is not a hexadecimal SHA-256.
+     */
+    static void validateHash(String hash) {
+        if (hash == null || !hash.matches("[0-9a-f]{64}")) {
+            throw new StorageException("Invalid blob hash: " + hash);
+        }
+    }
+
+    static void deleteStagingFile(Path stagingFile) {
+        try {
+            Files.deleteIfExists(stagingFile);
+        } catch (IOException e) {
+            logger.warn("Could not delete staging file {}", stagingFile, e);
+        }
+    }
+}
@@ -12,6 +12,7 @@ import org.springframework.web.multipart.MultipartFile;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.MalformedURLException;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
@@ -92,6 +93,37 @@ public class LocalStorage implements StorageService {
         return storedFile;
     }
 
+    /**
+     * Moves a staged file to the folder specified by root (BASE_FOLDER/location/id). The staged file is renamed when
+     * it is on the same file system, so the file is written once, and copied otherwise.
+     * @param filename the sanitized name of the file.
+     * @param stagedFile the staged file, consumed by this method.
+     * @param sha256 the hexadecimal SHA-256 of the staged file, not used by the local storage.
+     * @return String representing the name of the stored file
+     * @throws StorageException if the file could not be stored or if its name contains illegal characters
+     */
+    @Override
+    public String store(String filename, Path stagedFile, String sha256) {
+        String sanitizedFilename = sanitizeFilename(filename);
+        Path path = root.resolve(sanitizedFilename).normalize().toAbsolutePath();
+
+        try {
+            Files.createDirectories(root);
+
+            try {
+                Files.move(stagedFile, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(stagedFile, path, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            throw new StorageException("Failed to store file " + sanitizedFilename, e);
+        }
+
+        String storedMsg = "File "+ sanitizedFilename + " stored at " + root;
+        logger.info(storedMsg);
+        return sanitizedFilename;
+    }
+
     /**
      * Deletes a file
      * @param filename the name of the file to be deleted
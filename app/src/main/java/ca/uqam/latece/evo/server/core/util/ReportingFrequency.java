@@ -0,0 +1,198 @@
+package ca.uqam.latece.evo.server.core.util;
+
+import org.springframework.scheduling.support.CronExpression;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.Period;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.Locale;
+
+/**
+ * The parsed frequency of a Reporting, i.e. when its reports are due. The frequency is one of:
+ * <ul>
+ *     <li>an ISO-8601 period or duration: {@code P1D}, {@code P1W}, {@code P1M}, {@code PT12H}, or one of the
+ *     keywords {@code HOURLY}, {@code DAILY}, {@code WEEKLY} and {@code MONTHLY};</li>
+ *     <li>an ISO-8601 recurrence: {@code R/P1D}, {@code R10/P1W} (10 reports) or
+ *     {@code R10/2025-03-01T08:00:00Z/P1D} (10 reports from a start);</li>
+ *     <li>a cron expression, with 6 fields (seconds first) or the 5 fields of Unix cron: {@code 0 20 * * *}.</li>
+ * </ul>
+ * The reports of a period are due at the end of each period from the anchor of the activity instance (its entry
+ * date), or from the start of the recurrence when it has one. The cron expressions are in UTC.
+ * @version 1.0
+ * @author Edilton Lima dos Santos.
+ */
+public final class ReportingFrequency {
+
+    /**
+     * The number of repetitions of an unbounded recurrence.
+     */
+    public static final int UNBOUNDED = -1;
+
+    private final String text;
+
+    private final CronExpression cron;
+
+    private final Duration duration;
+
+    private final int months;
+
+    private final Instant start;
+
+    private final int repetitions;
+
+    private ReportingFrequency(String text, CronExpression cron, Duration duration, int months, Instant start,
+                               int repetitions) {
+        this.text = text;
+        this.cron = cron;
+        this.duration = duration;
+        this.months = months;
+        this.start = start;
+        this.repetitions = repetitions;
+    }
+
+    /**
+     * Parses a frequency.
+     * @param text the frequency of a Reporting.
+     * @return the frequency.
+     * @throws IllegalArgumentException if the text is not a frequency.
+     */
+    public static ReportingFrequency parse(String text) {
+        ObjectValidator.validateString(text);
+        String trimmed = text.trim();
+
+        try {
+            if (trimmed.contains(" ")) {
+                String[] fields = trimmed.split("\\s+");
+                return new ReportingFrequency(trimmed, CronExpression.parse(fields.length == 5 ? "0 " + trimmed :
+                        trimmed), null, 0, null, UNBOUNDED);
+            }
+
+            String upper = trimmed.toUpperCase(Locale.ROOT);
+
+            if (upper.startsWith("R")) {
+                String[] parts = upper.split("/");
+
+                if (parts.length < 2 || parts.length > 3) {
+                    throw new IllegalArgumentException("Invalid recurrence: " + text);
+                }
+
+                int repetitions = parts[0].length() == 1 ? UNBOUNDED : Integer.parseInt(parts[0].substring(1));
+
+                if (repetitions == 0 || repetitions < UNBOUNDED) {
+                    throw new IllegalArgumentException("Invalid number of repetitions: " + text);
+                }
+
+                Instant start = parts.length == 3 ? Instant.parse(parts[1]) : null;
+                return ofPeriod(trimmed, parts[parts.length - 1], start, repetitions);
+            }
+
+            return ofPeriod(trimmed, switch (upper) {
+                case "HOURLY" -> "PT1H";
+                case "DAILY" -> "P1D";
+                case "WEEKLY" -> "P1W";
+                case "MONTHLY" -> "P1M";
+                default -> upper;
+            }, null, UNBOUNDED);
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid reporting frequency: " + text, e);
+        }
+    }
+
+    /**
+     * @param text a frequency of a Reporting.
+     * @return whether the text is a frequency.
+     */
+    public static boolean isValid(String text) {
+        try {
+            parse(text);
+            return true;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private static ReportingFrequency ofPeriod(String text, String period, Instant start, int repetitions) {
+        if (period.contains("T")) {
+            Duration duration = Duration.parse(period);
+
+            if (duration.isNegative() || duration.isZero()) {
+                throw new IllegalArgumentException("The period must be positive: " + text);
+            }
+
+            return new ReportingFrequency(text, null, duration, 0, start, repetitions);
+        }
+
+        Period parsed = Period.parse(period);
+
+        if (parsed.isNegative() || parsed.isZero() || (parsed.toTotalMonths() != 0 && parsed.getDays() != 0)) {
+            throw new IllegalArgumentException("The period must be positive, in days or in months: " + text);
+        }
+
+        return parsed.getDays() != 0 ?
+                new ReportingFrequency(text, null, Duration.ofDays(parsed.getDays()), 0, start, repetitions) :
+                new ReportingFrequency(text, null, null, Math.toIntExact(parsed.toTotalMonths()), start, repetitions);
+    }
+
+    /**
+     * Computes the next due time of a report.
+     * @param after the time after which the report is due (exclusive), e.g. now.
+     * @param anchor the start of the activity instance.
+     * @return the first due time after {@code after}, or null if all the reports of the recurrence are due before.
+     */
+    public Instant next(Instant after, Instant anchor) {
+        if (cron != null) {
+            ZonedDateTime from = (after.isBefore(anchor) ? anchor : after).atZone(ZoneOffset.UTC);
+            ZonedDateTime next = cron.next(from);
+            return next == null ? null : next.toInstant();
+        }
+
+        // The k-th report (k from 0) is due k periods after the start, or k + 1 periods after the anchor. Each due time
+        // is computed from the base, so the months shortened at the end of a month are not carried over.
+        Instant base = start != null ? start : anchor;
+        long offset = start != null ? 0 : 1;
+        long k;
+
+        if (after.isBefore(dueTime(base, offset))) {
+            k = 0;
+        } else if (duration != null) {
+            k = Duration.between(base, after).toMillis() / duration.toMillis() + 1 - offset;
+        } else {
+            k = Math.max(0, ChronoUnit.MONTHS.between(base.atZone(ZoneOffset.UTC), after.atZone(ZoneOffset.UTC)) /
+                    months - offset);
+
+            while (!dueTime(base, k + offset).isAfter(after)) {
+                k++;
+            }
+        }
+
+        return repetitions != UNBOUNDED && k >= repetitions ? null : dueTime(base, k + offset);
+    }
+
+    private Instant dueTime(Instant time, long count) {
+        return duration != null ? time.plus(duration.multipliedBy(count)) :
+                time.atZone(ZoneOffset.UTC).plusMonths(count * months).toInstant();
+    }
+
+    /**
+     * @return whether the reports are due on a cron schedule rather than at the end of each period.
+     */
+    public boolean isCron() {
+        return cron != null;
+    }
+
+    /**
+     * @return the number of reports of the recurrence, or {@value UNBOUNDED}.
+     */
+    public int getRepetitions() {
+        return repetitions;
+    }
+
+    @Override
+    public String toString() {
+        return text;
+    }
+}
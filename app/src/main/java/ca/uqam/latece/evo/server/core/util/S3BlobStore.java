@@ -0,0 +1,270 @@
+package ca.uqam.latece.evo.server.core.util;
+
+import ca.uqam.latece.evo.server.core.exceptions.StorageException;
+import ca.uqam.latece.evo.server.core.interfaces.BlobStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.UrlResource;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.net.MalformedURLException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.HexFormat;
+
+/**
+ * Blob store on an S3-compatible object storage (AWS S3, MinIO, Ceph...), accessed with path-style URLs
+ * ({@code <endpoint>/<bucket>/<prefix><hash>}) and AWS Signature Version 4.
+ * <p>
+ * Uploads are staged in a local temporary file while their hash is computed, then sent with a single PUT, which S3
+ * publishes atomically. The hash of the blob is sent as the x-amz-content-sha256 of the PUT, so the storage also
+ * verifies the integrity of the upload. Blobs are read through short-lived presigned URLs, which let the clients
+ * download them (with byte ranges) directly from the storage.
+ * @version 1.0
+ * @author Edilton Lima dos Santos.
+ */
+public class S3BlobStore implements BlobStore {
+    private static final Logger logger = LoggerFactory.getLogger(S3BlobStore.class);
+
+    private static final String ALGORITHM = "AWS4-HMAC-SHA256";
+    private static final String EMPTY_PAYLOAD_HASH = "e3b0c44298fc1c149afbf4c8996fb92427ae41e4649b934ca495991b7852b855";
+    private static final String UNSIGNED_PAYLOAD = "UNSIGNED-PAYLOAD";
+    private static final DateTimeFormatter AMZ_DATE = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'")
+            .withZone(ZoneOffset.UTC);
+    private static final Duration PRESIGNED_URL_EXPIRATION = Duration.ofMinutes(15);
+
+    private final URI endpoint;
+
+    private final String bucket;
+
+    private final String region;
+
+    private final String accessKey;
+
+    private final String secretKey;
+
+    private final String prefix;
+
+    private final HttpClient httpClient;
+
+    private final Clock clock;
+
+    public S3BlobStore(URI endpoint, String bucket, String region, String accessKey, String secretKey, String prefix) {
+        this(endpoint, bucket, region, accessKey, secretKey, prefix, Clock.systemUTC());
+    }
+
+    S3BlobStore(URI endpoint, String bucket, String region, String accessKey, String secretKey, String prefix,
+                Clock clock) {
+        ObjectValidator.validateObject(endpoint);
+        ObjectValidator.validateString(bucket);
+        ObjectValidator.validateString(region);
+        ObjectValidator.validateString(accessKey);
+        ObjectValidator.validateString(secretKey);
+
+        if (prefix != null && !prefix.matches("[A-Za-z0-9_/-]*")) {
+            throw new IllegalArgumentException("Invalid S3 key prefix: " + prefix);
+        }
+
+        this.endpoint = URI.create(endpoint.toString().replaceAll("/+$", ""));
+        this.bucket = bucket;
+        this.region = region;
+        this.accessKey = accessKey;
+        this.secretKey = secretKey;
+        this.prefix = prefix == null ? "" : prefix;
+        this.httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+        this.clock = clock;
+    }
+
+    @Override
+    public Path createStagingFile() {
+        try {
+            return Files.createTempFile("evo-blob-", ".tmp");
+        } catch (IOException e) {
+            throw new StorageException("Could not create staging file", e);
+        }
+    }
+
+    @Override
+    public void publish(String hash, Path stagingFile) {
+        try {
+            if (exists(hash)) {
+                logger.info("Blob {} already stored, upload deduplicated", hash);
+                return;
+            }
+
+            HttpResponse<Void> response = send("PUT", hash, HttpRequest.BodyPublishers.ofFile(stagingFile), hash);
+
+            if (!isSuccessful(response)) {
+                throw new StorageException("Failed to publish blob " + hash + ": HTTP " + response.statusCode());
+            }
+
+            logger.info("Blob {} published to bucket {}", hash, this.bucket);
+        } catch (IOException e) {
+            throw new StorageException("Failed to publish blob " + hash, e);
+        } finally {
+            LocalBlobStore.deleteStagingFile(stagingFile);
+        }
+    }
+
+    @Override
+    public boolean exists(String hash) {
+        HttpResponse<Void> response = send("HEAD", hash, HttpRequest.BodyPublishers.noBody(), EMPTY_PAYLOAD_HASH);
+
+        if (response.statusCode() == 404) {
+            return false;
+        } else if (isSuccessful(response)) {
+            return true;
+        }
+
+        throw new StorageException("Failed to check blob " + hash + ": HTTP " + response.statusCode());
+    }
+
+    /**
+     * Returns the blob as a presigned URL, valid for 15 minutes.
+     * @param hash the hexadecimal SHA-256 of the blob.
+     * @return the presigned URL of the blob.
+     */
+    @Override
+    public Resource loadAsResource(String hash) {
+        try {
+            return new UrlResource(presign(hash));
+        } catch (MalformedURLException e) {
+            throw new StorageException("Could not create URL of blob " + hash, e);
+        }
+    }
+
+    @Override
+    public Path load(String hash) {
+        throw new StorageException("The blobs of an S3 blob store are not stored on the local disk");
+    }
+
+    @Override
+    public void delete(String hash) {
+        HttpResponse<Void> response = send("DELETE", hash, HttpRequest.BodyPublishers.noBody(), EMPTY_PAYLOAD_HASH);
+
+        if (!isSuccessful(response) && response.statusCode() != 404) {
+            throw new StorageException("Failed to delete blob " + hash + ": HTTP " + response.statusCode());
+        }
+
+        logger.info("Blob {} deleted from bucket {}", hash, this.bucket);
+    }
+
+    /**
+     * Creates a presigned GET URL of a blob (Signature Version 4 with query parameters).
+     * @param hash the hexadecimal SHA-256 of the blob.
+     * @return the presigned URL.
+     */
+    URI presign(String hash) {
+        URI uri = objectUri(hash);
+        String amzDate = AMZ_DATE.format(this.clock.instant());
+        String scope = scope(amzDate);
+        String query = "X-Amz-Algorithm=" + ALGORITHM +
+                "&X-Amz-Credential=" + encode(this.accessKey + "/" + scope) +
+                "&X-Amz-Date=" + amzDate +
+                "&X-Amz-Expires=" + PRESIGNED_URL_EXPIRATION.toSeconds() +
+                "&X-Amz-SignedHeaders=host";
+        String canonicalRequest = "GET\n" + uri.getRawPath() + "\n" + query + "\n" +
+                "host:" + host(uri) + "\n\n" +
+                "host\n" +
+                UNSIGNED_PAYLOAD;
+
+        return URI.create(uri + "?" + query + "&X-Amz-Signature=" + signature(amzDate, scope, canonicalRequest));
+    }
+
+    private HttpResponse<Void> send(String method, String hash, HttpRequest.BodyPublisher body, String payloadHash) {
+        URI uri = objectUri(hash);
+        String amzDate = AMZ_DATE.format(this.clock.instant());
+        String scope = scope(amzDate);
+        String signedHeaders = "host;x-amz-content-sha256;x-amz-date";
+        String canonicalRequest = method + "\n" + uri.getRawPath() + "\n\n" +
+                "host:" + host(uri) + "\n" +
+                "x-amz-content-sha256:" + payloadHash + "\n" +
+                "x-amz-date:" + amzDate + "\n\n" +
+                signedHeaders + "\n" +
+                payloadHash;
+        String authorization = ALGORITHM + " Credential=" + this.accessKey + "/" + scope + ", SignedHeaders=" +
+                signedHeaders + ", Signature=" + signature(amzDate, scope, canonicalRequest);
+
+        HttpRequest request = HttpRequest.newBuilder(uri)
+                .method(method, body)
+                .timeout(Duration.ofMinutes(5))
+                .header("x-amz-content-sha256", payloadHash)
+                .header("x-amz-date", amzDate)
+                .header("Authorization", authorization)
+                .build();
+
+        try {
+            return this.httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+        } catch (IOException e) {
+            throw new StorageException(method + " of blob " + hash + " failed", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new StorageException(method + " of blob " + hash + " interrupted", e);
+        }
+    }
+
+    private URI objectUri(String hash) {
+        LocalBlobStore.validateHash(hash);
+        return URI.create(this.endpoint + "/" + this.bucket + "/" + this.prefix + hash);
+    }
+
+    private String scope(String amzDate) {
+        return amzDate.substring(0, 8) + "/" + this.region + "/s3/aws4_request";
+    }
+
+    private String signature(String amzDate, String scope, String canonicalRequest) {
+        String stringToSign = ALGORITHM + "\n" + amzDate + "\n" + scope + "\n" + sha256Hex(canonicalRequest);
+        byte[] key = hmac(("AWS4" + this.secretKey).getBytes(StandardCharsets.UTF_8), amzDate.substring(0, 8));
+        key = hmac(key, this.region);
+        key = hmac(key, "s3");
+        key = hmac(key, "aws4_request");
+        return HexFormat.of().formatHex(hmac(key, stringToSign));
+    }
+
+    private static String host(URI uri) {
+        return uri.getPort() == -1 ? uri.getHost() : uri.getHost() + ":" + uri.getPort();
+    }
+
+    private static boolean isSuccessful(HttpResponse<?> response) {
+        return response.statusCode() / 100 == 2;
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8).replace("+", "%20").replace("*", "%2A")
+                .replace("%7E", "~");
+    }
+
+    private static byte[] hmac(byte[] key, String data) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(key, "HmacSHA256"));
+            return mac.doFinal(data.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String sha256Hex(String data) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256")
+                    .digest(data.getBytes(StandardCharsets.UTF_8)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package ca.uqam.latece.evo.server.core.util;
+
+import java.util.Arrays;
+
+/**
+ * Encodes the behavior performance samples of a chunk (sample times in epoch milliseconds and values) into a compact
+ * byte array.
+ * <p>
+ * The values are stored as fixed-point numbers with {@value #SCALE} units per unit (e.g. 0.001 step). The times, then
+ * the values, are written as the differences with their previous one (the first with 0), zigzag-encoded so that small
+ * negative differences stay small, as variable-length integers of 7 bits per byte. The samples of a wearable are
+ * regular in time and slowly varying, so most differences take one or two bytes instead of the 16 bytes of a raw
+ * sample.
+ * @version 1.0
+ * @author Edilton Lima dos Santos.
+ */
+public final class SampleCodec {
+
+    /**
+     * The number of fixed-point units per unit of a value.
+     */
+    public static final int SCALE = 1000;
+
+    private SampleCodec() {
+    }
+
+    /**
+     * Decoded samples, in the order of their encoding.
+     * @param times the sample times, in epoch milliseconds.
+     * @param values the fixed-point values.
+     */
+    public record Samples(long[] times, long[] values) {
+
+        public int size() {
+            return times.length;
+        }
+
+        public double value(int index) {
+            return toValue(values[index]);
+        }
+    }
+
+    /**
+     * @param value a sample value.
+     * @return the fixed-point value.
+     */
+    public static long toFixed(double value) {
+        return Math.round(value * SCALE);
+    }
+
+    /**
+     * @param fixed a fixed-point value.
+     * @return the sample value.
+     */
+    public static double toValue(long fixed) {
+        return (double) fixed / SCALE;
+    }
+
+    /**
+     * Encodes a range of samples.
+     * @param times the sample times, in epoch milliseconds.
+     * @param values the fixed-point values.
+     * @param from the index of the first sample (inclusive).
+     * @param to the index of the last sample (exclusive).
+     * @return the encoded samples.
+     */
+    public static byte[] encode(long[] times, long[] values, int from, int to) {
+        // At most 10 bytes per varint: the count, then a time and a value per sample.
+        byte[] buffer = new byte[10 + 20 * (to - from)];
+        int position = writeVarint(buffer, 0, to - from);
+        position = writeDeltas(buffer, position, times, from, to);
+        position = writeDeltas(buffer, position, values, from, to);
+        return Arrays.copyOf(buffer, position);
+    }
+
+    /**
+     * Decodes samples.
+     * @param data the encoded samples.
+     * @return the samples.
+     * @throws IllegalArgumentException if the data is truncated.
+     */
+    public static Samples decode(byte[] data) {
+        int[] position = {0};
+        int count = (int) readVarint(data, position);
+        long[] times = new long[count];
+        long[] values = new long[count];
+        readDeltas(data, position, times);
+        readDeltas(data, position, values);
+        return new Samples(times, values);
+    }
+
+    private static int writeDeltas(byte[] buffer, int position, long[] numbers, int from, int to) {
+        long previous = 0;
+
+        for (int i = from; i < to; i++) {
+            long delta = numbers[i] - previous;
+            position = writeVarint(buffer, position, (delta << 1) ^ (delta >> 63));
+            previous = numbers[i];
+        }
+
+        return position;
+    }
+
+    private static void readDeltas(byte[] data, int[] position, long[] numbers) {
+        long previous = 0;
+
+        for (int i = 0; i < numbers.length; i++) {
+            long zigzag = readVarint(data, position);
+            previous += (zigzag >>> 1) ^ -(zigzag & 1);
+            numbers[i] = previous;
+        }
+    }
+
+    private static int writeVarint(byte[] buffer, int position, long value) {
+        while ((value & ~0x7FL) != 0) {
+            buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+
+        buffer[position++] = (byte) value;
+        return position;
+    }
+
+    private static long readVarint(byte[] data, int[] position) {
+        long value = 0;
+
+        for (int shift = 0; shift < 64; shift += 7) {
+            if (position[0] >= data.length) {
+                throw new IllegalArgumentException("Truncated sample data");
+            }
+
+            byte current = data[position[0]++];
+            value |= (long) (current & 0x7F) << shift;
+
+            if (current >= 0) {
+                return value;
+            }
+        }
+
+        throw new IllegalArgumentException("Malformed sample data");
+    }
+}
@@ -0,0 +1,606 @@
+package ca.uqam.latece.evo.server.core.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * A compiled Assessment scoring function.
+ * <p>
+ * A scoring function is an arithmetic expression over the numeric answers {@code x} of a PatientAssessment, optionally
+ * written as a lambda (e.g. {@code x -> x}, {@code x -> (x[0] + x[1]) * 2.5} or {@code x -> 100 * mean(x) / 4}):
+ * <ul>
+ *     <li>numbers, {@code + - * /} and parentheses;</li>
+ *     <li>{@code x[i]}: the i-th answer (0-based), NaN if the assessment has fewer answers;</li>
+ *     <li>{@code x}: the sum of the answers (the answer of a single-answer assessment);</li>
+ *     <li>{@code sum(x)}, {@code mean(x)}, {@code min(x)}, {@code max(x)} and {@code count(x)};</li>
+ *     <li>{@code min(a, b, ...)}, {@code max(a, b, ...)}, {@code abs(a)}, {@code sqrt(a)}, {@code round(a)},
+ *     {@code floor(a)} and {@code ceil(a)}.</li>
+ * </ul>
+ * The function is parsed once into a tree of operators that evaluate a whole range of assessments at a time over
+ * primitive arrays ({@link Answers}), so the cost of the tree is paid once per range rather than once per assessment.
+ * @version 1.0
+ * @author Edilton Lima dos Santos.
+ */
+public final class ScoringFunction {
+
+    /**
+     * The number of assessments below which {@link #scoreAll} does not split the work.
+     */
+    static final int FORK_THRESHOLD = 2048;
+
+    private final String source;
+
+    private final Node root;
+
+    private ScoringFunction(String source, Node root) {
+        this.source = source;
+        this.root = root;
+    }
+
+    /**
+     * Compiles a scoring function.
+     * @param source the scoring function, e.g. {@code x -> sum(x) * 2}.
+     * @return the compiled scoring function.
+     * @throws IllegalArgumentException if the source is blank or is not a valid scoring function.
+     */
+    public static ScoringFunction compile(String source) {
+        ObjectValidator.validateString(source);
+        return new ScoringFunction(source, new Parser(source).parseFunction());
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    /**
+     * Scores the answers of a single assessment.
+     * @param answers the answers, e.g. {@code "Q1: 3, Q2: 1"}; see {@link Answers#parse}.
+     * @return the score, or NaN if it cannot be computed (missing answer, division by zero).
+     */
+    public double score(String answers) {
+        double[] scores = new double[1];
+        scoreRange(Answers.parse(Collections.singletonList(answers)), 0, 1, scores);
+        return scores[0];
+    }
+
+    /**
+     * Scores a batch of assessments, in parallel chunks on the common fork-join pool when the batch is large.
+     * @param answers the answers of the assessments.
+     * @param scores receives the score of each assessment (NaN if it cannot be computed); at least as long as the batch.
+     */
+    public void scoreAll(Answers answers, double[] scores) {
+        if (answers.size() <= FORK_THRESHOLD) {
+            scoreRange(answers, 0, answers.size(), scores);
+        } else {
+            ForkJoinPool.commonPool().invoke(new ScoringTask(answers, 0, answers.size(), scores));
+        }
+    }
+
+    private void scoreRange(Answers answers, int from, int to, double[] scores) {
+        double[] out = new double[to - from];
+        root.eval(answers, from, to, out);
+
+        for (int i = 0; i < out.length; i++) {
+            scores[from + i] = Double.isFinite(out[i]) ? out[i] : Double.NaN;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return source;
+    }
+
+    /**
+     * The numeric answers of a batch of assessments, stored in a single array with the offset of each assessment.
+     */
+    public static final class Answers {
+        private final double[] values;
+
+        private final int[] offsets;
+
+        private final int size;
+
+        private Answers(double[] values, int[] offsets, int size) {
+            this.values = values;
+            this.offsets = offsets;
+            this.size = size;
+        }
+
+        /**
+         * Extracts the numbers of the answers of each assessment, in order: {@code "Q1: 3, Q2: -1.5"} gives 3 and -1.5.
+         * The numbers that are part of a word (e.g. the 9 of "PHQ-9" or the 1 of "Q1") are ignored.
+         * @param answers the answers of each assessment.
+         * @return the numeric answers.
+         */
+        public static Answers parse(List<String> answers) {
+            double[] values = new double[Math.max(16, answers.size() * 4)];
+            int[] offsets = new int[answers.size() + 1];
+            int count = 0;
+
+            for (int r = 0; r < answers.size(); r++) {
+                String text = answers.get(r) == null ? "" : answers.get(r);
+                int i = 0;
+
+                while (i < text.length()) {
+                    int start = i;
+                    boolean negative = text.charAt(i) == '-';
+                    int digits = negative ? i + 1 : i;
+
+                    if (digits < text.length() && isDigit(text.charAt(digits)) && isBoundary(text, start)) {
+                        long integer = 0;
+                        i = digits;
+
+                        while (i < text.length() && isDigit(text.charAt(i))) {
+                            integer = integer * 10 + (text.charAt(i++) - '0');
+                        }
+
+                        double value = integer;
+
+                        if (i + 1 < text.length() && text.charAt(i) == '.' && isDigit(text.charAt(i + 1))) {
+                            double scale = 1;
+                            long fraction = 0;
+                            i++;
+
+                            while (i < text.length() && isDigit(text.charAt(i))) {
+                                fraction = fraction * 10 + (text.charAt(i++) - '0');
+                                scale *= 10;
+                            }
+
+                            value += fraction / scale;
+                        }
+
+                        if (i < text.length() && (Character.isLetterOrDigit(text.charAt(i)) || text.charAt(i) == '_')) {
+                            continue; // e.g. "3rd"
+                        }
+
+                        if (count == values.length) {
+                            values = Arrays.copyOf(values, count * 2);
+                        }
+
+                        values[count++] = negative ? -value : value;
+                    } else {
+                        i++;
+                    }
+                }
+
+                offsets[r + 1] = count;
+            }
+
+            return new Answers(values, offsets, answers.size());
+        }
+
+        /**
+         * @return the number of assessments.
+         */
+        public int size() {
+            return size;
+        }
+
+        /**
+         * @return the number of answers of an assessment.
+         */
+        public int count(int assessment) {
+            return offsets[assessment + 1] - offsets[assessment];
+        }
+
+        private static boolean isDigit(char c) {
+            return c >= '0' && c <= '9';
+        }
+
+        private static boolean isWordPart(char c) {
+            return Character.isLetterOrDigit(c) || c == '_' || c == '-' || c == '.';
+        }
+
+        private static boolean isBoundary(String text, int start) {
+            return start == 0 || !isWordPart(text.charAt(start - 1));
+        }
+    }
+
+    /**
+     * Scores a range of assessments, split in halves until the range is small enough.
+     */
+    private final class ScoringTask extends RecursiveAction {
+        private final Answers answers;
+
+        private final int from;
+
+        private final int to;
+
+        private final double[] scores;
+
+        private ScoringTask(Answers answers, int from, int to, double[] scores) {
+            this.answers = answers;
+            this.from = from;
+            this.to = to;
+            this.scores = scores;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= FORK_THRESHOLD) {
+                scoreRange(answers, from, to, scores);
+            } else {
+                int middle = (from + to) >>> 1;
+                invokeAll(new ScoringTask(answers, from, middle, scores), new ScoringTask(answers, middle, to, scores));
+            }
+        }
+    }
+
+    /**
+     * An operator of a compiled scoring function: evaluates the assessments [from, to) into out[0, to - from).
+     */
+    private interface Node {
+
+        void eval(Answers answers, int from, int to, double[] out);
+    }
+
+    private record Constant(double value) implements Node {
+
+        @Override
+        public void eval(Answers answers, int from, int to, double[] out) {
+            Arrays.fill(out, 0, to - from, value);
+        }
+    }
+
+    private record Answer(int index) implements Node {
+
+        @Override
+        public void eval(Answers answers, int from, int to, double[] out) {
+            for (int r = from; r < to; r++) {
+                int position = answers.offsets[r] + index;
+                out[r - from] = position < answers.offsets[r + 1] ? answers.values[position] : Double.NaN;
+            }
+        }
+    }
+
+    private enum Aggregate { SUM, MEAN, MIN, MAX, COUNT }
+
+    private record AggregateNode(Aggregate aggregate) implements Node {
+
+        @Override
+        public void eval(Answers answers, int from, int to, double[] out) {
+            double[] values = answers.values;
+            int[] offsets = answers.offsets;
+
+            for (int r = from; r < to; r++) {
+                int start = offsets[r];
+                int end = offsets[r + 1];
+                double result;
+
+                switch (aggregate) {
+                    case COUNT -> result = end - start;
+                    case MIN, MAX -> {
+                        result = start == end ? Double.NaN : values[start];
+
+                        for (int i = start + 1; i < end; i++) {
+                            result = aggregate == Aggregate.MIN ? Math.min(result, values[i]) : Math.max(result, values[i]);
+                        }
+                    }
+                    default -> {
+                        result = 0;
+
+                        for (int i = start; i < end; i++) {
+                            result += values[i];
+                        }
+
+                        if (aggregate == Aggregate.MEAN) {
+                            result = start == end ? Double.NaN : result / (end - start);
+                        }
+                    }
+                }
+
+                out[r - from] = result;
+            }
+        }
+    }
+
+    private record Binary(char operator, Node left, Node right) implements Node {
+
+        @Override
+        public void eval(Answers answers, int from, int to, double[] out) {
+            int n = to - from;
+            double[] rightOut = new double[n];
+            left.eval(answers, from, to, out);
+            right.eval(answers, from, to, rightOut);
+
+            switch (operator) {
+                case '+' -> { for (int i = 0; i < n; i++) out[i] += rightOut[i]; }
+                case '-' -> { for (int i = 0; i < n; i++) out[i] -= rightOut[i]; }
+                case '*' -> { for (int i = 0; i < n; i++) out[i] *= rightOut[i]; }
+                case '/' -> { for (int i = 0; i < n; i++) out[i] /= rightOut[i]; }
+                case '<' -> { for (int i = 0; i < n; i++) out[i] = Math.min(out[i], rightOut[i]); }
+                case '>' -> { for (int i = 0; i < n; i++) out[i] = Math.max(out[i], rightOut[i]); }
+                default -> throw new IllegalStateException("Unknown operator: " + operator);
+            }
+        }
+    }
+
+    private enum Function { NEGATE, ABS, SQRT, ROUND, FLOOR, CEIL }
+
+    private record Unary(Function function, Node argument) implements Node {
+
+        @Override
+        public void eval(Answers answers, int from, int to, double[] out) {
+            int n = to - from;
+            argument.eval(answers, from, to, out);
+
+            switch (function) {
+                case NEGATE -> { for (int i = 0; i < n; i++) out[i] = -out[i]; }
+                case ABS -> { for (int i = 0; i < n; i++) out[i] = Math.abs(out[i]); }
+                case SQRT -> { for (int i = 0; i < n; i++) out[i] = Math.sqrt(out[i]); }
+                case ROUND -> { for (int i = 0; i < n; i++) out[i] = Math.rint(out[i]); }
+                case FLOOR -> { for (int i = 0; i < n; i++) out[i] = Math.floor(out[i]); }
+                case CEIL -> { for (int i = 0; i < n; i++) out[i] = Math.ceil(out[i]); }
+            }
+        }
+    }
+
+    /**
+     * Recursive descent parser: function := ['x' '->'] sum; sum := product (('+' | '-') product)*;
+     * product := unary (('*' | '/') unary)*; unary := '-' unary | primary;
+     * primary := number | 'x' ['[' integer ']'] | name '(' arguments ')' | '(' sum ')'.
+     */
+    private static final class Parser {
+        private final String source;
+
+        private int position;
+
+        private Parser(String source) {
+            this.source = source;
+        }
+
+        private Node parseFunction() {
+            skipSpaces();
+            int start = position;
+
+            if (accept('x')) {
+                skipSpaces();
+
+                if (!accept("->")) {
+                    position = start;
+                }
+            }
+
+            Node root = parseSum();
+            skipSpaces();
+
+            if (position < source.length()) {
+                throw error("unexpected '" + source.charAt(position) + "'");
+            }
+
+            return root;
+        }
+
+        private Node parseSum() {
+            Node node = parseProduct();
+
+            while (true) {
+                skipSpaces();
+
+                if (accept('+')) {
+                    node = new Binary('+', node, parseProduct());
+                } else if (accept('-')) {
+                    node = new Binary('-', node, parseProduct());
+                } else {
+                    return node;
+                }
+            }
+        }
+
+        private Node parseProduct() {
+            Node node = parseUnary();
+
+            while (true) {
+                skipSpaces();
+
+                if (accept('*')) {
+                    node = new Binary('*', node, parseUnary());
+                } else if (accept('/')) {
+                    node = new Binary('/', node, parseUnary());
+                } else {
+                    return node;
+                }
+            }
+        }
+
+        private Node parseUnary() {
+            skipSpaces();
+            return accept('-') ? new Unary(Function.NEGATE, parseUnary()) : parsePrimary();
+        }
+
+        private Node parsePrimary() {
+            skipSpaces();
+
+            if (accept('(')) {
+                Node node = parseSum();
+                expect(')');
+                return node;
+            }
+
+            if (position < source.length() && (Character.isDigit(source.charAt(position)) || source.charAt(position) == '.')) {
+                return new Constant(parseNumber());
+            }
+
+            String name = parseName();
+            return name.equals("x") ? parseAnswers() : parseCall(name);
+        }
+
+        /**
+         * Parses x, the sum of the answers, or x[i], the answer at index i.
+         */
+        private Node parseAnswers() {
+            skipSpaces();
+
+            if (!accept('[')) {
+                return new AggregateNode(Aggregate.SUM);
+            }
+
+            skipSpaces();
+            int start = position;
+
+            while (position < source.length() && Character.isDigit(source.charAt(position))) {
+                position++;
+            }
+
+            if (start == position || position - start > 4) {
+                throw error("expected an answer index");
+            }
+
+            int index = Integer.parseInt(source.substring(start, position));
+            expect(']');
+            return new Answer(index);
+        }
+
+        /**
+         * Parses the arguments of a function, name(x) for an aggregate of the answers.
+         */
+        private Node parseCall(String name) {
+            expect('(');
+            List<Node> arguments = new ArrayList<>();
+            boolean answers = false;
+
+            do {
+                skipSpaces();
+                int start = position;
+
+                if (accept('x')) {
+                    skipSpaces();
+
+                    if (position < source.length() && (source.charAt(position) == ',' || source.charAt(position) == ')')) {
+                        answers = true;
+                    } else {
+                        position = start;
+                    }
+                }
+
+                if (position == start) {
+                    arguments.add(parseSum());
+                }
+
+                skipSpaces();
+            } while (accept(','));
+
+            expect(')');
+
+            if (answers) {
+                if (arguments.size() > 0) {
+                    throw error("x cannot be combined with other arguments");
+                }
+
+                return aggregate(name);
+            }
+
+            return function(name, arguments);
+        }
+
+        private Node aggregate(String name) {
+            return switch (name) {
+                case "sum" -> new AggregateNode(Aggregate.SUM);
+                case "mean" -> new AggregateNode(Aggregate.MEAN);
+                case "min" -> new AggregateNode(Aggregate.MIN);
+                case "max" -> new AggregateNode(Aggregate.MAX);
+                case "count" -> new AggregateNode(Aggregate.COUNT);
+                default -> throw error("unknown aggregate " + name + "(x)");
+            };
+        }
+
+        private Node function(String name, List<Node> arguments) {
+            return switch (name) {
+                case "min", "max" -> {
+                    if (arguments.size() < 2) {
+                        throw error(name + " expects x or at least 2 arguments");
+                    }
+
+                    Node node = arguments.getFirst();
+
+                    for (int i = 1; i < arguments.size(); i++) {
+                        node = new Binary(name.equals("min") ? '<' : '>', node, arguments.get(i));
+                    }
+
+                    yield node;
+                }
+                case "abs", "sqrt", "round", "floor", "ceil" -> {
+                    if (arguments.size() != 1) {
+                        throw error(name + " expects 1 argument");
+                    }
+
+                    yield new Unary(Function.valueOf(name.toUpperCase(Locale.ROOT)), arguments.getFirst());
+                }
+                default -> throw error("unknown function " + name);
+            };
+        }
+
+        private double parseNumber() {
+            int start = position;
+
+            while (position < source.length() && (Character.isDigit(source.charAt(position))
+                    || source.charAt(position) == '.')) {
+                position++;
+            }
+
+            try {
+                return Double.parseDouble(source.substring(start, position));
+            } catch (NumberFormatException e) {
+                position = start;
+                throw error("invalid number");
+            }
+        }
+
+        private String parseName() {
+            int start = position;
+
+            while (position < source.length() && Character.isLetter(source.charAt(position))) {
+                position++;
+            }
+
+            if (start == position) {
+                throw error(position < source.length() ? "unexpected '" + source.charAt(position) + "'"
+                        : "unexpected end");
+            }
+
+            return source.substring(start, position);
+        }
+
+        private void skipSpaces() {
+            while (position < source.length() && Character.isWhitespace(source.charAt(position))) {
+                position++;
+            }
+        }
+
+        private boolean accept(char c) {
+            if (position < source.length() && source.charAt(position) == c) {
+                position++;
+                return true;
+            }
+
+            return false;
+        }
+
+        private boolean accept(String token) {
+            if (source.startsWith(token, position)) {
+                position += token.length();
+                return true;
+            }
+
+            return false;
+        }
+
+        private void expect(char c) {
+            skipSpaces();
+
+            if (!accept(c)) {
+                throw error("expected '" + c + "'");
+            }
+        }
+
+        private IllegalArgumentException error(String message) {
+            return new IllegalArgumentException("Invalid scoring function '" + source + "' at position " + position +
+                    ": " + message);
+        }
+    }
+}
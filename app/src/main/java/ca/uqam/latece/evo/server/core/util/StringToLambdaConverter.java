@@ -46,4 +46,24 @@ public class StringToLambdaConverter {
 
         return result;
     }
+
+    /**
+     * Compiles an entry or exit condition to a lambda expression, without evaluating it.
+     * @param condition the String representation of an entry or exit condition, blank for a condition that is always met.
+     * @return true if the condition can be converted to a lambda expression.
+     */
+    public static boolean isValidCondition(String condition) {
+        boolean result = false;
+
+        try {
+            LambdaFactory.get().createLambda(condition.isBlank() ? "x -> true" : condition,
+                    new TypeReference<Function<Boolean, Boolean>>() {});
+            result = true;
+        } catch (LambdaCreationException | NullPointerException e) {
+            // An invalid condition is a client error, reported by the caller.
+            logger.debug("Invalid entry or exit condition: {}", condition);
+        }
+
+        return result;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,151 @@
+package ca.uqam.latece.evo.server.core.util;
+
+import ca.uqam.latece.evo.server.core.model.Content;
+
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * State of a resumable upload: the file is received in chunks appended to a part file, while its SHA-256 is updated,
+ * so the hash of the whole file is known as soon as its last chunk is received, without reading it again.
+ * <p>
+ * The lock ensures that a single request appends chunks to the session at a time.
+ * @version 1.0
+ * @author Edilton Lima dos Santos.
+ */
+public class UploadSession {
+    private final String id;
+
+    private final Long contentId;
+
+    private final String filename;
+
+    private final long length;
+
+    private final String sha256;
+
+    private final Path partFile;
+
+    private final MessageDigest digest;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private volatile long offset;
+
+    private volatile Instant lastActivity;
+
+    private volatile Content content;
+
+    private String receivedSha256;
+
+    public UploadSession(String id, Long contentId, String filename, long length, String sha256, Path partFile,
+                         MessageDigest digest, long offset) {
+        this.id = id;
+        this.contentId = contentId;
+        this.filename = filename;
+        this.length = length;
+        this.sha256 = sha256;
+        this.partFile = partFile;
+        this.digest = digest;
+        this.offset = offset;
+        this.lastActivity = Instant.now();
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public Long getContentId() {
+        return contentId;
+    }
+
+    public String getFilename() {
+        return filename;
+    }
+
+    /**
+     * @return the length of the whole file, declared when the upload was created.
+     */
+    public long getLength() {
+        return length;
+    }
+
+    /**
+     * @return the hexadecimal SHA-256 of the whole file declared by the client, or null if it is not verified.
+     */
+    public String getSha256() {
+        return sha256;
+    }
+
+    public Path getPartFile() {
+        return partFile;
+    }
+
+    public MessageDigest getDigest() {
+        return digest;
+    }
+
+    /**
+     * Completes the digest of the bytes received, once. It is kept so a completion that failed can be retried.
+     * @return the hexadecimal SHA-256 of the bytes received.
+     */
+    public String getReceivedSha256() {
+        if (receivedSha256 == null) {
+            receivedSha256 = HexFormat.of().formatHex(digest.digest());
+        }
+
+        return receivedSha256;
+    }
+
+    public ReentrantLock getLock() {
+        return lock;
+    }
+
+    /**
+     * @return the number of bytes received so far, which is the offset of the next chunk.
+     */
+    public long getOffset() {
+        return offset;
+    }
+
+    public Instant getLastActivity() {
+        return lastActivity;
+    }
+
+    /**
+     * @return the Content updated with the file when the upload is complete, null before.
+     */
+    public Content getContent() {
+        return content;
+    }
+
+    public void setContent(Content content) {
+        this.content = content;
+    }
+
+    public boolean isComplete() {
+        return offset == length;
+    }
+
+    /**
+     * Restarts the upload from its first byte, once the part file is emptied.
+     */
+    public void restart() {
+        this.digest.reset();
+        this.receivedSha256 = null;
+        this.offset = 0;
+        this.lastActivity = Instant.now();
+    }
+
+    /**
+     * Records that bytes were appended to the part file.
+     * @param count the number of bytes appended.
+     */
+    public void advance(long count) {
+        this.offset += count;
+        this.lastActivity = Instant.now();
+    }
+}
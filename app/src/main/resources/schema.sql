@@ -5,6 +5,22 @@ The provided SQL script defines a relational database structure involving multip
 /***********************************************************************************************************************
 Drop all tables if exists.
 ***********************************************************************************************************************/
+drop table if exists cluster_node cascade;
+drop table if exists recipe_import cascade;
+drop table if exists scheduler_cursor cascade;
+drop table if exists reporting_reminder cascade;
+drop table if exists goal_attainment cascade;
+drop table if exists performance_sample_batch cascade;
+drop table if exists performance_rollup cascade;
+drop table if exists performance_sample_chunk cascade;
+drop table if exists bci_archive_instance cascade;
+drop table if exists bci_archive cascade;
+drop table if exists activity_transition cascade;
+drop table if exists cohort_dwell cascade;
+drop table if exists cohort_counter cascade;
+drop table if exists cohort_state cascade;
+drop table if exists storage_reference cascade;
+drop table if exists storage_blob cascade;
 drop table if exists required_skill cascade;
 drop table if exists skill_content cascade;
 drop table if exists bci_activity_instance_participants cascade;
@@ -180,19 +196,30 @@ patient assessment table: This table stores information about patient assessment
   - patient_assessment_date: The date of creation of the patient assessment.
   - patient_assessment_assessment: The assessment of the patient.
   - patient_assessment_patient_id: A foreign key referencing the patient that is being assessed.
+  - patient_assessment_assessment_id: The Assessment whose scoring function computes the score (optional).
+  - patient_assessment_score: The score computed by the scoring function of the Assessment (optional).
 - Constraints:
   - patient_assessment_pkey: Establishes patient_assessment_id as the primary key.
   - patient_assessment_patient_fkey: Ensures that patient_assessment_patient_id references a valid patient in the patient table.
+  - patient_assessment_assessment_fkey: Ensures that patient_assessment_assessment_id references a valid record in the
+  assessment table (declared after the assessment table).
+- Indexes:
+  - patient_assessment_assessment_idx: Finds the patient assessments of an Assessment in the order of their ids.
 ***********************************************************************************************************************/
 CREATE TABLE IF NOT EXISTS patient_assessment (
     patient_assessment_id BIGSERIAL NOT NULL,
     patient_assessment_date DATE NOT NULL,
     patient_assessment_assessment VARCHAR NOT NULL,
     patient_assessment_patient BIGINT NOT NULL,
+    patient_assessment_assessment_id BIGINT,
+    patient_assessment_score DOUBLE PRECISION,
     CONSTRAINT patient_assessment_pkey PRIMARY KEY (patient_assessment_id),
     CONSTRAINT patient_assessment_patient_fkey FOREIGN KEY (patient_assessment_patient) REFERENCES patient (patient_id)
 );
 
+CREATE INDEX IF NOT EXISTS patient_assessment_assessment_idx ON patient_assessment (patient_assessment_assessment_id,
+    patient_assessment_id);
+
 /***********************************************************************************************************************
 skill table: This table stores details about skills that actors may hold or require.
 - Columns:
@@ -210,6 +237,8 @@ skill table: This table stores details about skills that actors may hold or requ
   - skill_sub_skill_fkey: Ensures that skill_sub_skill_id references a valid skill (sub skill) in the skill table.
   - skill_composed_of_skill_fkey: Ensures that skill_composed_of_skill_id references a valid skill (composed of)
   zin the skill table.
+- Indexes:
+  - skill_composed_of_skill_idx: Finds the skills a skill is composed of, when walking its descendants.
 ***********************************************************************************************************************/
 CREATE TABLE IF NOT EXISTS skill (
      skill_id BIGSERIAL NOT NULL,
@@ -224,6 +253,8 @@ CREATE TABLE IF NOT EXISTS skill (
      CONSTRAINT skill_composed_of_skill_fkey FOREIGN KEY (skill_composed_of_skill_id) REFERENCES skill (skill_id) ON DELETE SET NULL
 );
 
+CREATE INDEX IF NOT EXISTS skill_composed_of_skill_idx ON skill (skill_composed_of_skill_id);
+
 /***********************************************************************************************************************
 required_skill table: This is a junction table that represents a many-to-many Skill self-relationship. It links a skill
   corresponds to which required Skill(s).
@@ -357,6 +388,9 @@ goal_setting table: This table stores details about Goal Setting.
   - goal_setting_concerns_bci_activity_id: This foreign key is used to mapping the relationship between a goal setting
   (goal_setting) and bci activity (bci_activity). Consequently, the goal_setting_concerns_bci_activity_id key referencing
   a bci_activity_id in the bci_activity table.
+  - goal_setting_target: The target of the progress of the concerned activity, or NULL if the goal is not evaluated.
+  - goal_setting_comparison: AT_LEAST or AT_MOST the target, NULL with the target.
+  - goal_setting_finish_on_attainment: Whether the concerned activity is finished when the goal is met.
 - Constraints:
   - goal_setting_pkey: Primary key for this table.
   - goal_setting_fkey: This constraint is used by the Hibernate to map the subclass of BCIActivity.
@@ -365,6 +399,9 @@ goal_setting table: This table stores details about Goal Setting.
 CREATE TABLE IF NOT EXISTS goal_setting (
     goal_setting_id BIGINT NOT NULL,
     goal_setting_concerns_bci_activity_id BIGINT NULL,
+    goal_setting_target DOUBLE PRECISION NULL,
+    goal_setting_comparison VARCHAR(10) NULL,
+    goal_setting_finish_on_attainment BOOLEAN NOT NULL DEFAULT FALSE,
     CONSTRAINT goal_setting_pkey PRIMARY KEY (goal_setting_id),
     CONSTRAINT goal_setting_fkey FOREIGN KEY (goal_setting_id) REFERENCES bci_activity (bci_activity_id),
     CONSTRAINT goal_setting_concerns_fkey FOREIGN KEY (goal_setting_concerns_bci_activity_id) REFERENCES bci_activity (bci_activity_id)
@@ -428,6 +465,8 @@ interaction table: This table stores details about interaction.
   - interaction_mode: The interaction mode.
   - interaction_initiator_role_id: The role id used to initiate the interaction.
   - interaction_medium: The interaction medium.
+  - interaction_media: The bitmask of the four interaction media (MESSAGING 1, EMAIL 2, VOICE 4, VIDEO 8), generated
+  from the interaction_medium columns so that every writer keeps it up to date.
 - Constraints:
   - interaction_pkey: Primary key for this table.
   - interaction_fkey: This constraint is used by the Hibernate to map the subclass of BCIActivity.
@@ -441,6 +480,15 @@ CREATE TABLE IF NOT EXISTS interaction (
     interaction_medium2 VARCHAR(9) NULL,
     interaction_medium3 VARCHAR(9) NULL,
     interaction_medium4 VARCHAR(9) NULL,
+    interaction_media INTEGER NOT NULL GENERATED ALWAYS AS (
+        (CASE interaction_medium1 WHEN 'MESSAGING' THEN 1 WHEN 'EMAIL' THEN 2 WHEN 'VOICE' THEN 4 WHEN 'VIDEO' THEN 8
+            ELSE 0 END) |
+        (CASE interaction_medium2 WHEN 'MESSAGING' THEN 1 WHEN 'EMAIL' THEN 2 WHEN 'VOICE' THEN 4 WHEN 'VIDEO' THEN 8
+            ELSE 0 END) |
+        (CASE interaction_medium3 WHEN 'MESSAGING' THEN 1 WHEN 'EMAIL' THEN 2 WHEN 'VOICE' THEN 4 WHEN 'VIDEO' THEN 8
+            ELSE 0 END) |
+        (CASE interaction_medium4 WHEN 'MESSAGING' THEN 1 WHEN 'EMAIL' THEN 2 WHEN 'VOICE' THEN 4 WHEN 'VIDEO' THEN 8
+            ELSE 0 END)) STORED,
     CONSTRAINT interaction_pkey PRIMARY KEY (interaction_id),
     CONSTRAINT interaction_fkey FOREIGN KEY (interaction_id) REFERENCES bci_activity (bci_activity_id),
     CONSTRAINT interaction_initiator_role_fkey FOREIGN KEY (interaction_initiator_role_id) REFERENCES role (role_id)
@@ -831,6 +879,9 @@ CREATE TABLE IF NOT EXISTS assessment (
     CONSTRAINT assessment_self_relationship_fkey FOREIGN KEY (assessment_self_relationship_id) REFERENCES assessment (assessment_id)
 );
 
+ALTER TABLE patient_assessment ADD CONSTRAINT patient_assessment_assessment_fkey
+    FOREIGN KEY (patient_assessment_assessment_id) REFERENCES assessment (assessment_id) ON DELETE SET NULL;
+
 /***********************************************************************************************************************
 assessment_skill table: This is a junction table that represents a many-to-many relationship between assessment and skill.
 - Columns:
@@ -966,12 +1017,19 @@ bci referral table: This table stores information about bci referral.
   - bci_referral_professional: The professional who made the referral
   - bci_referral_interventionist: The interventionist that may be recommended by the referral
   - bci_referral_interventions: The list of bci instances
+  - bci_referral_target_bci_id: The behavior change intervention recipe in which the patient is to be enrolled
+  (optional, resolved from the assessment of the referral when null).
+  - bci_referral_status: The enrollment status (NEW, ENROLLED or FAILED).
+  - bci_referral_failure: The reason why the enrollment failed.
 - Constraints:
   - bci_referral_pkey: Establishes bci_referral_id as the primary key.
   - bci_referral_patient_assessment_fkey: Ensures that bci_referral_patient_assessment references a valid entry in the patient_assessment table.
   - bci_referral_professional_fkey: Ensures that bci_referral_professional references a valid entry in the healthcare_professional table.
   - bci_referral_interventionist_fkey: Ensures that bci_referral_interventionist references a valid entry in the healthcare_professional table.
   - bci_referral_interventions_fkey: Reference to bci_instance table for interventions
+  - bci_referral_target_bci_fkey: Ensures that bci_referral_target_bci_id references a valid behavior change intervention.
+- Indexes:
+  - bci_referral_new_idx: Finds the referrals waiting for the enrollment pipeline in the order of their ids.
 ***********************************************************************************************************************/
 CREATE TABLE IF NOT EXISTS bci_referral (
     bci_referral_id BIGSERIAL NOT NULL,
@@ -981,17 +1039,470 @@ CREATE TABLE IF NOT EXISTS bci_referral (
     bci_referral_patient_assessment BIGINT NOT NULL,
     bci_referral_professional BIGINT NOT NULL,
     bci_referral_interventionist BIGINT,
+    bci_referral_target_bci_id BIGINT,
+    bci_referral_status VARCHAR(8) NOT NULL DEFAULT 'NEW',
+    bci_referral_failure VARCHAR(256),
     CONSTRAINT bci_referral_pkey PRIMARY KEY (bci_referral_id),
     CONSTRAINT bci_referral_patient_fkey FOREIGN KEY (bci_referral_patient) REFERENCES patient (patient_id),
     CONSTRAINT bci_referral_patient_assessment_fkey FOREIGN KEY (bci_referral_patient_assessment) REFERENCES patient_assessment (patient_assessment_id),
     CONSTRAINT bci_referral_professional_fkey FOREIGN KEY (bci_referral_professional) REFERENCES healthcare_professional (healthcare_professional_id),
-    CONSTRAINT bci_referral_interventionist_fkey FOREIGN KEY (bci_referral_interventionist) REFERENCES healthcare_professional (healthcare_professional_id)
+    CONSTRAINT bci_referral_interventionist_fkey FOREIGN KEY (bci_referral_interventionist) REFERENCES healthcare_professional (healthcare_professional_id),
+    CONSTRAINT bci_referral_target_bci_fkey FOREIGN KEY (bci_referral_target_bci_id) REFERENCES behavior_change_intervention (behavior_change_intervention_id)
 );
 
+CREATE INDEX IF NOT EXISTS bci_referral_new_idx ON bci_referral (bci_referral_id) WHERE bci_referral_status = 'NEW';
+
 CREATE TABLE IF NOT EXISTS bci_referral_interventions (
     bci_referral_interventions_bci_id BIGINT NOT NULL,
     bci_referral_interventions_referral_id BIGINT NOT NULL,
     CONSTRAINT bci_referral_interventions_pk PRIMARY KEY (bci_referral_interventions_bci_id, bci_referral_interventions_referral_id),
     CONSTRAINT bci_referral_interventions_bci_fkey FOREIGN KEY (bci_referral_interventions_bci_id) REFERENCES bci_instance (bci_instance_id),
     CONSTRAINT bci_referral_interventions_referral_fkey FOREIGN KEY (bci_referral_interventions_referral_id) REFERENCES bci_referral (bci_referral_id)
-);
\ No newline at end of file
+);
+
+/***********************************************************************************************************************
+storage_blob table: This table stores the blobs of the content-addressed storage (BlobStorageService). Each file stored
+is identified by the SHA-256 of its content, so identical files are stored only once.
+- Columns:
+  - storage_blob_id: A unique identifier for each blob, auto-incremented.
+  - storage_blob_hash: The hexadecimal SHA-256 of the content of the blob, which is also its key in the blob store.
+  - storage_blob_size: The size of the blob in bytes.
+  - storage_blob_reference_count: The number of storage references to the blob. The blob is deleted when it reaches 0.
+- Constraints:
+  - storage_blob_pkey: Establishes storage_blob_id as the primary key.
+  - storage_blob_hash_ukey: Ensures that a content is stored only once.
+***********************************************************************************************************************/
+CREATE TABLE IF NOT EXISTS storage_blob (
+    storage_blob_id BIGSERIAL NOT NULL,
+    storage_blob_hash VARCHAR(64) NOT NULL,
+    storage_blob_size BIGINT NOT NULL,
+    storage_blob_reference_count INTEGER NOT NULL,
+    CONSTRAINT storage_blob_pkey PRIMARY KEY (storage_blob_id),
+    CONSTRAINT storage_blob_hash_ukey UNIQUE (storage_blob_hash)
+);
+
+/***********************************************************************************************************************
+storage_reference table: This table maps the files of the entities (e.g. content/1/video.mp4) to the blobs storing them.
+- Columns:
+  - storage_reference_id: A unique identifier for each reference, auto-incremented.
+  - storage_reference_location: The kind of entity owning the file (e.g. content).
+  - storage_reference_owner_id: The id of the entity owning the file.
+  - storage_reference_filename: The name of the file.
+  - storage_reference_blob_hash: A foreign key referencing the storage_blob_hash of the blob storing the file.
+- Constraints:
+  - storage_reference_pkey: Establishes storage_reference_id as the primary key.
+  - storage_reference_file_ukey: Ensures that an entity has only one file with a given name.
+  - storage_reference_blob_fkey: Ensures that storage_reference_blob_hash references a valid blob.
+***********************************************************************************************************************/
+CREATE TABLE IF NOT EXISTS storage_reference (
+    storage_reference_id BIGSERIAL NOT NULL,
+    storage_reference_location VARCHAR(128) NOT NULL,
+    storage_reference_owner_id VARCHAR(128) NOT NULL,
+    storage_reference_filename VARCHAR(256) NOT NULL,
+    storage_reference_blob_hash VARCHAR(64) NOT NULL,
+    CONSTRAINT storage_reference_pkey PRIMARY KEY (storage_reference_id),
+    CONSTRAINT storage_reference_file_ukey UNIQUE (storage_reference_location, storage_reference_owner_id, storage_reference_filename),
+    CONSTRAINT storage_reference_blob_fkey FOREIGN KEY (storage_reference_blob_hash) REFERENCES storage_blob (storage_blob_hash)
+);
+
+/***********************************************************************************************************************
+cohort_state table: The last known execution status of the phase and block instances of the intervention instances,
+  maintained by the CohortAnalyticsService to update the cohort counters incrementally.
+- Columns:
+  - cohort_state_instance_id: The id of the phase or block instance (activity_instance_id).
+  - cohort_state_bci_id: The behavior_change_intervention_id of its intervention instance.
+  - cohort_state_phase_id: The behavior_change_intervention_phase_id of its phase instance.
+  - cohort_state_block_id: The behavior_change_intervention_block_id of the block instance, 0 for a phase instance.
+  - cohort_state_status: The execution status.
+  - cohort_state_since: The time since which the instance has this status, in milliseconds since the epoch.
+- Constraints:
+  - cohort_state_pkey: Establishes cohort_state_instance_id as the primary key.
+***********************************************************************************************************************/
+CREATE TABLE IF NOT EXISTS cohort_state (
+    cohort_state_instance_id BIGINT NOT NULL,
+    cohort_state_bci_id BIGINT NOT NULL,
+    cohort_state_phase_id BIGINT NOT NULL,
+    cohort_state_block_id BIGINT NOT NULL,
+    cohort_state_status VARCHAR(12) NOT NULL,
+    cohort_state_since BIGINT NOT NULL,
+    CONSTRAINT cohort_state_pkey PRIMARY KEY (cohort_state_instance_id)
+);
+
+/***********************************************************************************************************************
+cohort_counter table: The number of phase and block instances per intervention, phase, block and execution status.
+  Each counter is striped over several slots, updated by the status changes of different instances, and summed when
+  read.
+- Columns:
+  - cohort_counter_bci_id, cohort_counter_phase_id, cohort_counter_block_id, cohort_counter_status: The counter key
+  (block 0 for the phase instances).
+  - cohort_counter_slot: The slot of the counter.
+  - cohort_counter_count: The count of the slot.
+- Constraints:
+  - cohort_counter_pkey: Establishes the counter key and the slot as the primary key.
+***********************************************************************************************************************/
+CREATE TABLE IF NOT EXISTS cohort_counter (
+    cohort_counter_bci_id BIGINT NOT NULL,
+    cohort_counter_phase_id BIGINT NOT NULL,
+    cohort_counter_block_id BIGINT NOT NULL,
+    cohort_counter_status VARCHAR(12) NOT NULL,
+    cohort_counter_slot SMALLINT NOT NULL,
+    cohort_counter_count BIGINT NOT NULL,
+    CONSTRAINT cohort_counter_pkey PRIMARY KEY (cohort_counter_bci_id, cohort_counter_phase_id, cohort_counter_block_id,
+        cohort_counter_status, cohort_counter_slot)
+);
+
+/***********************************************************************************************************************
+cohort_dwell table: The histograms of the time spent in each execution status by the phase and block instances, per
+  intervention, phase and block. The bucket n counts the stays of [2^(n-1), 2^n) milliseconds.
+- Columns:
+  - cohort_dwell_bci_id, cohort_dwell_phase_id, cohort_dwell_block_id, cohort_dwell_status: The histogram key.
+  - cohort_dwell_bucket: The histogram bucket.
+  - cohort_dwell_slot: The slot of the bucket.
+  - cohort_dwell_count: The number of stays.
+  - cohort_dwell_total_ms: The total duration of the stays, in milliseconds.
+- Constraints:
+  - cohort_dwell_pkey: Establishes the histogram key, the bucket and the slot as the primary key.
+***********************************************************************************************************************/
+CREATE TABLE IF NOT EXISTS cohort_dwell (
+    cohort_dwell_bci_id BIGINT NOT NULL,
+    cohort_dwell_phase_id BIGINT NOT NULL,
+    cohort_dwell_block_id BIGINT NOT NULL,
+    cohort_dwell_status VARCHAR(12) NOT NULL,
+    cohort_dwell_bucket SMALLINT NOT NULL,
+    cohort_dwell_slot SMALLINT NOT NULL,
+    cohort_dwell_count BIGINT NOT NULL,
+    cohort_dwell_total_ms BIGINT NOT NULL,
+    CONSTRAINT cohort_dwell_pkey PRIMARY KEY (cohort_dwell_bci_id, cohort_dwell_phase_id, cohort_dwell_block_id,
+        cohort_dwell_status, cohort_dwell_bucket, cohort_dwell_slot)
+);
+
+/***********************************************************************************************************************
+activity_transition table: The append-only log of the execution status transitions of the intervention, phase and block
+  instances, written by the ActivityTransitionService and, for the initial transitions of the trees it creates, by the
+  referral enrollment. The table is partitioned by month on the transition time: the monthly partitions
+  (activity_transition_yYYYYmMM) are created ahead by the service, and the default partition only receives the rows
+  outside them.
+- Columns:
+  - activity_transition_id: Unique identifier of the transition.
+  - activity_transition_instance_id: The id of the instance (activity_instance_id); no foreign key, the log outlives
+  the instances.
+  - activity_transition_type: The type of the instance (INTERVENTION, PHASE or BLOCK).
+  - activity_transition_from_status: The previous execution status, null for the first transition of the instance.
+  - activity_transition_to_status: The new execution status.
+  - activity_transition_entry_date, activity_transition_exit_date: The entry and exit dates of the instance.
+  - activity_transition_at: The time of the transition.
+- Constraints:
+  - activity_transition_pkey: Establishes the id and the time (the partition key) as the primary key.
+- Indexes:
+  - activity_transition_instance_idx: The transitions of an instance in time order (state at a time, history).
+  - activity_transition_at_idx: The transitions in a time range.
+***********************************************************************************************************************/
+CREATE TABLE IF NOT EXISTS activity_transition (
+    activity_transition_id BIGSERIAL NOT NULL,
+    activity_transition_instance_id BIGINT NOT NULL,
+    activity_transition_type VARCHAR(12) NOT NULL,
+    activity_transition_from_status VARCHAR(12),
+    activity_transition_to_status VARCHAR(12) NOT NULL,
+    activity_transition_entry_date DATE,
+    activity_transition_exit_date DATE,
+    activity_transition_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    CONSTRAINT activity_transition_pkey PRIMARY KEY (activity_transition_id, activity_transition_at)
+) PARTITION BY RANGE (activity_transition_at);
+
+CREATE TABLE IF NOT EXISTS activity_transition_default PARTITION OF activity_transition DEFAULT;
+
+CREATE INDEX IF NOT EXISTS activity_transition_instance_idx ON activity_transition (activity_transition_instance_id,
+    activity_transition_at);
+CREATE INDEX IF NOT EXISTS activity_transition_at_idx ON activity_transition (activity_transition_at);
+
+/***********************************************************************************************************************
+bci_archive table: The finished intervention instance trees moved out of the instance tables by the
+  InterventionArchiveService, one row (and one JSON document) per tree. The table is partitioned by month on the exit
+  date of the intervention instances: the partitions (bci_archive_yYYYYmMM) are created by the archiver for the months
+  it archives.
+- Columns:
+  - bci_archive_id: The id of the intervention instance (bci_instance_id).
+  - bci_archive_patient_id: The patient_id of the intervention instance.
+  - bci_archive_bci_id: The behavior_change_intervention_id of the intervention instance.
+  - bci_archive_exit_date: The exit date of the intervention instance.
+  - bci_archive_archived_at: The time of the archival.
+  - bci_archive_tree: The intervention instance, its phase instances and their block instances, with the ids of their
+  referrals, module instances and activity instances (JSON document, compressed by TOAST).
+- Constraints:
+  - bci_archive_pkey: Establishes the id and the exit date (the partition key) as the primary key.
+- Indexes:
+  - bci_archive_patient_idx: The archived trees of a patient.
+***********************************************************************************************************************/
+CREATE TABLE IF NOT EXISTS bci_archive (
+    bci_archive_id BIGINT NOT NULL,
+    bci_archive_patient_id BIGINT NOT NULL,
+    bci_archive_bci_id BIGINT NOT NULL,
+    bci_archive_exit_date DATE NOT NULL,
+    bci_archive_archived_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    bci_archive_tree JSONB NOT NULL,
+    CONSTRAINT bci_archive_pkey PRIMARY KEY (bci_archive_id, bci_archive_exit_date)
+) PARTITION BY RANGE (bci_archive_exit_date);
+
+CREATE INDEX IF NOT EXISTS bci_archive_patient_idx ON bci_archive (bci_archive_patient_id);
+
+/***********************************************************************************************************************
+bci_archive_instance table: The archived intervention, phase and block instances, with the archived tree they belong
+  to, so a lookup by id reads a single partition of bci_archive.
+- Columns:
+  - bci_archive_instance_id: The id of the archived instance (activity_instance_id).
+  - bci_archive_instance_root_id: The id of the intervention instance of its tree (bci_archive_id).
+  - bci_archive_instance_exit_date: The exit date of the tree (bci_archive_exit_date).
+- Constraints:
+  - bci_archive_instance_pkey: Establishes bci_archive_instance_id as the primary key.
+- Indexes:
+  - bci_archive_instance_root_idx: The instances of a tree.
+***********************************************************************************************************************/
+CREATE TABLE IF NOT EXISTS bci_archive_instance (
+    bci_archive_instance_id BIGINT NOT NULL,
+    bci_archive_instance_root_id BIGINT NOT NULL,
+    bci_archive_instance_exit_date DATE NOT NULL,
+    CONSTRAINT bci_archive_instance_pkey PRIMARY KEY (bci_archive_instance_id)
+);
+
+CREATE INDEX IF NOT EXISTS bci_archive_instance_root_idx ON bci_archive_instance (bci_archive_instance_root_id);
+
+/***********************************************************************************************************************
+activity_instance_finished_idx: The finished activity instances by exit date, read by the archiver to find the trees
+  to archive.
+***********************************************************************************************************************/
+CREATE INDEX IF NOT EXISTS activity_instance_finished_idx ON activity_instance (activity_instance_exit_date)
+    WHERE activity_instance_status = 'FINISHED';
+
+/***********************************************************************************************************************
+performance_sample_chunk table: The behavior performance samples of the BehaviorPerformanceInstances (e.g. the steps
+  measured by a wearable), written by the PerformanceSampleService by chunks of at most 1024 samples within a month,
+  encoded as zigzag varint deltas of the times and of the fixed-point values (SampleCodec). The table is partitioned by
+  month on the time of the first sample: the monthly partitions (performance_sample_chunk_yYYYYmMM) are created ahead
+  by the service, and the default partition only receives the rows outside them.
+- Columns:
+  - performance_sample_chunk_id: Unique identifier of the chunk.
+  - performance_sample_chunk_instance_id: The id of the BehaviorPerformanceInstance (no foreign key on the partitions).
+  - performance_sample_chunk_start, performance_sample_chunk_end: The times of the first and last samples.
+  - performance_sample_chunk_count: The number of samples.
+  - performance_sample_chunk_data: The encoded samples.
+- Constraints:
+  - performance_sample_chunk_pkey: Establishes the id and the start (the partition key) as the primary key.
+- Indexes:
+  - performance_sample_chunk_instance_idx: The chunks of an instance in time order.
+***********************************************************************************************************************/
+CREATE TABLE IF NOT EXISTS performance_sample_chunk (
+    performance_sample_chunk_id BIGSERIAL NOT NULL,
+    performance_sample_chunk_instance_id BIGINT NOT NULL,
+    performance_sample_chunk_start TIMESTAMP WITH TIME ZONE NOT NULL,
+    performance_sample_chunk_end TIMESTAMP WITH TIME ZONE NOT NULL,
+    performance_sample_chunk_count INT NOT NULL,
+    performance_sample_chunk_data BYTEA NOT NULL,
+    CONSTRAINT performance_sample_chunk_pkey PRIMARY KEY (performance_sample_chunk_id, performance_sample_chunk_start)
+) PARTITION BY RANGE (performance_sample_chunk_start);
+
+CREATE TABLE IF NOT EXISTS performance_sample_chunk_default PARTITION OF performance_sample_chunk DEFAULT;
+
+CREATE INDEX IF NOT EXISTS performance_sample_chunk_instance_idx ON performance_sample_chunk
+    (performance_sample_chunk_instance_id, performance_sample_chunk_start);
+
+/***********************************************************************************************************************
+performance_rollup table: The hourly and daily aggregates of the behavior performance samples, incremented by the
+  PerformanceSampleService with the samples it ingests.
+- Columns:
+  - performance_rollup_instance_id: The id of the BehaviorPerformanceInstance.
+  - performance_rollup_granularity: HOUR or DAY.
+  - performance_rollup_bucket: The start of the hour or day (UTC).
+  - performance_rollup_count, performance_rollup_sum, performance_rollup_min, performance_rollup_max: The aggregates of
+  the samples of the hour or day.
+- Constraints:
+  - performance_rollup_pkey: Establishes the instance, the granularity and the bucket as the primary key.
+***********************************************************************************************************************/
+CREATE TABLE IF NOT EXISTS performance_rollup (
+    performance_rollup_instance_id BIGINT NOT NULL,
+    performance_rollup_granularity VARCHAR(5) NOT NULL,
+    performance_rollup_bucket TIMESTAMP WITH TIME ZONE NOT NULL,
+    performance_rollup_count BIGINT NOT NULL,
+    performance_rollup_sum DOUBLE PRECISION NOT NULL,
+    performance_rollup_min DOUBLE PRECISION NOT NULL,
+    performance_rollup_max DOUBLE PRECISION NOT NULL,
+    CONSTRAINT performance_rollup_pkey PRIMARY KEY (performance_rollup_instance_id, performance_rollup_granularity,
+        performance_rollup_bucket)
+);
+
+/***********************************************************************************************************************
+performance_sample_batch table: The keys of the batches of samples ingested by the PerformanceSampleService, so a
+  retried batch is not added to the rollups twice. The keys are deleted after evo.samples.batch-key-retention.
+- Columns:
+  - performance_sample_batch_instance_id: The id of the BehaviorPerformanceInstance.
+  - performance_sample_batch_digest: The SHA-256 digest (hex) of the times and values of the batch.
+  - performance_sample_batch_ingested_at: The time of the ingestion.
+- Constraints:
+  - performance_sample_batch_pkey: Establishes the instance and the digest as the primary key.
+- Indexes:
+  - performance_sample_batch_ingested_at_idx: The keys to delete.
+***********************************************************************************************************************/
+CREATE TABLE IF NOT EXISTS performance_sample_batch (
+    performance_sample_batch_instance_id BIGINT NOT NULL,
+    performance_sample_batch_digest VARCHAR(64) NOT NULL,
+    performance_sample_batch_ingested_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT now(),
+    CONSTRAINT performance_sample_batch_pkey PRIMARY KEY (performance_sample_batch_instance_id,
+        performance_sample_batch_digest)
+);
+
+CREATE INDEX IF NOT EXISTS performance_sample_batch_ingested_at_idx ON performance_sample_batch
+    (performance_sample_batch_ingested_at);
+
+/***********************************************************************************************************************
+goal_attainment table: The progress of the evaluated goal setting instances, incremented by the GoalAttainmentService
+  with the behavior performance samples of their concerned activity.
+- Columns:
+  - goal_attainment_goal_instance_id: The id of the GoalSettingInstance.
+  - goal_attainment_progress: The total of the samples since the entry date of the goal.
+  - goal_attainment_count: The number of samples since the entry date of the goal.
+  - goal_attainment_level: The number of quarters of the target reached, from 0 to 4.
+  - goal_attainment_updated_at: The time of the last progress.
+- Constraints:
+  - goal_attainment_pkey: Primary key for this table.
+  - goal_attainment_goal_instance_fkey: Ensures that goal_attainment_goal_instance_id references a valid record in the
+  goal_setting_instance table.
+***********************************************************************************************************************/
+CREATE TABLE IF NOT EXISTS goal_attainment (
+    goal_attainment_goal_instance_id BIGINT NOT NULL,
+    goal_attainment_progress DOUBLE PRECISION NOT NULL,
+    goal_attainment_count BIGINT NOT NULL,
+    goal_attainment_level SMALLINT NOT NULL DEFAULT 0,
+    goal_attainment_updated_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT now(),
+    CONSTRAINT goal_attainment_pkey PRIMARY KEY (goal_attainment_goal_instance_id),
+    CONSTRAINT goal_attainment_goal_instance_fkey FOREIGN KEY (goal_attainment_goal_instance_id)
+        REFERENCES goal_setting_instance (goal_setting_instance_id)
+);
+
+/***********************************************************************************************************************
+reporting_reminder table: The next due time of the reports of the Reporting activity instances, maintained by the
+  ReportingReminderService.
+- Columns:
+  - reporting_reminder_instance_id: The id of the BCIActivityInstance of the Reporting.
+  - reporting_reminder_due_at: The due time of the next report, null if the instance has no report to schedule (its
+  frequency is not a schedule, or all its reports are done), so that the scan of the new instances skips it.
+- Constraints:
+  - reporting_reminder_pkey: Primary key for this table.
+  - reporting_reminder_instance_fkey: Ensures that reporting_reminder_instance_id references a valid record in the
+  bci_activity_instance table.
+- Indexes:
+  - reporting_reminder_due_idx: Serves the claims of the due reminders, the most overdue first.
+***********************************************************************************************************************/
+CREATE TABLE IF NOT EXISTS reporting_reminder (
+    reporting_reminder_instance_id BIGINT NOT NULL,
+    reporting_reminder_due_at TIMESTAMP WITH TIME ZONE,
+    CONSTRAINT reporting_reminder_pkey PRIMARY KEY (reporting_reminder_instance_id),
+    CONSTRAINT reporting_reminder_instance_fkey FOREIGN KEY (reporting_reminder_instance_id)
+        REFERENCES bci_activity_instance (bci_activity_instance_id)
+);
+
+CREATE INDEX IF NOT EXISTS reporting_reminder_due_idx ON reporting_reminder (reporting_reminder_due_at)
+    WHERE reporting_reminder_due_at IS NOT NULL;
+
+/***********************************************************************************************************************
+scheduler_cursor table: The persisted positions of the scans of the schedulers, so that a restart resumes a scan.
+- Columns:
+  - scheduler_cursor_name: The name of the scan.
+  - scheduler_cursor_position: The last id scanned.
+  - scheduler_cursor_updated_at: The time of the last move of the cursor.
+- Constraints:
+  - scheduler_cursor_pkey: Primary key for this table.
+***********************************************************************************************************************/
+CREATE TABLE IF NOT EXISTS scheduler_cursor (
+    scheduler_cursor_name VARCHAR(64) NOT NULL,
+    scheduler_cursor_position BIGINT NOT NULL,
+    scheduler_cursor_updated_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT now(),
+    CONSTRAINT scheduler_cursor_pkey PRIMARY KEY (scheduler_cursor_name)
+);
+
+/***********************************************************************************************************************
+Search indexes: trigram GIN indexes (pg_trgm extension) on the lower case names searched by the SearchRepository. They
+serve both the substring matches (LIKE '%term%') and the typo-tolerant matches (word similarity, term <% name) of the
+unified search, so a query only reads the matching rows.
+- Indexes:
+  - <table>_<column>_trgm_idx: Indexes the trigrams of lower(<column>).
+***********************************************************************************************************************/
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS actor_actor_name_trgm_idx ON actor USING GIN (lower(actor_name) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS healthcare_professional_specialties_trgm_idx ON healthcare_professional
+    USING GIN (lower(healthcare_professional_specialties) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS content_content_name_trgm_idx ON content USING GIN (lower(content_name) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS bci_activity_name_trgm_idx ON bci_activity USING GIN (lower(bci_activity_name) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS bci_module_name_trgm_idx ON bci_module USING GIN (lower(bci_module_name) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS behavior_change_intervention_name_trgm_idx ON behavior_change_intervention
+    USING GIN (lower(behavior_change_intervention_name) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS skill_name_trgm_idx ON skill USING GIN (lower(skill_name) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS role_role_name_trgm_idx ON role USING GIN (lower(role_name) gin_trgm_ops);
+
+/***********************************************************************************************************************
+Query indexes: B-tree indexes on the columns filtered by the query endpoints (EvoFilter) of the interactions, the
+assessments and the patients, so that any combination of filters is answered by a bitmap AND/OR of index scans. The
+name filters are served by the trigram indexes above.
+- Indexes:
+  - <table>_<column>_idx: Indexes <column>.
+***********************************************************************************************************************/
+CREATE INDEX IF NOT EXISTS bci_activity_type_idx ON bci_activity (bci_activity_type);
+CREATE INDEX IF NOT EXISTS interaction_mode_idx ON interaction (interaction_mode);
+CREATE INDEX IF NOT EXISTS interaction_initiator_role_idx ON interaction (interaction_initiator_role_id);
+CREATE INDEX IF NOT EXISTS interaction_media_idx ON interaction (interaction_media);
+CREATE INDEX IF NOT EXISTS assessment_assessee_role_idx ON assessment (assessment_assessee_role_id);
+CREATE INDEX IF NOT EXISTS assessment_assessor_role_idx ON assessment (assessment_assessor_role_id);
+CREATE INDEX IF NOT EXISTS assessment_scale_idx ON assessment (assessment_scale);
+CREATE INDEX IF NOT EXISTS patient_occupation_idx ON patient (patient_occupation);
+
+/***********************************************************************************************************************
+Patient dashboard indexes: the rows of a patient, most recent first, read by the PatientDashboardRepository, and the
+reverse lookups of the instance junction tables (from a phase, block or activity instance to its intervention instance).
+- Indexes:
+  - <table>_<column>_idx: Indexes <column>.
+***********************************************************************************************************************/
+CREATE INDEX IF NOT EXISTS patient_assessment_patient_idx ON patient_assessment (patient_assessment_patient,
+    patient_assessment_date DESC, patient_assessment_id DESC);
+CREATE INDEX IF NOT EXISTS bci_referral_patient_idx ON bci_referral (bci_referral_patient, bci_referral_date DESC,
+    bci_referral_id DESC);
+CREATE INDEX IF NOT EXISTS bci_instance_patient_idx ON bci_instance (bci_instance_patient_id);
+CREATE INDEX IF NOT EXISTS bci_instance_activities_phase_idx ON bci_instance_activities (bci_instance_activities_phase_id);
+CREATE INDEX IF NOT EXISTS bci_phase_instance_activities_block_idx ON bci_phase_instance_activities
+    (bci_phase_instance_activities_block_id);
+CREATE INDEX IF NOT EXISTS bci_block_instance_activities_activity_idx ON bci_block_instance_activities
+    (bci_block_instance_activities_activity_id);
+
+/***********************************************************************************************************************
+recipe_import table: This table maps the nodes imported from the recipe bundles of other servers to the rows created for
+them, so that importing a bundle again updates the same rows.
+- Columns:
+  - recipe_import_origin: The server that exported the bundle.
+  - recipe_import_section: The section of the node in the bundle (e.g. "activities").
+  - recipe_import_source_id: The id of the node on the origin server.
+  - recipe_import_target_id: The id of the row on this server.
+- Constraints:
+  - recipe_import_pkey: Declares the origin, the section and the source id as the primary key.
+***********************************************************************************************************************/
+CREATE TABLE IF NOT EXISTS recipe_import (
+    recipe_import_origin VARCHAR(128) NOT NULL,
+    recipe_import_section VARCHAR(16) NOT NULL,
+    recipe_import_source_id BIGINT NOT NULL,
+    recipe_import_target_id BIGINT NOT NULL,
+    CONSTRAINT recipe_import_pkey PRIMARY KEY (recipe_import_origin, recipe_import_section, recipe_import_source_id)
+);
+
+/***********************************************************************************************************************
+cluster_node table: This table holds the leases of the application nodes that share the ownership of the intervention
+instances. A node renews its lease at each heartbeat, and the nodes whose lease expired leave the hash ring.
+- Columns:
+  - cluster_node_id: The id of the node (evo.cluster.node-id).
+  - cluster_node_url: The base URL at which the other nodes forward the requests of its intervention instances.
+  - cluster_node_lease_until: The end of the lease of the node, on the clock of the database.
+- Constraints:
+  - cluster_node_pkey: Declares the node id as the primary key.
+***********************************************************************************************************************/
+CREATE TABLE IF NOT EXISTS cluster_node (
+    cluster_node_id VARCHAR(128) NOT NULL,
+    cluster_node_url VARCHAR(256) NOT NULL,
+    cluster_node_lease_until TIMESTAMP WITH TIME ZONE NOT NULL,
+    CONSTRAINT cluster_node_pkey PRIMARY KEY (cluster_node_id)
+);
@@ -0,0 +1,245 @@
+package ca.uqam.latece.evo.server.core.config;
+
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests the AdmissionControlFilter and compares, on a simulated connection pool (a Semaphore and a sleep), the platform
+ * worker pool with the virtual-thread mode guarded by the filter. The comparison only asserts correctness; its
+ * throughput and latencies are those of the simulation, not a measurement of Evo (see PatientJourneyLoadTest).
+ *
+ * @version 1.0
+ * @author Edilton Lima dos Santos.
+ */
+public class AdmissionControlFilterTest {
+    private static final Logger logger = LoggerFactory.getLogger(AdmissionControlFilterTest.class);
+
+    private static final int POOL_SIZE = 10;
+    private static final int TOMCAT_MAX_THREADS = 200;
+    private static final int REQUESTS = 1000;
+    private static final long QUERY_TIME_MS = 5;
+
+    @Test
+    void rejectsInvalidMaxConcurrentRequests() {
+        assertThatThrownBy(() -> new AdmissionControlFilter(0, 1000, List.of()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void admitsRequestAndReleasesPermit() throws Exception {
+        AdmissionControlFilter filter = new AdmissionControlFilter(2, 100, List.of());
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/skills"), response, chain);
+
+        assertThat(chain.getRequest()).isNotNull();
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.OK.value());
+        assertThat(filter.getAvailablePermits()).isEqualTo(2);
+    }
+
+    @Test
+    void releasesPermitWhenChainFails() {
+        AdmissionControlFilter filter = new AdmissionControlFilter(1, 100, List.of());
+        FilterChain failingChain = (request, response) -> {
+            throw new IllegalStateException("Failure");
+        };
+
+        assertThatThrownBy(() -> filter.doFilter(new MockHttpServletRequest("GET", "/skills"),
+                new MockHttpServletResponse(), failingChain)).isInstanceOf(IllegalStateException.class);
+        assertThat(filter.getAvailablePermits()).isEqualTo(1);
+    }
+
+    @Test
+    void rejectsRequestWhenNoPermitIsAvailable() throws Exception {
+        AdmissionControlFilter filter = new AdmissionControlFilter(1, 50, List.of());
+        CountDownLatch inside = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Thread holder = Thread.ofVirtual().start(() -> {
+            try {
+                filter.doFilter(new MockHttpServletRequest("GET", "/skills"), new MockHttpServletResponse(),
+                        (request, response) -> {
+                            inside.countDown();
+                            try {
+                                release.await();
+                            } catch (InterruptedException e) {
+                                Thread.currentThread().interrupt();
+                            }
+                        });
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+        });
+
+        assertThat(inside.await(5, TimeUnit.SECONDS)).isTrue();
+
+        MockHttpServletResponse rejected = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(new MockHttpServletRequest("GET", "/skills"), rejected, chain);
+
+        assertThat(rejected.getStatus()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE.value());
+        assertThat(rejected.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+        assertThat(chain.getRequest()).isNull();
+
+        release.countDown();
+        holder.join();
+        assertThat(filter.getAvailablePermits()).isEqualTo(1);
+    }
+
+    @Test
+    void exemptPathsRunWithoutPermit() throws Exception {
+        AdmissionControlFilter filter = new AdmissionControlFilter(1, 50,
+                List.of("/actuator/**", "/contents/uploads/**"));
+        CountDownLatch inside = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        // A slow upload chunk does not take the permit.
+        Thread upload = Thread.ofVirtual().start(() -> {
+            try {
+                filter.doFilter(new MockHttpServletRequest("PATCH", "/contents/uploads/42"),
+                        new MockHttpServletResponse(), (request, response) -> {
+                            inside.countDown();
+                            try {
+                                release.await();
+                            } catch (InterruptedException e) {
+                                Thread.currentThread().interrupt();
+                            }
+                        });
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+        });
+
+        assertThat(inside.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(filter.getAvailablePermits()).isEqualTo(1);
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(new MockHttpServletRequest("GET", "/skills"), response, chain);
+        assertThat(chain.getRequest()).isNotNull();
+
+        release.countDown();
+        upload.join();
+    }
+
+    @Test
+    void compareWorkerPoolWithVirtualThreads() throws Exception {
+        Semaphore connections = new Semaphore(POOL_SIZE, true);
+        AtomicInteger maxWaitingOnPool = new AtomicInteger();
+
+        // Baseline: Tomcat worker pool, every worker blocks on the connection pool.
+        LoadResult platform;
+        try (ExecutorService executor = Executors.newFixedThreadPool(TOMCAT_MAX_THREADS)) {
+            platform = run("platform-200", executor, () -> simulateQuery(connections, maxWaitingOnPool));
+        }
+        int platformMaxWaiting = maxWaitingOnPool.getAndSet(0);
+
+        // Virtual threads guarded by the admission filter sized on the connection pool.
+        AdmissionControlFilter filter = new AdmissionControlFilter(POOL_SIZE, 30000, List.of());
+        LoadResult virtual;
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            virtual = run("virtual+admission", executor, () -> {
+                MockHttpServletResponse response = new MockHttpServletResponse();
+                filter.doFilter(new MockHttpServletRequest("PUT", "/bciactivityinstance/clientupdate/FINISH"),
+                        response, (req, res) -> simulateQuery(connections, maxWaitingOnPool));
+                return response.getStatus();
+            });
+        }
+        int virtualMaxWaiting = maxWaitingOnPool.get();
+
+        logger.info("{} (max waiting on connection pool: {})", platform, platformMaxWaiting);
+        logger.info("{} (max waiting on connection pool: {})", virtual, virtualMaxWaiting);
+
+        assertThat(platform.errors()).isZero();
+        assertThat(virtual.errors()).isZero();
+        // With admission control, requests queue on the filter instead of inside the connection pool.
+        assertThat(virtualMaxWaiting).isZero();
+        assertThat(filter.getAvailablePermits()).isEqualTo(POOL_SIZE);
+    }
+
+    private int simulateQuery(Semaphore connections, AtomicInteger maxWaitingOnPool) {
+        maxWaitingOnPool.accumulateAndGet(connections.getQueueLength(), Math::max);
+
+        try {
+            connections.acquire();
+            try {
+                Thread.sleep(QUERY_TIME_MS);
+            } finally {
+                connections.release();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return HttpStatus.INTERNAL_SERVER_ERROR.value();
+        }
+
+        return HttpStatus.OK.value();
+    }
+
+    private LoadResult run(String name, ExecutorService executor, LoadTask task) throws Exception {
+        List<Long> latencies = Collections.synchronizedList(new ArrayList<>());
+        List<Future<Integer>> futures = new ArrayList<>();
+        long start = System.nanoTime();
+
+        for (int i = 0; i < REQUESTS; i++) {
+            futures.add(executor.submit(() -> {
+                long begin = System.nanoTime();
+                int status = task.execute();
+                latencies.add(System.nanoTime() - begin);
+                return status;
+            }));
+        }
+
+        int errors = 0;
+        for (Future<Integer> future : futures) {
+            if (future.get() != HttpStatus.OK.value()) {
+                errors++;
+            }
+        }
+
+        long elapsed = System.nanoTime() - start;
+        List<Long> sorted = new ArrayList<>(latencies);
+        Collections.sort(sorted);
+        return new LoadResult(name, REQUESTS / (elapsed / 1_000_000_000.0), percentile(sorted, 0.50),
+                percentile(sorted, 0.99), errors);
+    }
+
+    private static double percentile(List<Long> sorted, double percentile) {
+        int index = (int) Math.ceil(percentile * sorted.size()) - 1;
+        return sorted.get(Math.max(index, 0)) / 1_000_000.0;
+    }
+
+    @FunctionalInterface
+    private interface LoadTask {
+        int execute() throws Exception;
+    }
+
+    private record LoadResult(String name, double throughput, double p50Ms, double p99Ms, int errors) {
+        @Override
+        public String toString() {
+            return String.format("%s: %.0f req/s, p50=%.1f ms, p99=%.1f ms, errors=%d", name, throughput, p50Ms,
+                    p99Ms, errors);
+        }
+    }
+}
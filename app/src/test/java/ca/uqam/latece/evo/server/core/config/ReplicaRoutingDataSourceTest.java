@@ -0,0 +1,104 @@
+package ca.uqam.latece.evo.server.core.config;
+
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests the ReplicaRoutingDataSource with mocked primary and replica DataSources reporting their replication lag.
+ * @version 1.0
+ * @author Edilton Lima dos Santos.
+ */
+public class ReplicaRoutingDataSourceTest {
+    private static final Duration MAX_LAG = Duration.ofSeconds(10);
+
+    @Test
+    void rejectsNegativeMaxLag() {
+        assertThatThrownBy(() -> new ReplicaRoutingDataSource(mock(DataSource.class), List.of(), Duration.ofSeconds(-1)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void usesPrimaryBeforeFirstCheck() throws Exception {
+        DataSource primary = dataSource(0);
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primary, List.of(dataSource(0)), MAX_LAG);
+
+        assertThat(routing.getConnection()).isSameAs(primary.getConnection());
+    }
+
+    @Test
+    void routesToReplicasInTurn() throws Exception {
+        DataSource primary = dataSource(0);
+        DataSource first = dataSource(0);
+        DataSource second = dataSource(2.5);
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primary, List.of(first, second), MAX_LAG);
+
+        routing.checkReplicas();
+
+        assertThat(routing.getUsableReplicaCount()).isEqualTo(2);
+        assertThat(routing.getConnection()).isSameAs(first.getConnection());
+        assertThat(routing.getConnection()).isSameAs(second.getConnection());
+        assertThat(routing.getConnection()).isSameAs(first.getConnection());
+    }
+
+    @Test
+    void leavesOutLaggingAndUnknownReplicas() throws Exception {
+        DataSource primary = dataSource(0);
+        DataSource lagging = dataSource(30);
+        DataSource unknown = dataSource(Double.NaN);
+        DataSource current = dataSource(0);
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primary, List.of(lagging, unknown, current),
+                MAX_LAG);
+
+        routing.checkReplicas();
+
+        assertThat(routing.getUsableReplicaCount()).isEqualTo(1);
+        assertThat(routing.getConnection()).isSameAs(current.getConnection());
+        assertThat(routing.getConnection()).isSameAs(current.getConnection());
+    }
+
+    @Test
+    void fallsBackToPrimaryWhenReplicasFail() throws Exception {
+        DataSource primary = dataSource(0);
+        DataSource replica = dataSource(0);
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primary, List.of(replica), MAX_LAG);
+
+        routing.checkReplicas();
+        when(replica.getConnection()).thenThrow(new SQLException("Connection refused"));
+
+        assertThat(routing.getConnection()).isSameAs(primary.getConnection());
+        assertThat(routing.getUsableReplicaCount()).isZero();
+
+        routing.checkReplicas();
+        assertThat(routing.getUsableReplicaCount()).isZero();
+    }
+
+    /**
+     * A DataSource whose connections report a replication lag (NaN for an unknown lag).
+     */
+    private static DataSource dataSource(double lagSeconds) throws SQLException {
+        DataSource dataSource = mock(DataSource.class);
+        Connection connection = mock(Connection.class);
+        Statement statement = mock(Statement.class);
+        ResultSet resultSet = mock(ResultSet.class);
+
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.createStatement()).thenReturn(statement);
+        when(statement.executeQuery(ReplicaRoutingDataSource.LAG_QUERY)).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true);
+        when(resultSet.getDouble(1)).thenReturn(Double.isNaN(lagSeconds) ? 0 : lagSeconds);
+        when(resultSet.wasNull()).thenReturn(Double.isNaN(lagSeconds));
+        return dataSource;
+    }
+}
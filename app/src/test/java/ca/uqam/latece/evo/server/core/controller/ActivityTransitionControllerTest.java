@@ -0,0 +1,96 @@
+package ca.uqam.latece.evo.server.core.controller;
+
+import ca.uqam.latece.evo.server.core.controller.instance.ActivityTransitionController;
+import ca.uqam.latece.evo.server.core.repository.instance.ActivityTransitionRepository;
+import ca.uqam.latece.evo.server.core.response.ActivityTransition;
+import ca.uqam.latece.evo.server.core.service.instance.ActivityTransitionService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The Activity Transition Controller test class for the {@link ActivityTransitionController}, responsible for testing
+ * the time-travel queries over the transition log, with a mocked ActivityTransitionRepository.
+ * @version 1.0
+ * @author Edilton Lima dos Santos.
+ */
+@WebMvcTest(controllers = ActivityTransitionController.class)
+@ContextConfiguration(classes = {ActivityTransitionController.class, ActivityTransitionService.class})
+public class ActivityTransitionControllerTest {
+    private static final Instant SUSPENDED_AT = Instant.parse("2025-03-01T12:00:00Z");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private ActivityTransitionRepository activityTransitionRepository;
+
+    private final ActivityTransition suspended = new ActivityTransition(7L, 21L, "BLOCK", "IN_PROGRESS", "SUSPENDED",
+            LocalDate.of(2025, 2, 1), null, SUSPENDED_AT);
+
+    @Test
+    void testFindStateAt() throws Exception {
+        Instant at = Instant.parse("2025-03-02T00:00:00Z");
+        when(activityTransitionRepository.findStateAt(21L, at)).thenReturn(suspended);
+
+        mockMvc.perform(get("/activitytransition/state/21").param("at", "2025-03-02T00:00:00Z"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.instanceId").value(21))
+                .andExpect(jsonPath("$.toStatus").value("SUSPENDED"))
+                .andExpect(jsonPath("$.entryDate").value("2025-02-01"))
+                .andExpect(jsonPath("$.at").value("2025-03-01T12:00:00Z"));
+
+        mockMvc.perform(get("/activitytransition/state/21").param("at", "2025-01-01T00:00:00Z"))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/activitytransition/state/21").param("at", "yesterday"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testFindHistory() throws Exception {
+        Instant from = Instant.parse("2025-03-01T00:00:00Z");
+        Instant to = Instant.parse("2025-04-01T00:00:00Z");
+        when(activityTransitionRepository.findHistory(21L, from, to)).thenReturn(List.of(suspended));
+
+        mockMvc.perform(get("/activitytransition/history/21")
+                        .param("from", "2025-03-01T00:00:00Z").param("to", "2025-04-01T00:00:00Z"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].fromStatus").value("IN_PROGRESS"));
+
+        mockMvc.perform(get("/activitytransition/history/22")
+                        .param("from", "2025-03-01T00:00:00Z").param("to", "2025-04-01T00:00:00Z"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void testFindTransitions() throws Exception {
+        when(activityTransitionRepository.findTransitions(Instant.parse("2025-03-01T00:00:00Z"),
+                Instant.parse("2025-03-02T00:00:00Z"), "SUSPENDED", 100)).thenReturn(List.of(suspended));
+
+        mockMvc.perform(get("/activitytransition/find").param("from", "2025-03-01T00:00:00Z")
+                        .param("to", "2025-03-02T00:00:00Z").param("status", "SUSPENDED").param("limit", "100"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(7));
+
+        mockMvc.perform(get("/activitytransition/find").param("from", "2025-03-02T00:00:00Z")
+                        .param("to", "2025-03-01T00:00:00Z"))
+                .andExpect(status().isBadRequest());
+        verify(activityTransitionRepository).findTransitions(any(), any(), any(), anyInt());
+    }
+}
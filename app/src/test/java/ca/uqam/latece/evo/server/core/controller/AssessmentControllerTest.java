@@ -18,10 +18,12 @@ import ca.uqam.latece.evo.server.core.repository.BehaviorChangeInterventionBlock
 import ca.uqam.latece.evo.server.core.repository.ComposedOfRepository;
 import ca.uqam.latece.evo.server.core.repository.ContentRepository;
 import ca.uqam.latece.evo.server.core.repository.DevelopsRepository;
+import ca.uqam.latece.evo.server.core.repository.EvoQueryRepository;
 import ca.uqam.latece.evo.server.core.repository.RequiresRepository;
 import ca.uqam.latece.evo.server.core.repository.RoleRepository;
 import ca.uqam.latece.evo.server.core.repository.SkillRepository;
 import ca.uqam.latece.evo.server.core.service.AssessmentService;
+import ca.uqam.latece.evo.server.core.service.EvoQueryService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
@@ -29,9 +31,17 @@ import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.context.ContextConfiguration;
 
 import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 /**
  * The Assessment Controller test class for the {@link AssessmentController}, responsible for testing its various
@@ -41,11 +51,14 @@ import static org.mockito.Mockito.when;
  * @author Edilton Lima dos Santos.
  */
 @WebMvcTest(controllers = AssessmentController.class)
-@ContextConfiguration(classes = {AssessmentController.class, AssessmentService.class, Assessment.class})
+@ContextConfiguration(classes = {AssessmentController.class, AssessmentService.class, Assessment.class,
+        EvoQueryService.class})
 public class AssessmentControllerTest extends AbstractControllerTest {
     @MockitoBean
     private AssessmentRepository assessmentRepository;
     @MockitoBean
+    private EvoQueryRepository evoQueryRepository;
+    @MockitoBean
     private RoleRepository roleRepository;
     @MockitoBean
     private SkillRepository skillRepository;
@@ -420,4 +433,25 @@ public class AssessmentControllerTest extends AbstractControllerTest {
         // Perform a GET request to test the controller.
         performGetRequest(URL, "$[0].id", assessment.getId());
     }
+
+    @Test
+    void testQuery() throws Exception {
+        // Mock behavior for the ids of the page, then the Assessments of the ids.
+        when(evoQueryRepository.findIds(eq(Assessment.class), any(), any(), eq(0), eq(50)))
+                .thenReturn(new EvoQueryRepository.QueryIds(List.of(assessment.getId()), 1));
+        when(assessmentRepository.findAllById(List.of(assessment.getId()))).thenReturn(List.of(assessment));
+        // Perform a GET request to test the controller.
+        performGetRequest(URL + "/query?assesseeRole=1&scale=LETTER&sort=name", "$.content[0].name", assessment.getName());
+        performGetRequest(URL + "/query?assesseeRole=1&scale=LETTER&sort=name", "$.totalElements", 1);
+    }
+
+    @Test
+    void testQueryBadRequest() throws Exception {
+        // An unknown filter, then an invalid value, are rejected before the query reaches the database.
+        when(evoQueryRepository.findIds(eq(Assessment.class), any(), any(), anyInt(), anyInt()))
+                .thenReturn(new EvoQueryRepository.QueryIds(List.of(), 0));
+        mockMvc.perform(get(URL + "/query?scoringFunction=sum")).andExpect(status().isBadRequest());
+        mockMvc.perform(get(URL + "/query?assesseeRole=first")).andExpect(status().isBadRequest());
+        verify(evoQueryRepository, never()).findIds(any(), any(), any(), anyInt(), anyInt());
+    }
 }
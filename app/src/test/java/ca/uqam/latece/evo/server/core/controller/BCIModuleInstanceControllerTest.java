@@ -4,6 +4,7 @@ import ca.uqam.latece.evo.server.core.controller.instance.BCIModuleInstanceContr
 import ca.uqam.latece.evo.server.core.enumeration.ActivityType;
 import ca.uqam.latece.evo.server.core.enumeration.ExecutionStatus;
 import ca.uqam.latece.evo.server.core.enumeration.OutcomeType;
+import ca.uqam.latece.evo.server.core.event.ActivityInstanceSavedEvent;
 import ca.uqam.latece.evo.server.core.model.BCIActivity;
 import ca.uqam.latece.evo.server.core.model.Role;
 import ca.uqam.latece.evo.server.core.model.instance.BCIActivityInstance;
@@ -17,15 +18,19 @@ import ca.uqam.latece.evo.server.core.util.DateFormatter;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
 
 import java.time.LocalDate;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.when;
 
 /**
@@ -39,7 +44,11 @@ import static org.mockito.Mockito.when;
  */
 @WebMvcTest(controllers = BCIModuleInstanceController.class)
 @ContextConfiguration(classes = {BCIModuleInstance.class, BCIModuleInstanceService.class, BCIModuleInstanceController.class})
+@RecordApplicationEvents
 public class BCIModuleInstanceControllerTest extends AbstractControllerTest {
+    @Autowired
+    private ApplicationEvents applicationEvents;
+
     @MockitoBean
     private BCIModuleInstanceRepository bciModuleInstanceRepository;
 
@@ -88,6 +97,11 @@ public class BCIModuleInstanceControllerTest extends AbstractControllerTest {
         when(bciModuleInstanceRepository.save(updated)).thenReturn(updated);
         when(bciModuleInstanceRepository.findById(updated.getId())).thenReturn(Optional.of(updated));
         performUpdateRequest(URL, updated, "$.outcome", updated.getOutcome().toString());
+
+        // The listeners of the saved activity instances (e.g. the patient dashboards) follow the module instances.
+        assertEquals(1, applicationEvents.stream(ActivityInstanceSavedEvent.class)
+                .filter(event -> event.getEvoModel() == updated)
+                .count());
     }
 
     @Test
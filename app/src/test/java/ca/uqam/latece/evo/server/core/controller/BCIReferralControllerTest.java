@@ -9,18 +9,35 @@ import ca.uqam.latece.evo.server.core.repository.instance.BCIReferralRepository;
 import ca.uqam.latece.evo.server.core.repository.instance.HealthCareProfessionalRepository;
 import ca.uqam.latece.evo.server.core.repository.instance.PatientAssessmentRepository;
 import ca.uqam.latece.evo.server.core.repository.instance.PatientRepository;
+import ca.uqam.latece.evo.server.core.repository.instance.ReferralEnrollmentRepository;
+import ca.uqam.latece.evo.server.core.repository.instance.ReferralPipelineRepository;
 import ca.uqam.latece.evo.server.core.service.instance.BCIReferralService;
+import ca.uqam.latece.evo.server.core.service.instance.ReferralEnrollmentService;
+import ca.uqam.latece.evo.server.core.service.instance.ReferralPipelineService;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.context.ContextConfiguration;
 
 import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
-
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 /**
  * The BCIReferral Controller test class for the {@link BCIReferralController}, responsible for testing
@@ -32,7 +49,8 @@ import static org.mockito.Mockito.when;
  * @author Edilton Lima dos Santos.
  */
 @WebMvcTest(controllers = BCIReferralController.class)
-@ContextConfiguration(classes = {BCIReferral.class, BCIReferralService.class, BCIReferralController.class})
+@ContextConfiguration(classes = {BCIReferral.class, BCIReferralService.class, ReferralEnrollmentService.class,
+        ReferralPipelineService.class, BCIReferralController.class})
 public class BCIReferralControllerTest extends AbstractControllerTest {
     @MockitoBean
     private BCIReferralRepository bciReferralRepository;
@@ -46,6 +64,9 @@ public class BCIReferralControllerTest extends AbstractControllerTest {
     @MockitoBean
     private HealthCareProfessionalRepository healthCareProfessionalRepository;
 
+    @MockitoBean
+    private ReferralPipelineRepository referralPipelineRepository;
+
     private Patient patient = new Patient("Arthur Pendragon", "kingarthur@gmail.com", "438-333-3333",
             "3 December 455", "King", "Camelot, Britain");
 
@@ -166,4 +187,125 @@ public class BCIReferralControllerTest extends AbstractControllerTest {
         performGetRequest(url + "/find/behaviorchangeinterventionist/" + bciReferral.getBehaviorChangeInterventionist().getId(),
                 "$[0].behaviorChangeInterventionist.id", bciReferral.getBehaviorChangeInterventionist().getId());
     }
+
+    @Test
+    void testEnroll() throws Exception {
+        // The first worker claims the three referrals, the others find no more new referrals.
+        when(referralPipelineRepository.claimNewReferrals(anyInt())).thenReturn(List.of(
+                pendingReferral(4L, null, true), pendingReferral(5L, null, false), pendingReferral(6L, 7L, false)))
+                .thenReturn(List.of());
+        when(referralPipelineRepository.findRecipeBlocks(Set.of(7L)))
+                .thenReturn(List.of(recipeBlock(10L, 20L), recipeBlock(10L, 21L), recipeBlock(11L, 22L)));
+        when(referralPipelineRepository.reserveActivityInstanceIds(6))
+                .thenReturn(List.of(100L, 101L, 102L, 103L, 104L, 105L));
+
+        mockMvc.perform(post(url + "/enroll"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.claimed").value(3))
+                .andExpect(jsonPath("$.enrolled").value(1))
+                .andExpect(jsonPath("$.linked").value(1))
+                .andExpect(jsonPath("$.failed").value(1))
+                .andExpect(jsonPath("$.batches").value(1))
+                .andExpect(jsonPath("$.errors").value(0));
+
+        ArgumentCaptor<ReferralEnrollmentRepository.Trees> trees =
+                ArgumentCaptor.forClass(ReferralEnrollmentRepository.Trees.class);
+        verify(referralPipelineRepository).insertTrees(trees.capture());
+        verify(referralPipelineRepository).markEnrolled(List.of(6L, 4L));
+        verify(referralPipelineRepository).markFailed(List.of(
+                new ReferralEnrollmentRepository.Failure(5L, "No intervention found for the referral")));
+
+        assertEquals(List.of(new ReferralEnrollmentRepository.InterventionRow(100L, 1L, 101L, 7L)),
+                trees.getValue().getInterventions());
+        assertEquals(List.of(new ReferralEnrollmentRepository.PhaseRow(101L, 102L, 10L),
+                new ReferralEnrollmentRepository.PhaseRow(104L, 105L, 11L)), trees.getValue().getPhases());
+        assertEquals(List.of(new ReferralEnrollmentRepository.BlockRow(102L, 20L),
+                new ReferralEnrollmentRepository.BlockRow(103L, 21L),
+                new ReferralEnrollmentRepository.BlockRow(105L, 22L)), trees.getValue().getBlocks());
+        assertEquals(List.of(new ReferralEnrollmentRepository.Link(6L, 100L)),
+                trees.getValue().getReferralInterventions());
+        assertEquals(6, trees.getValue().getActivities().size());
+        assertEquals(List.of("INTERVENTION", "PHASE", "BLOCK", "BLOCK", "PHASE", "BLOCK"),
+                trees.getValue().getActivities().stream().map(ReferralEnrollmentRepository.ActivityRow::type).toList());
+    }
+
+    @Test
+    void testEnrollSkipsFailingReferral() throws Exception {
+        // The tree of the referral 6 cannot be inserted: its batch fails, then the referrals are enrolled one by one.
+        when(referralPipelineRepository.claimNewReferrals(anyInt()))
+                .thenReturn(List.of(pendingReferral(6L, 7L, false), pendingReferral(8L, 7L, false)))
+                .thenReturn(List.of());
+        when(referralPipelineRepository.findNewReferralIds(anyInt())).thenReturn(List.of(6L, 8L));
+        when(referralPipelineRepository.claimNewReferral(6L)).thenReturn(List.of(pendingReferral(6L, 7L, false)));
+        when(referralPipelineRepository.claimNewReferral(8L)).thenReturn(List.of(pendingReferral(8L, 7L, false)));
+        when(referralPipelineRepository.findRecipeBlocks(Set.of(7L)))
+                .thenReturn(List.of(recipeBlock(10L, 20L), recipeBlock(10L, 21L), recipeBlock(11L, 22L)));
+        when(referralPipelineRepository.reserveActivityInstanceIds(anyInt()))
+                .thenReturn(List.of(100L, 101L, 102L, 103L, 104L, 105L, 106L, 107L, 108L, 109L, 110L, 111L));
+        doAnswer(invocation -> {
+            ReferralEnrollmentRepository.Trees trees = invocation.getArgument(0);
+
+            if (trees.getReferralInterventions().stream().anyMatch(link -> link.parentId() == 6L)) {
+                throw new DataIntegrityViolationException("duplicate key");
+            }
+
+            return null;
+        }).when(referralPipelineRepository).insertTrees(any());
+
+        mockMvc.perform(post(url + "/enroll"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.claimed").value(2))
+                .andExpect(jsonPath("$.enrolled").value(1))
+                .andExpect(jsonPath("$.failed").value(1))
+                .andExpect(jsonPath("$.errors").value(1));
+
+        verify(referralPipelineRepository).markEnrolled(List.of(8L));
+        verify(referralPipelineRepository).markFailed(List.of(
+                new ReferralEnrollmentRepository.Failure(6L, "duplicate key")));
+        verify(referralPipelineRepository, never()).markEnrolled(List.of(6L, 8L));
+    }
+
+    private static ReferralPipelineRepository.PendingReferral pendingReferral(Long referralId, Long interventionId,
+                                                                              boolean linked) {
+        return new ReferralPipelineRepository.PendingReferral() {
+            @Override
+            public Long getReferralId() {
+                return referralId;
+            }
+
+            @Override
+            public Long getPatientId() {
+                return 1L;
+            }
+
+            @Override
+            public Long getInterventionId() {
+                return interventionId;
+            }
+
+            @Override
+            public Boolean getLinked() {
+                return linked;
+            }
+        };
+    }
+
+    private static ReferralPipelineRepository.RecipeBlock recipeBlock(Long phaseId, Long blockId) {
+        return new ReferralPipelineRepository.RecipeBlock() {
+            @Override
+            public Long getInterventionId() {
+                return 7L;
+            }
+
+            @Override
+            public Long getPhaseId() {
+                return phaseId;
+            }
+
+            @Override
+            public Long getBlockId() {
+                return blockId;
+            }
+        };
+    }
 }
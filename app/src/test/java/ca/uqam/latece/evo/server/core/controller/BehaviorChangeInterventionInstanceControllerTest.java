@@ -23,9 +23,12 @@ import ca.uqam.latece.evo.server.core.repository.instance.BCIModuleInstanceRepos
 import ca.uqam.latece.evo.server.core.repository.instance.BehaviorChangeInterventionBlockInstanceRepository;
 import ca.uqam.latece.evo.server.core.repository.instance.BehaviorChangeInterventionInstanceRepository;
 import ca.uqam.latece.evo.server.core.repository.instance.BehaviorChangeInterventionPhaseInstanceRepository;
+import ca.uqam.latece.evo.server.core.repository.instance.InterventionArchiveRepository;
 import ca.uqam.latece.evo.server.core.repository.instance.PatientRepository;
 import ca.uqam.latece.evo.server.core.request.BCIInstanceRequest;
+import ca.uqam.latece.evo.server.core.response.ArchivedIntervention;
 import ca.uqam.latece.evo.server.core.service.instance.BehaviorChangeInterventionInstanceService;
+import ca.uqam.latece.evo.server.core.service.instance.InterventionArchiveService;
 import ca.uqam.latece.evo.server.core.util.DateFormatter;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -34,6 +37,7 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.context.ContextConfiguration;
 
+import java.time.Instant;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -41,6 +45,9 @@ import java.util.List;
 import java.util.Optional;
 
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 /**
  * Tests methods found in BehaviorChangeInterventionInstanceController using WebMvcTest, and repository queries using
@@ -51,7 +58,7 @@ import static org.mockito.Mockito.when;
  */
 @WebMvcTest(controllers = BehaviorChangeInterventionInstanceController.class)
 @ContextConfiguration(classes = {BehaviorChangeInterventionInstance.class, BehaviorChangeInterventionInstanceService.class,
-        BehaviorChangeInterventionInstanceController.class})
+        InterventionArchiveService.class, BehaviorChangeInterventionInstanceController.class})
 public class BehaviorChangeInterventionInstanceControllerTest extends AbstractControllerTest {
     @MockitoBean
     BehaviorChangeInterventionInstanceRepository bciInstanceRepository;
@@ -59,6 +66,9 @@ public class BehaviorChangeInterventionInstanceControllerTest extends AbstractCo
     @MockitoBean
     BehaviorChangeInterventionPhaseInstanceRepository bciPhaseInstanceRepository;
 
+    @MockitoBean
+    InterventionArchiveRepository interventionArchiveRepository;
+
     @MockitoBean
     BehaviorChangeInterventionBlockInstanceRepository bciBlockInstanceRepository;
 
@@ -192,6 +202,17 @@ public class BehaviorChangeInterventionInstanceControllerTest extends AbstractCo
         performGetRequest(URL + "/find/" + bciInstance.getId(), "$.id", bciInstance.getId());
     }
 
+    @Test
+    void testFindByIdArchived() throws Exception {
+        when(interventionArchiveRepository.findArchive(99L)).thenReturn(new ArchivedIntervention(99L, 1L, 2L,
+                LocalDate.of(2024, 1, 31), Instant.parse("2025-03-01T02:30:00Z"), "{\"id\": 99}"));
+
+        mockMvc.perform(get(URL + "/find/99"))
+                .andExpect(status().isSeeOther())
+                .andExpect(header().string("Location", "/interventionarchive/find/99"));
+        mockMvc.perform(get(URL + "/find/98")).andExpect(status().isNotFound());
+    }
+
     @Test
     void testFindByPatientId() throws Exception {
         when(bciInstanceRepository.findByPatientId(bciInstance.getPatient().getId())).thenReturn(Collections.singletonList(bciInstance));
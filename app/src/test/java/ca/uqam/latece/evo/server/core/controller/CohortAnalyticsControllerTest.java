@@ -0,0 +1,194 @@
+package ca.uqam.latece.evo.server.core.controller;
+
+import ca.uqam.latece.evo.server.core.repository.CohortAnalyticsRepository;
+import ca.uqam.latece.evo.server.core.service.CohortAnalyticsService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The Cohort Analytics Controller test class for the {@link CohortAnalyticsController}, responsible for testing the
+ * assembly of the cohort funnels and dwell-time histograms, with a mocked CohortAnalyticsRepository.
+ * @version 1.0
+ * @author Edilton Lima dos Santos.
+ */
+@WebMvcTest(controllers = CohortAnalyticsController.class)
+@ContextConfiguration(classes = {CohortAnalyticsController.class, CohortAnalyticsService.class})
+public class CohortAnalyticsControllerTest {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private CohortAnalyticsRepository cohortAnalyticsRepository;
+
+    @MockitoBean
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void testFindFunnel() throws Exception {
+        when(cohortAnalyticsRepository.findCounters(1L)).thenReturn(List.of(
+                counter(10L, 0L, "FINISHED", 30L),
+                counter(10L, 0L, "IN_PROGRESS", 50L),
+                counter(10L, 0L, "READY", 20L),
+                counter(10L, 100L, "FINISHED", 60L),
+                counter(10L, 101L, "IN_PROGRESS", 40L),
+                counter(11L, 0L, "READY", 100L)));
+
+        mockMvc.perform(get("/analytics/cohorts/1/funnel"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.interventionId").value(1))
+                .andExpect(jsonPath("$.phases.length()").value(2))
+                .andExpect(jsonPath("$.phases[0].phaseId").value(10))
+                .andExpect(jsonPath("$.phases[0].total").value(100))
+                .andExpect(jsonPath("$.phases[0].reached").value(80))
+                .andExpect(jsonPath("$.phases[0].finished").value(30))
+                .andExpect(jsonPath("$.phases[0].counts.IN_PROGRESS").value(50))
+                .andExpect(jsonPath("$.phases[0].blocks.length()").value(2))
+                .andExpect(jsonPath("$.phases[0].blocks[0].blockId").value(100))
+                .andExpect(jsonPath("$.phases[0].blocks[0].finished").value(60))
+                .andExpect(jsonPath("$.phases[0].blocks[1].counts.IN_PROGRESS").value(40))
+                .andExpect(jsonPath("$.phases[1].reached").value(0))
+                .andExpect(jsonPath("$.phases[1].blocks.length()").value(0));
+    }
+
+    @Test
+    void testFindFunnelNotFound() throws Exception {
+        when(cohortAnalyticsRepository.findCounters(2L)).thenReturn(List.of());
+
+        mockMvc.perform(get("/analytics/cohorts/2/funnel")).andExpect(status().isNotFound());
+    }
+
+    @Test
+    void testFindDwellHistogram() throws Exception {
+        when(cohortAnalyticsRepository.findDwellHistogram(1L, 10L, -1L, "IN_PROGRESS")).thenReturn(List.of(
+                bucket(0, 1L, 0L), bucket(11, 3L, 4_500L)));
+
+        mockMvc.perform(get("/analytics/cohorts/1/dwell").param("phase", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("IN_PROGRESS"))
+                .andExpect(jsonPath("$.count").value(4))
+                .andExpect(jsonPath("$.meanMs").value(1_125))
+                .andExpect(jsonPath("$.buckets.length()").value(2))
+                .andExpect(jsonPath("$.buckets[0].upperMs").value(1))
+                .andExpect(jsonPath("$.buckets[1].lowerMs").value(1_024))
+                .andExpect(jsonPath("$.buckets[1].upperMs").value(2_048))
+                .andExpect(jsonPath("$.buckets[1].count").value(3));
+    }
+
+    @Test
+    void testFindDwellHistogramBadRequest() throws Exception {
+        mockMvc.perform(get("/analytics/cohorts/1/dwell").param("status", "WAITING"))
+                .andExpect(status().isBadRequest());
+
+        verify(cohortAnalyticsRepository, never()).findDwellHistogram(anyLong(), anyLong(), anyLong(), anyString());
+    }
+
+    @Test
+    void testReconcile() throws Exception {
+        // A single batch, whose only state is no longer part of an intervention instance.
+        when(cohortAnalyticsRepository.findNextInstanceId(0)).thenReturn(7L);
+        when(cohortAnalyticsRepository.findNextInstanceId(10_007)).thenReturn(null);
+        when(cohortAnalyticsRepository.findStateRangeForUpdate(7, 10_007)).thenReturn(List.of(state(7L)));
+
+        mockMvc.perform(post("/analytics/cohorts/reconcile"))
+                .andExpect(status().isOk())
+                .andExpect(content().string("1"));
+
+        verify(cohortAnalyticsRepository).deleteState(7L);
+        verify(cohortAnalyticsRepository).addToCounter(1L, 10L, 0L, "FINISHED", 7, -1);
+    }
+
+    private static CohortAnalyticsRepository.State state(Long instanceId) {
+        return new CohortAnalyticsRepository.State() {
+            @Override
+            public Long getInstanceId() {
+                return instanceId;
+            }
+
+            @Override
+            public Long getInterventionId() {
+                return 1L;
+            }
+
+            @Override
+            public Long getPhaseId() {
+                return 10L;
+            }
+
+            @Override
+            public Long getBlockId() {
+                return 0L;
+            }
+
+            @Override
+            public String getStatus() {
+                return "FINISHED";
+            }
+
+            @Override
+            public Long getSince() {
+                return 0L;
+            }
+        };
+    }
+
+    private static CohortAnalyticsRepository.Counter counter(Long phaseId, Long blockId, String status, Long count) {
+        return new CohortAnalyticsRepository.Counter() {
+            @Override
+            public Long getPhaseId() {
+                return phaseId;
+            }
+
+            @Override
+            public Long getBlockId() {
+                return blockId;
+            }
+
+            @Override
+            public String getStatus() {
+                return status;
+            }
+
+            @Override
+            public Long getCount() {
+                return count;
+            }
+        };
+    }
+
+    private static CohortAnalyticsRepository.DwellBucket bucket(Integer bucket, Long count, Long totalMs) {
+        return new CohortAnalyticsRepository.DwellBucket() {
+            @Override
+            public Integer getBucket() {
+                return bucket;
+            }
+
+            @Override
+            public Long getCount() {
+                return count;
+            }
+
+            @Override
+            public Long getTotalMs() {
+                return totalMs;
+            }
+        };
+    }
+}
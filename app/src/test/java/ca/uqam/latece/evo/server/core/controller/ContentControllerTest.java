@@ -7,16 +7,36 @@ import ca.uqam.latece.evo.server.core.model.Content;
 import ca.uqam.latece.evo.server.core.model.Skill;
 import ca.uqam.latece.evo.server.core.repository.ContentRepository;
 import ca.uqam.latece.evo.server.core.service.ContentService;
+import ca.uqam.latece.evo.server.core.service.ContentUploadService;
+import ca.uqam.latece.evo.server.core.util.FileResponseWriter;
+import ca.uqam.latece.evo.server.core.util.LocalStorage;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Collections;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.head;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 /**
  * The Content Controller test class for the {@link ContentController}, responsible for testing its various
@@ -26,7 +46,9 @@ import static org.mockito.Mockito.when;
  * @author Edilton Lima dos Santos.
  */
 @WebMvcTest(controllers = ContentController.class)
-@ContextConfiguration(classes = {ContentController.class, ContentService.class, Content.class})
+@ContextConfiguration(classes = {ContentController.class, ContentService.class, Content.class, FileResponseWriter.class,
+        ContentUploadService.class})
+@TestPropertySource(properties = "evo.upload.staging-folder=target/test-uploads")
 public class ContentControllerTest extends AbstractControllerTest {
 
     @MockitoBean
@@ -222,4 +244,114 @@ public class ContentControllerTest extends AbstractControllerTest {
         // Perform a GET request to test the controller.
         performGetRequestNotFound(URL,"$[0].id");
     }
+
+    @Test
+    void testFindFileRange() throws Exception {
+        Path folder = Path.of(LocalStorage.getBaseFolder(), "content", "9999");
+        Path file = Files.writeString(Files.createDirectories(folder).resolve("video.mp4"), "0123456789");
+
+        try {
+            // Perform a GET request with a Range to test the controller.
+            String etag = mockMvc.perform(get(URL_FIND + "file/9999/video.mp4").header(HttpHeaders.RANGE, "bytes=2-5"))
+                    .andExpect(status().isPartialContent())
+                    .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 2-5/10"))
+                    .andExpect(content().string("2345"))
+                    .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+            // Perform a conditional GET request with the ETag to test the controller.
+            mockMvc.perform(get(URL_FIND + "file/9999/video.mp4").header(HttpHeaders.IF_NONE_MATCH, etag))
+                    .andExpect(status().isNotModified());
+        } finally {
+            Files.deleteIfExists(file);
+            deleteFolders(folder);
+        }
+    }
+
+    @Test
+    void testUploadFile() throws Exception {
+        Path folder = Path.of(LocalStorage.getBaseFolder(), "content", "9998");
+        mockContentWithFile(9998L);
+
+        try {
+            // Perform a PUT request with the file as body to test the controller.
+            mockMvc.perform(put(URL_SPLITTER + "file/9998/video.mp4").content("0123456789"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.filename").value("video.mp4"));
+
+            assertEquals("0123456789", Files.readString(folder.resolve("video.mp4")));
+        } finally {
+            Files.deleteIfExists(folder.resolve("video.mp4"));
+            deleteFolders(folder);
+        }
+    }
+
+    @Test
+    void testResumableUpload() throws Exception {
+        Path folder = Path.of(LocalStorage.getBaseFolder(), "content", "9997");
+        mockContentWithFile(9997L);
+
+        try {
+            // Create the upload, then send the file in two chunks.
+            String location = mockMvc.perform(post(URL_SPLITTER + "file/9997/guide.pdf/uploads")
+                            .header("Upload-Length", 10))
+                    .andExpect(status().isCreated())
+                    .andExpect(header().string("Upload-Offset", "0"))
+                    .andReturn().getResponse().getHeader(HttpHeaders.LOCATION);
+
+            mockMvc.perform(patch(location).header("Upload-Offset", 0).content("01234"))
+                    .andExpect(status().isNoContent())
+                    .andExpect(header().string("Upload-Offset", "5"));
+
+            // A chunk sent at a wrong offset is rejected, the client resumes from the offset of the upload.
+            mockMvc.perform(patch(location).header("Upload-Offset", 0).content("01234"))
+                    .andExpect(status().isConflict());
+            mockMvc.perform(head(location))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string("Upload-Offset", "5"));
+
+            mockMvc.perform(patch(location).header("Upload-Offset", 5).content("56789"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.filename").value("guide.pdf"));
+
+            assertEquals("0123456789", Files.readString(folder.resolve("guide.pdf")));
+            mockMvc.perform(head(location)).andExpect(status().isNotFound());
+        } finally {
+            Files.deleteIfExists(folder.resolve("guide.pdf"));
+            deleteFolders(folder);
+        }
+    }
+
+    @Test
+    void testFindFileNotFound() throws Exception {
+        // Perform a GET request with a missing file to test the controller.
+        mockMvc.perform(get(URL_FIND + "file/9999/missing.mp4"))
+                .andExpect(status().is4xxClientError());
+    }
+
+    private void mockContentWithFile(Long id) {
+        Content content = new Content("Content " + id, "Content with a file", "video", null, null);
+        content.setId(id);
+        when(contentRepository.existsById(id)).thenReturn(true);
+        when(contentRepository.findById(id)).thenReturn(Optional.of(content));
+        when(contentRepository.save(any(Content.class))).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    /**
+     * Deletes the folders created by a test, unless they contain other files.
+     */
+    private static void deleteFolders(Path folder) throws IOException {
+        for (Path path = folder; path != null; path = path.getParent()) {
+            if (!Files.exists(path)) {
+                continue;
+            }
+
+            try (Stream<Path> files = Files.list(path)) {
+                if (files.findAny().isPresent()) {
+                    break;
+                }
+            }
+
+            Files.delete(path);
+        }
+    }
 }
@@ -0,0 +1,183 @@
+package ca.uqam.latece.evo.server.core.controller;
+
+import ca.uqam.latece.evo.server.core.controller.instance.GoalAttainmentController;
+import ca.uqam.latece.evo.server.core.controller.instance.PerformanceSampleController;
+import ca.uqam.latece.evo.server.core.enumeration.ClientEvent;
+import ca.uqam.latece.evo.server.core.enumeration.GoalComparison;
+import ca.uqam.latece.evo.server.core.event.BCIActivityClientEvent;
+import ca.uqam.latece.evo.server.core.repository.instance.GoalAttainmentRepository;
+import ca.uqam.latece.evo.server.core.repository.instance.GoalAttainmentStore.ActiveGoal;
+import ca.uqam.latece.evo.server.core.repository.instance.GoalAttainmentStore.ActivityPath;
+import ca.uqam.latece.evo.server.core.repository.instance.GoalAttainmentStore.Progress;
+import ca.uqam.latece.evo.server.core.repository.instance.GoalAttainmentStore.ProgressDelta;
+import ca.uqam.latece.evo.server.core.repository.instance.PerformanceSampleRepository;
+import ca.uqam.latece.evo.server.core.response.GoalAttainment;
+import ca.uqam.latece.evo.server.core.service.instance.BCIActivityInstanceService;
+import ca.uqam.latece.evo.server.core.service.instance.GoalAttainmentService;
+import ca.uqam.latece.evo.server.core.service.instance.InterventionOwnershipService;
+import ca.uqam.latece.evo.server.core.service.instance.PerformanceSampleService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The Goal Attainment Controller test class for the {@link GoalAttainmentController}, responsible for testing the
+ * incremental evaluation of the goals as the behavior performance samples are ingested, with mocked repositories.
+ * @version 1.0
+ * @author Edilton Lima dos Santos.
+ */
+@WebMvcTest(controllers = {GoalAttainmentController.class, PerformanceSampleController.class})
+@ContextConfiguration(classes = {GoalAttainmentController.class, GoalAttainmentService.class,
+        PerformanceSampleController.class, PerformanceSampleService.class})
+public class GoalAttainmentControllerTest {
+    private static final long DAY = 1_740_787_200_000L; // 2025-03-01T00:00:00Z
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private PerformanceSampleRepository performanceSampleRepository;
+
+    @MockitoBean
+    private GoalAttainmentRepository goalAttainmentRepository;
+
+    @MockitoBean
+    private BCIActivityInstanceService bciActivityInstanceService;
+
+    @MockitoBean
+    private InterventionOwnershipService interventionOwnershipService;
+
+    @BeforeEach
+    void setUp() {
+        // Every batch is new.
+        doAnswer(invocation -> invocation.getArgument(0)).when(performanceSampleRepository).claimBatches(anyList());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testIngestCrossesTarget() throws Exception {
+        when(performanceSampleRepository.findExistingIds(anyCollection())).thenReturn(List.of(5L));
+        when(goalAttainmentRepository.findActiveGoals(anyCollection())).thenReturn(List.of(
+                new ActiveGoal(10L, 5L, LocalDate.of(2025, 3, 1), 100, GoalComparison.AT_LEAST, true)));
+        // 40 were already reached, at level 1.
+        when(goalAttainmentRepository.addProgress(anyList())).thenAnswer(invocation -> {
+            ProgressDelta delta = ((List<ProgressDelta>) invocation.getArgument(0)).get(0);
+            return List.of(new Progress(delta.goalSettingInstanceId(), 40 + delta.sum(), 1 + delta.count(), 1));
+        });
+        when(goalAttainmentRepository.findActivityPath(5L)).thenReturn(Optional.of(new ActivityPath(7L, 8L, 9L)));
+
+        // The sample of the day before the goal is left out.
+        mockMvc.perform(post("/performancesample").contentType(MediaType.APPLICATION_JSON).content(
+                        "[{\"behaviorPerformanceInstanceId\": 5, \"times\": [" + (DAY + 60_000) + ", " +
+                                (DAY - 60_000) + ", " + DAY + "], \"values\": [39.5, 1000, 20.5]}]"))
+                .andExpect(status().isCreated());
+
+        ArgumentCaptor<List<ProgressDelta>> deltas = ArgumentCaptor.forClass(List.class);
+        ArgumentCaptor<List<Progress>> levels = ArgumentCaptor.forClass(List.class);
+        ArgumentCaptor<BCIActivityClientEvent> finish = ArgumentCaptor.forClass(BCIActivityClientEvent.class);
+        verify(goalAttainmentRepository).addProgress(deltas.capture());
+        verify(goalAttainmentRepository).updateLevels(levels.capture());
+        verify(bciActivityInstanceService).handleClientEvent(finish.capture());
+
+        assertThat(deltas.getValue()).containsExactly(new ProgressDelta(10L, 60, 2));
+        assertThat(levels.getValue()).containsExactly(new Progress(10L, 100, 3, 4));
+        assertThat(finish.getValue().getClientEvent()).isEqualTo(ClientEvent.FINISH);
+        assertThat(finish.getValue().getBciActivityInstanceId()).isEqualTo(5L);
+        assertThat(finish.getValue().getBciBlockInstanceId()).isEqualTo(7L);
+        assertThat(finish.getValue().getBciPhaseInstanceId()).isEqualTo(8L);
+        assertThat(finish.getValue().getBciInstanceId()).isEqualTo(9L);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testIngestWithinLevel() throws Exception {
+        when(performanceSampleRepository.findExistingIds(anyCollection())).thenReturn(List.of(5L, 6L));
+        when(goalAttainmentRepository.findActiveGoals(anyCollection())).thenReturn(List.of(
+                new ActiveGoal(10L, 5L, null, 100, GoalComparison.AT_LEAST, true),
+                new ActiveGoal(11L, 6L, null, 10, GoalComparison.AT_MOST, false)));
+        when(goalAttainmentRepository.addProgress(anyList())).thenReturn(List.of(
+                new Progress(10L, 30, 2, 1), new Progress(11L, 7.5, 1, 2)));
+
+        mockMvc.perform(post("/performancesample").contentType(MediaType.APPLICATION_JSON).content(
+                        "[{\"behaviorPerformanceInstanceId\": 6, \"times\": [" + DAY + "], \"values\": [7.5]}," +
+                                "{\"behaviorPerformanceInstanceId\": 5, \"times\": [" + DAY + "], \"values\": [30]}]"))
+                .andExpect(status().isCreated());
+
+        ArgumentCaptor<List<ProgressDelta>> deltas = ArgumentCaptor.forClass(List.class);
+        ArgumentCaptor<List<Progress>> levels = ArgumentCaptor.forClass(List.class);
+        verify(goalAttainmentRepository).addProgress(deltas.capture());
+        verify(goalAttainmentRepository).updateLevels(levels.capture());
+
+        // Sorted by goal; the AT_MOST goal crosses three quarters, the other one stays at a quarter.
+        assertThat(deltas.getValue()).containsExactly(new ProgressDelta(10L, 30, 1), new ProgressDelta(11L, 7.5, 1));
+        assertThat(levels.getValue()).containsExactly(new Progress(11L, 7.5, 1, 3));
+        verify(bciActivityInstanceService, never()).handleClientEvent(any(BCIActivityClientEvent.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testIngestFinishesOnTheOwner() throws Exception {
+        // The intervention instance 9 belongs to another node: the FINISH is sent to it, not handled here.
+        when(performanceSampleRepository.findExistingIds(anyCollection())).thenReturn(List.of(5L));
+        when(goalAttainmentRepository.findActiveGoals(anyCollection())).thenReturn(List.of(
+                new ActiveGoal(10L, 5L, null, 100, GoalComparison.AT_LEAST, true)));
+        when(goalAttainmentRepository.addProgress(anyList())).thenReturn(List.of(new Progress(10L, 100, 1, 3)));
+        when(goalAttainmentRepository.findActivityPath(5L)).thenReturn(Optional.of(new ActivityPath(7L, 8L, 9L)));
+        when(interventionOwnershipService.forward(eq(9L), eq(HttpMethod.PUT), anyString(), any(Object.class)))
+                .thenReturn(ResponseEntity.ok("FINISHED"));
+
+        mockMvc.perform(post("/performancesample").contentType(MediaType.APPLICATION_JSON).content(
+                        "[{\"behaviorPerformanceInstanceId\": 5, \"times\": [" + DAY + "], \"values\": [100]}]"))
+                .andExpect(status().isCreated());
+
+        ArgumentCaptor<Object> body = ArgumentCaptor.forClass(Object.class);
+        verify(interventionOwnershipService).forward(eq(9L), eq(HttpMethod.PUT),
+                eq("/bciactivityinstance/clientupdate/FINISH"), body.capture());
+        assertThat((Map<String, Object>) body.getValue()).containsEntry("bciActivityInstanceId", 5L)
+                .containsEntry("bciBlockInstanceId", 7L).containsEntry("bciPhaseInstanceId", 8L)
+                .containsEntry("bciInstanceId", 9L);
+        verify(bciActivityInstanceService, never()).handleClientEvent(any(BCIActivityClientEvent.class));
+    }
+
+    @Test
+    void testFindAttainment() throws Exception {
+        when(goalAttainmentRepository.findAttainment(1L)).thenReturn(Optional.of(new GoalAttainment(1L, 120, 4, 4,
+                100.0, GoalComparison.AT_LEAST, Instant.ofEpochMilli(DAY))));
+
+        mockMvc.perform(get("/goalattainment/1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.progress").value(120.0))
+                .andExpect(jsonPath("$.level").value(4))
+                .andExpect(jsonPath("$.met").value(true));
+        mockMvc.perform(get("/goalattainment/2")).andExpect(status().isNotFound());
+    }
+}
@@ -12,7 +12,9 @@ import ca.uqam.latece.evo.server.core.model.Requires;
 import ca.uqam.latece.evo.server.core.model.Content;
 import ca.uqam.latece.evo.server.core.model.Develops;
 import ca.uqam.latece.evo.server.core.repository.InteractionRepository;
+import ca.uqam.latece.evo.server.core.repository.EvoQueryRepository;
 import ca.uqam.latece.evo.server.core.service.InteractionService;
+import ca.uqam.latece.evo.server.core.service.EvoQueryService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
@@ -24,7 +26,14 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Optional;
 
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 /**
  * The Interaction Controller test class for the {@link InteractionController}, responsible for testing its various
@@ -34,12 +43,16 @@ import static org.mockito.Mockito.when;
  * @author Edilton Lima dos Santos.
  */
 @WebMvcTest(controllers = InteractionController.class)
-@ContextConfiguration(classes = {InteractionController.class, InteractionService.class, Interaction.class})
+@ContextConfiguration(classes = {InteractionController.class, InteractionService.class, Interaction.class,
+        EvoQueryService.class})
 public class InteractionControllerTest extends AbstractControllerTest {
 
     @MockitoBean
     private InteractionRepository interactionRepository;
 
+    @MockitoBean
+    private EvoQueryRepository evoQueryRepository;
+
     private Interaction interaction = new Interaction();
     private Develops develops = new Develops();
     private Requires requires = new Requires();
@@ -404,6 +417,31 @@ public class InteractionControllerTest extends AbstractControllerTest {
         performGetRequest(URL_FIND + "interactionmedium4/" + InteractionMedium.VOICE, "$[0].name", interaction2.getName());
     }
 
+    @Test
+    void testFindByAnyInteractionMedium() throws Exception {
+        Interaction interaction2 = dataToPerformTheFindTest();
+        // Mock behavior for the bitmasks having EMAIL (2) or VIDEO (8).
+        when(interactionRepository.findByInteractionMediaMaskIn(List.of(2, 3, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15)))
+                .thenReturn(Collections.singletonList(interaction2));
+        // Perform a GET request to test the controller.
+        performGetRequest(URL_FIND + "media/any/EMAIL,VIDEO", "$[0].name", interaction2.getName());
+        // The media of the Interaction, without the duplicated VIDEO.
+        performGetRequest(URL_FIND + "media/any/EMAIL,VIDEO", "$[0].interactionMedia.length()", 3);
+        performGetRequest(URL_FIND + "media/any/EMAIL,VIDEO", "$[0].interactionMedia[2]", "VIDEO");
+        mockMvc.perform(get(URL_FIND + "media/any/FAX")).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testFindByAllInteractionMedia() throws Exception {
+        Interaction interaction2 = dataToPerformTheFindTest();
+        // Mock behavior for the bitmasks having EMAIL (2) and VOICE (4).
+        when(interactionRepository.findByInteractionMediaMaskIn(List.of(6, 7, 14, 15)))
+                .thenReturn(Collections.singletonList(interaction2));
+        // Perform a GET request to test the controller.
+        performGetRequest(URL_FIND + "media/all/VOICE,EMAIL", "$[0].name", interaction2.getName());
+        performGetRequestNotFound(URL_FIND + "media/all/MESSAGING", "$[0].id");
+    }
+
     @Test
     @Override
     void testFindAll() throws Exception {
@@ -416,4 +454,25 @@ public class InteractionControllerTest extends AbstractControllerTest {
         // Perform a GET request to test the controller.
         performGetRequest(URL, "$[0].id", interaction.getId());
     }
+
+    @Test
+    void testQuery() throws Exception {
+        // Mock behavior for the ids of the page, then the Interactions of the ids.
+        when(evoQueryRepository.findIds(eq(Interaction.class), any(), any(), eq(0), eq(50)))
+                .thenReturn(new EvoQueryRepository.QueryIds(List.of(interaction.getId()), 1));
+        when(interactionRepository.findAllById(List.of(interaction.getId()))).thenReturn(List.of(interaction));
+        // Perform a GET request to test the controller.
+        performGetRequest(URL + "/query?mode=ASYNCHRONOUS&medium=EMAIL&medium=VIDEO&sort=name,desc", "$.content[0].name", interaction.getName());
+        performGetRequest(URL + "/query?mode=ASYNCHRONOUS&medium=EMAIL&medium=VIDEO&sort=name,desc", "$.totalElements", 1);
+    }
+
+    @Test
+    void testQueryBadRequest() throws Exception {
+        // An unknown filter, then an invalid value, are rejected before the query reaches the database.
+        when(evoQueryRepository.findIds(eq(Interaction.class), any(), any(), anyInt(), anyInt()))
+                .thenReturn(new EvoQueryRepository.QueryIds(List.of(), 0));
+        mockMvc.perform(get(URL + "/query?colour=blue")).andExpect(status().isBadRequest());
+        mockMvc.perform(get(URL + "/query?mode=SOMETIMES")).andExpect(status().isBadRequest());
+        verify(evoQueryRepository, never()).findIds(any(), any(), any(), anyInt(), anyInt());
+    }
 }
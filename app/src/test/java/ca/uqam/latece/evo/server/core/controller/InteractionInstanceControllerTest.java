@@ -18,6 +18,7 @@ import ca.uqam.latece.evo.server.core.service.instance.InteractionInstanceServic
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.context.ContextConfiguration;
 
@@ -26,7 +27,12 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.AdditionalAnswers.returnsFirstArg;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 /**
  * Tests methods found in InteractionInstanceController using WebMvcTest, and repository queries using MockMvc (Mockito).
@@ -110,6 +116,29 @@ public class InteractionInstanceControllerTest extends AbstractControllerTest {
         performGetRequest(url, "$[0].id", interactionInstance.getId());
     }
 
+    @Test
+    void testUpdateStatusInProgress() throws Exception {
+        // The client moves from the interaction instance 1 to the interaction instance 4 of the same block.
+        Interaction recipe = new Interaction("Next interaction", "Description", ActivityType.BCI_ACTIVITY, "", "",
+                InteractionMode.ASYNCHRONOUS, role, InteractionMedium.VIDEO);
+        InteractionInstance current = new InteractionInstance(ExecutionStatus.IN_PROGRESS, participants, recipe);
+        InteractionInstance next = new InteractionInstance(ExecutionStatus.READY, participants, recipe);
+        current.setId(1L);
+        next.setId(4L);
+
+        when(interactionInstanceRepository.findById(1L)).thenReturn(Optional.of(current));
+        when(interactionInstanceRepository.findById(4L)).thenReturn(Optional.of(next));
+        when(interactionInstanceRepository.save(any(InteractionInstance.class))).thenAnswer(returnsFirstArg());
+
+        mockMvc.perform(put(url + "/clientupdate/IN_PROGRESS").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"id\": 1, \"bciActivityInstanceId\": 1, \"bciBlockInstanceId\": 5, " +
+                                "\"bciPhaseInstanceId\": 6, \"bciInstanceId\": 7, \"newActivityInstanceId\": 4}"))
+                .andExpect(status().isOk());
+
+        assertEquals(ExecutionStatus.SUSPENDED, current.getStatus());
+        assertEquals(ExecutionStatus.IN_PROGRESS, next.getStatus());
+    }
+
     @Test
     void testFindByStatus() throws Exception {
         when(interactionInstanceRepository.findByStatus(interactionInstance.getStatus())).thenReturn(Collections.singletonList(interactionInstance));
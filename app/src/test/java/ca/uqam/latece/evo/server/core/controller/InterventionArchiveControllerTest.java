@@ -0,0 +1,98 @@
+package ca.uqam.latece.evo.server.core.controller;
+
+import ca.uqam.latece.evo.server.core.controller.instance.InterventionArchiveController;
+import ca.uqam.latece.evo.server.core.repository.instance.InterventionArchiveRepository;
+import ca.uqam.latece.evo.server.core.response.ArchivedIntervention;
+import ca.uqam.latece.evo.server.core.service.instance.InterventionArchivalService;
+import ca.uqam.latece.evo.server.core.service.instance.InterventionArchiveService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The Intervention Archive Controller test class for the {@link InterventionArchiveController}, responsible for
+ * testing the reads of the archived trees and the batches of the archival, with a mocked InterventionArchiveRepository.
+ * @version 1.0
+ * @author Edilton Lima dos Santos.
+ */
+@WebMvcTest(controllers = InterventionArchiveController.class)
+@ContextConfiguration(classes = {InterventionArchiveController.class, InterventionArchiveService.class,
+        InterventionArchivalService.class})
+public class InterventionArchiveControllerTest {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private InterventionArchiveRepository interventionArchiveRepository;
+
+    @Test
+    void testFindById() throws Exception {
+        when(interventionArchiveRepository.findArchive(12L)).thenReturn(new ArchivedIntervention(10L, 1L, 2L,
+                LocalDate.of(2024, 1, 31), Instant.parse("2025-03-01T02:30:00Z"),
+                "{\"id\": 10, \"activities\": [{\"id\": 11, \"activities\": [{\"id\": 12}]}]}"));
+
+        mockMvc.perform(get("/interventionarchive/find/12"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(10))
+                .andExpect(jsonPath("$.patientId").value(1))
+                .andExpect(jsonPath("$.interventionId").value(2))
+                .andExpect(jsonPath("$.tree.activities[0].id").value(11))
+                .andExpect(jsonPath("$.tree.activities[0].activities[0].id").value(12));
+    }
+
+    @Test
+    void testFindByIdNotFound() throws Exception {
+        mockMvc.perform(get("/interventionarchive/find/13")).andExpect(status().isNotFound());
+    }
+
+    @Test
+    void testRun() throws Exception {
+        when(interventionArchiveRepository.claimFinishedTrees(any(LocalDate.class), anyInt())).thenReturn(List.of(
+                tree(10L, "2024-01"), tree(20L, "2024-02"), tree(30L, "2024-01")));
+        when(interventionArchiveRepository.insertArchives(List.of(10L, 20L, 30L))).thenReturn(3);
+
+        mockMvc.perform(post("/interventionarchive/run"))
+                .andExpect(status().isOk())
+                .andExpect(content().string("3"));
+
+        verify(interventionArchiveRepository).createMonthlyPartition(YearMonth.of(2024, 1));
+        verify(interventionArchiveRepository).createMonthlyPartition(YearMonth.of(2024, 2));
+        verify(interventionArchiveRepository).insertArchiveInstances(List.of(10L, 20L, 30L));
+        verify(interventionArchiveRepository).deleteInterventionInstances(List.of(10L, 20L, 30L));
+        verify(interventionArchiveRepository).deletePhaseInstances(List.of(10L, 20L, 30L));
+        verify(interventionArchiveRepository).deleteBlockInstances(List.of(10L, 20L, 30L));
+        verify(interventionArchiveRepository).deleteActivityInstances(List.of(10L, 20L, 30L));
+    }
+
+    private static InterventionArchiveRepository.FinishedTree tree(Long id, String exitMonth) {
+        return new InterventionArchiveRepository.FinishedTree() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public String getExitMonth() {
+                return exitMonth;
+            }
+        };
+    }
+}
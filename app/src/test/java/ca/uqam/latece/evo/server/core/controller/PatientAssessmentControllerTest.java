@@ -1,10 +1,13 @@
 package ca.uqam.latece.evo.server.core.controller;
 
 import ca.uqam.latece.evo.server.core.controller.instance.PatientAssessmentController;
+import ca.uqam.latece.evo.server.core.model.Assessment;
 import ca.uqam.latece.evo.server.core.model.instance.Patient;
 import ca.uqam.latece.evo.server.core.model.instance.PatientAssessment;
+import ca.uqam.latece.evo.server.core.repository.AssessmentRepository;
 import ca.uqam.latece.evo.server.core.repository.instance.PatientAssessmentRepository;
 import ca.uqam.latece.evo.server.core.repository.instance.PatientRepository;
+import ca.uqam.latece.evo.server.core.service.AssessmentScoringService;
 import ca.uqam.latece.evo.server.core.service.instance.PatientAssessmentService;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -12,11 +15,23 @@ import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.context.ContextConfiguration;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 /**
  * The Patient Assessment controller test class for the {@link PatientAssessmentController}, responsible for testing its
@@ -28,7 +43,8 @@ import static org.mockito.Mockito.when;
  * @author Edilton Lima dos Santos.
  */
 @WebMvcTest(controllers = PatientAssessmentController.class)
-@ContextConfiguration(classes = {PatientAssessment.class, PatientAssessmentService.class, PatientAssessmentController.class})
+@ContextConfiguration(classes = {PatientAssessment.class, PatientAssessmentService.class, PatientAssessmentController.class,
+        AssessmentScoringService.class})
 public class PatientAssessmentControllerTest extends AbstractControllerTest {
     @MockitoBean
     private PatientAssessmentRepository patientAssessmentRepository;
@@ -36,6 +52,12 @@ public class PatientAssessmentControllerTest extends AbstractControllerTest {
     @MockitoBean
     private PatientRepository patientRepository;
 
+    @MockitoBean
+    private AssessmentRepository assessmentRepository;
+
+    @MockitoBean
+    private PlatformTransactionManager transactionManager;
+
     private Patient patient = new Patient("Arthur Pendragon", "kingarthur@gmail.com", "438-333-3333",
             "3 December 455", "King", "Camelot, Britain");
 
@@ -122,4 +144,61 @@ public class PatientAssessmentControllerTest extends AbstractControllerTest {
         performGetRequest(url + "/find/patient/" + pa.getPatient().getId(), "$[0].patient.id",
                 pa.getPatient().getId());
     }
+
+    @Test
+    void testScore() throws Exception {
+        Assessment assessment = new Assessment();
+        assessment.setId(5L);
+        assessment.setAssessmentScoringFunction("x -> (x[0] + x[1]) * 2");
+        pa.setAssessment("Q1: 12, Q2: 9");
+        pa.setAssessmentActivity(assessment);
+        when(patientAssessmentRepository.findById(pa.getId())).thenReturn(Optional.of(pa));
+        when(patientAssessmentRepository.save(pa)).thenReturn(pa);
+
+        mockMvc.perform(put(url + "/score/" + pa.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.score").value(42.0));
+    }
+
+    @Test
+    void testScoreWithoutAssessment() throws Exception {
+        when(patientAssessmentRepository.findById(pa.getId())).thenReturn(Optional.of(pa));
+
+        mockMvc.perform(put(url + "/score/" + pa.getId())).andExpect(status().isBadRequest());
+        mockMvc.perform(put(url + "/score/2")).andExpect(status().isNotFound());
+    }
+
+    @Test
+    void testScoreAll() throws Exception {
+        Assessment assessment = new Assessment();
+        assessment.setId(5L);
+        assessment.setAssessmentScoringFunction("x -> mean(x)");
+        when(assessmentRepository.findById(5L)).thenReturn(Optional.of(assessment));
+        when(patientAssessmentRepository.findAnswersByAssessmentId(eq(5L), anyLong(), anyInt()))
+                .thenReturn(List.of(answers(3L, "1, 2, 3"), answers(4L, "no answer")));
+        when(patientAssessmentRepository.updateScores(any(), any(), anyInt())).thenReturn(2);
+
+        mockMvc.perform(put(url + "/score/assessment/5"))
+                .andExpect(status().isOk())
+                .andExpect(content().string("2"));
+
+        verify(patientAssessmentRepository).updateScores(eq(new long[] {3L, 4L}),
+                eq(new double[] {2.0, Double.NaN}), eq(2));
+        // One transaction for the single page.
+        verify(transactionManager, times(1)).commit(any());
+    }
+
+    private static PatientAssessmentRepository.Answers answers(Long id, String answers) {
+        return new PatientAssessmentRepository.Answers() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public String getAnswers() {
+                return answers;
+            }
+        };
+    }
 }
@@ -3,9 +3,11 @@ package ca.uqam.latece.evo.server.core.controller;
 import ca.uqam.latece.evo.server.core.controller.instance.PatientController;
 import ca.uqam.latece.evo.server.core.model.instance.Patient;
 import ca.uqam.latece.evo.server.core.model.instance.PatientMedicalFile;
+import ca.uqam.latece.evo.server.core.repository.EvoQueryRepository;
 import ca.uqam.latece.evo.server.core.repository.instance.PatientMedicalFileRepository;
 import ca.uqam.latece.evo.server.core.repository.instance.PatientRepository;
 import ca.uqam.latece.evo.server.core.service.instance.PatientService;
+import ca.uqam.latece.evo.server.core.service.EvoQueryService;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -14,9 +16,14 @@ import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.context.ContextConfiguration;
 
 import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 
 import static org.mockito.Mockito.when;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 /**
  * The Patient Controller test class for the {@link PatientController}, responsible for testing its various functionalities.
@@ -28,11 +35,15 @@ import static org.mockito.Mockito.when;
  * @author Edilton Lima dos Santos.
  */
 @WebMvcTest(controllers = PatientController.class)
-@ContextConfiguration(classes = {PatientController.class, PatientService.class, Patient.class})
+@ContextConfiguration(classes = {PatientController.class, PatientService.class, Patient.class,
+        EvoQueryService.class})
 public class PatientControllerTest extends AbstractControllerTest {
     @MockitoBean
     private PatientRepository patientRepository;
 
+    @MockitoBean
+    private EvoQueryRepository evoQueryRepository;
+
     @MockitoBean
     private PatientMedicalFileRepository patientMedicalFileRepository;
 
@@ -149,4 +160,22 @@ public class PatientControllerTest extends AbstractControllerTest {
         performGetRequest(url + "/find/patientmedicalfile/" + patient.getMedicalFile().getId(),"$.id",
                 patient.getId());
     }
+
+    @Test
+    void testQuery() throws Exception {
+        // Mock behavior for the ids of the page, then the Patients of the ids.
+        when(evoQueryRepository.findIds(eq(Patient.class), any(), any(), eq(0), eq(20)))
+                .thenReturn(new EvoQueryRepository.QueryIds(List.of(patient.getId()), 1));
+        when(patientRepository.findAllById(List.of(patient.getId()))).thenReturn(List.of(patient));
+        // Perform a GET request to test the controller.
+        performGetRequest(url + "/query?name=arthur&occupation=King&address=camelot&sort=birthdate&page=0&size=20", "$.content[0].name", patient.getName());
+        performGetRequest(url + "/query?name=arthur&occupation=King&address=camelot&sort=birthdate&page=0&size=20", "$.totalElements", 1);
+    }
+
+    @Test
+    void testQueryBadRequest() throws Exception {
+        // An unknown filter, then an invalid value or sort order.
+        mockMvc.perform(get(url + "/query?medicalHistory=Camelot")).andExpect(status().isBadRequest());
+        mockMvc.perform(get(url + "/query?sort=address")).andExpect(status().isBadRequest());
+    }
 }
@@ -0,0 +1,88 @@
+package ca.uqam.latece.evo.server.core.controller;
+
+import ca.uqam.latece.evo.server.core.controller.instance.PatientDashboardController;
+import ca.uqam.latece.evo.server.core.enumeration.ExecutionStatus;
+import ca.uqam.latece.evo.server.core.repository.instance.PatientDashboardRepository;
+import ca.uqam.latece.evo.server.core.repository.instance.PatientDashboardStore.AssessmentSummary;
+import ca.uqam.latece.evo.server.core.repository.instance.PatientDashboardStore.InterventionSummary;
+import ca.uqam.latece.evo.server.core.repository.instance.PatientDashboardStore.PatientSummary;
+import ca.uqam.latece.evo.server.core.repository.instance.PatientDashboardStore.ReferralSummary;
+import ca.uqam.latece.evo.server.core.service.instance.PatientDashboardService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The Patient Dashboard Controller test class for the {@link PatientDashboardController}, responsible for testing the
+ * assembly of the dashboard parts read concurrently from a mocked PatientDashboardRepository.
+ * @version 1.0
+ * @author Edilton Lima dos Santos.
+ */
+@WebMvcTest(controllers = PatientDashboardController.class)
+@ContextConfiguration(classes = {PatientDashboardController.class, PatientDashboardService.class})
+public class PatientDashboardControllerTest {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private PatientDashboardRepository patientDashboardRepository;
+
+    @MockitoBean
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void testGetDashboard() throws Exception {
+        when(patientDashboardRepository.findPatientSummary(1L)).thenReturn(Optional.of(new PatientSummary(1L,
+                "Arthur Pendragon", "kingarthur@gmail.com", "438-333-3333", "3 December 455", "King",
+                "Camelot, Britain", 2L, LocalDate.of(2025, 1, 10))));
+        when(patientDashboardRepository.findRecentAssessments(eq(1L), anyInt())).thenReturn(List.of(
+                new AssessmentSummary(3L, LocalDate.of(2025, 3, 1), "Walks daily", 4L, 7.5)));
+        when(patientDashboardRepository.findRecentReferrals(eq(1L), anyInt())).thenReturn(List.of(
+                new ReferralSummary(5L, LocalDate.of(2025, 2, 1), "Sedentary", "ENROLLED", 6L)));
+        when(patientDashboardRepository.findInterventions(1L)).thenReturn(List.of(
+                new InterventionSummary(7L, 6L, "Walking", ExecutionStatus.IN_PROGRESS, LocalDate.of(2025, 2, 2),
+                        null, 8L, ExecutionStatus.IN_PROGRESS, 9L, "START", ExecutionStatus.IN_PROGRESS, 4, 1, 2)));
+
+        mockMvc.perform(get("/patientdashboard/1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.patient.name").value("Arthur Pendragon"))
+                .andExpect(jsonPath("$.patient.medicalFileId").value(2))
+                .andExpect(jsonPath("$.assessments[0].score").value(7.5))
+                .andExpect(jsonPath("$.referrals[0].status").value("ENROLLED"))
+                .andExpect(jsonPath("$.interventions[0].status").value("IN_PROGRESS"))
+                .andExpect(jsonPath("$.interventions[0].activitiesFinished").value(2));
+    }
+
+    @Test
+    void testGetDashboardNotFound() throws Exception {
+        when(patientDashboardRepository.findPatientSummary(2L)).thenReturn(Optional.empty());
+
+        mockMvc.perform(get("/patientdashboard/2")).andExpect(status().isNotFound());
+    }
+
+    @Test
+    void testGetDashboardBadRequest() throws Exception {
+        when(patientDashboardRepository.findPatientSummary(3L)).thenReturn(Optional.of(new PatientSummary(3L,
+                "Sir Lancelot", "lancelot@gmail.com", "438-333-3334", "1 January 460", "Knight", "Camelot, Britain",
+                null, null)));
+        when(patientDashboardRepository.findInterventions(3L))
+                .thenThrow(new IllegalStateException("Connection refused"));
+
+        mockMvc.perform(get("/patientdashboard/3")).andExpect(status().isBadRequest());
+    }
+}
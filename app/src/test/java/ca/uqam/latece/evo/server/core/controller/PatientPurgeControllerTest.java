@@ -0,0 +1,98 @@
+package ca.uqam.latece.evo.server.core.controller;
+
+import ca.uqam.latece.evo.server.core.controller.instance.PatientPurgeController;
+import ca.uqam.latece.evo.server.core.repository.instance.PatientPurgeRepository;
+import ca.uqam.latece.evo.server.core.repository.instance.PatientPurgeStore.PurgeScope;
+import ca.uqam.latece.evo.server.core.service.instance.PatientPurgeService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The Patient Purge Controller test class for the {@link PatientPurgeController}, responsible for testing the batches
+ * and the steps of the purge of a patient, with a mocked PatientPurgeRepository.
+ * @version 1.0
+ * @author Edilton Lima dos Santos.
+ */
+@WebMvcTest(controllers = PatientPurgeController.class)
+@ContextConfiguration(classes = {PatientPurgeController.class, PatientPurgeService.class})
+@TestPropertySource(properties = "evo.purge.batch-size=2")
+public class PatientPurgeControllerTest {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private PatientPurgeRepository patientPurgeRepository;
+
+    @MockitoBean
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void testPurgeDelete() throws Exception {
+        PurgeScope scope = new PurgeScope(List.of(10L, 11L), List.of(12L), List.of(13L), List.of(), List.of(14L));
+        when(patientPurgeRepository.existsPatient(1L)).thenReturn(true);
+        // A full batch, then the last one.
+        when(patientPurgeRepository.lockInterventionInstances(1L, 2)).thenReturn(List.of(10L, 11L), List.of(15L));
+        when(patientPurgeRepository.findTrees(List.of(10L, 11L))).thenReturn(scope);
+        when(patientPurgeRepository.deleteTrees(any())).thenReturn(5);
+        when(patientPurgeRepository.findArchiveIds(1L, 2)).thenReturn(List.of(20L));
+        when(patientPurgeRepository.deleteReferrals(1L)).thenReturn(1);
+        when(patientPurgeRepository.deleteAssessments(1L)).thenReturn(2);
+        when(patientPurgeRepository.deleteParticipants(1L)).thenReturn(1);
+
+        mockMvc.perform(delete("/patientpurge/1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.mode").value("DELETE"))
+                .andExpect(jsonPath("$.interventionInstances").value(3))
+                .andExpect(jsonPath("$.archivedInterventions").value(1))
+                .andExpect(jsonPath("$.activityInstances").value(15))
+                .andExpect(jsonPath("$.referrals").value(1))
+                .andExpect(jsonPath("$.assessments").value(2))
+                .andExpect(jsonPath("$.participants").value(1));
+
+        verify(patientPurgeRepository, times(2)).lockInterventionInstances(1L, 2);
+        verify(patientPurgeRepository).deleteTrees(scope);
+        verify(patientPurgeRepository).findArchivedTrees(List.of(20L));
+        verify(patientPurgeRepository).deleteArchives(List.of(20L));
+        verify(patientPurgeRepository).deletePatient(1L);
+    }
+
+    @Test
+    void testPurgeAnonymize() throws Exception {
+        when(patientPurgeRepository.existsPatient(1L)).thenReturn(true);
+        when(patientPurgeRepository.anonymizePatient(1L)).thenReturn(2);
+
+        mockMvc.perform(delete("/patientpurge/1").param("mode", "ANONYMIZE"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.mode").value("ANONYMIZE"))
+                .andExpect(jsonPath("$.referrals").value(2))
+                .andExpect(jsonPath("$.activityInstances").value(0));
+
+        verify(patientPurgeRepository, never()).deleteTrees(any());
+        verify(patientPurgeRepository, never()).deletePatient(anyLong());
+    }
+
+    @Test
+    void testPurgeNotFound() throws Exception {
+        mockMvc.perform(delete("/patientpurge/2")).andExpect(status().isNotFound());
+
+        verify(patientPurgeRepository, never()).deletePatient(anyLong());
+    }
+}
@@ -0,0 +1,180 @@
+package ca.uqam.latece.evo.server.core.controller;
+
+import ca.uqam.latece.evo.server.core.controller.instance.PerformanceSampleController;
+import ca.uqam.latece.evo.server.core.enumeration.RollupGranularity;
+import ca.uqam.latece.evo.server.core.repository.instance.PerformanceSampleRepository;
+import ca.uqam.latece.evo.server.core.repository.instance.PerformanceSampleStore.BatchKey;
+import ca.uqam.latece.evo.server.core.repository.instance.PerformanceSampleStore.RollupDelta;
+import ca.uqam.latece.evo.server.core.repository.instance.PerformanceSampleStore.SampleChunk;
+import ca.uqam.latece.evo.server.core.response.PerformanceRollup;
+import ca.uqam.latece.evo.server.core.service.instance.PerformanceSampleService;
+import ca.uqam.latece.evo.server.core.util.SampleCodec;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The Performance Sample Controller test class for the {@link PerformanceSampleController}, responsible for testing the
+ * encoding of the ingested behavior performance samples, their rollups and their reads, with a mocked
+ * PerformanceSampleRepository.
+ * @version 1.0
+ * @author Edilton Lima dos Santos.
+ */
+@WebMvcTest(controllers = PerformanceSampleController.class)
+@ContextConfiguration(classes = {PerformanceSampleController.class, PerformanceSampleService.class})
+public class PerformanceSampleControllerTest {
+    private static final long HOUR = 1_740_787_200_000L; // 2025-03-01T00:00:00Z
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private PerformanceSampleRepository performanceSampleRepository;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testIngest() throws Exception {
+        when(performanceSampleRepository.findExistingIds(anyCollection())).thenReturn(List.of(1L, 2L));
+        // Every batch is new.
+        doAnswer(invocation -> invocation.getArgument(0)).when(performanceSampleRepository).claimBatches(anyList());
+
+        // Unsorted samples of instance 1 over two hours, and a second batch of instance 1 in the first hour.
+        mockMvc.perform(post("/performancesample").contentType(MediaType.APPLICATION_JSON).content("[" +
+                        "{\"behaviorPerformanceInstanceId\": 1, \"times\": [" + (HOUR + 3_600_000) + ", " + HOUR +
+                        ", " + (HOUR + 60_000) + "], \"values\": [5, 10, 20.5]}," +
+                        "{\"behaviorPerformanceInstanceId\": 2, \"times\": [" + HOUR + "], \"values\": [-1]}," +
+                        "{\"behaviorPerformanceInstanceId\": 1, \"times\": [" + (HOUR + 120_000) + "], " +
+                        "\"values\": [1]}]"))
+                .andExpect(status().isCreated())
+                .andExpect(content().string("5"));
+
+        ArgumentCaptor<List<SampleChunk>> chunks = ArgumentCaptor.forClass(List.class);
+        ArgumentCaptor<List<RollupDelta>> rollups = ArgumentCaptor.forClass(List.class);
+        verify(performanceSampleRepository).insertChunks(chunks.capture());
+        verify(performanceSampleRepository).addToRollups(rollups.capture());
+
+        assertThat(chunks.getValue()).hasSize(3);
+        SampleChunk first = chunks.getValue().get(0);
+        assertThat(first.instanceId()).isEqualTo(1L);
+        assertThat(first.start()).isEqualTo(Instant.ofEpochMilli(HOUR));
+        assertThat(first.end()).isEqualTo(Instant.ofEpochMilli(HOUR + 3_600_000));
+        assertThat(SampleCodec.decode(first.data()).times()).containsExactly(HOUR, HOUR + 60_000, HOUR + 3_600_000);
+        assertThat(SampleCodec.decode(first.data()).value(1)).isEqualTo(20.5);
+
+        // Sorted by instance, granularity and bucket; the two batches of instance 1 are merged.
+        assertThat(rollups.getValue()).containsExactly(
+                new RollupDelta(1L, RollupGranularity.HOUR, Instant.ofEpochMilli(HOUR), 3, 31.5, 1, 20.5),
+                new RollupDelta(1L, RollupGranularity.HOUR, Instant.ofEpochMilli(HOUR + 3_600_000), 1, 5, 5, 5),
+                new RollupDelta(1L, RollupGranularity.DAY, Instant.ofEpochMilli(HOUR), 4, 36.5, 1, 20.5),
+                new RollupDelta(2L, RollupGranularity.HOUR, Instant.ofEpochMilli(HOUR), 1, -1, -1, -1),
+                new RollupDelta(2L, RollupGranularity.DAY, Instant.ofEpochMilli(HOUR), 1, -1, -1, -1));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testIngestRetried() throws Exception {
+        when(performanceSampleRepository.findExistingIds(anyCollection())).thenReturn(List.of(1L));
+        // The first batch was already ingested; the same batch sent twice in the request is claimed once.
+        String ingested = "{\"behaviorPerformanceInstanceId\": 1, \"times\": [" + HOUR + "], \"values\": [1]}";
+        String retried = "{\"behaviorPerformanceInstanceId\": 1, \"times\": [" + HOUR + "], \"values\": [2]}";
+        doAnswer(invocation -> ((List<BatchKey>) invocation.getArgument(0)).subList(1, 2))
+                .when(performanceSampleRepository).claimBatches(anyList());
+
+        mockMvc.perform(post("/performancesample").contentType(MediaType.APPLICATION_JSON)
+                        .content("[" + ingested + "," + retried + "," + retried + "]"))
+                .andExpect(status().isCreated())
+                .andExpect(content().string("1"));
+
+        ArgumentCaptor<List<BatchKey>> keys = ArgumentCaptor.forClass(List.class);
+        ArgumentCaptor<List<RollupDelta>> rollups = ArgumentCaptor.forClass(List.class);
+        verify(performanceSampleRepository).claimBatches(keys.capture());
+        verify(performanceSampleRepository).addToRollups(rollups.capture());
+        assertThat(keys.getValue()).hasSize(2);
+        assertThat(rollups.getValue()).contains(
+                new RollupDelta(1L, RollupGranularity.HOUR, Instant.ofEpochMilli(HOUR), 1, 2, 2, 2));
+
+        // Nothing is written when every batch was already ingested.
+        doAnswer(invocation -> List.of()).when(performanceSampleRepository).claimBatches(anyList());
+        mockMvc.perform(post("/performancesample").contentType(MediaType.APPLICATION_JSON).content("[" + retried + "]"))
+                .andExpect(status().isCreated())
+                .andExpect(content().string("0"));
+        verify(performanceSampleRepository).insertChunks(anyList());
+    }
+
+    @Test
+    void testIngestInvalid() throws Exception {
+        when(performanceSampleRepository.findExistingIds(anyCollection())).thenReturn(List.of(1L));
+
+        mockMvc.perform(post("/performancesample").contentType(MediaType.APPLICATION_JSON).content(
+                        "[{\"behaviorPerformanceInstanceId\": 3, \"times\": [" + HOUR + "], \"values\": [1]}]"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/performancesample").contentType(MediaType.APPLICATION_JSON).content(
+                        "[{\"behaviorPerformanceInstanceId\": 1, \"times\": [" + HOUR + "], \"values\": [1, 2]}]"))
+                .andExpect(status().isBadRequest());
+        // Beyond the partitions created ahead.
+        long later = ZonedDateTime.now(ZoneOffset.UTC).plusMonths(3).toInstant().toEpochMilli();
+        mockMvc.perform(post("/performancesample").contentType(MediaType.APPLICATION_JSON).content(
+                        "[{\"behaviorPerformanceInstanceId\": 1, \"times\": [" + later + "], \"values\": [1]}]"))
+                .andExpect(status().isBadRequest());
+
+        verify(performanceSampleRepository, never()).claimBatches(anyList());
+        verify(performanceSampleRepository, never()).insertChunks(anyList());
+    }
+
+    @Test
+    void testFindSamples() throws Exception {
+        long[] times = {HOUR, HOUR + 60_000, HOUR + 120_000};
+        long[] values = {1_000, 2_500, 3_000};
+        when(performanceSampleRepository.findChunks(any(Long.class), any(Instant.class), any(Instant.class)))
+                .thenReturn(List.of(new SampleChunk(1L, Instant.ofEpochMilli(HOUR),
+                        Instant.ofEpochMilli(HOUR + 120_000), 3, SampleCodec.encode(times, values, 0, 3))));
+
+        mockMvc.perform(get("/performancesample/1")
+                        .param("from", "2025-03-01T00:01:00Z").param("to", "2025-03-01T00:02:00Z"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].value").value(2.5));
+        mockMvc.perform(get("/performancesample/1")
+                        .param("from", "2025-03-01T00:02:00Z").param("to", "2025-03-01T00:01:00Z"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testFindRollups() throws Exception {
+        when(performanceSampleRepository.findRollups(eq(1L), eq(RollupGranularity.DAY), any(Instant.class),
+                any(Instant.class))).thenReturn(List.of(new PerformanceRollup(Instant.ofEpochMilli(HOUR), 4, 36.5, 1,
+                20.5)));
+
+        mockMvc.perform(get("/performancesample/1/rollup").param("granularity", "DAY"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].count").value(4))
+                .andExpect(jsonPath("$[0].average").value(9.125))
+                .andExpect(jsonPath("$[0].max").value(20.5));
+        mockMvc.perform(get("/performancesample/2/rollup")).andExpect(status().isNotFound());
+    }
+}
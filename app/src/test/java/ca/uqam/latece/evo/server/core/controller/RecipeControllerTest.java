@@ -0,0 +1,315 @@
+package ca.uqam.latece.evo.server.core.controller;
+
+import ca.uqam.latece.evo.server.core.enumeration.ActivityType;
+import ca.uqam.latece.evo.server.core.enumeration.SkillLevel;
+import ca.uqam.latece.evo.server.core.enumeration.TimeCycle;
+import ca.uqam.latece.evo.server.core.repository.RecipeBundleStore.RoleRow;
+import ca.uqam.latece.evo.server.core.repository.RecipeRepository;
+import ca.uqam.latece.evo.server.core.repository.RecipeStore.ActivityRow;
+import ca.uqam.latece.evo.server.core.repository.RecipeStore.ComposedOfRow;
+import ca.uqam.latece.evo.server.core.repository.RecipeStore.InterventionRow;
+import ca.uqam.latece.evo.server.core.repository.RecipeStore.Link;
+import ca.uqam.latece.evo.server.core.repository.RecipeStore.Node;
+import ca.uqam.latece.evo.server.core.repository.RecipeStore.PhaseRow;
+import ca.uqam.latece.evo.server.core.repository.RecipeStore.SkillLinkRow;
+import ca.uqam.latece.evo.server.core.request.RecipeBundle.Section;
+import ca.uqam.latece.evo.server.core.service.ContentService;
+import ca.uqam.latece.evo.server.core.service.RecipeBundleService;
+import ca.uqam.latece.evo.server.core.service.RecipeService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The Recipe Controller test class for the {@link RecipeController}, responsible for testing the validation of the
+ * recipes as graphs and the rows inserted for them, and the export and import of the recipe bundles, with a mocked
+ * RecipeRepository and ContentService.
+ * @version 1.0
+ * @author Edilton Lima dos Santos.
+ */
+@WebMvcTest(controllers = RecipeController.class)
+@ContextConfiguration(classes = {RecipeController.class, RecipeService.class, RecipeBundleService.class})
+@TestPropertySource(properties = "evo.upload.staging-folder=target/test-uploads")
+public class RecipeControllerTest {
+    private static final String RECIPE = "{\"name\": \"Walking program\", \"entryConditions\": \"x -> true\", " +
+            "\"exitConditions\": \"\", " +
+            "\"phases\": [{\"key\": \"p1\", \"entryConditions\": \"\", \"exitConditions\": \"\", " +
+            "\"blocks\": [\"b1\"], \"modules\": [\"m1\"]}], " +
+            "\"blocks\": [{\"key\": \"b1\", \"entryConditions\": \"\", \"exitConditions\": \"\", \"activities\": [" +
+            "{\"activity\": \"a1\", \"timing\": \"BEGINNING\", \"order\": 1}, {\"activityId\": 40, \"order\": 2}]}], " +
+            "\"modules\": [{\"key\": \"m1\", \"name\": \"Walking\", \"preconditions\": \"\", \"postconditions\": \"\", " +
+            "\"skills\": [7], \"activities\": [{\"activity\": \"a1\", \"order\": 1}]}], " +
+            "\"activities\": [{\"key\": \"a1\", \"name\": \"Walk 30 minutes\", \"description\": \"Daily walk\", " +
+            "\"type\": \"PERFORMING\", \"parties\": [3], \"contents\": [\"c1\"], " +
+            "\"develops\": [{\"roleId\": 3, \"skillId\": 7, \"level\": \"BEGINNER\"}]}], " +
+            "\"contents\": [{\"key\": \"c1\", \"name\": \"Walking guide\", \"description\": \"How to walk\"}]}";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    private static final String BUNDLE = "{\"format\": \"evo-recipe-bundle\", \"version\": 1, \"origin\": \"staging\", " +
+            "\"roles\": [{\"id\": 1, \"name\": \"Coach\", \"description\": \"\"}], \"files\": [], " +
+            "\"activities\": [{\"id\": 5, \"name\": \"Walk 30 minutes\", \"description\": \"Daily walk\", " +
+            "\"type\": \"PERFORMING\", \"kind\": \"BCIActivity\", \"parties\": [1], \"contents\": [], " +
+            "\"develops\": [], \"requires\": []}], " +
+            "\"interventions\": [{\"id\": 9, \"name\": \"Walking program\", \"entryConditions\": \"\", " +
+            "\"exitConditions\": \"\"}], " +
+            "\"phases\": [{\"id\": 2, \"intervention\": 9, \"entryConditions\": \"\", \"exitConditions\": \"\", " +
+            "\"blocks\": [], \"modules\": []}]}";
+
+    private static final String FILE_BUNDLE = "{\"format\": \"evo-recipe-bundle\", \"version\": 1, " +
+            "\"origin\": \"staging\", " +
+            "\"contents\": [{\"id\": 4, \"name\": \"Walking guide\", \"description\": \"\", \"type\": null}], " +
+            "\"files\": [{\"content\": 4, \"filename\": \"guide.txt\", \"data\": \"aGVsbG8=\"}]";
+
+    @MockitoBean
+    private RecipeRepository recipeRepository;
+
+    @MockitoBean
+    private ContentService contentService;
+
+    @MockitoBean
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        when(recipeRepository.allocateIds(eq(Node.INTERVENTION), eq(1))).thenReturn(List.of(10L));
+        when(recipeRepository.allocateIds(eq(Node.PHASE), eq(1))).thenReturn(List.of(11L));
+        when(recipeRepository.allocateIds(eq(Node.BLOCK), eq(1))).thenReturn(List.of(12L));
+        when(recipeRepository.allocateIds(eq(Node.MODULE), eq(1))).thenReturn(List.of(13L));
+        when(recipeRepository.allocateIds(eq(Node.ACTIVITY), eq(1))).thenReturn(List.of(14L));
+        when(recipeRepository.allocateIds(eq(Node.CONTENT), eq(1))).thenReturn(List.of(15L));
+        when(recipeRepository.findExistingActivityIds(anyCollection())).thenReturn(List.of(40L));
+        when(recipeRepository.findExistingRoleIds(anyCollection())).thenReturn(List.of(3L));
+        when(recipeRepository.findExistingSkillIds(anyCollection())).thenReturn(List.of(7L));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testCreate() throws Exception {
+        mockMvc.perform(post("/recipe").contentType(MediaType.APPLICATION_JSON).content(RECIPE))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.intervention").value(10))
+                .andExpect(jsonPath("$.phases.p1").value(11))
+                .andExpect(jsonPath("$.blocks.b1").value(12))
+                .andExpect(jsonPath("$.modules.m1").value(13))
+                .andExpect(jsonPath("$.activities.a1").value(14))
+                .andExpect(jsonPath("$.contents.c1").value(15));
+
+        verify(recipeRepository).insertIntervention(new InterventionRow(10L, "Walking program", "x -> true", ""));
+        verify(recipeRepository).insertPhaseBlocks(List.of(new Link(11L, 12L)));
+        verify(recipeRepository).insertPhaseModules(List.of(new Link(11L, 13L)));
+        verify(recipeRepository).insertModuleSkills(List.of(new Link(13L, 7L)));
+        verify(recipeRepository).insertActivityContents(List.of(new Link(14L, 15L)));
+        verify(recipeRepository).insertActivityRoles(List.of(new Link(14L, 3L)));
+        verify(recipeRepository).insertDevelops(List.of(new SkillLinkRow(14L, 3L, 7L, SkillLevel.BEGINNER)));
+
+        ArgumentCaptor<List<ComposedOfRow>> composedOf = ArgumentCaptor.forClass(List.class);
+        verify(recipeRepository).insertComposedOf(composedOf.capture());
+        assertThat(composedOf.getValue()).containsExactly(new ComposedOfRow(12L, 14L, TimeCycle.BEGINNING, 1),
+                new ComposedOfRow(12L, 40L, TimeCycle.UNSPECIFIED, 2));
+    }
+
+    @Test
+    void testCreateInvalidGraph() throws Exception {
+        // An unknown block, and an activity that is not part of the intervention.
+        String recipe = "{\"name\": \"Walking program\", \"entryConditions\": \"\", \"exitConditions\": \"\", " +
+                "\"phases\": [{\"key\": \"p1\", \"entryConditions\": \"\", \"exitConditions\": \"\", " +
+                "\"blocks\": [\"b2\"]}], " +
+                "\"activities\": [{\"key\": \"a1\", \"name\": \"Walk\", \"description\": \"\", " +
+                "\"type\": \"PERFORMING\"}]}";
+
+        mockMvc.perform(post("/recipe").contentType(MediaType.APPLICATION_JSON).content(recipe))
+                .andExpect(status().isBadRequest());
+
+        verify(recipeRepository, never()).allocateIds(any(), eq(1));
+        verify(recipeRepository, never()).insertIntervention(any());
+    }
+
+    @Test
+    void testCreateTakenName() throws Exception {
+        when(recipeRepository.findExistingContentNames(anyCollection())).thenReturn(List.of("Walking guide"));
+
+        mockMvc.perform(post("/recipe").contentType(MediaType.APPLICATION_JSON).content(RECIPE))
+                .andExpect(status().isBadRequest());
+
+        verify(recipeRepository, never()).insertIntervention(any());
+    }
+
+    @Test
+    void testCreateInvalidCondition() throws Exception {
+        mockMvc.perform(post("/recipe").contentType(MediaType.APPLICATION_JSON)
+                        .content(RECIPE.replace("\"x -> true\"", "\"x -> x +\"")))
+                .andExpect(status().isBadRequest());
+
+        verify(recipeRepository, never()).insertIntervention(any());
+    }
+
+    @Test
+    void testExportBundle() throws Exception {
+        when(recipeRepository.findExistingInterventionIds(anyCollection())).thenReturn(List.of(10L));
+        doAnswer(invocation -> {
+            Consumer<String> row = invocation.getArgument(2);
+            row.accept("{\"id\": 10, \"name\": \"Walking program\"}");
+            return null;
+        }).when(recipeRepository).exportRows(eq(Section.INTERVENTIONS), anyCollection(), any());
+
+        MvcResult result = mockMvc.perform(get("/recipe/export/10,11"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.format").value("evo-recipe-bundle"))
+                .andExpect(jsonPath("$.version").value(1))
+                .andExpect(jsonPath("$.roles.length()").value(0))
+                .andExpect(jsonPath("$.files.length()").value(0))
+                .andExpect(jsonPath("$.interventions[0].id").value(10))
+                .andExpect(jsonPath("$.interventions[0].name").value("Walking program"));
+
+        verify(recipeRepository).exportRows(eq(Section.PHASES), eq(List.of(10L)), any());
+    }
+
+    @Test
+    void testExportBundleNotFound() throws Exception {
+        mockMvc.perform(get("/recipe/export/10"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void testImportBundle() throws Exception {
+        // The role matches an existing role by name, and the phase was already imported from the same origin.
+        when(recipeRepository.findImportedIds(eq("staging"), eq(Section.ROLES), anyCollection()))
+                .thenReturn(Map.of(), Map.of(1L, 3L));
+        when(recipeRepository.findIdsByName(eq(Node.ROLE), anyCollection())).thenReturn(Map.of("Coach", 3L));
+        when(recipeRepository.findImportedIds(eq("staging"), eq(Section.INTERVENTIONS), anyCollection()))
+                .thenReturn(Map.of(), Map.of(9L, 10L));
+        when(recipeRepository.findImportedIds(eq("staging"), eq(Section.PHASES), anyCollection()))
+                .thenReturn(Map.of(2L, 11L));
+
+        mockMvc.perform(post("/recipe/import").contentType(MediaType.APPLICATION_JSON).content(BUNDLE))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.origin").value("staging"))
+                .andExpect(jsonPath("$.imported.roles").value(1))
+                .andExpect(jsonPath("$.imported.phases").value(1))
+                .andExpect(jsonPath("$.created.roles").value(0))
+                .andExpect(jsonPath("$.created.activities").value(1))
+                .andExpect(jsonPath("$.created.interventions").value(1))
+                .andExpect(jsonPath("$.created.phases").value(0));
+
+        verify(recipeRepository).upsertRoles(List.of(new RoleRow(3L, "Coach", "")));
+        verify(recipeRepository).upsertActivities(List.of(new ActivityRow(14L, "Walk 30 minutes", "Daily walk",
+                ActivityType.PERFORMING, null, null)));
+        verify(recipeRepository).insertActivityRoles(List.of(new Link(14L, 3L)));
+        verify(recipeRepository).deleteLinks(eq(Section.PHASES),
+                argThat(ids -> List.copyOf(ids).equals(List.of(11L))));
+        verify(recipeRepository).upsertPhases(List.of(new PhaseRow(11L, 10L, "", "")));
+        verify(recipeRepository).saveImportedIds("staging", Section.ACTIVITIES, List.of(new Link(5L, 14L)));
+    }
+
+    @Test
+    void testImportBundleUnsupportedVersion() throws Exception {
+        mockMvc.perform(post("/recipe/import").contentType(MediaType.APPLICATION_JSON)
+                        .content(BUNDLE.replace("\"version\": 1", "\"version\": 2")))
+                .andExpect(status().isBadRequest());
+
+        verify(recipeRepository, never()).upsertRoles(any());
+    }
+
+    @Test
+    void testImportBundleUnknownReference() throws Exception {
+        // The intervention of the phase was never imported.
+        when(recipeRepository.findImportedIds(eq("staging"), eq(Section.ROLES), anyCollection()))
+                .thenReturn(Map.of(1L, 3L));
+
+        mockMvc.perform(post("/recipe/import").contentType(MediaType.APPLICATION_JSON)
+                        .content(BUNDLE.replace("\"intervention\": 9", "\"intervention\": 99")))
+                .andExpect(status().isBadRequest());
+
+        verify(recipeRepository, never()).upsertPhases(any());
+    }
+
+    @Test
+    void testImportBundleMissingSpecializedActivity() throws Exception {
+        when(recipeRepository.findImportedIds(eq("staging"), eq(Section.ROLES), anyCollection()))
+                .thenReturn(Map.of(1L, 3L));
+
+        mockMvc.perform(post("/recipe/import").contentType(MediaType.APPLICATION_JSON)
+                        .content(BUNDLE.replace("\"kind\": \"BCIActivity\"", "\"kind\": \"Assessment\"")))
+                .andExpect(status().isBadRequest());
+
+        // The roles are imported, and the assessment found neither by id nor by name is rejected before any new id.
+        verify(recipeRepository).upsertRoles(List.of(new RoleRow(3L, "Coach", "")));
+        verify(recipeRepository).findIdsByName(eq(Node.ACTIVITY), eq(List.of("Walk 30 minutes")));
+        verify(recipeRepository, never()).allocateIds(eq(Node.ACTIVITY), anyInt());
+        verify(recipeRepository, never()).upsertActivities(any());
+    }
+
+    @Test
+    void testImportBundleFiles() throws Exception {
+        when(recipeRepository.findImportedIds(eq("staging"), eq(Section.CONTENTS), anyCollection()))
+                .thenReturn(Map.of(4L, 15L));
+        ArgumentCaptor<Path> stagedFile = ArgumentCaptor.forClass(Path.class);
+        doAnswer(invocation -> {
+            assertThat(Files.readString(invocation.getArgument(2, Path.class))).isEqualTo("hello");
+            return null;
+        }).when(contentService).attachFile(eq(15L), eq("guide.txt"), stagedFile.capture(),
+                eq("2cf24dba5fb0a30e26e83b2ac5b9e29e1b161e5c1fa7425e73043362938b9824"));
+
+        mockMvc.perform(post("/recipe/import").contentType(MediaType.APPLICATION_JSON).content(FILE_BUNDLE + "}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported.contents").value(1))
+                .andExpect(jsonPath("$.imported.files").value(1));
+
+        // The file is stored once the import is committed, and its staged copy is deleted.
+        verify(transactionManager).commit(any());
+        assertThat(stagedFile.getValue()).doesNotExist();
+    }
+
+    @Test
+    void testImportBundleRejectedKeepsFiles() throws Exception {
+        when(recipeRepository.findImportedIds(eq("staging"), eq(Section.CONTENTS), anyCollection()))
+                .thenReturn(Map.of(4L, 15L));
+
+        // The phase of an unknown intervention rejects the bundle after its files were read.
+        mockMvc.perform(post("/recipe/import").contentType(MediaType.APPLICATION_JSON).content(FILE_BUNDLE +
+                        ", \"phases\": [{\"id\": 2, \"intervention\": 99, \"entryConditions\": \"\", " +
+                        "\"exitConditions\": \"\", \"blocks\": [], \"modules\": []}]}"))
+                .andExpect(status().isBadRequest());
+
+        verify(transactionManager).rollback(any());
+        verify(contentService, never()).attachFile(any(), any(), any(), any());
+    }
+}
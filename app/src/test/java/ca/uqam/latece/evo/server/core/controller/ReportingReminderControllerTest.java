@@ -0,0 +1,114 @@
+package ca.uqam.latece.evo.server.core.controller;
+
+import ca.uqam.latece.evo.server.core.controller.instance.ReportingReminderController;
+import ca.uqam.latece.evo.server.core.enumeration.ExecutionStatus;
+import ca.uqam.latece.evo.server.core.repository.instance.ReportingReminderRepository;
+import ca.uqam.latece.evo.server.core.repository.instance.ReportingReminderStore.Claimed;
+import ca.uqam.latece.evo.server.core.repository.instance.ReportingReminderStore.Reminder;
+import ca.uqam.latece.evo.server.core.repository.instance.ReportingReminderStore.ReportingInstance;
+import ca.uqam.latece.evo.server.core.service.instance.ReportingReminderScheduler;
+import ca.uqam.latece.evo.server.core.service.instance.ReportingReminderService;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The Reporting Reminder Controller test class for the {@link ReportingReminderController}, responsible for testing the
+ * scheduling and the firing of the reminders of the Reporting activity instances, with a mocked
+ * ReportingReminderRepository.
+ * @version 1.0
+ * @author Edilton Lima dos Santos.
+ */
+@WebMvcTest(controllers = ReportingReminderController.class)
+@ContextConfiguration(classes = {ReportingReminderController.class, ReportingReminderService.class,
+        ReportingReminderScheduler.class})
+public class ReportingReminderControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private ReportingReminderRepository reportingReminderRepository;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testRun() throws Exception {
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        Instant overdue = Instant.now().minus(1, ChronoUnit.HOURS);
+        when(reportingReminderRepository.lockCursor(anyString())).thenReturn(0L);
+        when(reportingReminderRepository.findReportingInstances(eq(0L), anyInt())).thenReturn(List.of(
+                new ReportingInstance(1L, "P1D", today, ExecutionStatus.IN_PROGRESS),
+                new ReportingInstance(2L, "Frequency", today, ExecutionStatus.READY)));
+        when(reportingReminderRepository.insertReminders(any())).thenReturn(1);
+        // One batch of due reminders for the four workers.
+        when(reportingReminderRepository.claimDueReminders(any(Instant.class), anyInt())).thenReturn(List.of(
+                new Claimed(new Reminder(1L, overdue), new ReportingInstance(1L, "P1D", today,
+                        ExecutionStatus.IN_PROGRESS)),
+                new Claimed(new Reminder(3L, overdue), new ReportingInstance(3L, "DAILY", today,
+                        ExecutionStatus.READY)),
+                new Claimed(new Reminder(4L, overdue), new ReportingInstance(4L, "P1D", today,
+                        ExecutionStatus.FINISHED)),
+                new Claimed(new Reminder(5L, overdue), new ReportingInstance(5L, "R1/P1D", today.minusDays(10),
+                        ExecutionStatus.IN_PROGRESS))), List.of());
+
+        mockMvc.perform(post("/reportingreminder/run"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.scanned").value(2))
+                .andExpect(jsonPath("$.scheduled").value(1))
+                .andExpect(jsonPath("$.claimed").value(4))
+                .andExpect(jsonPath("$.fired").value(2))
+                .andExpect(jsonPath("$.removed").value(1))
+                .andExpect(jsonPath("$.errors").value(0));
+
+        ArgumentCaptor<List<Reminder>> inserted = ArgumentCaptor.forClass(List.class);
+        ArgumentCaptor<List<Reminder>> rescheduled = ArgumentCaptor.forClass(List.class);
+        ArgumentCaptor<List<Long>> removed = ArgumentCaptor.forClass(List.class);
+        verify(reportingReminderRepository).insertReminders(inserted.capture());
+        // The cursor stays at the last instance scanned, until a rescan.
+        verify(reportingReminderRepository).saveCursor(anyString(), eq(2L));
+        verify(reportingReminderRepository).rescheduleReminders(rescheduled.capture());
+        verify(reportingReminderRepository).deleteReminders(removed.capture());
+
+        // The invalid frequency is kept without due time, so it is not scanned again; the first report of a daily
+        // frequency is due tomorrow. The reminder of an exhausted recurrence is kept without due time too.
+        Instant tomorrow = today.plusDays(1).atStartOfDay().toInstant(ZoneOffset.UTC);
+        assertThat(inserted.getValue()).containsExactly(new Reminder(1L, tomorrow), new Reminder(2L, null));
+        assertThat(rescheduled.getValue()).extracting(Reminder::instanceId).containsExactly(1L, 3L, 5L);
+        assertThat(rescheduled.getValue().get(2).dueAt()).isNull();
+        assertThat(removed.getValue()).containsExactly(4L);
+    }
+
+    @Test
+    void testFindReminder() throws Exception {
+        when(reportingReminderRepository.findReminder(1L)).thenReturn(Optional.of(new Reminder(1L,
+                Instant.parse("2025-03-01T00:00:00Z"))));
+
+        mockMvc.perform(get("/reportingreminder/1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.dueAt").value("2025-03-01T00:00:00Z"));
+        mockMvc.perform(get("/reportingreminder/2")).andExpect(status().isNotFound());
+    }
+}
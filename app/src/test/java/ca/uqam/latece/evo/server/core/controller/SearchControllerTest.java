@@ -0,0 +1,103 @@
+package ca.uqam.latece.evo.server.core.controller;
+
+import ca.uqam.latece.evo.server.core.repository.SearchRepository;
+import ca.uqam.latece.evo.server.core.response.SearchResult;
+import ca.uqam.latece.evo.server.core.service.SearchService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The Search Controller test class for the {@link SearchController}, responsible for testing the parameters, the
+ * paging and the validation of the unified search, with a mocked SearchRepository.
+ * @version 1.0
+ * @author Edilton Lima dos Santos.
+ */
+@WebMvcTest(controllers = SearchController.class)
+@ContextConfiguration(classes = {SearchController.class, SearchService.class})
+public class SearchControllerTest {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private SearchRepository searchRepository;
+
+    @Test
+    void testSearch() throws Exception {
+        when(searchRepository.search(eq("tremblay"), eq("tremblay%"), eq("%tremblay%"), eq(List.of("PATIENT")),
+                eq(3), eq(2L))).thenReturn(List.of(result("PATIENT", 1L, "Tremblay Jean", 3.9),
+                result("PATIENT", 2L, "Marguerite Tremblay", 2.0), result("PATIENT", 3L, "Tremblai", 0.7)));
+
+        mockMvc.perform(get("/search").param("q", "  Tremblay ").param("types", "PATIENT")
+                        .param("page", "1").param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.query").value("tremblay"))
+                .andExpect(jsonPath("$.hasNext").value(true))
+                .andExpect(jsonPath("$.results.length()").value(2))
+                .andExpect(jsonPath("$.results[0].name").value("Tremblay Jean"))
+                .andExpect(jsonPath("$.results[0].type").value("PATIENT"));
+    }
+
+    @Test
+    void testSearchEscapesWildcards() throws Exception {
+        when(searchRepository.search(eq("50%_off"), eq("50\\%\\_off%"), eq("%50\\%\\_off%"), any(), anyInt(),
+                anyLong())).thenReturn(List.of());
+
+        mockMvc.perform(get("/search").param("q", "50%_off"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.results.length()").value(0))
+                .andExpect(jsonPath("$.hasNext").value(false));
+    }
+
+    @Test
+    void testSearchBadRequest() throws Exception {
+        mockMvc.perform(get("/search").param("q", "a")).andExpect(status().isBadRequest());
+        mockMvc.perform(get("/search").param("q", "tremblay").param("size", "1000"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/search").param("q", "tremblay").param("types", "UNKNOWN"))
+                .andExpect(status().isBadRequest());
+
+        verify(searchRepository, never()).search(anyString(), anyString(), anyString(), any(), anyInt(), anyLong());
+    }
+
+    private static SearchResult result(String type, Long id, String name, double score) {
+        return new SearchResult() {
+            @Override
+            public String getType() {
+                return type;
+            }
+
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public String getName() {
+                return name;
+            }
+
+            @Override
+            public Double getScore() {
+                return score;
+            }
+        };
+    }
+}
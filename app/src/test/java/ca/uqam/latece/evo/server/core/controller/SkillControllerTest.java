@@ -3,6 +3,8 @@ package ca.uqam.latece.evo.server.core.controller;
 import ca.uqam.latece.evo.server.core.enumeration.SkillType;
 import ca.uqam.latece.evo.server.core.model.Skill;
 import ca.uqam.latece.evo.server.core.repository.SkillRepository;
+import ca.uqam.latece.evo.server.core.response.SkillDependency;
+import ca.uqam.latece.evo.server.core.response.SkillNode;
 import ca.uqam.latece.evo.server.core.service.SkillService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -11,9 +13,13 @@ import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.context.ContextConfiguration;
 
 import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 
 /**
@@ -217,4 +223,69 @@ public class SkillControllerTest extends AbstractControllerTest  {
         performGetRequest(URL_FIND + "composedofskill/" + composedSkill.getId(), "$[0].name", skillResult.getName());
         performGetRequest(URL_FIND + "composedofskill/" + composedSkill.getId(), "$[0].id", skillResult.getId());
     }
+
+    @Test
+    void testFindTransitivePrerequisites() throws Exception {
+        when(skillRepository.findTransitivePrerequisites(3L))
+                .thenReturn(List.<SkillNode>of(dependency(1L, "Running", null), dependency(2L, "Walking", null)));
+
+        performGetRequest(URL_FIND + "prerequisites/3", "$[1].name", "Walking");
+        performGetRequestNotFound(URL_FIND + "prerequisites/4", "$[0].id");
+    }
+
+    @Test
+    void testFindDescendants() throws Exception {
+        when(skillRepository.findDescendants(1L)).thenReturn(List.<SkillNode>of(dependency(2L, "Pedaling", null)));
+
+        performGetRequest(URL_FIND + "descendants/1", "$[0].id", 2);
+    }
+
+    @Test
+    void testFindLearningPath() throws Exception {
+        // Marathon requires Running and Walking, Running requires Walking.
+        when(skillRepository.findPrerequisiteDependencies(3L)).thenReturn(List.of(
+                dependency(3L, "Marathon", 1L), dependency(3L, "Marathon", 2L),
+                dependency(1L, "Running", 2L), dependency(2L, "Walking", null)));
+
+        mockMvc.perform(get(URL_FIND + "learningpath/3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(3))
+                .andExpect(jsonPath("$[0].name").value("Walking"))
+                .andExpect(jsonPath("$[1].name").value("Running"))
+                .andExpect(jsonPath("$[1].level").value(1))
+                .andExpect(jsonPath("$[2].name").value("Marathon"))
+                .andExpect(jsonPath("$[2].level").value(2));
+    }
+
+    @Test
+    void testFindLearningPathWithCycle() throws Exception {
+        when(skillRepository.findPrerequisiteDependencies(1L)).thenReturn(List.of(
+                dependency(1L, "Running", 2L), dependency(2L, "Walking", 1L)));
+
+        mockMvc.perform(get(URL_FIND + "learningpath/1")).andExpect(status().isBadRequest());
+    }
+
+    private static SkillDependency dependency(Long id, String name, Long requiredId) {
+        return new SkillDependency() {
+            @Override
+            public Long getRequiredId() {
+                return requiredId;
+            }
+
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public String getName() {
+                return name;
+            }
+
+            @Override
+            public String getType() {
+                return SkillType.PHYSICAL.name();
+            }
+        };
+    }
 }
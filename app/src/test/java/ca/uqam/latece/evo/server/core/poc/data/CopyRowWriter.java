@@ -0,0 +1,76 @@
+package ca.uqam.latece.evo.server.core.poc.data;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writes rows in the PostgreSQL COPY text format (tab separated columns, one row per line, {@code \N} for null) to an
+ * output stream, usually a {@code PGCopyOutputStream}. Values are written with {@link String#valueOf(Object)}, so
+ * numbers, enumerations and {@code LocalDate} values are accepted as is.
+ *
+ * @version 1.0
+ * @author Edilton Lima dos Santos.
+ */
+public class CopyRowWriter {
+    private static final String NULL = "\\N";
+
+    private final OutputStream output;
+
+    private final StringBuilder line = new StringBuilder(256);
+
+    private long rowCount;
+
+    public CopyRowWriter(OutputStream output) {
+        this.output = output;
+    }
+
+    /**
+     * Writes a row.
+     * @param values the values of the row, in the order of the columns of the COPY statement.
+     */
+    public void row(Object... values) {
+        this.line.setLength(0);
+
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                this.line.append('\t');
+            }
+
+            if (values[i] == null) {
+                this.line.append(NULL);
+            } else {
+                escape(String.valueOf(values[i]));
+            }
+        }
+
+        this.line.append('\n');
+
+        try {
+            this.output.write(this.line.toString().getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        this.rowCount++;
+    }
+
+    public long getRowCount() {
+        return this.rowCount;
+    }
+
+    private void escape(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+
+            switch (c) {
+                case '\\' -> this.line.append("\\\\");
+                case '\t' -> this.line.append("\\t");
+                case '\n' -> this.line.append("\\n");
+                case '\r' -> this.line.append("\\r");
+                default -> this.line.append(c);
+            }
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package ca.uqam.latece.evo.server.core.poc.data;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Loads the tables of a SyntheticDataGenerator in a PostgreSQL database with schema.sql, using one streaming
+ * {@code COPY ... FROM STDIN} per table. Rows are written to the connection as they are generated, so the memory used
+ * does not depend on the volume of data.
+ * <p>
+ * All the tables are loaded in one transaction: the generated ids start after the current maximum id of each table,
+ * then the BIGSERIAL sequences are moved after the loaded ids and the tables are analyzed, so the application can keep
+ * inserting data and the planner sees the real volumes.
+ * <p>
+ * The loader can also be run against any database, e.g. to seed a local database with 100k patients:
+ * {@code PostgresCopyLoader jdbc:postgresql://localhost:5432/evo user password [seed] [patients]}.
+ *
+ * @version 1.0
+ * @author Edilton Lima dos Santos.
+ */
+public class PostgresCopyLoader {
+    private static final Logger logger = LoggerFactory.getLogger(PostgresCopyLoader.class);
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final Connection connection;
+
+    public PostgresCopyLoader(Connection connection) {
+        this.connection = connection;
+    }
+
+    /**
+     * Generates and loads the synthetic data.
+     * @param seed the seed of the generator.
+     * @param size the volumes to generate.
+     * @return the number of rows loaded by table, in load order.
+     * @throws SQLException if a table can not be loaded, the transaction is then rolled back, or if the tables can not
+     * be analyzed, the data then stays loaded.
+     */
+    public Map<String, Long> load(long seed, SyntheticDataSize size) throws SQLException {
+        boolean autoCommit = this.connection.getAutoCommit();
+        this.connection.setAutoCommit(false);
+
+        try {
+            SyntheticDataGenerator generator = new SyntheticDataGenerator(seed, size, readIdBases());
+            Map<String, Long> rowCounts = new LinkedHashMap<>();
+            long start = System.nanoTime();
+
+            for (SyntheticTable table : generator.tables()) {
+                rowCounts.put(table.name(), copy(table));
+            }
+
+            resetSequences();
+            this.connection.commit();
+            analyze(rowCounts);
+
+            logger.info("Synthetic data set (seed {}) loaded in {} ms: {}", seed,
+                    (System.nanoTime() - start) / 1_000_000, rowCounts);
+            return rowCounts;
+        } catch (SQLException | RuntimeException e) {
+            // The ANALYZE runs in autocommit after the commit of the data: there is nothing left to roll back.
+            try {
+                if (!this.connection.getAutoCommit()) {
+                    this.connection.rollback();
+                }
+            } catch (SQLException rollbackError) {
+                e.addSuppressed(rollbackError);
+            }
+
+            throw e;
+        } finally {
+            this.connection.setAutoCommit(autoCommit);
+        }
+    }
+
+    private long copy(SyntheticTable table) throws SQLException {
+        long start = System.nanoTime();
+        CopyRowWriter writer;
+
+        try (PGCopyOutputStream output = new PGCopyOutputStream(this.connection.unwrap(PGConnection.class),
+                table.copyStatement(), BUFFER_SIZE)) {
+            writer = new CopyRowWriter(output);
+            table.rows().accept(writer);
+        } catch (IOException e) {
+            throw new SQLException("Unable to copy the table " + table.name(), e);
+        }
+
+        logger.info("Copied {} rows into {} in {} ms", writer.getRowCount(), table.name(),
+                (System.nanoTime() - start) / 1_000_000);
+        return writer.getRowCount();
+    }
+
+    private Map<String, Long> readIdBases() throws SQLException {
+        Map<String, Long> idBases = new LinkedHashMap<>();
+
+        try (Statement statement = this.connection.createStatement()) {
+            for (Map.Entry<String, String> table : SyntheticDataGenerator.SERIAL_TABLES.entrySet()) {
+                try (ResultSet result = statement.executeQuery("SELECT coalesce(max(" + table.getValue() + "), 0) FROM " +
+                        table.getKey())) {
+                    result.next();
+                    idBases.put(table.getKey(), result.getLong(1));
+                }
+            }
+        }
+
+        return idBases;
+    }
+
+    private void resetSequences() throws SQLException {
+        try (Statement statement = this.connection.createStatement()) {
+            for (Map.Entry<String, String> table : SyntheticDataGenerator.SERIAL_TABLES.entrySet()) {
+                statement.execute("SELECT setval(pg_get_serial_sequence('" + table.getKey() + "', '" +
+                        table.getValue() + "'), (SELECT coalesce(max(" + table.getValue() + "), 0) + 1 FROM " +
+                        table.getKey() + "), false)");
+            }
+        }
+    }
+
+    private void analyze(Map<String, Long> rowCounts) throws SQLException {
+        this.connection.setAutoCommit(true);
+
+        try (Statement statement = this.connection.createStatement()) {
+            statement.execute("ANALYZE " + String.join(", ", rowCounts.keySet()));
+        }
+    }
+
+    public static void main(String[] args) throws SQLException {
+        if (args.length < 3) {
+            throw new IllegalArgumentException("Usage: PostgresCopyLoader <jdbc url> <user> <password> [seed] [patients]");
+        }
+
+        long seed = args.length > 3 ? Long.parseLong(args[3]) : 1L;
+        SyntheticDataSize size = args.length > 4 ?
+                SyntheticDataSize.production().withPatients(Integer.parseInt(args[4])) : SyntheticDataSize.production();
+
+        try (Connection connection = DriverManager.getConnection(args[0], args[1], args[2])) {
+            new PostgresCopyLoader(connection).load(seed, size);
+        }
+    }
+}
@@ -0,0 +1,544 @@
+package ca.uqam.latece.evo.server.core.poc.data;
+
+import ca.uqam.latece.evo.server.core.enumeration.ActivityType;
+import ca.uqam.latece.evo.server.core.enumeration.ExecutionStatus;
+import ca.uqam.latece.evo.server.core.enumeration.InteractionMedium;
+import ca.uqam.latece.evo.server.core.enumeration.InteractionMode;
+import ca.uqam.latece.evo.server.core.enumeration.Scale;
+import ca.uqam.latece.evo.server.core.enumeration.TimeCycle;
+
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic generator of production-scale data consistent with schema.sql: actors, patients, assessments,
+ * referrals, intervention recipes and intervention instance trees.
+ * <p>
+ * Every value is a pure function of the seed and of the index of the entity (each entity gets its own
+ * {@link SplittableRandom}), so the tables can be produced one after the other, in foreign key order, and streamed
+ * with one COPY per table without keeping anything in memory. The same seed and sizes always produce the same rows.
+ * <p>
+ * Primary keys are assigned by the generator. For BIGSERIAL tables (see {@link #SERIAL_TABLES}) they start after the
+ * id bases given to the constructor, usually the current maximum id of each table, so the data can be loaded next to
+ * existing data. Unique names and emails contain the seed, so two different seeds can be loaded in the same database.
+ *
+ * @version 1.0
+ * @author Edilton Lima dos Santos.
+ */
+public class SyntheticDataGenerator {
+    /** BIGSERIAL tables filled by the generator and their primary key column. */
+    public static final Map<String, String> SERIAL_TABLES = serialTables();
+
+    private static final LocalDate EPOCH = LocalDate.of(2024, 1, 1);
+    private static final String PASS_CONDITION = "x->true";
+    private static final int ASSESSMENT_RECIPES = 3;
+
+    private static final String[] FIRST_NAMES = {"Alice", "Bruno", "Chloé", "David", "Emma", "Félix", "Gabrielle",
+            "Hugo", "Inès", "Jacob", "Léa", "Mathis", "Noémie", "Olivier", "Rosalie", "Samuel", "Zoé"};
+    private static final String[] LAST_NAMES = {"Tremblay", "Gagnon", "Roy", "Côté", "Bouchard", "Gauthier",
+            "Morin", "Lavoie", "Fortin", "Gagné", "Ouellet", "Pelletier", "Bélanger", "Lévesque", "Bergeron"};
+    private static final String[] OCCUPATIONS = {"Teacher", "Nurse", "Engineer", "Retired", "Student", "Cook",
+            "Driver", "Accountant", "Artist", "Technician"};
+    private static final String[] HISTORIES = {"Heavy smoker", "Type 2 diabetes", "Hypertension", "Sedentary",
+            "Obesity", "Insomnia", "Alcohol use"};
+    private static final String[] SPECIALTIES = {"Cardiology", "Psychology", "Nutrition", "Kinesiology",
+            "Family medicine"};
+
+    // Streams of random numbers, one per kind of entity.
+    private static final long ACTOR = 1;
+    private static final long ASSESSMENT = 2;
+    private static final long ENROLLMENT = 3;
+    private static final long REFERRAL = 4;
+
+    private final long seed;
+
+    private final SyntheticDataSize size;
+
+    private final Map<String, Long> idBases;
+
+    public SyntheticDataGenerator(long seed, SyntheticDataSize size) {
+        this(seed, size, Map.of());
+    }
+
+    /**
+     * @param seed the seed of the generator.
+     * @param size the volumes to generate.
+     * @param idBases the ids already used by table (see {@link #SERIAL_TABLES}), generated ids start after them.
+     */
+    public SyntheticDataGenerator(long seed, SyntheticDataSize size, Map<String, Long> idBases) {
+        this.seed = seed;
+        this.size = size;
+        this.idBases = Map.copyOf(idBases);
+    }
+
+    /**
+     * @return the tables to load, in foreign key order.
+     */
+    public List<SyntheticTable> tables() {
+        return List.of(
+                table("role", this::roles, "role_id", "role_name", "role_description"),
+                table("actor", this::actors, "actor_id", "actor_name", "actor_email", "actor_contact_information"),
+                table("healthcare_professional", this::professionals, "healthcare_professional_id",
+                        "healthcare_professional_position", "healthcare_professional_affiliation",
+                        "healthcare_professional_specialties"),
+                table("patient_medicalfile", this::medicalFiles, "patient_medicalfile_id",
+                        "patient_medicalfile_date", "patient_medicalfile_medicalhistory"),
+                table("patient", this::patients, "patient_id", "patient_birthdate", "patient_occupation",
+                        "patient_address", "patient_patient_medical_file_id"),
+                table("participant", this::participants, "participant_id", "participant_role_id",
+                        "participant_actor_id"),
+                table("patient_assessment", this::patientAssessments, "patient_assessment_id",
+                        "patient_assessment_date", "patient_assessment_assessment", "patient_assessment_patient"),
+                table("bci_activity", this::bciActivities, "bci_activity_id", "bci_activity_name",
+                        "bci_activity_description", "bci_activity_type", "bci_activity_preconditions",
+                        "bci_activity_postconditions"),
+                table("interaction", this::interactions, "interaction_id", "interaction_mode",
+                        "interaction_initiator_role_id", "interaction_medium1"),
+                table("assessment", this::assessments, "assessment_id", "assessment_assessee_role_id",
+                        "assessment_assessor_role_id", "assessment_scale", "assessment_scoring_function"),
+                table("behavior_change_intervention", this::interventions, "behavior_change_intervention_id",
+                        "behavior_change_intervention_name", "behavior_change_intervention_entry_conditions",
+                        "behavior_change_intervention_exit_conditions"),
+                table("behavior_change_intervention_phase", this::phases, "behavior_change_intervention_phase_id",
+                        "behavior_change_intervention_phase_entry_conditions",
+                        "behavior_change_intervention_phase_exit_conditions", "behavior_change_intervention_phase_bci_id"),
+                table("behavior_change_intervention_block", this::blocks, "behavior_change_intervention_block_id",
+                        "behavior_change_intervention_block_entry_conditions",
+                        "behavior_change_intervention_block_exit_conditions"),
+                table("compose_of_phase_block", this::phaseBlocks, "compose_of_phase_block_id",
+                        "compose_of_phase_block_bci_phase_id", "compose_of_phase_block_bci_block_id"),
+                table("composed_of", this::composedOf, "composed_of_id", "composed_of_time_cycle",
+                        "composed_of_order", "composed_of_bci_activity_id", "composed_of_bci_block_id"),
+                table("activity_instance", this::activityInstances, "activity_instance_id",
+                        "activity_instance_status", "activity_instance_entry_date", "activity_instance_exit_date"),
+                table("bci_activity_instance", this::bciActivityInstances, "bci_activity_instance_id",
+                        "bci_activity_instance_bci_activity_id"),
+                table("interaction_instance", this::interactionInstances, "interaction_instance_id",
+                        "interaction_instance_interaction_id"),
+                table("bci_activity_instance_participants", this::activityParticipants,
+                        "bci_activity_instance_participants_bci_activity_instance_id",
+                        "bci_activity_instance_participants_participant_id"),
+                table("bci_block_instance", this::blockInstances, "bci_block_instance_id", "bci_block_instance_stage",
+                        "bci_block_instance_behavior_change_intervention_block_id"),
+                table("bci_block_instance_activities", this::blockInstanceActivities,
+                        "bci_block_instance_activities_block_id", "bci_block_instance_activities_activity_id"),
+                table("bci_phase_instance", this::phaseInstances, "bci_phase_instance_id",
+                        "bci_phase_instance_currentblock_id", "bci_phase_instance_behavior_change_intervention_phase_id"),
+                table("bci_phase_instance_activities", this::phaseInstanceActivities,
+                        "bci_phase_instance_activities_phase_id", "bci_phase_instance_activities_block_id"),
+                table("bci_instance", this::bciInstances, "bci_instance_id", "bci_instance_patient_id",
+                        "bci_instance_currentphase_id", "bci_instance_behavior_change_intervention_id"),
+                table("bci_instance_activities", this::bciInstanceActivities, "bci_instance_activities_bci_id",
+                        "bci_instance_activities_phase_id"),
+                table("bci_referral", this::referrals, "bci_referral_id", "bci_referral_date", "bci_referral_reason",
+                        "bci_referral_patient", "bci_referral_patient_assessment", "bci_referral_professional",
+                        "bci_referral_interventionist"),
+                table("bci_referral_interventions", this::referralInterventions, "bci_referral_interventions_bci_id",
+                        "bci_referral_interventions_referral_id"));
+    }
+
+    private void roles(CopyRowWriter writer) {
+        writer.row(patientRoleId(), "Synthetic " + seed + " Patient", "Patient of the synthetic data set");
+        writer.row(professionalRoleId(), "Synthetic " + seed + " Professional", "Health care professional of the synthetic data set");
+    }
+
+    private void actors(CopyRowWriter writer) {
+        for (int p = 0; p < size.professionals(); p++) {
+            writeActor(writer, professionalActorId(p), p);
+        }
+
+        for (int i = 0; i < size.patients(); i++) {
+            writeActor(writer, patientActorId(i), size.professionals() + i);
+        }
+    }
+
+    private void writeActor(CopyRowWriter writer, long actorId, long index) {
+        SplittableRandom random = random(ACTOR, index);
+        String firstName = pick(random, FIRST_NAMES);
+        String lastName = pick(random, LAST_NAMES);
+        String email = (firstName + "." + lastName + "." + index + ".s" + seed + "@synthetic.evo").toLowerCase();
+        writer.row(actorId, firstName + " " + lastName, email,
+                String.format("%03d-%03d-%04d", 200 + random.nextInt(800), random.nextInt(1000), random.nextInt(10000)));
+    }
+
+    private void professionals(CopyRowWriter writer) {
+        for (int p = 0; p < size.professionals(); p++) {
+            SplittableRandom random = random(ACTOR, p);
+            writer.row(professionalActorId(p), random.nextBoolean() ? "Physician" : "Interventionist",
+                    "Synthetic clinic " + (p % 10), pick(random, SPECIALTIES));
+        }
+    }
+
+    private void medicalFiles(CopyRowWriter writer) {
+        for (int i = 0; i < size.patients(); i++) {
+            SplittableRandom random = random(ACTOR, size.professionals() + i);
+            writer.row(medicalFileId(i), EPOCH.minusDays(random.nextInt(3650)), pick(random, HISTORIES));
+        }
+    }
+
+    private void patients(CopyRowWriter writer) {
+        for (int i = 0; i < size.patients(); i++) {
+            SplittableRandom random = random(ACTOR, size.professionals() + i);
+            writer.row(patientActorId(i), EPOCH.minusYears(18 + random.nextInt(70)).minusDays(random.nextInt(365)),
+                    pick(random, OCCUPATIONS), (1 + random.nextInt(9999)) + " Synthetic Street", medicalFileId(i));
+        }
+    }
+
+    private void participants(CopyRowWriter writer) {
+        for (int i = 0; i < size.patients(); i++) {
+            writer.row(participantId(i), patientRoleId(), patientActorId(i));
+        }
+    }
+
+    private void patientAssessments(CopyRowWriter writer) {
+        for (int i = 0; i < size.patients(); i++) {
+            for (int j = 0; j < size.assessmentsPerPatient(); j++) {
+                SplittableRandom random = random(ASSESSMENT, (long) i * size.assessmentsPerPatient() + j);
+                writer.row(patientAssessmentId(i, j), EPOCH.plusDays(random.nextInt(365)),
+                        "Synthetic assessment score " + random.nextInt(101), patientActorId(i));
+            }
+        }
+    }
+
+    private void bciActivities(CopyRowWriter writer) {
+        for (int r = 0; r < size.interventions(); r++) {
+            for (int k = 0; k < size.activitiesPerIntervention(); k++) {
+                writer.row(interactionId(r, k), "Synthetic " + seed + " Interaction " + r + "." + k,
+                        "Interaction " + k + " of the synthetic intervention " + r, ActivityType.BCI_ACTIVITY,
+                        PASS_CONDITION, PASS_CONDITION);
+            }
+        }
+
+        for (int a = 0; a < ASSESSMENT_RECIPES; a++) {
+            writer.row(assessmentRecipeId(a), "Synthetic " + seed + " Assessment " + a,
+                    "Assessment " + a + " of the synthetic data set", ActivityType.DIAGNOSING, PASS_CONDITION,
+                    PASS_CONDITION);
+        }
+    }
+
+    private void interactions(CopyRowWriter writer) {
+        InteractionMode[] modes = InteractionMode.values();
+        InteractionMedium[] media = InteractionMedium.values();
+
+        for (int r = 0; r < size.interventions(); r++) {
+            for (int k = 0; k < size.activitiesPerIntervention(); k++) {
+                writer.row(interactionId(r, k), modes[k % modes.length], professionalRoleId(), media[(r + k) % media.length]);
+            }
+        }
+    }
+
+    private void assessments(CopyRowWriter writer) {
+        for (int a = 0; a < ASSESSMENT_RECIPES; a++) {
+            writer.row(assessmentRecipeId(a), patientRoleId(), professionalRoleId(), Scale._100, "x -> x");
+        }
+    }
+
+    private void interventions(CopyRowWriter writer) {
+        for (int r = 0; r < size.interventions(); r++) {
+            writer.row(interventionId(r), "Synthetic " + seed + " Intervention " + r, PASS_CONDITION, PASS_CONDITION);
+        }
+    }
+
+    private void phases(CopyRowWriter writer) {
+        for (int r = 0; r < size.interventions(); r++) {
+            for (int p = 0; p < size.phasesPerIntervention(); p++) {
+                writer.row(phaseRecipeId(r, p), PASS_CONDITION, PASS_CONDITION, interventionId(r));
+            }
+        }
+    }
+
+    private void blocks(CopyRowWriter writer) {
+        for (int r = 0; r < size.interventions(); r++) {
+            for (int b = 0; b < size.blocksPerIntervention(); b++) {
+                writer.row(blockRecipeId(r, b), PASS_CONDITION, PASS_CONDITION);
+            }
+        }
+    }
+
+    private void phaseBlocks(CopyRowWriter writer) {
+        for (int r = 0; r < size.interventions(); r++) {
+            for (int b = 0; b < size.blocksPerIntervention(); b++) {
+                writer.row(id("compose_of_phase_block", (long) r * size.blocksPerIntervention() + b),
+                        phaseRecipeId(r, b / size.blocksPerPhase()), blockRecipeId(r, b));
+            }
+        }
+    }
+
+    private void composedOf(CopyRowWriter writer) {
+        for (int r = 0; r < size.interventions(); r++) {
+            for (int k = 0; k < size.activitiesPerIntervention(); k++) {
+                writer.row(id("composed_of", (long) r * size.activitiesPerIntervention() + k),
+                        stage(k % size.activitiesPerBlock(), size.activitiesPerBlock()), k % size.activitiesPerBlock(),
+                        interactionId(r, k), blockRecipeId(r, k / size.activitiesPerBlock()));
+            }
+        }
+    }
+
+    private void activityInstances(CopyRowWriter writer) {
+        int phaseSize = size.blocksPerPhase() * size.activitiesPerBlock();
+
+        for (long e = 0; e < size.enrollments(); e++) {
+            Enrollment enrollment = enrollment(e);
+            writeActivityInstance(writer, bciInstanceId(e), enrollment, 0, size.activitiesPerIntervention());
+
+            for (int p = 0; p < size.phasesPerIntervention(); p++) {
+                writeActivityInstance(writer, phaseInstanceId(e, p), enrollment, p * phaseSize, (p + 1) * phaseSize);
+            }
+
+            for (int b = 0; b < size.blocksPerIntervention(); b++) {
+                writeActivityInstance(writer, blockInstanceId(e, b), enrollment, b * size.activitiesPerBlock(),
+                        (b + 1) * size.activitiesPerBlock());
+            }
+
+            for (int k = 0; k < size.activitiesPerIntervention(); k++) {
+                writeActivityInstance(writer, activityInstanceId(e, k), enrollment, k, k + 1);
+            }
+        }
+    }
+
+    /**
+     * Writes the activity instance covering the interactions [first, last) of an enrollment. Interactions before the
+     * progress of the enrollment are FINISHED, the interaction at the progress is IN_PROGRESS and the others are READY.
+     */
+    private void writeActivityInstance(CopyRowWriter writer, long id, Enrollment enrollment, int first, int last) {
+        ExecutionStatus status;
+        LocalDate entryDate = null;
+        LocalDate exitDate = null;
+
+        if (enrollment.progress() >= last) {
+            status = ExecutionStatus.FINISHED;
+            entryDate = enrollment.start().plusDays(first);
+            exitDate = enrollment.start().plusDays(last);
+        } else if (enrollment.progress() >= first) {
+            status = ExecutionStatus.IN_PROGRESS;
+            entryDate = enrollment.start().plusDays(first);
+        } else {
+            status = ExecutionStatus.READY;
+        }
+
+        writer.row(id, status, entryDate, exitDate);
+    }
+
+    private void bciActivityInstances(CopyRowWriter writer) {
+        for (long e = 0; e < size.enrollments(); e++) {
+            int recipe = enrollment(e).recipe();
+
+            for (int k = 0; k < size.activitiesPerIntervention(); k++) {
+                writer.row(activityInstanceId(e, k), interactionId(recipe, k));
+            }
+        }
+    }
+
+    private void interactionInstances(CopyRowWriter writer) {
+        bciActivityInstances(writer);
+    }
+
+    private void activityParticipants(CopyRowWriter writer) {
+        for (long e = 0; e < size.enrollments(); e++) {
+            long participantId = participantId((int) (e / size.enrollmentsPerPatient()));
+
+            for (int k = 0; k < size.activitiesPerIntervention(); k++) {
+                writer.row(activityInstanceId(e, k), participantId);
+            }
+        }
+    }
+
+    private void blockInstances(CopyRowWriter writer) {
+        for (long e = 0; e < size.enrollments(); e++) {
+            int recipe = enrollment(e).recipe();
+
+            for (int b = 0; b < size.blocksPerIntervention(); b++) {
+                writer.row(blockInstanceId(e, b), stage(b % size.blocksPerPhase(), size.blocksPerPhase()),
+                        blockRecipeId(recipe, b));
+            }
+        }
+    }
+
+    private void blockInstanceActivities(CopyRowWriter writer) {
+        for (long e = 0; e < size.enrollments(); e++) {
+            for (int k = 0; k < size.activitiesPerIntervention(); k++) {
+                writer.row(blockInstanceId(e, k / size.activitiesPerBlock()), activityInstanceId(e, k));
+            }
+        }
+    }
+
+    private void phaseInstances(CopyRowWriter writer) {
+        for (long e = 0; e < size.enrollments(); e++) {
+            Enrollment enrollment = enrollment(e);
+            int currentBlock = enrollment.progress() / size.activitiesPerBlock();
+
+            for (int p = 0; p < size.phasesPerIntervention(); p++) {
+                int firstBlock = p * size.blocksPerPhase();
+                int block = Math.clamp(currentBlock, firstBlock, firstBlock + size.blocksPerPhase() - 1);
+                writer.row(phaseInstanceId(e, p), blockInstanceId(e, block), phaseRecipeId(enrollment.recipe(), p));
+            }
+        }
+    }
+
+    private void phaseInstanceActivities(CopyRowWriter writer) {
+        for (long e = 0; e < size.enrollments(); e++) {
+            for (int b = 0; b < size.blocksPerIntervention(); b++) {
+                writer.row(phaseInstanceId(e, b / size.blocksPerPhase()), blockInstanceId(e, b));
+            }
+        }
+    }
+
+    private void bciInstances(CopyRowWriter writer) {
+        int phaseSize = size.blocksPerPhase() * size.activitiesPerBlock();
+
+        for (long e = 0; e < size.enrollments(); e++) {
+            Enrollment enrollment = enrollment(e);
+            int currentPhase = Math.min(enrollment.progress() / phaseSize, size.phasesPerIntervention() - 1);
+            writer.row(bciInstanceId(e), patientActorId((int) (e / size.enrollmentsPerPatient())),
+                    phaseInstanceId(e, currentPhase), interventionId(enrollment.recipe()));
+        }
+    }
+
+    private void bciInstanceActivities(CopyRowWriter writer) {
+        for (long e = 0; e < size.enrollments(); e++) {
+            for (int p = 0; p < size.phasesPerIntervention(); p++) {
+                writer.row(bciInstanceId(e), phaseInstanceId(e, p));
+            }
+        }
+    }
+
+    private void referrals(CopyRowWriter writer) {
+        for (int i = 0; i < size.patients(); i++) {
+            SplittableRandom random = random(REFERRAL, i);
+            writer.row(referralId(i), EPOCH.minusDays(random.nextInt(30)), "Referred for " + pick(random, HISTORIES),
+                    patientActorId(i), patientAssessmentId(i, 0), professionalActorId(i % size.professionals()),
+                    professionalActorId((i + 1) % size.professionals()));
+        }
+    }
+
+    private void referralInterventions(CopyRowWriter writer) {
+        for (int i = 0; i < size.patients(); i++) {
+            writer.row(bciInstanceId((long) i * size.enrollmentsPerPatient()), referralId(i));
+        }
+    }
+
+    /**
+     * Progress of an enrollment: the index of the interaction in progress (equal to the number of interactions when
+     * the intervention is finished), the intervention recipe and the start date.
+     */
+    private record Enrollment(int recipe, int progress, LocalDate start) {}
+
+    private Enrollment enrollment(long e) {
+        SplittableRandom random = random(ENROLLMENT, e);
+        return new Enrollment((int) (e % size.interventions()), random.nextInt(size.activitiesPerIntervention() + 1),
+                EPOCH.plusDays(random.nextInt(365)));
+    }
+
+    private static TimeCycle stage(int position, int count) {
+        if (position == 0) {
+            return TimeCycle.BEGINNING;
+        }
+
+        return position == count - 1 ? TimeCycle.END : TimeCycle.MIDDLE;
+    }
+
+    long patientRoleId() {
+        return id("role", 0);
+    }
+
+    long professionalRoleId() {
+        return id("role", 1);
+    }
+
+    long professionalActorId(int professional) {
+        return id("actor", professional);
+    }
+
+    long patientActorId(int patient) {
+        return id("actor", (long) size.professionals() + patient);
+    }
+
+    private long medicalFileId(int patient) {
+        return id("patient_medicalfile", patient);
+    }
+
+    private long participantId(int patient) {
+        return id("participant", patient);
+    }
+
+    private long patientAssessmentId(int patient, int assessment) {
+        return id("patient_assessment", (long) patient * size.assessmentsPerPatient() + assessment);
+    }
+
+    private long interactionId(int recipe, int activity) {
+        return id("bci_activity", (long) recipe * size.activitiesPerIntervention() + activity);
+    }
+
+    private long assessmentRecipeId(int assessment) {
+        return id("bci_activity", (long) size.interventions() * size.activitiesPerIntervention() + assessment);
+    }
+
+    private long interventionId(int recipe) {
+        return id("behavior_change_intervention", recipe);
+    }
+
+    private long phaseRecipeId(int recipe, int phase) {
+        return id("behavior_change_intervention_phase", (long) recipe * size.phasesPerIntervention() + phase);
+    }
+
+    private long blockRecipeId(int recipe, int block) {
+        return id("behavior_change_intervention_block", (long) recipe * size.blocksPerIntervention() + block);
+    }
+
+    long bciInstanceId(long enrollment) {
+        return id("activity_instance", enrollment * size.activityInstancesPerEnrollment());
+    }
+
+    private long phaseInstanceId(long enrollment, int phase) {
+        return bciInstanceId(enrollment) + 1 + phase;
+    }
+
+    private long blockInstanceId(long enrollment, int block) {
+        return bciInstanceId(enrollment) + 1 + size.phasesPerIntervention() + block;
+    }
+
+    private long activityInstanceId(long enrollment, int activity) {
+        return bciInstanceId(enrollment) + 1 + size.phasesPerIntervention() + size.blocksPerIntervention() + activity;
+    }
+
+    private long referralId(int patient) {
+        return id("bci_referral", patient);
+    }
+
+    private long id(String table, long index) {
+        return this.idBases.getOrDefault(table, 0L) + index + 1;
+    }
+
+    private SplittableRandom random(long stream, long index) {
+        return new SplittableRandom(this.seed * 0x9E3779B97F4A7C15L ^ Long.rotateLeft(stream, 48) ^ index);
+    }
+
+    private static String pick(SplittableRandom random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private static SyntheticTable table(String name, java.util.function.Consumer<CopyRowWriter> rows, String... columns) {
+        return new SyntheticTable(name, List.of(columns), rows);
+    }
+
+    private static Map<String, String> serialTables() {
+        Map<String, String> tables = new LinkedHashMap<>();
+        tables.put("role", "role_id");
+        tables.put("actor", "actor_id");
+        tables.put("patient_medicalfile", "patient_medicalfile_id");
+        tables.put("participant", "participant_id");
+        tables.put("patient_assessment", "patient_assessment_id");
+        tables.put("bci_activity", "bci_activity_id");
+        tables.put("behavior_change_intervention", "behavior_change_intervention_id");
+        tables.put("behavior_change_intervention_phase", "behavior_change_intervention_phase_id");
+        tables.put("behavior_change_intervention_block", "behavior_change_intervention_block_id");
+        tables.put("compose_of_phase_block", "compose_of_phase_block_id");
+        tables.put("composed_of", "composed_of_id");
+        tables.put("activity_instance", "activity_instance_id");
+        tables.put("bci_referral", "bci_referral_id");
+        return java.util.Collections.unmodifiableMap(tables);
+    }
+}
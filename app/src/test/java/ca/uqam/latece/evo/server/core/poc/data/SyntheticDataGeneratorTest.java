@@ -0,0 +1,160 @@
+package ca.uqam.latece.evo.server.core.poc.data;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the SyntheticDataGenerator without database: determinism, volumes and referential integrity of the rows.
+ *
+ * @version 1.0
+ * @author Edilton Lima dos Santos.
+ */
+public class SyntheticDataGeneratorTest {
+    private static final SyntheticDataSize SIZE = SyntheticDataSize.small();
+
+    @Test
+    void testSameSeedGeneratesSameRows() {
+        assertEquals(copy(42, SIZE, Map.of()), copy(42, SIZE, Map.of()));
+        assertNotEquals(copy(42, SIZE, Map.of()).get("actor"), copy(43, SIZE, Map.of()).get("actor"));
+    }
+
+    @Test
+    void testRowCounts() {
+        Map<String, List<String[]>> tables = generate(1, SIZE, Map.of());
+        long enrollments = SIZE.enrollments();
+
+        assertEquals(2, tables.get("role").size());
+        assertEquals(SIZE.patients() + SIZE.professionals(), tables.get("actor").size());
+        assertEquals(SIZE.patients(), tables.get("patient").size());
+        assertEquals(SIZE.patients() * SIZE.assessmentsPerPatient(), tables.get("patient_assessment").size());
+        assertEquals(SIZE.patients(), tables.get("bci_referral").size());
+        assertEquals(enrollments * SIZE.activityInstancesPerEnrollment(), tables.get("activity_instance").size());
+        assertEquals(enrollments * SIZE.activitiesPerIntervention(), tables.get("interaction_instance").size());
+        assertEquals(enrollments * SIZE.blocksPerIntervention(), tables.get("bci_block_instance").size());
+        assertEquals(enrollments * SIZE.phasesPerIntervention(), tables.get("bci_phase_instance").size());
+        assertEquals(enrollments, tables.get("bci_instance").size());
+
+        for (SyntheticTable table : new SyntheticDataGenerator(1, SIZE).tables()) {
+            tables.get(table.name()).forEach(row -> assertEquals(table.columns().size(), row.length, table.name()));
+        }
+    }
+
+    @Test
+    void testForeignKeysReferenceGeneratedRows() {
+        Map<String, List<String[]>> tables = generate(7, SIZE, Map.of());
+
+        assertReferences(tables, "patient", 0, "actor", 0);
+        assertReferences(tables, "healthcare_professional", 0, "actor", 0);
+        assertReferences(tables, "patient", 4, "patient_medicalfile", 0);
+        assertReferences(tables, "participant", 2, "patient", 0);
+        assertReferences(tables, "interaction", 0, "bci_activity", 0);
+        assertReferences(tables, "assessment", 0, "bci_activity", 0);
+        assertReferences(tables, "composed_of", 3, "interaction", 0);
+        assertReferences(tables, "composed_of", 4, "behavior_change_intervention_block", 0);
+        assertReferences(tables, "compose_of_phase_block", 1, "behavior_change_intervention_phase", 0);
+        assertReferences(tables, "bci_activity_instance", 0, "activity_instance", 0);
+        assertReferences(tables, "interaction_instance", 1, "interaction", 0);
+        assertReferences(tables, "bci_activity_instance_participants", 0, "interaction_instance", 0);
+        assertReferences(tables, "bci_block_instance", 0, "activity_instance", 0);
+        assertReferences(tables, "bci_block_instance_activities", 1, "interaction_instance", 0);
+        assertReferences(tables, "bci_phase_instance", 1, "bci_block_instance", 0);
+        assertReferences(tables, "bci_phase_instance_activities", 1, "bci_block_instance", 0);
+        assertReferences(tables, "bci_instance", 1, "patient", 0);
+        assertReferences(tables, "bci_instance", 2, "bci_phase_instance", 0);
+        assertReferences(tables, "bci_instance_activities", 1, "bci_phase_instance", 0);
+        assertReferences(tables, "bci_referral", 4, "patient_assessment", 0);
+        assertReferences(tables, "bci_referral", 5, "healthcare_professional", 0);
+        assertReferences(tables, "bci_referral_interventions", 0, "bci_instance", 0);
+
+        assertUnique(tables, "activity_instance", 0);
+        assertUnique(tables, "actor", 2);
+        assertUnique(tables, "bci_activity", 1);
+    }
+
+    @Test
+    void testInterventionStatusFollowsInteractions() {
+        Map<String, List<String[]>> tables = generate(3, SIZE, Map.of());
+        Map<String, String> status = tables.get("activity_instance").stream()
+                .collect(Collectors.toMap(row -> row[0], row -> row[1]));
+        Map<String, List<String>> blockActivities = tables.get("bci_block_instance_activities").stream()
+                .collect(Collectors.groupingBy(row -> row[0], Collectors.mapping(row -> row[1], Collectors.toList())));
+
+        for (Map.Entry<String, List<String>> block : blockActivities.entrySet()) {
+            boolean finished = block.getValue().stream().allMatch(id -> status.get(id).equals("FINISHED"));
+            boolean ready = block.getValue().stream().allMatch(id -> status.get(id).equals("READY"));
+            String expected = finished ? "FINISHED" : ready ? "READY" : "IN_PROGRESS";
+            assertEquals(expected, status.get(block.getKey()));
+        }
+
+        assertTrue(tables.get("activity_instance").stream().anyMatch(row -> row[1].equals("IN_PROGRESS")));
+        assertTrue(tables.get("activity_instance").stream().allMatch(row ->
+                row[1].equals("READY") == row[2].equals("\\N") && row[1].equals("FINISHED") != row[3].equals("\\N")));
+    }
+
+    @Test
+    void testIdsStartAfterIdBases() {
+        Map<String, List<String[]>> tables = generate(1, SIZE, Map.of("actor", 1000L, "activity_instance", 5000L));
+
+        assertEquals("1001", tables.get("actor").getFirst()[0]);
+        assertEquals("5001", tables.get("activity_instance").getFirst()[0]);
+        assertEquals("1", tables.get("role").getFirst()[0]);
+        assertReferences(tables, "bci_instance", 1, "patient", 0);
+    }
+
+    @Test
+    void testCopyRowWriterEscapesValues() {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        CopyRowWriter writer = new CopyRowWriter(output);
+
+        writer.row(1, null, "a\tb\\c\nd");
+
+        assertEquals("1\t\\N\ta\\tb\\\\c\\nd\n", output.toString(StandardCharsets.UTF_8));
+        assertEquals(1, writer.getRowCount());
+        assertThrows(IllegalArgumentException.class, () -> SIZE.withPatients(0));
+    }
+
+    private static Map<String, String> copy(long seed, SyntheticDataSize size, Map<String, Long> idBases) {
+        Map<String, String> tables = new HashMap<>();
+
+        for (SyntheticTable table : new SyntheticDataGenerator(seed, size, idBases).tables()) {
+            ByteArrayOutputStream output = new ByteArrayOutputStream();
+            table.rows().accept(new CopyRowWriter(output));
+            tables.put(table.name(), output.toString(StandardCharsets.UTF_8));
+        }
+
+        return tables;
+    }
+
+    private static Map<String, List<String[]>> generate(long seed, SyntheticDataSize size, Map<String, Long> idBases) {
+        Map<String, List<String[]>> tables = new HashMap<>();
+
+        copy(seed, size, idBases).forEach((name, rows) ->
+                tables.put(name, rows.lines().map(line -> line.split("\t", -1)).toList()));
+        return tables;
+    }
+
+    private static void assertReferences(Map<String, List<String[]>> tables, String table, int column,
+                                         String referenced, int referencedColumn) {
+        Set<String> ids = tables.get(referenced).stream().map(row -> row[referencedColumn]).collect(Collectors.toSet());
+        tables.get(table).forEach(row ->
+                assertTrue(ids.contains(row[column]), table + " references a missing " + referenced + ": " + row[column]));
+    }
+
+    private static void assertUnique(Map<String, List<String[]>> tables, String table, int column) {
+        Set<String> values = new HashSet<>();
+        tables.get(table).forEach(row -> assertTrue(values.add(row[column]), table + " duplicates " + row[column]));
+    }
+}
@@ -0,0 +1,63 @@
+package ca.uqam.latece.evo.server.core.poc.data;
+
+import ca.uqam.latece.evo.server.core.config.EvoDataLoader;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Loads a synthetic data set with PostgresCopyLoader on top of the POC data, on a Testcontainers PostgreSQL database.
+ * <p>
+ * The test only runs when requested, e.g. to measure the load of the production-scale volumes:
+ * {@code ./mvnw test -Dtest=SyntheticDataLoaderTest -Devo.synthetic.enabled=true -Devo.synthetic.patients=100000}.
+ * Settings (system properties): evo.synthetic.seed (default 1), evo.synthetic.patients (default 100).
+ *
+ * @version 1.0
+ * @author Edilton Lima dos Santos.
+ */
+@EnabledIfSystemProperty(named = "evo.synthetic.enabled", matches = "true")
+@SpringBootTest
+public class SyntheticDataLoaderTest extends EvoDataLoader {
+    private static final long SEED = Long.getLong("evo.synthetic.seed", 1L);
+    private static final int PATIENTS = Integer.getInteger("evo.synthetic.patients", 100);
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void testLoadSyntheticDataSet() throws Exception {
+        SyntheticDataSize size = SyntheticDataSize.production().withPatients(PATIENTS);
+        long patients = count("patient");
+        long activityInstances = count("activity_instance");
+        Map<String, Long> rowCounts;
+
+        try (Connection connection = this.dataSource.getConnection()) {
+            rowCounts = new PostgresCopyLoader(connection).load(SEED, size);
+        }
+
+        assertEquals(patients + PATIENTS, count("patient"));
+        assertEquals(activityInstances + size.enrollments() * size.activityInstancesPerEnrollment(),
+                count("activity_instance"));
+        assertEquals(rowCounts.get("bci_instance"), (long) size.enrollments());
+
+        // The sequences continue after the loaded ids.
+        long actorId = this.jdbcTemplate.queryForObject("SELECT nextval(pg_get_serial_sequence('actor', 'actor_id'))",
+                Long.class);
+        assertEquals(this.jdbcTemplate.queryForObject("SELECT max(actor_id) FROM actor", Long.class) + 1, actorId);
+    }
+
+    private long count(String table) {
+        return this.jdbcTemplate.queryForObject("SELECT count(*) FROM " + table, Long.class);
+    }
+}
@@ -0,0 +1,81 @@
+package ca.uqam.latece.evo.server.core.poc.data;
+
+/**
+ * Volumes produced by the SyntheticDataGenerator.
+ * <p>
+ * Each enrollment creates a BehaviorChangeInterventionInstance tree with one activity instance for the intervention,
+ * one per phase, one per block and one per interaction, i.e. 1 + P + P*B + P*B*A activity instances.
+ *
+ * @param patients number of patients (and of referrals, one per patient).
+ * @param professionals number of health care professionals referring patients.
+ * @param interventions number of intervention recipes.
+ * @param phasesPerIntervention phases of each intervention recipe.
+ * @param blocksPerPhase blocks of each phase recipe.
+ * @param activitiesPerBlock interactions of each block recipe.
+ * @param enrollmentsPerPatient intervention instances of each patient.
+ * @param assessmentsPerPatient patient assessments of each patient.
+ *
+ * @version 1.0
+ * @author Edilton Lima dos Santos.
+ */
+public record SyntheticDataSize(int patients,
+                                int professionals,
+                                int interventions,
+                                int phasesPerIntervention,
+                                int blocksPerPhase,
+                                int activitiesPerBlock,
+                                int enrollmentsPerPatient,
+                                int assessmentsPerPatient) {
+
+    public SyntheticDataSize {
+        if (patients <= 0 || professionals <= 0 || interventions <= 0 || phasesPerIntervention <= 0 ||
+                blocksPerPhase <= 0 || activitiesPerBlock <= 0 || enrollmentsPerPatient <= 0 ||
+                assessmentsPerPatient <= 0) {
+            throw new IllegalArgumentException("All the synthetic data sizes must be greater than zero!");
+        }
+    }
+
+    /**
+     * Production-scale volumes: 100k patients, 300k assessments, 100k referrals and 4M activity instances.
+     * @return the production-scale sizes.
+     */
+    public static SyntheticDataSize production() {
+        return new SyntheticDataSize(100_000, 1_000, 50, 3, 3, 3, 1, 3);
+    }
+
+    /**
+     * Small volumes used to validate the generator against schema.sql.
+     * @return the small sizes.
+     */
+    public static SyntheticDataSize small() {
+        return new SyntheticDataSize(100, 5, 3, 2, 2, 2, 1, 2);
+    }
+
+    /**
+     * @param patients the number of patients.
+     * @return the same sizes with another number of patients.
+     */
+    public SyntheticDataSize withPatients(int patients) {
+        return new SyntheticDataSize(patients, professionals, interventions, phasesPerIntervention, blocksPerPhase,
+                activitiesPerBlock, enrollmentsPerPatient, assessmentsPerPatient);
+    }
+
+    public int blocksPerIntervention() {
+        return phasesPerIntervention * blocksPerPhase;
+    }
+
+    public int activitiesPerIntervention() {
+        return blocksPerIntervention() * activitiesPerBlock;
+    }
+
+    /**
+     * @return the number of activity instances of an enrollment (intervention, phases, blocks and interactions).
+     */
+    public int activityInstancesPerEnrollment() {
+        return 1 + phasesPerIntervention + blocksPerIntervention() + activitiesPerIntervention();
+    }
+
+    public long enrollments() {
+        return (long) patients * enrollmentsPerPatient;
+    }
+}
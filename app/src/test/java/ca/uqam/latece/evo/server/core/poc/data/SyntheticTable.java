@@ -0,0 +1,23 @@
+package ca.uqam.latece.evo.server.core.poc.data;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * A table filled by the SyntheticDataGenerator.
+ * @param name the name of the table in schema.sql.
+ * @param columns the columns written by the generator, in the order of the values of each row.
+ * @param rows writes all the rows of the table.
+ *
+ * @version 1.0
+ * @author Edilton Lima dos Santos.
+ */
+public record SyntheticTable(String name, List<String> columns, Consumer<CopyRowWriter> rows) {
+
+    /**
+     * @return the COPY statement streaming the rows of this table from the client.
+     */
+    public String copyStatement() {
+        return "COPY " + this.name + " (" + String.join(", ", this.columns) + ") FROM STDIN";
+    }
+}
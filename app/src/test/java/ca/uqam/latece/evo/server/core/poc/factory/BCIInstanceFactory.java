@@ -65,6 +65,12 @@ public class BCIInstanceFactory {
         return patient;
     }
 
+    public Patient createPatient(String name, String email) {
+        PatientMedicalFile medicalFile = patientMedicalFileService.create(new PatientMedicalFile("Heavy smoker"));
+        return patientService.create(new Patient(name, email, "722-5222", "October 29, 1942",
+                "Therapist Painter", "123 Paint Ave", medicalFile));
+    }
+
     public HealthCareProfessional createHealthCareProfessional() {
         if (healthCareProfessional == null) {
             healthCareProfessional = healthCareProfessionalService.create(new HealthCareProfessional("Jack Black", "jblack@gmail.com", "222-2222",
@@ -167,12 +173,33 @@ public class BCIInstanceFactory {
                                                                            List<BehaviorChangeInterventionPhase> phaseRecipes,
                                                                            List<BehaviorChangeInterventionBlock> blockRecipes,
                                                                            List<Interaction> interactionRecipes) {
+        return createBCIInstanceFromRecipes(amountActivitiesPerInstance, createPatient(), bciRecipe, phaseRecipes,
+                blockRecipes, interactionRecipes);
+    }
+
+    /**
+     * Creates an intervention from recipes for a given patient.
+     * The execution of the 1st set of activities created has their execution status set to IN_PROGRESS, the others to READY.
+     *
+     * @param amountActivitiesPerInstance How many activity per instance should be created
+     * @param patient The patient enrolled in the intervention
+     * @param bciRecipe Recipe for intervention
+     * @param phaseRecipes Recipes for the phases
+     * @param blockRecipes Recipes for the blocks
+     * @param interactionRecipes Recipes for the interactions
+     * @return the instance of the intervention
+     */
+    public BehaviorChangeInterventionInstance createBCIInstanceFromRecipes(int amountActivitiesPerInstance,
+                                                                           Patient patient,
+                                                                           BehaviorChangeIntervention bciRecipe,
+                                                                           List<BehaviorChangeInterventionPhase> phaseRecipes,
+                                                                           List<BehaviorChangeInterventionBlock> blockRecipes,
+                                                                           List<Interaction> interactionRecipes) {
         List<BehaviorChangeInterventionPhaseInstance> phaseActivities = new ArrayList<>();
         List<Actor> actors = new ArrayList<>();
         ExecutionStatus phaseStatus = ExecutionStatus.IN_PROGRESS;
         ExecutionStatus blockStatus = ExecutionStatus.IN_PROGRESS;
         ExecutionStatus activityStatus = ExecutionStatus.IN_PROGRESS;
-        Patient patient = createPatient();
         actors.add(patient);
 
         for (int countPhase = 0; countPhase < amountActivitiesPerInstance; countPhase++) {
@@ -0,0 +1,150 @@
+package ca.uqam.latece.evo.server.core.poc.load;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Collects the latencies and the HTTP status of the requests sent by a load test, grouped by endpoint, and renders
+ * them in a diffable format: one {@code key<TAB>value} line per metric, sorted by key, so the reports of two builds
+ * can be compared with {@code diff}. Latencies are written in milliseconds with a fixed precision.
+ *
+ * @version 1.0
+ * @author Edilton Lima dos Santos.
+ */
+public class LoadTestReport {
+    private final Map<String, ConcurrentLinkedQueue<Long>> latencies = new ConcurrentHashMap<>();
+
+    private final Map<String, AtomicLong> errors = new ConcurrentHashMap<>();
+
+    private final Map<String, AtomicLong> statuses = new ConcurrentHashMap<>();
+
+    private final Map<String, String> settings = new TreeMap<>();
+
+    private long elapsedNanos;
+
+    private long statementCount;
+
+    /**
+     * Records the result of a request.
+     * @param endpoint the endpoint, e.g. "PUT /interactioninstance/clientupdate/FINISH".
+     * @param latencyNanos the time between sending the request and receiving the response.
+     * @param status the HTTP status of the response, or 0 if no response was received.
+     * @param success false if the request failed (unexpected HTTP status or I/O error).
+     */
+    public void record(String endpoint, long latencyNanos, int status, boolean success) {
+        this.latencies.computeIfAbsent(endpoint, key -> new ConcurrentLinkedQueue<>()).add(latencyNanos);
+        this.statuses.computeIfAbsent(endpointKey(endpoint) + "status_" + (status == 0 ? "io_error" : status / 100 + "xx"),
+                key -> new AtomicLong()).incrementAndGet();
+        AtomicLong endpointErrors = this.errors.computeIfAbsent(endpoint, key -> new AtomicLong());
+
+        if (!success) {
+            endpointErrors.incrementAndGet();
+        }
+    }
+
+    public void setting(String name, Object value) {
+        this.settings.put(name, String.valueOf(value));
+    }
+
+    public void setElapsedNanos(long elapsedNanos) {
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public void setStatementCount(long statementCount) {
+        this.statementCount = statementCount;
+    }
+
+    public long getRequestCount() {
+        return this.latencies.values().stream().mapToLong(ConcurrentLinkedQueue::size).sum();
+    }
+
+    public long getErrorCount() {
+        return this.errors.values().stream().mapToLong(AtomicLong::get).sum();
+    }
+
+    /**
+     * @param endpoint the endpoint.
+     * @return the number of failed requests of the endpoint.
+     */
+    public long getErrorCount(String endpoint) {
+        AtomicLong endpointErrors = this.errors.get(endpoint);
+        return endpointErrors == null ? 0 : endpointErrors.get();
+    }
+
+    /**
+     * Renders the report.
+     * @return the report, one sorted {@code key<TAB>value} line per metric.
+     */
+    public String render() {
+        Map<String, String> lines = new TreeMap<>();
+        double seconds = this.elapsedNanos / 1_000_000_000.0;
+        long requests = getRequestCount();
+
+        this.settings.forEach((name, value) -> lines.put("setting." + name, value));
+        lines.put("total.requests", Long.toString(requests));
+        lines.put("total.errors", Long.toString(getErrorCount()));
+        lines.put("total.error_rate", format(requests == 0 ? 0 : (double) getErrorCount() / requests));
+        lines.put("total.throughput_rps", format(seconds == 0 ? 0 : requests / seconds));
+        lines.put("total.db_statements", Long.toString(this.statementCount));
+        lines.put("total.db_statements_per_request", format(requests == 0 ? 0 : (double) this.statementCount / requests));
+
+        this.latencies.forEach((endpoint, values) -> {
+            List<Long> sorted = new ArrayList<>(values);
+            Collections.sort(sorted);
+            long endpointErrors = this.errors.get(endpoint).get();
+            String prefix = endpointKey(endpoint);
+
+            lines.put(prefix + "requests", Integer.toString(sorted.size()));
+            lines.put(prefix + "errors", Long.toString(endpointErrors));
+            lines.put(prefix + "error_rate", format((double) endpointErrors / sorted.size()));
+            lines.put(prefix + "throughput_rps", format(seconds == 0 ? 0 : sorted.size() / seconds));
+            lines.put(prefix + "latency_p50_ms", format(percentile(sorted, 0.50)));
+            lines.put(prefix + "latency_p99_ms", format(percentile(sorted, 0.99)));
+            lines.put(prefix + "latency_p999_ms", format(percentile(sorted, 0.999)));
+            lines.put(prefix + "latency_max_ms", format(sorted.getLast() / 1_000_000.0));
+        });
+
+        this.statuses.forEach((key, count) -> lines.put(key, Long.toString(count.get())));
+
+        StringBuilder report = new StringBuilder();
+        lines.forEach((key, value) -> report.append(key).append('\t').append(value).append('\n'));
+        return report.toString();
+    }
+
+    /**
+     * Writes the report to a file, creating its parent folders.
+     * @param file the report file.
+     * @throws IOException if the file cannot be written.
+     */
+    public void write(Path file) throws IOException {
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        Files.writeString(file, render());
+    }
+
+    private static String endpointKey(String endpoint) {
+        return "endpoint." + endpoint.replace(' ', '_') + ".";
+    }
+
+    static double percentile(List<Long> sorted, double percentile) {
+        if (sorted.isEmpty()) {
+            return 0;
+        }
+
+        int index = (int) Math.ceil(percentile * sorted.size()) - 1;
+        return sorted.get(Math.min(Math.max(index, 0), sorted.size() - 1)) / 1_000_000.0;
+    }
+
+    private static String format(double value) {
+        return String.format(Locale.ROOT, "%.3f", value);
+    }
+}
@@ -0,0 +1,44 @@
+package ca.uqam.latece.evo.server.core.poc.load;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class LoadTestReportTest {
+
+    @Test
+    void percentile() {
+        List<Long> sorted = List.of(1_000_000L, 2_000_000L, 3_000_000L, 4_000_000L);
+
+        assertThat(LoadTestReport.percentile(sorted, 0.50)).isEqualTo(2.0);
+        assertThat(LoadTestReport.percentile(sorted, 0.99)).isEqualTo(4.0);
+        assertThat(LoadTestReport.percentile(List.of(), 0.99)).isEqualTo(0.0);
+    }
+
+    @Test
+    void renderIsSortedAndDiffable() {
+        LoadTestReport report = new LoadTestReport();
+        report.setting("patients", 2);
+        report.record("PUT /interactioninstance/clientupdate/FINISH", 2_000_000L, 200, true);
+        report.record("PUT /interactioninstance/clientupdate/FINISH", 4_000_000L, 500, false);
+        report.record("GET /behaviorchangeinterventioninstance/find/{id}", 1_000_000L, 200, true);
+        report.setElapsedNanos(1_000_000_000L);
+        report.setStatementCount(30);
+
+        String rendered = report.render();
+        List<String> lines = rendered.lines().toList();
+
+        assertThat(lines).isSorted();
+        assertThat(lines).contains(
+                "endpoint.PUT_/interactioninstance/clientupdate/FINISH.errors\t1",
+                "endpoint.PUT_/interactioninstance/clientupdate/FINISH.latency_p50_ms\t2.000",
+                "endpoint.PUT_/interactioninstance/clientupdate/FINISH.status_5xx\t1",
+                "setting.patients\t2",
+                "total.db_statements_per_request\t10.000",
+                "total.error_rate\t0.333",
+                "total.throughput_rps\t3.000");
+        assertThat(report.render()).isEqualTo(rendered);
+    }
+}
@@ -0,0 +1,238 @@
+package ca.uqam.latece.evo.server.core.poc.load;
+
+import ca.uqam.latece.evo.server.core.config.EvoDataLoader;
+import ca.uqam.latece.evo.server.core.enumeration.ExecutionStatus;
+import ca.uqam.latece.evo.server.core.model.BehaviorChangeIntervention;
+import ca.uqam.latece.evo.server.core.model.BehaviorChangeInterventionBlock;
+import ca.uqam.latece.evo.server.core.model.BehaviorChangeInterventionPhase;
+import ca.uqam.latece.evo.server.core.model.Interaction;
+import ca.uqam.latece.evo.server.core.model.instance.Actor;
+import ca.uqam.latece.evo.server.core.model.instance.BCIActivityInstance;
+import ca.uqam.latece.evo.server.core.model.instance.BehaviorChangeInterventionBlockInstance;
+import ca.uqam.latece.evo.server.core.model.instance.BehaviorChangeInterventionInstance;
+import ca.uqam.latece.evo.server.core.model.instance.BehaviorChangeInterventionPhaseInstance;
+import ca.uqam.latece.evo.server.core.model.instance.Patient;
+import ca.uqam.latece.evo.server.core.poc.factory.BCIInstanceFactory;
+import ca.uqam.latece.evo.server.core.poc.factory.BCIRecipeFactory;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Repeatable end-to-end workload simulating patient journeys against a Testcontainers PostgreSQL database.
+ * <p>
+ * The test enrolls N synthetic patients in interventions created from BCIRecipeFactory recipes (1 phase, 1 block,
+ * 2 interactions, all conditions set to pass; the first interaction is in progress, the second one ready), then runs
+ * the journeys concurrently through the real REST controllers, with an open-loop pacing of the requests at the target
+ * rate:
+ * - PUT /interactioninstance/clientupdate/IN_PROGRESS: the client moves from the first interaction to the second one,
+ * which checks the entry conditions of the second one and suspends the first one.
+ * - PUT /interactioninstance/clientupdate/FINISH: finishes the second interaction and cascades up to the intervention.
+ * - GET /behaviorchangeinterventioninstance/find/{id}: the client reloads the intervention.
+ * Every request is expected to succeed with a 200; the test fails if any endpoint has an error.
+ * <p>
+ * The report (throughput, p50/p99/p999 latency and error rate per endpoint, Hibernate prepared statement count) is
+ * written to target/load-test/patient-journey.tsv in a sorted {@code key<TAB>value} format that can be compared
+ * between two builds with {@code diff}.
+ * <p>
+ * The test only runs when requested: {@code ./mvnw test -Dtest=PatientJourneyLoadTest -Devo.load.enabled=true}.
+ * Settings (system properties): evo.load.patients (default 50), evo.load.rate in requests per second (default 50),
+ * evo.load.concurrency, the number of journeys running at the same time (default 16).
+ *
+ * @version 1.0
+ * @author Edilton Lima dos Santos.
+ */
+@EnabledIfSystemProperty(named = "evo.load.enabled", matches = "true")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class PatientJourneyLoadTest extends EvoDataLoader {
+    private static final Logger logger = LoggerFactory.getLogger(PatientJourneyLoadTest.class);
+
+    private static final int PATIENTS = Integer.getInteger("evo.load.patients", 50);
+    private static final int RATE = Integer.getInteger("evo.load.rate", 50);
+    private static final int CONCURRENCY = Integer.getInteger("evo.load.concurrency", 16);
+    private static final Path REPORT = Path.of("target", "load-test", "patient-journey.tsv");
+
+    private static final String IN_PROGRESS = "PUT /interactioninstance/clientupdate/IN_PROGRESS";
+    private static final String FINISH = "PUT /interactioninstance/clientupdate/FINISH";
+    private static final String FIND_BCI_INSTANCE = "GET /behaviorchangeinterventioninstance/find/{id}";
+
+    @LocalServerPort
+    private Integer port;
+
+    @Autowired
+    private BCIRecipeFactory bciRecipeFactory;
+
+    @Autowired
+    private BCIInstanceFactory bciInstanceFactory;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final HttpClient httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+
+    /** Next time (System.nanoTime) at which a request may be sent, shared by all the journeys. */
+    private final AtomicLong nextSlot = new AtomicLong();
+
+    private long intervalNanos;
+
+    @Test
+    void testPatientJourneys() throws Exception {
+        List<BehaviorChangeInterventionInstance> enrollments = enrollPatients();
+        LoadTestReport report = new LoadTestReport();
+        report.setting("patients", PATIENTS);
+        report.setting("rate_rps", RATE);
+        report.setting("concurrency", CONCURRENCY);
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        long statementsBefore = statistics.getPrepareStatementCount();
+        Semaphore journeys = new Semaphore(CONCURRENCY);
+        List<Future<?>> futures = new ArrayList<>();
+        this.intervalNanos = TimeUnit.SECONDS.toNanos(1) / RATE;
+        this.nextSlot.set(System.nanoTime());
+        long start = System.nanoTime();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (BehaviorChangeInterventionInstance enrollment : enrollments) {
+                journeys.acquire();
+                futures.add(executor.submit(() -> {
+                    try {
+                        runJourney(enrollment, report);
+                    } finally {
+                        journeys.release();
+                    }
+                    return null;
+                }));
+            }
+
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+
+        report.setElapsedNanos(System.nanoTime() - start);
+        report.setStatementCount(statistics.getPrepareStatementCount() - statementsBefore);
+        report.write(REPORT);
+        logger.info("Patient journey load test report ({}):\n{}", REPORT.toAbsolutePath(), report.render());
+
+        assertEquals(PATIENTS * 3L, report.getRequestCount());
+
+        for (String endpoint : List.of(IN_PROGRESS, FINISH, FIND_BCI_INSTANCE)) {
+            assertEquals(0, report.getErrorCount(endpoint), "Failed requests on " + endpoint);
+        }
+    }
+
+    /**
+     * Creates the recipes, then one patient and one intervention instance per journey: a phase in progress with a
+     * block in progress, whose first interaction is in progress and second interaction ready.
+     * @return the enrolled intervention instances.
+     */
+    private List<BehaviorChangeInterventionInstance> enrollPatients() {
+        List<BehaviorChangeInterventionInstance> enrollments = new ArrayList<>();
+
+        for (int i = 0; i < PATIENTS; i++) {
+            List<Interaction> interactionRecipes = bciRecipeFactory.createBciInteractions(2, true, true);
+            BehaviorChangeInterventionBlock blockRecipe = bciRecipeFactory.createBciBlock(true, true);
+            BehaviorChangeInterventionPhase phaseRecipe = bciRecipeFactory.createBciPhase(true, true);
+            BehaviorChangeIntervention bciRecipe = bciRecipeFactory.createBciIntervention(true, true);
+            Patient patient = bciInstanceFactory.createPatient("Load Patient " + i, "load.patient." + i + "@evo.ca");
+            List<Actor> actors = List.of(patient);
+
+            List<BCIActivityInstance> activities = new ArrayList<>();
+            activities.add(bciInstanceFactory.createInteractionInstance(ExecutionStatus.IN_PROGRESS, actors,
+                    interactionRecipes.get(0)));
+            activities.add(bciInstanceFactory.createInteractionInstance(ExecutionStatus.READY, actors,
+                    interactionRecipes.get(1)));
+            List<BehaviorChangeInterventionBlockInstance> blocks = new ArrayList<>();
+            blocks.add(bciInstanceFactory.createBCIBlockInstance(ExecutionStatus.IN_PROGRESS, activities, blockRecipe));
+            List<BehaviorChangeInterventionPhaseInstance> phases = new ArrayList<>();
+            phases.add(bciInstanceFactory.createBCIPhaseInstance(ExecutionStatus.IN_PROGRESS, blocks, blocks.getFirst(),
+                    phaseRecipe));
+
+            enrollments.add(bciInstanceFactory.createBCIInstance(ExecutionStatus.IN_PROGRESS, patient, phases.getFirst(),
+                    phases, bciRecipe));
+        }
+
+        return enrollments;
+    }
+
+    private void runJourney(BehaviorChangeInterventionInstance bciInstance, LoadTestReport report) {
+        BehaviorChangeInterventionPhaseInstance phaseInstance = bciInstance.getActivities().getFirst();
+        BehaviorChangeInterventionBlockInstance blockInstance = phaseInstance.getActivities().getFirst();
+        BCIActivityInstance current = blockInstance.getActivities().get(0);
+        BCIActivityInstance next = blockInstance.getActivities().get(1);
+        String ids = String.format("\"bciBlockInstanceId\":%d,\"bciPhaseInstanceId\":%d,\"bciInstanceId\":%d",
+                blockInstance.getId(), phaseInstance.getId(), bciInstance.getId());
+
+        send(report, IN_PROGRESS, put("/interactioninstance/clientupdate/IN_PROGRESS", String.format(
+                "{\"id\":%d,\"bciActivityInstanceId\":%d,%s,\"newActivityInstanceId\":%d}", current.getId(),
+                current.getId(), ids, next.getId())), Set.of(200));
+        send(report, FINISH, put("/interactioninstance/clientupdate/FINISH", String.format(
+                "{\"id\":%d,\"bciActivityInstanceId\":%d,%s}", next.getId(), next.getId(), ids)), Set.of(200));
+        send(report, FIND_BCI_INSTANCE, HttpRequest.newBuilder(uri("/behaviorchangeinterventioninstance/find/" +
+                bciInstance.getId())).GET().build(), Set.of(200));
+    }
+
+    /**
+     * Waits for the next free slot according to the target rate, sends the request and records its result.
+     * The latency is measured from the scheduled slot rather than from the actual send time, so requests delayed by
+     * a slow server are not hidden from the percentiles (coordinated omission).
+     */
+    private void send(LoadTestReport report, String endpoint, HttpRequest request, Set<Integer> expectedStatuses) {
+        long slot = this.nextSlot.getAndAdd(this.intervalNanos);
+        long wait = slot - System.nanoTime();
+
+        if (wait > 0) {
+            LockSupport.parkNanos(wait);
+        }
+
+        int status = 0;
+
+        try {
+            status = this.httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        } catch (IOException e) {
+            logger.error("Load test request {} failed: {}", endpoint, e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        report.record(endpoint, System.nanoTime() - slot, status, expectedStatuses.contains(status));
+    }
+
+    private HttpRequest put(String path, String body) {
+        return HttpRequest.newBuilder(uri(path))
+                .header("Content-Type", "application/json")
+                .PUT(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + this.port + path);
+    }
+}
@@ -0,0 +1,142 @@
+package ca.uqam.latece.evo.server.core.service;
+
+import ca.uqam.latece.evo.server.core.enumeration.ExecutionStatus;
+import ca.uqam.latece.evo.server.core.event.ActivityInstanceSavedEvent;
+import ca.uqam.latece.evo.server.core.model.instance.BehaviorChangeInterventionBlockInstance;
+import ca.uqam.latece.evo.server.core.model.instance.BehaviorChangeInterventionPhaseInstance;
+import ca.uqam.latece.evo.server.core.repository.instance.ActivityTransitionRepository;
+import ca.uqam.latece.evo.server.core.response.ActivityTransition;
+import ca.uqam.latece.evo.server.core.service.instance.ActivityTransitionService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests the ActivityTransitionService transition log, with a mocked ActivityTransitionRepository and a fixed clock.
+ */
+public class ActivityTransitionServiceTest {
+    private static final Instant NOW = Instant.parse("2026-12-15T10:00:00Z");
+
+    private ActivityTransitionRepository repository;
+
+    private ActivityTransitionService service;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(ActivityTransitionRepository.class);
+        service = new ActivityTransitionService(repository, Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void onlyChangedStatusesAreAppended() {
+        when(repository.findLastStatuses(any())).thenReturn(List.of(lastStatus(20L, "READY"), lastStatus(21L, "READY")));
+
+        service.handleActivityInstanceSaved(new ActivityInstanceSavedEvent<>(
+                phase(20L, ExecutionStatus.IN_PROGRESS, block(21L, ExecutionStatus.READY))));
+
+        ArgumentCaptor<List<ActivityTransition>> transitions = ArgumentCaptor.forClass(List.class);
+        verify(repository).append(transitions.capture());
+        assertThat(transitions.getValue()).hasSize(1);
+        ActivityTransition transition = transitions.getValue().get(0);
+        assertThat(transition.getInstanceId()).isEqualTo(20L);
+        assertThat(transition.getType()).isEqualTo("PHASE");
+        assertThat(transition.getFromStatus()).isEqualTo("READY");
+        assertThat(transition.getToStatus()).isEqualTo("IN_PROGRESS");
+        assertThat(transition.getAt()).isEqualTo(NOW);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void transitionsOfATransactionAreAppendedInOneBatchBeforeCommit() {
+        when(repository.findLastStatuses(any())).thenReturn(List.of());
+        TransactionSynchronizationManager.initSynchronization();
+
+        service.handleActivityInstanceSaved(new ActivityInstanceSavedEvent<>(block(21L, ExecutionStatus.READY)));
+        service.handleActivityInstanceSaved(new ActivityInstanceSavedEvent<>(block(21L, ExecutionStatus.IN_PROGRESS)));
+        service.handleActivityInstanceSaved(new ActivityInstanceSavedEvent<>(block(21L, ExecutionStatus.IN_PROGRESS)));
+        verify(repository, never()).append(any());
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(sync -> sync.beforeCommit(false));
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+
+        ArgumentCaptor<List<ActivityTransition>> transitions = ArgumentCaptor.forClass(List.class);
+        verify(repository).append(transitions.capture());
+        assertThat(transitions.getValue()).extracting(ActivityTransition::getFromStatus).containsExactly(null, "READY");
+        assertThat(transitions.getValue()).extracting(ActivityTransition::getToStatus)
+                .containsExactly("READY", "IN_PROGRESS");
+        assertThat(TransactionSynchronizationManager.hasResource(service)).isFalse();
+    }
+
+    @Test
+    void createPartitionsAhead() {
+        assertThat(service.createPartitions()).isEqualTo(3);
+
+        verify(repository).createMonthlyPartition(YearMonth.of(2026, 12));
+        verify(repository).createMonthlyPartition(YearMonth.of(2027, 1));
+        verify(repository).createMonthlyPartition(YearMonth.of(2027, 2));
+    }
+
+    @Test
+    void invalidRangeIsRejected() {
+        assertThatThrownBy(() -> service.findTransitions(NOW, NOW, null, 10))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> service.findTransitions(NOW.minusSeconds(60), NOW, null, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> service.findHistory(1L, NOW.plusSeconds(60), null))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static BehaviorChangeInterventionPhaseInstance phase(Long id, ExecutionStatus status,
+                                                                 BehaviorChangeInterventionBlockInstance block) {
+        BehaviorChangeInterventionPhaseInstance phase = new BehaviorChangeInterventionPhaseInstance(status);
+        phase.setId(id);
+        phase.addActivity(block);
+        return phase;
+    }
+
+    private static BehaviorChangeInterventionBlockInstance block(Long id, ExecutionStatus status) {
+        BehaviorChangeInterventionBlockInstance block = new BehaviorChangeInterventionBlockInstance(status);
+        block.setId(id);
+        return block;
+    }
+
+    private static ActivityTransitionRepository.LastStatus lastStatus(Long instanceId, String status) {
+        return new ActivityTransitionRepository.LastStatus() {
+            @Override
+            public Long getInstanceId() {
+                return instanceId;
+            }
+
+            @Override
+            public String getStatus() {
+                return status;
+            }
+        };
+    }
+}
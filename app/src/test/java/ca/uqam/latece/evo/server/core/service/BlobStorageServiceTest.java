@@ -0,0 +1,118 @@
+package ca.uqam.latece.evo.server.core.service;
+
+import ca.uqam.latece.evo.server.core.config.BlobStoreConfig;
+import ca.uqam.latece.evo.server.core.config.EvoTestcontainersConfig;
+import ca.uqam.latece.evo.server.core.exceptions.StorageFileNotFoundException;
+import ca.uqam.latece.evo.server.core.interfaces.BlobStore;
+import ca.uqam.latece.evo.server.core.repository.StorageBlobRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.transaction.TestTransaction;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The test class for the {@link BlobStorageService}, responsible for testing the deduplication and the reference counts
+ * of the content-addressed storage, with a local blob store and a PostgreSQL database in a containerized setup.
+ *
+ * @version 1.0
+ * @author Edilton Lima dos Santos.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ComponentScan(basePackages = {"ca.uqam.latece.evo.server.core.repository"})
+@ContextConfiguration(classes = {BlobStoreConfig.class, BlobStorageService.class})
+@TestPropertySource(properties = {
+        "evo.storage.content-addressed.enabled=true",
+        "evo.storage.blob-store=local",
+        "evo.storage.local.root=target/test-blobs"})
+public class BlobStorageServiceTest extends EvoTestcontainersConfig {
+    @Autowired
+    private BlobStorageService blobStorageService;
+
+    @Autowired
+    private StorageBlobRepository storageBlobRepository;
+
+    @Autowired
+    private BlobStore blobStore;
+
+    @Test
+    void testStoreDeduplicatesIdenticalFiles() {
+        blobStorageService.store("content", "1", file("guide.pdf", "Same guide"));
+        blobStorageService.store("content", "2", file("copy.pdf", "Same guide"));
+
+        Path first = blobStorageService.load("content", "1", "guide.pdf");
+        Path second = blobStorageService.load("content", "2", "copy.pdf");
+
+        assertEquals(first, second);
+        assertTrue(Files.exists(first));
+        assertEquals(2, storageBlobRepository.findByHash(first.getFileName().toString()).orElseThrow().getReferenceCount());
+    }
+
+    @Test
+    void testDeleteKeepsBlobUntilLastReference() {
+        blobStorageService.store("content", "3", file("video.mp4", "Shared video"));
+        blobStorageService.store("content", "4", file("video.mp4", "Shared video"));
+        Path blob = blobStorageService.load("content", "3", "video.mp4");
+        String hash = blob.getFileName().toString();
+
+        blobStorageService.delete("content", "3", "video.mp4");
+        assertTrue(Files.exists(blob));
+        assertEquals(1, storageBlobRepository.findByHash(hash).orElseThrow().getReferenceCount());
+        assertThrows(StorageFileNotFoundException.class, () -> blobStorageService.load("content", "3", "video.mp4"));
+
+        blobStorageService.deleteAll("content", "4");
+        // The blob is deleted once the transaction commits.
+        assertTrue(Files.exists(blob));
+        TestTransaction.flagForCommit();
+        TestTransaction.end();
+        assertFalse(Files.exists(blob));
+        assertTrue(storageBlobRepository.findByHash(hash).isEmpty());
+    }
+
+    @Test
+    void testStoreReplacesFileContent() throws Exception {
+        blobStorageService.store("content", "5", file("notes.txt", "First version"));
+        String oldHash = blobStorageService.load("content", "5", "notes.txt").getFileName().toString();
+
+        blobStorageService.store("content", "5", file("notes.txt", "Second version"));
+
+        Path blob = blobStorageService.load("content", "5", "notes.txt");
+        assertEquals("Second version", Files.readString(blob));
+        assertEquals("Second version", new String(blobStorageService.loadAsResource("content", "5", "notes.txt")
+                .getContentAsByteArray()));
+        TestTransaction.flagForCommit();
+        TestTransaction.end();
+        assertFalse(blobStore.exists(oldHash));
+    }
+
+    @Test
+    void testRollbackKeepsReleasedBlob() {
+        blobStorageService.store("content", "6", file("plan.txt", "Rolled back plan"));
+        Path blob = blobStorageService.load("content", "6", "plan.txt");
+        TestTransaction.flagForCommit();
+        TestTransaction.end();
+
+        TestTransaction.start();
+        blobStorageService.delete("content", "6", "plan.txt");
+        TestTransaction.flagForRollback();
+        TestTransaction.end();
+
+        assertTrue(Files.exists(blob));
+        assertEquals(1, storageBlobRepository.findByHash(blob.getFileName().toString()).orElseThrow()
+                .getReferenceCount());
+    }
+
+    private static MockMultipartFile file(String name, String content) {
+        return new MockMultipartFile("file", name, "application/octet-stream", content.getBytes());
+    }
+}
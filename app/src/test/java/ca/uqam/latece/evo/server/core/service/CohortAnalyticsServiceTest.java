@@ -0,0 +1,187 @@
+package ca.uqam.latece.evo.server.core.service;
+
+import ca.uqam.latece.evo.server.core.enumeration.ExecutionStatus;
+import ca.uqam.latece.evo.server.core.event.ActivityInstanceSavedEvent;
+import ca.uqam.latece.evo.server.core.model.BehaviorChangeIntervention;
+import ca.uqam.latece.evo.server.core.model.BehaviorChangeInterventionBlock;
+import ca.uqam.latece.evo.server.core.model.BehaviorChangeInterventionPhase;
+import ca.uqam.latece.evo.server.core.model.instance.BehaviorChangeInterventionBlockInstance;
+import ca.uqam.latece.evo.server.core.model.instance.BehaviorChangeInterventionInstance;
+import ca.uqam.latece.evo.server.core.model.instance.BehaviorChangeInterventionPhaseInstance;
+import ca.uqam.latece.evo.server.core.repository.CohortAnalyticsRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests the incremental updates of the CohortAnalyticsService counters, with a mocked CohortAnalyticsRepository and a
+ * fixed clock.
+ */
+public class CohortAnalyticsServiceTest {
+    private static final long NOW = 1_700_000_000_000L;
+
+    private CohortAnalyticsRepository repository;
+
+    private CohortAnalyticsService service;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(CohortAnalyticsRepository.class);
+        service = new CohortAnalyticsService(repository, mock(PlatformTransactionManager.class), 100,
+                Clock.fixed(Instant.ofEpochMilli(NOW), ZoneOffset.UTC));
+    }
+
+    @Test
+    void savedInterventionTracksPhasesAndBlocks() {
+        BehaviorChangeInterventionBlockInstance block = block(21L, 100L, ExecutionStatus.READY);
+        BehaviorChangeInterventionPhaseInstance phase = phase(20L, 10L, ExecutionStatus.IN_PROGRESS, block);
+        BehaviorChangeInterventionInstance bciInstance = new BehaviorChangeInterventionInstance(ExecutionStatus.IN_PROGRESS);
+        BehaviorChangeIntervention intervention = new BehaviorChangeIntervention();
+        intervention.setId(1L);
+        bciInstance.setBehaviorChangeIntervention(intervention);
+        bciInstance.addActivity(phase);
+        when(repository.findStatesForUpdate(any())).thenReturn(List.of());
+        when(repository.insertState(anyLong(), anyLong(), anyLong(), anyLong(), anyString(), anyLong())).thenReturn(1);
+
+        service.handleActivityInstanceSaved(new ActivityInstanceSavedEvent<>(bciInstance));
+
+        verify(repository).insertState(20L, 1L, 10L, 0L, "IN_PROGRESS", NOW);
+        verify(repository).insertState(21L, 1L, 10L, 100L, "READY", NOW);
+        verify(repository).addToCounter(1L, 10L, 0L, "IN_PROGRESS", 4, 1);
+        verify(repository).addToCounter(1L, 10L, 100L, "READY", 5, 1);
+    }
+
+    @Test
+    void statusChangeMovesCountAndRecordsDwellTime() {
+        when(repository.findStatesForUpdate(any())).thenReturn(List.of(state(21L, "READY", NOW - 1_500L)));
+
+        service.handleActivityInstanceSaved(new ActivityInstanceSavedEvent<>(block(21L, 100L, ExecutionStatus.IN_PROGRESS)));
+
+        verify(repository).updateState(21L, "IN_PROGRESS", NOW);
+        verify(repository).addToCounter(1L, 10L, 100L, "READY", 5, -1);
+        verify(repository).addToCounter(1L, 10L, 100L, "IN_PROGRESS", 5, 1);
+        verify(repository).addToDwell(1L, 10L, 100L, "READY", 11, 5, 1_500L);
+    }
+
+    @Test
+    void unchangedOrUntrackedInstanceIsIgnored() {
+        when(repository.findStatesForUpdate(any())).thenReturn(List.of(state(21L, "IN_PROGRESS", NOW)));
+
+        service.handleActivityInstanceSaved(new ActivityInstanceSavedEvent<>(
+                phase(22L, 10L, ExecutionStatus.READY, block(21L, 100L, ExecutionStatus.IN_PROGRESS))));
+
+        verify(repository, never()).updateState(anyLong(), anyString(), anyLong());
+        verify(repository, never()).insertState(anyLong(), anyLong(), anyLong(), anyLong(), anyString(), anyLong());
+        verify(repository, never()).addToCounter(anyLong(), anyLong(), anyLong(), anyString(), anyInt(), anyLong());
+    }
+
+    @Test
+    void reconcileCorrectsTheStatesBatchByBatch() {
+        // The batch [20, 120): 20 changed status, 21 is unchanged, 22 left its tree and 23 is not tracked yet.
+        when(repository.findNextInstanceId(0)).thenReturn(20L);
+        when(repository.findNextInstanceId(120)).thenReturn(500L);
+        when(repository.findNextInstanceId(600)).thenReturn(null);
+        when(repository.findStateRangeForUpdate(20, 120)).thenReturn(List.of(state(20L, 0L, "READY", NOW - 10L),
+                state(21L, 100L, "READY", NOW - 10L), state(22L, 101L, "FINISHED", NOW - 10L)));
+        when(repository.findTreeRange(20, 120)).thenReturn(List.of(state(20L, 0L, "IN_PROGRESS", null),
+                state(21L, 100L, "READY", null), state(23L, 100L, "READY", null)));
+        when(repository.insertState(anyLong(), anyLong(), anyLong(), anyLong(), anyString(), anyLong())).thenReturn(1);
+
+        assertThat(service.reconcile()).isEqualTo(3);
+
+        verify(repository).findStateRangeForUpdate(500, 600);
+        verify(repository).replaceState(20L, 1L, 10L, 0L, "IN_PROGRESS", NOW);
+        verify(repository).addToCounter(1L, 10L, 0L, "READY", 4, -1);
+        verify(repository).addToCounter(1L, 10L, 0L, "IN_PROGRESS", 4, 1);
+        verify(repository).insertState(23L, 1L, 10L, 100L, "READY", NOW);
+        verify(repository).addToCounter(1L, 10L, 100L, "READY", 7, 1);
+        verify(repository).deleteState(22L);
+        verify(repository).addToCounter(1L, 10L, 101L, "FINISHED", 6, -1);
+        verify(repository, never()).replaceState(eq(21L), anyLong(), anyLong(), anyLong(), anyString(), anyLong());
+        verify(repository, never()).addToCounter(anyLong(), anyLong(), eq(100L), anyString(), eq(5), anyLong());
+    }
+
+    @Test
+    void bucketOfUsesPowersOfTwo() {
+        assertThat(CohortAnalyticsService.bucketOf(-5)).isZero();
+        assertThat(CohortAnalyticsService.bucketOf(0)).isZero();
+        assertThat(CohortAnalyticsService.bucketOf(1)).isEqualTo(1);
+        assertThat(CohortAnalyticsService.bucketOf(1_023)).isEqualTo(10);
+        assertThat(CohortAnalyticsService.bucketOf(1_024)).isEqualTo(11);
+        assertThat(CohortAnalyticsService.bucketOf(Long.MAX_VALUE)).isEqualTo(63);
+    }
+
+    private static BehaviorChangeInterventionPhaseInstance phase(Long id, Long phaseId, ExecutionStatus status,
+                                                                 BehaviorChangeInterventionBlockInstance block) {
+        BehaviorChangeInterventionPhaseInstance phase = new BehaviorChangeInterventionPhaseInstance(status);
+        BehaviorChangeInterventionPhase behaviorChangeInterventionPhase = new BehaviorChangeInterventionPhase();
+        behaviorChangeInterventionPhase.setId(phaseId);
+        phase.setId(id);
+        phase.setBehaviorChangeInterventionPhase(behaviorChangeInterventionPhase);
+        phase.addActivity(block);
+        return phase;
+    }
+
+    private static BehaviorChangeInterventionBlockInstance block(Long id, Long blockId, ExecutionStatus status) {
+        BehaviorChangeInterventionBlockInstance block = new BehaviorChangeInterventionBlockInstance(status);
+        BehaviorChangeInterventionBlock behaviorChangeInterventionBlock = new BehaviorChangeInterventionBlock();
+        behaviorChangeInterventionBlock.setId(blockId);
+        block.setId(id);
+        block.setBehaviorChangeInterventionBlock(behaviorChangeInterventionBlock);
+        return block;
+    }
+
+    private static CohortAnalyticsRepository.State state(Long instanceId, String status, Long since) {
+        return state(instanceId, 100L, status, since);
+    }
+
+    private static CohortAnalyticsRepository.State state(Long instanceId, Long blockId, String status, Long since) {
+        return new CohortAnalyticsRepository.State() {
+            @Override
+            public Long getInstanceId() {
+                return instanceId;
+            }
+
+            @Override
+            public Long getInterventionId() {
+                return 1L;
+            }
+
+            @Override
+            public Long getPhaseId() {
+                return 10L;
+            }
+
+            @Override
+            public Long getBlockId() {
+                return blockId;
+            }
+
+            @Override
+            public String getStatus() {
+                return status;
+            }
+
+            @Override
+            public Long getSince() {
+                return since;
+            }
+        };
+    }
+}
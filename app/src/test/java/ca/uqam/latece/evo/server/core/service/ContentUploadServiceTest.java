@@ -0,0 +1,233 @@
+package ca.uqam.latece.evo.server.core.service;
+
+import ca.uqam.latece.evo.server.core.exceptions.StorageException;
+import ca.uqam.latece.evo.server.core.exceptions.StorageFileNotFoundException;
+import ca.uqam.latece.evo.server.core.exceptions.UploadChecksumException;
+import ca.uqam.latece.evo.server.core.model.Content;
+import ca.uqam.latece.evo.server.core.util.UploadSession;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests the ContentUploadService: streamed and resumable uploads, with a mocked ContentService recording the staged
+ * files it receives.
+ */
+public class ContentUploadServiceTest {
+    private static final byte[] VIDEO = new byte[200_000];
+
+    @TempDir
+    private Path stagingFolder;
+
+    private ContentService contentService;
+
+    private ContentUploadService uploadService;
+
+    private final AtomicReference<byte[]> attached = new AtomicReference<>();
+
+    @BeforeEach
+    void setUp() {
+        Arrays.fill(VIDEO, (byte) 7);
+        contentService = mock(ContentService.class);
+        when(contentService.existsById(1L)).thenReturn(true);
+        when(contentService.attachFile(eq(1L), anyString(), any(Path.class), anyString())).thenAnswer(invocation -> {
+            Path staged = invocation.getArgument(2);
+            attached.set(Files.readAllBytes(staged));
+            assertThat(invocation.getArgument(3, String.class)).isEqualTo(sha256(attached.get()));
+            Files.delete(staged);
+            Content content = new Content();
+            content.setId(1L);
+            content.setFilename(invocation.getArgument(1));
+            return content;
+        });
+        uploadService = new ContentUploadService(contentService, stagingFolder, 1_000_000, Duration.ofHours(24));
+    }
+
+    @Test
+    void uploadStreamsBodyToStorage() throws IOException {
+        Content content = uploadService.upload(1L, "video.mp4", new ByteArrayInputStream(VIDEO));
+
+        assertThat(content.getFilename()).isEqualTo("video.mp4");
+        assertThat(attached.get()).isEqualTo(VIDEO);
+        assertThat(listStagingFolder()).isEmpty();
+    }
+
+    @Test
+    void uploadRejectsFileLargerThanMaxSize() throws IOException {
+        InputStream body = new ByteArrayInputStream(new byte[1_000_001]);
+
+        assertThatThrownBy(() -> uploadService.upload(1L, "video.mp4", body)).isInstanceOf(StorageException.class);
+        verify(contentService, never()).attachFile(any(), any(), any(), any());
+        assertThat(listStagingFolder()).isEmpty();
+    }
+
+    @Test
+    void resumableUploadCompletesWithLastChunk() {
+        UploadSession session = uploadService.createSession(1L, "video.mp4", VIDEO.length, sha256(VIDEO));
+
+        uploadService.append(session.getId(), 0, new ByteArrayInputStream(VIDEO, 0, 120_000));
+        assertThat(session.getOffset()).isEqualTo(120_000);
+        assertThat(session.getContent()).isNull();
+
+        uploadService.append(session.getId(), 120_000, new ByteArrayInputStream(VIDEO, 120_000, 80_000));
+
+        assertThat(session.getContent().getFilename()).isEqualTo("video.mp4");
+        assertThat(attached.get()).isEqualTo(VIDEO);
+        assertThatThrownBy(() -> uploadService.getSession(session.getId()))
+                .isInstanceOf(StorageFileNotFoundException.class);
+    }
+
+    @Test
+    void resumableUploadResumesAfterRestart() {
+        UploadSession session = uploadService.createSession(1L, "video.mp4", VIDEO.length, sha256(VIDEO));
+        uploadService.append(session.getId(), 0, new ByteArrayInputStream(VIDEO, 0, 50_000));
+
+        ContentUploadService restarted = new ContentUploadService(contentService, stagingFolder, 1_000_000,
+                Duration.ofHours(24));
+        UploadSession reloaded = restarted.getSession(session.getId());
+        assertThat(reloaded.getOffset()).isEqualTo(50_000);
+        restarted.append(session.getId(), 50_000, new ByteArrayInputStream(VIDEO, 50_000, 150_000));
+
+        assertThat(reloaded.getContent()).isNotNull();
+        assertThat(attached.get()).isEqualTo(VIDEO);
+    }
+
+    @Test
+    void appendRejectsWrongOffset() {
+        UploadSession session = uploadService.createSession(1L, "video.mp4", VIDEO.length, null);
+        uploadService.append(session.getId(), 0, new ByteArrayInputStream(VIDEO, 0, 1000));
+
+        assertThatThrownBy(() -> uploadService.append(session.getId(), 0, new ByteArrayInputStream(VIDEO)))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(session.getOffset()).isEqualTo(1000);
+    }
+
+    @Test
+    void appendRejectsChunkBeyondLength() {
+        UploadSession session = uploadService.createSession(1L, "video.mp4", 1000, null);
+
+        assertThatThrownBy(() -> uploadService.append(session.getId(), 0, new ByteArrayInputStream(VIDEO)))
+                .isInstanceOf(StorageException.class);
+        assertThat(session.getOffset()).isZero();
+    }
+
+    @Test
+    void resumableUploadRestartsWhenHashDiffers() throws IOException {
+        UploadSession session = uploadService.createSession(1L, "video.mp4", VIDEO.length, sha256(VIDEO));
+        byte[] corrupted = VIDEO.clone();
+        corrupted[100_000] ^= 1;
+
+        assertThatThrownBy(() -> uploadService.append(session.getId(), 0, new ByteArrayInputStream(corrupted)))
+                .isInstanceOf(UploadChecksumException.class);
+        verify(contentService, never()).attachFile(any(), any(), any(), any());
+
+        // The upload is kept, emptied, and the file is sent again.
+        assertThat(uploadService.getSession(session.getId()).getOffset()).isZero();
+        assertThat(Files.size(session.getPartFile())).isZero();
+        uploadService.append(session.getId(), 0, new ByteArrayInputStream(VIDEO));
+
+        assertThat(session.getContent()).isNotNull();
+        assertThat(attached.get()).isEqualTo(VIDEO);
+        assertThat(listStagingFolder()).isEmpty();
+    }
+
+    @Test
+    void resumableUploadIsKeptWhenTheFileCannotBeStored() throws IOException {
+        UploadSession session = uploadService.createSession(1L, "video.mp4", VIDEO.length, sha256(VIDEO));
+        when(contentService.attachFile(eq(1L), anyString(), any(Path.class), anyString()))
+                .thenThrow(new IllegalStateException("Connection refused"))
+                .thenAnswer(invocation -> {
+                    attached.set(Files.readAllBytes(invocation.getArgument(2)));
+                    return new Content();
+                });
+
+        assertThatThrownBy(() -> uploadService.append(session.getId(), 0, new ByteArrayInputStream(VIDEO)))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(uploadService.getSession(session.getId()).getOffset()).isEqualTo(VIDEO.length);
+        assertThat(Files.readAllBytes(session.getPartFile())).isEqualTo(VIDEO);
+
+        // An empty chunk at the last offset completes the upload, without sending the file again.
+        uploadService.append(session.getId(), VIDEO.length, new ByteArrayInputStream(new byte[0]));
+
+        assertThat(session.getContent()).isNotNull();
+        assertThat(attached.get()).isEqualTo(VIDEO);
+        assertThat(listStagingFolder()).isEmpty();
+    }
+
+    @Test
+    void lockedUploadsAreNotDeleted() throws Exception {
+        ContentUploadService expiring = new ContentUploadService(contentService, stagingFolder, 1_000_000,
+                Duration.ofMillis(1));
+        UploadSession session = expiring.createSession(1L, "video.mp4", VIDEO.length, null);
+        // Another thread is receiving a chunk.
+        Thread appending = Thread.ofVirtual().start(session.getLock()::lock);
+        appending.join();
+        Thread.sleep(10);
+
+        assertThatThrownBy(() -> expiring.cancel(session.getId())).isInstanceOf(IllegalStateException.class);
+        expiring.purgeExpiredSessions();
+        assertThat(Files.exists(session.getPartFile())).isTrue();
+        assertThat(expiring.getSession(session.getId())).isSameAs(session);
+    }
+
+    @Test
+    void createSessionValidatesArguments() {
+        assertThatThrownBy(() -> uploadService.createSession(2L, "video.mp4", 10, null))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> uploadService.createSession(1L, "video.mp4", 2_000_000, null))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> uploadService.getSession("../../content"))
+                .isInstanceOf(StorageFileNotFoundException.class);
+    }
+
+    @Test
+    void purgeExpiredSessionsDeletesInactiveUploads() throws IOException {
+        UploadSession session = uploadService.createSession(1L, "video.mp4", VIDEO.length, null);
+        ContentUploadService restarted = new ContentUploadService(contentService, stagingFolder, 1_000_000,
+                Duration.ofHours(24));
+        Files.setLastModifiedTime(session.getPartFile(), FileTime.from(Instant.now().minus(Duration.ofDays(2))));
+
+        restarted.purgeExpiredSessions();
+
+        assertThat(listStagingFolder()).isEmpty();
+        assertThatThrownBy(() -> restarted.getSession(session.getId()))
+                .isInstanceOf(StorageFileNotFoundException.class);
+    }
+
+    private String[] listStagingFolder() throws IOException {
+        try (var files = Files.list(stagingFolder)) {
+            return files.map(Path::toString).toArray(String[]::new);
+        }
+    }
+
+    private static String sha256(byte[] content) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package ca.uqam.latece.evo.server.core.service;
+
+import ca.uqam.latece.evo.server.core.repository.ClusterNodeRepository;
+import ca.uqam.latece.evo.server.core.service.instance.InterventionOwnershipService;
+import ca.uqam.latece.evo.server.core.util.ConsistentHashRing;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.web.client.RestClient;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests the InterventionOwnershipService: the ring built from the leases, and the forwarding of the requests to the
+ * owner of their intervention instance, with a mocked ClusterNodeRepository and a local HTTP server as the other node.
+ */
+public class InterventionOwnershipServiceTest {
+    private static final String URI = "/bciactivityinstance/clientupdate/FINISH";
+
+    private final AtomicReference<String> forwardedBy = new AtomicReference<>();
+
+    private final AtomicReference<String> forwardedBody = new AtomicReference<>();
+
+    private final AtomicReference<String> forwardedSecret = new AtomicReference<>();
+
+    private ClusterNodeRepository repository;
+
+    private InterventionOwnershipService service;
+
+    private HttpServer owner;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        owner = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        owner.createContext(URI, exchange -> {
+            forwardedBy.set(exchange.getRequestHeaders().getFirst(InterventionOwnershipService.FORWARDED_BY_HEADER));
+            forwardedSecret.set(exchange.getRequestHeaders().getFirst(InterventionOwnershipService.SECRET_HEADER));
+            forwardedBody.set(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+            byte[] response = "FINISHED".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, response.length);
+
+            try (OutputStream body = exchange.getResponseBody()) {
+                body.write(response);
+            }
+        });
+        owner.start();
+
+        repository = mock(ClusterNodeRepository.class);
+        service = new InterventionOwnershipService(repository, mock(PlatformTransactionManager.class),
+                RestClient.builder(), "a", "http://127.0.0.1:1/", "s3cret", Duration.ofSeconds(30), 64,
+                Duration.ofSeconds(2));
+    }
+
+    @AfterEach
+    void tearDown() {
+        owner.stop(0);
+    }
+
+    @Test
+    void heartbeatRenewsTheLeaseAndBuildsTheRing() {
+        when(repository.findLiveNodes()).thenReturn(List.of(node("a", "http://127.0.0.1:1"), node("b", url())));
+
+        service.heartbeat();
+
+        verify(repository).renewLease(eq("a"), eq("http://127.0.0.1:1"), anyDouble());
+        verify(repository).deleteExpiredLeases(30.0);
+        assertThat(service.getMembers()).containsExactly("a", "b");
+        ConsistentHashRing ring = new ConsistentHashRing(List.of("a", "b"), 64);
+        LongStream.rangeClosed(1, 100).forEach(id -> assertThat(service.findOwner(id)).isEqualTo(ring.ownerOf(id)));
+    }
+
+    @Test
+    void requestsAreForwardedToTheOwner() {
+        when(repository.findLiveNodes()).thenReturn(List.of(node("a", "http://127.0.0.1:1"), node("b", url())));
+        service.heartbeat();
+
+        ResponseEntity<String> response = service.forward(ownedBy("b"), request(), Map.of("id", 7));
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).isEqualTo("FINISHED");
+        assertThat(forwardedBy.get()).isEqualTo("a");
+        assertThat(forwardedSecret.get()).isEqualTo("s3cret");
+        assertThat(forwardedBody.get()).isEqualTo("{\"id\":7}");
+
+        // The owned and the already forwarded requests are handled locally.
+        assertThat(service.forward(ownedBy("a"), request(), Map.of())).isNull();
+        assertThat(service.forward(ownedBy("b"), forwarded("b", "s3cret"), Map.of())).isNull();
+    }
+
+    @Test
+    void requestsOfThisNodeAreSentToTheOwner() {
+        when(repository.findLiveNodes()).thenReturn(List.of(node("a", "http://127.0.0.1:1"), node("b", url())));
+        service.heartbeat();
+
+        ResponseEntity<String> response = service.forward(ownedBy("b"), HttpMethod.PUT, URI, Map.of("id", 7));
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(forwardedBy.get()).isEqualTo("a");
+        assertThat(forwardedSecret.get()).isEqualTo("s3cret");
+        assertThat(forwardedBody.get()).isEqualTo("{\"id\":7}");
+        assertThat(service.forward(ownedBy("a"), HttpMethod.PUT, URI, Map.of())).isNull();
+    }
+
+    @Test
+    void forwardedRequestsAreOnlyTrustedFromLiveMembers() {
+        when(repository.findLiveNodes()).thenReturn(List.of(node("a", "http://127.0.0.1:1"), node("b", url())));
+        service.heartbeat();
+
+        // A client cannot pass its request as forwarded without the secret, nor in the name of an unknown node.
+        assertThat(service.forward(ownedBy("b"), forwarded("b", null), Map.of()).getStatusCode())
+                .isEqualTo(HttpStatus.FORBIDDEN);
+        assertThat(service.forward(ownedBy("b"), forwarded("b", "guess"), Map.of()).getStatusCode())
+                .isEqualTo(HttpStatus.FORBIDDEN);
+        assertThat(service.forward(ownedBy("b"), forwarded("c", "s3cret"), Map.of()).getStatusCode())
+                .isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(forwardedBy.get()).isNull();
+    }
+
+    @Test
+    void requestsAreRejectedWhenTheOwnerIsUnknownOrUnreachable() {
+        // No lease yet.
+        assertThat(service.forward(1L, request(), Map.of()).getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+
+        when(repository.findLiveNodes()).thenReturn(List.of(node("a", "http://127.0.0.1:1"),
+                node("b", "http://127.0.0.1:1")));
+        service.heartbeat();
+
+        assertThat(service.forward(ownedBy("b"), request(), Map.of()).getStatusCode())
+                .isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    @Test
+    void aFailedHeartbeatKeepsTheRing() {
+        when(repository.findLiveNodes()).thenReturn(List.of(node("a", "http://127.0.0.1:1"), node("b", url())));
+        service.heartbeat();
+        when(repository.findLiveNodes()).thenThrow(new IllegalStateException("Connection refused"));
+
+        service.heartbeat();
+
+        assertThat(service.getMembers()).containsExactly("a", "b");
+    }
+
+    private long ownedBy(String node) {
+        ConsistentHashRing ring = new ConsistentHashRing(List.of("a", "b"), 64);
+        return LongStream.rangeClosed(1, 1000).filter(id -> node.equals(ring.ownerOf(id))).findFirst().orElseThrow();
+    }
+
+    private String url() {
+        return "http://127.0.0.1:" + owner.getAddress().getPort();
+    }
+
+    private static MockHttpServletRequest request() {
+        MockHttpServletRequest request = new MockHttpServletRequest("PUT", URI);
+        request.setContentType("application/json");
+        return request;
+    }
+
+    private static MockHttpServletRequest forwarded(String node, String secret) {
+        MockHttpServletRequest request = request();
+        request.addHeader(InterventionOwnershipService.FORWARDED_BY_HEADER, node);
+
+        if (secret != null) {
+            request.addHeader(InterventionOwnershipService.SECRET_HEADER, secret);
+        }
+
+        return request;
+    }
+
+    private static ClusterNodeRepository.Node node(String nodeId, String url) {
+        return new ClusterNodeRepository.Node() {
+            @Override
+            public String getNodeId() {
+                return nodeId;
+            }
+
+            @Override
+            public String getUrl() {
+                return url;
+            }
+        };
+    }
+}
@@ -0,0 +1,106 @@
+package ca.uqam.latece.evo.server.core.service;
+
+import ca.uqam.latece.evo.server.core.config.EvoTestcontainersConfig;
+import ca.uqam.latece.evo.server.core.enumeration.SearchEntityType;
+import ca.uqam.latece.evo.server.core.model.Content;
+import ca.uqam.latece.evo.server.core.model.instance.HealthCareProfessional;
+import ca.uqam.latece.evo.server.core.model.instance.Patient;
+import ca.uqam.latece.evo.server.core.response.SearchResponse;
+import ca.uqam.latece.evo.server.core.response.SearchResult;
+import ca.uqam.latece.evo.server.core.service.instance.HealthCareProfessionalService;
+import ca.uqam.latece.evo.server.core.service.instance.PatientService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.test.context.ContextConfiguration;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The test class for the {@link SearchService}, responsible for testing the prefix, substring and typo-tolerant
+ * matches of the unified search, their ranking and paging, with a PostgreSQL database (pg_trgm) in a containerized
+ * setup.
+ *
+ * @version 1.0
+ * @author Edilton Lima dos Santos.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ComponentScan(basePackages = {"ca.uqam.latece.evo.server.core.repository",
+        "ca.uqam.latece.evo.server.core.service"})
+@ContextConfiguration(classes = {SearchService.class})
+public class SearchServiceTest extends EvoTestcontainersConfig {
+    @Autowired
+    private SearchService searchService;
+
+    @Autowired
+    private PatientService patientService;
+
+    @Autowired
+    private HealthCareProfessionalService healthCareProfessionalService;
+
+    @Autowired
+    private ContentService contentService;
+
+    @BeforeEach
+    void setUp() {
+        patientService.create(new Patient("Marguerite Tremblay", "marguerite@search.ca", "514-000-0001"));
+        patientService.create(new Patient("Tremblay Jean", "jean@search.ca", "514-000-0002"));
+        patientService.create(new Patient("Louise Gagnon", "louise@search.ca", "514-000-0003"));
+        healthCareProfessionalService.create(new HealthCareProfessional("Paul Roy", "paul@search.ca",
+                "514-000-0004", "Kinesiologist", "CHUM", "Cardiac rehabilitation"));
+        contentService.create(new Content("Tremblay guide", "Guide", "pdf", null, null));
+    }
+
+    @Test
+    void testSearchRanksPrefixBeforeSubstring() {
+        SearchResponse response = searchService.search("Tremblay", List.of(SearchEntityType.PATIENT), 0, 20);
+
+        assertEquals(List.of("Tremblay Jean", "Marguerite Tremblay"), names(response.getResults()));
+        assertFalse(response.isHasNext());
+    }
+
+    @Test
+    void testSearchToleratesTypos() {
+        SearchResponse response = searchService.search("tremblai", null, 0, 20);
+
+        assertTrue(names(response.getResults()).containsAll(List.of("Tremblay Jean", "Marguerite Tremblay",
+                "Tremblay guide")));
+        assertFalse(names(response.getResults()).contains("Louise Gagnon"));
+    }
+
+    @Test
+    void testSearchProfessionalsBySpecialties() {
+        SearchResponse response = searchService.search("rehab", List.of(SearchEntityType.HEALTHCARE_PROFESSIONAL),
+                0, 20);
+
+        assertEquals(List.of("Paul Roy"), names(response.getResults()));
+        assertEquals("HEALTHCARE_PROFESSIONAL", response.getResults().get(0).getType());
+    }
+
+    @Test
+    void testSearchPages() {
+        SearchResponse first = searchService.search("tremblay", null, 0, 2);
+        SearchResponse second = searchService.search("tremblay", null, 1, 2);
+
+        assertEquals(2, first.getResults().size());
+        assertTrue(first.isHasNext());
+        assertEquals(1, second.getResults().size());
+        assertFalse(second.isHasNext());
+    }
+
+    @Test
+    void testSearchEscapesWildcards() {
+        assertTrue(searchService.search("%%", null, 0, 20).getResults().isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> searchService.search("t", null, 0, 20));
+    }
+
+    private static List<String> names(List<SearchResult> results) {
+        return results.stream().map(SearchResult::getName).toList();
+    }
+}
@@ -6,6 +6,8 @@ import ca.uqam.latece.evo.server.core.enumeration.SkillType;
 import ca.uqam.latece.evo.server.core.model.Assessment;
 import ca.uqam.latece.evo.server.core.model.Role;
 import ca.uqam.latece.evo.server.core.model.Skill;
+import ca.uqam.latece.evo.server.core.response.LearningPathStep;
+import ca.uqam.latece.evo.server.core.response.SkillNode;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.test.context.ContextConfiguration;
@@ -341,4 +343,59 @@ public class SkillServiceTest extends AbstractServiceTest {
         // Assert that the result should be two Skill.
         assertEquals(2,skillService.findAll().size());
     }
+
+    @Test
+    void testFindTransitivePrerequisitesAndLearningPath() {
+        Skill walking = newSkill("Graph Walking");
+        skillService.create(walking);
+        Skill stretching = newSkill("Graph Stretching");
+        stretching.addRequiredSkill(walking);
+        skillService.create(stretching);
+        Skill running = newSkill("Graph Running");
+        running.addRequiredSkill(walking);
+        running.addRequiredSkill(stretching);
+        skillService.create(running);
+        Skill marathon = newSkill("Graph Marathon");
+        marathon.addRequiredSkill(running);
+        skillService.create(marathon);
+
+        // All the prerequisites are found, whatever their depth.
+        assertEquals(List.of("Graph Running", "Graph Stretching", "Graph Walking"),
+                skillService.findTransitivePrerequisites(marathon.getId()).stream().map(SkillNode::getName).toList());
+
+        // Each skill comes after all its prerequisites.
+        List<LearningPathStep> path = skillService.findLearningPath(marathon.getId());
+        assertEquals(List.of("Graph Walking", "Graph Stretching", "Graph Running", "Graph Marathon"),
+                path.stream().map(LearningPathStep::getName).toList());
+        assertEquals(List.of(0, 1, 2, 3), path.stream().map(LearningPathStep::getLevel).toList());
+        assertTrue(skillService.findTransitivePrerequisites(walking.getId()).isEmpty());
+    }
+
+    @Test
+    void testFindDescendants() {
+        Skill sport = newSkill("Graph Sport");
+        Skill balance = newSkill("Graph Balance");
+        skillService.create(balance);
+        sport.setSubSkill(balance);
+        skillService.create(sport);
+        Skill cycling = newSkill("Graph Cycling");
+        cycling.setSkillComposedOfSkill(sport);
+        skillService.create(cycling);
+        Skill pedaling = newSkill("Graph Pedaling");
+        pedaling.setSkillComposedOfSkill(cycling);
+        skillService.create(pedaling);
+
+        assertEquals(List.of("Graph Balance", "Graph Cycling", "Graph Pedaling"),
+                skillService.findDescendants(sport.getId()).stream().map(SkillNode::getName).toList());
+        assertEquals(List.of("Graph Pedaling"),
+                skillService.findDescendants(cycling.getId()).stream().map(SkillNode::getName).toList());
+    }
+
+    private static Skill newSkill(String name) {
+        Skill skill = new Skill();
+        skill.setName(name);
+        skill.setDescription(name + " - Description");
+        skill.setType(SkillType.PHYSICAL);
+        return skill;
+    }
 }
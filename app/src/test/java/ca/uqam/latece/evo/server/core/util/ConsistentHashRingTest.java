@@ -0,0 +1,69 @@
+package ca.uqam.latece.evo.server.core.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The ConsistentHashRing test class for the {@link ConsistentHashRing}, responsible for testing the distribution of the
+ * keys over the nodes and the keys that move when a node joins or leaves the ring.
+ * @version 1.0
+ * @author Edilton Lima dos Santos.
+ */
+public class ConsistentHashRingTest {
+    private static final int KEYS = 10_000;
+
+    @Test
+    public void ownerOf() {
+        ConsistentHashRing ring = new ConsistentHashRing(List.of("a", "b", "c"), 64);
+        Map<String, Integer> counts = new HashMap<>();
+
+        for (long key = 1; key <= KEYS; key++) {
+            counts.merge(ring.ownerOf(key), 1, Integer::sum);
+        }
+
+        // Every node owns a share of the keys, and the ring does not depend on the order of the nodes.
+        assertEquals(3, counts.size());
+        counts.values().forEach(count -> assertTrue(count > KEYS / 6, "Unbalanced ring: " + counts));
+        ConsistentHashRing reordered = new ConsistentHashRing(List.of("c", "a", "b"), 64);
+
+        for (long key = 1; key <= KEYS; key++) {
+            assertEquals(ring.ownerOf(key), reordered.ownerOf(key));
+        }
+    }
+
+    @Test
+    public void membershipChanges() {
+        ConsistentHashRing three = new ConsistentHashRing(List.of("a", "b", "c"), 64);
+        ConsistentHashRing four = new ConsistentHashRing(List.of("a", "b", "c", "d"), 64);
+        int moved = 0;
+
+        for (long key = 1; key <= KEYS; key++) {
+            String owner = four.ownerOf(key);
+
+            // Only the keys taken by the new node move.
+            if (!owner.equals(three.ownerOf(key))) {
+                assertEquals("d", owner);
+                moved++;
+            }
+        }
+
+        assertTrue(moved > KEYS / 8 && moved < KEYS / 2, "Moved keys: " + moved);
+    }
+
+    @Test
+    public void emptyRing() {
+        ConsistentHashRing ring = new ConsistentHashRing(List.of(), 64);
+        assertTrue(ring.isEmpty());
+        assertNull(ring.ownerOf(1L));
+        assertThrows(IllegalArgumentException.class, () -> new ConsistentHashRing(List.of("a"), 0));
+        assertThrows(IllegalArgumentException.class, () -> new ConsistentHashRing(null, 64));
+    }
+}
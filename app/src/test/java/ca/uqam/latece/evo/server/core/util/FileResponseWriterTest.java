@@ -0,0 +1,151 @@
+package ca.uqam.latece.evo.server.core.util;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class FileResponseWriterTest {
+    private static final String TEXT = "0123456789abcdefghij";
+
+    private final FileResponseWriter fileResponseWriter = new FileResponseWriter();
+
+    @TempDir
+    private Path folder;
+
+    private Path file;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        file = Files.writeString(folder.resolve("video.mp4"), TEXT);
+        Files.setLastModifiedTime(file, FileTime.from(Instant.parse("2025-01-01T10:00:00Z")));
+    }
+
+    @Test
+    void writesWholeFileWithValidators() throws Exception {
+        MockHttpServletResponse response = write(new MockHttpServletRequest("GET", "/file"));
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getContentAsString()).isEqualTo(TEXT);
+        assertThat(response.getContentLengthLong()).isEqualTo(TEXT.length());
+        assertThat(response.getContentType()).isEqualTo("video/mp4");
+        assertThat(response.getHeader(HttpHeaders.ACCEPT_RANGES)).isEqualTo("bytes");
+        assertThat(response.getHeader(HttpHeaders.ETAG)).startsWith("\"").endsWith("\"");
+        assertThat(response.getDateHeader(HttpHeaders.LAST_MODIFIED))
+                .isEqualTo(Instant.parse("2025-01-01T10:00:00Z").toEpochMilli());
+    }
+
+    @Test
+    void etagDependsOnContent() throws Exception {
+        String etag = write(new MockHttpServletRequest("GET", "/file")).getHeader(HttpHeaders.ETAG);
+
+        Files.writeString(file, TEXT.toUpperCase());
+
+        assertThat(write(new MockHttpServletRequest("GET", "/file")).getHeader(HttpHeaders.ETAG)).isNotEqualTo(etag);
+    }
+
+    @Test
+    void answersNotModified() throws Exception {
+        String etag = write(new MockHttpServletRequest("GET", "/file")).getHeader(HttpHeaders.ETAG);
+
+        MockHttpServletRequest ifNoneMatch = new MockHttpServletRequest("GET", "/file");
+        ifNoneMatch.addHeader(HttpHeaders.IF_NONE_MATCH, etag);
+        MockHttpServletResponse response = write(ifNoneMatch);
+        assertThat(response.getStatus()).isEqualTo(304);
+        assertThat(response.getContentAsByteArray()).isEmpty();
+
+        MockHttpServletRequest ifModifiedSince = new MockHttpServletRequest("GET", "/file");
+        ifModifiedSince.addHeader(HttpHeaders.IF_MODIFIED_SINCE, "Wed, 01 Jan 2025 10:00:00 GMT");
+        assertThat(write(ifModifiedSince).getStatus()).isEqualTo(304);
+
+        MockHttpServletRequest otherETag = new MockHttpServletRequest("GET", "/file");
+        otherETag.addHeader(HttpHeaders.IF_NONE_MATCH, "\"other\"");
+        assertThat(write(otherETag).getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void writesRange() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/file");
+        request.addHeader(HttpHeaders.RANGE, "bytes=5-9");
+        MockHttpServletResponse response = write(request);
+
+        assertThat(response.getStatus()).isEqualTo(206);
+        assertThat(response.getContentAsString()).isEqualTo("56789");
+        assertThat(response.getHeader(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes 5-9/20");
+        assertThat(response.getContentLengthLong()).isEqualTo(5);
+
+        MockHttpServletRequest suffix = new MockHttpServletRequest("GET", "/file");
+        suffix.addHeader(HttpHeaders.RANGE, "bytes=-3");
+        assertThat(write(suffix).getContentAsString()).isEqualTo("hij");
+    }
+
+    @Test
+    void ignoresRangeWhenIfRangeDoesNotMatch() throws Exception {
+        String etag = write(new MockHttpServletRequest("GET", "/file")).getHeader(HttpHeaders.ETAG);
+
+        MockHttpServletRequest matching = new MockHttpServletRequest("GET", "/file");
+        matching.addHeader(HttpHeaders.RANGE, "bytes=0-1");
+        matching.addHeader(HttpHeaders.IF_RANGE, etag);
+        assertThat(write(matching).getStatus()).isEqualTo(206);
+
+        MockHttpServletRequest changed = new MockHttpServletRequest("GET", "/file");
+        changed.addHeader(HttpHeaders.RANGE, "bytes=0-1");
+        changed.addHeader(HttpHeaders.IF_RANGE, "\"old\"");
+        MockHttpServletResponse response = write(changed);
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getContentAsString()).isEqualTo(TEXT);
+    }
+
+    @Test
+    void rejectsUnsatisfiableRange() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/file");
+        request.addHeader(HttpHeaders.RANGE, "bytes=50-60");
+        MockHttpServletResponse response = write(request);
+
+        assertThat(response.getStatus()).isEqualTo(416);
+        assertThat(response.getHeader(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes */20");
+    }
+
+    @Test
+    void delegatesLargeFilesToSendfile() throws Exception {
+        Path large = Files.write(folder.resolve("large.pdf"), new byte[100_000]);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/file");
+        request.setAttribute("org.apache.tomcat.sendfile.support", Boolean.TRUE);
+        request.addHeader(HttpHeaders.RANGE, "bytes=1000-");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        fileResponseWriter.write(request, response, large, "large.pdf");
+
+        assertThat(response.getStatus()).isEqualTo(206);
+        assertThat(response.getContentAsByteArray()).isEmpty();
+        assertThat(request.getAttribute("org.apache.tomcat.sendfile.filename")).isEqualTo(large.toAbsolutePath().toString());
+        assertThat(request.getAttribute("org.apache.tomcat.sendfile.start")).isEqualTo(1000L);
+        assertThat(request.getAttribute("org.apache.tomcat.sendfile.end")).isEqualTo(100_000L);
+    }
+
+    @Test
+    void headWritesNoBody() throws Exception {
+        MockHttpServletResponse response = write(new MockHttpServletRequest("HEAD", "/file"));
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getContentLengthLong()).isEqualTo(TEXT.length());
+        assertThat(response.getContentAsByteArray()).isEmpty();
+        assertThat(new String(Files.readAllBytes(file), StandardCharsets.UTF_8)).isEqualTo(TEXT);
+    }
+
+    private MockHttpServletResponse write(MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        fileResponseWriter.write(request, response, file, file.getFileName().toString());
+        return response;
+    }
+}
@@ -0,0 +1,68 @@
+package ca.uqam.latece.evo.server.core.util;
+
+import ca.uqam.latece.evo.server.core.exceptions.StorageException;
+import ca.uqam.latece.evo.server.core.exceptions.StorageFileNotFoundException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
+
+public class LocalBlobStoreTest {
+    private static final String HASH = "a".repeat(64);
+
+    @TempDir
+    private Path root;
+
+    @Test
+    void publishMovesStagingFile() throws Exception {
+        LocalBlobStore blobStore = new LocalBlobStore(root);
+        Path staging = Files.writeString(blobStore.createStagingFile(), "Evo+");
+
+        blobStore.publish(HASH, staging);
+
+        assertThat(staging).doesNotExist();
+        assertThat(blobStore.exists(HASH)).isTrue();
+        assertThat(blobStore.load(HASH)).isEqualTo(root.resolve("aa").resolve("aa").resolve(HASH));
+        assertThat(blobStore.loadAsResource(HASH).getContentAsByteArray()).isEqualTo("Evo+".getBytes());
+    }
+
+    @Test
+    void publishDeduplicates() throws Exception {
+        LocalBlobStore blobStore = new LocalBlobStore(root);
+        blobStore.publish(HASH, Files.writeString(blobStore.createStagingFile(), "Evo+"));
+        Path published = blobStore.load(HASH);
+        long modified = Files.getLastModifiedTime(published).toMillis();
+
+        Path duplicate = Files.writeString(blobStore.createStagingFile(), "Evo+");
+        blobStore.publish(HASH, duplicate);
+
+        assertThat(duplicate).doesNotExist();
+        assertThat(Files.getLastModifiedTime(published).toMillis()).isEqualTo(modified);
+        try (var staged = Files.list(root.resolve("staging"))) {
+            assertThat(staged).isEmpty();
+        }
+    }
+
+    @Test
+    void deleteRemovesBlob() throws Exception {
+        LocalBlobStore blobStore = new LocalBlobStore(root);
+        blobStore.publish(HASH, Files.writeString(blobStore.createStagingFile(), "Evo+"));
+
+        blobStore.delete(HASH);
+
+        assertThat(blobStore.exists(HASH)).isFalse();
+        assertThatThrownBy(() -> blobStore.loadAsResource(HASH)).isInstanceOf(StorageFileNotFoundException.class);
+    }
+
+    @Test
+    void rejectsInvalidHash() {
+        LocalBlobStore blobStore = new LocalBlobStore(root);
+
+        assertThatThrownBy(() -> blobStore.load("../../etc/passwd")).isInstanceOf(StorageException.class);
+        assertThatThrownBy(() -> blobStore.load("A".repeat(64))).isInstanceOf(StorageException.class);
+    }
+}
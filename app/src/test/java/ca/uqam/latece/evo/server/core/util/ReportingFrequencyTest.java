@@ -0,0 +1,79 @@
+package ca.uqam.latece.evo.server.core.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The ReportingFrequency test class for the {@link ReportingFrequency}, responsible for testing the parsing of the
+ * frequencies of the Reporting activities and the computation of the due times of their reports.
+ * @version 1.0
+ * @author Edilton Lima dos Santos.
+ */
+public class ReportingFrequencyTest {
+    private static final Instant ANCHOR = Instant.parse("2025-01-31T00:00:00Z");
+
+    @Test
+    public void periods() {
+        ReportingFrequency daily = ReportingFrequency.parse("daily");
+
+        // Due at the end of each day from the anchor, strictly after the time.
+        assertEquals(Instant.parse("2025-02-01T00:00:00Z"), daily.next(Instant.parse("2025-01-01T00:00:00Z"), ANCHOR));
+        assertEquals(Instant.parse("2025-03-11T00:00:00Z"), daily.next(Instant.parse("2025-03-10T00:00:00Z"), ANCHOR));
+        assertEquals(Instant.parse("2025-03-11T00:00:00Z"), daily.next(Instant.parse("2025-03-10T13:00:00Z"), ANCHOR));
+        assertEquals(Instant.parse("2025-02-07T00:00:00Z"),
+                ReportingFrequency.parse("P1W").next(ANCHOR, ANCHOR));
+        assertEquals(Instant.parse("2025-01-31T08:00:00Z"),
+                ReportingFrequency.parse("PT8H").next(ANCHOR, ANCHOR));
+
+        // Months from the anchor, clamped to the end of the shorter months.
+        ReportingFrequency monthly = ReportingFrequency.parse("P1M");
+        assertEquals(Instant.parse("2025-02-28T00:00:00Z"), monthly.next(ANCHOR, ANCHOR));
+        assertEquals(Instant.parse("2025-03-31T00:00:00Z"), monthly.next(Instant.parse("2025-02-28T00:00:00Z"), ANCHOR));
+        assertEquals(Instant.parse("2026-01-31T00:00:00Z"), monthly.next(Instant.parse("2025-12-31T00:00:00Z"), ANCHOR));
+    }
+
+    @Test
+    public void recurrences() {
+        ReportingFrequency threeDays = ReportingFrequency.parse("R3/P1D");
+        assertEquals(3, threeDays.getRepetitions());
+        assertEquals(Instant.parse("2025-02-03T00:00:00Z"), threeDays.next(Instant.parse("2025-02-02T00:00:00Z"), ANCHOR));
+        assertNull(threeDays.next(Instant.parse("2025-02-03T00:00:00Z"), ANCHOR));
+
+        // An explicit start is the first due time.
+        ReportingFrequency started = ReportingFrequency.parse("R2/2025-03-01T08:00:00Z/PT12H");
+        assertEquals(Instant.parse("2025-03-01T08:00:00Z"), started.next(ANCHOR, ANCHOR));
+        assertEquals(Instant.parse("2025-03-01T20:00:00Z"), started.next(Instant.parse("2025-03-01T08:00:00Z"), ANCHOR));
+        assertNull(started.next(Instant.parse("2025-03-01T20:00:00Z"), ANCHOR));
+        assertEquals(ReportingFrequency.UNBOUNDED, ReportingFrequency.parse("R/P1D").getRepetitions());
+    }
+
+    @Test
+    public void cron() {
+        ReportingFrequency evening = ReportingFrequency.parse("0 20 * * *");
+        assertTrue(evening.isCron());
+        assertEquals(Instant.parse("2025-03-10T20:00:00Z"), evening.next(Instant.parse("2025-03-10T13:00:00Z"), ANCHOR));
+        // Never before the anchor.
+        assertEquals(Instant.parse("2025-01-31T20:00:00Z"), evening.next(Instant.parse("2025-01-01T00:00:00Z"), ANCHOR));
+        assertEquals(Instant.parse("2025-03-10T09:30:00Z"), ReportingFrequency.parse("0 30 9 * * MON")
+                .next(Instant.parse("2025-03-08T00:00:00Z"), ANCHOR));
+    }
+
+    @Test
+    public void invalid() {
+        assertFalse(ReportingFrequency.isValid("Frequency"));
+        assertFalse(ReportingFrequency.isValid("Frequency 2"));
+        assertFalse(ReportingFrequency.isValid("P0D"));
+        assertFalse(ReportingFrequency.isValid("P1M2D"));
+        assertFalse(ReportingFrequency.isValid("R0/P1D"));
+        assertFalse(ReportingFrequency.isValid("R/2025-03-01/P1D"));
+        assertThrows(IllegalArgumentException.class, () -> ReportingFrequency.parse(" "));
+        assertTrue(ReportingFrequency.isValid(" weekly "));
+    }
+}
@@ -0,0 +1,190 @@
+package ca.uqam.latece.evo.server.core.util;
+
+import ca.uqam.latece.evo.server.core.exceptions.StorageException;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
+
+/**
+ * Tests the S3BlobStore against a local stand-in of an S3-compatible storage, which keeps the objects in memory,
+ * requires signed requests and verifies the x-amz-content-sha256 of the uploads.
+ */
+public class S3BlobStoreTest {
+    private static final byte[] CONTENT = "Evo+ educational video".getBytes(StandardCharsets.UTF_8);
+    private static final String HASH = sha256(CONTENT);
+
+    private S3StandIn s3;
+
+    private S3BlobStore blobStore;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        s3 = new S3StandIn();
+        blobStore = new S3BlobStore(s3.endpoint(), "evo", "us-east-1", "evo-access", "evo-secret", "blobs/",
+                Clock.fixed(Instant.parse("2025-03-01T12:00:00Z"), ZoneOffset.UTC));
+    }
+
+    @AfterEach
+    void tearDown() {
+        s3.stop();
+    }
+
+    @Test
+    void publishUploadsSignedObject() throws Exception {
+        Path staging = Files.write(blobStore.createStagingFile(), CONTENT);
+
+        blobStore.publish(HASH, staging);
+
+        assertThat(staging).doesNotExist();
+        assertThat(s3.objects.get("/evo/blobs/" + HASH)).isEqualTo(CONTENT);
+        assertThat(blobStore.exists(HASH)).isTrue();
+        assertThat(s3.authorizations).allMatch(authorization -> authorization.startsWith(
+                "AWS4-HMAC-SHA256 Credential=evo-access/20250301/us-east-1/s3/aws4_request, " +
+                        "SignedHeaders=host;x-amz-content-sha256;x-amz-date, Signature="));
+    }
+
+    @Test
+    void publishDeduplicates() throws Exception {
+        blobStore.publish(HASH, Files.write(blobStore.createStagingFile(), CONTENT));
+        Path duplicate = Files.write(blobStore.createStagingFile(), CONTENT);
+
+        blobStore.publish(HASH, duplicate);
+
+        assertThat(duplicate).doesNotExist();
+        assertThat(s3.methods.stream().filter("PUT"::equals).count()).isEqualTo(1);
+    }
+
+    @Test
+    void publishFailsWhenStorageRejectsContent() throws Exception {
+        Path corrupted = Files.writeString(blobStore.createStagingFile(), "not the hashed content");
+
+        assertThatThrownBy(() -> blobStore.publish(HASH, corrupted)).isInstanceOf(StorageException.class);
+        assertThat(blobStore.exists(HASH)).isFalse();
+        assertThat(corrupted).doesNotExist();
+    }
+
+    @Test
+    void loadAsResourceReturnsPresignedUrl() throws Exception {
+        blobStore.publish(HASH, Files.write(blobStore.createStagingFile(), CONTENT));
+
+        URI url = blobStore.loadAsResource(HASH).getURI();
+
+        assertThat(url.getRawQuery()).startsWith("X-Amz-Algorithm=AWS4-HMAC-SHA256&X-Amz-Credential=" +
+                "evo-access%2F20250301%2Fus-east-1%2Fs3%2Faws4_request&X-Amz-Date=20250301T120000Z&X-Amz-Expires=900" +
+                "&X-Amz-SignedHeaders=host&X-Amz-Signature=");
+        assertThat(blobStore.loadAsResource(HASH).getContentAsByteArray()).isEqualTo(CONTENT);
+    }
+
+    @Test
+    void deleteRemovesObject() throws Exception {
+        blobStore.publish(HASH, Files.write(blobStore.createStagingFile(), CONTENT));
+
+        blobStore.delete(HASH);
+
+        assertThat(blobStore.exists(HASH)).isFalse();
+        assertThatThrownBy(() -> blobStore.load(HASH)).isInstanceOf(StorageException.class);
+    }
+
+    private static String sha256(byte[] content) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Minimal S3-compatible server: PUT, GET, HEAD and DELETE of objects addressed with path-style URLs.
+     */
+    private static class S3StandIn {
+        private final Map<String, byte[]> objects = new ConcurrentHashMap<>();
+        private final List<String> methods = new CopyOnWriteArrayList<>();
+        private final List<String> authorizations = new CopyOnWriteArrayList<>();
+        private final HttpServer server;
+
+        S3StandIn() throws IOException {
+            server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+            server.createContext("/", this::handle);
+            server.start();
+        }
+
+        URI endpoint() {
+            return URI.create("http://127.0.0.1:" + server.getAddress().getPort());
+        }
+
+        void stop() {
+            server.stop(0);
+        }
+
+        private void handle(HttpExchange exchange) throws IOException {
+            String method = exchange.getRequestMethod();
+            String key = exchange.getRequestURI().getPath();
+            String authorization = exchange.getRequestHeaders().getFirst("Authorization");
+            String query = exchange.getRequestURI().getRawQuery();
+            byte[] body = exchange.getRequestBody().readAllBytes();
+            methods.add(method);
+
+            if (authorization != null) {
+                authorizations.add(authorization);
+            } else if (query == null || !query.contains("X-Amz-Signature=")) {
+                send(exchange, 403, new byte[0]);
+                return;
+            }
+
+            switch (method) {
+                case "PUT" -> {
+                    if (!sha256(body).equals(exchange.getRequestHeaders().getFirst("x-amz-content-sha256"))) {
+                        send(exchange, 400, new byte[0]);
+                    } else {
+                        objects.put(key, body);
+                        send(exchange, 200, new byte[0]);
+                    }
+                }
+                case "GET" -> {
+                    byte[] object = objects.get(key);
+                    send(exchange, object == null ? 404 : 200, object == null ? new byte[0] : object);
+                }
+                case "HEAD" -> {
+                    exchange.sendResponseHeaders(objects.containsKey(key) ? 200 : 404, -1);
+                    exchange.close();
+                }
+                case "DELETE" -> {
+                    objects.remove(key);
+                    send(exchange, 204, new byte[0]);
+                }
+                default -> send(exchange, 405, new byte[0]);
+            }
+        }
+
+        private static void send(HttpExchange exchange, int status, byte[] body) throws IOException {
+            exchange.sendResponseHeaders(status, body.length == 0 ? -1 : body.length);
+
+            if (body.length > 0) {
+                exchange.getResponseBody().write(body);
+            }
+
+            exchange.close();
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package ca.uqam.latece.evo.server.core.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The SampleCodec test class for the {@link SampleCodec}, responsible for testing the round trip and the size of the
+ * encoded behavior performance samples.
+ * @version 1.0
+ * @author Edilton Lima dos Santos.
+ */
+public class SampleCodecTest {
+
+    @Test
+    public void roundTrip() {
+        long[] times = {1_740_787_200_000L, 1_740_787_260_000L, 1_740_787_259_999L, Long.MAX_VALUE / 2, 0};
+        long[] values = {SampleCodec.toFixed(112), SampleCodec.toFixed(-98.5), 0, Long.MIN_VALUE / 2,
+                SampleCodec.toFixed(0.001)};
+
+        SampleCodec.Samples samples = SampleCodec.decode(SampleCodec.encode(times, values, 0, times.length));
+
+        assertEquals(5, samples.size());
+        assertArrayEquals(times, samples.times());
+        assertArrayEquals(values, samples.values());
+        assertEquals(-98.5, samples.value(1));
+        assertEquals(0.001, samples.value(4));
+    }
+
+    @Test
+    public void encodeRange() {
+        long[] times = {10, 20, 30, 40};
+        long[] values = {1, 2, 3, 4};
+
+        SampleCodec.Samples samples = SampleCodec.decode(SampleCodec.encode(times, values, 1, 3));
+
+        assertArrayEquals(new long[] {20, 30}, samples.times());
+        assertArrayEquals(new long[] {2, 3}, samples.values());
+        assertEquals(0, SampleCodec.decode(SampleCodec.encode(times, values, 2, 2)).size());
+    }
+
+    @Test
+    public void encodeRegularSamplesCompactly() {
+        int count = 1024;
+        long[] times = new long[count];
+        long[] values = new long[count];
+
+        for (int i = 0; i < count; i++) {
+            times[i] = 1_740_787_200_000L + i * 60_000L;
+            values[i] = SampleCodec.toFixed(80 + i % 7);
+        }
+
+        byte[] data = SampleCodec.encode(times, values, 0, count);
+
+        // 3 bytes per one-minute delta, at most 3 bytes per value delta, against 16 bytes per raw sample.
+        assertTrue(data.length <= 6 * count + 20, "Encoded size: " + data.length);
+    }
+
+    @Test
+    public void decodeTruncated() {
+        byte[] data = SampleCodec.encode(new long[] {1_740_787_200_000L}, new long[] {1000}, 0, 1);
+        byte[] truncated = Arrays.copyOf(data, data.length - 1);
+
+        assertThrows(IllegalArgumentException.class, () -> SampleCodec.decode(truncated));
+    }
+}
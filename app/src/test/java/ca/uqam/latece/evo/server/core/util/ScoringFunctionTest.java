@@ -0,0 +1,83 @@
+package ca.uqam.latece.evo.server.core.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The ScoringFunction test class for the {@link ScoringFunction}, responsible for testing the parsing of the answers,
+ * the compilation of the scoring functions and the batch scoring.
+ * @version 1.0
+ * @author Edilton Lima dos Santos.
+ */
+public class ScoringFunctionTest {
+
+    @Test
+    public void parseAnswers() {
+        ScoringFunction.Answers answers = ScoringFunction.Answers.parse(List.of("PHQ-9 Q1: 3, Q2: -1.5, Q3: 2.",
+                "Synthetic assessment score 42", "", "3rd visit"));
+
+        assertEquals(4, answers.size());
+        assertEquals(3, answers.count(0));
+        assertEquals(1, answers.count(1));
+        assertEquals(0, answers.count(2));
+        assertEquals(0, answers.count(3));
+        assertEquals(3.5, ScoringFunction.compile("x").score("PHQ-9 Q1: 3, Q2: -1.5, Q3: 2."));
+    }
+
+    @Test
+    public void score() {
+        assertEquals(42, ScoringFunction.compile("x -> x").score("Synthetic assessment score 42"));
+        assertEquals(15, ScoringFunction.compile("x -> (x[0] + x[1]) * 2.5").score("1, 5"));
+        assertEquals(75, ScoringFunction.compile("x->100*mean(x)/4").score("3 3 3"));
+        assertEquals(5, ScoringFunction.compile("max(x) - min(x) + count(x) - sum(x) + 6").score("1 2 3"));
+        assertEquals(1, ScoringFunction.compile("min(x[0], 2, max(x[1], 1))").score("5 0"));
+        assertEquals(4, ScoringFunction.compile("round(sqrt(abs(-x[0]))) + floor(0.5) + ceil(0.2) - -1").score("4"));
+    }
+
+    @Test
+    public void scoreMissingAnswer() {
+        assertTrue(Double.isNaN(ScoringFunction.compile("x[2]").score("1 2")));
+        assertTrue(Double.isNaN(ScoringFunction.compile("x / count(x)").score("none")));
+        assertTrue(Double.isNaN(ScoringFunction.compile("mean(x)").score(null)));
+    }
+
+    @Test
+    public void compileInvalidFunction() {
+        assertThrows(IllegalArgumentException.class, () -> ScoringFunction.compile(""));
+        assertThrows(IllegalArgumentException.class, () -> ScoringFunction.compile("Assessment Scoring Function"));
+        assertThrows(IllegalArgumentException.class, () -> ScoringFunction.compile("x -> x +"));
+        assertThrows(IllegalArgumentException.class, () -> ScoringFunction.compile("x -> median(x)"));
+        assertThrows(IllegalArgumentException.class, () -> ScoringFunction.compile("x -> abs(1, 2)"));
+        assertThrows(IllegalArgumentException.class, () -> ScoringFunction.compile("x -> (x[0]"));
+        assertThrows(IllegalArgumentException.class, () -> ScoringFunction.compile("x -> 1.2.3"));
+    }
+
+    @Test
+    public void scoreAllInParallelChunks() {
+        int size = ScoringFunction.FORK_THRESHOLD * 5 + 7;
+        List<String> answers = new ArrayList<>(size);
+
+        for (int i = 0; i < size; i++) {
+            answers.add(i % 10 == 0 ? "skipped" : "Q1: " + (i % 4) + ", Q2: " + (i % 3));
+        }
+
+        ScoringFunction function = ScoringFunction.compile("x -> x[0] * 10 + x[1]");
+        double[] scores = new double[size];
+        function.scoreAll(ScoringFunction.Answers.parse(answers), scores);
+
+        for (int i = 0; i < size; i++) {
+            if (i % 10 == 0) {
+                assertTrue(Double.isNaN(scores[i]));
+            } else {
+                assertEquals((i % 4) * 10 + (i % 3), scores[i]);
+                assertEquals(function.score(answers.get(i)), scores[i]);
+            }
+        }
+    }
+}
@@ -0,0 +1,7 @@
+#!/bin/bash
+# Allows the streaming replication of the primary by the replicator role (see docker-compose.replica.yml).
+set -e
+
+psql -v ON_ERROR_STOP=1 --username "$POSTGRES_USER" --dbname "$POSTGRES_DB" \
+    -c "CREATE ROLE replicator WITH REPLICATION LOGIN PASSWORD 'replicator';"
+echo "host replication replicator all scram-sha-256" >> "$PGDATA/pg_hba.conf"